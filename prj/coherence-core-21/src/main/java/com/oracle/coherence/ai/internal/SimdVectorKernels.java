@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.coherence.ai.internal;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Implementations of the vector distance kernels that use the incubating
+ * Vector API.
+ * <p>
+ * This class must only be loaded when the {@code jdk.incubator.vector} module
+ * is present, which is checked by {@link VectorKernels}.
+ *
+ * @since 25.09
+ */
+public final class SimdVectorKernels
+    {
+    /**
+     * Return {@code true} if the preferred vector shape of the platform is wide
+     * enough for the kernels to be faster than the scalar implementations.
+     *
+     * @return {@code true} if the vectorized kernels should be used
+     */
+    public static boolean isSupported()
+        {
+        return FLOAT_SPECIES.length() >= 4;
+        }
+
+    /**
+     * Calculate the dot product of two float vectors.
+     *
+     * @param v1  the first float vector
+     * @param v2  the second float vector
+     *
+     * @return the dot product of the float vectors
+     */
+    public static double dotProduct(float[] v1, float[] v2)
+        {
+        int         i      = 0;
+        int         cBound = FLOAT_SPECIES.loopBound(v1.length);
+        FloatVector vAcc   = FloatVector.zero(FLOAT_SPECIES);
+
+        for (; i < cBound; i += FLOAT_SPECIES.length())
+            {
+            FloatVector va = FloatVector.fromArray(FLOAT_SPECIES, v1, i);
+            FloatVector vb = FloatVector.fromArray(FLOAT_SPECIES, v2, i);
+            vAcc = va.fma(vb, vAcc);
+            }
+
+        double dotProduct = vAcc.reduceLanes(VectorOperators.ADD);
+        for (; i < v1.length; i++)
+            {
+            dotProduct += v1[i] * v2[i];
+            }
+        return dotProduct;
+        }
+
+    /**
+     * Calculate the L2 Squared value for two float vectors.
+     *
+     * @param v1  the first float vector
+     * @param v2  the second float vector
+     *
+     * @return the L2 Squared value for the two float vectors
+     */
+    public static double l2squared(float[] v1, float[] v2)
+        {
+        int         i      = 0;
+        int         cBound = FLOAT_SPECIES.loopBound(v1.length);
+        FloatVector vAcc   = FloatVector.zero(FLOAT_SPECIES);
+
+        for (; i < cBound; i += FLOAT_SPECIES.length())
+            {
+            FloatVector vDiff = FloatVector.fromArray(FLOAT_SPECIES, v1, i)
+                                    .sub(FloatVector.fromArray(FLOAT_SPECIES, v2, i));
+            vAcc = vDiff.fma(vDiff, vAcc);
+            }
+
+        double l2squared = vAcc.reduceLanes(VectorOperators.ADD);
+        for (; i < v1.length; i++)
+            {
+            float f = v1[i] - v2[i];
+            l2squared += f * f;
+            }
+        return l2squared;
+        }
+
+    /**
+     * Calculate the dot product of two Int8 vectors.
+     *
+     * @param v1  the first Int8 vector
+     * @param v2  the second Int8 vector
+     *
+     * @return the dot product of the Int8 vectors
+     */
+    public static int dotProduct(byte[] v1, byte[] v2)
+        {
+        if (!INT8_SUPPORTED)
+            {
+            return ScalarVectorKernels.dotProduct(v1, v2);
+            }
+
+        int      i      = 0;
+        int      cBound = BYTE_SPECIES.loopBound(v1.length);
+        IntVector vAcc  = IntVector.zero(INT_SPECIES);
+
+        for (; i < cBound; i += BYTE_SPECIES.length())
+            {
+            IntVector va = widen(v1, i);
+            IntVector vb = widen(v2, i);
+            vAcc = vAcc.add(va.mul(vb));
+            }
+
+        int dotProduct = vAcc.reduceLanes(VectorOperators.ADD);
+        for (; i < v1.length; i++)
+            {
+            dotProduct += v1[i] * v2[i];
+            }
+        return dotProduct;
+        }
+
+    /**
+     * Calculate the L2 Squared value for two Int8 vectors.
+     *
+     * @param v1  the first Int8 vector
+     * @param v2  the second Int8 vector
+     *
+     * @return the L2 Squared value for the two Int8 vectors
+     */
+    public static int l2squared(byte[] v1, byte[] v2)
+        {
+        if (!INT8_SUPPORTED)
+            {
+            return ScalarVectorKernels.l2squared(v1, v2);
+            }
+
+        int       i      = 0;
+        int       cBound = BYTE_SPECIES.loopBound(v1.length);
+        IntVector vAcc   = IntVector.zero(INT_SPECIES);
+
+        for (; i < cBound; i += BYTE_SPECIES.length())
+            {
+            IntVector vDiff = widen(v1, i).sub(widen(v2, i));
+            vAcc = vAcc.add(vDiff.mul(vDiff));
+            }
+
+        int l2squared = vAcc.reduceLanes(VectorOperators.ADD);
+        for (; i < v1.length; i++)
+            {
+            int n = v1[i] - v2[i];
+            l2squared += n * n;
+            }
+        return l2squared;
+        }
+
+    /**
+     * Calculate the cosine similarity of two Int8 vectors.
+     *
+     * @param v1  the first Int8 vector
+     * @param v2  the second Int8 vector
+     *
+     * @return the cosine similarity of the Int8 vectors
+     */
+    public static double cosine(byte[] v1, byte[] v2)
+        {
+        if (!INT8_SUPPORTED)
+            {
+            return ScalarVectorKernels.cosine(v1, v2);
+            }
+
+        int       i      = 0;
+        int       cBound = BYTE_SPECIES.loopBound(v1.length);
+        IntVector vDot   = IntVector.zero(INT_SPECIES);
+        IntVector vNormA = IntVector.zero(INT_SPECIES);
+        IntVector vNormB = IntVector.zero(INT_SPECIES);
+
+        for (; i < cBound; i += BYTE_SPECIES.length())
+            {
+            IntVector va = widen(v1, i);
+            IntVector vb = widen(v2, i);
+            vDot   = vDot.add(va.mul(vb));
+            vNormA = vNormA.add(va.mul(va));
+            vNormB = vNormB.add(vb.mul(vb));
+            }
+
+        int dotProduct = vDot.reduceLanes(VectorOperators.ADD);
+        int normA      = vNormA.reduceLanes(VectorOperators.ADD);
+        int normB      = vNormB.reduceLanes(VectorOperators.ADD);
+        for (; i < v1.length; i++)
+            {
+            int a = v1[i];
+            int b = v2[i];
+            normA      += a * a;
+            normB      += b * b;
+            dotProduct += a * b;
+            }
+
+        return ScalarVectorKernels.cosine(dotProduct, normA, normB);
+        }
+
+    // ----- helpers --------------------------------------------------------
+
+    /**
+     * Load a vector of bytes from the specified array and widen them to ints.
+     *
+     * @param ab      the byte array
+     * @param nIndex  the index of the first byte to load
+     *
+     * @return the loaded bytes, widened to ints
+     */
+    private static IntVector widen(byte[] ab, int nIndex)
+        {
+        return (IntVector) ByteVector.fromArray(BYTE_SPECIES, ab, nIndex)
+                .convertShape(VectorOperators.B2I, INT_SPECIES, 0);
+        }
+
+    // ---- constants -------------------------------------------------------
+
+    /**
+     * The preferred species for float vectors.
+     */
+    private static final VectorSpecies<Float> FLOAT_SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    /**
+     * The species for int vectors used to accumulate Int8 products; eight
+     * 32-bit lanes, each widened from one byte of a 64-bit byte vector.
+     */
+    private static final VectorSpecies<Integer> INT_SPECIES = IntVector.SPECIES_256;
+
+    /**
+     * The species for byte vectors loaded from Int8 vectors.
+     */
+    private static final VectorSpecies<Byte> BYTE_SPECIES = ByteVector.SPECIES_64;
+
+    /**
+     * Whether the platform supports 256-bit int vectors, which the Int8
+     * kernels require to be faster than the scalar implementations.
+     */
+    private static final boolean INT8_SUPPORTED = IntVector.SPECIES_PREFERRED.vectorBitSize() >= 256;
+    }
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.coherence.ai.internal;
+
+import com.tangosol.coherence.config.Config;
+
+import java.util.Optional;
+
+/**
+ * Helper class for the vector distance kernels.
+ * <p>
+ * The main purpose of this class is to isolate the code that uses the
+ * incubating Vector API, in order to simplify multi-release JAR creation.
+ * <p>
+ * This version delegates to the {@link SimdVectorKernels vectorized kernels}
+ * when the {@code jdk.incubator.vector} module has been added to the runtime
+ * (using {@code --add-modules jdk.incubator.vector}), and to the
+ * {@link ScalarVectorKernels scalar kernels} otherwise.
+ *
+ * @since 25.09
+ */
+public final class VectorKernels
+    {
+    /**
+     * Return {@code true} if the kernels use the Vector API.
+     *
+     * @return {@code true} if the kernels use the Vector API
+     */
+    public static boolean isVectorized()
+        {
+        return VECTORIZED;
+        }
+
+    /**
+     * Calculate the dot product of two float vectors.
+     *
+     * @param v1  the first float vector
+     * @param v2  the second float vector
+     *
+     * @return the dot product of the float vectors
+     */
+    public static double dotProduct(float[] v1, float[] v2)
+        {
+        return VECTORIZED
+               ? SimdVectorKernels.dotProduct(v1, v2)
+               : ScalarVectorKernels.dotProduct(v1, v2);
+        }
+
+    /**
+     * Calculate the L2 Squared value for two float vectors.
+     *
+     * @param v1  the first float vector
+     * @param v2  the second float vector
+     *
+     * @return the L2 Squared value for the two float vectors
+     */
+    public static double l2squared(float[] v1, float[] v2)
+        {
+        return VECTORIZED
+               ? SimdVectorKernels.l2squared(v1, v2)
+               : ScalarVectorKernels.l2squared(v1, v2);
+        }
+
+    /**
+     * Calculate the dot product of two Int8 vectors.
+     *
+     * @param v1  the first Int8 vector
+     * @param v2  the second Int8 vector
+     *
+     * @return the dot product of the Int8 vectors
+     */
+    public static int dotProduct(byte[] v1, byte[] v2)
+        {
+        return VECTORIZED
+               ? SimdVectorKernels.dotProduct(v1, v2)
+               : ScalarVectorKernels.dotProduct(v1, v2);
+        }
+
+    /**
+     * Calculate the L2 Squared value for two Int8 vectors.
+     *
+     * @param v1  the first Int8 vector
+     * @param v2  the second Int8 vector
+     *
+     * @return the L2 Squared value for the two Int8 vectors
+     */
+    public static int l2squared(byte[] v1, byte[] v2)
+        {
+        return VECTORIZED
+               ? SimdVectorKernels.l2squared(v1, v2)
+               : ScalarVectorKernels.l2squared(v1, v2);
+        }
+
+    /**
+     * Calculate the cosine similarity of two Int8 vectors.
+     *
+     * @param v1  the first Int8 vector
+     * @param v2  the second Int8 vector
+     *
+     * @return the cosine similarity of the Int8 vectors
+     */
+    public static double cosine(byte[] v1, byte[] v2)
+        {
+        return VECTORIZED
+               ? SimdVectorKernels.cosine(v1, v2)
+               : ScalarVectorKernels.cosine(v1, v2);
+        }
+
+    // ----- helpers --------------------------------------------------------
+
+    /**
+     * Return {@code true} if the Vector API is available and enabled.
+     *
+     * @return {@code true} if the Vector API is available and enabled
+     */
+    private static boolean isVectorApiAvailable()
+        {
+        if (!Config.getBoolean(PROPERTY_ENABLED, true))
+            {
+            return false;
+            }
+
+        Optional<Module> module = ModuleLayer.boot().findModule(VECTOR_MODULE);
+        if (module.isEmpty())
+            {
+            return false;
+            }
+
+        try
+            {
+            // when running on the module path the Coherence module does not
+            // declare a dependency on the incubator module, so add it here
+            VectorKernels.class.getModule().addReads(module.get());
+            return SimdVectorKernels.isSupported();
+            }
+        catch (Throwable t)
+            {
+            return false;
+            }
+        }
+
+    // ---- constants -------------------------------------------------------
+
+    /**
+     * Config property used to enable or disable the vectorized kernels.
+     */
+    public static final String PROPERTY_ENABLED = "coherence.ai.vector.simd.enabled";
+
+    /**
+     * The name of the Vector API module.
+     */
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    /**
+     * Whether the vectorized kernels should be used.
+     */
+    private static final boolean VECTORIZED = isVectorApiAvailable();
+    }
@@ -45,6 +45,21 @@ public class VirtualThreads
         return builder.unstarted(runnable);
         }
 
+    /**
+     * Return {@code true} if the specified thread is a virtual thread.
+     *
+     * @param thread  the thread to check
+     *
+     * @return {@code true} if the specified thread is a virtual thread;
+     *         {@code false} otherwise
+     *
+     * @since 25.09
+     */
+    public static boolean isVirtual(Thread thread)
+        {
+        return thread.isVirtual();
+        }
+
     /**
      * Return {@code true} if the current runtime supports virtual threads.
      *
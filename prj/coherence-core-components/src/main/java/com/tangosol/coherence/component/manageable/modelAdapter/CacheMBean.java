@@ -454,6 +454,18 @@ public class CacheMBean
                 });
             }
         
+        // property QueueBytes
+            {
+            mapInfo.put("QueueBytes", new Object[]
+                {
+                "The approximate number of bytes held by the write-behind queue; -1 if persistence type is not WRITE-BEHIND.",
+                "getQueueBytes",
+                null,
+                "J",
+                "rest.collector=sum,metrics.value=_default",
+                });
+            }
+        
         // property QueueDelay
             {
             mapInfo.put("QueueDelay", new Object[]
@@ -694,6 +706,66 @@ public class CacheMBean
                 });
             }
         
+        // property WriteBatchMillis95thPercentile
+            {
+            mapInfo.put("WriteBatchMillis95thPercentile", new Object[]
+                {
+                "The 95th percentile of the time (in millis) spent writing a write-behind batch to the CacheStore; -1 if persistence type is not WRITE-BEHIND.",
+                "getWriteBatchMillis95thPercentile",
+                null,
+                "D",
+                "rest.collector=max,metrics.value=_default",
+                });
+            }
+        
+        // property WriteBatchMillis99thPercentile
+            {
+            mapInfo.put("WriteBatchMillis99thPercentile", new Object[]
+                {
+                "The 99th percentile of the time (in millis) spent writing a write-behind batch to the CacheStore; -1 if persistence type is not WRITE-BEHIND.",
+                "getWriteBatchMillis99thPercentile",
+                null,
+                "D",
+                "rest.collector=max,metrics.value=_default",
+                });
+            }
+        
+        // property WriteBatchMillisMax
+            {
+            mapInfo.put("WriteBatchMillisMax", new Object[]
+                {
+                "The maximum time (in millis) spent writing a write-behind batch to the CacheStore; -1 if persistence type is not WRITE-BEHIND.",
+                "getWriteBatchMillisMax",
+                null,
+                "D",
+                "rest.collector=max,metrics.value=_default",
+                });
+            }
+        
+        // property WriteBatchMillisMean
+            {
+            mapInfo.put("WriteBatchMillisMean", new Object[]
+                {
+                "The mean time (in millis) spent writing a write-behind batch to the CacheStore; -1 if persistence type is not WRITE-BEHIND.",
+                "getWriteBatchMillisMean",
+                null,
+                "D",
+                "rest.collector=max,metrics.value=_default",
+                });
+            }
+        
+        // property WriteBatchSize
+            {
+            mapInfo.put("WriteBatchSize", new Object[]
+                {
+                "The number of entries the write-behind thread currently writes in a single batch, which adapts to the latency of the CacheStore if a write-batch target latency is configured; -1 if persistence type is not WRITE-BEHIND.",
+                "getWriteBatchSize",
+                null,
+                "I",
+                "rest.collector=set",
+                });
+            }
+        
         return mapInfo;
         }
     /**
@@ -967,6 +1039,19 @@ public class CacheMBean
         return null;
         }
     
+    // Accessor for the property "QueueBytes"
+    /**
+     * Getter for property QueueBytes.<p>
+    * The approximate number of bytes held by the write-behind queue; -1 if
+    * persistence type is not WRITE-BEHIND.
+    * 
+    * @descriptor rest.collector=sum,metrics.value=_default
+     */
+    public long getQueueBytes()
+        {
+        return 0L;
+        }
+    
     // Accessor for the property "QueueDelay"
     /**
      * Getter for property QueueDelay.<p>
@@ -1239,6 +1324,73 @@ public class CacheMBean
         return 0L;
         }
     
+    // Accessor for the property "WriteBatchMillis95thPercentile"
+    /**
+     * Getter for property WriteBatchMillis95thPercentile.<p>
+    * The 95th percentile of the time (in millis) spent writing a write-behind
+    * batch to the CacheStore; -1 if persistence type is not WRITE-BEHIND.
+    * 
+    * @descriptor rest.collector=max,metrics.value=_default
+     */
+    public double getWriteBatchMillis95thPercentile()
+        {
+        return 0.0;
+        }
+    
+    // Accessor for the property "WriteBatchMillis99thPercentile"
+    /**
+     * Getter for property WriteBatchMillis99thPercentile.<p>
+    * The 99th percentile of the time (in millis) spent writing a write-behind
+    * batch to the CacheStore; -1 if persistence type is not WRITE-BEHIND.
+    * 
+    * @descriptor rest.collector=max,metrics.value=_default
+     */
+    public double getWriteBatchMillis99thPercentile()
+        {
+        return 0.0;
+        }
+    
+    // Accessor for the property "WriteBatchMillisMax"
+    /**
+     * Getter for property WriteBatchMillisMax.<p>
+    * The maximum time (in millis) spent writing a write-behind batch to the
+    * CacheStore; -1 if persistence type is not WRITE-BEHIND.
+    * 
+    * @descriptor rest.collector=max,metrics.value=_default
+     */
+    public double getWriteBatchMillisMax()
+        {
+        return 0.0;
+        }
+    
+    // Accessor for the property "WriteBatchMillisMean"
+    /**
+     * Getter for property WriteBatchMillisMean.<p>
+    * The mean time (in millis) spent writing a write-behind batch to the
+    * CacheStore; -1 if persistence type is not WRITE-BEHIND.
+    * 
+    * @descriptor rest.collector=max,metrics.value=_default
+     */
+    public double getWriteBatchMillisMean()
+        {
+        return 0.0;
+        }
+    
+    // Accessor for the property "WriteBatchSize"
+    /**
+     * Getter for property WriteBatchSize.<p>
+    * The number of entries the write-behind thread currently writes in a
+    * single batch, which adapts to the latency of the CacheStore if a write-
+    * batch target latency is configured; -1 if persistence type is not WRITE-
+    * BEHIND.
+    * 
+    * @descriptor rest.collector=set
+     */
+    public int getWriteBatchSize()
+        {
+        return 0;
+        }
+    
     // Accessor for the property "MemoryUnits"
     /**
      * Getter for property MemoryUnits.<p>
@@ -10,6 +10,7 @@
 
 package com.tangosol.coherence.component.net.management.model.localModel;
 
+import com.tangosol.internal.net.metrics.Snapshot;
 import com.tangosol.net.cache.CacheStatistics;
 import com.tangosol.net.cache.CachingMap;
 import com.tangosol.net.cache.ConfigurableCacheMap;
@@ -575,6 +576,25 @@ public class CacheModel
         return getCacheStoreType();
         }
     
+    // Accessor for the property "QueueBytes"
+    /**
+     * Getter for property QueueBytes.<p>
+     */
+    public long getQueueBytes()
+        {
+        // import com.tangosol.net.cache.ReadWriteBackingMap;
+        
+        ReadWriteBackingMap map = get_BackingMap();
+        if (map != null && map.isWriteBehind())
+            {
+            return map.getWriteQueue().getQueuedBytes();
+            }
+        else
+            {
+            return -1L;
+            }
+        }
+    
     // Accessor for the property "QueueDelay"
     /**
      * Getter for property QueueDelay.<p>
@@ -873,6 +893,95 @@ public class CacheModel
         return cache == null ? -1 : (long) cache.getUnits() * cache.getUnitFactor();
         }
     
+    // Accessor for the property "WriteBatchMillis95thPercentile"
+    /**
+     * Getter for property WriteBatchMillis95thPercentile.<p>
+     */
+    public double getWriteBatchMillis95thPercentile()
+        {
+        // import com.tangosol.internal.net.metrics.Snapshot;
+        
+        Snapshot snapshot = get_WriteBatchSnapshot();
+        return snapshot == null ? -1.0 : snapshot.get95thPercentile() / 1000.0;
+        }
+    
+    // Accessor for the property "WriteBatchMillis99thPercentile"
+    /**
+     * Getter for property WriteBatchMillis99thPercentile.<p>
+     */
+    public double getWriteBatchMillis99thPercentile()
+        {
+        // import com.tangosol.internal.net.metrics.Snapshot;
+        
+        Snapshot snapshot = get_WriteBatchSnapshot();
+        return snapshot == null ? -1.0 : snapshot.get99thPercentile() / 1000.0;
+        }
+    
+    // Accessor for the property "WriteBatchMillisMax"
+    /**
+     * Getter for property WriteBatchMillisMax.<p>
+     */
+    public double getWriteBatchMillisMax()
+        {
+        // import com.tangosol.internal.net.metrics.Snapshot;
+        
+        Snapshot snapshot = get_WriteBatchSnapshot();
+        return snapshot == null ? -1.0 : snapshot.getMax() / 1000.0;
+        }
+    
+    // Accessor for the property "WriteBatchMillisMean"
+    /**
+     * Getter for property WriteBatchMillisMean.<p>
+     */
+    public double getWriteBatchMillisMean()
+        {
+        // import com.tangosol.internal.net.metrics.Snapshot;
+        
+        Snapshot snapshot = get_WriteBatchSnapshot();
+        return snapshot == null ? -1.0 : snapshot.getMean() / 1000.0;
+        }
+    
+    // Accessor for the property "WriteBatchSize"
+    /**
+     * Getter for property WriteBatchSize.<p>
+     */
+    public int getWriteBatchSize()
+        {
+        // import com.tangosol.net.cache.ReadWriteBackingMap;
+        
+        ReadWriteBackingMap map = get_BackingMap();
+        if (map != null && map.isWriteBehind())
+            {
+            return map.getWriteBatchSize();
+            }
+        else
+            {
+            return -1;
+            }
+        }
+    
+    /**
+     * Return a snapshot of the latency histogram of the write-behind batches
+     * (in microseconds), or null if the cache is not write-behind.
+     */
+    protected Snapshot get_WriteBatchSnapshot()
+        {
+        // import com.tangosol.internal.net.metrics.Snapshot;
+        // import com.tangosol.net.cache.ReadWriteBackingMap;
+        // import com.tangosol.net.cache.ReadWriteBackingMap$StoreWrapper as com.tangosol.net.cache.ReadWriteBackingMap.StoreWrapper;
+        
+        ReadWriteBackingMap map = get_BackingMap();
+        if (map != null && map.isWriteBehind())
+            {
+            com.tangosol.net.cache.ReadWriteBackingMap.StoreWrapper store = map.getCacheStore();
+            if (store != null)
+                {
+                return store.getWriteBatchHistogram().getSnapshot();
+                }
+            }
+        return null;
+        }
+    
     // Accessor for the property "MemoryUnits"
     /**
      * Getter for property MemoryUnits.<p>
@@ -945,6 +1054,16 @@ public class CacheModel
         mapSnapshot.put("UnitFactor", Base.makeInteger(nUnitFactor));
         mapSnapshot.put("Units", Base.makeInteger(cUnits));
         mapSnapshot.put("UnitsBytes", Base.makeLong((long) cUnits * nUnitFactor));
+        
+        if (ExternalizableHelper.isVersionCompatible(in, 25, 9, 0))
+            {
+            mapSnapshot.put("QueueBytes", Base.makeLong(ExternalizableHelper.readLong(in)));
+            mapSnapshot.put("WriteBatchMillis95thPercentile", Double.valueOf(in.readDouble()));
+            mapSnapshot.put("WriteBatchMillis99thPercentile", Double.valueOf(in.readDouble()));
+            mapSnapshot.put("WriteBatchMillisMax", Double.valueOf(in.readDouble()));
+            mapSnapshot.put("WriteBatchMillisMean", Double.valueOf(in.readDouble()));
+            mapSnapshot.put("WriteBatchSize", Base.makeInteger(ExternalizableHelper.readInt(in)));
+            }
         }
     
     // Accessor for the property "_BackingMapRef"
@@ -1227,5 +1346,18 @@ public class CacheModel
         ExternalizableHelper.writeLong(out, getTotalPutsMillis());
         ExternalizableHelper.writeInt(out, getUnitFactor());
         ExternalizableHelper.writeInt(out, getUnits());
+        
+        if (ExternalizableHelper.isVersionCompatible(out, 25, 9, 0))
+            {
+            // take a single snapshot of the histogram for all the percentiles
+            Snapshot snapshot = get_WriteBatchSnapshot();
+            
+            ExternalizableHelper.writeLong(out, getQueueBytes());
+            out.writeDouble(snapshot == null ? -1.0 : snapshot.get95thPercentile() / 1000.0);
+            out.writeDouble(snapshot == null ? -1.0 : snapshot.get99thPercentile() / 1000.0);
+            out.writeDouble(snapshot == null ? -1.0 : snapshot.getMax() / 1000.0);
+            out.writeDouble(snapshot == null ? -1.0 : snapshot.getMean() / 1000.0);
+            ExternalizableHelper.writeInt(out, getWriteBatchSize());
+            }
         }
     }
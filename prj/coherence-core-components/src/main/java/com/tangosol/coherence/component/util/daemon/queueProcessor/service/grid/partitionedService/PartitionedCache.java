@@ -7919,6 +7919,8 @@ public class PartitionedCache
         {
         super.onServiceStopping();
         
+        persistIndexSnapshots();
+        
         releaseAllCache();
         }
     
@@ -8593,6 +8595,44 @@ public class PartitionedCache
         return false;
         }
     
+    /**
+     * Store the snapshots of the vector indexes of all owned primary
+     * partitions in the persistent stores, so that the indexes can be
+     * restored rather than rebuilt when the partitions are recovered.
+     * Called on the service thread while the service is stopping.
+     */
+    protected void persistIndexSnapshots()
+        {
+        // import com.tangosol.net.GuardSupport;
+        // import com.tangosol.net.partition.PartitionSet;
+        // import java.util.Iterator;
+        
+        if (!isActivePersistence() || !isVersionCompatible(25, 9, 0))
+            {
+            return;
+            }
+        
+        PartitionSet partsOwned = null;
+        for (Iterator iterStore = getStorageArray().iterator(); iterStore.hasNext(); )
+            {
+            Storage storage = (Storage) iterStore.next();
+            if (storage.isValid() && storage.isPersistent() && storage.isIndexed())
+                {
+                if (partsOwned == null)
+                    {
+                    partsOwned = collectOwnedPartitions(true);
+                    }
+        
+                for (int iPart = partsOwned.next(0); iPart >= 0; iPart = partsOwned.next(iPart + 1))
+                    {
+                    storage.persistIndexSnapshots(iPart);
+        
+                    GuardSupport.heartbeat();
+                    }
+                }
+            }
+        }
+    
     /**
      * Write the specified changes (asynchronously) to the persistent store.
     * 
@@ -10108,6 +10148,7 @@ public class PartitionedCache
                         storage.insertPrimaryTransfer        (iPartition, msgTransfer.getResource());
                         storage.insertPrimaryLeaseTransfer   (iPartition, msgTransfer.getLease());
                         storage.insertPrimaryListenerTransfer(iPartition, msgTransfer.getListener());
+                        storage.insertPrimaryIndexSnapshotTransfer(iPartition, msgTransfer.getIndexSnapshot());
         
                         // ensure that any "global" meta-data are properly persisted
                         if (storage.isPersistent())
@@ -11792,7 +11833,19 @@ public class PartitionedCache
                 //       to send the store's data to the new owner in a PersistentStore
                 //       agnostic way
         
-                int     cbTransfer  = cbResource + cbLease + cbListen;
+                // index snapshots, which allow the new primary owner to restore
+                // the partition indexes rather than rebuild them
+                java.util.Map.Entry[] aSnapshot  = fPrimary
+                        ? storage.collectIndexSnapshots(iPartition, listResource)
+                        : new java.util.Map.Entry[0];
+                int     cbSnapshot = 0;
+                for (int i = 0; i < aSnapshot.length; i++)
+                    {
+                    cbSnapshot += ((Binary) aSnapshot[i].getKey()).length()
+                                + ((Binary) aSnapshot[i].getValue()).length();
+                    }
+        
+                int     cbTransfer  = cbResource + cbLease + cbListen + cbSnapshot;
                 boolean fLastInPart = !iterStore.hasNext();
         
                 PartitionedCache.TransferRequest msgTransfer = (PartitionedCache.TransferRequest) instantiateMessage("TransferRequest");
@@ -11805,6 +11858,7 @@ public class PartitionedCache
                 msgTransfer.setResource((java.util.Map.Entry[]) listResource.toArray(new java.util.Map.Entry[listResource.size()]));
                 msgTransfer.setLease((Lease[]) listLease.toArray(new Lease[listLease.size()]));
                 msgTransfer.setListener((java.util.Map.Entry[]) listListen.toArray(new java.util.Map.Entry[listListen.size()]));
+                msgTransfer.setIndexSnapshot(aSnapshot);
                 msgTransfer.setMapEventVersion(storage.getVersion().getSubmittedVersion(iPartition));
         
                 fLastInTransfer |= control.recordTransfer(msgTransfer, cbTransfer);
@@ -42130,6 +42184,7 @@ public class PartitionedCache
                     if (storage.isIndexed())
                         {
                         storage.getPartitionedIndexMap().remove(iPartition);
+                        storage.getIndexSnapshots().remove(iPartition);
                         }
                     }
             
@@ -42244,6 +42299,16 @@ public class PartitionedCache
          */
         private com.tangosol.io.ReadBuffer __m_EventsStoreBinary;
         
+        /**
+         * Property IndexSnapshot
+         *
+         * An array of index snapshot entries to transfer, keyed by the binary
+         * form of the index extractor.
+         * 
+         * @see com.oracle.coherence.ai.index.IndexSnapshots
+         */
+        private java.util.Map.Entry[] __m_IndexSnapshot;
+        
         /**
          * Property LastCache
          *
@@ -42450,6 +42515,17 @@ public class PartitionedCache
             return __m_EventsStoreBinary;
             }
         
+        // Accessor for the property "IndexSnapshot"
+        /**
+         * Getter for property IndexSnapshot.<p>
+        * An array of index snapshot entries to transfer, keyed by the binary
+        * form of the index extractor.
+         */
+        public java.util.Map.Entry[] getIndexSnapshot()
+            {
+            return __m_IndexSnapshot;
+            }
+        
         // Accessor for the property "Lease"
         /**
          * Getter for property Lease.<p>
@@ -42655,6 +42731,21 @@ public class PartitionedCache
                 {
                 setMapEventVersion(com.tangosol.util.ExternalizableHelper.readLong(input));
                 }
+            
+            // index snapshots
+            if (service.isVersionCompatible(getFromMember(), 25, 9, 0))
+                {
+                int     cSnapshots = com.tangosol.util.ExternalizableHelper.readInt(input);
+                java.util.Map.Entry[] aSnapshot  = new java.util.Map.Entry[cSnapshots];
+                for (int i = 0; i < cSnapshots; i++)
+                    {
+                    Object binExtractor = com.tangosol.util.ExternalizableHelper.readObject(input);
+                    Object binSnapshot  = com.tangosol.util.ExternalizableHelper.readObject(input);
+            
+                    aSnapshot[i] = new SimpleMapEntry(binExtractor, binSnapshot);
+                    }
+                setIndexSnapshot(aSnapshot);
+                }
             }
         
         // Accessor for the property "Addendums"
@@ -42710,6 +42801,17 @@ public class PartitionedCache
             __m_EventsStoreBinary = bufBinary;
             }
         
+        // Accessor for the property "IndexSnapshot"
+        /**
+         * Setter for property IndexSnapshot.<p>
+        * An array of index snapshot entries to transfer, keyed by the binary
+        * form of the index extractor.
+         */
+        public void setIndexSnapshot(java.util.Map.Entry[] aSnapshot)
+            {
+            __m_IndexSnapshot = aSnapshot;
+            }
+        
         // Accessor for the property "LastCache"
         /**
          * Setter for property LastCache.<p>
@@ -42937,6 +43039,24 @@ public class PartitionedCache
             
             // latest event version @since 21.06
             com.tangosol.util.ExternalizableHelper.writeLong(output, getMapEventVersion());
+            
+            // index snapshots @since 25.09
+            if (getService().isVersionCompatible(getToMemberSet(), 25, 9, 0))
+                {
+                java.util.Map.Entry[] aSnapshot  = getIndexSnapshot();
+                int     cSnapshots = aSnapshot == null ? 0 : aSnapshot.length;
+            
+                com.tangosol.util.ExternalizableHelper.writeInt(output, cSnapshots);
+            
+                for (int i = 0; i < cSnapshots; i++)
+                    {
+                    java.util.Map.Entry entry = aSnapshot[i];
+            
+                    com.tangosol.util.ExternalizableHelper.writeObject(output, entry.getKey());
+                    com.tangosol.util.ExternalizableHelper.writeObject(output, entry.getValue());
+                    }
+                setIndexSnapshot(null); // cleanup
+                }
             }
         }
 
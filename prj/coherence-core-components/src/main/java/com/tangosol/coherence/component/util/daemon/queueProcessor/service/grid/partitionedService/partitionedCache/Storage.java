@@ -7,6 +7,8 @@
 
 package com.tangosol.coherence.component.util.daemon.queueProcessor.service.grid.partitionedService.partitionedCache;
 
+import com.oracle.coherence.ai.VectorIndex;
+import com.oracle.coherence.ai.index.IndexSnapshots;
 import com.oracle.coherence.common.base.Blocking;
 import com.oracle.coherence.persistence.PersistentStore;
 import com.tangosol.coherence.component.net.Lease;
@@ -82,11 +84,13 @@ import com.tangosol.util.SafeHashMap;
 import com.tangosol.util.SafeHashSet;
 import com.tangosol.util.SegmentedHashMap;
 import com.tangosol.util.SimpleEnumerator;
+import com.tangosol.util.SimpleMapEntry;
 import com.tangosol.util.SimpleMapIndex;
 import com.tangosol.util.Streamer;
 import com.tangosol.util.SubSet;
 import com.tangosol.util.ValueExtractor;
 import com.tangosol.util.WrapperObservableMap;
+import com.tangosol.util.aggregator.IndexAwareAggregator;
 import com.tangosol.util.comparator.EntryComparator;
 import com.tangosol.util.comparator.SafeComparator;
 import com.tangosol.util.extractor.IdentityExtractor;
@@ -346,6 +350,19 @@ public class Storage
      */
     private java.util.Map __m_IndexExtractorMap;
 
+    /**
+     * Property IndexSnapshots
+     *
+     * The map of index snapshots received with partition transfers that have
+     * not yet been used to restore the partition indexes. The keys of the Map
+     * are partition IDs, and for each key, the corresponding value stored in
+     * the Map is a map of snapshots for that partition, with the binary form
+     * of the index extractors as keys and the snapshots as values.
+     *
+     * @see com.oracle.coherence.ai.index.IndexSnapshots
+     */
+    private java.util.Map __m_IndexSnapshots;
+
     /**
      * Property InternBackupKeys
      *
@@ -793,6 +810,7 @@ public class Storage
             setEntryStatusMap(new java.util.concurrent.ConcurrentHashMap());
             setFilterIdMap(new com.tangosol.util.SafeHashMap());
             setIndexExtractorMap(new com.tangosol.util.SafeHashMap());
+            setIndexSnapshots(new java.util.concurrent.ConcurrentHashMap());
             setInternBackupKeys(false);
             setInternPrimaryKeys(false);
             setLeaseMap(new com.tangosol.util.SegmentedHashMap());
@@ -936,6 +954,76 @@ public class Storage
         return listEvents;
         }
 
+    /**
+     * Accumulate the entries of the specified partitions that match the
+     * specified filter into the specified aggregator.
+     *
+     * If all the entries are aggregated and the aggregator is an
+     * IndexAwareAggregator, the values are read from the forward indexes on
+     * the aggregator's extractor, as long as every partition has a complete
+     * one; the entries whose values are not held by an index, as well as all
+     * the entries in any other case, are streamed into the aggregator.
+     */
+    protected void accumulate(InvocableMap.StreamingAggregator agent, com.tangosol.util.Filter filter, com.tangosol.net.partition.PartitionSet partMask)
+        {
+        // import com.tangosol.util.MapIndex;
+        // import com.tangosol.util.aggregator.IndexAwareAggregator;
+        // import java.util.HashSet;
+        // import java.util.Set;
+
+        if (filter == null && agent instanceof IndexAwareAggregator && isIndexed())
+            {
+            IndexAwareAggregator agentIx    = (IndexAwareAggregator) agent;
+            ValueExtractor       extractor  = agentIx.getValueExtractor();
+            Map                  mapPending = getService().getIndexPendingPartitions();
+            int                  cParts     = partMask.cardinality();
+            MapIndex[]           aIndex     = new MapIndex[cParts];
+            Set[]                aKeys      = new Set[cParts];
+            int                  cIndex     = 0;
+
+            for (int nPart : partMask)
+                {
+                MapIndex index   = (MapIndex) getPartitionIndexMap(nPart).get(extractor);
+                Set      setKeys = getKeySet(nPart);
+
+                // the index of a partition that is still being rebuilt is incomplete
+                if (index == null || setKeys == null || index.isPartial()
+                        || mapPending.containsKey(Integer.valueOf(nPart)))
+                    {
+                    cIndex = -1;
+                    break;
+                    }
+                aIndex[cIndex]  = index;
+                aKeys[cIndex++] = setKeys;
+                }
+
+            if (cIndex >= 0)
+                {
+                Set setMissing = null;
+                for (int i = 0; i < cIndex; i++)
+                    {
+                    Set setPart = agentIx.accumulateIndex(aIndex[i], aKeys[i]);
+                    if (!setPart.isEmpty())
+                        {
+                        if (setMissing == null)
+                            {
+                            setMissing = new HashSet();
+                            }
+                        setMissing.addAll(setPart);
+                        }
+                    }
+
+                if (setMissing != null)
+                    {
+                    agent.accumulate(createStreamer(setMissing, agent));
+                    }
+                return;
+                }
+            }
+
+        agent.accumulate(createStreamer(filter, agent, partMask));
+        }
+
     /**
      * Populate the specified MapIndex.
      *
@@ -1383,7 +1471,7 @@ public class Storage
             // run aggregator on the current worker thread; the query to create a Streamer
             // may still be run in parallel, if FJP is enabled
 
-            agent.accumulate(createStreamer(filter, agent, partMask));
+            accumulate(agent, filter, partMask);
             result = agent.getPartialResult();
             }
 
@@ -1465,6 +1553,45 @@ public class Storage
         return new QueryResult(partMask, aoResult, aoResult == null ? 0 : aoResult.length, filterRemaining);
         }
 
+    /**
+     * Calculate the fingerprint of the primary entries with the specified
+     * keys, which is stored with the index snapshots of a partition to
+     * verify that they match the partition content.
+     *
+     * @param setKeys  the keys of the partition entries
+     *
+     * @see com.oracle.coherence.ai.index.IndexSnapshots#fingerprint
+     */
+    protected long calculateIndexFingerprint(java.util.Set setKeys)
+        {
+        // import com.tangosol.net.GuardSupport;
+        // import com.tangosol.util.Binary;
+        // import java.util.Iterator;
+        // import java.util.Map;
+
+        Map  mapInternal  = getBackingMapInternal();
+        long lFingerprint = 0L;
+        int  cProcessed   = 0;
+
+        for (Iterator iter = setKeys.iterator(); iter.hasNext(); )
+            {
+            Binary binKey = (Binary) iter.next();
+            Binary binVal = (Binary) mapInternal.get(binKey);
+
+            if (binVal != null)
+                {
+                lFingerprint += IndexSnapshots.fingerprint(binKey, binVal);
+                }
+
+            if ((++cProcessed & 0x3FF) == 0x3FF)
+                {
+                GuardSupport.heartbeat();
+                }
+            }
+
+        return lFingerprint;
+        }
+
     /**
      * Return the number of the primary storage keys that belong to the
      * specified PartitionSet.
@@ -1880,6 +2007,90 @@ public class Storage
         return extractKeysDirect(getBackingMapInternal(), partMask).toArray();
         }
 
+    /**
+     * Create the snapshots of the vector indexes of the specified partition
+     * to be transferred along with the partition entries. Called on the
+     * service thread only.
+     *
+     * @param iPartition    the partition being transferred
+     * @param listResource  the list of the partition entries being transferred
+     *
+     * @return an array of entries keyed by the binary form of the index
+     * extractors, with the index snapshots as values
+     */
+    public java.util.Map.Entry[] collectIndexSnapshots(int iPartition, java.util.List listResource)
+        {
+        // import com.tangosol.io.ReadBuffer;
+        // import com.tangosol.io.Serializer;
+        // import com.tangosol.util.Binary;
+        // import com.tangosol.util.ExternalizableHelper;
+        // import com.tangosol.util.SimpleMapEntry;
+        // import java.util.ArrayList;
+        // import java.util.Iterator;
+        // import java.util.List;
+        // import java.util.Map;
+
+        PartitionedCache service  = getService();
+        Map              mapIndex = isIndexed()
+                ? (Map) getPartitionedIndexMap().get(Integer.valueOf(iPartition))
+                : null;
+
+        // the index of a partition that is still being rebuilt is incomplete
+        if (mapIndex == null || mapIndex.isEmpty()
+                || !service.isVersionCompatible(25, 9, 0)
+                || service.getIndexPendingPartitions().containsKey(Integer.valueOf(iPartition)))
+            {
+            return new java.util.Map.Entry[0];
+            }
+
+        Serializer serializer   = service.getSerializer();
+        List       listSnapshot = null;
+        long       lFingerprint = 0L;
+
+        for (Iterator iter = mapIndex.entrySet().iterator(); iter.hasNext(); )
+            {
+            java.util.Map.Entry entry = (java.util.Map.Entry) iter.next();
+            if (!(entry.getValue() instanceof VectorIndex))
+                {
+                continue;
+                }
+
+            if (listSnapshot == null)
+                {
+                listSnapshot = new ArrayList();
+
+                // the fingerprint of the entries as the new owner will see them
+                for (Iterator iterRes = listResource.iterator(); iterRes.hasNext(); )
+                    {
+                    java.util.Map.Entry entryRes = (java.util.Map.Entry) iterRes.next();
+
+                    lFingerprint += IndexSnapshots.fingerprint(
+                            (Binary) entryRes.getKey(), (ReadBuffer) entryRes.getValue());
+                    }
+                }
+
+            try
+                {
+                Binary binSnapshot = IndexSnapshots.create((VectorIndex) entry.getValue(), lFingerprint);
+                if (binSnapshot != null)
+                    {
+                    listSnapshot.add(new SimpleMapEntry(
+                            ExternalizableHelper.toBinary(entry.getKey(), serializer), binSnapshot));
+                    }
+                }
+            catch (RuntimeException e)
+                {
+                // the new owner will rebuild the index
+                _trace("Failed to create a snapshot of the index " + entry.getKey()
+                     + " for partition " + iPartition + ": " + getStackTrace(e), 2);
+                }
+            }
+
+        return listSnapshot == null
+                ? new java.util.Map.Entry[0]
+                : (java.util.Map.Entry[]) listSnapshot.toArray(new java.util.Map.Entry[listSnapshot.size()]);
+        }
+
     /**
      * Return a subset of the primary storage keys that belong to the
      * specified partition. The returned Set is a always an immutable
@@ -2203,6 +2414,15 @@ public class Storage
 
         int cBatchMax = Math.min(setKeys.size(), 16);
         if (cBatchMax == 0)
+            {
+            getIndexSnapshots().remove(Integer.valueOf(nPartition));
+            return null;
+            }
+
+        // restore the vector indexes from their snapshots (if any), which is
+        // much cheaper than re-inserting every vector
+        mapIndex = restorePartitionIndex(nPartition, setKeys, mapIndex);
+        if (mapIndex != null && mapIndex.isEmpty())
             {
             return null;
             }
@@ -3765,6 +3985,22 @@ public class Storage
         return __m_IndexExtractorMap;
         }
 
+    // Accessor for the property "IndexSnapshots"
+    /**
+     * Getter for property IndexSnapshots.<p>
+     * The map of index snapshots received with partition transfers that have
+     * not yet been used to restore the partition indexes. The keys of the Map
+     * are partition IDs, and for each key, the corresponding value stored in
+     * the Map is a map of snapshots for that partition, with the binary form
+     * of the index extractors as keys and the snapshots as values.
+     *
+     * @see com.oracle.coherence.ai.index.IndexSnapshots
+     */
+    public java.util.Map getIndexSnapshots()
+        {
+        return __m_IndexSnapshots;
+        }
+
     // From interface: com.tangosol.net.BackingMapContext
     public java.util.Map getIndexMap()
         {
@@ -5153,6 +5389,31 @@ public class Storage
         insertPrimaryLeases(iPartition, new SimpleEnumerator(aLease));
         }
 
+    /**
+     * Hold on to the specified array of index snapshot entries until the
+     * indexes of the received partition are created. Called on the service
+     * thread only.
+     *
+     * @see #createPartitionIndex
+     */
+    public void insertPrimaryIndexSnapshotTransfer(int iPartition, java.util.Map.Entry[] aEntry)
+        {
+        // import java.util.HashMap;
+        // import java.util.Map;
+
+        if (aEntry == null || aEntry.length == 0 || !isIndexed())
+            {
+            return;
+            }
+
+        Map mapSnapshot = new HashMap();
+        for (int i = 0; i < aEntry.length; i++)
+            {
+            mapSnapshot.put(aEntry[i].getKey(), aEntry[i].getValue());
+            }
+        getIndexSnapshots().put(Integer.valueOf(iPartition), mapSnapshot);
+        }
+
     /**
      * Insert the data from the specified array of key-listener entries into
      * the primary storage. Called on the service thread only.
@@ -6836,6 +7097,75 @@ public class Storage
             }
         }
 
+    /**
+     * Store the snapshots of the vector indexes of the specified partition in
+     * the partition's persistent store, so that the indexes can be restored
+     * rather than rebuilt when the partition is recovered.
+     *
+     * @param nPartition  the partition
+     */
+    public void persistIndexSnapshots(int nPartition)
+        {
+        // import com.oracle.coherence.persistence.PersistentStore;
+        // import com.tangosol.io.Serializer;
+        // import com.tangosol.persistence.CachePersistenceHelper as com.tangosol.persistence.CachePersistenceHelper;
+        // import com.tangosol.util.Binary;
+        // import com.tangosol.util.ExternalizableHelper;
+        // import java.util.Iterator;
+        // import java.util.Map;
+
+        PartitionedCache service  = getService();
+        Map              mapIndex = isPersistent() && isIndexed()
+                ? (Map) getPartitionedIndexMap().get(Integer.valueOf(nPartition))
+                : null;
+
+        if (mapIndex == null || mapIndex.isEmpty()
+                || service.getIndexPendingPartitions().containsKey(Integer.valueOf(nPartition)))
+            {
+            return;
+            }
+
+        PartitionedCache.PartitionControl ctrlPart = (PartitionedCache.PartitionControl) service.getPartitionControl(nPartition);
+        PersistentStore                   store    = ctrlPart.getPersistentStore();
+        if (store == null || !store.isOpen())
+            {
+            return;
+            }
+
+        Serializer serializer   = service.getSerializer();
+        Long       LFingerprint = null;
+
+        for (Iterator iter = mapIndex.entrySet().iterator(); iter.hasNext(); )
+            {
+            java.util.Map.Entry entry = (java.util.Map.Entry) iter.next();
+            if (!(entry.getValue() instanceof VectorIndex))
+                {
+                continue;
+                }
+
+            if (LFingerprint == null)
+                {
+                LFingerprint = Long.valueOf(calculateIndexFingerprint(collectKeySet(nPartition)));
+                }
+
+            try
+                {
+                Binary binSnapshot = IndexSnapshots.create((VectorIndex) entry.getValue(), LFingerprint.longValue());
+                if (binSnapshot != null)
+                    {
+                    com.tangosol.persistence.CachePersistenceHelper.storeIndexSnapshot(store, getCacheId(),
+                            ExternalizableHelper.toBinary(entry.getKey(), serializer), binSnapshot, /*oToken*/ null);
+                    }
+                }
+            catch (RuntimeException e)
+                {
+                // the index will be rebuilt upon recovery
+                _trace("Failed to persist a snapshot of the index " + entry.getKey()
+                     + " for partition " + nPartition + ": " + getStackTrace(e), 2);
+                }
+            }
+        }
+
     /**
      * Ensure that a key listener is properly persisted (or removed) from
      * this partition's persistent form (if applicable).
@@ -8018,7 +8348,7 @@ public class Storage
             {
             if (f_parts.cardinality() == 1)
                 {
-                f_agent.accumulate(f_storage.createStreamer(f_filter, f_agent, f_parts));
+                f_storage.accumulate(f_agent, f_filter, f_parts);
                 return f_agent.getPartialResult();
                 }
             else
@@ -8249,6 +8579,7 @@ public class Storage
         // import com.tangosol.internal.tracing.TracingHelper;
         // import com.tangosol.util.Base;
         // import com.tangosol.util.Filter;
+        // import com.tangosol.util.InvocableMapHelper;
         // import com.tangosol.util.comparator.SafeComparator;
         // import com.tangosol.util.filter.LimitFilter;
         // import java.util.Arrays;
@@ -8269,8 +8600,33 @@ public class Storage
 
         if (filterOrig instanceof LimitFilter)
             {
-            // LimitFilter: sort always to prevent discrepancies on partitioned index
-            Arrays.sort(aoResult, SafeComparator.INSTANCE);
+            LimitFilter filterLimit = (LimitFilter) filterOrig;
+            Object[]    aoOrdered   = null;
+
+            if (filter == null && nQueryType != QUERY_KEYS && filterLimit.getComparator() != null
+                && filterLimit.getTopAnchor() == null && filterLimit.getBottomAnchor() == null)
+                {
+                // the indexes have fully resolved the filter; if the comparator
+                // is backed by an ordered index, only the entries up to the end
+                // of the requested page (and their ties) could make it into the
+                // page, so there is no need to instantiate and sort the rest
+                // (see #limitQueryDistributed and #extractBinaryEntries)
+                int cPageSize = filterLimit.getPageSize();
+                int cLimit    = (int) Math.min(Integer.MAX_VALUE, (long) cPageSize * (filterLimit.getPage() + 1));
+
+                aoOrdered = InvocableMapHelper.sortByIndex(getIndexMap(partMask),
+                        filterLimit.getComparator(), aoResult, aoResult.length, cLimit);
+                }
+
+            if (aoOrdered == null)
+                {
+                // LimitFilter: sort always to prevent discrepancies on partitioned index
+                Arrays.sort(aoResult, SafeComparator.INSTANCE);
+                }
+            else
+                {
+                aoResult = aoOrdered;
+                }
             }
 
         int cResults = filter == null
@@ -9081,6 +9437,111 @@ public class Storage
             }
         }
 
+    /**
+     * Restore the empty vector indexes of the specified partition from the
+     * snapshots received with the partition transfer or, failing that, from
+     * the snapshots stored in the partition's persistent store. A snapshot is
+     * only used if it was created from the same entries as the partition
+     * currently holds. Used during index rebuild/recovery (see
+     * createPartitionIndex).
+     *
+     * @param nPartition  the partition
+     * @param setKeys     the keys of the partition entries
+     * @param mapIndex    the index map that contains a subset of extractors
+     * to be processed; if null, all extractors for this Storage are to be
+     * processed
+     *
+     * @return the index map of the extractors that still need to be
+     * processed, which may be empty, or null if all extractors for this
+     * Storage still need to be processed
+     */
+    protected java.util.Map restorePartitionIndex(int nPartition, java.util.Set setKeys, java.util.Map mapIndex)
+        {
+        // import com.oracle.coherence.persistence.PersistentStore;
+        // import com.tangosol.io.ReadBuffer;
+        // import com.tangosol.io.Serializer;
+        // import com.tangosol.persistence.CachePersistenceHelper as com.tangosol.persistence.CachePersistenceHelper;
+        // import com.tangosol.util.Binary;
+        // import com.tangosol.util.ExternalizableHelper;
+        // import java.util.HashMap;
+        // import java.util.Iterator;
+        // import java.util.Map;
+
+        PartitionedCache service     = getService();
+        Map              mapSnapshot = (Map) getIndexSnapshots().remove(Integer.valueOf(nPartition));
+        PersistentStore  store       = null;
+
+        if (isPersistent())
+            {
+            store = ((PartitionedCache.PartitionControl) service.getPartitionControl(nPartition)).getPersistentStore();
+            }
+
+        if (mapSnapshot == null && (store == null || !store.isOpen()))
+            {
+            return mapIndex;
+            }
+
+        Map        mapPart      = mapIndex == null ? getPartitionIndexMap(nPartition) : mapIndex;
+        Map        mapRemaining = null;
+        Serializer serializer   = service.getSerializer();
+        Long       LFingerprint = null;
+
+        for (Iterator iter = mapPart.entrySet().iterator(); iter.hasNext(); )
+            {
+            java.util.Map.Entry entry = (java.util.Map.Entry) iter.next();
+            if (!(entry.getValue() instanceof VectorIndex))
+                {
+                continue;
+                }
+
+            VectorIndex index = (VectorIndex) entry.getValue();
+            boolean     fRestored;
+            try
+                {
+                Binary     binExtractor = ExternalizableHelper.toBinary(entry.getKey(), serializer);
+                ReadBuffer bufSnapshot  = mapSnapshot == null ? null : (ReadBuffer) mapSnapshot.get(binExtractor);
+
+                if (bufSnapshot == null && store != null)
+                    {
+                    bufSnapshot = com.tangosol.persistence.CachePersistenceHelper.loadIndexSnapshot(store, getCacheId(), binExtractor);
+                    }
+
+                if (bufSnapshot == null)
+                    {
+                    continue;
+                    }
+
+                if (LFingerprint == null)
+                    {
+                    // make sure all potential events are processed
+                    service.processChanges();
+
+                    LFingerprint = Long.valueOf(calculateIndexFingerprint(setKeys));
+                    }
+
+                fRestored = IndexSnapshots.restore(index, bufSnapshot, LFingerprint.longValue());
+                }
+            catch (RuntimeException e)
+                {
+                _trace("Failed to restore the index " + entry.getKey() + " for partition "
+                     + nPartition + " from its snapshot; the index will be rebuilt: "
+                     + getStackTrace(e), 2);
+                continue;
+                }
+
+            if (fRestored)
+                {
+                if (mapRemaining == null)
+                    {
+                    mapRemaining = new HashMap(mapPart);
+                    }
+                mapRemaining.remove(entry.getKey());
+                }
+            }
+
+        return mapRemaining == null ? mapIndex : mapRemaining;
+        }
+
     /**
      * Retrow a Throwable that must be an Error or RuntimeException.
      */
@@ -9439,6 +9900,17 @@ public class Storage
         __m_IndexExtractorMap = map;
         }
 
+    // Accessor for the property "IndexSnapshots"
+    /**
+     * Setter for property IndexSnapshots.<p>
+     * The map of index snapshots received with partition transfers that have
+     * not yet been used to restore the partition indexes.
+     */
+    protected void setIndexSnapshots(java.util.Map map)
+        {
+        __m_IndexSnapshots = map;
+        }
+
     // Accessor for the property "InternBackupKeys"
     /**
      * Setter for property InternBackupKeys.<p>
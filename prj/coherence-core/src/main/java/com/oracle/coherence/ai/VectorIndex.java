@@ -8,9 +8,15 @@
 package com.oracle.coherence.ai;
 
 import com.oracle.coherence.ai.search.BinaryQueryResult;
+
+import com.tangosol.io.ReadBuffer;
+import com.tangosol.io.WriteBuffer;
+
 import com.tangosol.util.Filter;
 import com.tangosol.util.MapIndex;
 
+import java.io.IOException;
+
 /**
  * A custom {@link MapIndex} that maintains a vector search index.
  *
@@ -31,4 +37,52 @@ public interface VectorIndex<KeyType, ValueType, VectorType>
      * @return  the search results
      */
     BinaryQueryResult[] query(VectorType vector, int k, Filter<?> filter);
+
+    /**
+     * Write the state of this index to the specified output, so that an index
+     * for the same partition can later be restored from it without extracting
+     * and inserting every vector again.
+     * <p/>
+     * The default implementation does not support snapshots.
+     *
+     * @param out  the output to write the snapshot to
+     *
+     * @return {@code true} if the snapshot was written, or {@code false} if
+     *         this index does not support snapshots
+     *
+     * @throws IOException if the snapshot could not be written
+     *
+     * @see com.oracle.coherence.ai.index.IndexSnapshots
+     * @since 25.09
+     */
+    default boolean writeSnapshot(WriteBuffer.BufferOutput out)
+            throws IOException
+        {
+        return false;
+        }
+
+    /**
+     * Restore the state of this index from a snapshot written by
+     * {@link #writeSnapshot(WriteBuffer.BufferOutput)}.
+     * <p/>
+     * This method is only called for an empty index, and must leave the
+     * index empty if it returns {@code false}, in which case the index is
+     * rebuilt from the cache entries.
+     * <p/>
+     * The default implementation does not support snapshots.
+     *
+     * @param in  the input to read the snapshot from
+     *
+     * @return {@code true} if the index was restored, or {@code false} if the
+     *         snapshot is not compatible with this index
+     *
+     * @throws IOException if the snapshot could not be read
+     *
+     * @since 25.09
+     */
+    default boolean readSnapshot(ReadBuffer.BufferInput in)
+            throws IOException
+        {
+        return false;
+        }
     }
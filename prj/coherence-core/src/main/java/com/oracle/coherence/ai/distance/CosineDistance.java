@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2000, 2024, Oracle and/or its affiliates.
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
  *
  * Licensed under the Universal Permissive License v 1.0 as shown at
  * https://oss.oracle.com/licenses/upl.
@@ -8,6 +8,7 @@
 package com.oracle.coherence.ai.distance;
 
 import com.oracle.coherence.ai.DistanceAlgorithm;
+import com.oracle.coherence.ai.internal.VectorKernels;
 import com.oracle.coherence.ai.util.Vectors;
 
 import java.util.BitSet;
@@ -48,21 +49,7 @@ public class CosineDistance<T>
     @Override
     protected double distance(byte[] v1, byte[] v2)
         {
-        double dotProduct = 0.0;
-        double normA      = 0.0;
-        double normB      = 0.0;
-
-        for (int i = 0; i < v1.length; i++)
-            {
-            int a = v1[i];
-            int b = v2[i];
-            normA += a * a;
-            normB += b * b;
-            dotProduct += a * b;
-            }
-
-        // Avoid division by zero.
-        return 1.0f - (float) (dotProduct / Math.max(Math.sqrt(normA) * Math.sqrt(normB), EPSILON));
+        return 1.0f - (float) VectorKernels.cosine(v1, v2);
         }
 
     @Override
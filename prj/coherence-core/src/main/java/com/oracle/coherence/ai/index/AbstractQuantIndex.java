@@ -0,0 +1,1020 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.coherence.ai.index;
+
+import com.oracle.coherence.ai.Vector;
+import com.oracle.coherence.ai.VectorIndex;
+import com.oracle.coherence.ai.VectorIndexExtractor;
+
+import com.oracle.coherence.ai.internal.HnswGraph;
+import com.oracle.coherence.ai.internal.Quantizer;
+
+import com.oracle.coherence.ai.search.BinaryQueryResult;
+
+import com.oracle.coherence.ai.util.Vectors;
+
+import com.tangosol.io.AbstractEvolvable;
+import com.tangosol.io.ExternalizableLite;
+import com.tangosol.io.ReadBuffer;
+import com.tangosol.io.WriteBuffer;
+import com.tangosol.io.pof.EvolvablePortableObject;
+import com.tangosol.io.pof.PofReader;
+import com.tangosol.io.pof.PofWriter;
+
+import com.tangosol.net.BackingMapContext;
+
+import com.tangosol.net.cache.SimpleMemoryCalculator;
+
+import com.tangosol.util.Binary;
+import com.tangosol.util.BinaryEntry;
+import com.tangosol.util.ExternalizableHelper;
+import com.tangosol.util.Filter;
+import com.tangosol.util.InvocableMapHelper;
+import com.tangosol.util.MapIndex;
+import com.tangosol.util.NullImplementation;
+import com.tangosol.util.ValueExtractor;
+
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+
+import jakarta.json.bind.annotation.JsonbProperty;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static com.tangosol.net.cache.SimpleMemoryCalculator.SIZE_OBJECT_REF;
+import static com.tangosol.net.cache.SimpleMemoryCalculator.calculateShallowSize;
+
+/**
+ * A base class for the {@link VectorIndexExtractor}s that create a
+ * {@link VectorIndex} of {@code float} vectors compressed by a
+ * {@link Quantizer}.
+ * <p/>
+ * The quantizer is trained on the vectors of the first partition that
+ * contains {@link #getTrainingSize() enough} vectors, and is then used by all
+ * the partitions of the index on the same member. Until a quantizer is
+ * available, a partition keeps the original vectors, and computes exact
+ * distances to them.
+ * <p/>
+ * Once quantized, the codes of all vectors in a partition are stored in a
+ * single {@code byte[]} slab, and a query is a scan over the slab using the
+ * approximate distances computed by the quantizer. The closest
+ * {@link #getOversamplingFactor() oversampled} candidates are returned, so
+ * that they can be re-ranked using their exact distances.
+ *
+ * @param <K>  the type of the cache key
+ * @param <V>  the type of the cache value
+ *
+ * @since 25.09
+ */
+public abstract class AbstractQuantIndex<K, V>
+        extends AbstractEvolvable
+        implements VectorIndexExtractor<V, float[]>, ExternalizableLite, EvolvablePortableObject
+    {
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Default constructor for serialization.
+     */
+    protected AbstractQuantIndex()
+        {
+        }
+
+    /**
+     * Create an {@link AbstractQuantIndex}.
+     *
+     * @param extractor   the {@link ValueExtractor} to use to extract the float
+     *                    array {@link Vector} from the cache entry
+     * @param nDimension  the number of dimensions in the vector
+     */
+    protected AbstractQuantIndex(ValueExtractor<V, Vector<float[]>> extractor, int nDimension)
+        {
+        m_extractor  = ValueExtractor.of(Objects.requireNonNull(extractor));
+        m_nDimension = nDimension;
+        }
+
+    // ----- accessors ------------------------------------------------------
+
+    /**
+     * Return the {@link ValueExtractor} to use to extract the float
+     * array {@link Vector} from the cache entry.
+     *
+     * @return the {@link ValueExtractor} to use to extract the float
+     *         array {@link Vector} from the cache entry.
+     */
+    public ValueExtractor<V, Vector<float[]>> getExtractor()
+        {
+        return m_extractor;
+        }
+
+    /**
+     * Return the number of dimensions in the vectors the index contains.
+     *
+     * @return the number of dimensions in the vectors the index contains
+     */
+    public int getDimension()
+        {
+        return m_nDimension;
+        }
+
+    /**
+     * Return the index space name; one of {@code COSINE}, {@code L2} or {@code IP}.
+     *
+     * @return the index space name
+     */
+    public String getSpaceName()
+        {
+        return m_sSpaceName;
+        }
+
+    /**
+     * Return the oversampling factor, which is the number of candidates a
+     * quantized partition index returns for each requested result.
+     *
+     * @return the oversampling factor
+     */
+    public int getOversamplingFactor()
+        {
+        return m_nOversamplingFactor;
+        }
+
+    /**
+     * Return the number of vectors a partition must contain before the
+     * quantizer is trained on them.
+     *
+     * @return the number of vectors used to train the quantizer
+     */
+    public int getTrainingSize()
+        {
+        return m_cTrainingSize;
+        }
+
+    // ----- AbstractQuantIndex methods -------------------------------------
+
+    /**
+     * Train a {@link Quantizer} on the specified sample of vectors.
+     *
+     * @param space     the distance space
+     * @param afSample  the sample vectors, stored contiguously
+     * @param cSample   the number of sample vectors
+     *
+     * @return the trained quantizer
+     */
+    protected abstract Quantizer train(HnswGraph.Space space, float[] afSample, int cSample);
+
+    /**
+     * Read a {@link Quantizer} created by this index from the specified input.
+     *
+     * @param in  the input to read from
+     *
+     * @return the quantizer
+     *
+     * @throws IOException if an error occurs
+     */
+    protected abstract Quantizer readQuantizer(DataInput in)
+            throws IOException;
+
+    // ----- IndexAwareExtractor interface ----------------------------------
+
+    @Override
+    public MapIndex<K, V, Vector<float[]>> createIndex(boolean fSorted, Comparator comparator, Map<ValueExtractor<V, Vector<float[]>>, MapIndex> map, BackingMapContext backingMapContext)
+        {
+        QuantMapIndex mapIndex = new QuantMapIndex(backingMapContext);
+        map.put(m_extractor, mapIndex);
+        return mapIndex;
+        }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public MapIndex<K, V, Vector<float[]>> destroyIndex(Map<ValueExtractor<V, Vector<float[]>>, MapIndex> map)
+        {
+        return map.remove(m_extractor);
+        }
+
+    // ----- ValueExtractor interface ---------------------------------------
+
+    @Override
+    public Vector<float[]> extract(V v)
+        {
+        return m_extractor.extract(v);
+        }
+
+    // ----- Object methods -------------------------------------------------
+
+    @Override
+    public boolean equals(Object o)
+        {
+        if (this == o)
+            {
+            return true;
+            }
+        if (o == null || getClass() != o.getClass())
+            {
+            return false;
+            }
+        AbstractQuantIndex<?, ?> that = (AbstractQuantIndex<?, ?>) o;
+        return Objects.equals(m_extractor, that.m_extractor);
+        }
+
+    @Override
+    public int hashCode()
+        {
+        return Objects.hash(m_extractor);
+        }
+
+    // ----- PortableObject interface ---------------------------------------
+
+    @Override
+    public void readExternal(PofReader in) throws IOException
+        {
+        m_extractor           = in.readObject(0);
+        m_nDimension          = in.readInt(1);
+        m_sSpaceName          = in.readString(2);
+        m_nOversamplingFactor = in.readInt(3);
+        m_cTrainingSize       = in.readInt(4);
+        }
+
+    @Override
+    public void writeExternal(PofWriter out) throws IOException
+        {
+        out.writeObject(0, m_extractor);
+        out.writeInt(1, m_nDimension);
+        out.writeString(2, m_sSpaceName);
+        out.writeInt(3, m_nOversamplingFactor);
+        out.writeInt(4, m_cTrainingSize);
+        }
+
+    // ----- ExternalizableLite interface -----------------------------------
+
+    @Override
+    public void readExternal(DataInput in) throws IOException
+        {
+        m_extractor           = ExternalizableHelper.readObject(in);
+        m_nDimension          = ExternalizableHelper.readInt(in);
+        m_sSpaceName          = ExternalizableHelper.readSafeUTF(in);
+        m_nOversamplingFactor = ExternalizableHelper.readInt(in);
+        m_cTrainingSize       = ExternalizableHelper.readInt(in);
+        }
+
+    @Override
+    public void writeExternal(DataOutput out) throws IOException
+        {
+        ExternalizableHelper.writeObject(out, m_extractor);
+        ExternalizableHelper.writeInt(out, m_nDimension);
+        ExternalizableHelper.writeUTF(out, m_sSpaceName);
+        ExternalizableHelper.writeInt(out, m_nOversamplingFactor);
+        ExternalizableHelper.writeInt(out, m_cTrainingSize);
+        }
+
+    // ----- inner class: QuantMapIndex -------------------------------------
+
+    /**
+     * The quantized {@link MapIndex} and {@link VectorIndex} implementation
+     * for a single partition.
+     * <p/>
+     * The vectors are stored in a columnar layout, with a parallel array of
+     * cache keys: either the original vectors in a {@code float[]} slab
+     * before the quantizer is trained, or their codes in a {@code byte[]}
+     * slab afterwards. A query filter is resolved into an {@link AllowList}
+     * first, so that only the allowed vectors are scanned when there are few
+     * of them.
+     */
+    public class QuantMapIndex
+            implements VectorIndex<K, V, Vector<float[]>>
+        {
+        // ----- constructor ------------------------------------------------
+
+        /**
+         * Create a {@link QuantMapIndex}.
+         *
+         * @param ctx  the cache {@link BackingMapContext}
+         */
+        protected QuantMapIndex(BackingMapContext ctx)
+            {
+            f_backingMapContext = ctx;
+            f_space             = HnswGraph.Space.valueOf(m_sSpaceName.toUpperCase());
+            f_mapSlots.defaultReturnValue(-1);
+            }
+
+        // ----- accessors --------------------------------------------------
+
+        /**
+         * Return the {@link Quantizer} used by this index.
+         *
+         * @return the {@link Quantizer} used by this index, or {@code null}
+         *         if the vectors have not been quantized yet
+         */
+        public Quantizer getQuantizer()
+            {
+            return m_quantizer;
+            }
+
+        // ----- MapIndex interface -----------------------------------------
+
+        @Override
+        public ValueExtractor<V, Vector<float[]>> getValueExtractor()
+            {
+            return m_extractor;
+            }
+
+        @Override
+        public boolean isOrdered()
+            {
+            return false;
+            }
+
+        @Override
+        public boolean isPartial()
+            {
+            return false;
+            }
+
+        @Override
+        public Map<Vector<float[]>, Set<K>> getIndexContents()
+            {
+            return NullImplementation.getMap();
+            }
+
+        @Override
+        public Object get(K k)
+            {
+            return NO_VALUE;
+            }
+
+        @Override
+        public Comparator<Vector<float[]>> getComparator()
+            {
+            return null;
+            }
+
+        @Override
+        public long getUnits()
+            {
+            return m_cUnits;
+            }
+
+        @Override
+        public void insert(Map.Entry<? extends K, ? extends V> entry)
+            {
+            Vector<float[]> v = InvocableMapHelper.extractFromEntry(m_extractor, entry);
+            if (v != null)
+                {
+                put(getKey(entry), v.get());
+                }
+            }
+
+        @Override
+        public void update(Map.Entry<? extends K, ? extends V> entry)
+            {
+            Vector<float[]> v = InvocableMapHelper.extractFromEntry(m_extractor, entry);
+            if (v != null)
+                {
+                put(getKey(entry), v.get());
+                }
+            else
+                {
+                delete(entry);
+                }
+            }
+
+        @Override
+        public void delete(Map.Entry<? extends K, ? extends V> entry)
+            {
+            Binary binKey = getKey(entry);
+
+            f_lock.writeLock().lock();
+            try
+                {
+                int nSlot = f_mapSlots.removeInt(binKey);
+                if (nSlot < 0)
+                    {
+                    return;
+                    }
+
+                // keep the slab dense by moving the last vector into the vacated slot
+                int    nLast   = --m_cSize;
+                Binary binLast = m_aKeys[nLast];
+                if (nSlot != nLast)
+                    {
+                    if (m_quantizer == null)
+                        {
+                        int cDim = m_nDimension;
+                        System.arraycopy(m_afVectors, nLast * cDim, m_afVectors, nSlot * cDim, cDim);
+                        }
+                    else
+                        {
+                        int cCode = m_cCodeSize;
+                        System.arraycopy(m_abCodes, nLast * cCode, m_abCodes, nSlot * cCode, cCode);
+                        }
+                    m_aKeys[nSlot] = binLast;
+                    f_mapSlots.put(binLast, nSlot);
+                    }
+                m_aKeys[nLast] = null;
+
+                m_cUnits -= ENTRY_OVERHEAD + CALC.sizeOf(binKey);
+                }
+            finally
+                {
+                f_lock.writeLock().unlock();
+                }
+            }
+
+        // ----- VectorIndex interface --------------------------------------
+
+        @Override
+        public BinaryQueryResult[] query(Vector<float[]> vector, int k, Filter<?> filter)
+            {
+            float[] afQuery = prepare(Objects.requireNonNull(vector).get());
+
+            f_lock.readLock().lock();
+            try
+                {
+                Quantizer quantizer = m_quantizer;
+                int       cSize     = m_cSize;
+                int       cResults  = Math.min(quantizer == null ? k : k * m_nOversamplingFactor, cSize);
+                if (cResults <= 0)
+                    {
+                    return EMPTY_RESULTS;
+                    }
+
+                int              cDim      = m_nDimension;
+                int              cCode     = m_cCodeSize;
+                float[]          afVectors = m_afVectors;
+                byte[]           abCodes   = m_abCodes;
+                Binary[]         aKeys     = m_aKeys;
+                Quantizer.Scorer scorer    = quantizer == null ? null : quantizer.scorer(afQuery);
+
+                // resolve the filter against the other indexes, and if only a few
+                // entries can match, only compute the distances to those entries
+                AllowList allow   = AllowList.resolve(f_backingMapContext, f_mapSlots.keySet(), filter);
+                int[]     anSlots = null;
+                int       cScan   = cSize;
+                if (allow != null && allow.isSmall())
+                    {
+                    anSlots = new int[allow.size()];
+                    cScan   = 0;
+                    for (Binary binKey : allow.getKeys())
+                        {
+                        int nSlot = f_mapSlots.getInt(binKey);
+                        if (nSlot >= 0 && cScan < anSlots.length)
+                            {
+                            anSlots[cScan++] = nSlot;
+                            }
+                        }
+                    }
+
+                // a bounded max-heap of (distance, slot) pairs; the root is the
+                // furthest of the closest candidates found so far
+                float[] afDist = new float[cResults];
+                int[]   anSlot = new int[cResults];
+                int     cHeap  = 0;
+
+                for (int n = 0; n < cScan; n++)
+                    {
+                    int   nSlot = anSlots == null ? n : anSlots[n];
+                    float fDist = scorer == null
+                            ? Quantizer.distance(f_space, afQuery, 0, afVectors, nSlot * cDim, cDim)
+                            : scorer.distance(abCodes, nSlot * cCode);
+
+                    if (cHeap == cResults && fDist >= afDist[0])
+                        {
+                        continue;
+                        }
+
+                    // only evaluate the filter for candidates that would make it
+                    // into the result set
+                    if (allow != null && !((anSlots != null || allow.contains(aKeys[nSlot]))
+                                           && allow.evaluate(aKeys[nSlot])))
+                        {
+                        continue;
+                        }
+
+                    if (cHeap < cResults)
+                        {
+                        siftUp(afDist, anSlot, cHeap++, fDist, nSlot);
+                        }
+                    else
+                        {
+                        siftDown(afDist, anSlot, cHeap, fDist, nSlot);
+                        }
+                    }
+
+                // drain the heap from the furthest to the closest candidate
+                BinaryQueryResult[] aResults = new BinaryQueryResult[cHeap];
+                int                 c        = cHeap;
+                for (int i = cHeap - 1; i >= 0; i--)
+                    {
+                    float  fDist  = afDist[0];
+                    Binary binKey = aKeys[anSlot[0]];
+                    Binary binVal = f_backingMapContext.getReadOnlyEntry(binKey).asBinaryEntry().getBinaryValue();
+
+                    siftDown(afDist, anSlot, i, afDist[i], anSlot[i]);
+                    if (binVal == null)
+                        {
+                        // the entry has been removed since it was indexed
+                        c--;
+                        continue;
+                        }
+                    aResults[i] = new BinaryQueryResult(fDist, binKey, binVal);
+                    }
+
+                if (c < cHeap)
+                    {
+                    aResults = Arrays.stream(aResults).filter(Objects::nonNull).toArray(BinaryQueryResult[]::new);
+                    }
+                return aResults;
+                }
+            finally
+                {
+                f_lock.readLock().unlock();
+                }
+            }
+
+        @Override
+        public boolean writeSnapshot(WriteBuffer.BufferOutput out)
+                throws IOException
+            {
+            f_lock.readLock().lock();
+            try
+                {
+                Quantizer quantizer = m_quantizer;
+                int       cSize     = m_cSize;
+
+                out.writeInt(m_nDimension);
+                out.writeInt(cSize);
+                for (int nSlot = 0; nSlot < cSize; nSlot++)
+                    {
+                    ExternalizableHelper.writeObject(out, m_aKeys[nSlot]);
+                    }
+
+                out.writeBoolean(quantizer != null);
+                if (quantizer == null)
+                    {
+                    float[] afVectors = m_afVectors;
+                    for (int i = 0, c = cSize * m_nDimension; i < c; i++)
+                        {
+                        out.writeFloat(afVectors[i]);
+                        }
+                    }
+                else
+                    {
+                    quantizer.write(out);
+                    out.write(m_abCodes, 0, cSize * m_cCodeSize);
+                    }
+                return true;
+                }
+            finally
+                {
+                f_lock.readLock().unlock();
+                }
+            }
+
+        @Override
+        public boolean readSnapshot(ReadBuffer.BufferInput in)
+                throws IOException
+            {
+            int cDim  = in.readInt();
+            int cSize = in.readInt();
+            if (cDim != m_nDimension)
+                {
+                return false;
+                }
+
+            // read the whole snapshot before the index is modified
+            Binary[] aKeys = new Binary[cSize];
+            for (int nSlot = 0; nSlot < cSize; nSlot++)
+                {
+                aKeys[nSlot] = ExternalizableHelper.readObject(in);
+                }
+
+            Quantizer quantizer = null;
+            float[]   afVectors = null;
+            byte[]    abCodes   = null;
+            if (in.readBoolean())
+                {
+                quantizer = readQuantizer(in);
+                if (quantizer.getSpace() != f_space || quantizer.getDimension() != cDim)
+                    {
+                    return false;
+                    }
+                abCodes = new byte[cSize * quantizer.getCodeSize()];
+                in.readFully(abCodes);
+                }
+            else
+                {
+                afVectors = new float[cSize * cDim];
+                for (int i = 0; i < afVectors.length; i++)
+                    {
+                    afVectors[i] = in.readFloat();
+                    }
+                }
+
+            f_lock.writeLock().lock();
+            try
+                {
+                if (m_cSize != 0)
+                    {
+                    return false;
+                    }
+
+                long cUnits = 0L;
+                for (int nSlot = 0; nSlot < cSize; nSlot++)
+                    {
+                    Binary binKey = aKeys[nSlot];
+
+                    f_mapSlots.put(binKey, nSlot);
+                    cUnits += ENTRY_OVERHEAD + CALC.sizeOf(binKey);
+                    }
+
+                m_aKeys     = aKeys;
+                m_afVectors = afVectors == null ? new float[0] : afVectors;
+                m_abCodes   = abCodes == null ? new byte[0] : abCodes;
+                m_quantizer = quantizer;
+                m_cCodeSize = quantizer == null ? 0 : quantizer.getCodeSize();
+                m_cSize     = cSize;
+                m_cUnits   += cUnits
+                              + (long) cSize * (SIZE_OBJECT_REF + getSlotSize())
+                              + (quantizer == null ? 0L : quantizer.getUnits());
+                return true;
+                }
+            finally
+                {
+                f_lock.writeLock().unlock();
+                }
+            }
+
+        // ----- helper methods ---------------------------------------------
+
+        /**
+         * Add or replace the specified vector.
+         *
+         * @param binKey    the binary cache key
+         * @param afVector  the vector to add to the index
+         */
+        private void put(Binary binKey, float[] afVector)
+            {
+            float[] af = prepare(afVector);
+
+            f_lock.writeLock().lock();
+            try
+                {
+                Quantizer quantizer = m_quantizer;
+                if (quantizer == null && m_quantizerShared != null)
+                    {
+                    // another partition has trained the quantizer
+                    quantize(quantizer = m_quantizerShared);
+                    }
+
+                int nSlot = f_mapSlots.getInt(binKey);
+                if (nSlot < 0)
+                    {
+                    nSlot = m_cSize;
+                    ensureCapacity(nSlot + 1);
+                    m_aKeys[nSlot] = binKey;
+                    f_mapSlots.put(binKey, nSlot);
+                    m_cSize++;
+
+                    m_cUnits += ENTRY_OVERHEAD + CALC.sizeOf(binKey);
+                    }
+
+                if (quantizer != null)
+                    {
+                    quantizer.encode(af, m_abCodes, nSlot * m_cCodeSize);
+                    }
+                else
+                    {
+                    System.arraycopy(af, 0, m_afVectors, nSlot * m_nDimension, m_nDimension);
+                    if (m_cSize >= m_cTrainingSize)
+                        {
+                        quantizer = train(f_space, m_afVectors, m_cSize);
+
+                        m_quantizerShared = quantizer;
+                        quantize(quantizer);
+                        }
+                    }
+                }
+            finally
+                {
+                f_lock.writeLock().unlock();
+                }
+            }
+
+        /**
+         * Replace the original vectors with their codes. Must be called while
+         * holding the write lock.
+         *
+         * @param quantizer  the quantizer to use
+         */
+        private void quantize(Quantizer quantizer)
+            {
+            int     cDim      = m_nDimension;
+            int     cCode     = quantizer.getCodeSize();
+            int     cCapacity = m_aKeys.length;
+            float[] afVectors = m_afVectors;
+            byte[]  abCodes   = new byte[cCapacity * cCode];
+            float[] afVector  = new float[cDim];
+
+            for (int nSlot = 0, cSize = m_cSize; nSlot < cSize; nSlot++)
+                {
+                System.arraycopy(afVectors, nSlot * cDim, afVector, 0, cDim);
+                quantizer.encode(afVector, abCodes, nSlot * cCode);
+                }
+
+            m_cUnits += quantizer.getUnits() - (long) cCapacity * getSlotSize();
+
+            m_quantizer = quantizer;
+            m_cCodeSize = cCode;
+            m_abCodes   = abCodes;
+            m_afVectors = new float[0];
+
+            m_cUnits += (long) cCapacity * getSlotSize();
+            }
+
+        /**
+         * Ensure that the slab and key arrays can hold the specified number of vectors.
+         *
+         * @param cVectors  the required capacity
+         */
+        private void ensureCapacity(int cVectors)
+            {
+            int cCapacity = m_aKeys.length;
+            if (cVectors > cCapacity)
+                {
+                int cNew = Math.max(cVectors, cCapacity == 0 ? INITIAL_CAPACITY : cCapacity + (cCapacity >> 1));
+
+                m_cUnits += (long) (cNew - cCapacity) * (SIZE_OBJECT_REF + getSlotSize());
+
+                m_aKeys = Arrays.copyOf(m_aKeys, cNew);
+                if (m_quantizer == null)
+                    {
+                    m_afVectors = Arrays.copyOf(m_afVectors, cNew * m_nDimension);
+                    }
+                else
+                    {
+                    m_abCodes = Arrays.copyOf(m_abCodes, cNew * m_cCodeSize);
+                    }
+                }
+            }
+
+        /**
+         * Return the number of bytes used by each vector in the slab.
+         *
+         * @return the number of bytes used by each vector in the slab
+         */
+        private int getSlotSize()
+            {
+            return m_quantizer == null ? m_nDimension * Float.BYTES : m_cCodeSize;
+            }
+
+        /**
+         * Validate the dimensions of the specified vector, and normalize it
+         * when the cosine distance is used.
+         *
+         * @param afVector  the vector
+         *
+         * @return the vector to index or search for
+         *
+         * @throws IllegalArgumentException if the vector dimensions do not
+         *         match the dimensions of the index
+         */
+        private float[] prepare(float[] afVector)
+            {
+            if (afVector.length != m_nDimension)
+                {
+                throw new IllegalArgumentException(String.format(
+                        "Vector dimensions do not match the index: expected %d, actual %d",
+                        m_nDimension, afVector.length));
+                }
+            return f_space == HnswGraph.Space.COSINE ? Vectors.normalize(afVector.clone()) : afVector;
+            }
+
+        /**
+         * Return the binary key for the specified entry.
+         *
+         * @param entry  the entry
+         *
+         * @return the binary key for the specified entry
+         */
+        private Binary getKey(Map.Entry<? extends K, ? extends V> entry)
+            {
+            return entry instanceof BinaryEntry
+                   ? ((BinaryEntry<?, ?>) entry).getBinaryKey()
+                   : (Binary) entry.getKey();
+            }
+
+        // ----- data members -----------------------------------------------
+
+        /**
+         * The cache {@link BackingMapContext}.
+         */
+        private final BackingMapContext f_backingMapContext;
+
+        /**
+         * The distance space.
+         */
+        private final HnswGraph.Space f_space;
+
+        /**
+         * The lock guarding the slabs, the keys and the key to slot mapping.
+         */
+        private final ReadWriteLock f_lock = new ReentrantReadWriteLock();
+
+        /**
+         * The index of cache keys to slots within the slab.
+         */
+        private final Object2IntOpenHashMap<Binary> f_mapSlots = new Object2IntOpenHashMap<>();
+
+        /**
+         * The cache keys, indexed by slot.
+         */
+        private Binary[] m_aKeys = new Binary[0];
+
+        /**
+         * The original vectors, {@link #m_nDimension} floats per slot, which
+         * are only kept until the vectors are quantized.
+         */
+        private float[] m_afVectors = new float[0];
+
+        /**
+         * The codes of the quantized vectors, {@link #m_cCodeSize} bytes per slot.
+         */
+        private byte[] m_abCodes = new byte[0];
+
+        /**
+         * The quantizer, or {@code null} if the vectors are not quantized yet.
+         */
+        private Quantizer m_quantizer;
+
+        /**
+         * The number of bytes in the code of each vector.
+         */
+        private int m_cCodeSize;
+
+        /**
+         * The number of vectors in the index.
+         */
+        private int m_cSize;
+
+        /**
+         * The number of units (bytes) used by this index.
+         */
+        private volatile long m_cUnits = calculateShallowSize(QuantMapIndex.class)
+                                         + calculateShallowSize(Object2IntOpenHashMap.class);
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+     * Insert the specified candidate into a max-heap of {@code nPos} elements
+     * stored in the parallel {@code afDist} and {@code anSlot} arrays.
+     *
+     * @param afDist  the heap distances
+     * @param anSlot  the heap slots
+     * @param nPos    the position of the new element (the current heap size)
+     * @param fDist   the candidate distance
+     * @param nSlot   the candidate slot
+     */
+    private static void siftUp(float[] afDist, int[] anSlot, int nPos, float fDist, int nSlot)
+        {
+        while (nPos > 0)
+            {
+            int nParent = (nPos - 1) >>> 1;
+            if (afDist[nParent] >= fDist)
+                {
+                break;
+                }
+            afDist[nPos] = afDist[nParent];
+            anSlot[nPos] = anSlot[nParent];
+            nPos = nParent;
+            }
+        afDist[nPos] = fDist;
+        anSlot[nPos] = nSlot;
+        }
+
+    /**
+     * Replace the root of a max-heap of {@code cHeap} elements stored in the
+     * parallel {@code afDist} and {@code anSlot} arrays with the specified
+     * candidate.
+     *
+     * @param afDist  the heap distances
+     * @param anSlot  the heap slots
+     * @param cHeap   the heap size
+     * @param fDist   the candidate distance
+     * @param nSlot   the candidate slot
+     */
+    private static void siftDown(float[] afDist, int[] anSlot, int cHeap, float fDist, int nSlot)
+        {
+        int nPos  = 0;
+        int nHalf = cHeap >>> 1;
+        while (nPos < nHalf)
+            {
+            int nChild = (nPos << 1) + 1;
+            int nRight = nChild + 1;
+            if (nRight < cHeap && afDist[nRight] > afDist[nChild])
+                {
+                nChild = nRight;
+                }
+            if (fDist >= afDist[nChild])
+                {
+                break;
+                }
+            afDist[nPos] = afDist[nChild];
+            anSlot[nPos] = anSlot[nChild];
+            nPos = nChild;
+            }
+        if (cHeap > 0)
+            {
+            afDist[nPos] = fDist;
+            anSlot[nPos] = nSlot;
+            }
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The default space name.
+     */
+    public static final String DEFAULT_SPACE_NAME = "COSINE";
+
+    /**
+     * The default oversampling factor.
+     */
+    public static final int DEFAULT_OVERSAMPLING_FACTOR = 3;
+
+    /**
+     * The default number of vectors used to train the quantizer.
+     */
+    public static final int DEFAULT_TRAINING_SIZE = 4096;
+
+    /**
+     * The initial capacity of the vector slab.
+     */
+    protected static final int INITIAL_CAPACITY = 256;
+
+    /**
+     * An empty query result array.
+     */
+    private static final BinaryQueryResult[] EMPTY_RESULTS = new BinaryQueryResult[0];
+
+    /**
+     * The memory calculator used to size the indexed keys.
+     */
+    private static final SimpleMemoryCalculator CALC = new SimpleMemoryCalculator();
+
+    /**
+     * The memory cost of a key to slot map entry.
+     */
+    private static final int ENTRY_OVERHEAD = SIZE_OBJECT_REF + 4;
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The {@link ValueExtractor} to use to extract the {@link Vector}.
+     */
+    @JsonbProperty("extractor")
+    protected ValueExtractor<V, Vector<float[]>> m_extractor;
+
+    /**
+     * The number of dimensions in the vector.
+     */
+    @JsonbProperty("dimension")
+    protected int m_nDimension;
+
+    /**
+     * The index space name.
+     */
+    @JsonbProperty("spaceName")
+    protected String m_sSpaceName = DEFAULT_SPACE_NAME;
+
+    /**
+     * The oversampling factor.
+     */
+    @JsonbProperty("oversamplingFactor")
+    protected int m_nOversamplingFactor = DEFAULT_OVERSAMPLING_FACTOR;
+
+    /**
+     * The number of vectors used to train the quantizer.
+     */
+    @JsonbProperty("trainingSize")
+    protected int m_cTrainingSize = DEFAULT_TRAINING_SIZE;
+
+    /**
+     * The quantizer trained by any of the partition indexes, which is used
+     * by the partition indexes that have not been quantized yet.
+     */
+    private transient volatile Quantizer m_quantizerShared;
+    }
@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.coherence.ai.index;
+
+import com.oracle.coherence.ai.VectorIndex;
+
+import com.tangosol.coherence.config.Config;
+
+import com.tangosol.net.BackingMapContext;
+import com.tangosol.net.BackingMapManagerContext;
+
+import com.tangosol.util.Binary;
+import com.tangosol.util.Filter;
+import com.tangosol.util.InvocableMapHelper;
+import com.tangosol.util.MapIndex;
+import com.tangosol.util.SubSet;
+import com.tangosol.util.ValueExtractor;
+
+import com.tangosol.util.filter.AlwaysFilter;
+import com.tangosol.util.filter.IndexAwareFilter;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The keys of the entries in a {@link VectorIndex} that may satisfy a query
+ * {@link Filter}.
+ * <p/>
+ * An allow-list is created by applying the filter to the regular
+ * {@link MapIndex indexes} of the partition the vector index belongs to, which
+ * narrows down the keys without deserializing any entries. The part of the
+ * filter that could not be resolved using the indexes, if any, is retained as
+ * the {@link #getResidualFilter() residual filter}, and is only evaluated for
+ * the entries a vector index is about to return.
+ * <p/>
+ * When the allow-list is {@link #isSmall() small}, a vector index should
+ * compute the exact distances to the allowed entries instead of searching the
+ * whole index, as an approximate search would have to visit a large number of
+ * entries that do not satisfy the filter, and would likely miss some of those
+ * that do.
+ *
+ * @since 25.09
+ */
+public class AllowList
+    {
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Create an {@link AllowList}.
+     *
+     * @param ctx             the {@link BackingMapContext} of the indexed cache
+     * @param setKeys         the allowed keys, or {@code null} if all keys are allowed
+     * @param filterResidual  the filter the allowed entries must still satisfy,
+     *                        or {@code null} if all allowed entries satisfy the filter
+     */
+    protected AllowList(BackingMapContext ctx, Set<Binary> setKeys, Filter<?> filterResidual)
+        {
+        f_ctx            = ctx;
+        f_setKeys        = setKeys;
+        f_filterResidual = filterResidual;
+        }
+
+    // ----- factory methods ------------------------------------------------
+
+    /**
+     * Resolve the specified {@link Filter} against the indexes of the partition
+     * that contains the specified keys.
+     *
+     * @param ctx      the {@link BackingMapContext} of the indexed cache
+     * @param setKeys  the keys of all entries in the vector index, which must
+     *                 all belong to the same partition; the set is not modified
+     * @param filter   the filter to resolve
+     *
+     * @return the {@link AllowList} for the filter, or {@code null} if the
+     *         filter does not restrict the entries
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static AllowList resolve(BackingMapContext ctx, Set<Binary> setKeys, Filter<?> filter)
+        {
+        if (filter == null || filter instanceof AlwaysFilter)
+            {
+            return null;
+            }
+
+        if (ctx == null || !(filter instanceof IndexAwareFilter) || setKeys.isEmpty())
+            {
+            return new AllowList(ctx, null, filter);
+            }
+
+        Map<ValueExtractor, MapIndex> mapIndex = getIndexMap(ctx, setKeys);
+        if (mapIndex == null || mapIndex.isEmpty())
+            {
+            return new AllowList(ctx, null, filter);
+            }
+
+        SubSet<Binary> setAllowed = new SubSet<>(setKeys);
+        Filter<?>      filterRest = ((IndexAwareFilter) filter).applyIndex(mapIndex, setAllowed);
+
+        return new AllowList(ctx, setAllowed, filterRest);
+        }
+
+    // ----- accessors ------------------------------------------------------
+
+    /**
+     * Return the allowed keys.
+     *
+     * @return the allowed keys, or {@code null} if the indexes could not be
+     *         used to restrict the keys
+     */
+    public Set<Binary> getKeys()
+        {
+        return f_setKeys;
+        }
+
+    /**
+     * Return the number of allowed keys.
+     *
+     * @return the number of allowed keys, or {@code -1} if the indexes could
+     *         not be used to restrict the keys
+     */
+    public int size()
+        {
+        return f_setKeys == null ? -1 : f_setKeys.size();
+        }
+
+    /**
+     * Return the part of the filter that could not be resolved using the indexes.
+     *
+     * @return the filter the allowed entries must still satisfy, or {@code null}
+     *         if all allowed entries satisfy the filter
+     */
+    public Filter<?> getResidualFilter()
+        {
+        return f_filterResidual;
+        }
+
+    /**
+     * Return {@code true} if there are few enough allowed keys that the
+     * distances to all of them should be computed, rather than searched for
+     * approximately.
+     *
+     * @return {@code true} if the allowed keys should be searched exhaustively
+     *
+     * @see #BRUTE_FORCE_THRESHOLD
+     */
+    public boolean isSmall()
+        {
+        return f_setKeys != null && f_setKeys.size() <= BRUTE_FORCE_THRESHOLD;
+        }
+
+    // ----- AllowList methods ----------------------------------------------
+
+    /**
+     * Return {@code true} if the specified key is in the allow-list.
+     * <p/>
+     * The entry with the specified key may still not satisfy the
+     * {@link #getResidualFilter() residual filter}.
+     *
+     * @param binKey  the key to check
+     *
+     * @return {@code true} if the specified key is in the allow-list
+     */
+    public boolean contains(Binary binKey)
+        {
+        return f_setKeys == null || f_setKeys.contains(binKey);
+        }
+
+    /**
+     * Return {@code true} if the entry with the specified key satisfies the
+     * {@link #getResidualFilter() residual filter}.
+     * <p/>
+     * This method deserializes the entry if there is a residual filter, so
+     * it should only be called for the entries that are about to be returned.
+     *
+     * @param binKey  the key of the entry to evaluate
+     *
+     * @return {@code true} if the entry satisfies the residual filter
+     */
+    public boolean evaluate(Binary binKey)
+        {
+        Filter<?> filter = f_filterResidual;
+        return filter == null || InvocableMapHelper.evaluateEntry(filter, f_ctx.getReadOnlyEntry(binKey));
+        }
+
+    /**
+     * Return {@code true} if the entry with the specified key satisfies the
+     * original filter.
+     *
+     * @param binKey  the key of the entry to evaluate
+     *
+     * @return {@code true} if the entry satisfies the filter
+     */
+    public boolean isAllowed(Binary binKey)
+        {
+        return contains(binKey) && evaluate(binKey);
+        }
+
+    // ----- helpers --------------------------------------------------------
+
+    /**
+     * Return the index map of the partition the specified keys belong to.
+     *
+     * @param ctx      the {@link BackingMapContext} of the indexed cache
+     * @param setKeys  the keys, which must not be empty
+     *
+     * @return the index map of the partition the keys belong to
+     */
+    @SuppressWarnings("rawtypes")
+    private static Map<ValueExtractor, MapIndex> getIndexMap(BackingMapContext ctx, Set<Binary> setKeys)
+        {
+        BackingMapManagerContext ctxManager = ctx.getManagerContext();
+        if (ctxManager == null)
+            {
+            return ctx.getIndexMap();
+            }
+
+        for (Binary binKey : setKeys)
+            {
+            return ctx.getIndexMap(ctxManager.getKeyPartition(binKey));
+            }
+        return null;
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The maximum number of allowed keys for which a vector index should
+     * compute exact distances instead of performing an approximate search.
+     * <p/>
+     * The value can be set using the {@code coherence.ai.index.bruteforce.threshold}
+     * system property, and defaults to 10,000.
+     */
+    public static final int BRUTE_FORCE_THRESHOLD = Config.getInteger("coherence.ai.index.bruteforce.threshold", 10_000);
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The {@link BackingMapContext} of the indexed cache.
+     */
+    private final BackingMapContext f_ctx;
+
+    /**
+     * The allowed keys, or {@code null} if all keys are allowed.
+     */
+    private final Set<Binary> f_setKeys;
+
+    /**
+     * The filter the allowed entries must still satisfy.
+     */
+    private final Filter<?> f_filterResidual;
+    }
@@ -11,10 +11,11 @@ import com.oracle.coherence.ai.Vector;
 import com.oracle.coherence.ai.VectorIndex;
 import com.oracle.coherence.ai.VectorIndexExtractor;
 import com.oracle.coherence.ai.search.BinaryQueryResult;
-import com.oracle.coherence.ai.util.Vectors;
 
 import com.tangosol.io.AbstractEvolvable;
 import com.tangosol.io.ExternalizableLite;
+import com.tangosol.io.ReadBuffer;
+import com.tangosol.io.WriteBuffer;
 import com.tangosol.io.pof.EvolvablePortableObject;
 import com.tangosol.io.pof.PofReader;
 import com.tangosol.io.pof.PofWriter;
@@ -31,9 +32,7 @@ import com.tangosol.util.MapIndex;
 import com.tangosol.util.NullImplementation;
 import com.tangosol.util.ValueExtractor;
 
-import it.unimi.dsi.fastutil.ints.Int2ObjectAVLTreeMap;
-import it.unimi.dsi.fastutil.ints.Int2ObjectSortedMap;
-import it.unimi.dsi.fastutil.ints.IntIterator;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 
 import jakarta.json.bind.annotation.JsonbProperty;
 
@@ -44,20 +43,15 @@ import java.io.IOException;
 import java.util.Arrays;
 import java.util.BitSet;
 import java.util.Comparator;
-import java.util.LinkedList;
-import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
-import static com.tangosol.net.cache.SimpleMemoryCalculator.SIZE_BASIC_OBJECT;
 import static com.tangosol.net.cache.SimpleMemoryCalculator.SIZE_OBJECT_REF;
 import static com.tangosol.net.cache.SimpleMemoryCalculator.calculateShallowSize;
-import static com.tangosol.net.cache.SimpleMemoryCalculator.padMemorySize;
 
 /**
  * An {@link VectorIndexExtractor} to create a {@link VectorIndex} using binary quantization of vectors.
@@ -196,6 +190,16 @@ public class BinaryQuantIndex<K, V, T>
 
     /**
      * A Binary Quantization {@link VectorIndex}.
+     * <p/>
+     * The quantized vectors are stored in a columnar layout: the bits of each
+     * vector are packed into a contiguous slab of {@code long} words, with a
+     * parallel array of cache keys. A query is an XOR and {@link Long#bitCount}
+     * scan over the slab that keeps the closest candidates in a fixed-size
+     * max-heap, so the cost of a query does not depend on allocating
+     * per-entry objects.
+     * <p/>
+     * A query filter is resolved into an {@link AllowList} first, so that only
+     * the allowed vectors are scanned when there are few of them.
      */
     @SuppressWarnings("unchecked")
     public class BinaryQuantMapIndex
@@ -209,6 +213,7 @@ public class BinaryQuantIndex<K, V, T>
         private BinaryQuantMapIndex(BackingMapContext ctx)
             {
             f_backingMapContext = ctx;
+            f_mapSlots.defaultReturnValue(-1);
             }
 
         @Override
@@ -238,7 +243,21 @@ public class BinaryQuantIndex<K, V, T>
         @Override
         public Object get(K k)
             {
-            return f_mapIndex.get(k);
+            f_lock.readLock().lock();
+            try
+                {
+                int nSlot = f_mapSlots.getInt(k);
+                if (nSlot < 0)
+                    {
+                    return null;
+                    }
+                int nOffset = nSlot * m_cWords;
+                return BitSet.valueOf(Arrays.copyOfRange(m_alCodes, nOffset, nOffset + m_cWords));
+                }
+            finally
+                {
+                f_lock.readLock().unlock();
+                }
             }
 
         @Override
@@ -250,7 +269,7 @@ public class BinaryQuantIndex<K, V, T>
         @Override
         public long getUnits()
             {
-            return m_cUnits.get();
+            return m_cUnits;
             }
 
         @Override
@@ -259,14 +278,7 @@ public class BinaryQuantIndex<K, V, T>
             Vector<?> v = InvocableMapHelper.extractFromEntry(f_extractor, entry);
             if (v != null)
                 {
-                Object oKey = entry instanceof BinaryEntry
-                              ? ((BinaryEntry<?, ?>) entry).getBinaryKey()
-                              : entry.getKey();
-                BitSet value = v.binaryQuant().get();
-                f_mapIndex.put((K) oKey, value);
-
-                long cUnits = ENTRY_OVERHEAD + CALC.sizeOf(oKey) + CALC.sizeOf(value);
-                m_cUnits.addAndGet(cUnits);
+                put(getKey(entry), v);
                 }
             }
 
@@ -276,12 +288,7 @@ public class BinaryQuantIndex<K, V, T>
             Vector<?> v = InvocableMapHelper.extractFromEntry(f_extractor, entry);
             if (v != null)
                 {
-                Object oKey = entry instanceof BinaryEntry
-                              ? ((BinaryEntry<?, ?>) entry).getBinaryKey()
-                              : entry.getKey();
-                f_mapIndex.put((K) oKey, v.binaryQuant().get());
-                // no need to update units, as key is the same, and values are
-                // guaranteed to have the same size
+                put(getKey(entry), v);
                 }
             else
                 {
@@ -292,60 +299,328 @@ public class BinaryQuantIndex<K, V, T>
         @Override
         public void delete(Map.Entry<? extends K, ? extends V> entry)
             {
-            Object oKey = entry instanceof BinaryEntry
-                          ? ((BinaryEntry<?, ?>) entry).getBinaryKey()
-                          : entry.getKey();
-            Object oldValue = f_mapIndex.remove((K) oKey);
+            Binary binKey = getKey(entry);
+
+            f_lock.writeLock().lock();
+            try
+                {
+                int nSlot = f_mapSlots.removeInt(binKey);
+                if (nSlot < 0)
+                    {
+                    return;
+                    }
+
+                // keep the slab dense by moving the last vector into the vacated slot
+                int    cWords = m_cWords;
+                int    nLast  = --m_cSize;
+                Binary binLast = m_aKeys[nLast];
+                if (nSlot != nLast)
+                    {
+                    System.arraycopy(m_alCodes, nLast * cWords, m_alCodes, nSlot * cWords, cWords);
+                    m_aKeys[nSlot] = binLast;
+                    f_mapSlots.put(binLast, nSlot);
+                    }
+                m_aKeys[nLast] = null;
 
-            long cUnits = ENTRY_OVERHEAD + CALC.sizeOf(oKey) + CALC.sizeOf(oldValue);
-            m_cUnits.addAndGet(-cUnits);
+                m_cUnits -= ENTRY_OVERHEAD + CALC.sizeOf(binKey);
+                }
+            finally
+                {
+                f_lock.writeLock().unlock();
+                }
             }
 
         @Override
         public BinaryQueryResult[] query(Vector<T> vector, int k, Filter<?> filter)
             {
-            BitSet                            bitSet       = Objects.requireNonNull(vector).binaryQuant().get();
-            Int2ObjectSortedMap<List<Binary>> mapDistances = new Int2ObjectAVLTreeMap<>();
+            Vector<T> v = Objects.requireNonNull(vector);
 
-            for (Map.Entry<K, BitSet> entry : f_mapIndex.entrySet())
+            f_lock.readLock().lock();
+            try
                 {
-                int d = Vectors.hammingDistance(bitSet, entry.getValue());
-                List<Binary> lstKeys = mapDistances.get(d);
-                if (lstKeys == null)
+                int cSize    = m_cSize;
+                int cResults = Math.min(k * m_nOversamplingFactor, cSize);
+                if (cResults <= 0)
                     {
-                    lstKeys = new LinkedList<>();
-                    mapDistances.put(d, lstKeys);
+                    return EMPTY_RESULTS;
                     }
-                lstKeys.add((Binary) entry.getKey());
-                }
 
-            int                 cAdded   = 0;
-            int                 cResults = Math.min(k * m_nOversamplingFactor, f_mapIndex.size());
-            BinaryQueryResult[] aResults = new BinaryQueryResult[cResults];
-
-            for (IntIterator it = mapDistances.keySet().intIterator(); it.hasNext() && cAdded < cResults; )
-                {
-                int          d       = it.nextInt();
-                List<Binary> lstKeys = mapDistances.get(d);
-
-                for (Binary binKey : lstKeys)
+                int     cWords  = m_cWords;
+                long[]  alQuery = toWords(v.binaryQuant().get(), wordCount(v), cWords);
+                long[]  alCodes = m_alCodes;
+                Binary[] aKeys  = m_aKeys;
+
+                // resolve the filter against the other indexes, and if only a few
+                // entries can match, only compute the distances to those entries
+                AllowList allow   = AllowList.resolve(f_backingMapContext, f_mapSlots.keySet(), filter);
+                int[]     anSlots = null;
+                int       cScan   = cSize;
+                if (allow != null && allow.isSmall())
                     {
-                    BinaryEntry<K, V> entry = f_backingMapContext.getReadOnlyEntry(binKey).asBinaryEntry();
-                    if (filter == null || InvocableMapHelper.evaluateEntry(filter, entry))
+                    anSlots = new int[allow.size()];
+                    cScan   = 0;
+                    for (Binary binKey : allow.getKeys())
                         {
-                        Binary binValue = entry.getBinaryValue();
-                        aResults[cAdded++] = new BinaryQueryResult(d, binKey, binValue);
-                        if (cAdded == cResults)
+                        int nSlot = f_mapSlots.getInt(binKey);
+                        if (nSlot >= 0 && cScan < anSlots.length)
                             {
-                            break;
+                            anSlots[cScan++] = nSlot;
                             }
                         }
                     }
+
+                // a bounded max-heap of (distance, slot) pairs; the root is the
+                // furthest of the closest candidates found so far
+                int[] anDist = new int[cResults];
+                int[] anSlot = new int[cResults];
+                int   cHeap  = 0;
+
+                for (int n = 0; n < cScan; n++)
+                    {
+                    int nSlot   = anSlots == null ? n : anSlots[n];
+                    int nOffset = nSlot * cWords;
+                    int d       = 0;
+                    for (int i = 0; i < cWords; i++)
+                        {
+                        d += Long.bitCount(alQuery[i] ^ alCodes[nOffset + i]);
+                        }
+
+                    if (cHeap == cResults && d >= anDist[0])
+                        {
+                        continue;
+                        }
+
+                    // only evaluate the filter for candidates that would make it
+                    // into the result set; the allow-list check is a cheap lookup,
+                    // while the residual filter may need to deserialize the entry
+                    if (allow != null && !((anSlots != null || allow.contains(aKeys[nSlot]))
+                                           && allow.evaluate(aKeys[nSlot])))
+                        {
+                        continue;
+                        }
+
+                    if (cHeap < cResults)
+                        {
+                        siftUp(anDist, anSlot, cHeap++, d, nSlot);
+                        }
+                    else
+                        {
+                        siftDown(anDist, anSlot, cHeap, d, nSlot);
+                        }
+                    }
+
+                // drain the heap from the furthest to the closest candidate
+                BinaryQueryResult[] aResults = new BinaryQueryResult[cHeap];
+                for (int i = cHeap - 1; i >= 0; i--)
+                    {
+                    int    d      = anDist[0];
+                    Binary binKey = aKeys[anSlot[0]];
+                    Binary binVal = f_backingMapContext.getReadOnlyEntry(binKey).asBinaryEntry().getBinaryValue();
+
+                    aResults[i] = new BinaryQueryResult(d, binKey, binVal);
+                    siftDown(anDist, anSlot, i, anDist[i], anSlot[i]);
+                    }
+
+                return aResults;
+                }
+            finally
+                {
+                f_lock.readLock().unlock();
+                }
+            }
+
+        @Override
+        public boolean writeSnapshot(WriteBuffer.BufferOutput out)
+                throws IOException
+            {
+            f_lock.readLock().lock();
+            try
+                {
+                int      cSize   = m_cSize;
+                int      cWords  = m_cWords;
+                long[]   alCodes = m_alCodes;
+                Binary[] aKeys   = m_aKeys;
+
+                out.writeInt(cWords);
+                out.writeInt(cSize);
+                for (int nSlot = 0; nSlot < cSize; nSlot++)
+                    {
+                    ExternalizableHelper.writeObject(out, aKeys[nSlot]);
+                    }
+                for (int i = 0, c = cSize * cWords; i < c; i++)
+                    {
+                    out.writeLong(alCodes[i]);
+                    }
+                return true;
+                }
+            finally
+                {
+                f_lock.readLock().unlock();
                 }
+            }
+
+        @Override
+        public boolean readSnapshot(ReadBuffer.BufferInput in)
+                throws IOException
+            {
+            int cWords = in.readInt();
+            int cSize  = in.readInt();
+
+            // read the whole snapshot before the index is modified
+            Binary[] aKeys   = new Binary[cSize];
+            long[]   alCodes = new long[cSize * cWords];
+            for (int nSlot = 0; nSlot < cSize; nSlot++)
+                {
+                aKeys[nSlot] = ExternalizableHelper.readObject(in);
+                }
+            for (int i = 0; i < alCodes.length; i++)
+                {
+                alCodes[i] = in.readLong();
+                }
+
+            f_lock.writeLock().lock();
+            try
+                {
+                if (m_cSize != 0 || (m_cWords != 0 && m_cWords != cWords))
+                    {
+                    return false;
+                    }
+
+                m_cWords = cWords;
+                ensureCapacity(cSize);
+
+                long cUnits = 0L;
+                for (int nSlot = 0; nSlot < cSize; nSlot++)
+                    {
+                    Binary binKey = aKeys[nSlot];
 
-            return cAdded == cResults
-                   ? aResults
-                   : Arrays.copyOfRange(aResults, 0, cAdded);
+                    m_aKeys[nSlot] = binKey;
+                    f_mapSlots.put(binKey, nSlot);
+                    cUnits += ENTRY_OVERHEAD + CALC.sizeOf(binKey);
+                    }
+                System.arraycopy(alCodes, 0, m_alCodes, 0, alCodes.length);
+
+                m_cSize   = cSize;
+                m_cUnits += cUnits;
+                return true;
+                }
+            finally
+                {
+                f_lock.writeLock().unlock();
+                }
+            }
+
+        // ----- helper methods ---------------------------------------------
+
+        /**
+         * Add or replace the quantized representation of the specified vector.
+         *
+         * @param binKey  the binary cache key
+         * @param v       the vector to quantize and add to the index
+         */
+        private void put(Binary binKey, Vector<?> v)
+            {
+            BitSet bits   = v.binaryQuant().get();
+            int    cWords = wordCount(v);
+
+            f_lock.writeLock().lock();
+            try
+                {
+                if (m_cWords == 0)
+                    {
+                    m_cWords = cWords;
+                    }
+
+                int nSlot = f_mapSlots.getInt(binKey);
+                if (nSlot < 0)
+                    {
+                    nSlot = m_cSize;
+                    ensureCapacity(nSlot + 1);
+                    m_aKeys[nSlot] = binKey;
+                    f_mapSlots.put(binKey, nSlot);
+                    m_cSize++;
+
+                    m_cUnits += ENTRY_OVERHEAD + CALC.sizeOf(binKey);
+                    }
+
+                long[] alWords = toWords(bits, cWords, m_cWords);
+                System.arraycopy(alWords, 0, m_alCodes, nSlot * m_cWords, m_cWords);
+                }
+            finally
+                {
+                f_lock.writeLock().unlock();
+                }
+            }
+
+        /**
+         * Ensure that the slab and key arrays can hold the specified number of vectors.
+         *
+         * @param cVectors  the required capacity
+         */
+        private void ensureCapacity(int cVectors)
+            {
+            int cCapacity = m_aKeys.length;
+            if (cVectors > cCapacity)
+                {
+                int cNew = Math.max(cVectors, cCapacity == 0 ? INITIAL_CAPACITY : cCapacity + (cCapacity >> 1));
+
+                m_cUnits += (long) (cNew - cCapacity) * (SIZE_OBJECT_REF + (long) m_cWords * Long.BYTES);
+
+                m_aKeys   = Arrays.copyOf(m_aKeys, cNew);
+                m_alCodes = Arrays.copyOf(m_alCodes, cNew * m_cWords);
+                }
+            }
+
+        /**
+         * Return the number of {@code long} words required to hold the binary
+         * quantization of the specified vector.
+         *
+         * @param v  the vector
+         *
+         * @return the number of words required to hold the quantized vector
+         */
+        private int wordCount(Vector<?> v)
+            {
+            return (v.dimensions() + 63) >>> 6;
+            }
+
+        /**
+         * Return the words of the specified {@link BitSet}, padded to the word
+         * count of the vectors in this index.
+         *
+         * @param bits     the bits to convert
+         * @param cWords   the number of words required by the vector
+         * @param cExpect  the number of words of the vectors in this index
+         *
+         * @return the padded words of the bit set
+         *
+         * @throws IllegalArgumentException if the vector dimensions do not match
+         *         the dimensions of the indexed vectors
+         */
+        private long[] toWords(BitSet bits, int cWords, int cExpect)
+            {
+            long[] alWords = bits.toLongArray();
+            if (cWords != cExpect || alWords.length > cExpect)
+                {
+                throw new IllegalArgumentException(String.format(
+                        "Vector dimensions do not match the index: expected %d words, actual %d",
+                        cExpect, Math.max(cWords, alWords.length)));
+                }
+            return alWords.length == cExpect ? alWords : Arrays.copyOf(alWords, cExpect);
+            }
+
+        /**
+         * Return the binary key for the specified entry.
+         *
+         * @param entry  the entry
+         *
+         * @return the binary key for the specified entry
+         */
+        private Binary getKey(Map.Entry<? extends K, ? extends V> entry)
+            {
+            return entry instanceof BinaryEntry
+                   ? ((BinaryEntry<?, ?>) entry).getBinaryKey()
+                   : (Binary) entry.getKey();
             }
 
         // ----- constants --------------------------------------------------
@@ -356,14 +631,14 @@ public class BinaryQuantIndex<K, V, T>
         protected SimpleMemoryCalculator CALC = new SimpleMemoryCalculator();
 
         /**
-        * The memory cost of a ConcurrentHashMap used as the index.
+        * The memory cost of a key to slot map entry.
         */
-        protected static final int MAP_OVERHEAD = calculateShallowSize(ConcurrentHashMap.class);
+        protected static final int ENTRY_OVERHEAD = SIZE_OBJECT_REF + 4;
 
         /**
-        * The memory cost of creating ConcurrentHashMap.Node.
-        */
-        protected static final int ENTRY_OVERHEAD = padMemorySize(SIZE_BASIC_OBJECT + 3 * SIZE_OBJECT_REF + 4);
+         * The initial capacity of the vector slab.
+         */
+        protected static final int INITIAL_CAPACITY = 256;
 
         // ----- data members -----------------------------------------------
 
@@ -373,14 +648,107 @@ public class BinaryQuantIndex<K, V, T>
         private final BackingMapContext f_backingMapContext;
 
         /**
-         * The index of cache keys to bit vectors.
+         * The lock guarding the slab, the keys and the key to slot mapping.
          */
-        private final ConcurrentMap<K, BitSet> f_mapIndex = new ConcurrentHashMap<>();
+        private final ReadWriteLock f_lock = new ReentrantReadWriteLock();
+
+        /**
+         * The index of cache keys to slots within the slab.
+         */
+        private final Object2IntOpenHashMap<Binary> f_mapSlots = new Object2IntOpenHashMap<>();
+
+        /**
+         * The cache keys, indexed by slot.
+         */
+        private Binary[] m_aKeys = new Binary[0];
+
+        /**
+         * The packed bit vectors, {@link #m_cWords} words per slot.
+         */
+        private long[] m_alCodes = new long[0];
+
+        /**
+         * The number of {@code long} words in each quantized vector.
+         */
+        private int m_cWords;
+
+        /**
+         * The number of vectors in the index.
+         */
+        private int m_cSize;
 
         /**
          * The number of units (bytes) used by this index,
          */
-        private AtomicLong m_cUnits = new AtomicLong(calculateShallowSize(BinaryQuantMapIndex.class) + MAP_OVERHEAD);
+        private volatile long m_cUnits = calculateShallowSize(BinaryQuantMapIndex.class)
+                                + calculateShallowSize(Object2IntOpenHashMap.class);
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+     * Insert the specified candidate into a max-heap of {@code nPos} elements
+     * stored in the parallel {@code anDist} and {@code anSlot} arrays.
+     *
+     * @param anDist  the heap distances
+     * @param anSlot  the heap slots
+     * @param nPos    the position of the new element (the current heap size)
+     * @param nDist   the candidate distance
+     * @param nSlot   the candidate slot
+     */
+    private static void siftUp(int[] anDist, int[] anSlot, int nPos, int nDist, int nSlot)
+        {
+        while (nPos > 0)
+            {
+            int nParent = (nPos - 1) >>> 1;
+            if (anDist[nParent] >= nDist)
+                {
+                break;
+                }
+            anDist[nPos] = anDist[nParent];
+            anSlot[nPos] = anSlot[nParent];
+            nPos = nParent;
+            }
+        anDist[nPos] = nDist;
+        anSlot[nPos] = nSlot;
+        }
+
+    /**
+     * Replace the root of a max-heap of {@code cHeap} elements stored in the
+     * parallel {@code anDist} and {@code anSlot} arrays with the specified
+     * candidate.
+     *
+     * @param anDist  the heap distances
+     * @param anSlot  the heap slots
+     * @param cHeap   the heap size
+     * @param nDist   the candidate distance
+     * @param nSlot   the candidate slot
+     */
+    private static void siftDown(int[] anDist, int[] anSlot, int cHeap, int nDist, int nSlot)
+        {
+        int nPos  = 0;
+        int nHalf = cHeap >>> 1;
+        while (nPos < nHalf)
+            {
+            int nChild = (nPos << 1) + 1;
+            int nRight = nChild + 1;
+            if (nRight < cHeap && anDist[nRight] > anDist[nChild])
+                {
+                nChild = nRight;
+                }
+            if (nDist >= anDist[nChild])
+                {
+                break;
+                }
+            anDist[nPos] = anDist[nChild];
+            anSlot[nPos] = anSlot[nChild];
+            nPos = nChild;
+            }
+        if (cHeap > 0)
+            {
+            anDist[nPos] = nDist;
+            anSlot[nPos] = nSlot;
+            }
         }
 
     // ----- data members ---------------------------------------------------
@@ -390,6 +758,11 @@ public class BinaryQuantIndex<K, V, T>
      */
     public static final int POF_IMPL_VERSION = 0;
 
+    /**
+     * An empty query result array.
+     */
+    private static final BinaryQueryResult[] EMPTY_RESULTS = new BinaryQueryResult[0];
+
     /**
      * The {@link ValueExtractor} to use to extract the {@link Vector}.
      */
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.coherence.ai.index;
+
+import com.oracle.coherence.ai.VectorIndex;
+
+import com.tangosol.io.ReadBuffer;
+import com.tangosol.io.WriteBuffer;
+
+import com.tangosol.util.Base;
+import com.tangosol.util.Binary;
+import com.tangosol.util.BinaryWriteBuffer;
+import com.tangosol.util.ExternalizableHelper;
+
+import java.io.IOException;
+
+/**
+ * Helper methods to create and restore snapshots of the per-partition state
+ * of a {@link VectorIndex}.
+ * <p/>
+ * Rebuilding a vector index requires every vector in the partition to be
+ * extracted and inserted again, which for a large partition is far more
+ * expensive than reading a snapshot of the index. Snapshots are therefore
+ * shipped along with the partition when it is transferred to another member,
+ * and stored in the persistent store of the partition, so that the index can
+ * be restored when the partition is received or recovered.
+ * <p/>
+ * Each snapshot carries a fingerprint of the partition entries it was created
+ * from, which is the sum of the {@link #fingerprint(Binary, ReadBuffer)
+ * fingerprints} of all the entries. A snapshot is only restored if the entries
+ * of the partition have the same fingerprint; otherwise the index must be
+ * rebuilt from the entries.
+ *
+ * @since 25.09
+ */
+public final class IndexSnapshots
+    {
+    /**
+     * Prevent instantiation.
+     */
+    private IndexSnapshots()
+        {
+        }
+
+    // ----- IndexSnapshots methods -----------------------------------------
+
+    /**
+     * Return the fingerprint of the specified partition entry.
+     * <p/>
+     * The fingerprint of a partition is the sum of the fingerprints of its
+     * entries, so it does not depend on the order in which the entries are
+     * visited. Value decorations are ignored, as they are not visible to the
+     * index and may differ between the sender and the receiver of a partition.
+     *
+     * @param binKey    the binary key of the entry
+     * @param bufValue  the binary value of the entry
+     *
+     * @return the fingerprint of the entry
+     */
+    public static long fingerprint(Binary binKey, ReadBuffer bufValue)
+        {
+        ReadBuffer bufUndecorated = ExternalizableHelper.getUndecorated(bufValue);
+        long       lHash          = ((long) binKey.hashCode() << 32)
+                                    | (bufUndecorated.toBinary().hashCode() & 0xFFFFFFFFL);
+
+        // spread the bits, so that the sum of the fingerprints does not cancel out
+        lHash = (lHash ^ (lHash >>> 30)) * 0xBF58476D1CE4E5B9L;
+        lHash = (lHash ^ (lHash >>> 27)) * 0x94D049BB133111EBL;
+        return lHash ^ (lHash >>> 31);
+        }
+
+    /**
+     * Create a snapshot of the specified index.
+     *
+     * @param index         the index to create the snapshot of
+     * @param lFingerprint  the fingerprint of the partition entries the index
+     *                      currently contains
+     *
+     * @return the snapshot, or {@code null} if the index does not support
+     *         snapshots
+     */
+    public static Binary create(VectorIndex<?, ?, ?> index, long lFingerprint)
+        {
+        try
+            {
+            BinaryWriteBuffer        buf = new BinaryWriteBuffer(1024);
+            WriteBuffer.BufferOutput out = buf.getBufferOutput();
+
+            out.writeInt(MAGIC);
+            out.writeByte(FORMAT_VERSION);
+            out.writeLong(lFingerprint);
+            out.writeUTF(index.getClass().getName());
+
+            return index.writeSnapshot(out) ? buf.toBinary() : null;
+            }
+        catch (IOException e)
+            {
+            throw Base.ensureRuntimeException(e, "Failed to create a snapshot of " + index);
+            }
+        }
+
+    /**
+     * Restore the specified empty index from a snapshot.
+     *
+     * @param index         the index to restore
+     * @param bufSnapshot   the snapshot created by {@link #create}
+     * @param lFingerprint  the fingerprint of the partition entries the index
+     *                      is expected to contain
+     *
+     * @return {@code true} if the index was restored, or {@code false} if the
+     *         snapshot does not match the partition entries or the index, in
+     *         which case the index must be rebuilt
+     */
+    public static boolean restore(VectorIndex<?, ?, ?> index, ReadBuffer bufSnapshot, long lFingerprint)
+        {
+        try
+            {
+            ReadBuffer.BufferInput in = bufSnapshot.getBufferInput();
+
+            return in.readInt() == MAGIC
+                   && in.readByte() == FORMAT_VERSION
+                   && in.readLong() == lFingerprint
+                   && in.readUTF().equals(index.getClass().getName())
+                   && index.readSnapshot(in);
+            }
+        catch (IOException e)
+            {
+            // a snapshot that cannot be read is ignored, and the index rebuilt
+            return false;
+            }
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The marker at the start of each snapshot.
+     */
+    private static final int MAGIC = 0x56494458; // VIDX
+
+    /**
+     * The version of the snapshot format.
+     */
+    private static final byte FORMAT_VERSION = 1;
+    }
@@ -0,0 +1,920 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.coherence.ai.index;
+
+import com.oracle.coherence.ai.Vector;
+import com.oracle.coherence.ai.VectorIndex;
+import com.oracle.coherence.ai.VectorIndexExtractor;
+
+import com.oracle.coherence.ai.internal.HnswGraph;
+
+import com.oracle.coherence.ai.search.BinaryQueryResult;
+
+import com.tangosol.io.AbstractEvolvable;
+import com.tangosol.io.ExternalizableLite;
+import com.tangosol.io.ReadBuffer;
+import com.tangosol.io.WriteBuffer;
+import com.tangosol.io.pof.EvolvablePortableObject;
+import com.tangosol.io.pof.PofReader;
+import com.tangosol.io.pof.PofWriter;
+
+import com.tangosol.net.BackingMapContext;
+
+import com.tangosol.net.cache.SimpleMemoryCalculator;
+
+import com.tangosol.util.Binary;
+import com.tangosol.util.BinaryEntry;
+import com.tangosol.util.ExternalizableHelper;
+import com.tangosol.util.Filter;
+import com.tangosol.util.InvocableMapHelper;
+import com.tangosol.util.MapIndex;
+import com.tangosol.util.NullImplementation;
+import com.tangosol.util.ValueExtractor;
+
+import jakarta.json.bind.annotation.JsonbProperty;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import java.util.function.IntPredicate;
+
+import static com.tangosol.net.cache.SimpleMemoryCalculator.SIZE_OBJECT_REF;
+
+/**
+ * An HNSW index implemented in pure Java.
+ * <p/>
+ * This index provides the same approximate nearest neighbour search as the
+ * native {@code HnswIndex} from the {@code coherence-hnsw} module, but does not
+ * require the native {@code hnswlib} library, which makes it usable on any
+ * platform Coherence runs on. The graph is stored in primitive arrays on the
+ * heap and can be updated concurrently with queries.
+ * <p/>
+ * It supports indexing of any {@code Vector<float[]>} property, and uses cosine
+ * distance for similarity searches by default. Unlike the native index, the
+ * vectors do not need to be normalized ahead of time when using cosine distance.
+ * <p/>
+ * For example:
+ * <pre>
+ * var idx = new JavaHnswIndex&lt;&gt;(ValueWithVector::getVector, DIMENSIONS)
+ *                  .setSpaceName("L2")
+ *                  .setMaxElements(100_000)
+ *                  .setEfConstruction(100)
+ *                  .setM(30);
+ *
+ * NamedMap&lt;Integer, ValueWithVector&gt; vectors = session.getMap("vectors");
+ * vectors.addIndex(idx);
+ * </pre>
+ *
+ * @param <K>  the type of entry keys
+ * @param <V>  the type of entry values
+ *
+ * @since 25.09
+ */
+public class JavaHnswIndex<K, V>
+        extends AbstractEvolvable
+        implements VectorIndexExtractor<V, float[]>, ExternalizableLite, EvolvablePortableObject
+    {
+    // ---- constructors ----------------------------------------------------
+
+    /**
+     * Default constructor for serialization.
+     */
+    public JavaHnswIndex()
+        {
+        }
+
+    /**
+     * Create a {@link JavaHnswIndex} using the {@link #DEFAULT_SPACE_NAME default space name}.
+     *
+     * @param extractor   the {@link ValueExtractor} to use to extract the float
+     *                    array {@link Vector} from the cache entry
+     * @param nDimension  the number of dimensions in the vector
+     */
+    public JavaHnswIndex(ValueExtractor<V, Vector<float[]>> extractor, int nDimension)
+        {
+        m_extractor  = ValueExtractor.of(Objects.requireNonNull(extractor));
+        m_nDimension = nDimension;
+        }
+
+    /**
+     * Create a {@link JavaHnswIndex}.
+     *
+     * @param extractor   the {@link ValueExtractor} to use to extract the float
+     *                    array {@link Vector} from the cache entry
+     * @param sSpaceName  the index space name to use; one of {@code COSINE},
+     *                    {@code L2} or {@code IP}
+     * @param nDimension  the number of dimensions in the vector
+     */
+    public JavaHnswIndex(ValueExtractor<V, Vector<float[]>> extractor, String sSpaceName, int nDimension)
+        {
+        this(extractor, nDimension);
+
+        m_sSpaceName = sSpaceName == null || sSpaceName.isBlank() ? DEFAULT_SPACE_NAME : sSpaceName;
+        }
+
+    // ---- accessors -------------------------------------------------------
+
+    /**
+     * Return the index space name.
+     *
+     * @return the index space name
+     */
+    public String getSpaceName()
+        {
+        return m_sSpaceName;
+        }
+
+    /**
+     * Set the index space name; one of {@code COSINE}, {@code L2} or {@code IP}.
+     *
+     * @param sSpaceName  the index space name
+     *
+     * @return this {@link JavaHnswIndex} to allow fluent API calls
+     */
+    public JavaHnswIndex<K, V> setSpaceName(String sSpaceName)
+        {
+        m_sSpaceName = sSpaceName;
+        return this;
+        }
+
+    /**
+     * Return the {@link ValueExtractor} to use to extract the float
+     * array {@link Vector} from the cache entry.
+     *
+     * @return the {@link ValueExtractor} to use to extract the float
+     *         array {@link Vector} from the cache entry.
+     */
+    public ValueExtractor<V, Vector<float[]>> getExtractor()
+        {
+        return m_extractor;
+        }
+
+    /**
+     * Return the number of dimensions in the vectors the index contains.
+     *
+     * @return the number of dimensions in the vectors the index contains
+     */
+    public int getDimension()
+        {
+        return m_nDimension;
+        }
+
+    /**
+     * Return the initial number of elements the index can contain.
+     *
+     * @return the initial number of elements the index can contain
+     */
+    public int getMaxElements()
+        {
+        return m_cMaxElements;
+        }
+
+    /**
+     * Set the initial number of elements the index can contain.
+     * <p/>
+     * The index will grow as necessary, so this value only avoids the
+     * cost of growing the index when the number of entries is known.
+     *
+     * @param cMaxElements  the initial number of elements the index can contain
+     *
+     * @return this {@link JavaHnswIndex} to allow fluent API calls
+     */
+    public JavaHnswIndex<K, V> setMaxElements(int cMaxElements)
+        {
+        m_cMaxElements = cMaxElements;
+        return this;
+        }
+
+    /**
+     * Return the number of bidirectional links created for every new element during construction.
+     *
+     * @return the number of bidirectional links created for every new element during construction
+     */
+    public int getM()
+        {
+        return m_nM;
+        }
+
+    /**
+     * Set the number of bidirectional links created for every new element during construction.
+     *
+     * @param nM  the number of bidirectional links created for every new element during construction
+     *
+     * @return this {@link JavaHnswIndex} to allow fluent API calls
+     */
+    public JavaHnswIndex<K, V> setM(int nM)
+        {
+        m_nM = nM;
+        return this;
+        }
+
+    /**
+     * Return the ef construction value.
+     * This is the parameter has the same meaning as ef, but controls the index_time/index_accuracy.
+     *
+     * @return the ef construction value
+     */
+    public int getEfConstr()
+        {
+        return m_nEfConstr;
+        }
+
+    /**
+     * Set the ef construction value.
+     * This is the parameter has the same meaning as ef, but controls the index_time/index_accuracy.
+     *
+     * @param nEfConstr  the ef construction value
+     *
+     * @return this {@link JavaHnswIndex} to allow fluent API calls
+     */
+    public JavaHnswIndex<K, V> setEfConstruction(int nEfConstr)
+        {
+        m_nEfConstr = nEfConstr;
+        return this;
+        }
+
+    /**
+     * Return the ef search value.
+     * This is the parameter controlling query time/accuracy trade-off.
+     *
+     * @return the ef search value
+     */
+    public int getEfSearch()
+        {
+        return m_nEfSearch;
+        }
+
+    /**
+     * Set the ef search value.
+     * This is the parameter controlling query time/accuracy trade-off.
+     *
+     * @param nEfSearch  the ef search value
+     *
+     * @return this {@link JavaHnswIndex} to allow fluent API calls
+     */
+    public JavaHnswIndex<K, V> setEfSearch(int nEfSearch)
+        {
+        m_nEfSearch = nEfSearch;
+        return this;
+        }
+
+    /**
+     * Return the random seed used by the index.
+     *
+     * @return the random seed used by the index
+     */
+    public int getRandomSeed()
+        {
+        return m_nRandomSeed;
+        }
+
+    /**
+     * Set the random seed the index should use.
+     *
+     * @param nRandomSeed  the random seed the index should use
+     *
+     * @return this {@link JavaHnswIndex} to allow fluent API calls
+     */
+    public JavaHnswIndex<K, V> setRandomSeed(int nRandomSeed)
+        {
+        m_nRandomSeed = nRandomSeed;
+        return this;
+        }
+
+    // ----- IndexAwareExtractor interface ----------------------------------
+
+    @Override
+    public MapIndex<K, V, Vector<float[]>> createIndex(boolean fSorted, Comparator comparator, Map<ValueExtractor<V, Vector<float[]>>, MapIndex> map, BackingMapContext backingMapContext)
+        {
+        HnswMapIndex mapIndex = new HnswMapIndex(backingMapContext);
+        map.put(m_extractor, mapIndex);
+        return mapIndex;
+        }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public MapIndex<K, V, Vector<float[]>> destroyIndex(Map<ValueExtractor<V, Vector<float[]>>, MapIndex> map)
+        {
+        return map.remove(m_extractor);
+        }
+
+    // ----- ValueExtractor interface ---------------------------------------
+
+    @Override
+    public Vector<float[]> extract(V v)
+        {
+        return m_extractor.extract(v);
+        }
+
+    // ----- Object methods -------------------------------------------------
+
+    @Override
+    public boolean equals(Object o)
+        {
+        if (this == o)
+            {
+            return true;
+            }
+        if (o == null || getClass() != o.getClass())
+            {
+            return false;
+            }
+        JavaHnswIndex<?, ?> that = (JavaHnswIndex<?, ?>) o;
+        return Objects.equals(m_extractor, that.m_extractor);
+        }
+
+    @Override
+    public int hashCode()
+        {
+        return Objects.hash(m_extractor);
+        }
+
+    @Override
+    public String toString()
+        {
+        return "JavaHnswIndex{" +
+               "extractor=" + m_extractor +
+               ", dimension=" + m_nDimension +
+               ", spaceName='" + m_sSpaceName + '\'' +
+               ", maxElements=" + m_cMaxElements +
+               ", M=" + m_nM +
+               ", efConstr=" + m_nEfConstr +
+               ", efSearch=" + m_nEfSearch +
+               ", randomSeed=" + m_nRandomSeed +
+               '}';
+        }
+
+    // ----- Evolvable interface --------------------------------------------
+
+    @Override
+    public int getImplVersion()
+        {
+        return IMPL_VERSION;
+        }
+
+    // ----- PortableObject interface ---------------------------------------
+
+    @Override
+    public void readExternal(PofReader in) throws IOException
+        {
+        m_extractor    = in.readObject(0);
+        m_nDimension   = in.readInt(1);
+        m_sSpaceName   = in.readString(2);
+        m_cMaxElements = in.readInt(3);
+        m_nM           = in.readInt(4);
+        m_nEfConstr    = in.readInt(5);
+        m_nEfSearch    = in.readInt(6);
+        m_nRandomSeed  = in.readInt(7);
+        }
+
+    @Override
+    public void writeExternal(PofWriter out) throws IOException
+        {
+        out.writeObject(0, m_extractor);
+        out.writeInt(1, m_nDimension);
+        out.writeString(2, m_sSpaceName);
+        out.writeInt(3, m_cMaxElements);
+        out.writeInt(4, m_nM);
+        out.writeInt(5, m_nEfConstr);
+        out.writeInt(6, m_nEfSearch);
+        out.writeInt(7, m_nRandomSeed);
+        }
+
+    // ----- ExternalizableLite interface -----------------------------------
+
+    @Override
+    public void readExternal(DataInput in) throws IOException
+        {
+        m_extractor    = ExternalizableHelper.readObject(in);
+        m_nDimension   = ExternalizableHelper.readInt(in);
+        m_sSpaceName   = ExternalizableHelper.readSafeUTF(in);
+        m_cMaxElements = ExternalizableHelper.readInt(in);
+        m_nM           = ExternalizableHelper.readInt(in);
+        m_nEfConstr    = ExternalizableHelper.readInt(in);
+        m_nEfSearch    = ExternalizableHelper.readInt(in);
+        m_nRandomSeed  = ExternalizableHelper.readInt(in);
+        }
+
+    @Override
+    public void writeExternal(DataOutput out) throws IOException
+        {
+        ExternalizableHelper.writeObject(out, m_extractor);
+        ExternalizableHelper.writeInt(out, m_nDimension);
+        ExternalizableHelper.writeUTF(out, m_sSpaceName);
+        ExternalizableHelper.writeInt(out, m_cMaxElements);
+        ExternalizableHelper.writeInt(out, m_nM);
+        ExternalizableHelper.writeInt(out, m_nEfConstr);
+        ExternalizableHelper.writeInt(out, m_nEfSearch);
+        ExternalizableHelper.writeInt(out, m_nRandomSeed);
+        }
+
+    // ----- inner class: HnswMapIndex --------------------------------------
+
+    /**
+     * The HNSW {@link MapIndex} and {@link VectorIndex} implementation.
+     * <p/>
+     * Each indexed entry is a node in a {@link HnswGraph}, labeled with the
+     * binary key of the entry. An update marks the old node as deleted and
+     * adds a new one, and the graph is compacted once the deleted nodes
+     * make up half of it.
+     * <p/>
+     * A query filter is resolved into an {@link AllowList} first. The graph
+     * traversal then only returns the allowed nodes, or, if there are few of
+     * them, the exact distances to the allowed nodes are computed instead.
+     */
+    @SuppressWarnings("rawtypes")
+    public class HnswMapIndex
+            implements VectorIndex<K, V, Vector<float[]>>
+        {
+        // ----- constructor ------------------------------------------------
+
+        /**
+         * Construct {@code HnswMapIndex} instance.
+         *
+         * @param backingMapContext  the backing map context to use
+         */
+        public HnswMapIndex(BackingMapContext backingMapContext)
+            {
+            f_backingMapContext = backingMapContext;
+            f_graph             = new HnswGraph(m_nDimension,
+                                                HnswGraph.Space.valueOf(m_sSpaceName.toUpperCase()),
+                                                m_nM, m_nEfConstr, m_cMaxElements, m_nRandomSeed);
+            }
+
+        // ----- accessors --------------------------------------------------
+
+        /**
+         * Return the number of dimensions in the vectors.
+         *
+         * @return the number of dimensions in the vectors
+         */
+        public int getDimensions()
+            {
+            return m_nDimension;
+            }
+
+        /**
+         * Return the underlying {@link HnswGraph}.
+         *
+         * @return the underlying {@link HnswGraph}
+         */
+        public HnswGraph getGraph()
+            {
+            return f_graph;
+            }
+
+        // ----- MapIndex interface -----------------------------------------
+
+        @Override
+        public ValueExtractor<V, Vector<float[]>> getValueExtractor()
+            {
+            return m_extractor;
+            }
+
+        @Override
+        public boolean isOrdered()
+            {
+            return false;
+            }
+
+        @Override
+        public boolean isPartial()
+            {
+            return false;
+            }
+
+        @Override
+        public Map<Vector<float[]>, Set<K>> getIndexContents()
+            {
+            return NullImplementation.getMap();
+            }
+
+        @Override
+        public Object get(K k)
+            {
+            return NO_VALUE;
+            }
+
+        @Override
+        public Comparator<Vector<float[]>> getComparator()
+            {
+            return null;
+            }
+
+        @Override
+        public long getUnits()
+            {
+            return f_graph.getUnits() + f_cKeyUnits.get();
+            }
+
+        @Override
+        public void insert(Map.Entry<? extends K, ? extends V> entry)
+            {
+            update(entry);
+            }
+
+        @Override
+        public void update(Map.Entry<? extends K, ? extends V> entry)
+            {
+            Vector<float[]> v = InvocableMapHelper.extractFromEntry(m_extractor, entry);
+            if (v == null)
+                {
+                delete(entry);
+                return;
+                }
+
+            Binary  binKey = ((BinaryEntry) entry).getBinaryKey();
+            Integer IOld;
+
+            // concurrent changes are allowed, as long as the graph is not being compacted
+            f_lock.readLock().lock();
+            try
+                {
+                IOld = f_mapIds.put(binKey, f_graph.add(v.get(), binKey));
+                if (IOld == null)
+                    {
+                    f_cKeyUnits.addAndGet(ENTRY_OVERHEAD + CALC.sizeOf(binKey));
+                    }
+                else
+                    {
+                    f_graph.markDeleted(IOld);
+                    }
+                }
+            finally
+                {
+                f_lock.readLock().unlock();
+                }
+
+            if (IOld != null)
+                {
+                compactIfNecessary();
+                }
+            }
+
+        @Override
+        public void delete(Map.Entry<? extends K, ? extends V> entry)
+            {
+            Binary  binKey = ((BinaryEntry) entry).getBinaryKey();
+            Integer IOld;
+
+            f_lock.readLock().lock();
+            try
+                {
+                IOld = f_mapIds.remove(binKey);
+                if (IOld != null)
+                    {
+                    f_graph.markDeleted(IOld);
+                    f_cKeyUnits.addAndGet(-(ENTRY_OVERHEAD + CALC.sizeOf(binKey)));
+                    }
+                }
+            finally
+                {
+                f_lock.readLock().unlock();
+                }
+
+            if (IOld != null)
+                {
+                compactIfNecessary();
+                }
+            }
+
+        // ----- VectorIndex interface --------------------------------------
+
+        @Override
+        public BinaryQueryResult[] query(Vector<float[]> vector, int k, Filter<?> filter)
+            {
+            HnswGraph graph   = f_graph;
+            float[]   afQuery = Objects.requireNonNull(vector).get();
+
+            // the node ids must not change while they are resolved to keys
+            f_lock.readLock().lock();
+            try
+                {
+                int[]     anIds  = new int[k];
+                float[]   afDist = new float[k];
+                AllowList allow  = AllowList.resolve(f_backingMapContext, f_mapIds.keySet(), filter);
+                int       cResults;
+
+                if (allow == null)
+                    {
+                    cResults = graph.search(afQuery, k, m_nEfSearch, null, anIds, afDist);
+                    }
+                else
+                    {
+                    IntPredicate predicate = allow.getResidualFilter() == null
+                            ? null
+                            : nId ->
+                                {
+                                Binary binKey = (Binary) graph.getLabel(nId);
+                                return binKey != null && allow.evaluate(binKey);
+                                };
+
+                    if (allow.isSmall())
+                        {
+                        // few entries can match, so compute the exact distance to each of them
+                        int[] anCandidates = new int[allow.size()];
+                        int   cCandidates  = 0;
+                        for (Binary binKey : allow.getKeys())
+                            {
+                            Integer NId = f_mapIds.get(binKey);
+                            if (NId != null && cCandidates < anCandidates.length)
+                                {
+                                anCandidates[cCandidates++] = NId;
+                                }
+                            }
+                        cResults = graph.exactSearch(afQuery, k, anCandidates, cCandidates, predicate, anIds, afDist);
+                        }
+                    else
+                        {
+                        // traverse the whole graph, but only return the allowed nodes
+                        Set<Binary> setKeys = allow.getKeys();
+                        if (setKeys != null)
+                            {
+                            BitSet bitsAllowed = new BitSet(graph.size());
+                            for (Binary binKey : setKeys)
+                                {
+                                Integer NId = f_mapIds.get(binKey);
+                                if (NId != null)
+                                    {
+                                    bitsAllowed.set(NId);
+                                    }
+                                }
+
+                            IntPredicate predicateKeys = bitsAllowed::get;
+                            predicate = predicate == null ? predicateKeys : predicateKeys.and(predicate);
+                            }
+                        cResults = graph.search(afQuery, k, m_nEfSearch, predicate, anIds, afDist);
+                        }
+                    }
+
+                if (cResults == 0)
+                    {
+                    return EMPTY_RESULT;
+                    }
+
+                BinaryQueryResult[] aResults = new BinaryQueryResult[cResults];
+                int                 c        = 0;
+                for (int i = 0; i < cResults; i++)
+                    {
+                    // the entry may have been removed since it was found
+                    Binary binKey = (Binary) graph.getLabel(anIds[i]);
+                    if (binKey != null)
+                        {
+                        Binary binValue = f_backingMapContext.getReadOnlyEntry(binKey).asBinaryEntry().getBinaryValue();
+                        if (binValue != null)
+                            {
+                            aResults[c++] = new BinaryQueryResult(afDist[i], binKey, binValue);
+                            }
+                        }
+                    }
+                return c == cResults ? aResults : Arrays.copyOf(aResults, c);
+                }
+            finally
+                {
+                f_lock.readLock().unlock();
+                }
+            }
+
+        @Override
+        public boolean writeSnapshot(WriteBuffer.BufferOutput out)
+                throws IOException
+            {
+            // the graph must not change while it is written
+            f_lock.writeLock().lock();
+            try
+                {
+                f_graph.write(out);
+                return true;
+                }
+            finally
+                {
+                f_lock.writeLock().unlock();
+                }
+            }
+
+        @Override
+        public boolean readSnapshot(ReadBuffer.BufferInput in)
+                throws IOException
+            {
+            f_lock.writeLock().lock();
+            try
+                {
+                HnswGraph graph = f_graph;
+                if (!f_mapIds.isEmpty() || !graph.read(in))
+                    {
+                    return false;
+                    }
+
+                // the labels of the live nodes are the indexed keys
+                long cUnits = 0L;
+                for (int nId = 0, cNodes = graph.size(); nId < cNodes; nId++)
+                    {
+                    Binary binKey = (Binary) graph.getLabel(nId);
+                    if (binKey != null)
+                        {
+                        f_mapIds.put(binKey, nId);
+                        cUnits += ENTRY_OVERHEAD + CALC.sizeOf(binKey);
+                        }
+                    }
+                f_cKeyUnits.addAndGet(cUnits);
+                return true;
+                }
+            finally
+                {
+                f_lock.writeLock().unlock();
+                }
+            }
+
+        // ----- helpers ----------------------------------------------------
+
+        /**
+         * Rebuild the graph without the deleted nodes once they make up
+         * half of the graph.
+         */
+        private void compactIfNecessary()
+            {
+            if (isCompactionRequired())
+                {
+                f_lock.writeLock().lock();
+                try
+                    {
+                    if (isCompactionRequired())
+                        {
+                        int[] anMap = f_graph.compact();
+                        f_mapIds.replaceAll((binKey, nId) -> anMap[nId]);
+                        }
+                    }
+                finally
+                    {
+                    f_lock.writeLock().unlock();
+                    }
+                }
+            }
+
+        /**
+         * Return {@code true} if the deleted nodes make up half of the graph.
+         *
+         * @return {@code true} if the graph should be compacted
+         */
+        private boolean isCompactionRequired()
+            {
+            int cDeleted = f_graph.getDeletedCount();
+            return cDeleted >= COMPACT_THRESHOLD && cDeleted >= f_graph.size() / 2;
+            }
+
+        // ----- data members -----------------------------------------------
+
+        /**
+         * The {@link BackingMapContext} of the indexed cache.
+         */
+        private final BackingMapContext f_backingMapContext;
+
+        /**
+         * The HNSW graph.
+         */
+        private final HnswGraph f_graph;
+
+        /**
+         * The graph node id of each indexed key.
+         */
+        private final Map<Binary, Integer> f_mapIds = new ConcurrentHashMap<>();
+
+        /**
+         * The lock that allows concurrent changes, but excludes them while
+         * the graph is compacted.
+         */
+        private final ReadWriteLock f_lock = new ReentrantReadWriteLock();
+
+        /**
+         * The number of units (bytes) used by the indexed keys.
+         */
+        private final AtomicLong f_cKeyUnits = new AtomicLong();
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The POF implementation version.
+     */
+    public static final int IMPL_VERSION = 0;
+
+    /**
+     * The default space name.
+     */
+    public static final String DEFAULT_SPACE_NAME = "COSINE";
+
+    /**
+     * The default initial number of elements.
+     */
+    public static final int DEFAULT_MAX_ELEMENTS = 4096;
+
+    /**
+     * The default number of links.
+     */
+    public static final int DEFAULT_M = 16;
+
+    /**
+     * The default ef construction value.
+     */
+    public static final int DEFAULT_EF_CONSTRUCTION = 200;
+
+    /**
+     * The default ef search value.
+     */
+    public static final int DEFAULT_EF_SEARCH = 50;
+
+    /**
+     * The default random seed.
+     */
+    public static final int DEFAULT_RANDOM_SEED = 100;
+
+    /**
+     * The minimum number of deleted nodes before the graph is compacted.
+     */
+    private static final int COMPACT_THRESHOLD = 1024;
+
+    /**
+     * An empty query result array.
+     */
+    private static final BinaryQueryResult[] EMPTY_RESULT = new BinaryQueryResult[0];
+
+    /**
+     * The memory calculator used to size the indexed keys.
+     */
+    private static final SimpleMemoryCalculator CALC = new SimpleMemoryCalculator();
+
+    /**
+     * The approximate overhead of each indexed key.
+     */
+    private static final int ENTRY_OVERHEAD = 2 * SIZE_OBJECT_REF + 32;
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The {@link ValueExtractor} to use to extract the {@link Vector}.
+     */
+    @JsonbProperty("extractor")
+    private ValueExtractor<V, Vector<float[]>> m_extractor;
+
+    /**
+     * The number of dimensions in the vector.
+     */
+    @JsonbProperty("dimension")
+    private int m_nDimension;
+
+    /**
+     * The index space name.
+     */
+    @JsonbProperty("spaceName")
+    private String m_sSpaceName = DEFAULT_SPACE_NAME;
+
+    /**
+     * The initial number of elements.
+     */
+    @JsonbProperty("maxElements")
+    private int m_cMaxElements = DEFAULT_MAX_ELEMENTS;
+
+    /**
+     * The number of links.
+     */
+    @JsonbProperty("m")
+    private int m_nM = DEFAULT_M;
+
+    /**
+     * The ef construction value.
+     */
+    @JsonbProperty("efConstr")
+    private int m_nEfConstr = DEFAULT_EF_CONSTRUCTION;
+
+    /**
+     * The ef search value.
+     */
+    @JsonbProperty("efSearch")
+    private int m_nEfSearch = DEFAULT_EF_SEARCH;
+
+    /**
+     * The random seed.
+     */
+    @JsonbProperty("randomSeed")
+    private int m_nRandomSeed = DEFAULT_RANDOM_SEED;
+    }
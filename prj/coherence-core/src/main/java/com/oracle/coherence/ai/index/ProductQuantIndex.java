@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.coherence.ai.index;
+
+import com.oracle.coherence.ai.Vector;
+
+import com.oracle.coherence.ai.internal.HnswGraph;
+import com.oracle.coherence.ai.internal.ProductQuantizer;
+import com.oracle.coherence.ai.internal.Quantizer;
+
+import com.tangosol.io.pof.PofReader;
+import com.tangosol.io.pof.PofWriter;
+
+import com.tangosol.util.ExternalizableHelper;
+import com.tangosol.util.ValueExtractor;
+
+import jakarta.json.bind.annotation.JsonbProperty;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * A {@link com.oracle.coherence.ai.VectorIndex} of {@code float} vectors that
+ * uses product quantization.
+ * <p/>
+ * Each vector is split into a number of {@link #getSubspaces() subspaces},
+ * and each sub-vector is encoded as the closest of 256 centroids, which are
+ * trained using k-means clustering. With the default of one subspace per
+ * eight dimensions, each vector is encoded into one byte per eight
+ * dimensions, which reduces the memory used by the vectors 32 times.
+ * <p/>
+ * The distance from a query to each encoded vector is computed using a table
+ * of the distances from the query to all centroids, which makes a scan of
+ * the index much faster than computing the exact distances.
+ * <p/>
+ * For example:
+ * <pre>
+ * var idx = new ProductQuantIndex&lt;&gt;(ValueWithVector::getVector, 768)
+ *                  .setSubspaces(96)
+ *                  .setOversamplingFactor(20);
+ *
+ * NamedMap&lt;Integer, ValueWithVector&gt; vectors = session.getMap("vectors");
+ * vectors.addIndex(idx);
+ * </pre>
+ *
+ * @param <K>  the type of entry keys
+ * @param <V>  the type of entry values
+ *
+ * @since 25.09
+ */
+public class ProductQuantIndex<K, V>
+        extends AbstractQuantIndex<K, V>
+    {
+    // ---- constructors ----------------------------------------------------
+
+    /**
+     * Default constructor for serialization.
+     */
+    public ProductQuantIndex()
+        {
+        m_nOversamplingFactor = DEFAULT_PQ_OVERSAMPLING_FACTOR;
+        }
+
+    /**
+     * Create a {@link ProductQuantIndex}.
+     *
+     * @param extractor   the {@link ValueExtractor} to use to extract the float
+     *                    array {@link Vector} from the cache entry
+     * @param nDimension  the number of dimensions in the vector
+     */
+    public ProductQuantIndex(ValueExtractor<V, Vector<float[]>> extractor, int nDimension)
+        {
+        super(extractor, nDimension);
+
+        m_nOversamplingFactor = DEFAULT_PQ_OVERSAMPLING_FACTOR;
+        }
+
+    // ---- accessors -------------------------------------------------------
+
+    /**
+     * Return the number of subspaces, which is the number of bytes each
+     * vector is encoded into.
+     *
+     * @return the number of subspaces
+     */
+    public int getSubspaces()
+        {
+        int cSubspaces = m_cSubspaces;
+        return cSubspaces > 0 ? cSubspaces : Math.max(1, m_nDimension / DEFAULT_SUBSPACE_DIMENSIONS);
+        }
+
+    /**
+     * Set the number of subspaces, which is the number of bytes each vector
+     * is encoded into; a larger number of subspaces improves the accuracy of
+     * the distances at the cost of memory and scan time.
+     *
+     * @param cSubspaces  the number of subspaces
+     *
+     * @return this {@link ProductQuantIndex} to allow fluent API calls
+     */
+    public ProductQuantIndex<K, V> setSubspaces(int cSubspaces)
+        {
+        m_cSubspaces = cSubspaces;
+        return this;
+        }
+
+    /**
+     * Set the index space name; one of {@code COSINE}, {@code L2} or {@code IP}.
+     *
+     * @param sSpaceName  the index space name
+     *
+     * @return this {@link ProductQuantIndex} to allow fluent API calls
+     */
+    public ProductQuantIndex<K, V> setSpaceName(String sSpaceName)
+        {
+        m_sSpaceName = sSpaceName;
+        return this;
+        }
+
+    /**
+     * Set the oversampling factor; product quantization is much coarser
+     * than scalar quantization, so the default is
+     * {@link #DEFAULT_PQ_OVERSAMPLING_FACTOR}.
+     *
+     * @param nOversamplingFactor  the oversampling factor
+     *
+     * @return this {@link ProductQuantIndex} to allow fluent API calls
+     */
+    public ProductQuantIndex<K, V> setOversamplingFactor(int nOversamplingFactor)
+        {
+        m_nOversamplingFactor = nOversamplingFactor;
+        return this;
+        }
+
+    /**
+     * Set the number of vectors a partition must contain before the
+     * centroids are trained on them.
+     *
+     * @param cTrainingSize  the number of vectors used to train the centroids
+     *
+     * @return this {@link ProductQuantIndex} to allow fluent API calls
+     */
+    public ProductQuantIndex<K, V> setTrainingSize(int cTrainingSize)
+        {
+        m_cTrainingSize = cTrainingSize;
+        return this;
+        }
+
+    // ----- AbstractQuantIndex methods -------------------------------------
+
+    @Override
+    protected Quantizer train(HnswGraph.Space space, float[] afSample, int cSample)
+        {
+        return ProductQuantizer.train(space, m_nDimension, getSubspaces(), afSample, cSample,
+                                      KMEANS_ITERATIONS, RANDOM_SEED);
+        }
+
+    @Override
+    protected Quantizer readQuantizer(DataInput in)
+            throws IOException
+        {
+        return ProductQuantizer.read(in);
+        }
+
+    // ----- Evolvable interface --------------------------------------------
+
+    @Override
+    public int getImplVersion()
+        {
+        return IMPL_VERSION;
+        }
+
+    // ----- PortableObject interface ---------------------------------------
+
+    @Override
+    public void readExternal(PofReader in) throws IOException
+        {
+        super.readExternal(in);
+
+        m_cSubspaces = in.readInt(10);
+        }
+
+    @Override
+    public void writeExternal(PofWriter out) throws IOException
+        {
+        super.writeExternal(out);
+
+        out.writeInt(10, m_cSubspaces);
+        }
+
+    // ----- ExternalizableLite interface -----------------------------------
+
+    @Override
+    public void readExternal(DataInput in) throws IOException
+        {
+        super.readExternal(in);
+
+        m_cSubspaces = ExternalizableHelper.readInt(in);
+        }
+
+    @Override
+    public void writeExternal(DataOutput out) throws IOException
+        {
+        super.writeExternal(out);
+
+        ExternalizableHelper.writeInt(out, m_cSubspaces);
+        }
+
+    // ----- Object methods -------------------------------------------------
+
+    @Override
+    public String toString()
+        {
+        return "ProductQuantIndex{" +
+               "extractor=" + m_extractor +
+               ", dimension=" + m_nDimension +
+               ", spaceName='" + m_sSpaceName + '\'' +
+               ", subspaces=" + getSubspaces() +
+               ", oversamplingFactor=" + m_nOversamplingFactor +
+               ", trainingSize=" + m_cTrainingSize +
+               '}';
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The POF implementation version.
+     */
+    public static final int IMPL_VERSION = 0;
+
+    /**
+     * The default number of dimensions in each subspace.
+     */
+    public static final int DEFAULT_SUBSPACE_DIMENSIONS = 8;
+
+    /**
+     * The default oversampling factor of a product quantization index.
+     */
+    public static final int DEFAULT_PQ_OVERSAMPLING_FACTOR = 10;
+
+    /**
+     * The maximum number of k-means iterations used to train the centroids.
+     */
+    private static final int KMEANS_ITERATIONS = 10;
+
+    /**
+     * The random seed used to train the centroids.
+     */
+    private static final long RANDOM_SEED = 42L;
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The number of subspaces, or zero to use one subspace per
+     * {@link #DEFAULT_SUBSPACE_DIMENSIONS} dimensions.
+     */
+    @JsonbProperty("subspaces")
+    private int m_cSubspaces;
+    }
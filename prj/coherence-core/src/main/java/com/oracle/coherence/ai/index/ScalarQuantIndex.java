@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.coherence.ai.index;
+
+import com.oracle.coherence.ai.Vector;
+
+import com.oracle.coherence.ai.internal.HnswGraph;
+import com.oracle.coherence.ai.internal.Quantizer;
+import com.oracle.coherence.ai.internal.ScalarQuantizer;
+
+import com.tangosol.util.ValueExtractor;
+
+import java.io.DataInput;
+import java.io.IOException;
+
+/**
+ * A {@link com.oracle.coherence.ai.VectorIndex} of {@code float} vectors that
+ * quantizes each dimension of a vector into a single byte, which reduces the
+ * memory used by the vectors four times.
+ * <p/>
+ * Scalar quantization preserves the distances between vectors much better
+ * than {@link BinaryQuantIndex binary quantization}, so a much lower
+ * oversampling factor is required for the same recall.
+ * <p/>
+ * For example:
+ * <pre>
+ * var idx = new ScalarQuantIndex&lt;&gt;(ValueWithVector::getVector, DIMENSIONS)
+ *                  .setSpaceName("L2")
+ *                  .setOversamplingFactor(2);
+ *
+ * NamedMap&lt;Integer, ValueWithVector&gt; vectors = session.getMap("vectors");
+ * vectors.addIndex(idx);
+ * </pre>
+ *
+ * @param <K>  the type of entry keys
+ * @param <V>  the type of entry values
+ *
+ * @since 25.09
+ */
+public class ScalarQuantIndex<K, V>
+        extends AbstractQuantIndex<K, V>
+    {
+    // ---- constructors ----------------------------------------------------
+
+    /**
+     * Default constructor for serialization.
+     */
+    public ScalarQuantIndex()
+        {
+        }
+
+    /**
+     * Create a {@link ScalarQuantIndex}.
+     *
+     * @param extractor   the {@link ValueExtractor} to use to extract the float
+     *                    array {@link Vector} from the cache entry
+     * @param nDimension  the number of dimensions in the vector
+     */
+    public ScalarQuantIndex(ValueExtractor<V, Vector<float[]>> extractor, int nDimension)
+        {
+        super(extractor, nDimension);
+        }
+
+    // ---- accessors -------------------------------------------------------
+
+    /**
+     * Set the index space name; one of {@code COSINE}, {@code L2} or {@code IP}.
+     *
+     * @param sSpaceName  the index space name
+     *
+     * @return this {@link ScalarQuantIndex} to allow fluent API calls
+     */
+    public ScalarQuantIndex<K, V> setSpaceName(String sSpaceName)
+        {
+        m_sSpaceName = sSpaceName;
+        return this;
+        }
+
+    /**
+     * Set the oversampling factor.
+     *
+     * @param nOversamplingFactor  the oversampling factor
+     *
+     * @return this {@link ScalarQuantIndex} to allow fluent API calls
+     */
+    public ScalarQuantIndex<K, V> setOversamplingFactor(int nOversamplingFactor)
+        {
+        m_nOversamplingFactor = nOversamplingFactor;
+        return this;
+        }
+
+    /**
+     * Set the number of vectors a partition must contain before the
+     * quantizer is trained on them.
+     *
+     * @param cTrainingSize  the number of vectors used to train the quantizer
+     *
+     * @return this {@link ScalarQuantIndex} to allow fluent API calls
+     */
+    public ScalarQuantIndex<K, V> setTrainingSize(int cTrainingSize)
+        {
+        m_cTrainingSize = cTrainingSize;
+        return this;
+        }
+
+    // ----- AbstractQuantIndex methods -------------------------------------
+
+    @Override
+    protected Quantizer train(HnswGraph.Space space, float[] afSample, int cSample)
+        {
+        return ScalarQuantizer.train(space, m_nDimension, afSample, cSample);
+        }
+
+    @Override
+    protected Quantizer readQuantizer(DataInput in)
+            throws IOException
+        {
+        return ScalarQuantizer.read(in);
+        }
+
+    // ----- Evolvable interface --------------------------------------------
+
+    @Override
+    public int getImplVersion()
+        {
+        return IMPL_VERSION;
+        }
+
+    // ----- Object methods -------------------------------------------------
+
+    @Override
+    public String toString()
+        {
+        return "ScalarQuantIndex{" +
+               "extractor=" + m_extractor +
+               ", dimension=" + m_nDimension +
+               ", spaceName='" + m_sSpaceName + '\'' +
+               ", oversamplingFactor=" + m_nOversamplingFactor +
+               ", trainingSize=" + m_cTrainingSize +
+               '}';
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The POF implementation version.
+     */
+    public static final int IMPL_VERSION = 0;
+    }
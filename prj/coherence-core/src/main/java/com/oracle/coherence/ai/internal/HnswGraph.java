@@ -0,0 +1,1570 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.coherence.ai.internal;
+
+import com.tangosol.util.ExternalizableHelper;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import java.util.function.IntPredicate;
+
+/**
+ * A pure Java implementation of a Hierarchical Navigable Small World (HNSW)
+ * graph over {@code float} vectors.
+ * <p>
+ * The graph is stored entirely in primitive arrays on the Java heap: each node
+ * is identified by a dense {@code int} id, its level-0 links are kept in a
+ * single {@code int[]} with a fixed number of slots per node, and the links of
+ * the (rare) upper levels are kept in a small {@code int[]} per node.
+ * <p>
+ * Nodes can be added concurrently. Adding a node only needs exclusive access
+ * to the link lists it modifies, which are guarded by a fixed set of striped
+ * locks. Growing the graph takes an exclusive lock.
+ * <p>
+ * Removed nodes are only marked as deleted, so they can still be traversed
+ * by searches, but are never returned. Use {@link #compact()} to rebuild the
+ * graph without them.
+ *
+ * @since 25.09
+ */
+public class HnswGraph
+    {
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Create a {@link HnswGraph}.
+     *
+     * @param nDimension        the number of dimensions in each vector
+     * @param space             the distance space
+     * @param nM                the number of links created for each node on
+     *                          the upper levels (twice as many on level 0)
+     * @param nEfConstruction   the size of the dynamic candidate list used
+     *                          when adding nodes
+     * @param cInitialCapacity  the initial capacity of the graph
+     * @param nRandomSeed       the seed for the random level generator
+     */
+    public HnswGraph(int nDimension, Space space, int nM, int nEfConstruction, int cInitialCapacity, long nRandomSeed)
+        {
+        if (nDimension <= 0)
+            {
+            throw new IllegalArgumentException("The vector dimension must be greater than zero");
+            }
+        if (nM < 2)
+            {
+            throw new IllegalArgumentException("M must be at least 2");
+            }
+
+        f_nDimension      = nDimension;
+        f_space           = space;
+        f_nM              = nM;
+        f_nM0             = nM * 2;
+        f_nEfConstruction = Math.max(nEfConstruction, nM);
+        f_dLevelMult      = 1.0 / Math.log(nM);
+        f_random          = new Random(nRandomSeed);
+        f_nRandomSeed     = nRandomSeed;
+
+        int cCapacity = Math.max(cInitialCapacity, 16);
+        m_aafVectors = new float[cCapacity][];
+        m_aoLabels   = new Object[cCapacity];
+        m_abLevel    = new byte[cCapacity];
+        m_abDeleted  = new byte[cCapacity];
+        m_anLinks0   = new int[cCapacity * (f_nM0 + 1)];
+        m_aanLinks   = new int[cCapacity][];
+        }
+
+    // ----- accessors ------------------------------------------------------
+
+    /**
+     * Return the number of dimensions in each vector.
+     *
+     * @return the number of dimensions in each vector
+     */
+    public int getDimension()
+        {
+        return f_nDimension;
+        }
+
+    /**
+     * Return the distance space.
+     *
+     * @return the distance space
+     */
+    public Space getSpace()
+        {
+        return f_space;
+        }
+
+    /**
+     * Return the number of nodes in the graph, including the deleted ones.
+     *
+     * @return the number of nodes in the graph
+     */
+    public int size()
+        {
+        return f_cNodes.get();
+        }
+
+    /**
+     * Return the number of nodes that have been marked as deleted.
+     *
+     * @return the number of deleted nodes
+     */
+    public int getDeletedCount()
+        {
+        return f_cDeleted.get();
+        }
+
+    /**
+     * Return the label associated with the specified node.
+     *
+     * @param nId  the node id
+     *
+     * @return the label associated with the specified node
+     */
+    public Object getLabel(int nId)
+        {
+        f_lock.readLock().lock();
+        try
+            {
+            return m_aoLabels[nId];
+            }
+        finally
+            {
+            f_lock.readLock().unlock();
+            }
+        }
+
+    /**
+     * Return the vector stored for the specified node.
+     * <p>
+     * The returned array must not be modified. For the {@link Space#COSINE}
+     * space the vector is the normalized copy of the added vector.
+     *
+     * @param nId  the node id
+     *
+     * @return the vector stored for the specified node
+     */
+    public float[] getVector(int nId)
+        {
+        f_lock.readLock().lock();
+        try
+            {
+            return m_aafVectors[nId];
+            }
+        finally
+            {
+            f_lock.readLock().unlock();
+            }
+        }
+
+    /**
+     * Return {@code true} if the specified node has been marked as deleted.
+     *
+     * @param nId  the node id
+     *
+     * @return {@code true} if the specified node has been marked as deleted
+     */
+    public boolean isDeleted(int nId)
+        {
+        return m_abDeleted[nId] != 0;
+        }
+
+    /**
+     * Return the approximate number of bytes of heap used by the graph,
+     * excluding the labels.
+     *
+     * @return the approximate number of bytes used by the graph
+     */
+    public long getUnits()
+        {
+        f_lock.readLock().lock();
+        try
+            {
+            int  cCapacity = m_aafVectors.length;
+            int  cNodes    = f_cNodes.get();
+            long cUnits    = ARRAY_OVERHEAD * 6L
+                             + (long) cCapacity * (2 * REF_SIZE + 2)
+                             + (long) m_anLinks0.length * Integer.BYTES
+                             + (long) cNodes * (ARRAY_OVERHEAD + (long) f_nDimension * Float.BYTES);
+
+            for (int i = 0; i < cNodes; i++)
+                {
+                int[] anLinks = m_aanLinks[i];
+                if (anLinks != null)
+                    {
+                    cUnits += ARRAY_OVERHEAD + (long) anLinks.length * Integer.BYTES;
+                    }
+                }
+            return cUnits;
+            }
+        finally
+            {
+            f_lock.readLock().unlock();
+            }
+        }
+
+    // ----- public API -----------------------------------------------------
+
+    /**
+     * Add a vector to the graph.
+     * <p>
+     * This method may be called concurrently by multiple threads.
+     *
+     * @param afVector  the vector to add
+     * @param oLabel    the label to associate with the new node
+     *
+     * @return the id of the new node
+     */
+    public int add(float[] afVector, Object oLabel)
+        {
+        if (afVector.length != f_nDimension)
+            {
+            throw new IllegalArgumentException("Vector dimension (%,d) must be equal to the index dimension (%,d)"
+                                                       .formatted(afVector.length, f_nDimension));
+            }
+
+        float[] afNode = prepare(afVector);
+        int     nLevel = randomLevel();
+
+        while (true)
+            {
+            f_lock.readLock().lock();
+            try
+                {
+                int nId = allocate();
+                if (nId >= 0)
+                    {
+                    m_aafVectors[nId] = afNode;
+                    m_aoLabels[nId]   = oLabel;
+                    m_abLevel[nId]    = (byte) nLevel;
+                    m_aanLinks[nId]   = nLevel == 0 ? null : new int[nLevel * (f_nM + 1)];
+
+                    link(nId, afNode, nLevel);
+                    return nId;
+                    }
+                }
+            finally
+                {
+                f_lock.readLock().unlock();
+                }
+
+            grow();
+            }
+        }
+
+    /**
+     * Mark the specified node as deleted.
+     * <p>
+     * The node will still be used to navigate the graph, but it will never be
+     * returned by a search.
+     *
+     * @param nId  the id of the node to delete
+     */
+    public void markDeleted(int nId)
+        {
+        f_lock.readLock().lock();
+        try
+            {
+            synchronized (stripe(nId))
+                {
+                if (m_abDeleted[nId] == 0)
+                    {
+                    m_abDeleted[nId] = 1;
+                    m_aoLabels[nId]  = null;
+                    f_cDeleted.incrementAndGet();
+                    }
+                }
+            }
+        finally
+            {
+            f_lock.readLock().unlock();
+            }
+        }
+
+    /**
+     * Find the approximate {@code k} nearest neighbours of the specified vector.
+     *
+     * @param afQuery    the query vector
+     * @param k          the maximum number of results to return
+     * @param nEf        the size of the dynamic candidate list; larger values
+     *                   improve recall at the cost of latency
+     * @param filter     an optional predicate that the ids of the returned
+     *                   nodes must satisfy
+     * @param anIds      the array to write the ids of the results to, which
+     *                   must have at least {@code k} elements
+     * @param afDist     the array to write the distances of the results to,
+     *                   which must have at least {@code k} elements
+     *
+     * @return the number of results, sorted by ascending distance
+     */
+    public int search(float[] afQuery, int k, int nEf, IntPredicate filter, int[] anIds, float[] afDist)
+        {
+        if (afQuery.length != f_nDimension)
+            {
+            throw new IllegalArgumentException("Vector dimension (%,d) must be equal to the index dimension (%,d)"
+                                                       .formatted(afQuery.length, f_nDimension));
+            }
+
+        float[] afTarget = prepare(afQuery);
+
+        f_lock.readLock().lock();
+        try
+            {
+            // the top level must be read before the entry point, see link()
+            int nMaxLevel = m_nMaxLevel;
+            int nEntry    = m_nEntry;
+            if (nEntry < 0 || k <= 0)
+                {
+                return 0;
+                }
+
+            nEntry = greedySearch(afTarget, nEntry, nMaxLevel, 1);
+
+            NodeHeap heapResults = searchLayer(afTarget, nEntry, Math.max(nEf, k), 0, filter, true);
+            while (heapResults.size() > k)
+                {
+                heapResults.pop();
+                }
+
+            int cResults = heapResults.size();
+            for (int i = cResults - 1; i >= 0; i--)
+                {
+                afDist[i] = heapResults.peekDistance();
+                anIds[i]  = heapResults.pop();
+                }
+            return cResults;
+            }
+        finally
+            {
+            f_lock.readLock().unlock();
+            }
+        }
+
+    /**
+     * Find the exact {@code k} nearest neighbours of the specified vector
+     * among the specified candidate nodes.
+     * <p>
+     * This is cheaper and more accurate than a {@link #search graph search}
+     * when only a small number of nodes can satisfy the filter.
+     *
+     * @param afQuery      the query vector
+     * @param k            the maximum number of results to return
+     * @param anCandidates the ids of the candidate nodes
+     * @param cCandidates  the number of candidate nodes
+     * @param filter       an optional predicate that the ids of the returned
+     *                     nodes must satisfy
+     * @param anIds        the array to write the ids of the results to, which
+     *                     must have at least {@code k} elements
+     * @param afDist       the array to write the distances of the results to,
+     *                     which must have at least {@code k} elements
+     *
+     * @return the number of results, sorted by ascending distance
+     */
+    public int exactSearch(float[] afQuery, int k, int[] anCandidates, int cCandidates, IntPredicate filter,
+                           int[] anIds, float[] afDist)
+        {
+        if (afQuery.length != f_nDimension)
+            {
+            throw new IllegalArgumentException("Vector dimension (%,d) must be equal to the index dimension (%,d)"
+                                                       .formatted(afQuery.length, f_nDimension));
+            }
+
+        float[] afTarget = prepare(afQuery);
+
+        f_lock.readLock().lock();
+        try
+            {
+            if (k <= 0)
+                {
+                return 0;
+                }
+
+            NodeHeap heapResults = new NodeHeap(k + 1, true);
+            int      cNodes      = f_cNodes.get();
+            for (int i = 0; i < cCandidates; i++)
+                {
+                int nId = anCandidates[i];
+                if (nId < 0 || nId >= cNodes || m_abDeleted[nId] != 0)
+                    {
+                    continue;
+                    }
+
+                float fDist = distance(afTarget, m_aafVectors[nId]);
+                if (heapResults.size() < k || fDist < heapResults.peekDistance())
+                    {
+                    // evaluate the filter only for the nodes that would be returned
+                    if (filter == null || filter.test(nId))
+                        {
+                        heapResults.push(fDist, nId);
+                        if (heapResults.size() > k)
+                            {
+                            heapResults.pop();
+                            }
+                        }
+                    }
+                }
+
+            int cResults = heapResults.size();
+            for (int i = cResults - 1; i >= 0; i--)
+                {
+                afDist[i] = heapResults.peekDistance();
+                anIds[i]  = heapResults.pop();
+                }
+            return cResults;
+            }
+        finally
+            {
+            f_lock.readLock().unlock();
+            }
+        }
+
+    /**
+     * Rebuild the graph without the nodes that have been marked as deleted.
+     *
+     * @return an array mapping the old node ids to the new node ids, with
+     *         {@code -1} for the removed nodes
+     */
+    public int[] compact()
+        {
+        f_lock.writeLock().lock();
+        try
+            {
+            int       cNodes = f_cNodes.get();
+            int       cLive  = cNodes - f_cDeleted.get();
+            HnswGraph graph  = new HnswGraph(f_nDimension, f_space, f_nM, f_nEfConstruction, cLive, f_nRandomSeed);
+            int[]     anMap  = new int[cNodes];
+
+            for (int i = 0; i < cNodes; i++)
+                {
+                // the vectors are already prepared, so they can be added as they are
+                anMap[i] = m_abDeleted[i] == 0 ? graph.add(m_aafVectors[i], m_aoLabels[i]) : -1;
+                }
+
+            m_aafVectors = graph.m_aafVectors;
+            m_aoLabels   = graph.m_aoLabels;
+            m_abLevel    = graph.m_abLevel;
+            m_abDeleted  = graph.m_abDeleted;
+            m_anLinks0   = graph.m_anLinks0;
+            m_aanLinks   = graph.m_aanLinks;
+            m_nEntry     = graph.m_nEntry;
+            m_nMaxLevel  = graph.m_nMaxLevel;
+            f_cNodes.set(graph.f_cNodes.get());
+            f_cDeleted.set(0);
+            f_poolVisited.clear();
+
+            return anMap;
+            }
+        finally
+            {
+            f_lock.writeLock().unlock();
+            }
+        }
+
+    // ----- serialization --------------------------------------------------
+
+    /**
+     * Write the graph, including the nodes that have been marked as deleted,
+     * to the specified output.
+     * <p>
+     * The graph cannot be modified or searched while it is written.
+     *
+     * @param out  the output to write the graph to
+     *
+     * @throws IOException if the graph could not be written
+     */
+    public void write(DataOutput out)
+            throws IOException
+        {
+        f_lock.writeLock().lock();
+        try
+            {
+            int cNodes = f_cNodes.get();
+            int nDim   = f_nDimension;
+            int nM     = f_nM;
+
+            out.writeInt(nDim);
+            out.writeByte(f_space.ordinal());
+            out.writeInt(nM);
+            out.writeInt(cNodes);
+            out.writeInt(m_nEntry);
+            out.writeInt(m_nMaxLevel);
+
+            for (int nId = 0; nId < cNodes; nId++)
+                {
+                int     nLevel = m_abLevel[nId];
+                float[] afNode = m_aafVectors[nId];
+
+                out.writeByte(nLevel);
+                out.writeBoolean(m_abDeleted[nId] != 0);
+                ExternalizableHelper.writeObject(out, m_aoLabels[nId]);
+                for (int i = 0; i < nDim; i++)
+                    {
+                    out.writeFloat(afNode[i]);
+                    }
+
+                for (int nL = 0; nL <= nLevel; nL++)
+                    {
+                    int[] anLinks = linksArray(nId, nL);
+                    int   nOffset = linksOffset(nId, nL);
+                    int   cLinks  = anLinks[nOffset];
+
+                    out.writeShort(cLinks);
+                    for (int i = 1; i <= cLinks; i++)
+                        {
+                        out.writeInt(anLinks[nOffset + i]);
+                        }
+                    }
+                }
+            }
+        finally
+            {
+            f_lock.writeLock().unlock();
+            }
+        }
+
+    /**
+     * Replace the contents of this empty graph with a graph written by
+     * {@link #write(DataOutput)}.
+     *
+     * @param in  the input to read the graph from
+     *
+     * @return {@code true} if the graph was read, or {@code false} if this graph
+     *         is not empty, or the written graph was created with different
+     *         parameters
+     *
+     * @throws IOException if the graph could not be read
+     */
+    public boolean read(DataInput in)
+            throws IOException
+        {
+        f_lock.writeLock().lock();
+        try
+            {
+            int nDim = f_nDimension;
+            int nM0  = f_nM0;
+            int nM   = f_nM;
+
+            if (f_cNodes.get() != 0
+                || in.readInt() != nDim
+                || in.readUnsignedByte() != f_space.ordinal()
+                || in.readInt() != nM)
+                {
+                return false;
+                }
+
+            int cNodes    = in.readInt();
+            int nEntry    = in.readInt();
+            int nMaxLevel = in.readInt();
+            int cCapacity = Math.max(cNodes, m_aafVectors.length);
+
+            float[][] aafVectors = new float[cCapacity][];
+            Object[]  aoLabels   = new Object[cCapacity];
+            byte[]    abLevel    = new byte[cCapacity];
+            byte[]    abDeleted  = new byte[cCapacity];
+            int[]     anLinks0   = new int[cCapacity * (nM0 + 1)];
+            int[][]   aanLinks   = new int[cCapacity][];
+            int       cDeleted   = 0;
+
+            for (int nId = 0; nId < cNodes; nId++)
+                {
+                int     nLevel = in.readUnsignedByte();
+                float[] afNode = new float[nDim];
+
+                if (in.readBoolean())
+                    {
+                    abDeleted[nId] = 1;
+                    cDeleted++;
+                    }
+                aoLabels[nId] = ExternalizableHelper.readObject(in);
+                for (int i = 0; i < nDim; i++)
+                    {
+                    afNode[i] = in.readFloat();
+                    }
+                aafVectors[nId] = afNode;
+                abLevel[nId]    = (byte) nLevel;
+                aanLinks[nId]   = nLevel == 0 ? null : new int[nLevel * (nM + 1)];
+
+                for (int nL = 0; nL <= nLevel; nL++)
+                    {
+                    int[] anLinks = nL == 0 ? anLinks0 : aanLinks[nId];
+                    int   nOffset = nL == 0 ? nId * (nM0 + 1) : (nL - 1) * (nM + 1);
+                    int   cLinks  = in.readUnsignedShort();
+
+                    anLinks[nOffset] = cLinks;
+                    for (int i = 1; i <= cLinks; i++)
+                        {
+                        anLinks[nOffset + i] = in.readInt();
+                        }
+                    }
+                }
+
+            m_aafVectors = aafVectors;
+            m_aoLabels   = aoLabels;
+            m_abLevel    = abLevel;
+            m_abDeleted  = abDeleted;
+            m_anLinks0   = anLinks0;
+            m_aanLinks   = aanLinks;
+            m_nEntry     = nEntry;
+            m_nMaxLevel  = nMaxLevel;
+            f_cNodes.set(cNodes);
+            f_cDeleted.set(cDeleted);
+            f_poolVisited.clear();
+
+            return true;
+            }
+        finally
+            {
+            f_lock.writeLock().unlock();
+            }
+        }
+
+    // ----- graph construction ---------------------------------------------
+
+    /**
+     * Allocate a new node id.
+     *
+     * @return the new node id, or {@code -1} if the graph must grow first
+     */
+    private int allocate()
+        {
+        int cCapacity = m_aafVectors.length;
+        while (true)
+            {
+            int nId = f_cNodes.get();
+            if (nId >= cCapacity)
+                {
+                return -1;
+                }
+            if (f_cNodes.compareAndSet(nId, nId + 1))
+                {
+                return nId;
+                }
+            }
+        }
+
+    /**
+     * Grow the capacity of the graph.
+     */
+    private void grow()
+        {
+        f_lock.writeLock().lock();
+        try
+            {
+            int cCapacity = m_aafVectors.length;
+            if (f_cNodes.get() >= cCapacity)
+                {
+                int cNew = cCapacity + Math.max(cCapacity >> 1, 16);
+
+                m_aafVectors = Arrays.copyOf(m_aafVectors, cNew);
+                m_aoLabels   = Arrays.copyOf(m_aoLabels, cNew);
+                m_abLevel    = Arrays.copyOf(m_abLevel, cNew);
+                m_abDeleted  = Arrays.copyOf(m_abDeleted, cNew);
+                m_anLinks0   = Arrays.copyOf(m_anLinks0, cNew * (f_nM0 + 1));
+                m_aanLinks   = Arrays.copyOf(m_aanLinks, cNew);
+                f_poolVisited.clear();
+                }
+            }
+        finally
+            {
+            f_lock.writeLock().unlock();
+            }
+        }
+
+    /**
+     * Link a newly allocated node into the graph.
+     *
+     * @param nId      the node id
+     * @param afNode   the node vector
+     * @param nLevel   the top level of the node
+     */
+    private void link(int nId, float[] afNode, int nLevel)
+        {
+        // adding a node above the current top level must be done exclusively
+        // with respect to other such additions, as it changes the entry point
+        boolean fTop = nLevel > m_nMaxLevel;
+        if (fTop)
+            {
+            synchronized (f_lockEntry)
+                {
+                fTop = nLevel > m_nMaxLevel;
+                if (!fTop)
+                    {
+                    linkLevels(nId, afNode, nLevel);
+                    return;
+                    }
+                linkLevels(nId, afNode, nLevel);
+
+                // the entry point must be published before the top level, so
+                // that readers never pair an old entry point with a new level
+                m_nEntry    = nId;
+                m_nMaxLevel = nLevel;
+                }
+            }
+        else
+            {
+            linkLevels(nId, afNode, nLevel);
+            }
+        }
+
+    /**
+     * Connect the node to its neighbours on all of its levels.
+     *
+     * @param nId      the node id
+     * @param afNode   the node vector
+     * @param nLevel   the top level of the node
+     */
+    private void linkLevels(int nId, float[] afNode, int nLevel)
+        {
+        int nMaxLevel = m_nMaxLevel;
+        int nEntry    = m_nEntry;
+        if (nEntry < 0)
+            {
+            // this is the first node, which is linked by becoming the entry point
+            return;
+            }
+
+        if (nLevel < nMaxLevel)
+            {
+            nEntry = greedySearch(afNode, nEntry, nMaxLevel, nLevel + 1);
+            }
+
+        for (int nL = Math.min(nLevel, nMaxLevel); nL >= 0; nL--)
+            {
+            NodeHeap heapCandidates = searchLayer(afNode, nEntry, f_nEfConstruction, nL, null, false);
+            int[]    anNeighbors    = selectNeighbors(heapCandidates, f_nM);
+
+            // the closest candidate is the entry point for the next level
+            nEntry = anNeighbors.length > 0 ? anNeighbors[0] : nEntry;
+
+            synchronized (stripe(nId))
+                {
+                setLinks(nId, nL, anNeighbors, anNeighbors.length);
+                }
+
+            for (int nNeighbor : anNeighbors)
+                {
+                addLink(nNeighbor, nId, nL);
+                }
+            }
+        }
+
+    /**
+     * Add a link from one node to another, pruning the links of the source
+     * node if it already has the maximum number of links.
+     *
+     * @param nFrom   the node to add the link to
+     * @param nTo     the node to link to
+     * @param nLevel  the level of the link
+     */
+    private void addLink(int nFrom, int nTo, int nLevel)
+        {
+        int nMax = nLevel == 0 ? f_nM0 : f_nM;
+
+        synchronized (stripe(nFrom))
+            {
+            int[] anLinks = linksArray(nFrom, nLevel);
+            int   nOffset = linksOffset(nFrom, nLevel);
+            int   cLinks  = anLinks[nOffset];
+
+            for (int i = 1; i <= cLinks; i++)
+                {
+                if (anLinks[nOffset + i] == nTo)
+                    {
+                    return;
+                    }
+                }
+
+            if (cLinks < nMax)
+                {
+                anLinks[nOffset + cLinks + 1] = nTo;
+                anLinks[nOffset] = cLinks + 1;
+                return;
+                }
+
+            // the node is full, so keep the best nMax of the existing links
+            // and the new one, using the same heuristic used for new nodes
+            float[]  afFrom = m_aafVectors[nFrom];
+            NodeHeap heap   = new NodeHeap(nMax + 1, true);
+            heap.push(distance(afFrom, m_aafVectors[nTo]), nTo);
+            for (int i = 1; i <= cLinks; i++)
+                {
+                int nLink = anLinks[nOffset + i];
+                heap.push(distance(afFrom, m_aafVectors[nLink]), nLink);
+                }
+
+            int[] anSelected = selectNeighbors(heap, nMax);
+            setLinks(nFrom, nLevel, anSelected, anSelected.length);
+            }
+        }
+
+    /**
+     * Select up to {@code nMax} neighbours from the candidates using the
+     * HNSW neighbour selection heuristic, which favours candidates that are
+     * closer to the base node than to any of the already selected neighbours.
+     *
+     * @param heapCandidates  a max-heap of candidates, which is consumed
+     * @param nMax            the maximum number of neighbours to select
+     *
+     * @return the selected neighbours, ordered by ascending distance
+     */
+    private int[] selectNeighbors(NodeHeap heapCandidates, int nMax)
+        {
+        int     cCandidates = heapCandidates.size();
+        int[]   anIds       = new int[cCandidates];
+        float[] afDist      = new float[cCandidates];
+
+        for (int i = cCandidates - 1; i >= 0; i--)
+            {
+            afDist[i] = heapCandidates.peekDistance();
+            anIds[i]  = heapCandidates.pop();
+            }
+
+        if (cCandidates <= nMax)
+            {
+            return anIds;
+            }
+
+        int[] anSelected = new int[nMax];
+        int   cSelected  = 0;
+        for (int i = 0; i < cCandidates && cSelected < nMax; i++)
+            {
+            int     nCandidate  = anIds[i];
+            float[] afCandidate = m_aafVectors[nCandidate];
+            boolean fGood       = true;
+
+            for (int j = 0; j < cSelected; j++)
+                {
+                if (distance(afCandidate, m_aafVectors[anSelected[j]]) < afDist[i])
+                    {
+                    fGood = false;
+                    break;
+                    }
+                }
+
+            if (fGood)
+                {
+                anSelected[cSelected++] = nCandidate;
+                }
+            }
+
+        return cSelected == nMax ? anSelected : Arrays.copyOf(anSelected, cSelected);
+        }
+
+    // ----- search ---------------------------------------------------------
+
+    /**
+     * Greedily descend from the top level to the specified level, moving to
+     * the closest neighbour on each level.
+     *
+     * @param afTarget    the target vector
+     * @param nEntry      the entry point
+     * @param nFromLevel  the level to start from
+     * @param nToLevel    the last level to search
+     *
+     * @return the closest node found on the last level
+     */
+    private int greedySearch(float[] afTarget, int nEntry, int nFromLevel, int nToLevel)
+        {
+        int   nCurrent = nEntry;
+        float fCurrent = distance(afTarget, m_aafVectors[nCurrent]);
+        int[] anBuffer = new int[f_nM0];
+
+        for (int nLevel = nFromLevel; nLevel >= nToLevel; nLevel--)
+            {
+            boolean fChanged = true;
+            while (fChanged)
+                {
+                fChanged = false;
+
+                int cLinks = copyLinks(nCurrent, nLevel, anBuffer);
+                for (int i = 0; i < cLinks; i++)
+                    {
+                    int   nCandidate = anBuffer[i];
+                    float fDist      = distance(afTarget, m_aafVectors[nCandidate]);
+                    if (fDist < fCurrent)
+                        {
+                        fCurrent = fDist;
+                        nCurrent = nCandidate;
+                        fChanged = true;
+                        }
+                    }
+                }
+            }
+        return nCurrent;
+        }
+
+    /**
+     * Search a single level of the graph.
+     *
+     * @param afTarget  the target vector
+     * @param nEntry    the entry point
+     * @param nEf       the size of the dynamic candidate list
+     * @param nLevel    the level to search
+     * @param filter    an optional predicate the results must satisfy
+     * @param fQuery    {@code true} if this is a query, in which case deleted
+     *                  nodes are excluded from the results
+     *
+     * @return a max-heap of at most {@code nEf} closest nodes
+     */
+    private NodeHeap searchLayer(float[] afTarget, int nEntry, int nEf, int nLevel, IntPredicate filter, boolean fQuery)
+        {
+        VisitedSet visited = acquireVisited();
+        try
+            {
+            NodeHeap heapCandidates = new NodeHeap(nEf, false);
+            NodeHeap heapResults    = new NodeHeap(nEf + 1, true);
+            int[]    anBuffer       = new int[f_nM0];
+
+            float fEntry = distance(afTarget, m_aafVectors[nEntry]);
+            float fBound = Float.MAX_VALUE;
+
+            visited.add(nEntry);
+            heapCandidates.push(fEntry, nEntry);
+            if (isAccepted(nEntry, filter, fQuery))
+                {
+                heapResults.push(fEntry, nEntry);
+                fBound = fEntry;
+                }
+
+            while (heapCandidates.size() > 0)
+                {
+                float fCandidate = heapCandidates.peekDistance();
+                if (fCandidate > fBound && heapResults.size() >= nEf)
+                    {
+                    break;
+                    }
+                int nCandidate = heapCandidates.pop();
+
+                int cLinks = copyLinks(nCandidate, nLevel, anBuffer);
+                for (int i = 0; i < cLinks; i++)
+                    {
+                    int nNeighbor = anBuffer[i];
+                    if (!visited.add(nNeighbor))
+                        {
+                        continue;
+                        }
+
+                    float fDist = distance(afTarget, m_aafVectors[nNeighbor]);
+                    if (heapResults.size() < nEf || fDist < fBound)
+                        {
+                        heapCandidates.push(fDist, nNeighbor);
+
+                        if (isAccepted(nNeighbor, filter, fQuery))
+                            {
+                            heapResults.push(fDist, nNeighbor);
+                            if (heapResults.size() > nEf)
+                                {
+                                heapResults.pop();
+                                }
+                            fBound = heapResults.peekDistance();
+                            }
+                        }
+                    }
+                }
+
+            return heapResults;
+            }
+        finally
+            {
+            releaseVisited(visited);
+            }
+        }
+
+    /**
+     * Return {@code true} if the specified node can be included in the results.
+     *
+     * @param nId     the node id
+     * @param filter  an optional predicate the results must satisfy
+     * @param fQuery  {@code true} if deleted nodes should be excluded
+     *
+     * @return {@code true} if the specified node can be included in the results
+     */
+    private boolean isAccepted(int nId, IntPredicate filter, boolean fQuery)
+        {
+        return !fQuery || (m_abDeleted[nId] == 0 && (filter == null || filter.test(nId)));
+        }
+
+    // ----- links ----------------------------------------------------------
+
+    /**
+     * Copy the links of the specified node on the specified level into the
+     * buffer.
+     *
+     * @param nId       the node id
+     * @param nLevel    the level
+     * @param anBuffer  the buffer to copy the links to
+     *
+     * @return the number of links copied
+     */
+    private int copyLinks(int nId, int nLevel, int[] anBuffer)
+        {
+        if (nLevel > m_abLevel[nId])
+            {
+            return 0;
+            }
+
+        synchronized (stripe(nId))
+            {
+            int[] anLinks = linksArray(nId, nLevel);
+            int nOffset = linksOffset(nId, nLevel);
+            int cLinks  = anLinks[nOffset];
+            System.arraycopy(anLinks, nOffset + 1, anBuffer, 0, cLinks);
+            return cLinks;
+            }
+        }
+
+    /**
+     * Replace the links of the specified node on the specified level. The
+     * caller must hold the node's stripe lock.
+     *
+     * @param nId      the node id
+     * @param nLevel   the level
+     * @param anLinks  the new links
+     * @param cLinks   the number of new links
+     */
+    private void setLinks(int nId, int nLevel, int[] anLinks, int cLinks)
+        {
+        int[] anTarget = linksArray(nId, nLevel);
+        int   nOffset  = linksOffset(nId, nLevel);
+
+        System.arraycopy(anLinks, 0, anTarget, nOffset + 1, cLinks);
+        anTarget[nOffset] = cLinks;
+        }
+
+    /**
+     * Return the array holding the links of the specified node on the
+     * specified level.
+     *
+     * @param nId     the node id
+     * @param nLevel  the level
+     *
+     * @return the array holding the links, or {@code null} if the node does
+     *         not exist on the specified level
+     */
+    private int[] linksArray(int nId, int nLevel)
+        {
+        return nLevel == 0 ? m_anLinks0 : m_aanLinks[nId];
+        }
+
+    /**
+     * Return the offset of the link count of the specified node on the
+     * specified level within its {@link #linksArray links array}. The links
+     * follow the count.
+     *
+     * @param nId     the node id
+     * @param nLevel  the level
+     *
+     * @return the offset of the link count
+     */
+    private int linksOffset(int nId, int nLevel)
+        {
+        return nLevel == 0 ? nId * (f_nM0 + 1) : (nLevel - 1) * (f_nM + 1);
+        }
+
+    // ----- helpers --------------------------------------------------------
+
+    /**
+     * Return the lock guarding the links of the specified node.
+     *
+     * @param nId  the node id
+     *
+     * @return the lock guarding the links of the specified node
+     */
+    private Object stripe(int nId)
+        {
+        return f_aoStripes[nId & (STRIPES - 1)];
+        }
+
+    /**
+     * Return a random level for a new node.
+     *
+     * @return a random level
+     */
+    private int randomLevel()
+        {
+        double dRandom = 1.0 - f_random.nextDouble();
+        return Math.min((int) (-Math.log(dRandom) * f_dLevelMult), MAX_LEVEL);
+        }
+
+    /**
+     * Return the vector in the form it is stored in the graph.
+     *
+     * @param afVector  the vector
+     *
+     * @return the vector to store or search with
+     */
+    private float[] prepare(float[] afVector)
+        {
+        if (f_space == Space.COSINE)
+            {
+            float[] afNormalized = afVector.clone();
+            double  dMagnitude   = Math.sqrt(VectorKernels.dotProduct(afVector, afVector));
+            if (dMagnitude > 0)
+                {
+                for (int i = 0; i < afNormalized.length; i++)
+                    {
+                    afNormalized[i] = (float) (afNormalized[i] / dMagnitude);
+                    }
+                }
+            return afNormalized;
+            }
+        return afVector.clone();
+        }
+
+    /**
+     * Return the distance between two prepared vectors.
+     *
+     * @param af1  the first vector
+     * @param af2  the second vector
+     *
+     * @return the distance between the two vectors
+     */
+    private float distance(float[] af1, float[] af2)
+        {
+        return f_space == Space.L2
+               ? (float) VectorKernels.l2squared(af1, af2)
+               : (float) (1.0 - VectorKernels.dotProduct(af1, af2));
+        }
+
+    /**
+     * Obtain a {@link VisitedSet} from the pool.
+     *
+     * @return a {@link VisitedSet} that can hold all the nodes in the graph
+     */
+    private VisitedSet acquireVisited()
+        {
+        VisitedSet visited = f_poolVisited.poll();
+        int        cCapacity = m_aafVectors.length;
+        if (visited == null || visited.capacity() < cCapacity)
+            {
+            visited = new VisitedSet(cCapacity);
+            }
+        visited.reset();
+        return visited;
+        }
+
+    /**
+     * Return a {@link VisitedSet} to the pool.
+     *
+     * @param visited  the {@link VisitedSet} to return
+     */
+    private void releaseVisited(VisitedSet visited)
+        {
+        if (visited.capacity() >= m_aafVectors.length)
+            {
+            f_poolVisited.offer(visited);
+            }
+        }
+
+    // ----- inner enum: Space ----------------------------------------------
+
+    /**
+     * The distance spaces supported by the graph.
+     */
+    public enum Space
+        {
+        /**
+         * Squared Euclidean distance.
+         */
+        L2,
+
+        /**
+         * Inner product distance, {@code 1 - dot(a, b)}.
+         */
+        IP,
+
+        /**
+         * Cosine distance; vectors are normalized when they are added and
+         * searched for.
+         */
+        COSINE
+        }
+
+    // ----- inner class: NodeHeap ------------------------------------------
+
+    /**
+     * A binary heap of {@code (distance, id)} pairs stored in primitive arrays.
+     */
+    public static class NodeHeap
+        {
+        /**
+         * Create a {@link NodeHeap}.
+         *
+         * @param cInitial  the initial capacity
+         * @param fMax      {@code true} for a max-heap, {@code false} for a
+         *                  min-heap
+         */
+        public NodeHeap(int cInitial, boolean fMax)
+            {
+            m_afDist = new float[Math.max(cInitial, 4)];
+            m_anIds  = new int[m_afDist.length];
+            f_fMax   = fMax;
+            }
+
+        /**
+         * Return the number of elements in the heap.
+         *
+         * @return the number of elements in the heap
+         */
+        public int size()
+            {
+            return m_cSize;
+            }
+
+        /**
+         * Return the distance of the element at the top of the heap.
+         *
+         * @return the distance of the element at the top of the heap
+         */
+        public float peekDistance()
+            {
+            return m_afDist[0];
+            }
+
+        /**
+         * Return the id of the element at the top of the heap.
+         *
+         * @return the id of the element at the top of the heap
+         */
+        public int peek()
+            {
+            return m_anIds[0];
+            }
+
+        /**
+         * Add an element to the heap.
+         *
+         * @param fDist  the element distance
+         * @param nId    the element id
+         */
+        public void push(float fDist, int nId)
+            {
+            if (m_cSize == m_afDist.length)
+                {
+                m_afDist = Arrays.copyOf(m_afDist, m_cSize << 1);
+                m_anIds  = Arrays.copyOf(m_anIds, m_cSize << 1);
+                }
+
+            float[] afDist = m_afDist;
+            int[]   anIds  = m_anIds;
+            int     nPos   = m_cSize++;
+            while (nPos > 0)
+                {
+                int nParent = (nPos - 1) >>> 1;
+                if (!above(fDist, afDist[nParent]))
+                    {
+                    break;
+                    }
+                afDist[nPos] = afDist[nParent];
+                anIds[nPos]  = anIds[nParent];
+                nPos = nParent;
+                }
+            afDist[nPos] = fDist;
+            anIds[nPos]  = nId;
+            }
+
+        /**
+         * Remove the element at the top of the heap.
+         *
+         * @return the id of the removed element
+         */
+        public int pop()
+            {
+            float[] afDist = m_afDist;
+            int[]   anIds  = m_anIds;
+            int     nTop   = anIds[0];
+            int     cSize  = --m_cSize;
+            float   fLast  = afDist[cSize];
+            int     nLast  = anIds[cSize];
+            int     nPos   = 0;
+            int     nHalf  = cSize >>> 1;
+
+            while (nPos < nHalf)
+                {
+                int nChild = (nPos << 1) + 1;
+                int nRight = nChild + 1;
+                if (nRight < cSize && above(afDist[nRight], afDist[nChild]))
+                    {
+                    nChild = nRight;
+                    }
+                if (!above(afDist[nChild], fLast))
+                    {
+                    break;
+                    }
+                afDist[nPos] = afDist[nChild];
+                anIds[nPos]  = anIds[nChild];
+                nPos = nChild;
+                }
+            if (cSize > 0)
+                {
+                afDist[nPos] = fLast;
+                anIds[nPos]  = nLast;
+                }
+            return nTop;
+            }
+
+        /**
+         * Return {@code true} if an element with the first distance belongs
+         * above an element with the second distance.
+         *
+         * @param f1  the first distance
+         * @param f2  the second distance
+         *
+         * @return {@code true} if the first distance belongs above the second
+         */
+        private boolean above(float f1, float f2)
+            {
+            return f_fMax ? f1 > f2 : f1 < f2;
+            }
+
+        // ----- data members -----------------------------------------------
+
+        /**
+         * {@code true} for a max-heap.
+         */
+        private final boolean f_fMax;
+
+        /**
+         * The element distances.
+         */
+        private float[] m_afDist;
+
+        /**
+         * The element ids.
+         */
+        private int[] m_anIds;
+
+        /**
+         * The number of elements in the heap.
+         */
+        private int m_cSize;
+        }
+
+    // ----- inner class: VisitedSet ----------------------------------------
+
+    /**
+     * A reusable set of visited node ids, which is cleared in constant time
+     * by incrementing a generation marker.
+     */
+    private static class VisitedSet
+        {
+        /**
+         * Create a {@link VisitedSet}.
+         *
+         * @param cCapacity  the maximum node id plus one
+         */
+        VisitedSet(int cCapacity)
+            {
+            f_anMarks = new int[cCapacity];
+            }
+
+        /**
+         * Return the capacity of this set.
+         *
+         * @return the capacity of this set
+         */
+        int capacity()
+            {
+            return f_anMarks.length;
+            }
+
+        /**
+         * Clear the set.
+         */
+        void reset()
+            {
+            if (++m_nGeneration == Integer.MAX_VALUE)
+                {
+                Arrays.fill(f_anMarks, 0);
+                m_nGeneration = 1;
+                }
+            }
+
+        /**
+         * Add the specified id to the set.
+         *
+         * @param nId  the id to add
+         *
+         * @return {@code true} if the id was not already in the set
+         */
+        boolean add(int nId)
+            {
+            if (f_anMarks[nId] == m_nGeneration)
+                {
+                return false;
+                }
+            f_anMarks[nId] = m_nGeneration;
+            return true;
+            }
+
+        /**
+         * The generation marker of each id.
+         */
+        private final int[] f_anMarks;
+
+        /**
+         * The current generation.
+         */
+        private int m_nGeneration;
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The number of striped locks guarding the node links.
+     */
+    private static final int STRIPES = 512;
+
+    /**
+     * The maximum level of a node.
+     */
+    private static final int MAX_LEVEL = 16;
+
+    /**
+     * The approximate size of an object reference.
+     */
+    private static final int REF_SIZE = 4;
+
+    /**
+     * The approximate size of an array header.
+     */
+    private static final int ARRAY_OVERHEAD = 16;
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The number of dimensions in each vector.
+     */
+    private final int f_nDimension;
+
+    /**
+     * The distance space.
+     */
+    private final Space f_space;
+
+    /**
+     * The maximum number of links per node on the upper levels.
+     */
+    private final int f_nM;
+
+    /**
+     * The maximum number of links per node on level 0.
+     */
+    private final int f_nM0;
+
+    /**
+     * The size of the dynamic candidate list used when adding nodes.
+     */
+    private final int f_nEfConstruction;
+
+    /**
+     * The level generation factor.
+     */
+    private final double f_dLevelMult;
+
+    /**
+     * The random level generator.
+     */
+    private final Random f_random;
+
+    /**
+     * The seed of the random level generator.
+     */
+    private final long f_nRandomSeed;
+
+    /**
+     * The lock that allows concurrent additions and searches, but excludes
+     * them while the graph grows or is compacted.
+     */
+    private final ReadWriteLock f_lock = new ReentrantReadWriteLock();
+
+    /**
+     * The lock guarding changes of the entry point.
+     */
+    private final Object f_lockEntry = new Object();
+
+    /**
+     * The striped locks guarding the node links.
+     */
+    private final Object[] f_aoStripes = new Object[STRIPES];
+        {
+        for (int i = 0; i < STRIPES; i++)
+            {
+            f_aoStripes[i] = new Object();
+            }
+        }
+
+    /**
+     * The pool of reusable {@link VisitedSet}s.
+     */
+    private final ConcurrentLinkedQueue<VisitedSet> f_poolVisited = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The number of allocated nodes.
+     */
+    private final AtomicInteger f_cNodes = new AtomicInteger();
+
+    /**
+     * The number of deleted nodes.
+     */
+    private final AtomicInteger f_cDeleted = new AtomicInteger();
+
+    /**
+     * The node vectors.
+     */
+    private float[][] m_aafVectors;
+
+    /**
+     * The node labels.
+     */
+    private Object[] m_aoLabels;
+
+    /**
+     * The top level of each node.
+     */
+    private byte[] m_abLevel;
+
+    /**
+     * The deletion flag of each node.
+     */
+    private byte[] m_abDeleted;
+
+    /**
+     * The level-0 links; {@code M0 + 1} slots per node, the first holding the
+     * link count.
+     */
+    private int[] m_anLinks0;
+
+    /**
+     * The upper level links of each node; {@code M + 1} slots per level, the
+     * first holding the link count, or {@code null} for level-0 only nodes.
+     */
+    private int[][] m_aanLinks;
+
+    /**
+     * The entry point of the graph.
+     */
+    private volatile int m_nEntry = -1;
+
+    /**
+     * The top level of the graph.
+     */
+    private volatile int m_nMaxLevel = -1;
+    }
@@ -0,0 +1,417 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.coherence.ai.internal;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static com.tangosol.net.cache.SimpleMemoryCalculator.calculateShallowSize;
+
+/**
+ * A {@link Quantizer} that splits each vector into a number of sub-vectors,
+ * and encodes each sub-vector as the index of the closest of up to 256
+ * centroids, so that each sub-vector is encoded into a single byte.
+ * <p>
+ * The centroids of each subspace are trained using k-means clustering on a
+ * sample of the vectors. The distance to an encoded vector is computed
+ * asymmetrically: the distances between the sub-vectors of the query and
+ * all the centroids are computed once per query, after which the distance
+ * to each encoded vector is the sum of one table lookup per subspace.
+ *
+ * @since 25.09
+ */
+public class ProductQuantizer
+        extends Quantizer
+    {
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Create a {@link ProductQuantizer}.
+     *
+     * @param space         the distance space
+     * @param nDimension    the number of dimensions in each vector
+     * @param cSubspaces    the number of subspaces
+     * @param cCentroids    the number of centroids in each subspace
+     * @param afCentroids   the centroids of all subspaces; the centroids of
+     *                      each subspace are stored contiguously, starting
+     *                      at {@code cCentroids} times the offset of the
+     *                      first dimension of the subspace
+     */
+    protected ProductQuantizer(HnswGraph.Space space, int nDimension, int cSubspaces, int cCentroids, float[] afCentroids)
+        {
+        super(nDimension, space);
+
+        f_cSubspaces  = cSubspaces;
+        f_cCentroids  = cCentroids;
+        f_afCentroids = afCentroids;
+        f_anOffset    = offsets(nDimension, cSubspaces);
+        }
+
+    // ----- factory methods ------------------------------------------------
+
+    /**
+     * Train a {@link ProductQuantizer} on the specified sample of vectors.
+     *
+     * @param space        the distance space
+     * @param nDimension   the number of dimensions in each vector
+     * @param cSubspaces   the number of subspaces, which must not exceed the
+     *                     number of dimensions
+     * @param afSample     the sample vectors, stored contiguously
+     * @param cSample      the number of sample vectors, which must be positive
+     * @param cIterations  the number of k-means iterations
+     * @param lSeed        the random seed
+     *
+     * @return the trained quantizer
+     */
+    public static ProductQuantizer train(HnswGraph.Space space, int nDimension, int cSubspaces,
+            float[] afSample, int cSample, int cIterations, long lSeed)
+        {
+        if (cSubspaces <= 0 || cSubspaces > nDimension)
+            {
+            throw new IllegalArgumentException("The number of subspaces must be between 1 and "
+                                               + nDimension + ": " + cSubspaces);
+            }
+
+        int     cCentroids  = Math.min(MAX_CENTROIDS, cSample);
+        int[]   anOffset    = offsets(nDimension, cSubspaces);
+        float[] afCentroids = new float[cCentroids * nDimension];
+        Random  random      = new Random(lSeed);
+        int[]   anAssigned  = new int[cSample];
+
+        for (int j = 0; j < cSubspaces; j++)
+            {
+            int cSub = anOffset[j + 1] - anOffset[j];
+            kmeans(afSample, cSample, nDimension, anOffset[j], cSub,
+                   afCentroids, cCentroids * anOffset[j], cCentroids, cIterations, random, anAssigned);
+            }
+
+        return new ProductQuantizer(space, nDimension, cSubspaces, cCentroids, afCentroids);
+        }
+
+    /**
+     * Read a {@link ProductQuantizer} written by {@link #write(DataOutput)}.
+     *
+     * @param in  the input to read from
+     *
+     * @return the quantizer
+     *
+     * @throws IOException if an error occurs
+     */
+    public static ProductQuantizer read(DataInput in)
+            throws IOException
+        {
+        HnswGraph.Space space       = HnswGraph.Space.values()[in.readByte()];
+        int             nDimension  = in.readInt();
+        int             cSubspaces  = in.readInt();
+        int             cCentroids  = in.readInt();
+        float[]         afCentroids = new float[cCentroids * nDimension];
+
+        for (int i = 0; i < afCentroids.length; i++)
+            {
+            afCentroids[i] = in.readFloat();
+            }
+
+        return new ProductQuantizer(space, nDimension, cSubspaces, cCentroids, afCentroids);
+        }
+
+    // ----- accessors ------------------------------------------------------
+
+    /**
+     * Return the number of subspaces.
+     *
+     * @return the number of subspaces
+     */
+    public int getSubspaces()
+        {
+        return f_cSubspaces;
+        }
+
+    /**
+     * Return the number of centroids in each subspace.
+     *
+     * @return the number of centroids in each subspace
+     */
+    public int getCentroids()
+        {
+        return f_cCentroids;
+        }
+
+    // ----- Quantizer methods ----------------------------------------------
+
+    @Override
+    public int getCodeSize()
+        {
+        return f_cSubspaces;
+        }
+
+    @Override
+    public void encode(float[] afVector, byte[] abCodes, int nOffset)
+        {
+        int[]   anOffset    = f_anOffset;
+        int     cCentroids  = f_cCentroids;
+        float[] afCentroids = f_afCentroids;
+
+        for (int j = 0, cSubspaces = f_cSubspaces; j < cSubspaces; j++)
+            {
+            int nDim = anOffset[j];
+            int cSub = anOffset[j + 1] - nDim;
+
+            abCodes[nOffset + j] = (byte) nearest(afVector, nDim, afCentroids, cCentroids * nDim, cCentroids, cSub);
+            }
+        }
+
+    @Override
+    public Scorer scorer(float[] afQuery)
+        {
+        int     cSubspaces  = f_cSubspaces;
+        int     cCentroids  = f_cCentroids;
+        int[]   anOffset    = f_anOffset;
+        float[] afCentroids = f_afCentroids;
+        boolean fL2         = f_space == HnswGraph.Space.L2;
+
+        // the distance table holds the partial distance between each query
+        // sub-vector and each centroid of the corresponding subspace; for the
+        // inner product, the partial distances are the negated partial dot
+        // products, so that the sum of the partial distances plus one is
+        // equal to 1 - q . c
+        float[] afTable = new float[cSubspaces * cCentroids];
+        for (int j = 0; j < cSubspaces; j++)
+            {
+            int nDim = anOffset[j];
+            int cSub = anOffset[j + 1] - nDim;
+            for (int c = 0, nCentroid = cCentroids * nDim; c < cCentroids; c++, nCentroid += cSub)
+                {
+                afTable[j * cCentroids + c] = fL2
+                        ? distance(HnswGraph.Space.L2, afQuery, nDim, afCentroids, nCentroid, cSub)
+                        : distance(HnswGraph.Space.IP, afQuery, nDim, afCentroids, nCentroid, cSub) - 1f;
+                }
+            }
+
+        float fBase = fL2 ? 0f : 1f;
+        return (abCodes, nOffset) ->
+            {
+            // independent accumulators avoid stalling on each addition
+            float fSum0  = fBase, fSum1 = 0f, fSum2 = 0f, fSum3 = 0f;
+            int   j      = 0;
+            int   nTable = 0;
+            for (int cBlock = cSubspaces & ~3; j < cBlock; j += 4, nTable += 4 * cCentroids)
+                {
+                fSum0 += afTable[nTable                  + (abCodes[nOffset + j]     & 0xFF)];
+                fSum1 += afTable[nTable + cCentroids     + (abCodes[nOffset + j + 1] & 0xFF)];
+                fSum2 += afTable[nTable + 2 * cCentroids + (abCodes[nOffset + j + 2] & 0xFF)];
+                fSum3 += afTable[nTable + 3 * cCentroids + (abCodes[nOffset + j + 3] & 0xFF)];
+                }
+            for (; j < cSubspaces; j++, nTable += cCentroids)
+                {
+                fSum0 += afTable[nTable + (abCodes[nOffset + j] & 0xFF)];
+                }
+            return (fSum0 + fSum1) + (fSum2 + fSum3);
+            };
+        }
+
+    @Override
+    public long getUnits()
+        {
+        return calculateShallowSize(ProductQuantizer.class)
+               + (long) f_afCentroids.length * Float.BYTES
+               + (long) f_anOffset.length * Integer.BYTES;
+        }
+
+    @Override
+    public void write(DataOutput out)
+            throws IOException
+        {
+        out.writeByte(f_space.ordinal());
+        out.writeInt(f_nDimension);
+        out.writeInt(f_cSubspaces);
+        out.writeInt(f_cCentroids);
+        for (float f : f_afCentroids)
+            {
+            out.writeFloat(f);
+            }
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+     * Return the offsets of the first dimension of each subspace, followed by
+     * the number of dimensions. If the dimensions cannot be split evenly, the
+     * last subspaces have one more dimension than the first ones.
+     *
+     * @param nDimension  the number of dimensions
+     * @param cSubspaces  the number of subspaces
+     *
+     * @return the offsets of the subspaces
+     */
+    private static int[] offsets(int nDimension, int cSubspaces)
+        {
+        int[] anOffset = new int[cSubspaces + 1];
+        for (int j = 0; j <= cSubspaces; j++)
+            {
+            anOffset[j] = (int) ((long) j * nDimension / cSubspaces);
+            }
+        return anOffset;
+        }
+
+    /**
+     * Return the index of the centroid closest to the specified sub-vector.
+     *
+     * @param afVector     the array containing the sub-vector
+     * @param nOffset      the offset of the sub-vector
+     * @param afCentroids  the array containing the centroids
+     * @param nCentroids   the offset of the first centroid
+     * @param cCentroids   the number of centroids
+     * @param cSub         the number of dimensions in the sub-vector
+     *
+     * @return the index of the closest centroid
+     */
+    private static int nearest(float[] afVector, int nOffset, float[] afCentroids, int nCentroids, int cCentroids, int cSub)
+        {
+        int   nBest = 0;
+        float fBest = Float.MAX_VALUE;
+        for (int c = 0, nCentroid = nCentroids; c < cCentroids; c++, nCentroid += cSub)
+            {
+            float fDist = distance(HnswGraph.Space.L2, afVector, nOffset, afCentroids, nCentroid, cSub);
+            if (fDist < fBest)
+                {
+                fBest = fDist;
+                nBest = c;
+                }
+            }
+        return nBest;
+        }
+
+    /**
+     * Cluster the sub-vectors of the sample within a single subspace.
+     *
+     * @param afSample     the sample vectors, stored contiguously
+     * @param cSample      the number of sample vectors
+     * @param nDimension   the number of dimensions in each vector
+     * @param nDim         the offset of the first dimension of the subspace
+     * @param cSub         the number of dimensions in the subspace
+     * @param afCentroids  the array to write the centroids to
+     * @param nCentroids   the offset of the first centroid of the subspace
+     * @param cCentroids   the number of centroids
+     * @param cIterations  the number of iterations
+     * @param random       the random number generator
+     * @param anAssigned   a scratch array for the cluster of each sample
+     */
+    private static void kmeans(float[] afSample, int cSample, int nDimension, int nDim, int cSub,
+            float[] afCentroids, int nCentroids, int cCentroids, int cIterations, Random random, int[] anAssigned)
+        {
+        // initialize the centroids with distinct samples
+        int[] anSample = new int[cSample];
+        for (int i = 0; i < cSample; i++)
+            {
+            anSample[i] = i;
+            }
+        for (int c = 0; c < cCentroids; c++)
+            {
+            int i = c + random.nextInt(cSample - c);
+            int n = anSample[i];
+
+            anSample[i] = anSample[c];
+            anSample[c] = n;
+            System.arraycopy(afSample, n * nDimension + nDim, afCentroids, nCentroids + c * cSub, cSub);
+            }
+
+        if (cCentroids == cSample)
+            {
+            // each sample is its own centroid
+            return;
+            }
+
+        float[] afSum  = new float[cCentroids * cSub];
+        int[]   anSize = new int[cCentroids];
+
+        for (int nIter = 0; nIter < cIterations; nIter++)
+            {
+            // assign each sample to the closest centroid
+            boolean fChanged = false;
+            for (int n = 0; n < cSample; n++)
+                {
+                int c = nearest(afSample, n * nDimension + nDim, afCentroids, nCentroids, cCentroids, cSub);
+                fChanged     |= nIter == 0 || anAssigned[n] != c;
+                anAssigned[n] = c;
+                }
+
+            if (!fChanged)
+                {
+                break;
+                }
+
+            // move each centroid to the mean of its samples
+            Arrays.fill(afSum, 0f);
+            Arrays.fill(anSize, 0);
+            for (int n = 0; n < cSample; n++)
+                {
+                int c       = anAssigned[n];
+                int nSample = n * nDimension + nDim;
+                for (int i = 0, nSum = c * cSub; i < cSub; i++)
+                    {
+                    afSum[nSum + i] += afSample[nSample + i];
+                    }
+                anSize[c]++;
+                }
+
+            for (int c = 0; c < cCentroids; c++)
+                {
+                int nCentroid = nCentroids + c * cSub;
+                if (anSize[c] == 0)
+                    {
+                    // re-seed an empty cluster with a random sample
+                    System.arraycopy(afSample, random.nextInt(cSample) * nDimension + nDim,
+                                     afCentroids, nCentroid, cSub);
+                    }
+                else
+                    {
+                    float fScale = 1f / anSize[c];
+                    for (int i = 0, nSum = c * cSub; i < cSub; i++)
+                        {
+                        afCentroids[nCentroid + i] = afSum[nSum + i] * fScale;
+                        }
+                    }
+                }
+            }
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The maximum number of centroids in each subspace, which allows each
+     * sub-vector to be encoded into a single byte.
+     */
+    public static final int MAX_CENTROIDS = 256;
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The number of subspaces.
+     */
+    private final int f_cSubspaces;
+
+    /**
+     * The number of centroids in each subspace.
+     */
+    private final int f_cCentroids;
+
+    /**
+     * The centroids of all subspaces.
+     */
+    private final float[] f_afCentroids;
+
+    /**
+     * The offset of the first dimension of each subspace, followed by the
+     * number of dimensions.
+     */
+    private final int[] f_anOffset;
+    }
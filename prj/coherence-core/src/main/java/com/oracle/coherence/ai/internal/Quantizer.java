@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.coherence.ai.internal;
+
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * A trained encoding of {@code float} vectors into compact {@code byte}
+ * codes, which supports computing approximate distances between a query
+ * vector and encoded vectors without decoding them.
+ * <p>
+ * All vectors passed to a quantizer must have the same number of dimensions,
+ * and must already be normalized when the {@link HnswGraph.Space#COSINE
+ * cosine} space is used, in which case the distances are computed as for the
+ * {@link HnswGraph.Space#IP inner product} space.
+ *
+ * @since 25.09
+ */
+public abstract class Quantizer
+    {
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Create a {@link Quantizer}.
+     *
+     * @param nDimension  the number of dimensions in each vector
+     * @param space       the distance space
+     */
+    protected Quantizer(int nDimension, HnswGraph.Space space)
+        {
+        f_nDimension = nDimension;
+        f_space      = space;
+        }
+
+    // ----- accessors ------------------------------------------------------
+
+    /**
+     * Return the number of dimensions in each vector.
+     *
+     * @return the number of dimensions in each vector
+     */
+    public int getDimension()
+        {
+        return f_nDimension;
+        }
+
+    /**
+     * Return the distance space.
+     *
+     * @return the distance space
+     */
+    public HnswGraph.Space getSpace()
+        {
+        return f_space;
+        }
+
+    // ----- Quantizer methods ----------------------------------------------
+
+    /**
+     * Return the number of bytes in the code of each vector.
+     *
+     * @return the number of bytes in the code of each vector
+     */
+    public abstract int getCodeSize();
+
+    /**
+     * Encode the specified vector.
+     *
+     * @param afVector  the vector to encode
+     * @param abCodes   the array to write the code to
+     * @param nOffset   the offset of the code within the array
+     */
+    public abstract void encode(float[] afVector, byte[] abCodes, int nOffset);
+
+    /**
+     * Return a {@link Scorer} that computes the approximate distances between
+     * the specified query vector and encoded vectors.
+     *
+     * @param afQuery  the query vector
+     *
+     * @return a {@link Scorer} for the query vector
+     */
+    public abstract Scorer scorer(float[] afQuery);
+
+    /**
+     * Return the number of units (bytes) used by this quantizer.
+     *
+     * @return the number of units (bytes) used by this quantizer
+     */
+    public abstract long getUnits();
+
+    /**
+     * Write this quantizer to the specified output.
+     *
+     * @param out  the output to write to
+     *
+     * @throws IOException if an error occurs
+     */
+    public abstract void write(DataOutput out)
+            throws IOException;
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+     * Return the exact distance between two vectors in the specified space.
+     *
+     * @param space  the distance space
+     * @param af1    the first vector
+     * @param nOff1  the offset of the first vector within its array
+     * @param af2    the second vector
+     * @param nOff2  the offset of the second vector within its array
+     * @param cDim   the number of dimensions
+     *
+     * @return the distance between the vectors
+     */
+    public static float distance(HnswGraph.Space space, float[] af1, int nOff1, float[] af2, int nOff2, int cDim)
+        {
+        float fSum = 0f;
+        if (space == HnswGraph.Space.L2)
+            {
+            for (int i = 0; i < cDim; i++)
+                {
+                float fDiff = af1[nOff1 + i] - af2[nOff2 + i];
+                fSum += fDiff * fDiff;
+                }
+            return fSum;
+            }
+
+        for (int i = 0; i < cDim; i++)
+            {
+            fSum += af1[nOff1 + i] * af2[nOff2 + i];
+            }
+        return 1f - fSum;
+        }
+
+    // ----- inner interface: Scorer ----------------------------------------
+
+    /**
+     * Computes the approximate distances between a query vector and encoded
+     * vectors.
+     */
+    @FunctionalInterface
+    public interface Scorer
+        {
+        /**
+         * Return the approximate distance between the query vector and the
+         * encoded vector.
+         *
+         * @param abCodes  the array containing the code
+         * @param nOffset  the offset of the code within the array
+         *
+         * @return the approximate distance
+         */
+        float distance(byte[] abCodes, int nOffset);
+        }
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The number of dimensions in each vector.
+     */
+    protected final int f_nDimension;
+
+    /**
+     * The distance space.
+     */
+    protected final HnswGraph.Space f_space;
+    }
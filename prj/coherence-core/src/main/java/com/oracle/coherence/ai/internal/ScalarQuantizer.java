@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.coherence.ai.internal;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import static com.tangosol.net.cache.SimpleMemoryCalculator.calculateShallowSize;
+
+/**
+ * A {@link Quantizer} that encodes each dimension of a vector into a single
+ * unsigned byte.
+ * <p>
+ * The range of each dimension is learned from a sample of the vectors, and
+ * split into 256 equal steps. Values outside the learned range are clamped
+ * to it.
+ *
+ * @since 25.09
+ */
+public class ScalarQuantizer
+        extends Quantizer
+    {
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Create a {@link ScalarQuantizer}.
+     *
+     * @param space   the distance space
+     * @param afMin   the minimum value of each dimension
+     * @param afStep  the size of the quantization step of each dimension
+     */
+    protected ScalarQuantizer(HnswGraph.Space space, float[] afMin, float[] afStep)
+        {
+        super(afMin.length, space);
+
+        f_afMin  = afMin;
+        f_afStep = afStep;
+        }
+
+    // ----- factory methods ------------------------------------------------
+
+    /**
+     * Train a {@link ScalarQuantizer} on the specified sample of vectors.
+     *
+     * @param space       the distance space
+     * @param nDimension  the number of dimensions in each vector
+     * @param afSample    the sample vectors, stored contiguously
+     * @param cSample     the number of sample vectors
+     *
+     * @return the trained quantizer
+     */
+    public static ScalarQuantizer train(HnswGraph.Space space, int nDimension, float[] afSample, int cSample)
+        {
+        float[] afMin  = new float[nDimension];
+        float[] afStep = new float[nDimension];
+
+        for (int i = 0; i < nDimension; i++)
+            {
+            float fMin = Float.MAX_VALUE;
+            float fMax = -Float.MAX_VALUE;
+            for (int n = 0, nOffset = i; n < cSample; n++, nOffset += nDimension)
+                {
+                float f = afSample[nOffset];
+                fMin = Math.min(fMin, f);
+                fMax = Math.max(fMax, f);
+                }
+
+            afMin[i]  = cSample == 0 ? 0f : fMin;
+            afStep[i] = cSample == 0 ? 0f : (fMax - fMin) / LEVELS;
+            }
+
+        return new ScalarQuantizer(space, afMin, afStep);
+        }
+
+    /**
+     * Read a {@link ScalarQuantizer} written by {@link #write(DataOutput)}.
+     *
+     * @param in  the input to read from
+     *
+     * @return the quantizer
+     *
+     * @throws IOException if an error occurs
+     */
+    public static ScalarQuantizer read(DataInput in)
+            throws IOException
+        {
+        HnswGraph.Space space      = HnswGraph.Space.values()[in.readByte()];
+        int             nDimension = in.readInt();
+        float[]         afMin      = new float[nDimension];
+        float[]         afStep     = new float[nDimension];
+
+        for (int i = 0; i < nDimension; i++)
+            {
+            afMin[i]  = in.readFloat();
+            afStep[i] = in.readFloat();
+            }
+
+        return new ScalarQuantizer(space, afMin, afStep);
+        }
+
+    // ----- Quantizer methods ----------------------------------------------
+
+    @Override
+    public int getCodeSize()
+        {
+        return f_nDimension;
+        }
+
+    @Override
+    public void encode(float[] afVector, byte[] abCodes, int nOffset)
+        {
+        float[] afMin  = f_afMin;
+        float[] afStep = f_afStep;
+
+        for (int i = 0, c = f_nDimension; i < c; i++)
+            {
+            float fStep = afStep[i];
+            int   nCode = fStep == 0f ? 0 : Math.round((afVector[i] - afMin[i]) / fStep);
+
+            abCodes[nOffset + i] = (byte) Math.max(0, Math.min(LEVELS, nCode));
+            }
+        }
+
+    @Override
+    public Scorer scorer(float[] afQuery)
+        {
+        int     cDim   = f_nDimension;
+        float[] afMin  = f_afMin;
+        float[] afStep = f_afStep;
+
+        if (f_space == HnswGraph.Space.L2)
+            {
+            // |q - (min + c * step)|^2 = |(q - min) - c * step|^2
+            float[] afShifted = new float[cDim];
+            for (int i = 0; i < cDim; i++)
+                {
+                afShifted[i] = afQuery[i] - afMin[i];
+                }
+
+            return (abCodes, nOffset) ->
+                {
+                // independent accumulators avoid stalling on each addition
+                float fSum0 = 0f, fSum1 = 0f, fSum2 = 0f, fSum3 = 0f;
+                int   i     = 0;
+                for (int cBlock = cDim & ~3; i < cBlock; i += 4)
+                    {
+                    float fDiff0 = afShifted[i]     - (abCodes[nOffset + i]     & 0xFF) * afStep[i];
+                    float fDiff1 = afShifted[i + 1] - (abCodes[nOffset + i + 1] & 0xFF) * afStep[i + 1];
+                    float fDiff2 = afShifted[i + 2] - (abCodes[nOffset + i + 2] & 0xFF) * afStep[i + 2];
+                    float fDiff3 = afShifted[i + 3] - (abCodes[nOffset + i + 3] & 0xFF) * afStep[i + 3];
+                    fSum0 += fDiff0 * fDiff0;
+                    fSum1 += fDiff1 * fDiff1;
+                    fSum2 += fDiff2 * fDiff2;
+                    fSum3 += fDiff3 * fDiff3;
+                    }
+                for (; i < cDim; i++)
+                    {
+                    float fDiff = afShifted[i] - (abCodes[nOffset + i] & 0xFF) * afStep[i];
+                    fSum0 += fDiff * fDiff;
+                    }
+                return (fSum0 + fSum1) + (fSum2 + fSum3);
+                };
+            }
+
+        // q . (min + c * step) = q . min + (q * step) . c
+        float[] afWeight = new float[cDim];
+        float   fBias    = 0f;
+        for (int i = 0; i < cDim; i++)
+            {
+            afWeight[i] = afQuery[i] * afStep[i];
+            fBias      += afQuery[i] * afMin[i];
+            }
+
+        float fOne = 1f - fBias;
+        return (abCodes, nOffset) ->
+            {
+            float fDot0 = 0f, fDot1 = 0f, fDot2 = 0f, fDot3 = 0f;
+            int   i     = 0;
+            for (int cBlock = cDim & ~3; i < cBlock; i += 4)
+                {
+                fDot0 += afWeight[i]     * (abCodes[nOffset + i]     & 0xFF);
+                fDot1 += afWeight[i + 1] * (abCodes[nOffset + i + 1] & 0xFF);
+                fDot2 += afWeight[i + 2] * (abCodes[nOffset + i + 2] & 0xFF);
+                fDot3 += afWeight[i + 3] * (abCodes[nOffset + i + 3] & 0xFF);
+                }
+            for (; i < cDim; i++)
+                {
+                fDot0 += afWeight[i] * (abCodes[nOffset + i] & 0xFF);
+                }
+            return fOne - ((fDot0 + fDot1) + (fDot2 + fDot3));
+            };
+        }
+
+    @Override
+    public long getUnits()
+        {
+        return calculateShallowSize(ScalarQuantizer.class) + 2L * f_nDimension * Float.BYTES;
+        }
+
+    @Override
+    public void write(DataOutput out)
+            throws IOException
+        {
+        out.writeByte(f_space.ordinal());
+        out.writeInt(f_nDimension);
+        for (int i = 0; i < f_nDimension; i++)
+            {
+            out.writeFloat(f_afMin[i]);
+            out.writeFloat(f_afStep[i]);
+            }
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The highest code of a dimension.
+     */
+    private static final int LEVELS = 255;
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The minimum value of each dimension.
+     */
+    private final float[] f_afMin;
+
+    /**
+     * The size of the quantization step of each dimension.
+     */
+    private final float[] f_afStep;
+    }
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.coherence.ai.internal;
+
+/**
+ * Scalar implementations of the vector distance kernels.
+ * <p>
+ * These are used on runtimes where the Vector API is not available, and as
+ * the baseline the vectorized kernels are compared against.
+ *
+ * @since 25.09
+ */
+public final class ScalarVectorKernels
+    {
+    /**
+     * Calculate the dot product of two float vectors.
+     *
+     * @param v1  the first float vector
+     * @param v2  the second float vector
+     *
+     * @return the dot product of the float vectors
+     */
+    public static double dotProduct(float[] v1, float[] v2)
+        {
+        double dotProduct = 0.0;
+
+        for (int i = 0; i < v1.length; i++)
+            {
+            dotProduct += v1[i] * v2[i];
+            }
+        return dotProduct;
+        }
+
+    /**
+     * Calculate the L2 Squared value for two float vectors.
+     *
+     * @param v1  the first float vector
+     * @param v2  the second float vector
+     *
+     * @return the L2 Squared value for the two float vectors
+     */
+    public static double l2squared(float[] v1, float[] v2)
+        {
+        double l2squared = 0.0;
+
+        for (int i = 0; i < v1.length; i++)
+            {
+            float f = v1[i] - v2[i];
+            l2squared += f * f;
+            }
+        return l2squared;
+        }
+
+    /**
+     * Calculate the dot product of two Int8 vectors.
+     *
+     * @param v1  the first Int8 vector
+     * @param v2  the second Int8 vector
+     *
+     * @return the dot product of the Int8 vectors
+     */
+    public static int dotProduct(byte[] v1, byte[] v2)
+        {
+        int dotProduct = 0;
+
+        for (int i = 0; i < v1.length; i++)
+            {
+            dotProduct += v1[i] * v2[i];
+            }
+        return dotProduct;
+        }
+
+    /**
+     * Calculate the L2 Squared value for two Int8 vectors.
+     *
+     * @param v1  the first Int8 vector
+     * @param v2  the second Int8 vector
+     *
+     * @return the L2 Squared value for the two Int8 vectors
+     */
+    public static int l2squared(byte[] v1, byte[] v2)
+        {
+        int l2squared = 0;
+
+        for (int i = 0; i < v1.length; i++)
+            {
+            int n = v1[i] - v2[i];
+            l2squared += n * n;
+            }
+        return l2squared;
+        }
+
+    /**
+     * Calculate the cosine similarity of two Int8 vectors.
+     *
+     * @param v1  the first Int8 vector
+     * @param v2  the second Int8 vector
+     *
+     * @return the cosine similarity of the Int8 vectors
+     */
+    public static double cosine(byte[] v1, byte[] v2)
+        {
+        int dotProduct = 0;
+        int normA      = 0;
+        int normB      = 0;
+
+        for (int i = 0; i < v1.length; i++)
+            {
+            int a = v1[i];
+            int b = v2[i];
+            normA      += a * a;
+            normB      += b * b;
+            dotProduct += a * b;
+            }
+
+        return cosine(dotProduct, normA, normB);
+        }
+
+    /**
+     * Calculate the cosine similarity from a dot product and the squared norms
+     * of two vectors.
+     *
+     * @param dotProduct  the dot product of the vectors
+     * @param normA       the squared norm of the first vector
+     * @param normB       the squared norm of the second vector
+     *
+     * @return the cosine similarity
+     */
+    public static double cosine(double dotProduct, double normA, double normB)
+        {
+        // Avoid division by zero.
+        return dotProduct / Math.max(Math.sqrt(normA) * Math.sqrt(normB), EPSILON);
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * A very small value to use to avoid divide by zero errors.
+     */
+    private static final float EPSILON = 1e-30f;
+    }
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.coherence.ai.internal;
+
+/**
+ * Helper class for the vector distance kernels.
+ * <p>
+ * The main purpose of this class is to isolate the code that uses the
+ * incubating Vector API, in order to simplify multi-release JAR creation.
+ * This version is used on Java 17 and always delegates to the
+ * {@link ScalarVectorKernels scalar kernels}.
+ *
+ * @since 25.09
+ */
+public final class VectorKernels
+    {
+    /**
+     * Return {@code true} if the kernels use the Vector API.
+     *
+     * @return {@code true} if the kernels use the Vector API
+     */
+    public static boolean isVectorized()
+        {
+        return false;
+        }
+
+    /**
+     * Calculate the dot product of two float vectors.
+     *
+     * @param v1  the first float vector
+     * @param v2  the second float vector
+     *
+     * @return the dot product of the float vectors
+     */
+    public static double dotProduct(float[] v1, float[] v2)
+        {
+        return ScalarVectorKernels.dotProduct(v1, v2);
+        }
+
+    /**
+     * Calculate the L2 Squared value for two float vectors.
+     *
+     * @param v1  the first float vector
+     * @param v2  the second float vector
+     *
+     * @return the L2 Squared value for the two float vectors
+     */
+    public static double l2squared(float[] v1, float[] v2)
+        {
+        return ScalarVectorKernels.l2squared(v1, v2);
+        }
+
+    /**
+     * Calculate the dot product of two Int8 vectors.
+     *
+     * @param v1  the first Int8 vector
+     * @param v2  the second Int8 vector
+     *
+     * @return the dot product of the Int8 vectors
+     */
+    public static int dotProduct(byte[] v1, byte[] v2)
+        {
+        return ScalarVectorKernels.dotProduct(v1, v2);
+        }
+
+    /**
+     * Calculate the L2 Squared value for two Int8 vectors.
+     *
+     * @param v1  the first Int8 vector
+     * @param v2  the second Int8 vector
+     *
+     * @return the L2 Squared value for the two Int8 vectors
+     */
+    public static int l2squared(byte[] v1, byte[] v2)
+        {
+        return ScalarVectorKernels.l2squared(v1, v2);
+        }
+
+    /**
+     * Calculate the cosine similarity of two Int8 vectors.
+     *
+     * @param v1  the first Int8 vector
+     * @param v2  the second Int8 vector
+     *
+     * @return the cosine similarity of the Int8 vectors
+     */
+    public static double cosine(byte[] v1, byte[] v2)
+        {
+        return ScalarVectorKernels.cosine(v1, v2);
+        }
+    }
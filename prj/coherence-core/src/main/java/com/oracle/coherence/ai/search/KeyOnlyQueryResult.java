@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.coherence.ai.search;
+
+import com.tangosol.io.pof.PofReader;
+import com.tangosol.io.pof.PofWriter;
+
+import com.tangosol.util.Binary;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * A {@link BinaryQueryResult} that carries only the key and the distance of
+ * a result, and the size of the value that was left out.
+ * <p/>
+ * Key only results are returned by the first phase of a
+ * {@link SimilaritySearch#twoPhase(com.tangosol.net.NamedMap) two-phase}
+ * search, so that only the values of the final results have to be sent to
+ * the caller.
+ *
+ * @since 25.09
+ */
+public class KeyOnlyQueryResult
+        extends BinaryQueryResult
+    {
+    /**
+     * Default constructor for serialization.
+     */
+    public KeyOnlyQueryResult()
+        {
+        }
+
+    /**
+     * Create a {@link KeyOnlyQueryResult}.
+     *
+     * @param distance  the calculated vector distance
+     * @param key       the key of the associated entry in binary format
+     * @param cbValue   the size of the value in binary format
+     */
+    public KeyOnlyQueryResult(double distance, Binary key, int cbValue)
+        {
+        super(distance, key, null);
+
+        m_cbValue = cbValue;
+        }
+
+    /**
+     * Return the size of the value that was left out of this result.
+     *
+     * @return the size of the value in binary format
+     */
+    public int getValueSize()
+        {
+        return m_cbValue;
+        }
+
+    // ----- PortableObject interface ---------------------------------------
+
+    @Override
+    public void readExternal(PofReader in) throws IOException
+        {
+        super.readExternal(in);
+
+        m_cbValue = in.readInt(3);
+        }
+
+    @Override
+    public void writeExternal(PofWriter out) throws IOException
+        {
+        super.writeExternal(out);
+
+        out.writeInt(3, m_cbValue);
+        }
+
+    // ----- ExternalizableLite interface -----------------------------------
+
+    @Override
+    public void readExternal(DataInput in) throws IOException
+        {
+        super.readExternal(in);
+
+        m_cbValue = in.readInt();
+        }
+
+    @Override
+    public void writeExternal(DataOutput out) throws IOException
+        {
+        super.writeExternal(out);
+
+        out.writeInt(m_cbValue);
+        }
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The size of the value in binary format.
+     */
+    protected int m_cbValue;
+    }
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.coherence.ai.search;
+
+/**
+ * A record of the data sent to the caller by a
+ * {@link SimilaritySearch#twoPhase(com.tangosol.net.NamedMap, SearchRecord)
+ * two-phase} similarity search.
+ * <p/>
+ * The first phase of the search returns the keys and distances of the best
+ * candidates from each member, and the second phase fetches the values of
+ * the final results only. The record shows how many value bytes the first
+ * phase avoided sending, compared to a search that returns the values of all
+ * candidates.
+ * <p/>
+ * Candidates are only recorded when the search is executed by a cluster
+ * member; a search executed through a proxy records the final results only.
+ *
+ * @since 25.09
+ */
+public class SearchRecord
+    {
+    // ----- accessors ------------------------------------------------------
+
+    /**
+     * Return the number of candidates returned to the caller by the first
+     * phase of the search.
+     *
+     * @return the number of candidates
+     */
+    public synchronized int getCandidateCount()
+        {
+        return m_cCandidates;
+        }
+
+    /**
+     * Return the total size of the candidate values, which is the number of
+     * value bytes a single phase search would have sent to the caller.
+     *
+     * @return the total size of the candidate values
+     */
+    public synchronized long getCandidateValueBytes()
+        {
+        return m_cbCandidates;
+        }
+
+    /**
+     * Return the number of results fetched by the second phase of the search.
+     *
+     * @return the number of results
+     */
+    public synchronized int getResultCount()
+        {
+        return m_cResults;
+        }
+
+    /**
+     * Return the total size of the values fetched by the second phase of the
+     * search.
+     *
+     * @return the total size of the fetched values
+     */
+    public synchronized long getFetchedValueBytes()
+        {
+        return m_cbFetched;
+        }
+
+    /**
+     * Return the number of value bytes the two-phase search did not send to
+     * the caller, compared to a single phase search.
+     *
+     * @return the number of value bytes saved
+     */
+    public synchronized long getSavedBytes()
+        {
+        return Math.max(0L, m_cbCandidates - m_cbFetched);
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+     * Record a candidate returned by the first phase of the search.
+     *
+     * @param cbValue  the size of the candidate value
+     */
+    synchronized void recordCandidate(int cbValue)
+        {
+        m_cCandidates++;
+        m_cbCandidates += cbValue;
+        }
+
+    /**
+     * Record a result fetched by the second phase of the search.
+     *
+     * @param cbValue  the size of the result value
+     */
+    synchronized void recordResult(int cbValue)
+        {
+        m_cResults++;
+        m_cbFetched += cbValue;
+        }
+
+    // ----- Object methods -------------------------------------------------
+
+    @Override
+    public synchronized String toString()
+        {
+        return "SearchRecord{" +
+               "candidates=" + m_cCandidates +
+               ", candidateValueBytes=" + m_cbCandidates +
+               ", results=" + m_cResults +
+               ", fetchedValueBytes=" + m_cbFetched +
+               ", savedBytes=" + getSavedBytes() +
+               '}';
+        }
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The number of candidates returned by the first phase.
+     */
+    private int m_cCandidates;
+
+    /**
+     * The total size of the candidate values.
+     */
+    private long m_cbCandidates;
+
+    /**
+     * The number of results fetched by the second phase.
+     */
+    private int m_cResults;
+
+    /**
+     * The total size of the fetched values.
+     */
+    private long m_cbFetched;
+    }
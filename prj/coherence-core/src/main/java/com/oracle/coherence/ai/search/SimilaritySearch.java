@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2000, 2024, Oracle and/or its affiliates.
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
  *
  * Licensed under the Universal Permissive License v 1.0 as shown at
  * https://oss.oracle.com/licenses/upl.
@@ -13,15 +13,22 @@ import com.oracle.coherence.ai.Vector;
 
 import com.oracle.coherence.ai.VectorIndex;
 import com.oracle.coherence.ai.distance.CosineDistance;
+import com.oracle.coherence.ai.index.AbstractQuantIndex;
 import com.oracle.coherence.ai.index.BinaryQuantIndex;
 
+import com.tangosol.internal.util.VersionHelper;
+
 import com.tangosol.io.ExternalizableLite;
+import com.tangosol.io.WrapperBufferInput;
+import com.tangosol.io.WrapperBufferOutput;
 
 import com.tangosol.io.pof.PofReader;
 import com.tangosol.io.pof.PofWriter;
 import com.tangosol.io.pof.PortableObject;
 
 import com.tangosol.net.BackingMapContext;
+import com.tangosol.net.NamedMap;
+
 import com.tangosol.util.Binary;
 import com.tangosol.util.BinaryEntry;
 import com.tangosol.util.Converter;
@@ -46,9 +53,11 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -98,7 +107,7 @@ public class SimilaritySearch<K, V, T>
         m_nMaxResults = maxResults;
         }
 
-    private SimilaritySearch(ValueExtractor<? super V, ? extends Vector<T>> extractor, Vector<T> vector, DistanceAlgorithm<T> algorithm, int nMaxResults, Filter<?> filter, boolean fBruteForce)
+    private SimilaritySearch(ValueExtractor<? super V, ? extends Vector<T>> extractor, Vector<T> vector, DistanceAlgorithm<T> algorithm, int nMaxResults, Filter<?> filter, boolean fBruteForce, boolean fKeysOnly, SearchRecord record)
         {
         m_extractor   = extractor;
         m_vector      = vector;
@@ -106,6 +115,8 @@ public class SimilaritySearch<K, V, T>
         m_nMaxResults = nMaxResults;
         m_filter      = filter;
         m_fBruteForce = fBruteForce;
+        m_fKeysOnly   = fKeysOnly;
+        m_record      = record;
         }
 
     /**
@@ -145,6 +156,92 @@ public class SimilaritySearch<K, V, T>
         return this;
         }
 
+    /**
+     * Return only the keys and distances of the results, without the values.
+     * <p/>
+     * The values of the results can be fetched separately, which is what
+     * {@link #twoPhase(NamedMap)} does.
+     *
+     * @return this instance
+     */
+    public SimilaritySearch<K, V, T> keysOnly()
+        {
+        m_fKeysOnly = true;
+        return this;
+        }
+
+    /**
+     * Execute this search against the specified map in two phases.
+     * <p/>
+     * The first phase returns only the keys and distances of the closest
+     * results from each member, which are merged into the final results, and
+     * the second phase fetches the values of the final results only. This
+     * sends much less data to the caller than a single {@link NamedMap#aggregate
+     * aggregation} when the values are large, or when the cluster has many
+     * members, at the cost of an additional request.
+     * <p/>
+     * A result that is removed from the map between the two phases is left
+     * out of the results. If any member of the map's service runs a version
+     * prior to 25.09, which would return the values of the results in the
+     * first phase, the search is executed as a single aggregation instead.
+     *
+     * @param map  the map to search
+     *
+     * @return the results of the search
+     */
+    public List<QueryResult<K, V>> twoPhase(NamedMap<K, V> map)
+        {
+        return twoPhase(map, null);
+        }
+
+    /**
+     * Execute this search against the specified map in two phases, and
+     * record the amount of data sent to the caller.
+     *
+     * @param map     the map to search
+     * @param record  the optional {@link SearchRecord} to record the search in
+     *
+     * @return the results of the search
+     *
+     * @see #twoPhase(NamedMap)
+     */
+    public List<QueryResult<K, V>> twoPhase(NamedMap<K, V> map, SearchRecord record)
+        {
+        if (!map.getService().isVersionCompatible(VersionHelper.VERSION_25_09))
+            {
+            return map.aggregate(new SimilaritySearch<>(m_extractor, m_vector, m_algorithm,
+                    m_nMaxResults, m_filter, m_fBruteForce, /*fKeysOnly*/ false, record));
+            }
+
+        SimilaritySearch<K, V, T> search = new SimilaritySearch<>(m_extractor, m_vector, m_algorithm,
+                m_nMaxResults, m_filter, m_fBruteForce, /*fKeysOnly*/ true, record);
+
+        List<QueryResult<K, V>> listCandidates = map.aggregate(search);
+        Set<K>                  setKeys        = new LinkedHashSet<>(listCandidates.size());
+        for (QueryResult<K, V> result : listCandidates)
+            {
+            setKeys.add(result.getKey());
+            }
+
+        Map<K, V>               mapValues   = map.getAll(setKeys);
+        List<QueryResult<K, V>> listResults = new ArrayList<>(listCandidates.size());
+        for (QueryResult<K, V> result : listCandidates)
+            {
+            K key   = result.getKey();
+            V value = mapValues.get(key);
+            if (value != null)
+                {
+                listResults.add(new SimpleQueryResult<>(result.getDistance(), key, value));
+                if (record != null)
+                    {
+                    record.recordResult(getValueSize(result));
+                    }
+                }
+            }
+
+        return listResults;
+        }
+
     public ValueExtractor<? super V, ? extends Vector<T>> getExtractor()
         {
         return m_extractor;
@@ -175,6 +272,11 @@ public class SimilaritySearch<K, V, T>
         return m_filter;
         }
 
+    public boolean isKeysOnly()
+        {
+        return m_fKeysOnly;
+        }
+
     @Override
     public int characteristics()
         {
@@ -184,7 +286,8 @@ public class SimilaritySearch<K, V, T>
     @Override
     public StreamingAggregator<K, V, List<BinaryQueryResult>, List<QueryResult<K, V>>> supply()
         {
-        return new SimilaritySearch<>(m_extractor, m_vector, m_algorithm, m_nMaxResults, m_filter, m_fBruteForce);
+        return new SimilaritySearch<>(m_extractor, m_vector, m_algorithm, m_nMaxResults, m_filter, m_fBruteForce,
+                                      m_fKeysOnly, m_record);
         }
 
     @Override
@@ -244,6 +347,18 @@ public class SimilaritySearch<K, V, T>
     @Override
     public boolean combine(List<BinaryQueryResult> partialResult)
         {
+        SearchRecord record = m_record;
+        if (record != null)
+            {
+            // the record is only present on the caller, which receives the
+            // partial results of all members
+            for (BinaryQueryResult result : partialResult)
+                {
+                record.recordCandidate(result instanceof KeyOnlyQueryResult
+                                       ? ((KeyOnlyQueryResult) result).getValueSize() : 0);
+                }
+            }
+
         Iterator<BinaryQueryResult> it   = partialResult.iterator();
         int                         size = m_results.size();
 
@@ -264,6 +379,18 @@ public class SimilaritySearch<K, V, T>
     @Override
     public List<BinaryQueryResult> getPartialResult()
         {
+        if (m_fKeysOnly)
+            {
+            List<BinaryQueryResult> list = new ArrayList<>(m_results.size());
+            for (BinaryQueryResult result : m_results)
+                {
+                list.add(result instanceof KeyOnlyQueryResult
+                         ? result
+                         : new KeyOnlyQueryResult(result.getDistance(), result.getKey(),
+                                                  result.getValue() == null ? 0 : result.getValue().length()));
+                }
+            return list;
+            }
         return new ArrayList<>(m_results);
         }
 
@@ -291,6 +418,7 @@ public class SimilaritySearch<K, V, T>
         m_nMaxResults = in.readInt(3);
         m_filter      = in.readObject(4);
         m_fBruteForce = in.readBoolean(5);
+        m_fKeysOnly   = in.readBoolean(6);
         }
 
     @Override
@@ -302,6 +430,7 @@ public class SimilaritySearch<K, V, T>
         out.writeInt(3, m_nMaxResults);
         out.writeObject(4, m_filter);
         out.writeBoolean(5, m_fBruteForce);
+        out.writeBoolean(6, m_fKeysOnly);
         }
 
     @Override
@@ -313,6 +442,18 @@ public class SimilaritySearch<K, V, T>
         m_nMaxResults = in.readInt();
         m_filter      = ExternalizableHelper.readObject(in);
         m_fBruteForce = in.readBoolean();
+
+        // the streams that are not version aware are only read by the
+        // members of the same version
+        if (!(in instanceof WrapperBufferInput.VersionAwareBufferInput)
+                || ExternalizableHelper.isVersionCompatible(in, VersionHelper.VERSION_25_09))
+            {
+            m_fKeysOnly = in.readBoolean();
+            }
+        else
+            {
+            m_fKeysOnly = false;
+            }
         }
 
     @Override
@@ -324,10 +465,36 @@ public class SimilaritySearch<K, V, T>
         out.writeInt(m_nMaxResults);
         ExternalizableHelper.writeObject(out, m_filter);
         out.writeBoolean(m_fBruteForce);
+
+        if (!(out instanceof WrapperBufferOutput.VersionAwareBufferOutput)
+                || ExternalizableHelper.isVersionCompatible(out, VersionHelper.VERSION_25_09))
+            {
+            out.writeBoolean(m_fKeysOnly);
+            }
         }
 
     // ----- helper methods -------------------------------------------------
 
+    /**
+     * Return the size of the value left out of a key only result.
+     *
+     * @param result  the result
+     *
+     * @return the size of the value in binary format, or zero if unknown
+     */
+    private static int getValueSize(QueryResult<?, ?> result)
+        {
+        if (result instanceof ConverterResult)
+            {
+            BinaryQueryResult resultBinary = ((ConverterResult<?, ?>) result).getBinaryQueryResult();
+            if (resultBinary instanceof KeyOnlyQueryResult)
+                {
+                return ((KeyOnlyQueryResult) resultBinary).getValueSize();
+                }
+            }
+        return 0;
+        }
+
     protected boolean bruteForce(Streamer<? extends InvocableMap.Entry<? extends K, ? extends V>> streamer,
             InvocableMap.Entry<? extends K, ? extends V> entry)
         {
@@ -367,9 +534,10 @@ public class SimilaritySearch<K, V, T>
 
             for (BinaryQueryResult result : results)
                 {
-                if (index instanceof BinaryQuantIndex.BinaryQuantMapIndex)
+                if (index instanceof BinaryQuantIndex.BinaryQuantMapIndex
+                    || index instanceof AbstractQuantIndex.QuantMapIndex)
                     {
-                    // we need to replace Hamming distances with the actual distance before processing results
+                    // we need to replace Hamming or quantized distances with the actual distance before processing results
                     BackingMapContext ctx   = binaryEntry.getBackingMapContext();
                     Map.Entry         entry = ctx.getReadOnlyEntry(result.getKey());
 
@@ -450,6 +618,20 @@ public class SimilaritySearch<K, V, T>
     @JsonbProperty("filter")
     protected Filter<?> m_filter;
 
+    /**
+     * A flag indicating whether to return only the keys and distances of the
+     * results, without the values.
+     */
+    @JsonbProperty("keysOnly")
+    protected boolean m_fKeysOnly;
+
+    /**
+     * The optional {@link SearchRecord} to record a two-phase search in; only
+     * present on the caller.
+     */
+    @JsonbTransient
+    protected transient SearchRecord m_record;
+
     /**
      * The interim results for the aggregator.
      */
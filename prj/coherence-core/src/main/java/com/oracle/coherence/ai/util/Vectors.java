@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2000, 2024, Oracle and/or its affiliates.
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
  *
  * Licensed under the Universal Permissive License v 1.0 as shown at
  * https://oss.oracle.com/licenses/upl.
@@ -9,6 +9,7 @@ package com.oracle.coherence.ai.util;
 
 import com.oracle.coherence.ai.BitVector;
 import com.oracle.coherence.ai.Vector;
+import com.oracle.coherence.ai.internal.VectorKernels;
 
 import java.util.BitSet;
 
@@ -39,12 +40,7 @@ public class Vectors
      */
     public static double magnitude(byte[] v)
         {
-        double magnitude = 0;
-        for (byte b : v)
-            {
-            magnitude += b * b;
-            }
-        return Math.sqrt(magnitude);
+        return Math.sqrt(VectorKernels.dotProduct(v, v));
         }
 
     /**
@@ -56,12 +52,7 @@ public class Vectors
      */
     public static double magnitude(float[] v)
         {
-        double magnitude = 0;
-        for (float f : v)
-            {
-            magnitude += f * f;
-            }
-        return Math.sqrt(magnitude);
+        return Math.sqrt(VectorKernels.dotProduct(v, v));
         }
 
     /**
@@ -89,13 +80,7 @@ public class Vectors
      */
     public static double dotProduct(byte[] v1, byte[] v2)
         {
-        double dotProduct = 0.0;
-
-        for (int i = 0; i < v1.length; i++)
-            {
-            dotProduct += v1[i] * v2[i];
-            }
-        return dotProduct;
+        return VectorKernels.dotProduct(v1, v2);
         }
 
     /**
@@ -104,17 +89,11 @@ public class Vectors
      * @param v1  the first float vector
      * @param v2  the second float vector
      *
-     * @return the magnitude of the float vectors
+     * @return the dot product of the float vectors
      */
     public static double dotProduct(float[] v1, float[] v2)
         {
-        double dotProduct = 0.0;
-
-        for (int i = 0; i < v1.length; i++)
-            {
-            dotProduct += v1[i] * v2[i];
-            }
-        return dotProduct;
+        return VectorKernels.dotProduct(v1, v2);
         }
 
     /**
@@ -142,14 +121,7 @@ public class Vectors
      */
     public static double l2squared(byte[] v1, byte[] v2)
         {
-        double l2squared = 0.0;
-
-        for (int i = 0; i < v1.length; i++)
-            {
-            int n = v1[i] - v2[i];
-            l2squared += n ^ 2;
-            }
-        return l2squared;
+        return VectorKernels.l2squared(v1, v2);
         }
 
     /**
@@ -162,14 +134,7 @@ public class Vectors
      */
     public static double l2squared(float[] v1, float[] v2)
         {
-        double l2squared = 0.0;
-
-        for (int i = 0; i < v1.length; i++)
-            {
-            float f = v1[i] - v2[i];
-            l2squared += (f * f);
-            }
-        return l2squared;
+        return VectorKernels.l2squared(v1, v2);
         }
 
     /**
@@ -317,17 +282,7 @@ public class Vectors
 
     private static int d(long x, long y)
         {
-        int dist = 0;
-        long val = x ^ y;
-
-        // Count the number of set bits (Knuth's algorithm)
-        while (val != 0)
-            {
-            ++dist;
-            val &= val - 1;
-            }
-
-        return dist;
+        return Long.bitCount(x ^ y);
         }
 
     /**
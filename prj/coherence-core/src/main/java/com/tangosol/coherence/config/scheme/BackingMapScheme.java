@@ -129,8 +129,9 @@ public class BackingMapScheme
                 bldr = ((ReadWriteBackingMapScheme) bldr).getInternalScheme();
                 }
 
-            // the journal schemes are always partitioned
-            fPartitioned = bldr instanceof AbstractJournalScheme ? true : fPartitioned;
+            // the journal and off-heap schemes are always partitioned
+            fPartitioned = bldr instanceof AbstractJournalScheme || bldr instanceof OffHeapScheme
+                           ? true : fPartitioned;
             }
         else
             {
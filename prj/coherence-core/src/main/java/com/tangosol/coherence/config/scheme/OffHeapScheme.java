@@ -0,0 +1,369 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.tangosol.coherence.config.scheme;
+
+import com.oracle.coherence.common.util.Duration.Magnitude;
+
+import com.tangosol.coherence.config.builder.ParameterizedBuilder;
+import com.tangosol.coherence.config.builder.UnitCalculatorBuilder;
+import com.tangosol.coherence.config.unit.Bytes;
+import com.tangosol.coherence.config.unit.Megabytes;
+import com.tangosol.coherence.config.unit.Seconds;
+import com.tangosol.coherence.config.unit.Units;
+
+import com.tangosol.config.ConfigurationException;
+import com.tangosol.config.annotation.Injectable;
+import com.tangosol.config.expression.Expression;
+import com.tangosol.config.expression.LiteralExpression;
+import com.tangosol.config.expression.ParameterResolver;
+import com.tangosol.config.injection.Injector;
+import com.tangosol.config.injection.SimpleInjector;
+
+import com.tangosol.io.nio.OffHeapBinaryMap;
+import com.tangosol.io.nio.SlabAllocator;
+
+import com.tangosol.net.CacheFactory;
+import com.tangosol.net.cache.ConfigurableCacheMap.UnitCalculator;
+import com.tangosol.net.cache.LocalCache;
+
+import com.tangosol.util.ResourceResolver;
+import com.tangosol.util.ResourceResolverHelper;
+
+/**
+ * The {@link OffHeapScheme} class is responsible for building a fully
+ * configured instance of an {@link OffHeapBinaryMap}, which stores the
+ * entries of a partitioned cache outside the Java heap.
+ * <p>
+ * When used as the backing map of a distributed cache the scheme is always
+ * partitioned, so each partition is backed by its own map and the memory of
+ * a partition is released in bulk when the partition is transferred or
+ * destroyed. All the maps created by a scheme share a {@link SlabAllocator},
+ * which limits the amount of off-heap memory they may use to the configured
+ * {@code maximum-size}.
+ *
+ * @see OffHeapBinaryMap
+ *
+ * @since 25.09
+ */
+public class OffHeapScheme
+        extends AbstractLocalCachingScheme<OffHeapBinaryMap>
+    {
+    // ----- MapBuilder interface -------------------------------------------
+
+    @Override
+    public OffHeapBinaryMap realizeMap(ParameterResolver resolver, Dependencies dependencies)
+        {
+        validate(resolver);
+
+        Units highUnits          = getHighUnits(resolver);
+        long  cHighUnits         = highUnits.getUnitCount();
+        int   nUnitFactor        = getUnitFactor(resolver);
+        int   cExpiryDelayMillis = (int) getExpiryDelay(resolver).as(Magnitude.MILLI);
+
+        // auto scale units to integer range
+        while (cHighUnits >= Integer.MAX_VALUE)
+            {
+            cHighUnits  /= 1024;
+            nUnitFactor *= 1024;
+            }
+
+        // check and default all the Cache options
+        if (cHighUnits <= 0)
+            {
+            cHighUnits = Integer.MAX_VALUE;
+            }
+
+        if (cExpiryDelayMillis < 0)
+            {
+            cExpiryDelayMillis = 0;
+            }
+
+        SlabAllocator allocator = ensureAllocator(resolver);
+
+        // create the map, which is either internal or custom
+        OffHeapBinaryMap                       map        = null;
+        ClassLoader                            loader     = dependencies.getClassLoader();
+        ParameterizedBuilder<OffHeapBinaryMap> bldrCustom = getCustomBuilder();
+
+        if (bldrCustom == null)
+            {
+            map = new OffHeapBinaryMap(allocator, (int) cHighUnits, cExpiryDelayMillis);
+            }
+        else
+            {
+            // create the custom object that is extending OffHeapBinaryMap
+            map = bldrCustom.realize(resolver, loader, null);
+            map.setHighUnits((int) cHighUnits);
+            map.setExpiryDelay(cExpiryDelayMillis);
+
+            // prepare an injector to inject values into the map
+            Injector injector = new SimpleInjector();
+            ResourceResolver resourceResolver =
+                ResourceResolverHelper.resourceResolverFrom(ResourceResolverHelper.resourceResolverFrom(resolver,
+                    getDefaultParameterResolver()), ResourceResolverHelper.resourceResolverFrom(dependencies));
+
+            injector.inject(map, resourceResolver);
+            }
+
+        // we can only be called by the ECCF, at which point the Cluster
+        // object has already been created
+        if (CacheFactory.getCluster().isRunning())
+            {
+            map.setOptimizeGetTime(true);
+            }
+
+        // default to BINARY if the user explicitly used a memory size in the
+        // high-units setting (e.g. 10M)
+        UnitCalculator defaultCalculator = highUnits.isMemorySize()
+                                           ? LocalCache.INSTANCE_BINARY : null;
+        UnitCalculatorBuilder bldrUnitCalculator = getUnitCalculatorBuilder();
+
+        map.setUnitFactor(nUnitFactor);
+        map.setUnitCalculator(bldrUnitCalculator == null
+                              ? defaultCalculator : bldrUnitCalculator.realize(resolver, loader, null));
+
+        return map;
+        }
+
+    // ----- OffHeapScheme methods  -----------------------------------------
+
+    /**
+     * Return the amount of time since the last update that entries
+     * are kept by the cache before being expired. Entries that have expired
+     * are not accessible and are evicted the next time a client accesses the
+     * cache.
+     *
+     * @param resolver  the ParameterResolver
+     *
+     * @return the expiry delay
+     */
+    public Seconds getExpiryDelay(ParameterResolver resolver)
+        {
+        return m_exprExpiryDelay.evaluate(resolver);
+        }
+
+    /**
+     * Set the expiry delay.
+     *
+     * @param expr  the expiry delay expression
+     */
+    @Injectable
+    public void setExpiryDelay(Expression<Seconds> expr)
+        {
+        m_exprExpiryDelay = expr;
+        }
+
+    /**
+     * Return the limit of the size of each partition. Contains the maximum
+     * number of units that can be placed in a partition before pruning occurs.
+     * Zero implies no limit.
+     *
+     * @param resolver  the ParameterResolver
+     *
+     * @return the high units
+     */
+    public Units getHighUnits(ParameterResolver resolver)
+        {
+        return m_exprHighUnits.evaluate(resolver);
+        }
+
+    /**
+     * Set the high units.
+     *
+     * @param expr  the high units expression
+     */
+    @Injectable
+    public void setHighUnits(Expression<Units> expr)
+        {
+        m_exprHighUnits = expr;
+        }
+
+    /**
+     * Return the UnitCalculatorBuilder used to build a UnitCalculator.
+     *
+     * @return the unit calculator
+     */
+    public UnitCalculatorBuilder getUnitCalculatorBuilder()
+        {
+        return m_bldrUnitCalculator;
+        }
+
+    /**
+     * Set the UnitCalculatorBuilder.
+     *
+     * @param builder  the UnitCalculatorBuilder
+     */
+    @Injectable("unit-calculator")
+    public void setUnitCalculatorBuilder(UnitCalculatorBuilder builder)
+        {
+        m_bldrUnitCalculator = builder;
+        }
+
+    /**
+     * Return the factor by which the units, low-units and high-units
+     * properties are adjusted.
+     *
+     * @param resolver  the ParameterResolver
+     *
+     * @return the unit factor
+     */
+    public int getUnitFactor(ParameterResolver resolver)
+        {
+        return m_exprUnitFactor.evaluate(resolver);
+        }
+
+    /**
+     * Set the unit factor.
+     *
+     * @param expr  the unit factor expression
+     */
+    @Injectable
+    public void setUnitFactor(Expression<Integer> expr)
+        {
+        m_exprUnitFactor = expr;
+        }
+
+    /**
+     * Return the maximum amount of off-heap memory that the maps created by
+     * this scheme may use, in bytes. Zero implies no limit.
+     *
+     * @param resolver  the ParameterResolver
+     *
+     * @return the maximum size in bytes
+     */
+    public long getMaximumSize(ParameterResolver resolver)
+        {
+        return m_exprMaxSize.evaluate(resolver).getByteCount();
+        }
+
+    /**
+     * Set the maximum size.
+     *
+     * @param expr  the maximum size expression
+     */
+    @Injectable
+    public void setMaximumSize(Expression<Megabytes> expr)
+        {
+        m_exprMaxSize = expr;
+        }
+
+    /**
+     * Return the size of the slabs the off-heap memory is allocated in, in
+     * bytes.
+     *
+     * @param resolver  the ParameterResolver
+     *
+     * @return the slab size in bytes
+     */
+    public long getSlabSize(ParameterResolver resolver)
+        {
+        return m_exprSlabSize.evaluate(resolver).getByteCount();
+        }
+
+    /**
+     * Set the slab size.
+     *
+     * @param expr  the slab size expression
+     */
+    @Injectable
+    public void setSlabSize(Expression<Bytes> expr)
+        {
+        m_exprSlabSize = expr;
+        }
+
+    // ----- internal -------------------------------------------------------
+
+    /**
+     * Return the {@link SlabAllocator} shared by the maps created by this
+     * scheme, creating it if necessary.
+     *
+     * @param resolver  the ParameterResolver
+     *
+     * @return the allocator
+     */
+    protected synchronized SlabAllocator ensureAllocator(ParameterResolver resolver)
+        {
+        SlabAllocator allocator = m_allocator;
+        if (allocator == null)
+            {
+            m_allocator = allocator =
+                new SlabAllocator(getMaximumSize(resolver), (int) getSlabSize(resolver));
+            }
+        return allocator;
+        }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void validate(ParameterResolver resolver)
+        {
+        super.validate(resolver);
+
+        if (getExpiryDelay(resolver).as(Magnitude.MILLI) > Integer.MAX_VALUE)
+            {
+            throw new ConfigurationException("Illegal value specified for <expiry-delay> for off-heap scheme '"
+                                             + getSchemeName()
+                                             + "'", "The expiry delay cannot exceed 2147483 seconds or ~24 days.");
+            }
+
+        long cbSlab = getSlabSize(resolver);
+        if (cbSlab < SlabAllocator.MIN_SLAB_SIZE || cbSlab > MAX_SLAB_SIZE)
+            {
+            throw new ConfigurationException("Illegal value specified for <slab-size> for off-heap scheme '"
+                                             + getSchemeName()
+                                             + "'", "The slab size must be between 4KB and 1GB.");
+            }
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The maximum size of a slab (1GB).
+     */
+    public static final int MAX_SLAB_SIZE = 1 << 30;
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The {@link UnitCalculatorBuilder}.
+     */
+    private UnitCalculatorBuilder m_bldrUnitCalculator;
+
+    /**
+     * The duration that a value will live in the cache.
+     * Zero indicates no timeout.
+     */
+    private Expression<Seconds> m_exprExpiryDelay = new LiteralExpression<Seconds>(new Seconds(0));
+
+    /**
+     * The high units.
+     */
+    private Expression<Units> m_exprHighUnits = new LiteralExpression<Units>(new Units(0));
+
+    /**
+     * The unit factor.
+     */
+    private Expression<Integer> m_exprUnitFactor = new LiteralExpression<Integer>(1);
+
+    /**
+     * The maximum amount of off-heap memory. Zero indicates no limit.
+     */
+    private Expression<Megabytes> m_exprMaxSize = new LiteralExpression<Megabytes>(new Megabytes(0));
+
+    /**
+     * The slab size.
+     */
+    private Expression<Bytes> m_exprSlabSize =
+            new LiteralExpression<Bytes>(new Bytes(SlabAllocator.DEFAULT_SLAB_SIZE));
+
+    /**
+     * The allocator shared by the maps created by this scheme.
+     */
+    private SlabAllocator m_allocator;
+    }
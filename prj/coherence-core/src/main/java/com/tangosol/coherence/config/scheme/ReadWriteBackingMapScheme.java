@@ -12,6 +12,7 @@ import com.tangosol.coherence.config.ParameterList;
 import com.tangosol.coherence.config.ResolvableParameterList;
 import com.tangosol.coherence.config.builder.MapBuilder;
 import com.tangosol.coherence.config.builder.ParameterizedBuilder;
+import com.tangosol.coherence.config.unit.Bytes;
 import com.tangosol.coherence.config.unit.Millis;
 import com.tangosol.coherence.config.unit.Seconds;
 
@@ -183,12 +184,17 @@ public class ReadWriteBackingMapScheme
             rwbm = bldrCustom.realize(resolver, loader, listArgs);
             }
 
+        rwbm.setWriteThreadCount(getWriteThreadCount(resolver));
+
         // Read/Write Threads will have the cache name appended to the thread name
         rwbm.setCacheName(dependencies.getCacheName());
         rwbm.setRethrowExceptions(isRollbackCacheStoreFailures(resolver));
         rwbm.setWriteBatchFactor(getWriteBatchFactor(resolver));
         rwbm.setWriteRequeueThreshold(getWriteRequeueThreshold(resolver));
         rwbm.setWriteMaxBatchSize(getWriteMaxBatchSize(resolver));
+        rwbm.setWriteBatchTargetMillis(getWriteBatchTargetLatency(resolver).as(Magnitude.MILLI));
+        rwbm.setWriteQueueLimit(getWriteQueueLimit(resolver).getByteCount());
+        rwbm.setVirtualThreadConcurrency(getVirtualThreadConcurrency(resolver));
 
         if (cWriteBehindMillis != 1000L * cWriteBehindSec)
             {
@@ -199,6 +205,12 @@ public class ReadWriteBackingMapScheme
 
         BundleManager managerBundle = bldrCacheStore == null ? null : bldrCacheStore.getBundleManager();
 
+        long cCoalescingMillis = getReadCoalescingWindow(resolver).as(Magnitude.MILLI);
+        if (cCoalescingMillis > 0L)
+            {
+            rwbm.setReadCoalescing(cCoalescingMillis, getReadCoalescingSize(resolver));
+            }
+
         if (managerBundle != null)
             {
             managerBundle.ensureBundles(resolver, rwbm.getCacheStore());
@@ -592,6 +604,176 @@ public class ReadWriteBackingMapScheme
         m_exprWriteBehindRemove = expr;
         }
 
+    /**
+     * Return the target time to write a single write-behind batch. If
+     * non-zero, the size of the write-behind batches is adjusted based on
+     * the observed latency of the CacheStore.
+     *
+     * @param resolver  the ParameterResolver
+     *
+     * @return the write-behind batch target latency
+     *
+     * @since 25.09
+     */
+    public Millis getWriteBatchTargetLatency(ParameterResolver resolver)
+        {
+        return m_exprWriteBatchTargetLatency.evaluate(resolver);
+        }
+
+    /**
+     * Set the write-behind batch target latency.
+     *
+     * @param expr  the write-behind batch target latency
+     *
+     * @since 25.09
+     */
+    @Injectable
+    public void setWriteBatchTargetLatency(Expression<Millis> expr)
+        {
+        m_exprWriteBatchTargetLatency = expr;
+        }
+
+    /**
+     * Return the number of threads that write the write-behind batches to
+     * the CacheStore.
+     *
+     * @param resolver  the ParameterResolver
+     *
+     * @return the write-behind thread count
+     *
+     * @since 25.09
+     */
+    public int getWriteThreadCount(ParameterResolver resolver)
+        {
+        return m_exprWriteThreadCount.evaluate(resolver);
+        }
+
+    /**
+     * Set the write-behind thread count.
+     *
+     * @param expr  the write-behind thread count
+     *
+     * @since 25.09
+     */
+    @Injectable
+    public void setWriteThreadCount(Expression<Integer> expr)
+        {
+        m_exprWriteThreadCount = expr;
+        }
+
+    /**
+     * Return the amount of entry data the write-behind queue may hold before
+     * updates are made to wait for the queue to drain. Zero implies no limit.
+     *
+     * @param resolver  the ParameterResolver
+     *
+     * @return the write-behind queue limit
+     *
+     * @since 25.09
+     */
+    public Bytes getWriteQueueLimit(ParameterResolver resolver)
+        {
+        return m_exprWriteQueueLimit.evaluate(resolver);
+        }
+
+    /**
+     * Set the write-behind queue limit.
+     *
+     * @param expr  the write-behind queue limit
+     *
+     * @since 25.09
+     */
+    @Injectable
+    public void setWriteQueueLimit(Expression<Bytes> expr)
+        {
+        m_exprWriteQueueLimit = expr;
+        }
+
+    /**
+     * Return the maximum number of CacheStore operations of a cache that may
+     * be in progress on virtual threads at the same time. Zero implies that
+     * the CacheStore is invoked on the calling thread.
+     *
+     * @param resolver  the ParameterResolver
+     *
+     * @return the virtual thread concurrency
+     *
+     * @since 25.09
+     */
+    public int getVirtualThreadConcurrency(ParameterResolver resolver)
+        {
+        return m_exprVirtualThreadConcurrency.evaluate(resolver);
+        }
+
+    /**
+     * Set the virtual thread concurrency.
+     *
+     * @param expr  the virtual thread concurrency
+     *
+     * @since 25.09
+     */
+    @Injectable
+    public void setVirtualThreadConcurrency(Expression<Integer> expr)
+        {
+        m_exprVirtualThreadConcurrency = expr;
+        }
+
+    /**
+     * Return the time a read-through miss waits for concurrent misses to be
+     * loaded with. Zero implies that misses are not coalesced.
+     *
+     * @param resolver  the ParameterResolver
+     *
+     * @return the read coalescing window
+     *
+     * @since 25.09
+     */
+    public Millis getReadCoalescingWindow(ParameterResolver resolver)
+        {
+        return m_exprReadCoalescingWindow.evaluate(resolver);
+        }
+
+    /**
+     * Set the read coalescing window.
+     *
+     * @param expr  the read coalescing window
+     *
+     * @since 25.09
+     */
+    @Injectable
+    public void setReadCoalescingWindow(Expression<Millis> expr)
+        {
+        m_exprReadCoalescingWindow = expr;
+        }
+
+    /**
+     * Return the maximum number of keys that concurrent read-through misses
+     * are coalesced into.
+     *
+     * @param resolver  the ParameterResolver
+     *
+     * @return the read coalescing size
+     *
+     * @since 25.09
+     */
+    public int getReadCoalescingSize(ParameterResolver resolver)
+        {
+        return m_exprReadCoalescingSize.evaluate(resolver);
+        }
+
+    /**
+     * Set the read coalescing size.
+     *
+     * @param expr  the read coalescing size
+     *
+     * @since 25.09
+     */
+    @Injectable
+    public void setReadCoalescingSize(Expression<Integer> expr)
+        {
+        m_exprReadCoalescingSize = expr;
+        }
+
     // ----- internal -------------------------------------------------------
 
     /**
@@ -944,6 +1126,48 @@ public class ReadWriteBackingMapScheme
      */
     private Expression<Boolean> m_exprWriteBehindRemove = new LiteralExpression<>(RWBM_WB_REMOVE_DEFAULT);
 
+    /**
+     * The write-behind batch target latency.
+     *
+     * @since 25.09
+     */
+    private Expression<Millis> m_exprWriteBatchTargetLatency = new LiteralExpression<Millis>(new Millis("0"));
+
+    /**
+     * The write-behind thread count.
+     *
+     * @since 25.09
+     */
+    private Expression<Integer> m_exprWriteThreadCount = new LiteralExpression<Integer>(Integer.valueOf(1));
+
+    /**
+     * The write-behind queue limit.
+     *
+     * @since 25.09
+     */
+    private Expression<Bytes> m_exprWriteQueueLimit = new LiteralExpression<Bytes>(new Bytes(0));
+
+    /**
+     * The virtual thread concurrency.
+     *
+     * @since 25.09
+     */
+    private Expression<Integer> m_exprVirtualThreadConcurrency = new LiteralExpression<Integer>(Integer.valueOf(0));
+
+    /**
+     * The read coalescing window.
+     *
+     * @since 25.09
+     */
+    private Expression<Millis> m_exprReadCoalescingWindow = new LiteralExpression<Millis>(new Millis("0"));
+
+    /**
+     * The read coalescing size.
+     *
+     * @since 25.09
+     */
+    private Expression<Integer> m_exprReadCoalescingSize = new LiteralExpression<Integer>(Integer.valueOf(128));
+
     /**
      * The internal map.
      */
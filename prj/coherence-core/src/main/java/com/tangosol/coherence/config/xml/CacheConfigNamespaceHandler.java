@@ -27,6 +27,7 @@ import com.tangosol.coherence.config.scheme.InvocationScheme;
 import com.tangosol.coherence.config.scheme.LocalScheme;
 import com.tangosol.coherence.config.scheme.NamedTopicScheme;
 import com.tangosol.coherence.config.scheme.NearScheme;
+import com.tangosol.coherence.config.scheme.OffHeapScheme;
 import com.tangosol.coherence.config.scheme.OptimisticScheme;
 import com.tangosol.coherence.config.scheme.OverflowScheme;
 import com.tangosol.coherence.config.scheme.PagedExternalScheme;
@@ -337,6 +338,7 @@ public class CacheConfigNamespaceHandler
         registerProcessor("nio-file-manager",
                           new CustomizableBuilderProcessor<>(NioFileManagerBuilder.class));
         registerProcessor("nominal-buffer-size", new MemorySizeProcessor());
+        registerProcessor("off-heap-scheme", new CustomizableBuilderProcessor<>(OffHeapScheme.class));
         registerProcessor("optimistic-scheme", new ServiceBuilderProcessor<>(OptimisticScheme.class));
         registerProcessor("overflow-scheme", new CompositeSchemeProcessor<>(OverflowScheme.class));
         registerProcessor("paged-external-scheme",
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2000, 2024, Oracle and/or its affiliates.
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
  *
  * Licensed under the Universal Permissive License v 1.0 as shown at
  * https://oss.oracle.com/licenses/upl.
@@ -238,9 +238,11 @@ public class CoherenceQueryLanguage
         tokens.addToken(new SQLForceRecoveryOPToken("force"));
 
         // Keywords
+        tokens.addToken(new KeywordOPToken("asc"));
         tokens.addToken(new KeywordOPToken("by"));
         tokens.addToken(new KeywordOPToken("cache"));
         tokens.addToken(new KeywordOPToken("check"));
+        tokens.addToken(new KeywordOPToken("desc"));
         tokens.addToken(new KeywordOPToken("distinct"));
         tokens.addToken(new KeywordOPToken("escape"));
         tokens.addToken(new KeywordOPToken("file"));
@@ -250,6 +252,7 @@ public class CoherenceQueryLanguage
         tokens.addToken(new KeywordOPToken("index"));
         tokens.addToken(new KeywordOPToken("into"));
         tokens.addToken(new KeywordOPToken("key"));
+        tokens.addToken(new KeywordOPToken("limit"));
         tokens.addToken(new KeywordOPToken("off"));
         tokens.addToken(new KeywordOPToken("on"));
         tokens.addToken(new KeywordOPToken("order"));
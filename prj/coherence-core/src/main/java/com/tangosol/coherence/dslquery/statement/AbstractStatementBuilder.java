@@ -1,8 +1,8 @@
 /*
- * Copyright (c) 2000, 2020, Oracle and/or its affiliates.
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
  *
  * Licensed under the Universal Permissive License v 1.0 as shown at
- * http://oss.oracle.com/licenses/upl.
+ * https://oss.oracle.com/licenses/upl.
  */
 package com.tangosol.coherence.dslquery.statement;
 
@@ -223,6 +223,46 @@ public abstract class AbstractStatementBuilder<T extends Statement>
         return t;
         }
 
+    /**
+     * Return the AST node that represents the order by "sortKey" terms from
+     * the given AST node.
+     *
+     * @param sn  the syntax node
+     *
+     * @return return the AST node found in the parent AST node
+     */
+    protected static NodeTerm getOrderBy(NodeTerm sn)
+        {
+        NodeTerm t = (NodeTerm) sn.findChild("orderBy");
+
+        if (t == null || t.length() == 0)
+            {
+            return null;
+            }
+
+        return t;
+        }
+
+    /**
+     * Return the AST node that represents the limit expression from the
+     * given AST node.
+     *
+     * @param sn  the syntax node
+     *
+     * @return return the AST node found in the parent AST node
+     */
+    protected static Term getLimit(NodeTerm sn)
+        {
+        Term t = sn.findChild("limit");
+
+        if (t == null || t.length() == 0)
+            {
+            return null;
+            }
+
+        return t.termAt(1);
+        }
+
     /**
      * Return the AST node that represents the list of "Set statements" from the
      * given AST node.
@@ -1,8 +1,8 @@
 /*
- * Copyright (c) 2000, 2021, Oracle and/or its affiliates.
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
  *
  * Licensed under the Universal Permissive License v 1.0 as shown at
- * http://oss.oracle.com/licenses/upl.
+ * https://oss.oracle.com/licenses/upl.
  */
 package com.tangosol.coherence.dslquery.statement;
 
@@ -12,9 +12,11 @@ import com.tangosol.coherence.dslquery.ExecutionContext;
 import com.tangosol.coherence.dslquery.StatementResult;
 
 import com.tangosol.coherence.dslquery.internal.SelectListMaker;
+import com.tangosol.coherence.dslquery.internal.UpdateSetListMaker;
 
 import com.tangosol.coherence.dsltools.termtrees.AtomicTerm;
 import com.tangosol.coherence.dsltools.termtrees.NodeTerm;
+import com.tangosol.coherence.dsltools.termtrees.Term;
 import com.tangosol.coherence.dsltools.termtrees.Terms;
 
 import com.tangosol.config.expression.ParameterResolver;
@@ -23,9 +25,22 @@ import com.tangosol.net.NamedCache;
 
 import com.tangosol.util.Filter;
 import com.tangosol.util.InvocableMap;
+import com.tangosol.util.ValueExtractor;
+
+import com.tangosol.util.aggregator.GroupAggregator;
+
+import com.tangosol.util.comparator.ChainedComparator;
+import com.tangosol.util.comparator.ExtractorComparator;
+import com.tangosol.util.comparator.InverseComparator;
+import com.tangosol.util.comparator.SafeComparator;
+
+import com.tangosol.util.extractor.ReflectionExtractor;
+
+import com.tangosol.util.filter.LimitFilter;
 
 import java.io.PrintWriter;
 
+import java.util.Comparator;
 import java.util.List;
 
 import java.util.concurrent.CompletableFuture;
@@ -63,6 +78,8 @@ public class SelectStatementBuilder
         NodeTerm fields     = getFields(term);
         NodeTerm whereTerm  = getWhere(term);
         NodeTerm groupBy    = getGroupBy(term);
+        NodeTerm orderBy    = getOrderBy(term);
+        Term     termLimit  = getLimit(term);
 
         if (groupBy != null)
             {
@@ -80,15 +97,46 @@ public class SelectStatementBuilder
         Filter                       filter     = ensureFilter(whereTerm, sCacheName, alias, listBindVars,
                                                       namedBindVars, ctx);
         boolean                      fReduction = !transformer.hasCalls() &&!isDistinct && aggregator != null;
+        int                          cLimit     = termLimit == null
+                                                  ? 0 : createLimit(termLimit, listBindVars, namedBindVars, ctx);
+        Comparator                   comparator = null;
+
+        if (orderBy != null || cLimit > 0)
+            {
+            if (aggregator == null)
+                {
+                // the sort and limit of the entries are performed by each
+                // member before the pages are merged by the caller
+                if (orderBy != null)
+                    {
+                    comparator = createEntryComparator(sCacheName, alias, orderBy, listBindVars,
+                                                       namedBindVars, ctx);
+                    }
+
+                if (cLimit > 0)
+                    {
+                    filter = new LimitFilter(filter, cLimit);
+                    }
+                }
+            else if (groupBy != null && aggregator instanceof GroupAggregator)
+                {
+                aggregator = createOrderedGroupAggregator((GroupAggregator) aggregator, groupBy, orderBy, cLimit);
+                }
+            else
+                {
+                throw new CohQLException("ORDER BY and LIMIT are only supported by SELECT * and GROUP BY queries");
+                }
+            }
 
-        return new SelectStatement(sCacheName, filter, aggregator, fReduction);
+        return new SelectStatement(sCacheName, filter, aggregator, fReduction, comparator);
         }
 
     @Override
     public String getSyntax()
         {
         return "SELECT (properties* aggregators* | * | alias) FROM 'cache-name' [[AS] alias]\n"
-               + "        [WHERE conditional-expression] [GROUP [BY] properties+]";
+               + "        [WHERE conditional-expression] [GROUP [BY] properties+]\n"
+               + "        [ORDER [BY] (property [ASC | DESC])+] [LIMIT number]";
         }
 
     @Override
@@ -109,7 +157,13 @@ public class SelectStatementBuilder
                + "'cache-name' selected by the conditional-expression and grouped by the\n"
                + "set of properties that precedes the aggregators. For example:\n"
                + "    SELECT supplier, SUM(amount), AVG(price) FROM 'orders' GROUP BY supplier\n"
-               + "As usual, if no conditional-expression is given all elements are selected.";
+               + "As usual, if no conditional-expression is given all elements are selected.\n\n"
+               + "The results of 'SELECT *' and of GROUP BY queries may be sorted using ORDER BY\n"
+               + "and limited to the first 'number' results using LIMIT. The ORDER BY properties\n"
+               + "of a GROUP BY query must be GROUP BY properties; the limit is then applied by\n"
+               + "each cluster member so that only the first groups are returned. For example:\n"
+               + "    SELECT supplier, SUM(amount) FROM 'orders' GROUP BY supplier\n"
+               + "        ORDER BY supplier DESC LIMIT 10";
         }
 
     // ----- helper methods -------------------------------------------------
@@ -157,6 +211,171 @@ public class SelectStatementBuilder
         return aggregator;
         }
 
+    /**
+     * Evaluate the LIMIT expression of this select query.
+     *
+     * @param termLimit      the AST term of the LIMIT expression
+     * @param listBindVars   the indexed bind variables
+     * @param namedBindVars  the named bind variables
+     * @param ctx            the {@link ExecutionContext} to use
+     *
+     * @return the maximum number of results to return
+     *
+     * @throws CohQLException if the LIMIT expression is not a positive integer
+     */
+    protected int createLimit(Term termLimit, List listBindVars, ParameterResolver namedBindVars,
+            ExecutionContext ctx)
+        {
+        Object oLimit;
+        try
+            {
+            oLimit = new UpdateSetListMaker(listBindVars, namedBindVars, ctx.getCoherenceQueryLanguage())
+                    .makeObject((NodeTerm) termLimit);
+            }
+        catch (Exception e)
+            {
+            throw new CohQLException("Error evaluating LIMIT", e);
+            }
+
+        if (oLimit instanceof Number && ((Number) oLimit).longValue() > 0)
+            {
+            return (int) Math.min(((Number) oLimit).longValue(), Integer.MAX_VALUE);
+            }
+
+        throw new CohQLException("LIMIT must be a positive integer: " + oLimit);
+        }
+
+    /**
+     * Create the {@link Comparator} that will sort the entries returned by
+     * a "SELECT *" query.
+     *
+     * @param sCacheName     the cache being queried
+     * @param sAlias         the alias of the cache name
+     * @param orderBy        the AST node of the ORDER BY sort keys
+     * @param listBindVars   the indexed bind variables
+     * @param namedBindVars  the named bind variables
+     * @param ctx            the {@link ExecutionContext} to use
+     *
+     * @return a Comparator of the cache entries
+     */
+    protected Comparator createEntryComparator(String sCacheName, String sAlias, NodeTerm orderBy,
+            List listBindVars, ParameterResolver namedBindVars, ExecutionContext ctx)
+        {
+        Comparator[] aComparators = new Comparator[orderBy.length()];
+
+        for (int i = 0; i < aComparators.length; i++)
+            {
+            Term            sortKey     = orderBy.termAt(i + 1);
+            SelectListMaker transformer = createSelectListMaker(listBindVars, namedBindVars,
+                                                                ctx.getCoherenceQueryLanguage());
+
+            transformer.setAlias(sAlias);
+            transformer.makeSelectsForCache(sCacheName, (NodeTerm) Terms.newTerm("fieldList", sortKey.termAt(1)));
+
+            ValueExtractor extractor = transformer.getResultsAsValueExtractor();
+            if (extractor == null)
+                {
+                throw new CohQLException("ORDER BY must only reference properties: " + sortKey.termAt(1));
+                }
+
+            aComparators[i] = ensureDirection(new ExtractorComparator(extractor), sortKey);
+            }
+
+        return aComparators.length == 1 ? aComparators[0] : new ChainedComparator(aComparators);
+        }
+
+    /**
+     * Create a {@link GroupAggregator} that orders the groups of the
+     * specified aggregator by the ORDER BY properties and limits the number
+     * of the groups it returns.
+     * <p>
+     * The ORDER BY properties must be GROUP BY properties, so that the groups
+     * are ordered by their keys, which allows each member to only return the
+     * first groups of its partial result. If there is no ORDER BY clause, the
+     * groups are ordered by all the GROUP BY properties.
+     *
+     * @param aggregator  the GroupAggregator of the query
+     * @param groupBy     the AST node of the GROUP BY properties
+     * @param orderBy     the AST node of the ORDER BY sort keys; may be null
+     * @param cLimit      the maximum number of groups, or zero for no limit
+     *
+     * @return the ordered GroupAggregator
+     */
+    protected InvocableMap.EntryAggregator createOrderedGroupAggregator(GroupAggregator aggregator,
+            NodeTerm groupBy, NodeTerm orderBy, int cLimit)
+        {
+        int          cGroupBy     = groupBy.length();
+        int          cOrderBy     = orderBy == null ? cGroupBy : orderBy.length();
+        Comparator[] aComparators = new Comparator[cOrderBy];
+
+        for (int i = 0; i < cOrderBy; i++)
+            {
+            if (orderBy == null)
+                {
+                aComparators[i] = createGroupKeyComparator(i, cGroupBy);
+                continue;
+                }
+
+            Term sortKey  = orderBy.termAt(i + 1);
+            int  nGroupBy = -1;
+            for (int j = 0; j < cGroupBy && nGroupBy < 0; j++)
+                {
+                if (groupBy.termAt(j + 1).termEqual(sortKey.termAt(1)))
+                    {
+                    nGroupBy = j;
+                    }
+                }
+
+            if (nGroupBy < 0)
+                {
+                throw new CohQLException("ORDER BY fields of a GROUP BY query must be GROUP BY fields: "
+                                         + sortKey.termAt(1));
+                }
+
+            aComparators[i] = ensureDirection(createGroupKeyComparator(nGroupBy, cGroupBy), sortKey);
+            }
+
+        Comparator comparator = aComparators.length == 1 ? aComparators[0] : new ChainedComparator(aComparators);
+
+        return GroupAggregator.createInstance(aggregator.getExtractor(), aggregator.getAggregator(),
+                                              null, comparator, cLimit);
+        }
+
+    /**
+     * Create a {@link Comparator} of the keys of the groups created by a
+     * {@link GroupAggregator} that compares the value of the specified
+     * GROUP BY property.
+     *
+     * @param nGroupBy  the index of the GROUP BY property
+     * @param cGroupBy  the number of GROUP BY properties
+     *
+     * @return a Comparator of the group keys
+     */
+    protected Comparator createGroupKeyComparator(int nGroupBy, int cGroupBy)
+        {
+        // the key of a group is the value of the GROUP BY property, or the
+        // List of the values when there are multiple GROUP BY properties
+        return cGroupBy == 1
+               ? new SafeComparator()
+               : new ExtractorComparator(new ReflectionExtractor("get", new Object[] {nGroupBy}));
+        }
+
+    /**
+     * Return the specified {@link Comparator}, or its inverse if the
+     * specified ORDER BY sort key is descending.
+     *
+     * @param comparator  the ascending Comparator
+     * @param sortKey     the AST node of the ORDER BY sort key
+     *
+     * @return the Comparator for the direction of the sort key
+     */
+    protected Comparator ensureDirection(Comparator comparator, Term sortKey)
+        {
+        return "true".equals(atomicStringValueOf(sortKey.termAt(2)))
+               ? new InverseComparator(comparator)
+               : comparator;
+        }
+
     /**
      * Create an instance of a {@link SelectListMaker}.
      *
@@ -300,10 +519,29 @@ public class SelectStatementBuilder
         public SelectStatement(String sCache, Filter filter,
                                InvocableMap.EntryAggregator aggregator, boolean fReduction)
             {
+            this(sCache, filter, aggregator, fReduction, null);
+            }
+
+        /**
+         * Construct a SelectStatement that will query the specified cache and
+         * sort the resulting entries.
+         *
+         * @param sCache      the cache to query
+         * @param filter      the {@link Filter} to use to query tha cache
+         * @param aggregator  the {@link InvocableMap.EntryAggregator} to run against the cache entries
+         * @param fReduction  a flag indicating whether this query is a sub-set of entry fields
+         * @param comparator  the optional {@link Comparator} used to sort the entries
+         *                    when the query has no aggregator
+         */
+        public SelectStatement(String sCache, Filter filter,
+                               InvocableMap.EntryAggregator aggregator, boolean fReduction,
+                               Comparator comparator)
+            {
             f_sCache     = sCache;
             f_filter     = filter;
             f_aggregator = aggregator;
             f_fReduction = fReduction;
+            f_comparator = comparator;
             }
 
         // ----- Statement interface ----------------------------------------
@@ -316,7 +554,9 @@ public class SelectStatementBuilder
 
             if (f_aggregator == null)
                 {
-                oResult = cache.entrySet(f_filter);
+                oResult = f_comparator == null
+                          ? cache.entrySet(f_filter)
+                          : cache.entrySet(f_filter, f_comparator);
                 }
             else
                 {
@@ -334,7 +574,9 @@ public class SelectStatementBuilder
 
             if (f_aggregator == null)
                 {
-                future = cache.async().entrySet(f_filter);
+                future = f_comparator == null
+                         ? cache.async().entrySet(f_filter)
+                         : cache.async().entrySet(f_filter, f_comparator);
                 }
             else
                 {
@@ -349,11 +591,16 @@ public class SelectStatementBuilder
         @Override
         public void showPlan(PrintWriter out)
             {
-            if (f_aggregator == null)
+            if (f_aggregator == null && f_comparator == null)
                 {
                 out.printf("CacheFactory.getCache(\"%s\").entrySet(%s)",
                            f_sCache, f_filter);
                 }
+            else if (f_aggregator == null)
+                {
+                out.printf("CacheFactory.getCache(\"%s\").entrySet(%s, %s)",
+                           f_sCache, f_filter, f_comparator);
+                }
             else
                 {
                 out.printf("CacheFactory.getCache(\"%s\").aggregate(%s, %s)",
@@ -391,6 +638,18 @@ public class SelectStatementBuilder
             return f_aggregator;
             }
 
+        /**
+         * Return the {@link Comparator} used to sort the entries returned
+         * by this query.
+         *
+         * @return the Comparator used to sort the entries, or null if the
+         *         entries are not sorted
+         */
+        public Comparator getComparator()
+            {
+            return f_comparator;
+            }
+
         // ----- data members -----------------------------------------------
 
         /**
@@ -413,6 +672,12 @@ public class SelectStatementBuilder
          * fields from the values of a cache; e.g. select x, y, z from foo.
          */
         protected final boolean f_fReduction;
+
+        /**
+         * The {@link Comparator} used to sort the entries returned by a
+         * query without an aggregator.
+         */
+        protected final Comparator f_comparator;
         }
 
     // ----- constants ------------------------------------------------------
@@ -1,8 +1,8 @@
 /*
- * Copyright (c) 2000, 2020, Oracle and/or its affiliates.
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
  *
  * Licensed under the Universal Permissive License v 1.0 as shown at
- * http://oss.oracle.com/licenses/upl.
+ * https://oss.oracle.com/licenses/upl.
  */
 package com.tangosol.coherence.dslquery.token;
 
@@ -15,7 +15,9 @@ import com.tangosol.coherence.dsltools.termtrees.NodeTerm;
 import com.tangosol.coherence.dsltools.termtrees.Term;
 import com.tangosol.coherence.dsltools.termtrees.Terms;
 
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -28,6 +30,8 @@ import java.util.Map;
  * FROM 'cache-name' [[AS] alias]
  * [WHERE conditional-expression]
  * [GROUP [BY] properties+]
+ * [ORDER [BY] (property [ASC | DESC])+]
+ * [LIMIT number]
  *
  * @author djl  2009.09.10
  */
@@ -71,6 +75,8 @@ public class SQLSelectOPToken
 
         Term fieldList;
         Term groupBy       = null;
+        Term orderBy       = null;
+        Term limit         = null;
         Term whereClause   = null;
         Term table         = null;
         Term subSelectTerm = null;
@@ -106,7 +112,7 @@ public class SQLSelectOPToken
                 }
 
             table = Terms.newTerm("from", cacheName);
-            alias = checkAlias(parser, ",", "where", "group");
+            alias = checkAlias(parser, ",", "where", "group", "order", "limit");
 
             s.advanceWhenMatching(",");
             parseSubSelects(parser, s, subSelectMap);
@@ -147,12 +153,69 @@ public class SQLSelectOPToken
                 {
                 groupBy = Terms.newTerm("groupBy");
                 }
+
+            if (s.advanceWhenMatching("order"))
+                {
+                s.advanceWhenMatching("by");
+                orderBy = Terms.newTerm("orderBy", parseOrderBy(parser, s));
+                }
+
+            if (s.advanceWhenMatching("limit"))
+                {
+                limit = Terms.newTerm("limit", parser.expression(OPToken.PRECEDENCE_ASSIGNMENT));
+                }
             }
 
-        return new NodeTerm(FUNCTOR, new Term[]
+        NodeTerm select = new NodeTerm(FUNCTOR, new Term[]
             {
             isDistinct, fieldList, table, alias, subSelectTerm, whereClause, groupBy
             });
+
+        // the optional ORDER BY and LIMIT clauses are only added when present
+        // so that the AST of the queries without them remains unchanged
+        if (orderBy != null)
+            {
+            select.withChild(orderBy);
+            }
+
+        if (limit != null)
+            {
+            select.withChild(limit);
+            }
+
+        return select;
+        }
+
+    /**
+     * Parse the comma separated list of the ORDER BY properties, each of
+     * which could be followed by the ASC or DESC keyword.
+     *
+     * @param p  the parser
+     * @param s  the scanner
+     *
+     * @return the array of "sortKey" terms, each holding the property and
+     *         a flag indicating whether the sort order is descending
+     */
+    private Term[] parseOrderBy(OPParser p, OPScanner s)
+        {
+        List<Term> listKeys = new ArrayList<>();
+
+        do
+            {
+            Term    property    = p.expression(0);
+            boolean fDescending = s.advanceWhenMatching("desc");
+
+            if (!fDescending)
+                {
+                s.advanceWhenMatching("asc");
+                }
+
+            listKeys.add(Terms.newTerm("sortKey", property,
+                    AtomicTerm.createString(String.valueOf(fDescending))));
+            }
+        while (!s.isEndOfStatement() && s.advanceWhenMatching(","));
+
+        return listKeys.toArray(new Term[0]);
         }
 
     private void parseSubSelects(OPParser p, OPScanner s, Map<Term, Term> subSelectMap)
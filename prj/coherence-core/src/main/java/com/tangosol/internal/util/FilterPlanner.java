@@ -0,0 +1,501 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.tangosol.internal.util;
+
+import com.tangosol.util.Filter;
+import com.tangosol.util.IndexStatistics;
+import com.tangosol.util.MapIndex;
+import com.tangosol.util.SimpleMapIndex;
+
+import com.tangosol.util.filter.AllFilter;
+import com.tangosol.util.filter.AnyFilter;
+import com.tangosol.util.filter.ArrayFilter;
+import com.tangosol.util.filter.BetweenFilter;
+import com.tangosol.util.filter.ComparisonFilter;
+import com.tangosol.util.filter.EqualsFilter;
+import com.tangosol.util.filter.ExtractorFilter;
+import com.tangosol.util.filter.GreaterEqualsFilter;
+import com.tangosol.util.filter.GreaterFilter;
+import com.tangosol.util.filter.InFilter;
+import com.tangosol.util.filter.IndexAwareFilter;
+import com.tangosol.util.filter.LessEqualsFilter;
+import com.tangosol.util.filter.LessFilter;
+import com.tangosol.util.filter.NotEqualsFilter;
+import com.tangosol.util.filter.NotFilter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A cost-based planner that determines the order in which the filters of an
+ * {@link ArrayFilter} are applied.
+ * <p>
+ * The cost of a filter that uses a {@link SimpleMapIndex} is the estimated
+ * number of keys that match it, which is derived from the
+ * {@link IndexStatistics} of the index: the number of keys for a value is
+ * exact, and the number of keys within a range is estimated using the
+ * histogram of the index. The selectivities of the filters nested within
+ * {@link AllFilter} and {@link AnyFilter} are combined assuming that the
+ * filters are independent. The cost of any other filter is its
+ * {@link IndexAwareFilter#calculateEffectiveness effectiveness}, or the cost
+ * of evaluating it against every key if it cannot use an index.
+ * <p>
+ * The plans are cached by the statistics of the first index used by the
+ * filter, keyed by the filter itself, and are reused until any of the indexes
+ * used by the filter changes significantly or the number of keys to filter
+ * changes by more than a factor of two. As the statistics are kept by the
+ * indexes of each partition, so are the cached plans.
+ *
+ * @since 25.09
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+public final class FilterPlanner
+    {
+    // ---- constructors ----------------------------------------------------
+
+    /**
+     * Not able to be constructed.
+     */
+    private FilterPlanner()
+        {
+        }
+
+    // ---- planning --------------------------------------------------------
+
+    /**
+     * Return the plan for the specified filter.
+     *
+     * @param filter      the filter to plan
+     * @param aFilter     the filters of the filter to plan, in their original
+     *                    order
+     * @param mapIndexes  the available MapIndex objects keyed by the related
+     *                    ValueExtractor; read-only
+     * @param setKeys     the set of keys that will be filtered; read-only
+     *
+     * @return the plan for the filter
+     */
+    public static Plan plan(ArrayFilter filter, Filter<?>[] aFilter, Map mapIndexes, Set setKeys)
+        {
+        int                   cKeys     = setKeys.size();
+        List<IndexStatistics> listStats = new ArrayList<>();
+
+        collectStatistics(filter, mapIndexes, listStats);
+
+        IndexStatistics[] aStats = listStats.toArray(new IndexStatistics[0]);
+        if (aStats.length == 0)
+            {
+            return createPlan(aFilter, mapIndexes, setKeys, aStats);
+            }
+
+        IndexStatistics statsAnchor = aStats[0];
+        Plan            plan        = (Plan) statsAnchor.getPlan(filter);
+        if (plan == null || !plan.isValid(aStats, cKeys))
+            {
+            plan = createPlan(aFilter, mapIndexes, setKeys, aStats);
+            statsAnchor.putPlan(filter, plan);
+            }
+        return plan;
+        }
+
+    /**
+     * Estimate the fraction of the keys that match the specified filter,
+     * using the statistics of the indexes used by the filter.
+     *
+     * @param filter      the filter
+     * @param mapIndexes  the available MapIndex objects keyed by the related
+     *                    ValueExtractor; read-only
+     *
+     * @return the fraction of the keys that match the filter, between 0 and
+     *         1, or {@link Double#NaN} if it cannot be estimated
+     */
+    public static double estimateSelectivity(Filter<?> filter, Map mapIndexes)
+        {
+        if (filter instanceof BetweenFilter)
+            {
+            BetweenFilter   filterBetween = (BetweenFilter) filter;
+            IndexStatistics stats         = getStatistics(mapIndexes, filterBetween.getValueExtractor());
+            if (stats == null)
+                {
+                return Double.NaN;
+                }
+
+            Object oLow  = filterBetween.getLowerBound();
+            Object oHigh = filterBetween.getUpperBound();
+
+            return oLow == null || oHigh == null
+                   ? 0.0
+                   : range(stats.estimateRange(oLow, filterBetween.isLowerBoundInclusive(),
+                                               oHigh, filterBetween.isUpperBoundInclusive()));
+            }
+
+        if (filter instanceof AllFilter)
+            {
+            // the filters that cannot be estimated do not reduce the estimate
+            double dResult = Double.NaN;
+            for (Filter<?> filterSub : ((ArrayFilter) filter).getFilters())
+                {
+                double d = estimateSelectivity(filterSub, mapIndexes);
+                if (!Double.isNaN(d))
+                    {
+                    dResult = Double.isNaN(dResult) ? d : dResult * d;
+                    }
+                }
+            return dResult;
+            }
+
+        if (filter instanceof AnyFilter)
+            {
+            double dNone = 1.0;
+            for (Filter<?> filterSub : ((ArrayFilter) filter).getFilters())
+                {
+                double d = estimateSelectivity(filterSub, mapIndexes);
+                if (Double.isNaN(d))
+                    {
+                    return Double.NaN;
+                    }
+                dNone *= 1.0 - d;
+                }
+            return 1.0 - dNone;
+            }
+
+        if (filter instanceof NotFilter)
+            {
+            return 1.0 - estimateSelectivity(((NotFilter) filter).getFilter(), mapIndexes);
+            }
+
+        if (filter instanceof ComparisonFilter)
+            {
+            ComparisonFilter filterCompare = (ComparisonFilter) filter;
+            IndexStatistics  stats         = getStatistics(mapIndexes, filterCompare.getValueExtractor());
+            if (stats == null)
+                {
+                return Double.NaN;
+                }
+
+            Object oValue = filterCompare.getValue();
+
+            if (filter instanceof InFilter && oValue instanceof Collection)
+                {
+                double dResult = 0.0;
+                for (Object o : (Collection) oValue)
+                    {
+                    dResult += stats.estimateEquals(o);
+                    }
+                return Math.min(1.0, dResult);
+                }
+            if (filter instanceof NotEqualsFilter)
+                {
+                return 1.0 - stats.estimateEquals(oValue);
+                }
+            if (filter instanceof EqualsFilter)
+                {
+                return stats.estimateEquals(oValue);
+                }
+            if (oValue == null)
+                {
+                return Double.NaN;
+                }
+            if (filter instanceof GreaterEqualsFilter)
+                {
+                return range(stats.estimateRange(oValue, true, null, false));
+                }
+            if (filter instanceof GreaterFilter)
+                {
+                return range(stats.estimateRange(oValue, false, null, false));
+                }
+            if (filter instanceof LessEqualsFilter)
+                {
+                return range(stats.estimateRange(null, false, oValue, true));
+                }
+            if (filter instanceof LessFilter)
+                {
+                return range(stats.estimateRange(null, false, oValue, false));
+                }
+            }
+
+        return Double.NaN;
+        }
+
+    // ---- helpers ---------------------------------------------------------
+
+    /**
+     * Create a plan for the specified filters.
+     *
+     * @param aFilter     the filters to plan
+     * @param mapIndexes  the available MapIndex objects keyed by the related
+     *                    ValueExtractor; read-only
+     * @param setKeys     the set of keys that will be filtered; read-only
+     * @param aStats      the statistics of the indexes used by the filters
+     *
+     * @return a new plan
+     */
+    private static Plan createPlan(Filter<?>[] aFilter, Map mapIndexes, Set setKeys, IndexStatistics[] aStats)
+        {
+        int    cKeys    = setKeys.size();
+        int    cFilters = aFilter.length;
+        int    nMax     = (int) Math.min(Integer.MAX_VALUE, (long) cKeys * ExtractorFilter.EVAL_COST);
+        long[] alOrder  = new long[cFilters];
+
+        for (int i = 0; i < cFilters; i++)
+            {
+            Filter<?> filter = aFilter[i];
+            double    d      = estimateSelectivity(filter, mapIndexes);
+            int       nCost;
+
+            if (!Double.isNaN(d))
+                {
+                nCost = (int) Math.round(d * cKeys);
+                }
+            else if (filter instanceof IndexAwareFilter)
+                {
+                nCost = ((IndexAwareFilter) filter).calculateEffectiveness(mapIndexes, setKeys);
+                if (nCost < 0)   // there is no index to apply or the cost overflowed
+                    {
+                    nCost = nMax;
+                    }
+                }
+            else
+                {
+                nCost = nMax;
+                }
+
+            // sort by the cost, keeping the original order of equal costs
+            alOrder[i] = ((long) nCost << 32) | i;
+            }
+
+        Arrays.sort(alOrder);
+
+        int[] aiOrder = new int[cFilters];
+        int[] anCost  = new int[cFilters];
+        for (int i = 0; i < cFilters; i++)
+            {
+            aiOrder[i] = (int) alOrder[i];
+            anCost[i]  = (int) (alOrder[i] >>> 32);
+            }
+
+        long[] acMods = new long[aStats.length];
+        for (int i = 0; i < aStats.length; i++)
+            {
+            acMods[i] = aStats[i].getModificationCount();
+            }
+
+        return new Plan(aiOrder, anCost, aStats, acMods, cKeys);
+        }
+
+    /**
+     * Collect the statistics of the indexes that could be used to estimate
+     * the selectivity of the specified filter.
+     *
+     * @param filter      the filter
+     * @param mapIndexes  the available MapIndex objects keyed by the related
+     *                    ValueExtractor; read-only
+     * @param listStats   the list to add the statistics to
+     */
+    private static void collectStatistics(Filter<?> filter, Map mapIndexes, List<IndexStatistics> listStats)
+        {
+        IndexStatistics stats = null;
+        if (filter instanceof BetweenFilter)
+            {
+            stats = getStatistics(mapIndexes, ((BetweenFilter) filter).getValueExtractor());
+            }
+        else if (filter instanceof ArrayFilter)
+            {
+            for (Filter<?> filterSub : ((ArrayFilter) filter).getFilters())
+                {
+                collectStatistics(filterSub, mapIndexes, listStats);
+                }
+            }
+        else if (filter instanceof NotFilter)
+            {
+            collectStatistics(((NotFilter) filter).getFilter(), mapIndexes, listStats);
+            }
+        else if (filter instanceof ComparisonFilter)
+            {
+            stats = getStatistics(mapIndexes, ((ComparisonFilter) filter).getValueExtractor());
+            }
+
+        if (stats != null && !listStats.contains(stats))
+            {
+            listStats.add(stats);
+            }
+        }
+
+    /**
+     * Return the statistics of the index for the specified extractor.
+     *
+     * @param mapIndexes  the available MapIndex objects keyed by the related
+     *                    ValueExtractor; read-only
+     * @param extractor   the extractor
+     *
+     * @return the statistics of the index, or null if there is no index for
+     *         the extractor or the index does not keep statistics
+     */
+    private static IndexStatistics getStatistics(Map mapIndexes, Object extractor)
+        {
+        MapIndex index = mapIndexes == null ? null : (MapIndex) mapIndexes.get(extractor);
+
+        return index instanceof SimpleMapIndex
+               ? ((SimpleMapIndex) index).getStatistics()
+               : null;
+        }
+
+    /**
+     * Convert the result of {@link IndexStatistics#estimateRange} to a
+     * selectivity.
+     *
+     * @param d  the estimated fraction, or -1 if it is unknown
+     *
+     * @return the selectivity, or {@link Double#NaN} if it is unknown
+     */
+    private static double range(double d)
+        {
+        return d < 0 ? Double.NaN : d;
+        }
+
+    // ---- inner class: Plan -----------------------------------------------
+
+    /**
+     * The order in which the filters of an {@link ArrayFilter} are applied,
+     * along with their estimated costs.
+     * <p>
+     * The plan refers to the filters by their position in the original
+     * order, so that a cached plan can be applied to any filter that is
+     * equal to the planned one.
+     */
+    public static class Plan
+        {
+        /**
+         * Construct a Plan.
+         *
+         * @param aiOrder  the original position of each filter, in the order
+         *                 of the plan
+         * @param anCost   the estimated cost of each filter, in the order of
+         *                 the plan
+         * @param aStats   the statistics used to create the plan
+         * @param acMods   the modification count of each statistics at the
+         *                 time the plan was created
+         * @param cKeys    the number of keys to filter
+         */
+        protected Plan(int[] aiOrder, int[] anCost, IndexStatistics[] aStats, long[] acMods, int cKeys)
+            {
+            f_aiOrder = aiOrder;
+            f_anCost  = anCost;
+            f_aStats  = aStats;
+            f_acMods  = acMods;
+            f_cKeys   = cKeys;
+            }
+
+        /**
+         * Return the specified filters in the order of the plan.
+         *
+         * @param aFilter  the filters, in their original order
+         *
+         * @return the filters, in the order of the plan
+         */
+        public Filter<?>[] order(Filter<?>[] aFilter)
+            {
+            int[]       aiOrder     = f_aiOrder;
+            Filter<?>[] aFilterPlan = new Filter[aiOrder.length];
+            for (int i = 0; i < aiOrder.length; i++)
+                {
+                aFilterPlan[i] = aFilter[aiOrder[i]];
+                }
+            return aFilterPlan;
+            }
+
+        /**
+         * Return the estimated cost of the filter at the specified position
+         * in the plan.
+         *
+         * @param i  the position of the filter
+         *
+         * @return the estimated cost of the filter
+         */
+        public int getCost(int i)
+            {
+            return f_anCost[i];
+            }
+
+        /**
+         * Determine whether this plan can be used with the specified
+         * statistics and number of keys.
+         *
+         * @param aStats  the statistics of the indexes used by the filter
+         * @param cKeys   the number of keys to filter
+         *
+         * @return true iff this plan can still be used
+         */
+        protected boolean isValid(IndexStatistics[] aStats, int cKeys)
+            {
+            IndexStatistics[] aStatsPlan = f_aStats;
+            if (aStats.length != aStatsPlan.length
+                || cKeys > 2 * f_cKeys || 2 * cKeys < f_cKeys)
+                {
+                return false;
+                }
+
+            for (int i = 0; i < aStats.length; i++)
+                {
+                if (aStats[i] != aStatsPlan[i] || aStats[i].isStale(f_acMods[i]))
+                    {
+                    return false;
+                    }
+                }
+            return true;
+            }
+
+        /**
+         * {@inheritDoc}
+         */
+        public String toString()
+            {
+            StringBuilder sb = new StringBuilder("Plan(");
+            for (int i = 0; i < f_aiOrder.length; i++)
+                {
+                if (i > 0)
+                    {
+                    sb.append(", ");
+                    }
+                sb.append(f_aiOrder[i]).append('=').append(f_anCost[i]);
+                }
+            return sb.append(')').toString();
+            }
+
+        // ---- data members ------------------------------------------------
+
+        /**
+         * The original position of each filter, in the order of the plan.
+         */
+        private final int[] f_aiOrder;
+
+        /**
+         * The estimated cost of each filter.
+         */
+        private final int[] f_anCost;
+
+        /**
+         * The statistics used to create the plan.
+         */
+        private final IndexStatistics[] f_aStats;
+
+        /**
+         * The modification count of each statistics at the time the plan was
+         * created.
+         */
+        private final long[] f_acMods;
+
+        /**
+         * The number of keys to filter.
+         */
+        private final int f_cKeys;
+        }
+    }
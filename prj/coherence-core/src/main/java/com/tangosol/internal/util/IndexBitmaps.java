@@ -0,0 +1,474 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.tangosol.internal.util;
+
+import com.tangosol.util.BitmapMapIndex;
+import com.tangosol.util.Filter;
+import com.tangosol.util.KeyBitmap;
+import com.tangosol.util.KeyOrdinals;
+
+import com.tangosol.util.comparator.SafeComparator;
+
+import com.tangosol.util.filter.AllFilter;
+import com.tangosol.util.filter.AnyFilter;
+import com.tangosol.util.filter.ArrayFilter;
+import com.tangosol.util.filter.BetweenFilter;
+import com.tangosol.util.filter.ComparisonFilter;
+import com.tangosol.util.filter.EqualsFilter;
+import com.tangosol.util.filter.GreaterEqualsFilter;
+import com.tangosol.util.filter.GreaterFilter;
+import com.tangosol.util.filter.InFilter;
+import com.tangosol.util.filter.LessEqualsFilter;
+import com.tangosol.util.filter.LessFilter;
+import com.tangosol.util.filter.NotFilter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+
+/**
+ * Helper methods that evaluate filters against {@link BitmapMapIndex bitmap
+ * indexes}.
+ * <p>
+ * The filters that use bitmap indexes sharing the same {@link KeyOrdinals}
+ * are evaluated to a {@link KeyBitmap} of the ordinals of the matching keys:
+ * the bitmaps of the indexed values are combined using word-level bitmap
+ * operations, and only the ordinals of the keys that match all of the filters
+ * are converted back to keys when the set of keys to filter is reduced.
+ * <p>
+ * A filter can be evaluated if it is an {@link EqualsFilter},
+ * {@link InFilter}, {@link GreaterFilter}, {@link GreaterEqualsFilter},
+ * {@link LessFilter}, {@link LessEqualsFilter} or {@link BetweenFilter} that
+ * uses a bitmap index, or an {@link AllFilter} or {@link AnyFilter} of such
+ * filters. The filters nested within an {@link AllFilter} may also be negated
+ * using a {@link NotFilter}.
+ *
+ * @since 25.09
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+public final class IndexBitmaps
+    {
+    // ---- constructors ----------------------------------------------------
+
+    /**
+     * Not able to be constructed.
+     */
+    private IndexBitmaps()
+        {
+        }
+
+    // ---- filter evaluation -----------------------------------------------
+
+    /**
+     * Return the ordinals shared by the bitmap indexes used by any of the
+     * specified filters.
+     *
+     * @param mapIndexes  the available MapIndex objects keyed by the related
+     *                    ValueExtractor
+     * @param aFilter     the filters
+     *
+     * @return the ordinals of the keys, or null if none of the filters uses a
+     *         bitmap index
+     */
+    public static KeyOrdinals getOrdinals(Map mapIndexes, Filter<?>[] aFilter)
+        {
+        for (Filter<?> filter : aFilter)
+            {
+            KeyOrdinals ordinals = null;
+            if (filter instanceof BetweenFilter)
+                {
+                ordinals = getOrdinals(mapIndexes, ((BetweenFilter) filter).getValueExtractor());
+                }
+            else if (filter instanceof ComparisonFilter)
+                {
+                ordinals = getOrdinals(mapIndexes, ((ComparisonFilter) filter).getValueExtractor());
+                }
+            else if (filter instanceof NotFilter)
+                {
+                ordinals = getOrdinals(mapIndexes, new Filter[] {((NotFilter) filter).getFilter()});
+                }
+            else if (filter instanceof AllFilter || filter instanceof AnyFilter)
+                {
+                ordinals = getOrdinals(mapIndexes, ((ArrayFilter) filter).getFilters());
+                }
+
+            if (ordinals != null)
+                {
+                return ordinals;
+                }
+            }
+        return null;
+        }
+
+    /**
+     * Evaluate the specified filter against the bitmap indexes that use the
+     * specified ordinals.
+     *
+     * @param filter      the filter to evaluate
+     * @param mapIndexes  the available MapIndex objects keyed by the related
+     *                    ValueExtractor
+     * @param ordinals    the ordinals of the keys
+     *
+     * @return the bitmap of the ordinals of the keys that match the filter,
+     *         or null if the filter cannot be evaluated using the bitmap
+     *         indexes
+     */
+    public static KeyBitmap evaluate(Filter<?> filter, Map mapIndexes, KeyOrdinals ordinals)
+        {
+        // BetweenFilter is an AllFilter, so it must be checked first
+        if (filter instanceof BetweenFilter)
+            {
+            BetweenFilter  filterBetween = (BetweenFilter) filter;
+            BitmapMapIndex index         = getIndex(mapIndexes, filterBetween.getValueExtractor(), ordinals);
+            Object         oLow          = filterBetween.getLowerBound();
+            Object         oHigh         = filterBetween.getUpperBound();
+
+            return index == null || oLow == null || oHigh == null
+                    ? null
+                    : evaluateRange(index, oLow, filterBetween.isLowerBoundInclusive(),
+                                    oHigh, filterBetween.isUpperBoundInclusive());
+            }
+        if (filter instanceof AllFilter)
+            {
+            List<Filter<?>> listRemain = new ArrayList<>();
+            KeyBitmap       bitmap     = evaluateAll(((AllFilter) filter).getFilters(), mapIndexes, ordinals, listRemain);
+
+            return listRemain.isEmpty() ? bitmap : null;
+            }
+        if (filter instanceof AnyFilter)
+            {
+            Filter<?>[]     aFilter    = ((AnyFilter) filter).getFilters();
+            List<KeyBitmap> listBitmap = new ArrayList<>(aFilter.length);
+            for (Filter<?> filterAny : aFilter)
+                {
+                KeyBitmap bitmap = evaluate(filterAny, mapIndexes, ordinals);
+                if (bitmap == null)
+                    {
+                    return null;
+                    }
+                listBitmap.add(bitmap);
+                }
+            return KeyBitmap.or(listBitmap);
+            }
+        if (!(filter instanceof ComparisonFilter))
+            {
+            return null;
+            }
+
+        ComparisonFilter filterCmp = (ComparisonFilter) filter;
+        BitmapMapIndex   index     = getIndex(mapIndexes, filterCmp.getValueExtractor(), ordinals);
+        Object           oValue    = filterCmp.getValue();
+
+        if (index == null)
+            {
+            return null;
+            }
+        if (filter instanceof EqualsFilter)
+            {
+            KeyBitmap bitmap = index.getBitmap(oValue);
+            return bitmap == null ? new KeyBitmap() : bitmap;
+            }
+        if (filter instanceof InFilter)
+            {
+            List<KeyBitmap> listBitmap = new ArrayList<>();
+            for (Object o : (Collection) oValue)
+                {
+                KeyBitmap bitmap = index.getBitmap(o);
+                if (bitmap != null)
+                    {
+                    listBitmap.add(bitmap);
+                    }
+                }
+            return KeyBitmap.or(listBitmap);
+            }
+        if (filter instanceof GreaterFilter || filter instanceof LessFilter)
+            {
+            if (oValue == null)
+                {
+                // nothing could be compared to null
+                return new KeyBitmap();
+                }
+
+            return filter instanceof GreaterFilter
+                    ? evaluateRange(index, oValue, filter instanceof GreaterEqualsFilter, null, false)
+                    : evaluateRange(index, null, false, oValue, filter instanceof LessEqualsFilter);
+            }
+        return null;
+        }
+
+    /**
+     * Evaluate the filters nested within an {@link AllFilter} against the
+     * bitmap indexes that use the specified ordinals.
+     * <p>
+     * The bitmaps of the filters that can be evaluated are intersected, and
+     * the bitmaps of the negated filters are subtracted from the
+     * intersection. At least one filter that is not negated must be
+     * evaluated, as the bitmap of all the keys is not known.
+     *
+     * @param aFilter     the filters nested within the AllFilter
+     * @param mapIndexes  the available MapIndex objects keyed by the related
+     *                    ValueExtractor
+     * @param ordinals    the ordinals of the keys
+     * @param listRemain  the list to add the filters that could not be
+     *                    evaluated to
+     *
+     * @return the bitmap of the ordinals of the keys that match all of the
+     *         evaluated filters, or null if no filters could be evaluated
+     */
+    public static KeyBitmap evaluateAll(Filter<?>[] aFilter, Map mapIndexes, KeyOrdinals ordinals,
+            List<Filter<?>> listRemain)
+        {
+        KeyBitmap       bitmapAll  = null;
+        List<Filter<?>> listNot    = new ArrayList<>();
+        List<KeyBitmap> listBitmap = new ArrayList<>();
+
+        for (Filter<?> filter : aFilter)
+            {
+            if (filter instanceof NotFilter)
+                {
+                listNot.add(filter);
+                continue;
+                }
+
+            KeyBitmap bitmap = evaluate(filter, mapIndexes, ordinals);
+            if (bitmap == null)
+                {
+                listRemain.add(filter);
+                }
+            else
+                {
+                listBitmap.add(bitmap);
+                }
+            }
+
+        // intersect the smallest bitmaps first
+        listBitmap.sort(Comparator.comparingInt(KeyBitmap::cardinality));
+        for (KeyBitmap bitmap : listBitmap)
+            {
+            bitmapAll = bitmapAll == null ? bitmap : bitmapAll.and(bitmap);
+            }
+
+        for (Filter<?> filter : listNot)
+            {
+            Filter<?> filterNot = ((NotFilter) filter).getFilter();
+            KeyBitmap bitmap    = bitmapAll == null || !isComplete(filterNot, mapIndexes)
+                    ? null : evaluate(filterNot, mapIndexes, ordinals);
+
+            if (bitmap == null)
+                {
+                listRemain.add(filter);
+                }
+            else
+                {
+                bitmapAll = bitmapAll.andNot(bitmap);
+                }
+            }
+
+        return bitmapAll;
+        }
+
+    /**
+     * Remove from the specified set the keys that do not have their ordinals
+     * in the specified bitmap.
+     *
+     * @param setKeys   the mutable set of keys that remain to be filtered
+     * @param bitmap    the bitmap of the ordinals of the keys to retain
+     * @param ordinals  the ordinals of the keys
+     */
+    public static void retain(Set setKeys, KeyBitmap bitmap, KeyOrdinals ordinals)
+        {
+        if (bitmap.isEmpty())
+            {
+            setKeys.clear();
+            }
+        else
+            {
+            // the set of keys chooses the cheaper of iterating over itself
+            // and testing the bitmap, or iterating over the bitmap and
+            // converting its ordinals to keys
+            setKeys.retainAll(ordinals.keys(bitmap));
+            }
+        }
+
+    // ---- helpers ---------------------------------------------------------
+
+    /**
+     * Return the bitmap index for the specified extractor that uses the
+     * specified ordinals.
+     *
+     * @param mapIndexes  the available MapIndex objects keyed by the related
+     *                    ValueExtractor
+     * @param extractor   the extractor
+     * @param ordinals    the ordinals of the keys
+     *
+     * @return the bitmap index, or null if there is no such index
+     */
+    private static BitmapMapIndex getIndex(Map mapIndexes, Object extractor, KeyOrdinals ordinals)
+        {
+        Object oIndex = mapIndexes.get(extractor);
+        return oIndex instanceof BitmapMapIndex && ((BitmapMapIndex) oIndex).getKeyOrdinals() == ordinals
+                ? (BitmapMapIndex) oIndex : null;
+        }
+
+    /**
+     * Return the ordinals used by the bitmap index for the specified
+     * extractor.
+     *
+     * @param mapIndexes  the available MapIndex objects keyed by the related
+     *                    ValueExtractor
+     * @param extractor   the extractor
+     *
+     * @return the ordinals, or null if the index is not a bitmap index
+     */
+    private static KeyOrdinals getOrdinals(Map mapIndexes, Object extractor)
+        {
+        Object oIndex = mapIndexes.get(extractor);
+        return oIndex instanceof BitmapMapIndex ? ((BitmapMapIndex) oIndex).getKeyOrdinals() : null;
+        }
+
+    /**
+     * Return true iff all the indexes used by the specified filter contain
+     * every key, so that the filter can be negated.
+     *
+     * @param filter      the filter
+     * @param mapIndexes  the available MapIndex objects keyed by the related
+     *                    ValueExtractor
+     *
+     * @return true iff the filter can be negated
+     */
+    private static boolean isComplete(Filter<?> filter, Map mapIndexes)
+        {
+        if (filter instanceof BetweenFilter)
+            {
+            return !isPartial(mapIndexes, ((BetweenFilter) filter).getValueExtractor());
+            }
+        if (filter instanceof AllFilter || filter instanceof AnyFilter)
+            {
+            for (Filter<?> filterNested : ((ArrayFilter) filter).getFilters())
+                {
+                if (!isComplete(filterNested, mapIndexes))
+                    {
+                    return false;
+                    }
+                }
+            return true;
+            }
+        return filter instanceof ComparisonFilter
+                && !isPartial(mapIndexes, ((ComparisonFilter) filter).getValueExtractor());
+        }
+
+    /**
+     * Return true iff the index for the specified extractor is partial.
+     *
+     * @param mapIndexes  the available MapIndex objects keyed by the related
+     *                    ValueExtractor
+     * @param extractor   the extractor
+     *
+     * @return true iff the index is partial
+     */
+    private static boolean isPartial(Map mapIndexes, Object extractor)
+        {
+        Object oIndex = mapIndexes.get(extractor);
+        return !(oIndex instanceof BitmapMapIndex) || ((BitmapMapIndex) oIndex).isPartial();
+        }
+
+    /**
+     * Return the bitmap of the keys with the values within the specified
+     * range. The keys associated with a null value are never included.
+     *
+     * @param index       the bitmap index
+     * @param oLow        the lower bound, or null if there is none
+     * @param fLowIncl    true iff the lower bound is inclusive
+     * @param oHigh       the upper bound, or null if there is none
+     * @param fHighIncl   true iff the upper bound is inclusive
+     *
+     * @return the bitmap of the keys with the values within the range, or
+     *         null if the values of the index cannot be compared with the
+     *         bounds
+     */
+    private static KeyBitmap evaluateRange(BitmapMapIndex index, Object oLow, boolean fLowIncl,
+            Object oHigh, boolean fHighIncl)
+        {
+        Map             mapContents = index.getIndexContents();
+        List<KeyBitmap> listBitmap  = new ArrayList<>();
+
+        try
+            {
+            if (index.isOrdered())
+                {
+                NavigableMap map = (NavigableMap) mapContents;
+                if (oLow != null && oHigh != null)
+                    {
+                    if (SafeComparator.compareSafe(map.comparator(), oLow, oHigh, true) > 0)
+                        {
+                        return new KeyBitmap();
+                        }
+                    map = map.subMap(oLow, fLowIncl, oHigh, fHighIncl);
+                    }
+                else if (oLow != null)
+                    {
+                    map = map.tailMap(oLow, fLowIncl);
+                    }
+                else
+                    {
+                    map = map.headMap(oHigh, fHighIncl);
+                    }
+
+                for (Object o : map.entrySet())
+                    {
+                    Map.Entry entry = (Map.Entry) o;
+                    if (entry.getKey() != null)
+                        {
+                        listBitmap.add(index.getBitmap((Set) entry.getValue()));
+                        }
+                    }
+                }
+            else
+                {
+                for (Object o : mapContents.entrySet())
+                    {
+                    Map.Entry entry  = (Map.Entry) o;
+                    Object    oValue = entry.getKey();
+                    if (oValue != null
+                        && (oLow == null || compare(oValue, oLow, fLowIncl))
+                        && (oHigh == null || compare(oHigh, oValue, fHighIncl)))
+                        {
+                        listBitmap.add(index.getBitmap((Set) entry.getValue()));
+                        }
+                    }
+                }
+            }
+        catch (ClassCastException e)
+            {
+            // the values cannot be compared with the bounds
+            return null;
+            }
+
+        return KeyBitmap.or(listBitmap);
+        }
+
+    /**
+     * Return true iff the first value is greater than (or equal to, if
+     * specified) the second value, according to their natural ordering.
+     *
+     * @param o1      the first value
+     * @param o2      the second value
+     * @param fEqual  true iff the equal values satisfy the comparison
+     *
+     * @return the result of the comparison
+     */
+    private static boolean compare(Object o1, Object o2, boolean fEqual)
+        {
+        int n = ((Comparable) o1).compareTo(o2);
+        return n > 0 || n == 0 && fEqual;
+        }
+    }
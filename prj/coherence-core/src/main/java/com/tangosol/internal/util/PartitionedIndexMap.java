@@ -17,6 +17,7 @@ import com.tangosol.util.AbstractKeyBasedMap;
 import com.tangosol.util.Base;
 import com.tangosol.util.ChainedSet;
 import com.tangosol.util.ClassHelper;
+import com.tangosol.util.ColumnarIndex;
 import com.tangosol.util.MapIndex;
 import com.tangosol.util.ValueExtractor;
 import com.tangosol.util.comparator.SafeComparator;
@@ -26,9 +27,11 @@ import java.util.AbstractSet;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.DoubleSummaryStatistics;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.LongSummaryStatistics;
 import java.util.Map;
 import java.util.NavigableMap;
 import java.util.NavigableSet;
@@ -88,7 +91,9 @@ public class PartitionedIndexMap<K, V>
             {
             return f_partitions != null && f_partitions.cardinality() == 1
                    ? mapIndex   // optimize for single partition
-                   : new PartitionedIndex(extractor, mapIndex.isOrdered(), mapIndex.getComparator());
+                   : mapIndex instanceof ColumnarIndex
+                     ? new PartitionedColumnarIndex(extractor, (ColumnarIndex) mapIndex)
+                     : new PartitionedIndex(extractor, mapIndex.isOrdered(), mapIndex.getComparator());
             }
         return null;
         }
@@ -904,6 +909,135 @@ public class PartitionedIndexMap<K, V>
         private final Comparator<E> f_comparator;
         }
 
+    // ---- inner class: PartitionedColumnarIndex ---------------------------
+
+    /**
+     * Provides unified view over multiple partition-level {@link ColumnarIndex}
+     * instances for a specific index.
+     *
+     * @param <E>  the type of indexed attribute
+     */
+    public class PartitionedColumnarIndex<E>
+            extends PartitionedIndex<E>
+            implements ColumnarIndex<K, V, E>
+        {
+        // ---- constructors ------------------------------------------------
+
+        /**
+         * Construct {@link PartitionedColumnarIndex} instance.
+         *
+         * @param extractor  the {@code ValueExtractor} for this index
+         * @param index      one of the partition-level indices
+         */
+        PartitionedColumnarIndex(ValueExtractor<V, E> extractor, ColumnarIndex<K, V, E> index)
+            {
+            super(extractor, index.isOrdered(), index.getComparator());
+
+            f_index = index;
+            }
+
+        // ---- ColumnarIndex interface -------------------------------------
+
+        @Override
+        public boolean isComparable(Object oValue)
+            {
+            return f_index.isComparable(oValue);
+            }
+
+        @Override
+        public int count(E low, boolean fLowInclusive, E high, boolean fHighInclusive)
+            {
+            int cMatch = 0;
+
+            for (int nPart : getPartitions())
+                {
+                MapIndex<K, V, E> mapIndex = getMapIndex(nPart, getValueExtractor());
+                if (mapIndex instanceof ColumnarIndex)
+                    {
+                    cMatch += ((ColumnarIndex<K, V, E>) mapIndex).count(low, fLowInclusive, high, fHighInclusive);
+                    }
+                }
+
+            return cMatch;
+            }
+
+        @Override
+        public void retain(Set<? extends K> setKeys, E low, boolean fLowInclusive, E high, boolean fHighInclusive)
+            {
+            for (Iterator<? extends K> iter = setKeys.iterator(); iter.hasNext(); )
+                {
+                Object oValue = get(iter.next());
+                if (oValue == NO_VALUE || oValue == null
+                    || low  != null && compare(oValue, low)  < (fLowInclusive  ? 0 : 1)
+                    || high != null && compare(oValue, high) > (fHighInclusive ? 0 : -1))
+                    {
+                    iter.remove();
+                    }
+                }
+            }
+
+        @Override
+        public Set<K> accumulate(Set<? extends K> setKeys, LongSummaryStatistics stats)
+            {
+            Set<K> setMissing = new HashSet<>();
+            for (K key : setKeys)
+                {
+                Object oValue = get(key);
+                if (oValue == NO_VALUE)
+                    {
+                    setMissing.add(key);
+                    }
+                else if (oValue != null)
+                    {
+                    stats.accept(((Number) oValue).longValue());
+                    }
+                }
+            return setMissing;
+            }
+
+        @Override
+        public Set<K> accumulate(Set<? extends K> setKeys, DoubleSummaryStatistics stats)
+            {
+            Set<K> setMissing = new HashSet<>();
+            for (K key : setKeys)
+                {
+                Object oValue = get(key);
+                if (oValue == NO_VALUE)
+                    {
+                    setMissing.add(key);
+                    }
+                else if (oValue != null)
+                    {
+                    stats.accept(((Number) oValue).doubleValue());
+                    }
+                }
+            return setMissing;
+            }
+
+        // ---- helpers -----------------------------------------------------
+
+        /**
+         * Compare the specified indexed value with a range bound.
+         *
+         * @param oValue  the indexed value
+         * @param bound   the range bound
+         *
+         * @return a negative integer, zero, or a positive integer as the value
+         *         is less than, equal to, or greater than the bound
+         */
+        private int compare(Object oValue, E bound)
+            {
+            return ((Comparable) oValue).compareTo(bound);
+            }
+
+        // ---- data members ------------------------------------------------
+
+        /**
+         * One of the partition-level indices.
+         */
+        private final ColumnarIndex<K, V, E> f_index;
+        }
+
     // ---- data members ----------------------------------------------------
 
     /**
@@ -402,6 +402,11 @@ public class VersionHelper
 
     // ----- constants ------------------------------------------------------
 
+    /**
+     * The encoded CE 25.09.0 version.
+     */
+    public static final int VERSION_25_09 = encodeVersion(25, 9, 0);
+
     /**
      * The encoded CE 25.03.0 version.
      */
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2000, 2023, Oracle and/or its affiliates.
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
  *
  * Licensed under the Universal Permissive License v 1.0 as shown at
  * https://oss.oracle.com/licenses/upl.
@@ -34,6 +34,21 @@ public class VirtualThreads
         return Base.makeThread(group, runnable, sName);
         }
 
+    /**
+     * Return {@code true} if the specified thread is a virtual thread.
+     *
+     * @param thread  the thread to check
+     *
+     * @return {@code true} if the specified thread is a virtual thread;
+     *         {@code false} otherwise
+     *
+     * @since 25.09
+     */
+    public static boolean isVirtual(Thread thread)
+        {
+        return false;
+        }
+
     /**
      * Return {@code true} if the current runtime supports virtual threads.
      *
@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.tangosol.internal.util.filter;
+
+import com.tangosol.util.Filter;
+import com.tangosol.util.InvocableMapHelper;
+
+import java.util.Map;
+
+/**
+ * The base class of the predicates generated by the {@link FilterCompiler}.
+ * <p>
+ * A generated predicate evaluates a filter against the entries whose values
+ * are of the specific {@link #getTargetClass() target class}, with the
+ * extractor calls compiled into direct method invocations. The entries with
+ * the values of any other class are evaluated by the original filter.
+ * <p>
+ * The constants used by the filter, such as the values to compare the
+ * extracted values with and the filters that could not be compiled, are
+ * passed to the predicate upon construction, so that a single generated class
+ * is used by all the filters of the same shape.
+ *
+ * @since 25.09
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+public abstract class CompiledPredicate
+    {
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Construct a CompiledPredicate.
+     *
+     * @param filter     the original filter
+     * @param clzTarget  the class of the values the predicate was compiled for
+     * @param aoConst    the constants used by the predicate
+     */
+    protected CompiledPredicate(Filter filter, Class clzTarget, Object[] aoConst)
+        {
+        f_filter    = filter;
+        f_clzTarget = clzTarget;
+        f_aoConst   = aoConst;
+        }
+
+    // ----- CompiledPredicate methods --------------------------------------
+
+    /**
+     * Evaluate the filter against the specified entry.
+     *
+     * @param entry  the entry to evaluate
+     *
+     * @return true iff the entry matches the filter
+     */
+    public abstract boolean evaluateEntry(Map.Entry entry);
+
+    /**
+     * Return the original filter.
+     *
+     * @return the original filter
+     */
+    public Filter getFilter()
+        {
+        return f_filter;
+        }
+
+    /**
+     * Return the class of the values this predicate was compiled for.
+     *
+     * @return the class of the values this predicate was compiled for
+     */
+    public Class getTargetClass()
+        {
+        return f_clzTarget;
+        }
+
+    /**
+     * Return true iff this predicate uses a generated class.
+     *
+     * @return true iff this predicate uses a generated class
+     */
+    public boolean isCompiled()
+        {
+        return true;
+        }
+
+    /**
+     * Evaluate the original filter against the specified entry.
+     *
+     * @param entry  the entry to evaluate
+     *
+     * @return true iff the entry matches the filter
+     */
+    protected boolean evaluateOriginal(Map.Entry entry)
+        {
+        return InvocableMapHelper.evaluateEntry(f_filter, entry);
+        }
+
+    // ----- helpers used by the generated code -----------------------------
+
+    /**
+     * Evaluate the specified filter against the specified entry.
+     *
+     * @param filter  the filter
+     * @param entry   the entry
+     *
+     * @return true iff the entry matches the filter
+     */
+    public static boolean evaluate(Filter filter, Map.Entry entry)
+        {
+        return InvocableMapHelper.evaluateEntry(filter, entry);
+        }
+
+    /**
+     * Return true iff the extracted value is greater than (or equal to) the
+     * value of the filter, as evaluated by the {@link
+     * com.tangosol.util.filter.GreaterFilter} and {@link
+     * com.tangosol.util.filter.GreaterEqualsFilter}.
+     *
+     * @param oExtracted  the extracted value
+     * @param oValue      the value of the filter
+     * @param fEquals     true iff the equal values match
+     *
+     * @return the result of the comparison
+     */
+    public static boolean isGreater(Object oExtracted, Object oValue, boolean fEquals)
+        {
+        if (oExtracted == null || oValue == null)
+            {
+            return false;
+            }
+
+        int n = ((Comparable) oExtracted).compareTo(oValue);
+        return n > 0 || fEquals && n == 0;
+        }
+
+    /**
+     * Return true iff the extracted value is less than (or equal to) the
+     * value of the filter, as evaluated by the {@link
+     * com.tangosol.util.filter.LessFilter} and {@link
+     * com.tangosol.util.filter.LessEqualsFilter}.
+     *
+     * @param oExtracted  the extracted value
+     * @param oValue      the value of the filter
+     * @param fEquals     true iff the equal values match
+     *
+     * @return the result of the comparison
+     */
+    public static boolean isLess(Object oExtracted, Object oValue, boolean fEquals)
+        {
+        if (oExtracted == null || oValue == null)
+            {
+            return false;
+            }
+
+        int n = ((Comparable) oExtracted).compareTo(oValue);
+        return n < 0 || fEquals && n == 0;
+        }
+
+    // ----- inner class: Uncompiled ----------------------------------------
+
+    /**
+     * A predicate that evaluates the original filter, used when the filter
+     * cannot be compiled for the target class.
+     */
+    public static class Uncompiled
+            extends CompiledPredicate
+        {
+        /**
+         * Construct an Uncompiled predicate.
+         *
+         * @param filter     the original filter
+         * @param clzTarget  the class of the values
+         */
+        public Uncompiled(Filter filter, Class clzTarget)
+            {
+            super(filter, clzTarget, null);
+            }
+
+        @Override
+        public boolean evaluateEntry(Map.Entry entry)
+            {
+            return evaluateOriginal(entry);
+            }
+
+        @Override
+        public boolean isCompiled()
+            {
+            return false;
+            }
+        }
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The original filter.
+     */
+    protected final Filter f_filter;
+
+    /**
+     * The class of the values the predicate was compiled for.
+     */
+    protected final Class f_clzTarget;
+
+    /**
+     * The constants used by the predicate.
+     */
+    protected final Object[] f_aoConst;
+    }
@@ -0,0 +1,1271 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.tangosol.internal.util.filter;
+
+import com.tangosol.coherence.config.Config;
+
+import com.tangosol.internal.util.extractor.ReflectionAllowedFilter;
+
+import com.tangosol.util.Base;
+import com.tangosol.util.ClassHelper;
+import com.tangosol.util.Filter;
+import com.tangosol.util.ValueExtractor;
+
+import com.tangosol.util.extractor.AbstractExtractor;
+import com.tangosol.util.extractor.ChainedExtractor;
+import com.tangosol.util.extractor.IdentityExtractor;
+import com.tangosol.util.extractor.ReflectionExtractor;
+import com.tangosol.util.extractor.UniversalExtractor;
+
+import com.tangosol.util.filter.AllFilter;
+import com.tangosol.util.filter.AlwaysFilter;
+import com.tangosol.util.filter.AndFilter;
+import com.tangosol.util.filter.AnyFilter;
+import com.tangosol.util.filter.ArrayFilter;
+import com.tangosol.util.filter.BetweenFilter;
+import com.tangosol.util.filter.ComparisonFilter;
+import com.tangosol.util.filter.EqualsFilter;
+import com.tangosol.util.filter.GreaterEqualsFilter;
+import com.tangosol.util.filter.GreaterFilter;
+import com.tangosol.util.filter.InFilter;
+import com.tangosol.util.filter.IsNotNullFilter;
+import com.tangosol.util.filter.IsNullFilter;
+import com.tangosol.util.filter.LessEqualsFilter;
+import com.tangosol.util.filter.LessFilter;
+import com.tangosol.util.filter.NeverFilter;
+import com.tangosol.util.filter.NotEqualsFilter;
+import com.tangosol.util.filter.NotFilter;
+import com.tangosol.util.filter.OrFilter;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Type;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import java.lang.invoke.MethodType;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.objectweb.asm.Opcodes.AALOAD;
+import static org.objectweb.asm.Opcodes.ACONST_NULL;
+import static org.objectweb.asm.Opcodes.ACC_FINAL;
+import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
+import static org.objectweb.asm.Opcodes.ACC_SYNTHETIC;
+import static org.objectweb.asm.Opcodes.ALOAD;
+import static org.objectweb.asm.Opcodes.ASTORE;
+import static org.objectweb.asm.Opcodes.CHECKCAST;
+import static org.objectweb.asm.Opcodes.DUP;
+import static org.objectweb.asm.Opcodes.GETFIELD;
+import static org.objectweb.asm.Opcodes.GOTO;
+import static org.objectweb.asm.Opcodes.ICONST_0;
+import static org.objectweb.asm.Opcodes.ICONST_1;
+import static org.objectweb.asm.Opcodes.IFEQ;
+import static org.objectweb.asm.Opcodes.IFGE;
+import static org.objectweb.asm.Opcodes.IFGT;
+import static org.objectweb.asm.Opcodes.IFLE;
+import static org.objectweb.asm.Opcodes.IFLT;
+import static org.objectweb.asm.Opcodes.IFNE;
+import static org.objectweb.asm.Opcodes.IFNULL;
+import static org.objectweb.asm.Opcodes.IF_ACMPNE;
+import static org.objectweb.asm.Opcodes.INVOKEINTERFACE;
+import static org.objectweb.asm.Opcodes.INVOKESPECIAL;
+import static org.objectweb.asm.Opcodes.INVOKESTATIC;
+import static org.objectweb.asm.Opcodes.INVOKEVIRTUAL;
+import static org.objectweb.asm.Opcodes.IRETURN;
+import static org.objectweb.asm.Opcodes.IXOR;
+import static org.objectweb.asm.Opcodes.POP;
+import static org.objectweb.asm.Opcodes.RETURN;
+import static org.objectweb.asm.Opcodes.SWAP;
+import static org.objectweb.asm.Opcodes.V1_8;
+
+/**
+ * FilterCompiler compiles filters into {@link CompiledPredicate predicates}
+ * that evaluate the filters against the entries without the overhead of the
+ * virtual calls through the filter tree and the reflection used by the
+ * extractors.
+ * <p>
+ * A filter is compiled for the specific class of the entry values (the target
+ * class). The {@link AllFilter}, {@link AnyFilter} and {@link NotFilter}
+ * become short-circuiting boolean expressions, the comparison filters
+ * ({@link EqualsFilter}, {@link NotEqualsFilter}, {@link GreaterFilter},
+ * {@link GreaterEqualsFilter}, {@link LessFilter}, {@link LessEqualsFilter},
+ * {@link BetweenFilter}, {@link InFilter} and the null checks) become direct
+ * comparisons, and the {@link UniversalExtractor}, {@link ReflectionExtractor},
+ * {@link ChainedExtractor} and {@link IdentityExtractor} become direct
+ * invocations of the accessor methods, resolved the same way the extractors
+ * resolve them. The primitive values returned by the accessors are compared
+ * without boxing them. Any other filter is evaluated as is.
+ * <p>
+ * The constants of a filter are not part of the generated code, so a single
+ * class is generated for all the filters of the same shape, and is cached for
+ * the lifetime of the class loader of the target class.
+ * <p>
+ * While this class extends {@code ClassLoader}, it is only used to define
+ * the generated predicate classes and is not intended to be used as a general
+ * purpose class loader.
+ * <p>
+ * Note: to output the generated class files to the file system use the JVM
+ * argument {@code -Dcoherence.filter.dumpClasses=/path/to/classfiles}.
+ *
+ * @since 25.09
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class FilterCompiler
+        extends ClassLoader
+    {
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Construct a FilterCompiler with the provided ClassLoader.
+     *
+     * @param parent  the parent ClassLoader
+     */
+    public FilterCompiler(ClassLoader parent)
+        {
+        super(parent);
+        }
+
+    // ----- static helpers -------------------------------------------------
+
+    /**
+     * Obtain a FilterCompiler for the specified ClassLoader.
+     *
+     * @param loader  a ClassLoader to get FilterCompiler for
+     *
+     * @return the FilterCompiler instance
+     */
+    public static FilterCompiler get(ClassLoader loader)
+        {
+        return loader instanceof FilterCompiler
+               ? (FilterCompiler) loader
+               : s_mapByClassLoader.computeIfAbsent(Base.ensureClassLoader(loader), FilterCompiler::new);
+        }
+
+    /**
+     * Compile the specified filter for the entries with the values of the
+     * specified class.
+     *
+     * @param filter     the filter to compile
+     * @param clzTarget  the class of the entry values
+     *
+     * @return the compiled predicate
+     */
+    public static CompiledPredicate compile(Filter filter, Class clzTarget)
+        {
+        return get(clzTarget.getClassLoader()).compilePredicate(filter, clzTarget);
+        }
+
+    // ----- public methods -------------------------------------------------
+
+    /**
+     * Compile the specified filter for the entries with the values of the
+     * specified class, using a generated class cached by this FilterCompiler.
+     *
+     * @param filter     the filter to compile
+     * @param clzTarget  the class of the entry values
+     *
+     * @return the compiled predicate, which evaluates the filter itself if
+     *         it cannot be compiled for the target class
+     */
+    public CompiledPredicate compilePredicate(Filter filter, Class clzTarget)
+        {
+        if (!isAccessible(clzTarget))
+            {
+            return new CompiledPredicate.Uncompiled(filter, clzTarget);
+            }
+
+        Analyzer analyzer = new Analyzer(clzTarget);
+        Node     node     = analyzer.analyze(filter);
+
+        if (node.f_nKind == Node.FILTER)
+            {
+            // nothing could be compiled
+            return new CompiledPredicate.Uncompiled(filter, clzTarget);
+            }
+
+        StringBuilder sb = new StringBuilder();
+        node.appendShape(sb);
+
+        Map<String, Constructor> mapShapes = f_mapShapes.computeIfAbsent(clzTarget, clz -> new ConcurrentHashMap<>());
+        Constructor              ctor      = mapShapes.computeIfAbsent(sb.toString(), s -> generate(node, clzTarget));
+
+        try
+            {
+            return (CompiledPredicate) ctor.newInstance(filter, clzTarget, analyzer.getConstants());
+            }
+        catch (ReflectiveOperationException e)
+            {
+            throw Base.ensureRuntimeException(e);
+            }
+        }
+
+    // ----- code generation ------------------------------------------------
+
+    /**
+     * Generate and define the predicate class for the specified node.
+     *
+     * @param node       the root node of the analyzed filter
+     * @param clzTarget  the class of the entry values
+     *
+     * @return the constructor of the generated class
+     */
+    protected Constructor generate(Node node, Class clzTarget)
+        {
+        String      sClassName = GENERATED_PACKAGE + "CompiledPredicate$" + s_cClasses.incrementAndGet();
+        ClassWriter cw         = new ClassWriter(ClassWriter.COMPUTE_MAXS | ClassWriter.COMPUTE_FRAMES)
+            {
+            @Override
+            protected String getCommonSuperClass(String sType1, String sType2)
+                {
+                // the merged references are only ever used as Objects
+                return OBJECT_NAME;
+                }
+            };
+
+        cw.visit(V1_8, ACC_PUBLIC + ACC_FINAL + ACC_SYNTHETIC, sClassName, null, PREDICATE_NAME, null);
+
+        // <init>(Filter, Class, Object[])
+            {
+            String        sSig = "(" + FILTER_DESC + "Ljava/lang/Class;[Ljava/lang/Object;)V";
+            MethodVisitor mv   = cw.visitMethod(ACC_PUBLIC, "<init>", sSig, null, null);
+
+            mv.visitCode();
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitVarInsn(ALOAD, 1);
+            mv.visitVarInsn(ALOAD, 2);
+            mv.visitVarInsn(ALOAD, 3);
+            mv.visitMethodInsn(INVOKESPECIAL, PREDICATE_NAME, "<init>", sSig, false);
+            mv.visitInsn(RETURN);
+            mv.visitMaxs(-1, -1);
+            mv.visitEnd();
+            }
+
+        // boolean evaluateEntry(Map.Entry)
+            {
+            MethodVisitor mv        = cw.visitMethod(ACC_PUBLIC, "evaluateEntry", "(" + ENTRY_DESC + ")Z", null, null);
+            Label         lblOrig    = new Label();
+            Type          typeTarget = Type.getType(clzTarget);
+
+            mv.visitCode();
+
+            // Object oValue = entry.getValue();
+            mv.visitVarInsn(ALOAD, 1);
+            mv.visitMethodInsn(INVOKEINTERFACE, ENTRY_NAME, "getValue", "()" + OBJECT_DESC, true);
+            mv.visitVarInsn(ASTORE, 2);
+
+            // if (oValue == null || oValue.getClass() != clzTarget) return evaluateOriginal(entry);
+            mv.visitVarInsn(ALOAD, 2);
+            mv.visitJumpInsn(IFNULL, lblOrig);
+            mv.visitVarInsn(ALOAD, 2);
+            mv.visitMethodInsn(INVOKEVIRTUAL, OBJECT_NAME, "getClass", "()Ljava/lang/Class;", false);
+            mv.visitLdcInsn(typeTarget);
+            mv.visitJumpInsn(IF_ACMPNE, lblOrig);
+
+            // Target target = (Target) oValue;
+            mv.visitVarInsn(ALOAD, 2);
+            mv.visitTypeInsn(CHECKCAST, typeTarget.getInternalName());
+            mv.visitVarInsn(ASTORE, 3);
+
+            new Emitter(mv).emit(node);
+            mv.visitInsn(IRETURN);
+
+            mv.visitLabel(lblOrig);
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitVarInsn(ALOAD, 1);
+            mv.visitMethodInsn(INVOKEVIRTUAL, PREDICATE_NAME, "evaluateOriginal", "(" + ENTRY_DESC + ")Z", false);
+            mv.visitInsn(IRETURN);
+
+            mv.visitMaxs(-1, -1);
+            mv.visitEnd();
+            }
+
+        cw.visitEnd();
+
+        byte[] abClass = cw.toByteArray();
+        dumpClass(sClassName, abClass);
+
+        Class clz = defineClass(sClassName.replace('/', '.'), abClass, 0, abClass.length);
+        return clz.getConstructors()[0];
+        }
+
+    /**
+     * Write the specified class file to the directory specified by the
+     * {@link #DUMP_CLASSES} property, if any.
+     *
+     * @param sClassName  the internal name of the class
+     * @param abClass     the class file
+     */
+    protected void dumpClass(String sClassName, byte[] abClass)
+        {
+        String sDir = DUMP_CLASSES;
+        if (sDir != null)
+            {
+            File file = new File(sDir, sClassName + ".class");
+            file.getParentFile().mkdirs();
+            try (FileOutputStream out = new FileOutputStream(file))
+                {
+                out.write(abClass);
+                }
+            catch (IOException e)
+                {
+                // the dump is only a diagnostic aid
+                }
+            }
+        }
+
+    // ----- helpers --------------------------------------------------------
+
+    /**
+     * Return true iff the generated code can refer to the specified class.
+     *
+     * @param clz  the class
+     *
+     * @return true iff the specified class is accessible
+     */
+    protected boolean isAccessible(Class clz)
+        {
+        Class clzElement = clz;
+        while (clzElement.isArray())
+            {
+            clzElement = clzElement.getComponentType();
+            }
+
+        if (clzElement.isPrimitive())
+            {
+            return clz != clzElement;
+            }
+
+        if (!Modifier.isPublic(clzElement.getModifiers())
+            || clzElement.getModule().isNamed()
+               && !clzElement.getModule().isExported(clzElement.getPackageName()))
+            {
+            return false;
+            }
+
+        try
+            {
+            return Class.forName(clz.getName(), false, this) == clz;
+            }
+        catch (ClassNotFoundException | LinkageError e)
+            {
+            return false;
+            }
+        }
+
+    /**
+     * Return the wrapper class of the specified primitive class.
+     *
+     * @param clzPrim  the primitive class
+     *
+     * @return the wrapper class
+     */
+    protected static Class getWrapper(Class clzPrim)
+        {
+        return MethodType.methodType(clzPrim).wrap().returnType();
+        }
+
+    // ----- Object methods -------------------------------------------------
+
+    @Override
+    public String toString()
+        {
+        return "FilterCompiler{" +
+               "parent=" + getParent() +
+               ", targets=" + f_mapShapes.keySet() +
+               '}';
+        }
+
+    // ----- inner class: Step ----------------------------------------------
+
+    /**
+     * A step of the extraction path: either an invocation of an accessor
+     * method, or a {@link Map#get} of a property.
+     */
+    protected static class Step
+        {
+        /**
+         * Construct a Step that invokes an accessor method.
+         *
+         * @param clzOwner  the class to invoke the method on
+         * @param method    the method
+         */
+        protected Step(Class clzOwner, Method method)
+            {
+            f_sOwner    = Type.getInternalName(clzOwner);
+            f_fItf      = clzOwner.isInterface();
+            f_sName     = method.getName();
+            f_sDesc     = Type.getMethodDescriptor(method);
+            f_clzReturn = method.getReturnType();
+            }
+
+        /**
+         * Construct a Step that gets the specified property from a Map.
+         *
+         * @param sProperty  the property name
+         */
+        protected Step(String sProperty)
+            {
+            f_sOwner    = MAP_NAME;
+            f_fItf      = true;
+            f_sName     = sProperty;
+            f_sDesc     = null;
+            f_clzReturn = Object.class;
+            }
+
+        /**
+         * Return true iff this step gets a property from a Map.
+         *
+         * @return true iff this step gets a property from a Map
+         */
+        protected boolean isMapGet()
+            {
+            return f_sDesc == null;
+            }
+
+        /**
+         * Append the shape of this step to the specified StringBuilder.
+         *
+         * @param sb  the StringBuilder
+         */
+        protected void appendShape(StringBuilder sb)
+            {
+            if (isMapGet())
+                {
+                sb.append("get('").append(f_sName).append("')");
+                }
+            else
+                {
+                sb.append(f_sOwner).append('.').append(f_sName).append(f_sDesc);
+                }
+            }
+
+        /**
+         * The internal name of the class to invoke the method on.
+         */
+        protected final String f_sOwner;
+
+        /**
+         * True iff the owner is an interface.
+         */
+        protected final boolean f_fItf;
+
+        /**
+         * The method name, or the property name for a Map get.
+         */
+        protected final String f_sName;
+
+        /**
+         * The method descriptor, or null for a Map get.
+         */
+        protected final String f_sDesc;
+
+        /**
+         * The class of the value returned by the step.
+         */
+        protected final Class f_clzReturn;
+        }
+
+    // ----- inner class: Node ----------------------------------------------
+
+    /**
+     * A node of an analyzed filter.
+     */
+    protected static class Node
+        {
+        /**
+         * Construct a Node.
+         *
+         * @param nKind    the kind of the node
+         * @param nOp      the comparison operation
+         * @param aChild   the child nodes
+         * @param aStep    the extraction path
+         * @param iConst   the index of the constant used by the node
+         * @param fUnboxed true iff the comparison is performed on the
+         *                 primitive values
+         */
+        protected Node(int nKind, int nOp, Node[] aChild, Step[] aStep, int iConst, boolean fUnboxed)
+            {
+            f_nKind    = nKind;
+            f_nOp      = nOp;
+            f_aChild   = aChild;
+            f_aStep    = aStep;
+            f_iConst   = iConst;
+            f_fUnboxed = fUnboxed;
+            }
+
+        /**
+         * Append the shape of this node to the specified StringBuilder. Two
+         * nodes of the same shape generate the same code.
+         *
+         * @param sb  the StringBuilder
+         */
+        protected void appendShape(StringBuilder sb)
+            {
+            sb.append(KINDS.charAt(f_nKind));
+            switch (f_nKind)
+                {
+                case AND:
+                case OR:
+                case NOT:
+                    sb.append('(');
+                    for (Node child : f_aChild)
+                        {
+                        child.appendShape(sb);
+                        sb.append(',');
+                        }
+                    sb.append(')');
+                    break;
+
+                case CMP:
+                case IN:
+                    sb.append(f_nOp).append(f_fUnboxed ? 'p' : 'b').append('[');
+                    for (Step step : f_aStep)
+                        {
+                        step.appendShape(sb);
+                        sb.append(';');
+                        }
+                    sb.append(']');
+                    break;
+                }
+            }
+
+        // ----- node kinds ---------------------------------------------
+
+        protected static final int AND    = 0;
+        protected static final int OR     = 1;
+        protected static final int NOT    = 2;
+        protected static final int TRUE   = 3;
+        protected static final int FALSE  = 4;
+        protected static final int CMP    = 5;
+        protected static final int IN     = 6;
+        protected static final int FILTER = 7;
+
+        /**
+         * The characters that represent the node kinds in the shape.
+         */
+        private static final String KINDS = "&|!TFCIX";
+
+        // ----- comparison operations ----------------------------------
+
+        protected static final int EQ = 0;
+        protected static final int NE = 1;
+        protected static final int GT = 2;
+        protected static final int GE = 3;
+        protected static final int LT = 4;
+        protected static final int LE = 5;
+
+        // ----- data members -------------------------------------------
+
+        /**
+         * The kind of the node.
+         */
+        protected final int f_nKind;
+
+        /**
+         * The comparison operation.
+         */
+        protected final int f_nOp;
+
+        /**
+         * The child nodes.
+         */
+        protected final Node[] f_aChild;
+
+        /**
+         * The extraction path.
+         */
+        protected final Step[] f_aStep;
+
+        /**
+         * The index of the constant used by the node.
+         */
+        protected final int f_iConst;
+
+        /**
+         * True iff the comparison is performed on the primitive values.
+         */
+        protected final boolean f_fUnboxed;
+        }
+
+    // ----- inner class: Analyzer ------------------------------------------
+
+    /**
+     * Analyzer converts a filter into a tree of {@link Node nodes}, resolving
+     * the extractors against the target class and collecting the constants.
+     */
+    protected class Analyzer
+        {
+        /**
+         * Construct an Analyzer.
+         *
+         * @param clzTarget  the class of the entry values
+         */
+        protected Analyzer(Class clzTarget)
+            {
+            f_clzTarget = clzTarget;
+            }
+
+        /**
+         * Return the constants collected by the analysis.
+         *
+         * @return the constants
+         */
+        protected Object[] getConstants()
+            {
+            return f_listConst.toArray();
+            }
+
+        /**
+         * Analyze the specified filter.
+         *
+         * @param filter  the filter
+         *
+         * @return the node that evaluates the filter
+         */
+        protected Node analyze(Filter filter)
+            {
+            Class clzFilter = filter == null ? null : filter.getClass();
+
+            if (clzFilter == AlwaysFilter.class)
+                {
+                return new Node(Node.TRUE, 0, null, null, -1, false);
+                }
+            if (clzFilter == NeverFilter.class)
+                {
+                return new Node(Node.FALSE, 0, null, null, -1, false);
+                }
+            if (clzFilter == AllFilter.class || clzFilter == AndFilter.class
+                || clzFilter == AnyFilter.class || clzFilter == OrFilter.class)
+                {
+                Filter[] aFilter = ((ArrayFilter) filter).getFilters();
+                Node[]   aChild  = new Node[aFilter.length];
+                for (int i = 0; i < aFilter.length; i++)
+                    {
+                    aChild[i] = analyze(aFilter[i]);
+                    }
+
+                int nKind = filter instanceof AllFilter ? Node.AND : Node.OR;
+                return new Node(nKind, 0, aChild, null, -1, false);
+                }
+            if (clzFilter == NotFilter.class)
+                {
+                Node child = analyze(((NotFilter) filter).getFilter());
+                return child.f_nKind == Node.FILTER
+                       ? fallback(filter)
+                       : new Node(Node.NOT, 0, new Node[] {child}, null, -1, false);
+                }
+            if (clzFilter == BetweenFilter.class)
+                {
+                BetweenFilter filterBetween = (BetweenFilter) filter;
+                Step[]        aStep         = resolve(filterBetween.getValueExtractor());
+                if (aStep == null)
+                    {
+                    return fallback(filter);
+                    }
+
+                Node nodeLow  = compare(aStep, filterBetween.isLowerBoundInclusive() ? Node.GE : Node.GT,
+                                        filterBetween.getLowerBound());
+                Node nodeHigh = compare(aStep, filterBetween.isUpperBoundInclusive() ? Node.LE : Node.LT,
+                                        filterBetween.getUpperBound());
+                return new Node(Node.AND, 0, new Node[] {nodeLow, nodeHigh}, null, -1, false);
+                }
+
+            int nOp;
+            if (clzFilter == EqualsFilter.class || clzFilter == IsNullFilter.class)
+                {
+                nOp = Node.EQ;
+                }
+            else if (clzFilter == NotEqualsFilter.class || clzFilter == IsNotNullFilter.class)
+                {
+                nOp = Node.NE;
+                }
+            else if (clzFilter == GreaterFilter.class)
+                {
+                nOp = Node.GT;
+                }
+            else if (clzFilter == GreaterEqualsFilter.class)
+                {
+                nOp = Node.GE;
+                }
+            else if (clzFilter == LessFilter.class)
+                {
+                nOp = Node.LT;
+                }
+            else if (clzFilter == LessEqualsFilter.class)
+                {
+                nOp = Node.LE;
+                }
+            else if (clzFilter == InFilter.class)
+                {
+                nOp = -1;
+                }
+            else
+                {
+                return fallback(filter);
+                }
+
+            ComparisonFilter filterCmp = (ComparisonFilter) filter;
+            Step[]           aStep     = resolve(filterCmp.getValueExtractor());
+            if (aStep == null)
+                {
+                return fallback(filter);
+                }
+
+            return nOp < 0
+                   ? new Node(Node.IN, 0, null, aStep, addConstant(filterCmp.getValue()), false)
+                   : compare(aStep, nOp, filterCmp.getValue());
+            }
+
+        /**
+         * Return a node that compares the value extracted by the specified
+         * path with the specified value.
+         *
+         * @param aStep   the extraction path
+         * @param nOp     the comparison operation
+         * @param oValue  the value to compare with
+         *
+         * @return the comparison node
+         */
+        protected Node compare(Step[] aStep, int nOp, Object oValue)
+            {
+            // the primitive values are compared directly if the value is of
+            // the matching wrapper type, which is how they would compare if
+            // boxed
+            Class   clzResult = aStep.length == 0 ? f_clzTarget : aStep[aStep.length - 1].f_clzReturn;
+            boolean fUnboxed  = clzResult.isPrimitive() && oValue != null
+                                && oValue.getClass() == getWrapper(clzResult);
+
+            return new Node(Node.CMP, nOp, null, aStep, addConstant(oValue), fUnboxed);
+            }
+
+        /**
+         * Return a node that evaluates the specified filter as is.
+         *
+         * @param filter  the filter
+         *
+         * @return the node
+         */
+        protected Node fallback(Filter filter)
+            {
+            return new Node(Node.FILTER, 0, null, null, addConstant(filter), false);
+            }
+
+        /**
+         * Add the specified constant.
+         *
+         * @param oValue  the constant
+         *
+         * @return the index of the constant
+         */
+        protected int addConstant(Object oValue)
+            {
+            f_listConst.add(oValue);
+            return f_listConst.size() - 1;
+            }
+
+        /**
+         * Resolve the specified extractor into the extraction path.
+         *
+         * @param extractor  the extractor
+         *
+         * @return the extraction path, or null if the extractor cannot be
+         *         compiled
+         */
+        protected Step[] resolve(ValueExtractor extractor)
+            {
+            List<ValueExtractor> listExtractor = new ArrayList<>();
+            if (!flatten(extractor, listExtractor))
+                {
+                return null;
+                }
+
+            List<Step> listStep = new ArrayList<>();
+            Class      clz      = f_clzTarget;
+            for (ValueExtractor ex : listExtractor)
+                {
+                if (clz.isPrimitive() || !isAccessible(clz)
+                    || !ReflectionAllowedFilter.INSTANCE.evaluate(clz))
+                    {
+                    return null;
+                    }
+
+                Step step = resolveStep(ex, clz);
+                if (step == null)
+                    {
+                    return null;
+                    }
+                listStep.add(step);
+                clz = step.f_clzReturn;
+                }
+
+            return listStep.toArray(new Step[0]);
+            }
+
+        /**
+         * Flatten the specified extractor into a list of the extractors that
+         * can be compiled, applied sequentially.
+         *
+         * @param extractor      the extractor
+         * @param listExtractor  the list to add the extractors to
+         *
+         * @return true iff the extractor can be compiled
+         */
+        protected boolean flatten(ValueExtractor extractor, List<ValueExtractor> listExtractor)
+            {
+            Class clz = extractor == null ? null : extractor.getClass();
+
+            if (clz == IdentityExtractor.class)
+                {
+                return true;
+                }
+            if (!(extractor instanceof AbstractExtractor)
+                || ((AbstractExtractor) extractor).getTarget() != AbstractExtractor.VALUE)
+                {
+                return false;
+                }
+            if (clz == ChainedExtractor.class)
+                {
+                for (ValueExtractor ex : ((ChainedExtractor) extractor).getExtractors())
+                    {
+                    if (!flatten(ex, listExtractor))
+                        {
+                        return false;
+                        }
+                    }
+                return true;
+                }
+            if (clz == UniversalExtractor.class || clz == ReflectionExtractor.class)
+                {
+                Object[] aoParam = clz == UniversalExtractor.class
+                                   ? ((UniversalExtractor) extractor).getParameters()
+                                   : ((ReflectionExtractor) extractor).getParameters();
+                if (aoParam == null || aoParam.length == 0)
+                    {
+                    listExtractor.add(extractor);
+                    return true;
+                    }
+                }
+            return false;
+            }
+
+        /**
+         * Resolve the accessor invoked by the specified extractor on the
+         * instances of the specified class, the same way the extractor does.
+         *
+         * @param extractor  the UniversalExtractor or ReflectionExtractor
+         * @param clz        the class of the target
+         *
+         * @return the step, or null if the accessor cannot be resolved
+         */
+        protected Step resolveStep(ValueExtractor extractor, Class clz)
+            {
+            Method method = null;
+
+            if (extractor instanceof UniversalExtractor)
+                {
+                UniversalExtractor exUniversal = (UniversalExtractor) extractor;
+                if (exUniversal.isPropertyExtractor())
+                    {
+                    String sProperty = exUniversal.getCanonicalName();
+
+                    method = findAccessor(clz, sProperty);
+                    if (method == null)
+                        {
+                        String sBean = Character.toUpperCase(sProperty.charAt(0)) + sProperty.substring(1);
+                        for (int i = 0; i < UniversalExtractor.BEAN_ACCESSOR_PREFIXES.length && method == null; i++)
+                            {
+                            method = findAccessor(clz, UniversalExtractor.BEAN_ACCESSOR_PREFIXES[i] + sBean);
+                            }
+                        }
+
+                    if (method == null)
+                        {
+                        return Map.class.isAssignableFrom(clz) ? new Step(sProperty) : null;
+                        }
+                    }
+                else
+                    {
+                    method = findAccessor(clz, exUniversal.getMethodName());
+                    }
+                }
+            else
+                {
+                method = findAccessor(clz, ((ReflectionExtractor) extractor).getMethodName());
+                }
+
+            return method == null || method.getReturnType() == void.class
+                   ? null : new Step(clz, method);
+            }
+
+        /**
+         * Find the public instance method with the specified name and no
+         * parameters.
+         *
+         * @param clz    the class
+         * @param sName  the method name
+         *
+         * @return the method, or null if there is no such method
+         */
+        protected Method findAccessor(Class clz, String sName)
+            {
+            Method method = ClassHelper.findMethod(clz, sName, null, false);
+            return method == null || Modifier.isStatic(method.getModifiers()) ? null : method;
+            }
+
+        // ----- data members -------------------------------------------
+
+        /**
+         * The class of the entry values.
+         */
+        protected final Class f_clzTarget;
+
+        /**
+         * The constants.
+         */
+        protected final List<Object> f_listConst = new ArrayList<>();
+        }
+
+    // ----- inner class: Emitter -------------------------------------------
+
+    /**
+     * Emitter generates the code that evaluates a {@link Node}, leaving the
+     * result as an int on the stack.
+     */
+    protected static class Emitter
+        {
+        /**
+         * Construct an Emitter.
+         *
+         * @param mv  the MethodVisitor
+         */
+        protected Emitter(MethodVisitor mv)
+            {
+            f_mv = mv;
+            }
+
+        /**
+         * Emit the code that evaluates the specified node.
+         *
+         * @param node  the node
+         */
+        protected void emit(Node node)
+            {
+            MethodVisitor mv = f_mv;
+            switch (node.f_nKind)
+                {
+                case Node.TRUE:
+                    mv.visitInsn(ICONST_1);
+                    break;
+
+                case Node.FALSE:
+                    mv.visitInsn(ICONST_0);
+                    break;
+
+                case Node.NOT:
+                    emit(node.f_aChild[0]);
+                    mv.visitInsn(ICONST_1);
+                    mv.visitInsn(IXOR);
+                    break;
+
+                case Node.AND:
+                case Node.OR:
+                    {
+                    // short-circuit as soon as the result is known
+                    boolean fAnd      = node.f_nKind == Node.AND;
+                    Label   lblShort  = new Label();
+                    Label   lblEnd    = new Label();
+                    for (Node child : node.f_aChild)
+                        {
+                        emit(child);
+                        mv.visitJumpInsn(fAnd ? IFEQ : IFNE, lblShort);
+                        }
+                    mv.visitInsn(fAnd ? ICONST_1 : ICONST_0);
+                    mv.visitJumpInsn(GOTO, lblEnd);
+                    mv.visitLabel(lblShort);
+                    mv.visitInsn(fAnd ? ICONST_0 : ICONST_1);
+                    mv.visitLabel(lblEnd);
+                    break;
+                    }
+
+                case Node.FILTER:
+                    loadConstant(node.f_iConst, FILTER_NAME);
+                    mv.visitVarInsn(ALOAD, 1);
+                    mv.visitMethodInsn(INVOKESTATIC, PREDICATE_NAME, "evaluate",
+                            "(" + FILTER_DESC + ENTRY_DESC + ")Z", false);
+                    break;
+
+                case Node.IN:
+                    emitPath(node.f_aStep, true);
+                    loadConstant(node.f_iConst, SET_NAME);
+                    mv.visitInsn(SWAP);
+                    mv.visitMethodInsn(INVOKEINTERFACE, SET_NAME, "contains", "(" + OBJECT_DESC + ")Z", true);
+                    break;
+
+                case Node.CMP:
+                    if (node.f_fUnboxed)
+                        {
+                        emitUnboxedCompare(node);
+                        }
+                    else
+                        {
+                        emitBoxedCompare(node);
+                        }
+                    break;
+
+                default:
+                    throw new IllegalStateException("Unexpected node kind: " + node.f_nKind);
+                }
+            }
+
+        /**
+         * Emit the comparison of the boxed extracted value with the constant,
+         * as performed by the comparison filters.
+         *
+         * @param node  the comparison node
+         */
+        protected void emitBoxedCompare(Node node)
+            {
+            MethodVisitor mv = f_mv;
+
+            emitPath(node.f_aStep, true);
+            loadConstant(node.f_iConst, OBJECT_NAME);
+
+            switch (node.f_nOp)
+                {
+                case Node.EQ:
+                case Node.NE:
+                    mv.visitMethodInsn(INVOKESTATIC, BASE_NAME, "equals",
+                            "(" + OBJECT_DESC + OBJECT_DESC + ")Z", false);
+                    if (node.f_nOp == Node.NE)
+                        {
+                        mv.visitInsn(ICONST_1);
+                        mv.visitInsn(IXOR);
+                        }
+                    break;
+
+                default:
+                    boolean fGreater = node.f_nOp == Node.GT || node.f_nOp == Node.GE;
+                    boolean fEquals  = node.f_nOp == Node.GE || node.f_nOp == Node.LE;
+
+                    mv.visitInsn(fEquals ? ICONST_1 : ICONST_0);
+                    mv.visitMethodInsn(INVOKESTATIC, PREDICATE_NAME, fGreater ? "isGreater" : "isLess",
+                            "(" + OBJECT_DESC + OBJECT_DESC + "Z)Z", false);
+                    break;
+                }
+            }
+
+        /**
+         * Emit the comparison of the primitive extracted value with the
+         * unboxed constant, using the {@code compare} method of the wrapper
+         * class, which is consistent with the {@code equals} and
+         * {@code compareTo} methods used by the comparison filters.
+         *
+         * @param node  the comparison node
+         */
+        protected void emitUnboxedCompare(Node node)
+            {
+            MethodVisitor mv        = f_mv;
+            Step[]        aStep     = node.f_aStep;
+            Class         clzPrim   = aStep[aStep.length - 1].f_clzReturn;
+            Type          typePrim  = Type.getType(clzPrim);
+            String        sWrapper  = Type.getInternalName(getWrapper(clzPrim));
+            Label         lblNull   = emitPath(aStep, false);
+            Label         lblTrue   = new Label();
+            Label         lblEnd    = new Label();
+
+            loadConstant(node.f_iConst, sWrapper);
+            mv.visitMethodInsn(INVOKEVIRTUAL, sWrapper, clzPrim.getName() + "Value",
+                    "()" + typePrim.getDescriptor(), false);
+            mv.visitMethodInsn(INVOKESTATIC, sWrapper, "compare",
+                    "(" + typePrim.getDescriptor() + typePrim.getDescriptor() + ")I", false);
+
+            int nOpcode;
+            switch (node.f_nOp)
+                {
+                case Node.EQ: nOpcode = IFEQ; break;
+                case Node.NE: nOpcode = IFNE; break;
+                case Node.GT: nOpcode = IFGT; break;
+                case Node.GE: nOpcode = IFGE; break;
+                case Node.LT: nOpcode = IFLT; break;
+                default:      nOpcode = IFLE; break;
+                }
+
+            mv.visitJumpInsn(nOpcode, lblTrue);
+            mv.visitInsn(ICONST_0);
+            mv.visitJumpInsn(GOTO, lblEnd);
+            mv.visitLabel(lblTrue);
+            mv.visitInsn(ICONST_1);
+
+            if (lblNull != null)
+                {
+                // a null extracted value is only "not equal" to the constant
+                mv.visitJumpInsn(GOTO, lblEnd);
+                mv.visitLabel(lblNull);
+                mv.visitInsn(POP);
+                mv.visitInsn(node.f_nOp == Node.NE ? ICONST_1 : ICONST_0);
+                }
+            mv.visitLabel(lblEnd);
+            }
+
+        /**
+         * Emit the code that extracts the value from the target, leaving it
+         * on the stack.
+         * <p>
+         * An extraction stops at the first null intermediate value, as it
+         * does with the {@link ChainedExtractor}. If the value is to be
+         * boxed, the null becomes the extracted value; otherwise the code
+         * jumps to the returned label with the null value on the stack.
+         *
+         * @param aStep   the extraction path
+         * @param fBoxed  true iff the extracted value should be boxed
+         *
+         * @return the label the code jumps to if the extraction stops at a
+         *         null value, or null if it never stops
+         */
+        protected Label emitPath(Step[] aStep, boolean fBoxed)
+            {
+            MethodVisitor mv      = f_mv;
+            Label         lblNull = null;
+
+            mv.visitVarInsn(ALOAD, 3);
+            for (int i = 0, c = aStep.length; i < c; i++)
+                {
+                Step step = aStep[i];
+                if (i > 0)
+                    {
+                    if (lblNull == null)
+                        {
+                        lblNull = new Label();
+                        }
+                    mv.visitInsn(DUP);
+                    mv.visitJumpInsn(IFNULL, lblNull);
+                    }
+
+                if (step.isMapGet())
+                    {
+                    mv.visitLdcInsn(step.f_sName);
+                    mv.visitMethodInsn(INVOKEINTERFACE, MAP_NAME, "get", "(" + OBJECT_DESC + ")" + OBJECT_DESC, true);
+                    }
+                else
+                    {
+                    mv.visitMethodInsn(step.f_fItf ? INVOKEINTERFACE : INVOKEVIRTUAL,
+                            step.f_sOwner, step.f_sName, step.f_sDesc, step.f_fItf);
+                    }
+                }
+
+            Class clzResult = aStep.length == 0 ? null : aStep[aStep.length - 1].f_clzReturn;
+            if (fBoxed && clzResult != null && clzResult.isPrimitive())
+                {
+                Type   typePrim = Type.getType(clzResult);
+                String sWrapper = Type.getInternalName(getWrapper(clzResult));
+                mv.visitMethodInsn(INVOKESTATIC, sWrapper, "valueOf",
+                        "(" + typePrim.getDescriptor() + ")L" + sWrapper + ";", false);
+                }
+
+            if (lblNull != null && fBoxed)
+                {
+                // the null intermediate value becomes the extracted value
+                Label lblEnd = new Label();
+                mv.visitJumpInsn(GOTO, lblEnd);
+                mv.visitLabel(lblNull);
+                mv.visitInsn(POP);
+                mv.visitInsn(ACONST_NULL);
+                mv.visitLabel(lblEnd);
+                return null;
+                }
+
+            return lblNull;
+            }
+
+        /**
+         * Emit the code that loads the specified constant.
+         *
+         * @param iConst  the index of the constant
+         * @param sType   the internal name of the type to cast the constant to
+         */
+        protected void loadConstant(int iConst, String sType)
+            {
+            MethodVisitor mv = f_mv;
+
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitFieldInsn(GETFIELD, PREDICATE_NAME, "f_aoConst", "[" + OBJECT_DESC);
+            mv.visitLdcInsn(iConst);
+            mv.visitInsn(AALOAD);
+            if (!sType.equals(OBJECT_NAME))
+                {
+                mv.visitTypeInsn(CHECKCAST, sType);
+                }
+            }
+
+        // ----- data members -------------------------------------------
+
+        /**
+         * The MethodVisitor.
+         */
+        protected final MethodVisitor f_mv;
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * An undocumented system property for a file system path to store the
+     * generated ClassFiles.
+     */
+    private static final String DUMP_CLASSES = Config.getProperty("coherence.filter.dumpClasses");
+
+    /**
+     * The package of the generated classes.
+     */
+    private static final String GENERATED_PACKAGE = "com/tangosol/internal/util/filter/generated/";
+
+    private static final String PREDICATE_NAME = Type.getInternalName(CompiledPredicate.class);
+    private static final String BASE_NAME      = Type.getInternalName(Base.class);
+    private static final String FILTER_NAME    = Type.getInternalName(Filter.class);
+    private static final String FILTER_DESC    = Type.getDescriptor(Filter.class);
+    private static final String ENTRY_NAME     = Type.getInternalName(Map.Entry.class);
+    private static final String ENTRY_DESC     = Type.getDescriptor(Map.Entry.class);
+    private static final String MAP_NAME       = Type.getInternalName(Map.class);
+    private static final String SET_NAME       = Type.getInternalName(Set.class);
+    private static final String OBJECT_NAME    = Type.getInternalName(Object.class);
+    private static final String OBJECT_DESC    = Type.getDescriptor(Object.class);
+
+    /**
+     * A WeakHashMap of {@link FilterCompiler instances}, keyed by ClassLoader.
+     */
+    private static final Map<ClassLoader, FilterCompiler> s_mapByClassLoader
+            = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * The number of generated classes, used to name them.
+     */
+    private static final AtomicInteger s_cClasses = new AtomicInteger();
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The constructors of the generated classes, keyed by the target class
+     * and the shape of the filter.
+     */
+    protected final Map<Class, Map<String, Constructor>> f_mapShapes = new ConcurrentHashMap<>();
+    }
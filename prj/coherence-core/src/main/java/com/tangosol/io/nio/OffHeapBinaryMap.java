@@ -0,0 +1,2620 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.tangosol.io.nio;
+
+import com.oracle.coherence.common.base.Disposable;
+
+import com.tangosol.io.AbstractReadBuffer;
+
+import com.tangosol.net.cache.CacheEvent;
+import com.tangosol.net.cache.CacheEvent.TransformationState;
+import com.tangosol.net.cache.CacheStatistics;
+import com.tangosol.net.cache.ConfigurableCacheMap;
+import com.tangosol.net.cache.LocalCache;
+import com.tangosol.net.cache.SimpleCacheStatistics;
+
+import com.tangosol.util.AbstractKeyBasedMap;
+import com.tangosol.util.Base;
+import com.tangosol.util.Binary;
+import com.tangosol.util.Filter;
+import com.tangosol.util.MapEvent;
+import com.tangosol.util.MapListener;
+import com.tangosol.util.MapListenerSupport;
+
+import java.nio.ByteBuffer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+* OffHeapBinaryMap is a {@link ConfigurableCacheMap} of {@link Binary} keys
+* and values that stores its entries off-heap, in slabs obtained from a
+* shared {@link SlabAllocator}.
+* <p>
+* An OffHeapBinaryMap is meant to hold the entries of a single partition:
+* it owns the slabs its entries are stored in, so the memory of a partition
+* is released in bulk when its map is {@link #dispose() disposed}, and the
+* partitions never contend with each other. Each slab holds the records of a
+* single size class. As entries are removed, a sparse slab is incrementally
+* emptied by moving a few of its records to the other slabs of its size
+* class on each subsequent modification, and released once it is empty, so
+* the map never needs a stop-the-world compaction.
+* <p>
+* The keys and values are stored off-heap along with a small header; the
+* only on-heap state per entry is a hash, a record handle and an access time
+* in the open-addressing index. The modifications are serialized, while the
+* reads are optimistic and only fall back to locking if they overlapped with
+* a modification, so readers never block each other.
+* <p>
+* When the map exceeds its high units, the least recently used of a random
+* sample of the entries are evicted; the {@link EvictionApprover} is
+* consulted before evicting or expiring an entry. The eviction policy is
+* fixed, so {@link #setEvictionPolicy} has no effect. The default unit
+* calculator is {@link LocalCache#INSTANCE_FIXED}.
+*
+* @see SlabAllocator
+*
+* @since 25.09
+*/
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class OffHeapBinaryMap
+        extends AbstractKeyBasedMap
+        implements ConfigurableCacheMap, Disposable
+    {
+    // ----- constructors ---------------------------------------------------
+
+    /**
+    * Construct an unbounded OffHeapBinaryMap.
+    *
+    * @param allocator  the allocator of the slabs
+    */
+    public OffHeapBinaryMap(SlabAllocator allocator)
+        {
+        this(allocator, LocalCache.DEFAULT_UNITS, LocalCache.DEFAULT_EXPIRE);
+        }
+
+    /**
+    * Construct an OffHeapBinaryMap.
+    *
+    * @param allocator      the allocator of the slabs
+    * @param cUnits         the number of units that the map will hold
+    * @param cExpiryMillis  the number of milliseconds that each entry lives
+    *                       before being automatically expired
+    */
+    public OffHeapBinaryMap(SlabAllocator allocator, int cUnits, int cExpiryMillis)
+        {
+        Base.azzert(allocator != null);
+
+        int cClasses = allocator.getSizeClassCount();
+
+        SizeClass[] aClass = new SizeClass[cClasses];
+        for (int i = 0; i < cClasses; i++)
+            {
+            aClass[i] = new SizeClass(allocator.getChunkSize(i));
+            }
+
+        f_allocator   = allocator;
+        f_aClass      = aClass;
+        f_lock        = new StampedLock();
+        f_listeners   = new MapListenerSupport();
+        f_stats       = new SimpleCacheStatistics();
+        m_calculator  = LocalCache.INSTANCE_FIXED;
+        m_nUnitFactor = 1;
+
+        initIndex(MIN_INDEX_SIZE);
+        setHighUnits(cUnits);
+        setExpiryDelay(cExpiryMillis);
+        }
+
+
+    // ----- accessors ------------------------------------------------------
+
+    /**
+    * Return the allocator of the slabs.
+    *
+    * @return the allocator of the slabs
+    */
+    public SlabAllocator getAllocator()
+        {
+        return f_allocator;
+        }
+
+    /**
+    * Return the number of slabs (and dedicated buffers) held by this map.
+    *
+    * @return the number of slabs
+    */
+    public int getSlabCount()
+        {
+        return m_cSlabs;
+        }
+
+    /**
+    * Return the number of off-heap bytes held by this map.
+    *
+    * @return the number of off-heap bytes
+    */
+    public long getReservedBytes()
+        {
+        return m_cbReserved;
+        }
+
+    /**
+    * Return the number of records that were moved by the incremental
+    * defragmentation.
+    *
+    * @return the number of moved records
+    */
+    public long getRelocationCount()
+        {
+        return m_cRelocations;
+        }
+
+    /**
+    * Returns the statistics for this map.
+    *
+    * @return the statistics for this map
+    */
+    public CacheStatistics getCacheStatistics()
+        {
+        return f_stats;
+        }
+
+    /**
+    * Specify whether this map is used in the environment, where the
+    * {@link Base#getSafeTimeMillis()} is used very frequently and as a result,
+    * the {@link Base#getLastSafeTimeMillis} could be used without sacrificing
+    * the clock precision. By default, the optimization is off.
+    *
+    * @param fOptimize  pass true to turn the "last safe time" optimization on
+    */
+    public void setOptimizeGetTime(boolean fOptimize)
+        {
+        m_fOptimizeGetTime = fOptimize;
+        }
+
+
+    // ----- Map interface --------------------------------------------------
+
+    /**
+    * {@inheritDoc}
+    */
+    public Object get(Object oKey)
+        {
+        Object oValue = oKey instanceof Binary ? read((Binary) oKey, true) : null;
+        if (oValue == null)
+            {
+            f_stats.registerMiss();
+            }
+        else
+            {
+            f_stats.registerHit();
+            }
+        return oValue;
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public boolean containsKey(Object oKey)
+        {
+        return oKey instanceof Binary && read((Binary) oKey, false) != null;
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public Object put(Object oKey, Object oValue)
+        {
+        return put(oKey, oValue, EXPIRY_DEFAULT);
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public Object remove(Object oKey)
+        {
+        return remove(oKey, true);
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public int size()
+        {
+        return m_cEntries;
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public boolean isEmpty()
+        {
+        return m_cEntries == 0;
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public void clear()
+        {
+        List<MapEvent> listEvents = null;
+
+        long lStamp = f_lock.writeLock();
+        try
+            {
+            if (hasListeners())
+                {
+                listEvents = new ArrayList<>(m_cEntries);
+
+                long[] alHandle = m_alHandle;
+                for (int i = 0; i < alHandle.length; i++)
+                    {
+                    long lHandle = alHandle[i];
+                    if (lHandle != EMPTY)
+                        {
+                        listEvents.add(createEvent(MapEvent.ENTRY_DELETED, readKey(lHandle),
+                                readValue(lHandle), null, false, false));
+                        }
+                    }
+                }
+
+            releaseAll();
+            }
+        finally
+            {
+            f_lock.unlockWrite(lStamp);
+            }
+
+        dispatchEvents(listEvents);
+        }
+
+
+    // ----- AbstractKeyBasedMap methods ------------------------------------
+
+    /**
+    * {@inheritDoc}
+    */
+    protected boolean removeBlind(Object oKey)
+        {
+        return remove(oKey, hasListeners()) != NO_VALUE;
+        }
+
+    /**
+    * {@inheritDoc}
+    * <p>
+    * The iterator iterates over a snapshot of the keys.
+    */
+    protected Iterator iterateKeys()
+        {
+        Binary[] aKey;
+
+        long lStamp = f_lock.readLock();
+        try
+            {
+            long[] alHandle = m_alHandle;
+            int    cKeys    = 0;
+
+            aKey = new Binary[m_cEntries];
+            for (int i = 0; i < alHandle.length; i++)
+                {
+                long lHandle = alHandle[i];
+                if (lHandle != EMPTY)
+                    {
+                    aKey[cKeys++] = readKey(lHandle);
+                    }
+                }
+            }
+        finally
+            {
+            f_lock.unlockRead(lStamp);
+            }
+
+        return new KeyIterator(aKey);
+        }
+
+
+    // ----- CacheMap interface ---------------------------------------------
+
+    /**
+    * {@inheritDoc}
+    */
+    public Object put(Object oKey, Object oValue, long cMillis)
+        {
+        Binary binKey   = ensureBinary(oKey, "key");
+        Binary binValue = ensureBinary(oValue, "value");
+
+        long ldtNow    = getCurrentTimeMillis();
+        long ldtExpiry = cMillis == EXPIRY_DEFAULT ? m_cExpiryMillis : cMillis;
+
+        ldtExpiry = ldtExpiry <= 0L ? 0L : ldtNow + ldtExpiry;
+
+        int    nHash  = hash(binKey);
+        int    cUnits = calculateUnits(binKey, binValue);
+        Binary binOld;
+        int    nId;
+
+        long lStamp = f_lock.writeLock();
+        try
+            {
+            int iSlot = find(binKey, nHash);
+            if (iSlot < 0)
+                {
+                long lHandle = writeRecord(EMPTY, binKey, nHash, binValue, ldtExpiry, cUnits);
+
+                insertSlot(nHash, lHandle, ldtNow);
+                binOld = null;
+                nId    = MapEvent.ENTRY_INSERTED;
+                }
+            else
+                {
+                long lHandleOld = m_alHandle[iSlot];
+
+                binOld = readValue(lHandleOld);
+                m_cUnits -= getRecordUnits(lHandleOld);
+
+                long lHandle = writeRecord(lHandleOld, binKey, nHash, binValue, ldtExpiry, cUnits);
+
+                m_alHandle[iSlot] = lHandle;
+                m_alTouch[iSlot]  = ldtNow;
+                nId               = MapEvent.ENTRY_UPDATED;
+
+                // the old record is only freed once the index refers to the
+                // new one, as freeing it may relocate other records
+                if (lHandle != lHandleOld)
+                    {
+                    freeRecord(lHandleOld);
+                    }
+                }
+
+            m_cUnits += cUnits;
+            registerExpiry(ldtExpiry);
+            }
+        finally
+            {
+            f_lock.unlockWrite(lStamp);
+            }
+
+        f_stats.registerPut(0L);
+
+        if (hasListeners())
+            {
+            dispatchEvent(createEvent(nId, binKey, binOld, binValue, false, false));
+            }
+
+        if (m_cUnits > m_cMaxUnits)
+            {
+            prune();
+            }
+
+        return binOld;
+        }
+
+
+    // ----- ObservableMap interface ----------------------------------------
+
+    /**
+    * {@inheritDoc}
+    */
+    public void addMapListener(MapListener listener)
+        {
+        f_listeners.addListener(listener, (Filter) null, false);
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public void removeMapListener(MapListener listener)
+        {
+        f_listeners.removeListener(listener, (Filter) null);
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public void addMapListener(MapListener listener, Object oKey, boolean fLite)
+        {
+        f_listeners.addListener(listener, oKey, fLite);
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public void removeMapListener(MapListener listener, Object oKey)
+        {
+        f_listeners.removeListener(listener, oKey);
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public void addMapListener(MapListener listener, Filter filter, boolean fLite)
+        {
+        f_listeners.addListener(listener, filter, fLite);
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public void removeMapListener(MapListener listener, Filter filter)
+        {
+        f_listeners.removeListener(listener, filter);
+        }
+
+
+    // ----- ConfigurableCacheMap interface ---------------------------------
+
+    /**
+    * {@inheritDoc}
+    */
+    public int getUnits()
+        {
+        return toExternalUnits(m_cUnits, getUnitFactor());
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public int getHighUnits()
+        {
+        return toExternalUnits(m_cMaxUnits, getUnitFactor());
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public void setHighUnits(int cMax)
+        {
+        long cUnits = toInternalUnits(cMax, getUnitFactor());
+
+        m_cMaxUnits   = cUnits;
+        m_cPruneUnits = cUnits == Long.MAX_VALUE ? cUnits : (long) (DEFAULT_PRUNE * cUnits);
+
+        if (m_cUnits > cUnits)
+            {
+            prune();
+            }
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public int getLowUnits()
+        {
+        return toExternalUnits(m_cPruneUnits, getUnitFactor());
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public void setLowUnits(int cMin)
+        {
+        long cUnits = toInternalUnits(cMin, getUnitFactor());
+        long cMax   = m_cMaxUnits;
+        if (cUnits >= cMax)
+            {
+            cUnits = (long) (DEFAULT_PRUNE * cMax);
+            }
+        else if (cMax == Long.MAX_VALUE)
+            {
+            // no max indicates no min
+            cUnits = cMax;
+            }
+
+        m_cPruneUnits = cUnits;
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public int getUnitFactor()
+        {
+        return m_nUnitFactor;
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public void setUnitFactor(int nFactor)
+        {
+        if (nFactor <= 0)
+            {
+            throw new IllegalArgumentException("The unit factor must be positive");
+            }
+        else if (!isEmpty())
+            {
+            throw new IllegalStateException(
+                    "The unit factor cannot be set after the map has been populated");
+            }
+
+        int nFactorOld = m_nUnitFactor;
+        if (nFactor != nFactorOld)
+            {
+            long cMaxUnits   = m_cMaxUnits;
+            long cPruneUnits = m_cPruneUnits;
+
+            m_nUnitFactor = nFactor;
+            m_cMaxUnits   = cMaxUnits == Long.MAX_VALUE
+                            ? cMaxUnits : toInternalUnits(toExternalUnits(cMaxUnits, nFactorOld), nFactor);
+            m_cPruneUnits = cPruneUnits == Long.MAX_VALUE
+                            ? cPruneUnits : toInternalUnits(toExternalUnits(cPruneUnits, nFactorOld), nFactor);
+            }
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public void evict(Object oKey)
+        {
+        if (!(oKey instanceof Binary))
+            {
+            return;
+            }
+
+        Binary   binKey = (Binary) oKey;
+        MapEvent event  = null;
+
+        long lStamp = f_lock.writeLock();
+        try
+            {
+            int iSlot = find(binKey, hash(binKey));
+            if (iSlot >= 0)
+                {
+                event = evictSlot(iSlot, false);
+                }
+            }
+        finally
+            {
+            f_lock.unlockWrite(lStamp);
+            }
+
+        dispatchEvent(event);
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public void evictAll(Collection colKeys)
+        {
+        for (Object oKey : colKeys)
+            {
+            evict(oKey);
+            }
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public void evict()
+        {
+        long ldtNow  = getCurrentTimeMillis();
+        long ldtNext = m_ldtNextExpiry;
+        if (ldtNext == 0L || ldtNext > ldtNow)
+            {
+            return;
+            }
+
+        List<MapEvent> listEvents = new ArrayList<>();
+
+        long lStamp = f_lock.writeLock();
+        try
+            {
+            long[] alHandle = m_alHandle;
+
+            ldtNext = 0L;
+            for (int i = 0; i < alHandle.length; )
+                {
+                long lHandle   = alHandle[i];
+                long ldtExpiry = lHandle == EMPTY ? 0L : getRecordExpiry(lHandle);
+
+                if (ldtExpiry != 0L && ldtExpiry <= ldtNow && isEvictable(i))
+                    {
+                    // removing the slot may shift another entry into it
+                    listEvents.add(evictSlot(i, true));
+                    continue;
+                    }
+
+                if (ldtExpiry != 0L && (ldtNext == 0L || ldtExpiry < ldtNext))
+                    {
+                    ldtNext = ldtExpiry;
+                    }
+                i++;
+                }
+            m_ldtNextExpiry = ldtNext;
+            }
+        finally
+            {
+            f_lock.unlockWrite(lStamp);
+            }
+
+        dispatchEvents(listEvents);
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public EvictionApprover getEvictionApprover()
+        {
+        return m_approver;
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public void setEvictionApprover(EvictionApprover approver)
+        {
+        m_approver = approver;
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public int getExpiryDelay()
+        {
+        return m_cExpiryMillis;
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public void setExpiryDelay(int cMillis)
+        {
+        m_cExpiryMillis = Math.max(cMillis, 0);
+        }
+
+    /**
+    * {@inheritDoc}
+    * <p>
+    * The returned time may be earlier than the actual expiry time of the
+    * entries if entries were updated or removed since the last time the
+    * expired entries were {@link #evict() evicted}.
+    */
+    public long getNextExpiryTime()
+        {
+        return m_ldtNextExpiry;
+        }
+
+    /**
+    * {@inheritDoc}
+    * <p>
+    * The returned entry is a snapshot of the entry; its modifications are
+    * applied to this map.
+    */
+    public ConfigurableCacheMap.Entry getCacheEntry(Object oKey)
+        {
+        if (!(oKey instanceof Binary))
+            {
+            return null;
+            }
+
+        Binary binKey = (Binary) oKey;
+
+        long lStamp = f_lock.readLock();
+        try
+            {
+            int iSlot = find(binKey, hash(binKey));
+            if (iSlot < 0)
+                {
+                return null;
+                }
+
+            long lHandle = m_alHandle[iSlot];
+            return new Entry(binKey, readValue(lHandle), getRecordExpiry(lHandle),
+                    getRecordUnits(lHandle), m_alTouch[iSlot]);
+            }
+        finally
+            {
+            f_lock.unlockRead(lStamp);
+            }
+        }
+
+    /**
+    * {@inheritDoc}
+    * <p>
+    * This map always evicts the least recently used of a random sample of
+    * entries, so this method returns <tt>null</tt>.
+    */
+    public EvictionPolicy getEvictionPolicy()
+        {
+        return null;
+        }
+
+    /**
+    * {@inheritDoc}
+    * <p>
+    * This map always evicts the least recently used of a random sample of
+    * entries, so this method has no effect.
+    */
+    public void setEvictionPolicy(EvictionPolicy policy)
+        {
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public UnitCalculator getUnitCalculator()
+        {
+        return m_calculator;
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public void setUnitCalculator(UnitCalculator calculator)
+        {
+        calculator = calculator == null ? LocalCache.INSTANCE_FIXED : calculator;
+
+        long lStamp = f_lock.writeLock();
+        try
+            {
+            m_calculator = calculator;
+
+            long[] alHandle = m_alHandle;
+            long   cUnits   = 0L;
+            for (int i = 0; i < alHandle.length; i++)
+                {
+                long lHandle = alHandle[i];
+                if (lHandle != EMPTY)
+                    {
+                    int cUnitsEntry = calculateUnits(readKey(lHandle), readValue(lHandle));
+
+                    slabOf(lHandle).f_buf.putInt(offsetOf(lHandle) + OFFSET_UNITS, cUnitsEntry);
+                    cUnits += cUnitsEntry;
+                    }
+                }
+            m_cUnits = cUnits;
+            }
+        finally
+            {
+            f_lock.unlockWrite(lStamp);
+            }
+
+        if (m_cUnits > m_cMaxUnits)
+            {
+            prune();
+            }
+        }
+
+
+    // ----- Disposable interface -------------------------------------------
+
+    /**
+    * Release all the slabs held by this map, discarding its entries without
+    * raising any events.
+    */
+    public void dispose()
+        {
+        long lStamp = f_lock.writeLock();
+        try
+            {
+            releaseAll();
+            }
+        finally
+            {
+            f_lock.unlockWrite(lStamp);
+            }
+        }
+
+
+    // ----- read operations ------------------------------------------------
+
+    /**
+    * Read the value of the specified key, first optimistically and then, if
+    * the optimistic read overlapped with a modification, while holding the
+    * read lock. An expired entry is evicted if it may be.
+    *
+    * @param binKey   the key
+    * @param fValue   true to read the value; false to only check that the
+    *                 key is present
+    *
+    * @return the value, or {@link Boolean#TRUE} if the key is present and
+    *         the value was not requested, or <tt>null</tt> if the key is
+    *         not present
+    */
+    protected Object read(Binary binKey, boolean fValue)
+        {
+        StampedLock lock   = f_lock;
+        int         nHash  = hash(binKey);
+        long        ldtNow = getCurrentTimeMillis();
+        Object      oResult;
+
+        long lStamp = lock.tryOptimisticRead();
+        try
+            {
+            oResult = lStamp == 0L ? NO_VALUE : readSlot(binKey, nHash, ldtNow, fValue);
+            }
+        catch (RuntimeException e)
+            {
+            // the index or the slabs were concurrently modified
+            oResult = NO_VALUE;
+            }
+
+        if (oResult == NO_VALUE || !lock.validate(lStamp))
+            {
+            lStamp = lock.readLock();
+            try
+                {
+                oResult = readSlot(binKey, nHash, ldtNow, fValue);
+                }
+            finally
+                {
+                lock.unlockRead(lStamp);
+                }
+            }
+
+        if (oResult == EXPIRED)
+            {
+            oResult = evictExpired(binKey, nHash) ? null : read(binKey, fValue);
+            }
+
+        return oResult;
+        }
+
+    /**
+    * Read the value of the specified key.
+    * <p>
+    * This method is called either optimistically or while holding the
+    * read lock; when called optimistically, it may return garbage or throw
+    * an exception, which is then discarded.
+    *
+    * @param binKey  the key
+    * @param nHash   the hash of the key
+    * @param ldtNow  the current time
+    * @param fValue  true to read the value
+    *
+    * @return the value, {@link Boolean#TRUE}, {@link #EXPIRED},
+    *         {@link #NO_VALUE} or <tt>null</tt>
+    */
+    protected Object readSlot(Binary binKey, int nHash, long ldtNow, boolean fValue)
+        {
+        int iSlot = find(binKey, nHash);
+        if (iSlot < 0)
+            {
+            return null;
+            }
+
+        long   lHandle   = m_alHandle[iSlot];
+        long   ldtExpiry = getRecordExpiry(lHandle);
+        if (ldtExpiry != 0L && ldtExpiry <= ldtNow)
+            {
+            return EXPIRED;
+            }
+
+        // racing with other readers is harmless
+        m_alTouch[iSlot] = ldtNow;
+
+        return fValue ? readValue(lHandle) : Boolean.TRUE;
+        }
+
+
+    // ----- write operations -----------------------------------------------
+
+    /**
+    * Remove the specified key.
+    *
+    * @param oKey    the key
+    * @param fValue  true to return the removed value
+    *
+    * @return the removed value, <tt>null</tt> if the value was not
+    *         requested, or {@link #NO_VALUE} if the key was not present
+    */
+    protected Object remove(Object oKey, boolean fValue)
+        {
+        if (!(oKey instanceof Binary))
+            {
+            return fValue ? null : NO_VALUE;
+            }
+
+        Binary binKey = (Binary) oKey;
+        int    nHash  = hash(binKey);
+        Binary binOld;
+
+        long lStamp = f_lock.writeLock();
+        try
+            {
+            int iSlot = find(binKey, nHash);
+            if (iSlot < 0)
+                {
+                return fValue ? null : NO_VALUE;
+                }
+
+            long lHandle = m_alHandle[iSlot];
+
+            binOld    = fValue ? readValue(lHandle) : null;
+            m_cUnits -= getRecordUnits(lHandle);
+
+            removeSlot(iSlot);
+            freeRecord(lHandle);
+            }
+        finally
+            {
+            f_lock.unlockWrite(lStamp);
+            }
+
+        if (hasListeners())
+            {
+            dispatchEvent(createEvent(MapEvent.ENTRY_DELETED, binKey, binOld, null, false, false));
+            }
+
+        return binOld;
+        }
+
+    /**
+    * Evict the specified key if it has expired and may be evicted.
+    *
+    * @param binKey  the key
+    * @param nHash   the hash of the key
+    *
+    * @return true iff the key is no longer present
+    */
+    protected boolean evictExpired(Binary binKey, int nHash)
+        {
+        MapEvent event;
+
+        long lStamp = f_lock.writeLock();
+        try
+            {
+            int iSlot = find(binKey, nHash);
+            if (iSlot < 0)
+                {
+                return true;
+                }
+
+            long ldtExpiry = getRecordExpiry(m_alHandle[iSlot]);
+            if (ldtExpiry == 0L || ldtExpiry > getCurrentTimeMillis() || !isEvictable(iSlot))
+                {
+                return false;
+                }
+
+            event = evictSlot(iSlot, true);
+            }
+        finally
+            {
+            f_lock.unlockWrite(lStamp);
+            }
+
+        dispatchEvent(event);
+        return true;
+        }
+
+    /**
+    * Evict entries until the map is back to its low units.
+    * <p>
+    * The least recently used of a random sample of entries is evicted,
+    * unless the sample contains an expired entry.
+    */
+    protected void prune()
+        {
+        List<MapEvent> listEvents = new ArrayList<>();
+        long           ldtStart   = getCurrentTimeMillis();
+
+        long lStamp = f_lock.writeLock();
+        try
+            {
+            long                cTarget = m_cPruneUnits;
+            ThreadLocalRandom   random  = ThreadLocalRandom.current();
+
+            while (m_cUnits > cTarget && m_cEntries > 0)
+                {
+                long[] alHandle = m_alHandle;
+                long[] alTouch  = m_alTouch;
+                int    nMask    = alHandle.length - 1;
+                int    iVictim  = -1;
+
+                for (int cSampled = 0, cTries = 0; cSampled < SAMPLE_SIZE && cTries < SAMPLE_SIZE * 8; cTries++)
+                    {
+                    int i = random.nextInt() & nMask;
+                    if (alHandle[i] != EMPTY)
+                        {
+                        cSampled++;
+
+                        long ldtExpiry = getRecordExpiry(alHandle[i]);
+                        if (ldtExpiry != 0L && ldtExpiry <= ldtStart && isEvictable(i))
+                            {
+                            iVictim = i;
+                            break;
+                            }
+                        if ((iVictim < 0 || alTouch[i] < alTouch[iVictim]) && isEvictable(i))
+                            {
+                            iVictim = i;
+                            }
+                        }
+                    }
+
+                if (iVictim < 0)
+                    {
+                    // none of the sampled entries may be evicted
+                    break;
+                    }
+
+                long ldtExpiry = getRecordExpiry(alHandle[iVictim]);
+                listEvents.add(evictSlot(iVictim, ldtExpiry != 0L && ldtExpiry <= ldtStart));
+                }
+            }
+        finally
+            {
+            f_lock.unlockWrite(lStamp);
+            }
+
+        f_stats.registerCachePrune(ldtStart);
+        dispatchEvents(listEvents);
+        }
+
+    /**
+    * Evict the entry in the specified index slot.
+    * <p>
+    * Must be called while holding the write lock.
+    *
+    * @param iSlot     the index slot
+    * @param fExpired  true iff the entry has expired
+    *
+    * @return the event to dispatch, or <tt>null</tt>
+    */
+    protected MapEvent evictSlot(int iSlot, boolean fExpired)
+        {
+        long     lHandle = m_alHandle[iSlot];
+        MapEvent event   = hasListeners()
+                ? createEvent(MapEvent.ENTRY_DELETED, readKey(lHandle), readValue(lHandle), null, true, fExpired)
+                : null;
+
+        m_cUnits -= getRecordUnits(lHandle);
+        removeSlot(iSlot);
+        freeRecord(lHandle);
+
+        return event;
+        }
+
+    /**
+    * Update the expiry time or the units of the specified key.
+    *
+    * @param binKey     the key
+    * @param ldtExpiry  the new expiry time, or -1 to leave it unchanged
+    * @param cUnits     the new number of units, or -1 to leave them unchanged
+    */
+    protected void updateRecord(Binary binKey, long ldtExpiry, int cUnits)
+        {
+        long lStamp = f_lock.writeLock();
+        try
+            {
+            int iSlot = find(binKey, hash(binKey));
+            if (iSlot >= 0)
+                {
+                long       lHandle = m_alHandle[iSlot];
+                ByteBuffer buf     = slabOf(lHandle).f_buf;
+                int        of      = offsetOf(lHandle);
+
+                if (ldtExpiry >= 0L)
+                    {
+                    buf.putLong(of + OFFSET_EXPIRY, ldtExpiry);
+                    registerExpiry(ldtExpiry);
+                    }
+                if (cUnits >= 0)
+                    {
+                    m_cUnits += cUnits - buf.getInt(of + OFFSET_UNITS);
+                    buf.putInt(of + OFFSET_UNITS, cUnits);
+                    }
+                }
+            }
+        finally
+            {
+            f_lock.unlockWrite(lStamp);
+            }
+
+        if (m_cUnits > m_cMaxUnits)
+            {
+            prune();
+            }
+        }
+
+
+    // ----- index ----------------------------------------------------------
+
+    /**
+    * Initialize an empty index.
+    *
+    * @param cSlots  the number of slots; a power of two
+    */
+    protected void initIndex(int cSlots)
+        {
+        m_anHash   = new int[cSlots];
+        m_alHandle = new long[cSlots];
+        m_alTouch  = new long[cSlots];
+        m_cEntries = 0;
+        }
+
+    /**
+    * Find the index slot of the specified key.
+    *
+    * @param binKey  the key
+    * @param nHash   the hash of the key
+    *
+    * @return the index slot, or -1 if the key is not present
+    */
+    protected int find(Binary binKey, int nHash)
+        {
+        int[]  anHash   = m_anHash;
+        long[] alHandle = m_alHandle;
+        int    nMask    = alHandle.length - 1;
+
+        // the probe is bounded in case the index is concurrently resized
+        for (int i = nHash & nMask, c = 0; c <= nMask; i = (i + 1) & nMask, c++)
+            {
+            long lHandle = alHandle[i];
+            if (lHandle == EMPTY)
+                {
+                return -1;
+                }
+            if (anHash[i] == nHash && keyEquals(lHandle, binKey))
+                {
+                return i;
+                }
+            }
+        return -1;
+        }
+
+    /**
+    * Insert a new entry into the index.
+    * <p>
+    * Must be called while holding the write lock.
+    *
+    * @param nHash    the hash of the key
+    * @param lHandle  the handle of the record
+    * @param ldtNow   the current time
+    */
+    protected void insertSlot(int nHash, long lHandle, long ldtNow)
+        {
+        if ((m_cEntries + 1) * 4L > m_alHandle.length * 3L)
+            {
+            resizeIndex(m_alHandle.length * 2);
+            }
+
+        int[]  anHash   = m_anHash;
+        long[] alHandle = m_alHandle;
+        int    nMask    = alHandle.length - 1;
+        int    i        = nHash & nMask;
+
+        while (alHandle[i] != EMPTY)
+            {
+            i = (i + 1) & nMask;
+            }
+
+        anHash[i]     = nHash;
+        alHandle[i]   = lHandle;
+        m_alTouch[i]  = ldtNow;
+        m_cEntries++;
+        }
+
+    /**
+    * Remove an entry from the index, shifting back the entries that follow
+    * it in its probe sequence.
+    * <p>
+    * Must be called while holding the write lock.
+    *
+    * @param iSlot  the index slot
+    */
+    protected void removeSlot(int iSlot)
+        {
+        int[]  anHash   = m_anHash;
+        long[] alHandle = m_alHandle;
+        long[] alTouch  = m_alTouch;
+        int    nMask    = alHandle.length - 1;
+
+        for (int i = iSlot, j = (iSlot + 1) & nMask; alHandle[j] != EMPTY; j = (j + 1) & nMask)
+            {
+            int k = anHash[j] & nMask;
+
+            // move the entry at j into the hole at i unless its home slot k
+            // lies cyclically in (i, j]
+            if (i <= j ? (i < k && k <= j) : (i < k || k <= j))
+                {
+                continue;
+                }
+
+            anHash[i]   = anHash[j];
+            alHandle[i] = alHandle[j];
+            alTouch[i]  = alTouch[j];
+            i           = j;
+            iSlot       = j;
+            }
+
+        anHash[iSlot]   = 0;
+        alHandle[iSlot] = EMPTY;
+        alTouch[iSlot]  = 0L;
+        m_cEntries--;
+        }
+
+    /**
+    * Resize the index.
+    * <p>
+    * Must be called while holding the write lock.
+    *
+    * @param cSlots  the new number of slots; a power of two
+    */
+    protected void resizeIndex(int cSlots)
+        {
+        int[]  anHashOld   = m_anHash;
+        long[] alHandleOld = m_alHandle;
+        long[] alTouchOld  = m_alTouch;
+        int    cEntries    = m_cEntries;
+
+        int[]  anHash   = new int[cSlots];
+        long[] alHandle = new long[cSlots];
+        long[] alTouch  = new long[cSlots];
+        int    nMask    = cSlots - 1;
+
+        for (int j = 0; j < alHandleOld.length; j++)
+            {
+            long lHandle = alHandleOld[j];
+            if (lHandle != EMPTY)
+                {
+                int i = anHashOld[j] & nMask;
+                while (alHandle[i] != EMPTY)
+                    {
+                    i = (i + 1) & nMask;
+                    }
+                anHash[i]   = anHashOld[j];
+                alHandle[i] = lHandle;
+                alTouch[i]  = alTouchOld[j];
+                }
+            }
+
+        m_anHash   = anHash;
+        m_alHandle = alHandle;
+        m_alTouch  = alTouch;
+        m_cEntries = cEntries;
+        }
+
+    /**
+    * Find the index slot that refers to the specified record.
+    * <p>
+    * Must be called while holding the write lock.
+    *
+    * @param lHandle  the handle of the record
+    *
+    * @return the index slot
+    */
+    protected int findSlot(long lHandle)
+        {
+        long[] alHandle = m_alHandle;
+        int    nMask    = alHandle.length - 1;
+        int    nHash    = slabOf(lHandle).f_buf.getInt(offsetOf(lHandle) + OFFSET_HASH);
+        for (int i = nHash & nMask; ; i = (i + 1) & nMask)
+            {
+            if (alHandle[i] == lHandle)
+                {
+                return i;
+                }
+            }
+        }
+
+
+    // ----- records --------------------------------------------------------
+
+    /**
+    * Write a record, reusing the chunk of the specified record if the new
+    * record fits in it. The caller is responsible for freeing the specified
+    * record if a new chunk was allocated.
+    * <p>
+    * Must be called while holding the write lock.
+    *
+    * @param lHandleOld  the handle of the record to replace, or
+    *                    {@link #EMPTY}
+    * @param binKey      the key
+    * @param nHash       the hash of the key
+    * @param binValue    the value
+    * @param ldtExpiry   the expiry time, or zero
+    * @param cUnits      the units of the entry
+    *
+    * @return the handle of the record
+    */
+    protected long writeRecord(long lHandleOld, Binary binKey, int nHash, Binary binValue,
+            long ldtExpiry, int cUnits)
+        {
+        int  cbKey    = binKey.length();
+        int  cbValue  = binValue.length();
+        int  cbRecord = HEADER_SIZE + cbKey + cbValue;
+        long lHandle  = lHandleOld != EMPTY && fits(slabOf(lHandleOld), cbRecord)
+                        ? lHandleOld : allocateRecord(cbRecord);
+
+        ByteBuffer buf = slabOf(lHandle).f_buf;
+        int        of  = offsetOf(lHandle);
+
+        buf.putInt (of + OFFSET_KEY_SIZE, cbKey);
+        buf.putInt (of + OFFSET_VALUE_SIZE, cbValue);
+        buf.putLong(of + OFFSET_EXPIRY, ldtExpiry);
+        buf.putInt (of + OFFSET_UNITS, cUnits);
+        buf.putInt (of + OFFSET_HASH, nHash);
+        buf.put(of + HEADER_SIZE, binKey.toByteBuffer(), 0, cbKey);
+        buf.put(of + HEADER_SIZE + cbKey, binValue.toByteBuffer(), 0, cbValue);
+
+        return lHandle;
+        }
+
+    /**
+    * Determine whether a record of the specified size belongs in the chunks
+    * of the specified slab.
+    *
+    * @param slab      the slab
+    * @param cbRecord  the size of the record
+    *
+    * @return true iff the record belongs in the slab's chunks
+    */
+    protected boolean fits(Slab slab, int cbRecord)
+        {
+        return slab.f_nClass < 0
+               ? cbRecord <= slab.f_cbChunk && cbRecord > slab.f_cbChunk / 2
+               : f_allocator.getSizeClass(cbRecord) == slab.f_nClass;
+        }
+
+    /**
+    * Allocate a chunk for a record of the specified size.
+    * <p>
+    * Must be called while holding the write lock.
+    *
+    * @param cbRecord  the size of the record
+    *
+    * @return the handle of the allocated chunk
+    */
+    protected long allocateRecord(int cbRecord)
+        {
+        SlabAllocator allocator = f_allocator;
+        int           nClass    = allocator.getSizeClass(cbRecord);
+
+        if (nClass < 0)
+            {
+            ByteBuffer buf = allocator.allocateLarge(cbRecord);
+            if (buf == null)
+                {
+                throw reportOutOfMemory(cbRecord);
+                }
+
+            Slab slab = registerSlab(buf, -1, cbRecord);
+            return handleOf(slab, slab.allocate());
+            }
+
+        SizeClass sizeClass = f_aClass[nClass];
+        Slab      slab      = sizeClass.findSlab();
+        if (slab == null)
+            {
+            ByteBuffer buf = allocator.allocateSlab();
+            if (buf == null)
+                {
+                // use the slab that is being emptied, if any, rather than fail
+                slab = sizeClass.m_slabDefrag;
+                if (slab == null || slab.isFull())
+                    {
+                    throw reportOutOfMemory(cbRecord);
+                    }
+                sizeClass.m_slabDefrag = null;
+                }
+            else
+                {
+                slab = registerSlab(buf, nClass, sizeClass.f_cbChunk);
+                sizeClass.add(slab);
+                }
+            }
+
+        sizeClass.m_cFree--;
+        return handleOf(slab, slab.allocate());
+        }
+
+    /**
+    * Free the chunk of the specified record, releasing its slab if it is
+    * now empty, and make progress on the defragmentation of its size class.
+    * <p>
+    * Must be called while holding the write lock.
+    *
+    * @param lHandle  the handle of the record
+    */
+    protected void freeRecord(long lHandle)
+        {
+        Slab slab = slabOf(lHandle);
+
+        slab.free(chunkOf(lHandle));
+
+        if (slab.f_nClass < 0)
+            {
+            releaseSlab(slab);
+            return;
+            }
+
+        SizeClass sizeClass = f_aClass[slab.f_nClass];
+
+        sizeClass.m_cFree++;
+        if (slab.isEmpty() && sizeClass.m_listSlab.size() > 1)
+            {
+            sizeClass.remove(slab);
+            releaseSlab(slab);
+            }
+        else
+            {
+            defragment(sizeClass);
+            }
+        }
+
+    /**
+    * Move a few records out of the sparsest slab of the specified size
+    * class, once the free chunks of the class amount to more than a slab
+    * and a half. The slab is released once it is empty.
+    * <p>
+    * Must be called while holding the write lock.
+    *
+    * @param sizeClass  the size class
+    */
+    protected void defragment(SizeClass sizeClass)
+        {
+        Slab slabDefrag = sizeClass.m_slabDefrag;
+        if (slabDefrag == null)
+            {
+            List<Slab> listSlab = sizeClass.m_listSlab;
+            if (listSlab.size() < 2)
+                {
+                return;
+                }
+
+            int cChunks = listSlab.get(0).f_cChunks;
+            if (sizeClass.m_cFree * 2L < cChunks * 3L)
+                {
+                return;
+                }
+
+            for (Slab slab : listSlab)
+                {
+                if (slabDefrag == null || slab.m_cUsed < slabDefrag.m_cUsed)
+                    {
+                    slabDefrag = slab;
+                    }
+                }
+
+            // only empty the slab if its records fit in the other slabs
+            if (slabDefrag.m_cUsed * 2 > cChunks ||
+                sizeClass.m_cFree - (cChunks - slabDefrag.m_cUsed) < slabDefrag.m_cUsed)
+                {
+                return;
+                }
+            sizeClass.m_slabDefrag = slabDefrag;
+            }
+
+        for (int c = 0, iChunk = slabDefrag.nextUsed(0);
+             c < DEFRAG_BATCH && iChunk >= 0; c++, iChunk = slabDefrag.nextUsed(iChunk + 1))
+            {
+            relocate(handleOf(slabDefrag, iChunk));
+            }
+
+        if (slabDefrag.isEmpty())
+            {
+            sizeClass.m_slabDefrag = null;
+            sizeClass.remove(slabDefrag);
+            releaseSlab(slabDefrag);
+            }
+        }
+
+    /**
+    * Move the specified record to another chunk of its size class.
+    * <p>
+    * Must be called while holding the write lock.
+    *
+    * @param lHandle  the handle of the record
+    */
+    protected void relocate(long lHandle)
+        {
+        Slab       slab     = slabOf(lHandle);
+        ByteBuffer buf      = slab.f_buf;
+        int        of       = offsetOf(lHandle);
+        int        cbRecord = HEADER_SIZE + buf.getInt(of + OFFSET_KEY_SIZE) + buf.getInt(of + OFFSET_VALUE_SIZE);
+        int        iSlot    = findSlot(lHandle);
+
+        SizeClass sizeClass = f_aClass[slab.f_nClass];
+        Slab      slabNew   = sizeClass.findSlab();
+        if (slabNew == null)
+            {
+            return;
+            }
+
+        long lHandleNew = handleOf(slabNew, slabNew.allocate());
+
+        slabNew.f_buf.put(offsetOf(lHandleNew), buf, of, cbRecord);
+        m_alHandle[iSlot] = lHandleNew;
+
+        slab.free(chunkOf(lHandle));
+        m_cRelocations++;
+        }
+
+    /**
+    * Register a new slab with this map.
+    * <p>
+    * Must be called while holding the write lock.
+    *
+    * @param buf      the buffer of the slab
+    * @param nClass   the size class, or -1 for a dedicated buffer
+    * @param cbChunk  the size of the chunks
+    *
+    * @return the slab
+    */
+    protected Slab registerSlab(ByteBuffer buf, int nClass, int cbChunk)
+        {
+        Slab[] aSlab = m_aSlab;
+        int    nId   = m_cFreeIds > 0 ? m_anFreeId[--m_cFreeIds] : m_cSlabIds++;
+
+        if (nId >= aSlab.length)
+            {
+            m_aSlab = aSlab = Arrays.copyOf(aSlab, Math.max(16, aSlab.length * 2));
+            }
+
+        Slab slab = new Slab(nId, buf, nClass, cbChunk);
+
+        aSlab[nId]    = slab;
+        m_cbReserved += buf.capacity();
+        m_cSlabs++;
+        return slab;
+        }
+
+    /**
+    * Release the specified slab to the allocator.
+    * <p>
+    * Must be called while holding the write lock.
+    *
+    * @param slab  the slab
+    */
+    protected void releaseSlab(Slab slab)
+        {
+        int nId = slab.f_nId;
+
+        m_aSlab[nId] = null;
+        if (m_cFreeIds == m_anFreeId.length)
+            {
+            m_anFreeId = Arrays.copyOf(m_anFreeId, Math.max(16, m_cFreeIds * 2));
+            }
+        m_anFreeId[m_cFreeIds++] = nId;
+
+        m_cbReserved -= slab.f_buf.capacity();
+        m_cSlabs--;
+        f_allocator.release(slab.f_buf);
+        }
+
+    /**
+    * Release all the slabs and clear the index.
+    * <p>
+    * Must be called while holding the write lock.
+    */
+    protected void releaseAll()
+        {
+        Slab[] aSlab = m_aSlab;
+        for (int i = 0; i < aSlab.length; i++)
+            {
+            Slab slab = aSlab[i];
+            if (slab != null)
+                {
+                f_allocator.release(slab.f_buf);
+                }
+            }
+
+        for (SizeClass sizeClass : f_aClass)
+            {
+            sizeClass.m_listSlab.clear();
+            sizeClass.m_slabCurrent = null;
+            sizeClass.m_slabDefrag  = null;
+            sizeClass.m_cFree       = 0L;
+            }
+
+        m_aSlab         = new Slab[0];
+        m_anFreeId      = new int[0];
+        m_cFreeIds      = 0;
+        m_cSlabIds      = 0;
+        m_cSlabs        = 0;
+        m_cbReserved    = 0L;
+        m_cUnits        = 0L;
+        m_ldtNextExpiry = 0L;
+
+        initIndex(MIN_INDEX_SIZE);
+        }
+
+    /**
+    * Determine whether the key of the specified record is equal to the
+    * specified key.
+    *
+    * @param lHandle  the handle of the record
+    * @param binKey   the key
+    *
+    * @return true iff the keys are equal
+    */
+    protected boolean keyEquals(long lHandle, Binary binKey)
+        {
+        ByteBuffer buf   = slabOf(lHandle).f_buf;
+        int        of    = offsetOf(lHandle);
+        int        cbKey = buf.getInt(of + OFFSET_KEY_SIZE);
+
+        return cbKey == binKey.length() &&
+               buf.slice(of + HEADER_SIZE, cbKey).equals(binKey.toByteBuffer());
+        }
+
+    /**
+    * Read the key of the specified record.
+    *
+    * @param lHandle  the handle of the record
+    *
+    * @return the key
+    */
+    protected Binary readKey(long lHandle)
+        {
+        ByteBuffer buf = slabOf(lHandle).f_buf;
+        int        of  = offsetOf(lHandle);
+
+        return readBinary(buf, of + HEADER_SIZE, buf.getInt(of + OFFSET_KEY_SIZE));
+        }
+
+    /**
+    * Read the value of the specified record.
+    *
+    * @param lHandle  the handle of the record
+    *
+    * @return the value
+    */
+    protected Binary readValue(long lHandle)
+        {
+        Slab       slab    = slabOf(lHandle);
+        ByteBuffer buf     = slab.f_buf;
+        int        of      = offsetOf(lHandle);
+        int        cbKey   = buf.getInt(of + OFFSET_KEY_SIZE);
+        int        cbValue = buf.getInt(of + OFFSET_VALUE_SIZE);
+
+        if (cbKey < 0 || cbValue < 0 || HEADER_SIZE + cbKey + cbValue > slab.f_cbChunk)
+            {
+            // only possible when reading optimistically
+            throw new IllegalStateException("Corrupted record header");
+            }
+
+        return readBinary(buf, of + HEADER_SIZE + cbKey, cbValue);
+        }
+
+    /**
+    * Return the expiry time of the specified record.
+    *
+    * @param lHandle  the handle of the record
+    *
+    * @return the expiry time, or zero if the record never expires
+    */
+    protected long getRecordExpiry(long lHandle)
+        {
+        return slabOf(lHandle).f_buf.getLong(offsetOf(lHandle) + OFFSET_EXPIRY);
+        }
+
+    /**
+    * Return the units of the specified record.
+    *
+    * @param lHandle  the handle of the record
+    *
+    * @return the units
+    */
+    protected int getRecordUnits(long lHandle)
+        {
+        return slabOf(lHandle).f_buf.getInt(offsetOf(lHandle) + OFFSET_UNITS);
+        }
+
+    /**
+    * Return the slab of the specified record.
+    *
+    * @param lHandle  the handle of the record
+    *
+    * @return the slab
+    */
+    protected Slab slabOf(long lHandle)
+        {
+        return m_aSlab[(int) (lHandle >>> 32) - 1];
+        }
+
+    /**
+    * Return the offset of the specified record within its slab.
+    *
+    * @param lHandle  the handle of the record
+    *
+    * @return the offset
+    */
+    protected int offsetOf(long lHandle)
+        {
+        return chunkOf(lHandle) * slabOf(lHandle).f_cbChunk;
+        }
+
+
+    // ----- helpers --------------------------------------------------------
+
+    /**
+    * Determine whether the entry in the specified index slot may be evicted.
+    *
+    * @param iSlot  the index slot
+    *
+    * @return true iff the eviction approver (if any) allows the eviction
+    */
+    protected boolean isEvictable(int iSlot)
+        {
+        EvictionApprover approver = m_approver;
+        if (approver == null)
+            {
+            return true;
+            }
+
+        long lHandle = m_alHandle[iSlot];
+        return approver.isEvictable(new Entry(readKey(lHandle), readValue(lHandle),
+                getRecordExpiry(lHandle), getRecordUnits(lHandle), m_alTouch[iSlot]));
+        }
+
+    /**
+    * Register the expiry time of an entry.
+    * <p>
+    * Must be called while holding the write lock.
+    *
+    * @param ldtExpiry  the expiry time, or zero if the entry never expires
+    */
+    protected void registerExpiry(long ldtExpiry)
+        {
+        long ldtNext = m_ldtNextExpiry;
+        if (ldtExpiry != 0L && (ldtNext == 0L || ldtExpiry < ldtNext))
+            {
+            m_ldtNextExpiry = ldtExpiry;
+            }
+        }
+
+    /**
+    * Calculate the internal units of the specified entry.
+    *
+    * @param binKey    the key
+    * @param binValue  the value
+    *
+    * @return the number of units
+    */
+    protected int calculateUnits(Binary binKey, Binary binValue)
+        {
+        int cUnits = m_calculator.calculateUnits(binKey, binValue);
+        if (cUnits < 0)
+            {
+            throw new IllegalStateException("Negative unit count for " + binKey);
+            }
+        return cUnits;
+        }
+
+    /**
+    * Determine whether there are any registered listeners.
+    *
+    * @return true iff there are registered listeners
+    */
+    protected boolean hasListeners()
+        {
+        return !f_listeners.isEmpty();
+        }
+
+    /**
+    * Create a cache event.
+    *
+    * @param nId         the event id
+    * @param binKey      the key
+    * @param binOld      the old value
+    * @param binNew      the new value
+    * @param fSynthetic  true iff the event is caused by an eviction
+    * @param fExpired    true iff the event is caused by an expiry
+    *
+    * @return the event
+    */
+    protected MapEvent createEvent(int nId, Binary binKey, Binary binOld, Binary binNew,
+            boolean fSynthetic, boolean fExpired)
+        {
+        return new CacheEvent(this, nId, binKey, binOld, binNew, fSynthetic,
+                TransformationState.TRANSFORMABLE, false, fExpired);
+        }
+
+    /**
+    * Dispatch the specified event, if any, to the registered listeners.
+    * <p>
+    * The events are always dispatched after the lock is released, so the
+    * listeners may access this map.
+    *
+    * @param event  the event, or <tt>null</tt>
+    */
+    protected void dispatchEvent(MapEvent event)
+        {
+        if (event != null)
+            {
+            f_listeners.fireEvent(event, false);
+            }
+        }
+
+    /**
+    * Dispatch the specified events to the registered listeners.
+    *
+    * @param listEvents  the events, or <tt>null</tt>
+    */
+    protected void dispatchEvents(List<MapEvent> listEvents)
+        {
+        if (listEvents != null)
+            {
+            for (MapEvent event : listEvents)
+                {
+                dispatchEvent(event);
+                }
+            }
+        }
+
+    /**
+    * Return the current {@link Base#getSafeTimeMillis() safe time} or
+    * {@link Base#getLastSafeTimeMillis last safe time} depending on the
+    * optimization flag.
+    *
+    * @return the current time
+    */
+    protected long getCurrentTimeMillis()
+        {
+        return m_fOptimizeGetTime ? Base.getLastSafeTimeMillis() : Base.getSafeTimeMillis();
+        }
+
+    /**
+    * Report that the off-heap capacity is exhausted.
+    *
+    * @param cbRequired  the amount of space required
+    *
+    * @return never returns; always throws
+    */
+    protected RuntimeException reportOutOfMemory(int cbRequired)
+        {
+        throw new IllegalStateException("OutOfMemory: Required=" + cbRequired + ", " + f_allocator);
+        }
+
+    /**
+    * Ensure that the specified object is a Binary.
+    *
+    * @param o      the object
+    * @param sName  the description of the object
+    *
+    * @return the Binary
+    */
+    protected static Binary ensureBinary(Object o, String sName)
+        {
+        if (o instanceof Binary)
+            {
+            return (Binary) o;
+            }
+        throw new IllegalArgumentException("OffHeapBinaryMap " + sName + " must be of type Binary");
+        }
+
+    /**
+    * Read a Binary from the specified buffer.
+    *
+    * @param buf  the buffer
+    * @param of   the offset of the Binary
+    * @param cb   the length of the Binary
+    *
+    * @return the Binary
+    */
+    protected static Binary readBinary(ByteBuffer buf, int of, int cb)
+        {
+        return cb == 0 ? AbstractReadBuffer.NO_BINARY
+                       : new ByteBufferReadBuffer(buf.slice(of, cb)).toBinary();
+        }
+
+    /**
+    * Return the hash of the specified key.
+    *
+    * @param binKey  the key
+    *
+    * @return the hash of the key
+    */
+    protected static int hash(Binary binKey)
+        {
+        int n = binKey.hashCode();
+        n = ((n >>> 16) ^ n) * 0x45D9F3B;
+        return (n >>> 16) ^ n;
+        }
+
+    /**
+    * Return the handle of the specified chunk.
+    *
+    * @param slab    the slab
+    * @param iChunk  the index of the chunk in the slab
+    *
+    * @return the handle
+    */
+    protected static long handleOf(Slab slab, int iChunk)
+        {
+        return ((long) (slab.f_nId + 1) << 32) | iChunk;
+        }
+
+    /**
+    * Return the index of the chunk of the specified record within its slab.
+    *
+    * @param lHandle  the handle of the record
+    *
+    * @return the index of the chunk
+    */
+    protected static int chunkOf(long lHandle)
+        {
+        return (int) lHandle;
+        }
+
+    /**
+    * Convert from an external 32-bit unit value to an internal 64-bit unit
+    * value using the configured units factor.
+    *
+    * @param cUnits   an external 32-bit units value
+    * @param nFactor  the unit factor
+    *
+    * @return an internal 64-bit units value
+    */
+    protected static long toInternalUnits(int cUnits, int nFactor)
+        {
+        return cUnits <= 0 || cUnits == Integer.MAX_VALUE
+               ? Long.MAX_VALUE
+               : ((long) cUnits) * nFactor;
+        }
+
+    /**
+    * Convert from an internal 64-bit unit value to an external 32-bit unit
+    * value using the configured units factor.
+    *
+    * @param cUnits   an internal 64-bit units value
+    * @param nFactor  the unit factor
+    *
+    * @return an external 32-bit units value
+    */
+    protected static int toExternalUnits(long cUnits, int nFactor)
+        {
+        if (nFactor > 1 && cUnits != Long.MAX_VALUE)
+            {
+            cUnits = (cUnits + nFactor - 1) / nFactor;
+            }
+        return cUnits > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) cUnits;
+        }
+
+
+    // ----- inner class: Slab ----------------------------------------------
+
+    /**
+    * A Slab is a buffer divided into chunks of a single size class, or a
+    * dedicated buffer holding a single record.
+    */
+    protected static class Slab
+        {
+        /**
+        * Construct a Slab.
+        *
+        * @param nId      the id of the slab within its map
+        * @param buf      the buffer
+        * @param nClass   the size class, or -1 for a dedicated buffer
+        * @param cbChunk  the size of the chunks
+        */
+        protected Slab(int nId, ByteBuffer buf, int nClass, int cbChunk)
+            {
+            int cChunks = nClass < 0 ? 1 : buf.capacity() / cbChunk;
+
+            f_nId     = nId;
+            f_buf     = buf;
+            f_nClass  = nClass;
+            f_cbChunk = cbChunk;
+            f_cChunks = cChunks;
+            f_alUsed  = new long[(cChunks + 63) >>> 6];
+            }
+
+        /**
+        * Allocate a chunk.
+        *
+        * @return the index of the chunk
+        */
+        protected int allocate()
+            {
+            long[] alUsed = f_alUsed;
+            for (int i = m_iHint, c = 0; c < alUsed.length; i = i + 1 == alUsed.length ? 0 : i + 1, c++)
+                {
+                long l = alUsed[i];
+                if (l != -1L)
+                    {
+                    int iChunk = (i << 6) + Long.numberOfTrailingZeros(~l);
+                    if (iChunk < f_cChunks)
+                        {
+                        alUsed[i] = l | (1L << iChunk);
+                        m_iHint   = i;
+                        m_cUsed++;
+                        return iChunk;
+                        }
+                    }
+                }
+            throw new IllegalStateException("Slab is full");
+            }
+
+        /**
+        * Free the specified chunk.
+        *
+        * @param iChunk  the index of the chunk
+        */
+        protected void free(int iChunk)
+            {
+            f_alUsed[iChunk >>> 6] &= ~(1L << iChunk);
+            m_cUsed--;
+            }
+
+        /**
+        * Return the index of the first used chunk at or after the specified
+        * index.
+        *
+        * @param iChunk  the index to start from
+        *
+        * @return the index of the used chunk, or -1 if there is none
+        */
+        protected int nextUsed(int iChunk)
+            {
+            long[] alUsed = f_alUsed;
+            int    i      = iChunk >>> 6;
+            if (i >= alUsed.length)
+                {
+                return -1;
+                }
+
+            long l = alUsed[i] & (-1L << iChunk);
+            while (true)
+                {
+                if (l != 0L)
+                    {
+                    return (i << 6) + Long.numberOfTrailingZeros(l);
+                    }
+                if (++i == alUsed.length)
+                    {
+                    return -1;
+                    }
+                l = alUsed[i];
+                }
+            }
+
+        /**
+        * Determine whether all the chunks are used.
+        *
+        * @return true iff all the chunks are used
+        */
+        protected boolean isFull()
+            {
+            return m_cUsed == f_cChunks;
+            }
+
+        /**
+        * Determine whether none of the chunks are used.
+        *
+        * @return true iff none of the chunks are used
+        */
+        protected boolean isEmpty()
+            {
+            return m_cUsed == 0;
+            }
+
+        /**
+        * The id of the slab within its map.
+        */
+        protected final int f_nId;
+
+        /**
+        * The buffer.
+        */
+        protected final ByteBuffer f_buf;
+
+        /**
+        * The size class, or -1 for a dedicated buffer.
+        */
+        protected final int f_nClass;
+
+        /**
+        * The size of the chunks.
+        */
+        protected final int f_cbChunk;
+
+        /**
+        * The number of chunks.
+        */
+        protected final int f_cChunks;
+
+        /**
+        * The bitmap of the used chunks.
+        */
+        protected final long[] f_alUsed;
+
+        /**
+        * The index of the bitmap word to search first for a free chunk.
+        */
+        protected int m_iHint;
+
+        /**
+        * The number of used chunks.
+        */
+        protected int m_cUsed;
+        }
+
+
+    // ----- inner class: SizeClass -----------------------------------------
+
+    /**
+    * The slabs of a size class.
+    */
+    protected static class SizeClass
+        {
+        /**
+        * Construct a SizeClass.
+        *
+        * @param cbChunk  the size of the chunks
+        */
+        protected SizeClass(int cbChunk)
+            {
+            f_cbChunk = cbChunk;
+            }
+
+        /**
+        * Return a slab with a free chunk, other than the slab being emptied.
+        *
+        * @return the slab, or <tt>null</tt> if none of the slabs has a free
+        *         chunk
+        */
+        protected Slab findSlab()
+            {
+            Slab slab = m_slabCurrent;
+            if (slab != null && !slab.isFull() && slab != m_slabDefrag)
+                {
+                return slab;
+                }
+
+            // prefer the fullest slab, which leaves the sparse slabs to
+            // empty out
+            slab = null;
+            for (Slab slabCandidate : m_listSlab)
+                {
+                if (!slabCandidate.isFull() && slabCandidate != m_slabDefrag &&
+                    (slab == null || slabCandidate.m_cUsed > slab.m_cUsed))
+                    {
+                    slab = slabCandidate;
+                    }
+                }
+            return m_slabCurrent = slab;
+            }
+
+        /**
+        * Add a new slab to this size class.
+        *
+        * @param slab  the slab
+        */
+        protected void add(Slab slab)
+            {
+            m_listSlab.add(slab);
+            m_cFree      += slab.f_cChunks;
+            m_slabCurrent = slab;
+            }
+
+        /**
+        * Remove an empty slab from this size class.
+        *
+        * @param slab  the slab
+        */
+        protected void remove(Slab slab)
+            {
+            m_listSlab.remove(slab);
+            m_cFree -= slab.f_cChunks;
+            if (m_slabCurrent == slab)
+                {
+                m_slabCurrent = null;
+                }
+            if (m_slabDefrag == slab)
+                {
+                m_slabDefrag = null;
+                }
+            }
+
+        /**
+        * The size of the chunks.
+        */
+        protected final int f_cbChunk;
+
+        /**
+        * The slabs.
+        */
+        protected final List<Slab> m_listSlab = new ArrayList<>();
+
+        /**
+        * The slab new records are allocated from.
+        */
+        protected Slab m_slabCurrent;
+
+        /**
+        * The slab being emptied by the defragmentation, if any.
+        */
+        protected Slab m_slabDefrag;
+
+        /**
+        * The number of free chunks in all the slabs.
+        */
+        protected long m_cFree;
+        }
+
+
+    // ----- inner class: Entry ---------------------------------------------
+
+    /**
+    * A snapshot of an entry, whose modifications are applied to the map.
+    */
+    protected class Entry
+            extends com.tangosol.util.SimpleMapEntry
+            implements ConfigurableCacheMap.Entry
+        {
+        /**
+        * Construct an Entry.
+        *
+        * @param binKey        the key
+        * @param binValue      the value
+        * @param ldtExpiry     the expiry time, or zero
+        * @param cUnits        the units
+        * @param ldtLastTouch  the time of the last access
+        */
+        protected Entry(Binary binKey, Binary binValue, long ldtExpiry, int cUnits, long ldtLastTouch)
+            {
+            super(binKey, binValue);
+
+            m_ldtExpiry    = ldtExpiry;
+            m_cUnits       = cUnits;
+            m_ldtLastTouch = ldtLastTouch;
+            }
+
+        // ----- Map.Entry interface ----------------------------------------
+
+        /**
+        * {@inheritDoc}
+        */
+        public Object setValue(Object oValue)
+            {
+            super.setValue(oValue);
+            return put(getKey(), oValue);
+            }
+
+        // ----- ConfigurableCacheMap.Entry interface -----------------------
+
+        /**
+        * {@inheritDoc}
+        */
+        public void touch()
+            {
+            m_ldtLastTouch = getCurrentTimeMillis();
+            containsKey(getKey());
+            }
+
+        /**
+        * {@inheritDoc}
+        * <p>
+        * The number of accesses is not tracked, so this method returns zero.
+        */
+        public int getTouchCount()
+            {
+            return 0;
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public long getLastTouchMillis()
+            {
+            return m_ldtLastTouch;
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public long getExpiryMillis()
+            {
+            return m_ldtExpiry;
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public void setExpiryMillis(long lMillis)
+            {
+            m_ldtExpiry = Math.max(lMillis, 0L);
+            updateRecord((Binary) getKey(), m_ldtExpiry, -1);
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public int getUnits()
+            {
+            return m_cUnits;
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public void setUnits(int cUnits)
+            {
+            m_cUnits = Math.max(cUnits, 0);
+            updateRecord((Binary) getKey(), -1L, m_cUnits);
+            }
+
+        // ----- data members -----------------------------------------------
+
+        /**
+        * The expiry time.
+        */
+        protected long m_ldtExpiry;
+
+        /**
+        * The units.
+        */
+        protected int m_cUnits;
+
+        /**
+        * The time of the last access.
+        */
+        protected long m_ldtLastTouch;
+        }
+
+
+    // ----- inner class: KeyIterator ---------------------------------------
+
+    /**
+    * An iterator over a snapshot of the keys.
+    */
+    protected class KeyIterator
+            implements Iterator
+        {
+        /**
+        * Construct a KeyIterator.
+        *
+        * @param aKey  the snapshot of the keys
+        */
+        protected KeyIterator(Binary[] aKey)
+            {
+            f_aKey = aKey;
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public boolean hasNext()
+            {
+            return m_iNext < f_aKey.length;
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public Object next()
+            {
+            if (!hasNext())
+                {
+                throw new NoSuchElementException();
+                }
+            return f_aKey[m_iNext++];
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public void remove()
+            {
+            if (m_iNext == 0 || f_aKey[m_iNext - 1] == null)
+                {
+                throw new IllegalStateException();
+                }
+            OffHeapBinaryMap.this.removeBlind(f_aKey[m_iNext - 1]);
+            f_aKey[m_iNext - 1] = null;
+            }
+
+        /**
+        * The snapshot of the keys.
+        */
+        protected final Binary[] f_aKey;
+
+        /**
+        * The index of the next key.
+        */
+        protected int m_iNext;
+        }
+
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+    * The default prune level, as a fraction of the high units.
+    */
+    public static final double DEFAULT_PRUNE = LocalCache.DEFAULT_PRUNE;
+
+    /**
+    * The handle of an empty index slot.
+    */
+    protected static final long EMPTY = 0L;
+
+    /**
+    * The marker returned by a read of an expired entry.
+    */
+    protected static final Object EXPIRED = new Object();
+
+    /**
+    * The marker returned when a value could not be read.
+    */
+    protected static final Object NO_VALUE = new Object();
+
+    /**
+    * The offset of the key size within a record.
+    */
+    protected static final int OFFSET_KEY_SIZE = 0;
+
+    /**
+    * The offset of the value size within a record.
+    */
+    protected static final int OFFSET_VALUE_SIZE = 4;
+
+    /**
+    * The offset of the expiry time within a record.
+    */
+    protected static final int OFFSET_EXPIRY = 8;
+
+    /**
+    * The offset of the units within a record.
+    */
+    protected static final int OFFSET_UNITS = 16;
+
+    /**
+    * The offset of the key hash within a record.
+    */
+    protected static final int OFFSET_HASH = 20;
+
+    /**
+    * The size of a record header; the key and the value follow the header.
+    */
+    protected static final int HEADER_SIZE = 24;
+
+    /**
+    * The initial number of index slots.
+    */
+    protected static final int MIN_INDEX_SIZE = 16;
+
+    /**
+    * The number of entries sampled to select an eviction victim.
+    */
+    protected static final int SAMPLE_SIZE = 8;
+
+    /**
+    * The maximum number of records moved by each defragmentation step.
+    */
+    protected static final int DEFRAG_BATCH = 4;
+
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+    * The allocator of the slabs.
+    */
+    protected final SlabAllocator f_allocator;
+
+    /**
+    * The size classes.
+    */
+    protected final SizeClass[] f_aClass;
+
+    /**
+    * The lock that serializes the modifications and validates the
+    * optimistic reads.
+    */
+    protected final StampedLock f_lock;
+
+    /**
+    * The registered listeners.
+    */
+    protected final MapListenerSupport f_listeners;
+
+    /**
+    * The statistics.
+    */
+    protected final SimpleCacheStatistics f_stats;
+
+    /**
+    * The slabs, indexed by their ids.
+    */
+    protected Slab[] m_aSlab = new Slab[0];
+
+    /**
+    * The ids of the released slabs available for reuse.
+    */
+    protected int[] m_anFreeId = new int[0];
+
+    /**
+    * The number of ids in {@link #m_anFreeId}.
+    */
+    protected int m_cFreeIds;
+
+    /**
+    * The number of slab ids assigned so far.
+    */
+    protected int m_cSlabIds;
+
+    /**
+    * The number of slabs.
+    */
+    protected volatile int m_cSlabs;
+
+    /**
+    * The number of off-heap bytes held by the slabs.
+    */
+    protected volatile long m_cbReserved;
+
+    /**
+    * The number of records moved by the defragmentation.
+    */
+    protected volatile long m_cRelocations;
+
+    /**
+    * The hashes of the keys, by index slot.
+    */
+    protected int[] m_anHash;
+
+    /**
+    * The handles of the records, by index slot.
+    */
+    protected long[] m_alHandle;
+
+    /**
+    * The times of the last accesses, by index slot.
+    */
+    protected long[] m_alTouch;
+
+    /**
+    * The number of entries.
+    */
+    protected volatile int m_cEntries;
+
+    /**
+    * The number of internal units held by the map.
+    */
+    protected volatile long m_cUnits;
+
+    /**
+    * The maximum number of internal units.
+    */
+    protected volatile long m_cMaxUnits;
+
+    /**
+    * The number of internal units to prune the map down to.
+    */
+    protected volatile long m_cPruneUnits;
+
+    /**
+    * The unit factor.
+    */
+    protected volatile int m_nUnitFactor;
+
+    /**
+    * The default expiry delay, or zero if the entries never expire.
+    */
+    protected volatile int m_cExpiryMillis;
+
+    /**
+    * The earliest expiry time of the entries, or zero.
+    */
+    protected volatile long m_ldtNextExpiry;
+
+    /**
+    * The unit calculator.
+    */
+    protected volatile UnitCalculator m_calculator;
+
+    /**
+    * The eviction approver.
+    */
+    protected volatile EvictionApprover m_approver;
+
+    /**
+    * Specifies whether the "last safe time" can be used.
+    */
+    protected volatile boolean m_fOptimizeGetTime;
+    }
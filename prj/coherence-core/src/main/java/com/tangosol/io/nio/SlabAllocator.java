@@ -0,0 +1,327 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.tangosol.io.nio;
+
+import java.nio.ByteBuffer;
+
+import java.util.Arrays;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+* SlabAllocator manages a pool of fixed-size off-heap slabs (direct
+* {@link ByteBuffer}s) shared by a number of {@link OffHeapBinaryMap}s, and
+* defines the size classes the slabs are divided into.
+* <p>
+* Each slab is used by a single map, and is divided into chunks of a single
+* size class; the size classes grow geometrically, so that a record wastes at
+* most a quarter of its chunk. Records that are larger than the largest size
+* class are stored in dedicated buffers. The total amount of memory held by
+* the slabs and the dedicated buffers is limited by the allocator's capacity.
+* <p>
+* Released slabs are kept for reuse, up to a limit, instead of being returned
+* to the JVM, as allocating a direct buffer is comparatively expensive.
+*
+* @since 25.09
+*/
+public class SlabAllocator
+    {
+    // ----- constructors ---------------------------------------------------
+
+    /**
+    * Construct a SlabAllocator with the default slab size.
+    *
+    * @param cbMax  the maximum number of bytes that may be allocated, or
+    *               zero for no limit
+    */
+    public SlabAllocator(long cbMax)
+        {
+        this(cbMax, DEFAULT_SLAB_SIZE);
+        }
+
+    /**
+    * Construct a SlabAllocator.
+    *
+    * @param cbMax   the maximum number of bytes that may be allocated, or
+    *                zero for no limit
+    * @param cbSlab  the size of a slab in bytes
+    */
+    public SlabAllocator(long cbMax, int cbSlab)
+        {
+        if (cbSlab < MIN_SLAB_SIZE)
+            {
+            throw new IllegalArgumentException("The slab size must be at least "
+                    + MIN_SLAB_SIZE + " bytes: " + cbSlab);
+            }
+
+        // the size classes grow by 25%, and are rounded to 8 bytes; the
+        // largest class fits at least 8 chunks in a slab
+        int[] acbChunk = new int[64];
+        int   cClasses = 0;
+        for (int cbChunk = MIN_CHUNK_SIZE; cbChunk <= cbSlab / 8; cbChunk = (cbChunk + cbChunk / 4 + 7) & ~7)
+            {
+            if (cClasses == acbChunk.length)
+                {
+                acbChunk = Arrays.copyOf(acbChunk, cClasses * 2);
+                }
+            acbChunk[cClasses++] = cbChunk;
+            }
+
+        f_cbSlab       = cbSlab;
+        f_cbMax        = cbMax <= 0L ? Long.MAX_VALUE : cbMax;
+        f_acbChunk     = Arrays.copyOf(acbChunk, cClasses);
+        f_cbAllocated  = new AtomicLong();
+        f_queueFree    = new ConcurrentLinkedQueue<>();
+        f_cFree        = new AtomicInteger();
+        }
+
+
+    // ----- accessors ------------------------------------------------------
+
+    /**
+    * Return the size of a slab in bytes.
+    *
+    * @return the size of a slab in bytes
+    */
+    public int getSlabSize()
+        {
+        return f_cbSlab;
+        }
+
+    /**
+    * Return the maximum number of bytes that may be allocated.
+    *
+    * @return the maximum number of bytes, or {@link Long#MAX_VALUE} if the
+    *         allocator is not limited
+    */
+    public long getCapacity()
+        {
+        return f_cbMax;
+        }
+
+    /**
+    * Return the number of bytes currently allocated, including the slabs
+    * kept for reuse.
+    *
+    * @return the number of bytes allocated
+    */
+    public long getAllocatedBytes()
+        {
+        return f_cbAllocated.get();
+        }
+
+    /**
+    * Return the number of released slabs kept for reuse.
+    *
+    * @return the number of free slabs
+    */
+    public int getFreeSlabCount()
+        {
+        return f_cFree.get();
+        }
+
+    /**
+    * Return the number of size classes.
+    *
+    * @return the number of size classes
+    */
+    public int getSizeClassCount()
+        {
+        return f_acbChunk.length;
+        }
+
+    /**
+    * Return the size of the chunks of the specified size class.
+    *
+    * @param nClass  the size class
+    *
+    * @return the size of the chunks in bytes
+    */
+    public int getChunkSize(int nClass)
+        {
+        return f_acbChunk[nClass];
+        }
+
+    /**
+    * Return the smallest size class whose chunks can hold the specified
+    * number of bytes.
+    *
+    * @param cb  the number of bytes
+    *
+    * @return the size class, or -1 if the bytes must be stored in a
+    *         dedicated buffer
+    */
+    public int getSizeClass(int cb)
+        {
+        int[] acbChunk = f_acbChunk;
+        if (cb > acbChunk[acbChunk.length - 1])
+            {
+            return -1;
+            }
+
+        int nClass = Arrays.binarySearch(acbChunk, cb);
+        return nClass >= 0 ? nClass : -nClass - 1;
+        }
+
+
+    // ----- allocation -----------------------------------------------------
+
+    /**
+    * Allocate a slab.
+    *
+    * @return the slab, or <tt>null</tt> if the capacity is exhausted
+    */
+    public ByteBuffer allocateSlab()
+        {
+        ByteBuffer buf = f_queueFree.poll();
+        if (buf != null)
+            {
+            f_cFree.decrementAndGet();
+            return buf;
+            }
+        return reserve(f_cbSlab) ? ByteBuffer.allocateDirect(f_cbSlab) : null;
+        }
+
+    /**
+    * Allocate a dedicated buffer for a record that is larger than the
+    * largest size class.
+    *
+    * @param cb  the size of the record in bytes
+    *
+    * @return the buffer, or <tt>null</tt> if the capacity is exhausted
+    */
+    public ByteBuffer allocateLarge(int cb)
+        {
+        return reserve(cb) ? ByteBuffer.allocateDirect(cb) : null;
+        }
+
+    /**
+    * Release a slab or a dedicated buffer.
+    *
+    * @param buf  the buffer to release
+    */
+    public void release(ByteBuffer buf)
+        {
+        int cb = buf.capacity();
+        if (cb == f_cbSlab && f_cFree.incrementAndGet() <= MAX_FREE_SLABS)
+            {
+            f_queueFree.offer(buf);
+            }
+        else
+            {
+            if (cb == f_cbSlab)
+                {
+                f_cFree.decrementAndGet();
+                }
+
+            // the memory is freed when the buffer is collected
+            f_cbAllocated.addAndGet(-cb);
+            }
+        }
+
+
+    // ----- internal -------------------------------------------------------
+
+    /**
+    * Reserve the specified number of bytes of the capacity.
+    *
+    * @param cb  the number of bytes
+    *
+    * @return true iff the bytes were reserved
+    */
+    protected boolean reserve(long cb)
+        {
+        AtomicLong cbAllocated = f_cbAllocated;
+        long       cbMax       = f_cbMax;
+        while (true)
+            {
+            long cbCurrent = cbAllocated.get();
+            if (cbCurrent + cb > cbMax)
+                {
+                return false;
+                }
+            if (cbAllocated.compareAndSet(cbCurrent, cbCurrent + cb))
+                {
+                return true;
+                }
+            }
+        }
+
+
+    // ----- Object methods -------------------------------------------------
+
+    /**
+    * {@inheritDoc}
+    */
+    public String toString()
+        {
+        return "SlabAllocator{SlabSize=" + f_cbSlab
+                + ", Capacity=" + (f_cbMax == Long.MAX_VALUE ? "unlimited" : String.valueOf(f_cbMax))
+                + ", Allocated=" + f_cbAllocated.get()
+                + ", FreeSlabs=" + f_cFree.get() + '}';
+        }
+
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+    * The default size of a slab (1MB).
+    */
+    public static final int DEFAULT_SLAB_SIZE = 1 << 20;
+
+    /**
+    * The minimum size of a slab (4KB).
+    */
+    public static final int MIN_SLAB_SIZE = 1 << 12;
+
+    /**
+    * The size of the chunks of the smallest size class.
+    */
+    protected static final int MIN_CHUNK_SIZE = 32;
+
+    /**
+    * The maximum number of released slabs kept for reuse.
+    */
+    protected static final int MAX_FREE_SLABS = 64;
+
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+    * The size of a slab.
+    */
+    protected final int f_cbSlab;
+
+    /**
+    * The maximum number of bytes that may be allocated.
+    */
+    protected final long f_cbMax;
+
+    /**
+    * The chunk size of each size class.
+    */
+    protected final int[] f_acbChunk;
+
+    /**
+    * The number of bytes allocated.
+    */
+    protected final AtomicLong f_cbAllocated;
+
+    /**
+    * The released slabs kept for reuse.
+    */
+    protected final ConcurrentLinkedQueue<ByteBuffer> f_queueFree;
+
+    /**
+    * The number of released slabs kept for reuse.
+    */
+    protected final AtomicInteger f_cFree;
+    }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2000, 2024, Oracle and/or its affiliates.
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
  *
  * Licensed under the Universal Permissive License v 1.0 as shown at
  * https://oss.oracle.com/licenses/upl.
@@ -1179,6 +1179,13 @@ public class ConfigurablePofContext
             int    nTypeId        = entry.getValue();
             final Integer ITypeId = nTypeId;
 
+            if (sClass.equals(mapClassNameByTypeId.get(ITypeId)))
+                {
+                // the type has been registered by the configuration, e.g.
+                // with a serializer generated by RecordSerializerGenerator
+                continue;
+                }
+
             if (mapClassNameByTypeId.containsKey(ITypeId))
                 {
                 report(sURI, nTypeId, null, null, "Duplicate user type id from PortableType annotation");
@@ -1546,7 +1553,7 @@ public class ConfigurablePofContext
         // discover any config providers and add their config URIs to the list of includes
         Set<String> setDiscovered = ServiceLoader.load(PofConfigProvider.class)
                 .stream()
-                .flatMap(p -> p.get().getConfigURIs().stream())
+                .flatMap(p -> p.get().getConfigURIs(loader).stream())
                 .filter(Objects::nonNull)
                 .filter(s -> !s.isBlank())
                 .collect(Collectors.toSet());
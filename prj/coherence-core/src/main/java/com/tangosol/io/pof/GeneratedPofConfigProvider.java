@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+package com.tangosol.io.pof;
+
+import com.tangosol.util.Base;
+
+import java.io.IOException;
+
+import java.net.URL;
+
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * A {@link PofConfigProvider} that provides the POF configuration files
+ * written at build time by the {@code generate-serializers} goal of the
+ * POF Maven plugin, which register the generated serializers of the
+ * records and sealed interfaces annotated with
+ * {@link com.tangosol.io.pof.schema.annotation.PortableType}.
+ * <p>
+ * Each class path element (a JAR file or a class directory) may contain
+ * one such configuration file, so all the {@link #RESOURCE_NAME} resources
+ * visible to the {@link ClassLoader} the POF configuration is loaded with
+ * are provided.
+ *
+ * @see com.tangosol.io.pof.generator.RecordSerializerGenerator
+ *
+ * @since 25.09
+ */
+public class GeneratedPofConfigProvider
+        implements PofConfigProvider
+    {
+    // ----- PofConfigProvider interface ------------------------------------
+
+    @Override
+    public String getConfigURI()
+        {
+        return null;
+        }
+
+    @Override
+    public Set<String> getConfigURIs()
+        {
+        return getConfigURIs(null);
+        }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If the specified loader is {@code null}, the context {@link ClassLoader}
+     * is used.
+     */
+    @Override
+    public Set<String> getConfigURIs(ClassLoader loader)
+        {
+        try
+            {
+            Enumeration<URL> enumURL = Base.ensureClassLoader(loader).getResources(RESOURCE_NAME);
+            if (!enumURL.hasMoreElements())
+                {
+                return Collections.emptySet();
+                }
+
+            Set<String> setURI = new LinkedHashSet<>();
+            while (enumURL.hasMoreElements())
+                {
+                setURI.add(enumURL.nextElement().toExternalForm());
+                }
+            return setURI;
+            }
+        catch (IOException e)
+            {
+            throw Base.ensureRuntimeException(e, "Failed to locate the generated POF configuration files");
+            }
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The name of the generated POF configuration resource.
+     */
+    public static final String RESOURCE_NAME = "META-INF/coherence-generated-pof-config.xml";
+    }
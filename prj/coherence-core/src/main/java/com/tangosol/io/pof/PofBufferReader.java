@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2000, 2024, Oracle and/or its affiliates.
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
  *
  * Licensed under the Universal Permissive License v 1.0 as shown at
  * https://oss.oracle.com/licenses/upl.
@@ -1763,6 +1763,39 @@ public class PofBufferReader
         return s;
         }
 
+    /**
+    * {@inheritDoc}
+    */
+    public CharSequence readCharSequence(int iProp)
+            throws IOException
+        {
+        if (advanceTo(iProp))
+            {
+            ReadBuffer.BufferInput in  = m_in;
+            ReadBuffer             buf = in.getBuffer();
+            int                    of  = in.getOffset();
+            if (buf != null && in.readPackedInt() == T_CHAR_STRING)
+                {
+                int cb = in.readPackedInt();
+                if (cb >= 0)
+                    {
+                    // the characters are left in the buffer they were
+                    // read from, and decoded only when needed
+                    CharSequence seq = new Utf8CharSequence(buf.getReadBuffer(in.getOffset(), cb));
+                    in.skipBytes(cb);
+                    complete(iProp);
+                    return seq;
+                    }
+                }
+
+            // any other value is read as a String; the reader is still
+            // positioned at the property
+            in.setOffset(of);
+            }
+
+        return readString(iProp);
+        }
+
     /**
     * {@inheritDoc}
     */
@@ -39,4 +39,20 @@ public interface PofConfigProvider
                 ? Collections.emptySet()
                 : Collections.singleton(sURI.trim());
         }
+
+    /**
+     * Provide a set of POF configuration files to load, using the specified
+     * {@link ClassLoader} to locate them.
+     *
+     * @param loader  the {@link ClassLoader} the POF configuration is loaded
+     *                with
+     *
+     * @return a set of POF configuration files to load
+     *
+     * @since 25.09
+     */
+    default Set<String> getConfigURIs(ClassLoader loader)
+        {
+        return getConfigURIs();
+        }
     }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2000, 2024, Oracle and/or its affiliates.
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
  *
  * Licensed under the Universal Permissive License v 1.0 as shown at
  * https://oss.oracle.com/licenses/upl.
@@ -377,6 +377,33 @@ public interface PofReader
     public String readString(int iProp)
             throws IOException;
 
+    /**
+    * Read a <tt>String</tt> from the POF stream as a <tt>CharSequence</tt>,
+    * without decoding the characters if the reader supports it.
+    * <p>
+    * The readers over the serialized form held in a {@link
+    * com.tangosol.io.ReadBuffer} return the UTF-8 encoded strings as the
+    * {@link Utf8CharSequence} over that buffer, which is only valid for as
+    * long as the buffer is; all other strings are read as by the
+    * {@link #readString(int)} method.
+    *
+    * @param iProp  the property index to read
+    *
+    * @return the <tt>CharSequence</tt> property value, or null if no value
+    *         was available in the POF stream
+    *
+    * @throws IllegalStateException  if the POF stream has already
+    *         advanced past the desired property
+    * @throws IOException  if an I/O error occurs
+    *
+    * @since 25.09
+    */
+    public default CharSequence readCharSequence(int iProp)
+            throws IOException
+        {
+        return readString(iProp);
+        }
+
     /**
     * Read a <tt>java.util.Date</tt> from the POF stream.
     *
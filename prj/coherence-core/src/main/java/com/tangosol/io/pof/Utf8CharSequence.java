@@ -0,0 +1,416 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.tangosol.io.pof;
+
+
+import com.tangosol.io.ReadBuffer;
+
+import com.tangosol.util.Base;
+import com.tangosol.util.ExternalizableHelper;
+
+import java.io.UTFDataFormatException;
+
+import java.nio.charset.StandardCharsets;
+
+
+/**
+* A CharSequence over the UTF-8 encoded characters of a POF string, as they
+* appear in the serialized form of a value.
+* <p>
+* The characters are not decoded until they are needed: the equality tests,
+* the prefix, suffix and substring tests, as well as the hash code of the
+* ASCII strings are evaluated against the encoded bytes. The String is
+* created (and cached) only when the {@link #toString()} method is called,
+* or when the sequence contains non-ASCII characters and one of the
+* character-based methods is called.
+* <p>
+* The ReadBuffer is not copied, so the sequence must not outlive the buffer
+* it was created for. The Java POF writers use the modified UTF-8 encoding
+* (see {@link java.io.DataInput}), which differs from the standard encoding
+* in how the NUL and the supplementary characters are encoded, while other
+* POF writers may use the standard one. The byte-based tests are therefore
+* only used for the Strings that are encoded the same way by both, as
+* determined by {@link #encode(String)}.
+*
+* @since 25.09
+*/
+public final class Utf8CharSequence
+        implements CharSequence
+    {
+    // ----- constructors ---------------------------------------------------
+
+    /**
+    * Construct a Utf8CharSequence over the passed buffer.
+    *
+    * @param buf  the buffer holding the UTF-8 encoded characters
+    */
+    public Utf8CharSequence(ReadBuffer buf)
+        {
+        f_buf = buf;
+        }
+
+
+    // ----- Utf8CharSequence methods ---------------------------------------
+
+    /**
+    * Return the buffer holding the UTF-8 encoded characters.
+    *
+    * @return the buffer holding the UTF-8 encoded characters
+    */
+    public ReadBuffer getBuffer()
+        {
+        return f_buf;
+        }
+
+    /**
+    * Determine whether all the characters of this sequence are ASCII
+    * characters, in which case each character is encoded by a single byte.
+    *
+    * @return true iff the sequence consists of the ASCII characters only
+    */
+    public boolean isAscii()
+        {
+        int nAscii = m_nAscii;
+        if (nAscii == 0)
+            {
+            ReadBuffer buf = f_buf;
+            nAscii = 1;
+            for (int of = 0, cb = buf.length(); of < cb; ++of)
+                {
+                if (buf.byteAt(of) < 0)
+                    {
+                    nAscii = -1;
+                    break;
+                    }
+                }
+            m_nAscii = nAscii;
+            }
+        return nAscii > 0;
+        }
+
+    /**
+    * Determine whether this sequence consists of the passed UTF-8 encoded
+    * characters.
+    *
+    * @param abUtf  the UTF-8 encoded characters, as returned by
+    *               {@link #encode(String)}
+    *
+    * @return true iff the sequence consists of the passed characters
+    */
+    public boolean contentEquals(byte[] abUtf)
+        {
+        return f_buf.length() == abUtf.length && regionMatches(0, abUtf);
+        }
+
+    /**
+    * Determine whether this sequence starts with the passed UTF-8 encoded
+    * characters.
+    *
+    * @param abUtf  the UTF-8 encoded characters, as returned by
+    *               {@link #encode(String)}
+    *
+    * @return true iff the sequence starts with the passed characters
+    */
+    public boolean startsWith(byte[] abUtf)
+        {
+        return f_buf.length() >= abUtf.length && regionMatches(0, abUtf);
+        }
+
+    /**
+    * Determine whether this sequence ends with the passed UTF-8 encoded
+    * characters.
+    *
+    * @param abUtf  the UTF-8 encoded characters, as returned by
+    *               {@link #encode(String)}
+    *
+    * @return true iff the sequence ends with the passed characters
+    */
+    public boolean endsWith(byte[] abUtf)
+        {
+        int of = f_buf.length() - abUtf.length;
+        return of >= 0 && regionMatches(of, abUtf);
+        }
+
+    /**
+    * Determine whether this sequence contains the passed UTF-8 encoded
+    * characters.
+    * <p>
+    * Since no UTF-8 encoded character is a part of the encoding of another
+    * character, a match of the encoded bytes is always a match of the
+    * characters.
+    *
+    * @param abUtf  the UTF-8 encoded characters, as returned by
+    *               {@link #encode(String)}
+    *
+    * @return true iff the sequence contains the passed characters
+    */
+    public boolean contains(byte[] abUtf)
+        {
+        int cbPart = abUtf.length;
+        if (cbPart == 0)
+            {
+            return true;
+            }
+
+        ReadBuffer buf   = f_buf;
+        byte       bHead = abUtf[0];
+        for (int of = 0, ofLast = buf.length() - cbPart; of <= ofLast; ++of)
+            {
+            if (buf.byteAt(of) == bHead && regionMatches(of, abUtf))
+                {
+                return true;
+                }
+            }
+        return false;
+        }
+
+    /**
+    * Encode the passed String into the UTF-8 form used by the POF strings,
+    * so that it can be compared with the Utf8CharSequence values.
+    * <p>
+    * The Strings that contain a NUL or a surrogate character are not
+    * encoded, as the encoding of those characters depends on the POF writer
+    * (the modified UTF-8 encoding of the Java POF writers encodes the NUL
+    * as two bytes and each surrogate separately); such Strings must be
+    * compared with the {@link #toString() decoded} values instead.
+    *
+    * @param s  the String to encode
+    *
+    * @return the UTF-8 encoded characters of the String, or null if the
+    *         String contains a NUL or a surrogate character
+    */
+    public static byte[] encode(String s)
+        {
+        for (int of = 0, cch = s.length(); of < cch; ++of)
+            {
+            char ch = s.charAt(of);
+            if (ch == 0 || Character.isSurrogate(ch))
+                {
+                return null;
+                }
+            }
+
+        return s.getBytes(StandardCharsets.UTF_8);
+        }
+
+
+    // ----- CharSequence interface -----------------------------------------
+
+    /**
+    * {@inheritDoc}
+    */
+    public int length()
+        {
+        return isAscii() ? f_buf.length() : toString().length();
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public char charAt(int index)
+        {
+        if (isAscii())
+            {
+            if (index < 0 || index >= f_buf.length())
+                {
+                throw new IndexOutOfBoundsException("index=" + index
+                        + ", length=" + f_buf.length());
+                }
+            return (char) f_buf.byteAt(index);
+            }
+        return toString().charAt(index);
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public CharSequence subSequence(int ofStart, int ofEnd)
+        {
+        if (isAscii())
+            {
+            if (ofStart < 0 || ofStart > ofEnd || ofEnd > f_buf.length())
+                {
+                throw new IndexOutOfBoundsException("start=" + ofStart
+                        + ", end=" + ofEnd + ", length=" + f_buf.length());
+                }
+            return new Utf8CharSequence(f_buf.getReadBuffer(ofStart, ofEnd - ofStart));
+            }
+        return toString().subSequence(ofStart, ofEnd);
+        }
+
+
+    // ----- Object methods -------------------------------------------------
+
+    /**
+    * Compare this Utf8CharSequence with another object to determine
+    * equality. A Utf8CharSequence is equal to another Utf8CharSequence or
+    * any other CharSequence, such as a String, that consists of the same
+    * characters.
+    * <p>
+    * Note that the relation is one-directional when the passed object is
+    * not a Utf8CharSequence: a String is never equal to a Utf8CharSequence.
+    * As the hash value is the same as the one of the corresponding String,
+    * a Utf8CharSequence can be used to look up the Strings of a hash-based
+    * collection, but not vice versa.
+    *
+    * @return true iff the passed object is a CharSequence that consists of
+    *         the same characters as this Utf8CharSequence
+    */
+    public boolean equals(Object o)
+        {
+        if (o == this)
+            {
+            return true;
+            }
+        if (o instanceof Utf8CharSequence)
+            {
+            ReadBuffer bufThis = f_buf;
+            ReadBuffer bufThat = ((Utf8CharSequence) o).f_buf;
+            int        cb      = bufThis.length();
+            if (cb != bufThat.length())
+                {
+                return false;
+                }
+            for (int of = 0; of < cb; ++of)
+                {
+                if (bufThis.byteAt(of) != bufThat.byteAt(of))
+                    {
+                    return false;
+                    }
+                }
+            return true;
+            }
+        if (o instanceof CharSequence)
+            {
+            CharSequence seq = (CharSequence) o;
+            if (isAscii())
+                {
+                ReadBuffer buf = f_buf;
+                int        cb  = buf.length();
+                if (cb != seq.length())
+                    {
+                    return false;
+                    }
+                for (int of = 0; of < cb; ++of)
+                    {
+                    if (buf.byteAt(of) != seq.charAt(of))
+                        {
+                        return false;
+                        }
+                    }
+                return true;
+                }
+            return toString().contentEquals(seq);
+            }
+        return false;
+        }
+
+    /**
+    * Determine a hash value for the Utf8CharSequence object. The hash
+    * value is the same as the hash value of the corresponding String.
+    *
+    * @return an integer hash value for this Utf8CharSequence object
+    */
+    public int hashCode()
+        {
+        int nHash = m_nHash;
+        if (nHash == 0)
+            {
+            if (isAscii())
+                {
+                ReadBuffer buf = f_buf;
+                for (int of = 0, cb = buf.length(); of < cb; ++of)
+                    {
+                    nHash = 31 * nHash + buf.byteAt(of);
+                    }
+                }
+            else
+                {
+                nHash = toString().hashCode();
+                }
+            m_nHash = nHash;
+            }
+        return nHash;
+        }
+
+    /**
+    * Return the decoded String. The String is decoded when this method is
+    * first called, and is cached afterwards.
+    *
+    * @return the decoded String
+    */
+    public String toString()
+        {
+        String s = m_s;
+        if (s == null)
+            {
+            ReadBuffer buf = f_buf;
+            int        cb  = buf.length();
+            try
+                {
+                s = cb == 0 ? "" : ExternalizableHelper.convertUTF(buf.toByteArray(), 0, cb, new char[cb]);
+                }
+            catch (UTFDataFormatException e)
+                {
+                throw Base.ensureRuntimeException(e);
+                }
+            m_s = s;
+            }
+        return s;
+        }
+
+
+    // ----- internal -------------------------------------------------------
+
+    /**
+    * Determine whether the bytes of this sequence starting at the specified
+    * offset match the passed bytes. The caller is responsible for making
+    * sure that the buffer is long enough.
+    *
+    * @param of     the offset of the first byte to compare
+    * @param abUtf  the bytes to compare with
+    *
+    * @return true iff the bytes match
+    */
+    private boolean regionMatches(int of, byte[] abUtf)
+        {
+        ReadBuffer buf = f_buf;
+        for (int i = 0, cb = abUtf.length; i < cb; ++i)
+            {
+            if (buf.byteAt(of + i) != abUtf[i])
+                {
+                return false;
+                }
+            }
+        return true;
+        }
+
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+    * The buffer holding the UTF-8 encoded characters.
+    */
+    private final ReadBuffer f_buf;
+
+    /**
+    * The decoded String, or null if it has not been decoded yet.
+    */
+    private String m_s;
+
+    /**
+    * 1 if the sequence consists of the ASCII characters only, -1 if it does
+    * not, or 0 if it has not been determined yet.
+    */
+    private int m_nAscii;
+
+    /**
+    * The cached hash value, or 0 if it has not been calculated yet.
+    */
+    private int m_nHash;
+    }
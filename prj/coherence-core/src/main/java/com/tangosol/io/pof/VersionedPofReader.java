@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021, 2024, Oracle and/or its affiliates.
+ * Copyright (c) 2021, 2025, Oracle and/or its affiliates.
  *
  * Licensed under the Universal Permissive License v 1.0 as shown at
  * https://oss.oracle.com/licenses/upl.
@@ -166,6 +166,11 @@ class VersionedPofReader implements PofReader
         return f_fRead ? f_in.readString(iProp) : null;
         }
 
+    public CharSequence readCharSequence(int iProp) throws IOException
+        {
+        return f_fRead ? f_in.readCharSequence(iProp) : null;
+        }
+
     public Date readDate(int iProp) throws IOException
         {
         return f_fRead ? f_in.readDate(iProp) : null;
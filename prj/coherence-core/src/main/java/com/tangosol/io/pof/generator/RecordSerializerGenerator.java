@@ -0,0 +1,683 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+package com.tangosol.io.pof.generator;
+
+import com.tangosol.internal.asm.ClassReaderInternal;
+
+import com.tangosol.io.pof.GeneratedPofConfigProvider;
+import com.tangosol.io.pof.PofSerializer;
+import com.tangosol.io.pof.PortableTypeSerializer;
+
+import com.tangosol.io.pof.schema.annotation.PortableType;
+
+import com.tangosol.run.xml.SimpleElement;
+import com.tangosol.run.xml.XmlElement;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+
+import java.nio.charset.StandardCharsets;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Type;
+
+import org.objectweb.asm.tree.AnnotationNode;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.RecordComponentNode;
+
+import static com.oracle.coherence.common.schema.util.AsmUtils.getAnnotation;
+import static com.oracle.coherence.common.schema.util.AsmUtils.javaName;
+
+import static org.objectweb.asm.Opcodes.ACC_INTERFACE;
+import static org.objectweb.asm.Opcodes.ACC_PRIVATE;
+import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
+import static org.objectweb.asm.Opcodes.ACC_SUPER;
+import static org.objectweb.asm.Opcodes.ACONST_NULL;
+import static org.objectweb.asm.Opcodes.ALOAD;
+import static org.objectweb.asm.Opcodes.ARETURN;
+import static org.objectweb.asm.Opcodes.ASTORE;
+import static org.objectweb.asm.Opcodes.CHECKCAST;
+import static org.objectweb.asm.Opcodes.DUP;
+import static org.objectweb.asm.Opcodes.ILOAD;
+import static org.objectweb.asm.Opcodes.INVOKEINTERFACE;
+import static org.objectweb.asm.Opcodes.INVOKESPECIAL;
+import static org.objectweb.asm.Opcodes.INVOKEVIRTUAL;
+import static org.objectweb.asm.Opcodes.ISTORE;
+import static org.objectweb.asm.Opcodes.NEW;
+import static org.objectweb.asm.Opcodes.POP;
+import static org.objectweb.asm.Opcodes.RETURN;
+
+/**
+ * This class generates {@link PofSerializer} implementations for the Java
+ * records annotated with {@link PortableType}.
+ * <p>
+ * The generated serializers are straight-line code: each record component
+ * is written and read, in declaration order, by the {@code PofWriter} and
+ * {@code PofReader} method specific to its type, so neither reflection nor
+ * boxing of the primitive components is involved, and the record is
+ * created by its canonical constructor. The components declared as other
+ * types (including sealed interfaces) are written and read as objects, so
+ * they are serialized using the type identifiers of their runtime classes.
+ * <p>
+ * A sealed interface annotated with {@link PortableType} is not a user type
+ * on its own, as each value has the type identifier of its class; instead,
+ * all the records of its sealed hierarchy get generated serializers, and
+ * each of them must be annotated with {@link PortableType} as well.
+ * <p>
+ * The serializers are registered by a generated POF configuration file,
+ * which is discovered at runtime by the {@link GeneratedPofConfigProvider}.
+ * Unlike the {@link PortableTypeSerializer}, a generated serializer does not
+ * support class evolution: the properties added by a newer version of a
+ * record are read and discarded.
+ *
+ * @since 25.09
+ */
+public class RecordSerializerGenerator
+    {
+    // ---- constructors ----------------------------------------------------
+
+    /**
+     * Create a {@link RecordSerializerGenerator}.
+     *
+     * @param logger  the {@link PortableTypeGenerator.Logger} to use
+     */
+    public RecordSerializerGenerator(PortableTypeGenerator.Logger logger)
+        {
+        m_log = logger;
+        }
+
+    // ----- RecordSerializerGenerator methods ------------------------------
+
+    /**
+     * Add the class read from the specified stream to the set of classes
+     * to generate the serializers for.
+     *
+     * @param in  the {@link InputStream} to read the class from
+     *
+     * @throws IOException  if an error occurs
+     */
+    public void addClass(InputStream in)
+            throws IOException
+        {
+        ClassNode cn = new ClassNode();
+        new ClassReaderInternal(in).accept(cn, 0);
+        m_mapClasses.put(cn.name, cn);
+        }
+
+    /**
+     * Add the classes in the specified directory, and its subdirectories, to
+     * the set of classes to generate the serializers for.
+     *
+     * @param classDir  the directory containing the classes
+     *
+     * @throws IOException  if an error occurs
+     */
+    public void addClasses(File classDir)
+            throws IOException
+        {
+        File[] files = classDir.listFiles();
+        if (files != null)
+            {
+            for (File file : files)
+                {
+                if (file.isDirectory())
+                    {
+                    addClasses(file);
+                    }
+                else if (file.getName().endsWith(".class"))
+                    {
+                    try (FileInputStream in = new FileInputStream(file))
+                        {
+                        addClass(in);
+                        }
+                    }
+                }
+            }
+        }
+
+    /**
+     * Generate the serializers for all the records annotated with
+     * {@link PortableType}, and for the records of the sealed hierarchies
+     * annotated with {@link PortableType}.
+     *
+     * @return the byte code of the generated serializers, keyed by the
+     *         internal names of the serializer classes
+     *
+     * @throws IllegalStateException  if a record of a sealed hierarchy is
+     *                                not annotated with {@link PortableType},
+     *                                or if two records have the same type
+     *                                identifier
+     */
+    public Map<String, byte[]> generate()
+        {
+        Map<String, byte[]> mapSerializers = new TreeMap<>();
+        for (ClassNode cn : m_mapClasses.values())
+            {
+            if (getAnnotation(cn, PortableType.class) == null)
+                {
+                continue;
+                }
+
+            if (isRecord(cn))
+                {
+                addRecord(cn, mapSerializers);
+                }
+            else if ((cn.access & ACC_INTERFACE) != 0 && cn.permittedSubclasses != null)
+                {
+                addSealedHierarchy(cn, cn, mapSerializers);
+                }
+            }
+        return mapSerializers;
+        }
+
+    /**
+     * Create the POF configuration that registers the generated serializers.
+     *
+     * @return the POF configuration
+     */
+    public XmlElement createPofConfig()
+        {
+        XmlElement xmlConfig = new SimpleElement("pof-config");
+        xmlConfig.addAttribute("xmlns:xsi").setString("http://www.w3.org/2001/XMLSchema-instance");
+        xmlConfig.addAttribute("xmlns").setString("http://xmlns.oracle.com/coherence/coherence-pof-config");
+        xmlConfig.addAttribute("xsi:schemaLocation").setString(
+                "http://xmlns.oracle.com/coherence/coherence-pof-config coherence-pof-config.xsd");
+
+        XmlElement xmlTypes = xmlConfig.addElement("user-type-list");
+        for (Map.Entry<Integer, String> entry : m_mapTypes.entrySet())
+            {
+            String     sRecord = entry.getValue();
+            XmlElement xmlType = xmlTypes.addElement("user-type");
+
+            xmlType.addElement("type-id").setInt(entry.getKey());
+            xmlType.addElement("class-name").setString(javaName(sRecord));
+            xmlType.addElement("serializer").addElement("class-name")
+                    .setString(javaName(getSerializerName(sRecord)));
+            }
+        return xmlConfig;
+        }
+
+    // ---- static entry points ---------------------------------------------
+
+    /**
+     * Generate the serializers for the records in the specified directory,
+     * writing the serializer classes next to the records, and the POF
+     * configuration that registers them to the
+     * {@link GeneratedPofConfigProvider#RESOURCE_NAME} file.
+     *
+     * @param classDir  the directory containing the classes
+     * @param logger    the {@link PortableTypeGenerator.Logger} to use
+     *
+     * @return the number of the generated serializers
+     *
+     * @throws IOException  if an error occurs
+     */
+    public static int generateSerializers(File classDir, PortableTypeGenerator.Logger logger)
+            throws IOException
+        {
+        if (!classDir.isDirectory())
+            {
+            throw new IllegalArgumentException(
+                    "Specified path [" + classDir.getAbsolutePath()
+                    + "] does not exist or is not a directory");
+            }
+
+        RecordSerializerGenerator gen = new RecordSerializerGenerator(logger);
+        gen.addClasses(classDir);
+
+        Map<String, byte[]> mapSerializers = gen.generate();
+        File                fileConfig     = new File(classDir, GeneratedPofConfigProvider.RESOURCE_NAME);
+        if (mapSerializers.isEmpty())
+            {
+            // remove the configuration left behind by a previous build
+            fileConfig.delete();
+            return 0;
+            }
+
+        for (Map.Entry<String, byte[]> entry : mapSerializers.entrySet())
+            {
+            try (OutputStream out = new FileOutputStream(new File(classDir, entry.getKey() + ".class")))
+                {
+                out.write(entry.getValue());
+                }
+            }
+
+        fileConfig.getParentFile().mkdirs();
+        try (PrintWriter out = new PrintWriter(fileConfig, StandardCharsets.UTF_8))
+            {
+            out.println("<?xml version=\"1.0\"?>");
+            gen.createPofConfig().writeXml(out, true);
+            out.println();
+            }
+        logger.info("Generated " + mapSerializers.size() + " POF serializer(s) registered by " + fileConfig);
+
+        return mapSerializers.size();
+        }
+
+    // ---- helpers ---------------------------------------------------------
+
+    /**
+     * Generate the serializers for the records of the specified sealed
+     * hierarchy.
+     *
+     * @param cnRoot          the sealed interface annotated with {@link PortableType}
+     * @param cn              the sealed interface to generate the serializers for
+     * @param mapSerializers  the map to add the generated serializers to
+     */
+    private void addSealedHierarchy(ClassNode cnRoot, ClassNode cn, Map<String, byte[]> mapSerializers)
+        {
+        for (String sSubclass : cn.permittedSubclasses)
+            {
+            ClassNode cnSub = m_mapClasses.get(sSubclass);
+            if (cnSub == null)
+                {
+                m_log.debug("Skipping type " + javaName(sSubclass) + " of the sealed hierarchy "
+                            + javaName(cnRoot.name) + ". Type is not in the processed classes");
+                }
+            else if (isRecord(cnSub))
+                {
+                if (getAnnotation(cnSub, PortableType.class) == null)
+                    {
+                    throw new IllegalStateException("Record " + javaName(sSubclass) + " of the sealed hierarchy "
+                            + javaName(cnRoot.name) + " is not annotated with @PortableType");
+                    }
+                addRecord(cnSub, mapSerializers);
+                }
+            else if (cnSub.permittedSubclasses != null)
+                {
+                addSealedHierarchy(cnRoot, cnSub, mapSerializers);
+                }
+            else
+                {
+                m_log.debug("Skipping type " + javaName(sSubclass) + " of the sealed hierarchy "
+                            + javaName(cnRoot.name) + ". Type is not a record");
+                }
+            }
+        }
+
+    /**
+     * Generate the serializer for the specified record, unless it has
+     * already been generated.
+     *
+     * @param cn              the record
+     * @param mapSerializers  the map to add the generated serializer to
+     */
+    private void addRecord(ClassNode cn, Map<String, byte[]> mapSerializers)
+        {
+        String sSerializer = getSerializerName(cn.name);
+        if (mapSerializers.containsKey(sSerializer))
+            {
+            return;
+            }
+
+        String         sRecord = javaName(cn.name);
+        AnnotationNode an      = getAnnotation(cn, PortableType.class);
+        Object         oId     = getValue(an, "id");
+        Object         oSer    = getValue(an, "serializer");
+
+        if (oSer != null && !Type.getType(PortableTypeSerializer.class).equals(oSer))
+            {
+            m_log.debug("Skipping type " + sRecord + ". Type specifies its serializer");
+            return;
+            }
+        if (!(oId instanceof Integer) || (Integer) oId <= 0)
+            {
+            throw new IllegalStateException("Record " + sRecord + " does not specify a valid type identifier");
+            }
+
+        List<RecordComponentNode> listComponents = cn.recordComponents;
+        StringBuilder             sbDesc         = new StringBuilder("(");
+        if (listComponents != null)
+            {
+            for (RecordComponentNode rcn : listComponents)
+                {
+                sbDesc.append(rcn.descriptor);
+                }
+            }
+        String sCtorDesc = sbDesc.append(")V").toString();
+
+        MethodNode ctor = findMethod(cn, "<init>", sCtorDesc);
+        if (ctor == null || (ctor.access & ACC_PRIVATE) != 0)
+            {
+            m_log.info("Skipping type " + sRecord + ". The canonical constructor is not accessible");
+            return;
+            }
+
+        int    nTypeId = (Integer) oId;
+        String sPrev   = m_mapTypes.putIfAbsent(nTypeId, cn.name);
+        if (sPrev != null)
+            {
+            throw new IllegalStateException("Records " + javaName(sPrev) + " and " + sRecord
+                    + " have the same type identifier " + nTypeId);
+            }
+
+        m_log.info("Generating POF serializer for type " + sRecord);
+        mapSerializers.put(sSerializer, generateSerializer(cn, sSerializer, sCtorDesc));
+        }
+
+    /**
+     * Generate the byte code of the serializer for the specified record.
+     *
+     * @param cn           the record
+     * @param sSerializer  the internal name of the serializer class
+     * @param sCtorDesc    the descriptor of the canonical constructor
+     *
+     * @return the byte code of the serializer
+     */
+    private byte[] generateSerializer(ClassNode cn, String sSerializer, String sCtorDesc)
+        {
+        List<RecordComponentNode> listComponents = cn.recordComponents == null
+                                                   ? List.of() : cn.recordComponents;
+
+        ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        writer.visit(cn.version, ACC_PUBLIC | ACC_SUPER, sSerializer,
+                     "Ljava/lang/Object;L" + POF_SERIALIZER + "<L" + cn.name + ";>;",
+                     "java/lang/Object", new String[] {POF_SERIALIZER});
+
+        // default constructor
+        MethodNode mn = new MethodNode(ACC_PUBLIC, "<init>", "()V", null, null);
+        mn.visitCode();
+        mn.visitVarInsn(ALOAD, 0);
+        mn.visitMethodInsn(INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        mn.visitInsn(RETURN);
+        mn.visitMaxs(0, 0);
+        mn.visitEnd();
+        mn.accept(writer);
+
+        // serialize: write each component by its accessor
+        mn = new MethodNode(ACC_PUBLIC, "serialize", "(L" + POF_WRITER + ";Ljava/lang/Object;)V",
+                            null, new String[] {"java/io/IOException"});
+        mn.visitCode();
+        mn.visitVarInsn(ALOAD, 2);
+        mn.visitTypeInsn(CHECKCAST, cn.name);
+        mn.visitVarInsn(ASTORE, 3);
+
+        int nIndex = 0;
+        for (RecordComponentNode rcn : listComponents)
+            {
+            Accessor accessor = getAccessor(rcn.descriptor);
+
+            mn.visitVarInsn(ALOAD, 1);
+            mn.visitLdcInsn(nIndex++);
+            mn.visitVarInsn(ALOAD, 3);
+            mn.visitMethodInsn(INVOKEVIRTUAL, cn.name, rcn.name, "()" + rcn.descriptor, false);
+            mn.visitMethodInsn(INVOKEINTERFACE, POF_WRITER, accessor.m_sWrite, accessor.m_sWriteDesc, true);
+            }
+
+        mn.visitVarInsn(ALOAD, 1);
+        mn.visitInsn(ACONST_NULL);
+        mn.visitMethodInsn(INVOKEINTERFACE, POF_WRITER, "writeRemainder", "(Lcom/tangosol/util/Binary;)V", true);
+        mn.visitInsn(RETURN);
+        mn.visitMaxs(0, 0);
+        mn.visitEnd();
+        mn.accept(writer);
+
+        // deserialize: read each component into a local variable and
+        // pass them all to the canonical constructor
+        mn = new MethodNode(ACC_PUBLIC, "deserialize", "(L" + POF_READER + ";)Ljava/lang/Object;",
+                            null, new String[] {"java/io/IOException"});
+        mn.visitCode();
+
+        int[] anVar = new int[listComponents.size()];
+        int   nVar  = 2;
+        nIndex      = 0;
+        for (RecordComponentNode rcn : listComponents)
+            {
+            Accessor accessor = getAccessor(rcn.descriptor);
+            Type     type     = Type.getType(rcn.descriptor);
+
+            mn.visitVarInsn(ALOAD, 1);
+            mn.visitLdcInsn(nIndex);
+            mn.visitMethodInsn(INVOKEINTERFACE, POF_READER, accessor.m_sRead, accessor.m_sReadDesc, true);
+            if (accessor == OBJECT_ACCESSOR && !"Ljava/lang/Object;".equals(rcn.descriptor))
+                {
+                mn.visitTypeInsn(CHECKCAST, type.getInternalName());
+                }
+            mn.visitVarInsn(type.getOpcode(ISTORE), nVar);
+
+            anVar[nIndex++] = nVar;
+            nVar           += type.getSize();
+            }
+
+        mn.visitVarInsn(ALOAD, 1);
+        mn.visitMethodInsn(INVOKEINTERFACE, POF_READER, "readRemainder", "()Lcom/tangosol/util/Binary;", true);
+        mn.visitInsn(POP);
+
+        mn.visitTypeInsn(NEW, cn.name);
+        mn.visitInsn(DUP);
+        nIndex = 0;
+        for (RecordComponentNode rcn : listComponents)
+            {
+            mn.visitVarInsn(Type.getType(rcn.descriptor).getOpcode(ILOAD), anVar[nIndex++]);
+            }
+        mn.visitMethodInsn(INVOKESPECIAL, cn.name, "<init>", sCtorDesc, false);
+        mn.visitInsn(ARETURN);
+        mn.visitMaxs(0, 0);
+        mn.visitEnd();
+        mn.accept(writer);
+
+        writer.visitEnd();
+        return writer.toByteArray();
+        }
+
+    /**
+     * Return the {@link Accessor} used for the component of the specified type.
+     *
+     * @param sDesc  the type descriptor of the component
+     *
+     * @return the {@link Accessor} used for the component
+     */
+    private static Accessor getAccessor(String sDesc)
+        {
+        return ACCESSORS.getOrDefault(sDesc, OBJECT_ACCESSOR);
+        }
+
+    /**
+     * Return the internal name of the serializer class generated for the
+     * specified record.
+     *
+     * @param sRecord  the internal name of the record
+     *
+     * @return the internal name of the serializer class
+     */
+    private static String getSerializerName(String sRecord)
+        {
+        return sRecord + "$PofSerializer";
+        }
+
+    /**
+     * Return true if the specified class is a record.
+     *
+     * @param cn  the class to check
+     *
+     * @return true if the specified class is a record
+     */
+    private static boolean isRecord(ClassNode cn)
+        {
+        return "java/lang/Record".equals(cn.superName);
+        }
+
+    /**
+     * Find the specified method of the class.
+     *
+     * @param cn     the class
+     * @param sName  the method name
+     * @param sDesc  the method descriptor
+     *
+     * @return the method, or {@code null} if the class does not declare it
+     */
+    private static MethodNode findMethod(ClassNode cn, String sName, String sDesc)
+        {
+        for (MethodNode mn : cn.methods)
+            {
+            if (mn.name.equals(sName) && mn.desc.equals(sDesc))
+                {
+                return mn;
+                }
+            }
+        return null;
+        }
+
+    /**
+     * Return the value of the specified annotation attribute, as stored in
+     * the class file.
+     *
+     * @param an     the annotation
+     * @param sName  the attribute name
+     *
+     * @return the attribute value, or {@code null} if it is not specified
+     */
+    private static Object getValue(AnnotationNode an, String sName)
+        {
+        List<Object> listValues = an.values;
+        if (listValues != null)
+            {
+            for (int i = 0; i < listValues.size(); i += 2)
+                {
+                if (sName.equals(listValues.get(i)))
+                    {
+                    return listValues.get(i + 1);
+                    }
+                }
+            }
+        return null;
+        }
+
+    // ----- inner class: Accessor ------------------------------------------
+
+    /**
+     * The {@code PofWriter} and {@code PofReader} methods used for the
+     * components of a specific type.
+     */
+    private static class Accessor
+        {
+        /**
+         * Create an {@link Accessor}.
+         *
+         * @param sName  the name of the accessed type, as used by the names
+         *               of the {@code PofWriter} and {@code PofReader}
+         *               methods
+         * @param sDesc  the type descriptor
+         */
+        Accessor(String sName, String sDesc)
+            {
+            m_sWrite     = "write" + sName;
+            m_sWriteDesc = "(I" + sDesc + ")V";
+            m_sRead      = "read" + sName;
+            m_sReadDesc  = "(I)" + sDesc;
+            }
+
+        /**
+         * The name of the {@code PofWriter} method.
+         */
+        final String m_sWrite;
+
+        /**
+         * The descriptor of the {@code PofWriter} method.
+         */
+        final String m_sWriteDesc;
+
+        /**
+         * The name of the {@code PofReader} method.
+         */
+        final String m_sRead;
+
+        /**
+         * The descriptor of the {@code PofReader} method.
+         */
+        final String m_sReadDesc;
+        }
+
+    // ---- constants -------------------------------------------------------
+
+    /**
+     * The internal name of the {@link PofSerializer} interface.
+     */
+    private static final String POF_SERIALIZER = "com/tangosol/io/pof/PofSerializer";
+
+    /**
+     * The internal name of the {@code PofWriter} interface.
+     */
+    private static final String POF_WRITER = "com/tangosol/io/pof/PofWriter";
+
+    /**
+     * The internal name of the {@code PofReader} interface.
+     */
+    private static final String POF_READER = "com/tangosol/io/pof/PofReader";
+
+    /**
+     * The {@link Accessor} used for the components of the types that have
+     * no type-specific {@code PofWriter} and {@code PofReader} methods.
+     */
+    private static final Accessor OBJECT_ACCESSOR = new Accessor("Object", "Ljava/lang/Object;");
+
+    /**
+     * The type-specific {@link Accessor accessors}, keyed by type descriptor.
+     */
+    private static final Map<String, Accessor> ACCESSORS = new HashMap<>();
+
+    static
+        {
+        String[][] aasType =
+            {
+            {"Boolean",      "Z"},
+            {"Byte",         "B"},
+            {"Char",         "C"},
+            {"Short",        "S"},
+            {"Int",          "I"},
+            {"Long",         "J"},
+            {"Float",        "F"},
+            {"Double",       "D"},
+            {"BooleanArray", "[Z"},
+            {"ByteArray",    "[B"},
+            {"CharArray",    "[C"},
+            {"ShortArray",   "[S"},
+            {"IntArray",     "[I"},
+            {"LongArray",    "[J"},
+            {"FloatArray",   "[F"},
+            {"DoubleArray",  "[D"},
+            {"String",       "Ljava/lang/String;"},
+            {"BigInteger",   "Ljava/math/BigInteger;"},
+            {"BigDecimal",   "Ljava/math/BigDecimal;"},
+            {"Binary",       "Lcom/tangosol/util/Binary;"},
+            };
+
+        for (String[] asType : aasType)
+            {
+            ACCESSORS.put(asType[1], new Accessor(asType[0], asType[1]));
+            }
+        }
+
+    // ---- data members ----------------------------------------------------
+
+    /**
+     * The logger to use.
+     */
+    private final PortableTypeGenerator.Logger m_log;
+
+    /**
+     * The classes to generate the serializers for, keyed by internal name.
+     */
+    private final Map<String, ClassNode> m_mapClasses = new TreeMap<>();
+
+    /**
+     * The internal names of the records with generated serializers, keyed
+     * by type identifier.
+     */
+    private final Map<Integer, String> m_mapTypes = new TreeMap<>();
+    }
@@ -1,8 +1,8 @@
 /*
- * Copyright (c) 2000, 2021, Oracle and/or its affiliates.
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
  *
  * Licensed under the Universal Permissive License v 1.0 as shown at
- * http://oss.oracle.com/licenses/upl.
+ * https://oss.oracle.com/licenses/upl.
  */
 
 package com.tangosol.io.pof.reflect;
@@ -18,6 +18,7 @@ import com.tangosol.io.pof.PofBufferWriter;
 import com.tangosol.io.pof.PofConstants;
 import com.tangosol.io.pof.PofContext;
 import com.tangosol.io.pof.PofHelper;
+import com.tangosol.io.pof.Utf8CharSequence;
 
 import com.tangosol.util.Binary;
 import com.tangosol.util.ExternalizableHelper;
@@ -401,6 +402,38 @@ public abstract class AbstractPofValue
         return (String) getValue(PofConstants.T_CHAR_STRING);
         }
 
+    /**
+    * {@inheritDoc}
+    */
+    public CharSequence getCharSequence()
+        {
+        if (m_nType == PofConstants.T_CHAR_STRING && m_oValue == NO_VALUE && !isDirty())
+            {
+            try
+                {
+                ReadBuffer             bufValue = m_bufValue;
+                ReadBuffer.BufferInput in       = bufValue.getBufferInput();
+                if (!isUniformEncoded())
+                    {
+                    // skip type id
+                    in.readPackedInt();
+                    }
+
+                int cb = in.readPackedInt();
+                if (cb >= 0)
+                    {
+                    return new Utf8CharSequence(bufValue.getReadBuffer(in.getOffset(), cb));
+                    }
+                }
+            catch (IOException e)
+                {
+                throw ensureRuntimeException(e);
+                }
+            }
+
+        return getString();
+        }
+
     /**
     * {@inheritDoc}
     */
@@ -1,8 +1,8 @@
 /*
- * Copyright (c) 2000, 2021, Oracle and/or its affiliates.
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
  *
  * Licensed under the Universal Permissive License v 1.0 as shown at
- * http://oss.oracle.com/licenses/upl.
+ * https://oss.oracle.com/licenses/upl.
  */
 
 package com.tangosol.io.pof.reflect;
@@ -17,9 +17,13 @@ import com.tangosol.io.pof.PofContext;
 import com.tangosol.io.pof.PofHelper;
 
 import com.tangosol.util.Binary;
+import com.tangosol.util.LongArray;
+import com.tangosol.util.SparseArray;
 
 import java.io.IOException;
 
+import java.util.Arrays;
+
 
 /**
 * PofSparseArray is {@link PofValue} implementation for sparse arrays.
@@ -49,13 +53,81 @@ public class PofSparseArray
         }
 
 
+    // ----- accessors ------------------------------------------------------
+
+    /**
+    * Return the offsets of the children of this sparse array recorded by
+    * the searches so far.
+    *
+    * @return the recorded offsets
+    *
+    * @since 25.09
+    */
+    public Offsets getOffsets()
+        {
+        Offsets offsets = m_offsets;
+        if (offsets == null)
+            {
+            m_offsets = offsets = new Offsets();
+            }
+        return offsets;
+        }
+
+    /**
+    * Set the offsets of the children of this sparse array recorded by the
+    * searches so far.
+    * <p>
+    * The offsets recorded while searching the children of any PofSparseArray
+    * parsed from the same buffer are valid for this one, so the offsets can
+    * be shared to avoid scanning the same children again. The offsets are
+    * not thread-safe, and must not be shared across threads.
+    *
+    * @param offsets  the recorded offsets
+    *
+    * @since 25.09
+    */
+    public void setOffsets(Offsets offsets)
+        {
+        m_offsets = offsets;
+        }
+
+
     // ----- internal -------------------------------------------------------
 
+    /**
+    * {@inheritDoc}
+    * <p>
+    * The search resumes from the closest preceding child whose offset was
+    * recorded by any of the previous searches, so that the children are
+    * scanned only once regardless of the order they are accessed in.
+    */
+    protected PofValue findChild(int nIndex)
+        {
+        Offsets offsets  = getOffsets();
+        int     cScanned = offsets.m_cScanned;
+        if (cScanned > 0)
+            {
+            int[] aiScanned = offsets.m_aiScanned;
+            int   i         = Arrays.binarySearch(aiScanned, 0, cScanned, nIndex);
+            if (i < 0)
+                {
+                i = -i - 2; // the closest preceding child
+                }
+            if (i >= 0)
+                {
+                return findChildInternal(nIndex, offsets.m_aofScanned[i], aiScanned[i]);
+                }
+            }
+
+        return super.findChild(nIndex);
+        }
+
     /**
     * {@inheritDoc}
     */
     protected PofValue findChildInternal(int nIndex, int ofStart, int iStart)
         {
+        Offsets    offsets  = getOffsets();
         ReadBuffer bufValue = getValueBuffer();
         ReadBuffer.BufferInput in = bufValue.getBufferInput();
         in.setOffset(ofStart);
@@ -68,11 +140,17 @@ public class PofSparseArray
             int iProp       = in.readPackedInt();
             while (iProp < nIndex && iProp >= 0)
                 {
+                offsets.record(iProp, ofLastIndex);
                 skipChild(in);
                 ofLastIndex = in.getOffset();
                 iProp       = in.readPackedInt();
                 }
 
+            if (iProp >= 0)
+                {
+                offsets.record(iProp, ofLastIndex);
+                }
+
             // child found. extract it from the parent buffer
             if (iProp == nIndex)
                 {
@@ -80,7 +158,12 @@ public class PofSparseArray
                 skipChild(in);
                 int cb = in.getOffset() - of;
 
-                return extractChild(bufValue, of, cb);
+                PofValue valueChild = extractChild(bufValue, of, cb);
+                if (valueChild instanceof PofSparseArray)
+                    {
+                    ((PofSparseArray) valueChild).setOffsets(offsets.ensureChild(nIndex));
+                    }
+                return valueChild;
                 }
 
             // child not found
@@ -226,4 +309,96 @@ public class PofSparseArray
         */
         private int m_nIndex;
         }
+
+
+    // ----- Offsets inner class --------------------------------------------
+
+    /**
+    * The offsets of the children of a sparse array, recorded while searching
+    * for its children, along with the offsets recorded for the children that
+    * are sparse arrays themselves.
+    *
+    * @since 25.09
+    */
+    public static class Offsets
+        {
+        /**
+        * Record the offset of the child with the specified index, if it
+        * follows all the children recorded so far.
+        *
+        * @param nIndex  the index of the child
+        * @param of      the offset of the child's index within the array
+        */
+        protected void record(int nIndex, int of)
+            {
+            int   cScanned  = m_cScanned;
+            int[] aiScanned = m_aiScanned;
+            if (cScanned == 0 || nIndex > aiScanned[cScanned - 1])
+                {
+                if (aiScanned == null || cScanned == aiScanned.length)
+                    {
+                    int cNew = cScanned == 0 ? 8 : cScanned * 2;
+                    m_aiScanned  = aiScanned = aiScanned == null ? new int[cNew] : Arrays.copyOf(aiScanned, cNew);
+                    m_aofScanned = m_aofScanned == null ? new int[cNew] : Arrays.copyOf(m_aofScanned, cNew);
+                    }
+                aiScanned[cScanned]    = nIndex;
+                m_aofScanned[cScanned] = of;
+                m_cScanned             = cScanned + 1;
+                }
+            }
+
+        /**
+        * Return the offsets recorded for the child with the specified index,
+        * creating them if necessary.
+        *
+        * @param nIndex  the index of the child
+        *
+        * @return the offsets of the child's children
+        */
+        protected Offsets ensureChild(int nIndex)
+            {
+            LongArray laChildren = m_laChildren;
+            if (laChildren == null)
+                {
+                m_laChildren = laChildren = new SparseArray();
+                }
+
+            Offsets offsets = (Offsets) laChildren.get(nIndex);
+            if (offsets == null)
+                {
+                laChildren.set(nIndex, offsets = new Offsets());
+                }
+            return offsets;
+            }
+
+        // ----- data members -----------------------------------------------
+
+        /**
+        * The indexes of the children scanned so far, in ascending order.
+        */
+        private int[] m_aiScanned;
+
+        /**
+        * The offsets of the indexes of the children scanned so far.
+        */
+        private int[] m_aofScanned;
+
+        /**
+        * The number of the children scanned so far.
+        */
+        private int m_cScanned;
+
+        /**
+        * The offsets recorded for the children, keyed by the child index.
+        */
+        private LongArray m_laChildren;
+        }
+
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+    * The offsets of the children recorded by the searches so far.
+    */
+    private Offsets m_offsets;
     }
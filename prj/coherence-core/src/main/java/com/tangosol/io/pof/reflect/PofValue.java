@@ -1,8 +1,8 @@
 /*
- * Copyright (c) 2000, 2020, Oracle and/or its affiliates.
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
  *
  * Licensed under the Universal Permissive License v 1.0 as shown at
- * http://oss.oracle.com/licenses/upl.
+ * https://oss.oracle.com/licenses/upl.
  */
 
 package com.tangosol.io.pof.reflect;
@@ -288,6 +288,25 @@ public interface PofValue
     */
     public String getString();
 
+    /**
+    * Return the <tt>String</tt> which this PofValue represents as a
+    * <tt>CharSequence</tt>, without decoding the characters if possible.
+    * <p>
+    * If the value is a UTF-8 encoded string that has neither been
+    * deserialized nor modified, the returned sequence is the {@link
+    * com.tangosol.io.pof.Utf8CharSequence} over the serialized form of this
+    * value; otherwise it is the same as the value returned by the {@link
+    * #getString()} method.
+    *
+    * @return the <tt>CharSequence</tt> value
+    *
+    * @since 25.09
+    */
+    public default CharSequence getCharSequence()
+        {
+        return getString();
+        }
+
     /**
     * Return the <tt>Date</tt> which this PofValue represents.
     *
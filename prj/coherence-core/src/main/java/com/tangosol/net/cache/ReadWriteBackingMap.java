@@ -13,12 +13,15 @@ import com.oracle.coherence.common.base.Blocking;
 import com.tangosol.application.ContainerHelper;
 
 import com.tangosol.coherence.config.Config;
+import com.tangosol.internal.net.metrics.Histogram;
 
 import com.tangosol.internal.tracing.Scope;
 import com.tangosol.internal.tracing.Span;
 import com.tangosol.internal.tracing.SpanContext;
 import com.tangosol.internal.tracing.TracingHelper;
 
+import com.tangosol.internal.util.VirtualThreads;
+
 import com.tangosol.license.CoherenceCommunityEdition;
 
 import com.tangosol.net.BackingMapManagerContext;
@@ -60,6 +63,7 @@ import java.lang.reflect.Array;
 import java.util.AbstractCollection;
 import java.util.AbstractMap;
 import java.util.AbstractSet;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -72,9 +76,16 @@ import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
+import java.util.function.Supplier;
+
 /**
 * Backing Map implementation that provides a size-limited cache of a
 * persistent store and supports configurable write-behind and refresh-
@@ -562,6 +573,311 @@ public class ReadWriteBackingMap
                     "Invalid batch size: " + cWriteMaxBatchSize);
             }
         m_cWriteMaxBatchSize = cWriteMaxBatchSize;
+        m_cWriteBatchSize    = cWriteMaxBatchSize;
+        }
+
+    /**
+    * Return the number of entries the write-behind thread currently writes
+    * in a single batch.
+    * <p>
+    * Unless a {@link #getWriteBatchTargetMillis target latency} is set, this
+    * is the {@link #getWriteMaxBatchSize maximum batch size}; otherwise the
+    * batch size is adjusted after each batch based on the observed latency
+    * of the CacheStore.
+    *
+    * @return the current write-behind batch size
+    *
+    * @since 25.09
+    */
+    public int getWriteBatchSize()
+        {
+        return m_cWriteBatchTargetMillis > 0L ? m_cWriteBatchSize : getWriteMaxBatchSize();
+        }
+
+    /**
+    * Return the target latency of a write-behind batch.
+    *
+    * @return the target latency of a write-behind batch in milliseconds, or
+    *         zero if the write-behind batch size is fixed
+    *
+    * @since 25.09
+    */
+    public long getWriteBatchTargetMillis()
+        {
+        return m_cWriteBatchTargetMillis;
+        }
+
+    /**
+    * Set the target latency of a write-behind batch, which enables adaptive
+    * batching.
+    * <p>
+    * With adaptive batching the write-behind batch size starts at the
+    * {@link #getWriteMaxBatchSize maximum batch size}. While the queue has a
+    * backlog, the batch size grows as long as the batches are written within
+    * the target latency, up to {@link #WRITE_BATCH_GROWTH_LIMIT} times the
+    * maximum batch size; a batch that exceeds the target latency shrinks the
+    * batch size in proportion.
+    * <p>
+    * This method has no effect if write-behind is disabled.
+    *
+    * @param cMillis  the target latency of a batch in milliseconds, or zero
+    *                 to use a fixed batch size
+    *
+    * @since 25.09
+    */
+    public void setWriteBatchTargetMillis(long cMillis)
+        {
+        if (cMillis < 0L)
+            {
+            throw new IllegalArgumentException(
+                    "Invalid write-batch target latency: " + cMillis);
+            }
+        m_cWriteBatchSize         = getWriteMaxBatchSize();
+        m_cWriteBatchTargetMillis = cMillis;
+        }
+
+    /**
+    * Return the number of threads that write the write-behind batches to
+    * the CacheStore.
+    *
+    * @return the number of write-behind threads
+    *
+    * @since 25.09
+    */
+    public int getWriteThreadCount()
+        {
+        WriteWorker[] aWorker = m_aWorkerWrite;
+        return aWorker == null ? 1 : aWorker.length;
+        }
+
+    /**
+    * Set the number of threads that write the write-behind batches to the
+    * CacheStore.
+    * <p>
+    * With more than one thread, the write-behind thread dispatches the
+    * entries it removes from the queue to a number of {@link WriteWorker
+    * workers} by partition, so that the updates of a key are always written
+    * by the same worker in the order they were queued.
+    * <p>
+    * This method has no effect if write-behind is disabled, and may only be
+    * called once, before the map is used.
+    *
+    * @param cThreads  the number of write-behind threads
+    *
+    * @since 25.09
+    */
+    public void setWriteThreadCount(int cThreads)
+        {
+        if (cThreads <= 0)
+            {
+            throw new IllegalArgumentException(
+                    "Invalid write thread count: " + cThreads);
+            }
+
+        if (isWriteBehind() && cThreads > 1)
+            {
+            if (m_aWorkerWrite != null)
+                {
+                throw new IllegalStateException(
+                        "The write thread count has already been set");
+                }
+
+            WriteWorker[] aWorker = new WriteWorker[cThreads];
+            for (int i = 0; i < cThreads; i++)
+                {
+                aWorker[i] = instantiateWriteWorker(i);
+                aWorker[i].start();
+                }
+            m_aWorkerWrite = aWorker;
+            }
+        }
+
+    /**
+    * Return the number of bytes the write-behind queue may hold before the
+    * threads that update the map are made to wait for the queue to drain.
+    *
+    * @return the write-behind queue limit in bytes, or zero for no limit
+    *
+    * @since 25.09
+    */
+    public long getWriteQueueLimit()
+        {
+        return m_cbWriteQueueLimit;
+        }
+
+    /**
+    * Set the number of bytes the write-behind queue may hold before the
+    * threads that update the map are made to wait for the queue to drain.
+    * <p>
+    * Once the queue is over the limit, its entries are written regardless
+    * of the write-behind delay, and an update waits up to
+    * {@link #MAX_BACKPRESSURE_MILLIS} for the queue to drain below the limit.
+    * <p>
+    * This method has no effect if write-behind is disabled.
+    *
+    * @param cbLimit  the write-behind queue limit in bytes, or zero for no
+    *                 limit
+    *
+    * @since 25.09
+    */
+    public void setWriteQueueLimit(long cbLimit)
+        {
+        if (cbLimit < 0L)
+            {
+            throw new IllegalArgumentException(
+                    "Invalid write queue limit: " + cbLimit);
+            }
+        m_cbWriteQueueLimit = cbLimit;
+        }
+
+    /**
+    * Return the maximum number of CacheStore operations of this map that
+    * may be in progress on virtual threads at the same time.
+    *
+    * @return the maximum number of concurrent CacheStore operations, or zero
+    *         if the CacheStore is invoked on the calling thread
+    *
+    * @since 25.09
+    */
+    public int getVirtualThreadConcurrency()
+        {
+        Semaphore semaphore = m_semaphoreStore;
+        return semaphore == null ? 0 : m_cVirtualThreadConcurrency;
+        }
+
+    /**
+    * Set the maximum number of CacheStore operations of this map that may be
+    * in progress on virtual threads at the same time, which enables virtual
+    * thread invocation of the CacheStore.
+    * <p>
+    * With virtual thread invocation, each blocking load, store and erase
+    * operation runs on a virtual thread while the calling thread waits for
+    * its result, and no more than the specified number of operations are in
+    * progress at any time. The refresh-ahead thread does not wait for its
+    * loads to complete, and the keys of a {@link CacheLoader#loadAll loadAll}
+    * operation are loaded concurrently if the CacheStore does not implement
+    * a bulk load.
+    * <p>
+    * This method has no effect if the runtime does not support virtual
+    * threads.
+    *
+    * @param cOps  the maximum number of concurrent CacheStore operations, or
+    *              zero to invoke the CacheStore on the calling thread
+    *
+    * @since 25.09
+    */
+    public void setVirtualThreadConcurrency(int cOps)
+        {
+        if (cOps < 0)
+            {
+            throw new IllegalArgumentException(
+                    "Invalid virtual thread concurrency: " + cOps);
+            }
+
+        if (cOps > 0 && !VirtualThreads.isSupported())
+            {
+            Base.log("Virtual threads are not supported by the runtime; the CacheStore ("
+                     + getCacheStore() + ") will be invoked on the calling threads");
+            cOps = 0;
+            }
+
+        m_cVirtualThreadConcurrency = cOps;
+        m_semaphoreStore            = cOps == 0 ? null : new Semaphore(cOps);
+        }
+
+    /**
+    * Return the time a read-through miss waits for concurrent misses to be
+    * coalesced with.
+    *
+    * @return the read coalescing window in milliseconds, or zero if misses
+    *         are not coalesced
+    *
+    * @since 25.09
+    */
+    public long getReadCoalescingMillis()
+        {
+        return m_cReadCoalescingMillis;
+        }
+
+    /**
+    * Return the maximum number of keys coalesced into a single load.
+    *
+    * @return the maximum number of keys coalesced into a single load
+    *
+    * @since 25.09
+    */
+    public int getReadCoalescingSize()
+        {
+        return m_cReadCoalescingSize;
+        }
+
+    /**
+    * Coalesce concurrent read-through misses into bulk loads.
+    * <p>
+    * While other threads are loading from the CacheStore, a miss waits up
+    * to the specified time for further misses, and the keys of all the
+    * misses are loaded by a single {@link CacheLoader#loadAll loadAll}
+    * operation as soon as the window closes or the specified number of keys
+    * is reached; a key missed by several threads is only loaded once. A
+    * miss that occurs while no other thread is loading is loaded without
+    * waiting.
+    * <p>
+    * Misses are coalesced by the CacheStore's load {@link AbstractBundler
+    * bundler}, which is configured by this method; a load bundler
+    * configured explicitly via the CacheStore's operation bundling takes
+    * precedence. Disabling read coalescing only removes a load bundler that
+    * was created by this method.
+    * <p>
+    * This method has no effect if the map has no CacheStore.
+    *
+    * @param cMillis  the time a miss waits for concurrent misses in
+    *                 milliseconds, or zero to not coalesce misses
+    * @param cKeys    the maximum number of keys coalesced into a single load
+    *
+    * @since 25.09
+    */
+    public void setReadCoalescing(long cMillis, int cKeys)
+        {
+        if (cMillis < 0L || cKeys <= 0)
+            {
+            throw new IllegalArgumentException("Invalid read coalescing window: "
+                    + cMillis + "ms, " + cKeys + " keys");
+            }
+
+        StoreWrapper store = getCacheStore();
+        if (store == null)
+            {
+            return;
+            }
+
+        if (cMillis == 0L)
+            {
+            // only discard the bundler that was created to coalesce misses;
+            // a bundler configured via operation bundling is left alone
+            AbstractBundler bundler = m_bundlerCoalescing;
+            if (bundler != null && bundler == store.getLoadBundler())
+                {
+                store.ensureLoadBundler(0);
+                }
+            m_bundlerCoalescing = null;
+            }
+        else
+            {
+            boolean         fCreate = store.getLoadBundler() == null;
+            AbstractBundler bundler = store.ensureLoadBundler(cKeys);
+
+            bundler.setDelayMillis(cMillis);
+            bundler.setThreadThreshold(READ_COALESCING_THREAD_THRESHOLD);
+            bundler.setAllowAutoAdjust(false);
+
+            if (fCreate)
+                {
+                m_bundlerCoalescing = bundler;
+                }
+            }
+
+        m_cReadCoalescingMillis = cMillis;
+        m_cReadCoalescingSize   = cKeys;
         }
 
     /**
@@ -822,6 +1138,17 @@ public class ReadWriteBackingMap
                                            cStoreTimeoutMillis, GUARD_RECOVERY);
                 daemonWrite.m_fRefreshContext = true;
                 }
+
+            WriteWorker[] aWorker = m_aWorkerWrite;
+            if (aWorker != null)
+                {
+                for (WriteWorker worker : aWorker)
+                    {
+                    worker.setGuardPolicy((Guardian) service,
+                                          cStoreTimeoutMillis, GUARD_RECOVERY);
+                    worker.m_fRefreshContext = true;
+                    }
+                }
             }
         }
 
@@ -836,6 +1163,15 @@ public class ReadWriteBackingMap
             {
             updateThreadName(getReadThread(), sCacheName);
             updateThreadName(getWriteThread(), sCacheName);
+
+            WriteWorker[] aWorker = m_aWorkerWrite;
+            if (aWorker != null)
+                {
+                for (WriteWorker worker : aWorker)
+                    {
+                    updateThreadName(worker, sCacheName);
+                    }
+                }
             }
         }
 
@@ -1768,6 +2104,15 @@ public class ReadWriteBackingMap
         Map           mapMisses   = getMissesCache();
         Map           mapInternal = getInternalCache();
         Set           setRemoves  = getPendingRemoves();
+        WriteQueue    queueWrite  = getWriteQueue();
+
+        // apply backpressure while the write-behind queue is over its limit;
+        // wait before locking the key, so that the write-behind thread is
+        // free to replace it once it is stored
+        if (queueWrite != null)
+            {
+            queueWrite.awaitCapacity();
+            }
 
         mapControl.lock(oKey, -1L);
         try
@@ -3967,6 +4312,7 @@ public class ReadWriteBackingMap
                 entryNew.setRipeMillis(ldtRipe);
                 map.put(binKey, entryNew);
                 listKeys.add(binKey);
+                m_cbQueued += getQueuedBytes(entryNew);
                 
                 if (fWasEmpty)
                     {
@@ -3976,8 +4322,10 @@ public class ReadWriteBackingMap
                 }
             else
                 {
+                long cbOld = getQueuedBytes(entry);
                 entry.updateBinaryValue(entryNew.getBinaryValue());
                 entry.expire(entryNew.getExpiry());
+                m_cbQueued += getQueuedBytes(entry) - cbOld;
                 return entry;
                 }
             }
@@ -4000,7 +4348,7 @@ public class ReadWriteBackingMap
             //    (store.store, store.erase)
             // 2. allow synthetic removes to return immediately
             if (getContext().isKeyOwned(binKey) &&
-                Thread.currentThread() != ReadWriteBackingMap.this.getWriteThread().getThread())
+                !isWriteBehindThread(Thread.currentThread()))
                 {
                 if (fWriteBehind)
                     {
@@ -4032,6 +4380,7 @@ public class ReadWriteBackingMap
                         arrayRipe.remove(lIndex);
                         }
                     }
+                onDequeue(entry);
                 }
             return entry;
             }
@@ -4061,7 +4410,10 @@ public class ReadWriteBackingMap
                         {
                         arrayRipe.remove(lIndex);
                         }
-                    return (Entry) getEntryMap().remove(oKey);
+
+                    Entry entry = (Entry) getEntryMap().remove(oKey);
+                    onDequeue(entry);
+                    return entry;
                     }
                 }
             return null;
@@ -4105,7 +4457,7 @@ public class ReadWriteBackingMap
                 long lIndex      = arrayRipe.getFirstIndex();
                 long ldtSoftRipe = lIndex - (long) (getDelayMillis() * getWriteBatchFactor());
 
-                if (lIndex > 0 && (ldtSoftRipe <= ldtNow || m_fFlush))
+                if (lIndex > 0 && (ldtSoftRipe <= ldtNow || m_fFlush || isOverLimit()))
                     {
                     List listKeys = (List) arrayRipe.get(lIndex);
                     if (!listKeys.isEmpty())
@@ -4118,6 +4470,7 @@ public class ReadWriteBackingMap
                             arrayRipe.remove(lIndex);
                             }
                         getPendingMap().put(oKey, entry);
+                        onDequeue(entry);
                         return entry;
                         }
                     else
@@ -4188,7 +4541,7 @@ public class ReadWriteBackingMap
                     long lIndex = arrayRipe.getFirstIndex();
                     long ldtSoftRipe = lIndex - (long) (getDelayMillis() * getWriteBatchFactor());
 
-                    if (m_fFlush || ldtSoftRipe <= ldtNow)
+                    if (m_fFlush || ldtSoftRipe <= ldtNow || isOverLimit())
                         {
                         List listKeys = (List) arrayRipe.get(lIndex);
                         if (!listKeys.isEmpty())
@@ -4201,6 +4554,7 @@ public class ReadWriteBackingMap
                                 arrayRipe.remove(lIndex);
                                 }
                             getPendingMap().put(binKey, entry);
+                            onDequeue(entry);
                             return entry;
                             }
                         }
@@ -4225,6 +4579,54 @@ public class ReadWriteBackingMap
             return getEntryMap().isEmpty();
             }
 
+        /**
+        * Return the approximate number of bytes held by the queue, which is
+        * the sum of the sizes of the binary keys and values of the queued
+        * entries.
+        *
+        * @return the number of bytes held by the queue
+        *
+        * @since 25.09
+        */
+        public long getQueuedBytes()
+            {
+            return m_cbQueued;
+            }
+
+        /**
+        * Wait for the queue to drain below the {@link #getWriteQueueLimit
+        * write queue limit}, but no longer than {@link
+        * #MAX_BACKPRESSURE_MILLIS}.
+        * <p>
+        * This method returns immediately if the queue is not limited, or if
+        * it is called by a write-behind thread.
+        *
+        * @since 25.09
+        */
+        public synchronized void awaitCapacity()
+            {
+            if (!isOverLimit() || isWriteBehindThread(Thread.currentThread()))
+                {
+                return;
+                }
+
+            // wake the write-behind thread, which writes the queued entries
+            // regardless of their ripe time while the queue is over the limit
+            notifyAll();
+
+            long ldtTimeout = getSafeTimeMillis() + MAX_BACKPRESSURE_MILLIS;
+            while (isActive() && isOverLimit())
+                {
+                long cWait = ldtTimeout - getSafeTimeMillis();
+                if (cWait <= 0L)
+                    {
+                    break;
+                    }
+                m_fWaitingOnCapacity = true;
+                waitFor(this, Math.min(cWait, 0xFFL));
+                }
+            }
+
         /**
          * Return true iff all contents have been persisted to the underlying store.
          *
@@ -4288,6 +4690,35 @@ public class ReadWriteBackingMap
             getPendingMap().clear();
             }
 
+        /**
+        * Remove the specified entries from the map of pending entries, unless
+        * a key has since been removed from the queue again with a newer
+        * value. Notify all threads that may be waiting for pending store
+        * operations to complete.
+        *
+        * @param colEntries  the entries that have been written
+        *
+        * @since 25.09
+        */
+        public synchronized void clearPending(Collection<Entry> colEntries)
+            {
+            Map mapPending = getPendingMap();
+            for (Entry entry : colEntries)
+                {
+                Binary binKey = entry.getBinaryKey();
+                if (mapPending.get(binKey) == entry)
+                    {
+                    mapPending.remove(binKey);
+                    }
+                }
+
+            if (isWaitingOnPending())
+                {
+                notifyAll();
+                setWaitingOnPending(false);
+                }
+            }
+
         /**
          * Move the ripe time for the queued entry up to accelerate the store
          * operation.
@@ -4388,6 +4819,58 @@ public class ReadWriteBackingMap
             return m_mapPending;
             }
 
+        /**
+        * Return the number of bytes the specified entry accounts for while it
+        * is queued.
+        *
+        * @param entry  the queued entry
+        *
+        * @return the size of the binary key and value of the entry
+        */
+        protected long getQueuedBytes(Entry entry)
+            {
+            Binary binValue = entry.getBinaryValue();
+            return entry.getBinaryKey().length() + (binValue == null ? 0 : binValue.length());
+            }
+
+        /**
+        * Determine whether the queue holds more bytes than the write queue
+        * limit allows.
+        * <p>
+        * Note: the caller must hold synchronization on the queue.
+        *
+        * @return true iff the queue is over its limit
+        */
+        protected boolean isOverLimit()
+            {
+            long cbLimit = getWriteQueueLimit();
+            return cbLimit > 0L && m_cbQueued > cbLimit;
+            }
+
+        /**
+        * Account for the specified entry having been removed from the queue,
+        * and notify the threads waiting for the queue to drain once it is
+        * below its limit.
+        * <p>
+        * Note: the caller must hold synchronization on the queue.
+        *
+        * @param entry  the removed entry, or null
+        */
+        protected void onDequeue(Entry entry)
+            {
+            if (entry != null)
+                {
+                // reset the count on an empty queue, so that it cannot drift
+                m_cbQueued = getEntryMap().isEmpty() ? 0L : m_cbQueued - getQueuedBytes(entry);
+
+                if (m_fWaitingOnCapacity && !isOverLimit())
+                    {
+                    m_fWaitingOnCapacity = false;
+                    notifyAll();
+                    }
+                }
+            }
+
         /**
         * Check whether any threads are waiting for the store operation
         * to complete.
@@ -4453,6 +4936,17 @@ public class ReadWriteBackingMap
         * True iff an async flush has been requested.
         */
         private boolean m_fFlush;
+
+        /**
+        * The number of bytes held by the queued entries.
+        */
+        private volatile long m_cbQueued;
+
+        /**
+        * Flag indicating whether there are threads waiting for the queue to
+        * drain below its limit.
+        */
+        private boolean m_fWaitingOnCapacity;
         }
 
 
@@ -4610,9 +5104,8 @@ public class ReadWriteBackingMap
             {
             ContainerHelper.initializeThreadContext(getCacheService());
 
-            ConcurrentMap mapControl  = getControlMap();
-            ReadQueue     queue       = getReadQueue();
-            long          cWaitMillis = getMaxWaitMillis(0xFFL);
+            ReadQueue queue       = getReadQueue();
+            long      cWaitMillis = getMaxWaitMillis(0xFFL);
 
             try
                 {
@@ -4631,6 +5124,17 @@ public class ReadWriteBackingMap
                         // heartbeat before waiting.
                         heartbeat();
 
+                        // with virtual thread invocation, the loads are
+                        // dispatched without waiting for them to complete;
+                        // take a permit before selecting the next key, so
+                        // that the key is not latched while the load waits
+                        Semaphore semaphore = m_semaphoreStore == null ? null : ensureSemaphore();
+                        if (semaphore != null && store.isBlocking() &&
+                            !tryAcquire(semaphore, cWaitMillis))
+                            {
+                            continue;
+                            }
+
                         // find the next candidate key for an asynchronous
                         // load in the queue and place a latch in the
                         // control map under the key; the latch serves two
@@ -4643,82 +5147,24 @@ public class ReadWriteBackingMap
                         // (2) other threads can wait on the latch for the
                         //     result of the load operation
                         ReadLatch latch = queue.select(cWaitMillis);
-                        if (latch == null)
-                            {
-                            // couldn't find and/or latch a key in time
-                            continue;
-                            }
-
-                        Object    oKey      = latch.getKey();
-                        Entry     entry     = null;
-                        Throwable exception = null;
-
-                        // load the key and store the new value in one of
-                        // two ways:
-                        //
-                        // (1) if the control map can be quickly locked, the
-                        //     refresh thread can directly cache the new value
-                        //     in the internal cache, as long as the load
-                        //     operation hasn't been canceled;
-                        // (2) otherwise, a thread is either waiting for the
-                        //     result of the load operation or is going to
-                        //     cancel the operation (but not both), so call
-                        //     complete() on the latch
-                        try
+                        if (semaphore == null || !store.isBlocking())
                             {
-                            // avoid loading from a store if the entry is not
-                            // owned anymore; this is a simple optimization,
-                            // since this check must be performed again after
-                            // the lock is acquired
-                            if (ReadWriteBackingMap.this.getContext().isKeyOwned(oKey))
+                            if (latch != null)
                                 {
-                                entry = store.load(oKey);
+                                refresh(store, latch);
                                 }
                             }
-                        catch (Throwable e)
-                            {
-                            exception = e;
-                            }
-
-                        // try a quick lock and double-check that the load
-                        // operation wasn't canceled between the time the load
-                        // latch was placed in the control map and the load
-                        // operation completed; also, since the load was done
-                        // asynchronously, check to see if the key is still
-                        // owned by this member
-                        Object oValue = entry == null ? null : entry.getBinaryValue();
-                        if (mapControl.lock(oKey, 0))
+                        else if (latch == null)
                             {
-                            try
-                                {
-                                // synchronization is not necessary here since
-                                // this thread owns the key
-                                if (exception == null && !latch.isCanceled() &&
-                                    ReadWriteBackingMap.this.getContext().isKeyOwned(oKey))
-                                    {
-                                    putToInternalCache(oKey, oValue, extractExpiry(entry));
-                                    }
-                                }
-                            finally
-                                {
-                                mapControl.remove(oKey);
-                                mapControl.unlock(oKey);
-                                }
+                            semaphore.release();
                             }
                         else
                             {
-                            // since we could not lock, notify the lock owner
-                            // that the current load operation has either
-                            // completed or been canceled due to an exception
-                            if (exception == null)
+                            store.invokeAsync(semaphore, () ->
                                 {
-                                latch.complete(oValue);
-                                }
-                            else
-                                {
-                                latch.cancel(exception);
-                                }
-                            mapControl.remove(oKey);
+                                refresh(store, latch);
+                                return null;
+                                });
                             }
                         }
                     }
@@ -4729,6 +5175,137 @@ public class ReadWriteBackingMap
                 }
             }
 
+        /**
+        * Return the semaphore that limits the number of loads dispatched to
+        * virtual threads, creating it if necessary.
+        * <p>
+        * The dispatched loads are limited separately from the store
+        * operations, as each of them also takes a permit for its store
+        * operation.
+        *
+        * @return the semaphore
+        *
+        * @since 25.09
+        */
+        protected Semaphore ensureSemaphore()
+            {
+            Semaphore semaphore = m_semaphoreRefresh;
+            if (semaphore == null)
+                {
+                m_semaphoreRefresh = semaphore =
+                        new Semaphore(Math.max(1, getVirtualThreadConcurrency()));
+                }
+            return semaphore;
+            }
+
+        /**
+        * Try to acquire a permit to dispatch a load to a virtual thread.
+        *
+        * @param semaphore  the semaphore to acquire the permit from
+        * @param cMillis    the maximum time to wait for the permit
+        *
+        * @return true if the permit was acquired
+        *
+        * @since 25.09
+        */
+        protected boolean tryAcquire(Semaphore semaphore, long cMillis)
+            {
+            try
+                {
+                return semaphore.tryAcquire(cMillis, TimeUnit.MILLISECONDS);
+                }
+            catch (InterruptedException e)
+                {
+                // the loop will check if the thread is stopping
+                return false;
+                }
+            }
+
+        /**
+        * Load the latched key and cache the loaded value, or pass it to the
+        * thread waiting for it.
+        *
+        * @param store  the store to load the key from
+        * @param latch  the latch placed in the control map under the key
+        *
+        * @since 25.09
+        */
+        protected void refresh(StoreWrapper store, ReadLatch latch)
+            {
+            ConcurrentMap mapControl = getControlMap();
+            Object        oKey       = latch.getKey();
+            Entry         entry      = null;
+            Throwable     exception  = null;
+
+            // load the key and store the new value in one of
+            // two ways:
+            //
+            // (1) if the control map can be quickly locked, the
+            //     refresh thread can directly cache the new value
+            //     in the internal cache, as long as the load
+            //     operation hasn't been canceled;
+            // (2) otherwise, a thread is either waiting for the
+            //     result of the load operation or is going to
+            //     cancel the operation (but not both), so call
+            //     complete() on the latch
+            try
+                {
+                // avoid loading from a store if the entry is not
+                // owned anymore; this is a simple optimization,
+                // since this check must be performed again after
+                // the lock is acquired
+                if (ReadWriteBackingMap.this.getContext().isKeyOwned(oKey))
+                    {
+                    entry = store.load(oKey);
+                    }
+                }
+            catch (Throwable e)
+                {
+                exception = e;
+                }
+
+            // try a quick lock and double-check that the load
+            // operation wasn't canceled between the time the load
+            // latch was placed in the control map and the load
+            // operation completed; also, since the load was done
+            // asynchronously, check to see if the key is still
+            // owned by this member
+            Object oValue = entry == null ? null : entry.getBinaryValue();
+            if (mapControl.lock(oKey, 0))
+                {
+                try
+                    {
+                    // synchronization is not necessary here since
+                    // this thread owns the key
+                    if (exception == null && !latch.isCanceled() &&
+                        ReadWriteBackingMap.this.getContext().isKeyOwned(oKey))
+                        {
+                        putToInternalCache(oKey, oValue, extractExpiry(entry));
+                        }
+                    }
+                finally
+                    {
+                    mapControl.remove(oKey);
+                    mapControl.unlock(oKey);
+                    }
+                }
+            else
+                {
+                // since we could not lock, notify the lock owner
+                // that the current load operation has either
+                // completed or been canceled due to an exception
+                if (exception == null)
+                    {
+                    latch.complete(oValue);
+                    }
+                else
+                    {
+                    latch.cancel(exception);
+                    }
+                mapControl.remove(oKey);
+                }
+            }
+
         /**
         * {@inheritDoc}
         */
@@ -4764,6 +5341,12 @@ public class ReadWriteBackingMap
         * Field used to tell the {@link ReadThread} to refresh its {@link GuardContext}.
         */
         protected volatile boolean m_fRefreshContext;
+
+        /**
+        * The semaphore that limits the number of loads dispatched to virtual
+        * threads.
+        */
+        protected Semaphore m_semaphoreRefresh;
         }
 
 
@@ -4863,6 +5446,252 @@ public class ReadWriteBackingMap
                     }
                 }
             }
+
+        terminateWriteWorkers();
+        }
+
+    /**
+    * Factory pattern: Instantiate a write-behind worker.
+    *
+    * @param nWorker  the index of the worker
+    *
+    * @return a new write-behind worker
+    *
+    * @since 25.09
+    */
+    protected WriteWorker instantiateWriteWorker(int nWorker)
+        {
+        return new WriteWorker(nWorker);
+        }
+
+    /**
+    * Stop the write-behind workers, if any.
+    */
+    protected void terminateWriteWorkers()
+        {
+        WriteWorker[] aWorker = m_aWorkerWrite;
+        if (aWorker != null)
+            {
+            for (WriteWorker worker : aWorker)
+                {
+                worker.stop();
+                }
+            }
+        }
+
+    /**
+    * Determine whether the specified thread writes write-behind entries to
+    * the CacheStore, i.e. whether it is the write-behind thread or one of
+    * the write-behind workers.
+    *
+    * @param thread  the thread
+    *
+    * @return true iff the thread is a write-behind thread
+    *
+    * @since 25.09
+    */
+    protected boolean isWriteBehindThread(Thread thread)
+        {
+        WriteThread daemon = getWriteThread();
+        if (daemon != null && daemon.getThread() == thread)
+            {
+            return true;
+            }
+
+        WriteWorker[] aWorker = m_aWorkerWrite;
+        if (aWorker != null)
+            {
+            for (WriteWorker worker : aWorker)
+                {
+                if (worker.getThread() == thread)
+                    {
+                    return true;
+                    }
+                }
+            }
+        return false;
+        }
+
+    /**
+    * Write a batch of entries removed from the write-behind queue to the
+    * CacheStore, using storeAll() and eraseAll() where supported.
+    *
+    * @param store      the CacheStore to write to
+    * @param listBatch  the entries, in the order they were removed from the
+    *                   queue
+    *
+    * @since 25.09
+    */
+    protected void writeBatch(StoreWrapper store, List<Entry> listBatch)
+        {
+        boolean    fStoreAll = store.isStoreAllSupported();
+        boolean    fEraseAll = store.isEraseAllSupported();
+        int        cEntries  = listBatch.size();
+        Set<Entry> setStore  = fStoreAll ? new LinkedHashSet<>(cEntries, 0.75f) : null;
+        Set<Entry> setErase  = fEraseAll ? new LinkedHashSet<>(cEntries, 0.75f) : null;
+        long       ldtStart  = System.nanoTime();
+
+        for (Entry entry : listBatch)
+            {
+            boolean fRemove = Base.equals(entry.getBinaryValue(), BIN_ERASE_PENDING);
+
+            if (fRemove)
+                {
+                if (fEraseAll)
+                    {
+                    setErase.add(entry);
+                    }
+                else
+                    {
+                    store.erase(entry);
+                    }
+                }
+            else
+                {
+                if (fStoreAll)
+                    {
+                    setStore.add(entry);
+                    }
+                else
+                    {
+                    store.store(entry, true);
+                    }
+                }
+            }
+
+        if (fEraseAll && !setErase.isEmpty())
+            {
+            if (setErase.size() == 1)
+                {
+                store.erase(setErase.iterator().next());
+                }
+            else
+                {
+                store.eraseAll(setErase);
+                }
+            }
+
+        if (fStoreAll && !setStore.isEmpty())
+            {
+            if (setStore.size() == 1)
+                {
+                store.store(setStore.iterator().next(), true);
+                }
+            else
+                {
+                store.storeAll(setStore);
+                }
+            }
+
+        onWriteBatch(store, cEntries, System.nanoTime() - ldtStart);
+        }
+
+    /**
+    * Record the latency of a write-behind batch and, if a target latency is
+    * set, adjust the write-behind batch size.
+    * <p>
+    * A batch that exceeds the target latency shrinks the batch size in
+    * proportion to the excess; a full batch (which implies that the queue
+    * has a backlog) written within the target latency grows it by an
+    * eighth. The batch size is shared by the write-behind workers, which
+    * may race to adjust it.
+    *
+    * @param store     the CacheStore the batch was written to
+    * @param cEntries  the number of entries in the batch
+    * @param cNanos    the time it took to write the batch in nanoseconds
+    *
+    * @since 25.09
+    */
+    protected void onWriteBatch(StoreWrapper store, int cEntries, long cNanos)
+        {
+        store.getWriteBatchHistogram().update(cNanos / 1000L);
+
+        long cTargetMillis = m_cWriteBatchTargetMillis;
+        if (cTargetMillis > 0L)
+            {
+            int    cSize     = m_cWriteBatchSize;
+            double dflMillis = cNanos / 1000000.0;
+
+            if (dflMillis > cTargetMillis)
+                {
+                m_cWriteBatchSize = Math.max(1,
+                        Math.min(cSize, (int) (cEntries * cTargetMillis / dflMillis)));
+                }
+            else if (cEntries >= cSize)
+                {
+                int cLimit = (int) Math.min(Integer.MAX_VALUE,
+                        (long) getWriteMaxBatchSize() * WRITE_BATCH_GROWTH_LIMIT);
+
+                m_cWriteBatchSize = Math.min(cLimit, cSize + Math.max(1, cSize / 8));
+                }
+            }
+        }
+
+    /**
+    * Dispatch the entries removed from the write-behind queue to the
+    * write-behind workers.
+    * <p>
+    * All the entries of a partition are given to the same worker in the
+    * order they were removed from the queue, which preserves the order in
+    * which the updates of a key are written.
+    *
+    * @param queue      the write-behind queue
+    * @param listBatch  the entries removed from the queue
+    * @param aWorker    the write-behind workers
+    *
+    * @since 25.09
+    */
+    protected void dispatchBatch(WriteQueue queue, List<Entry> listBatch, WriteWorker[] aWorker)
+        {
+        BackingMapManagerContext ctx      = getContext();
+        int                      cWorkers = aWorker.length;
+        int                      cMax     = getWriteBatchSize();
+        List<Entry>[]            alist    = new List[cWorkers];
+
+        for (Entry entry : listBatch)
+            {
+            int         nWorker = ctx.getKeyPartition(entry.getBinaryKey()) % cWorkers;
+            List<Entry> list    = alist[nWorker];
+            if (list == null)
+                {
+                alist[nWorker] = list = new ArrayList<>();
+                }
+            list.add(entry);
+            }
+
+        // split the entries of each worker into batches of the current size
+        List<List<Entry>> listBatches = new ArrayList<>();
+        List<WriteWorker> listWorkers = new ArrayList<>();
+        for (int i = 0; i < cWorkers; i++)
+            {
+            List<Entry> list = alist[i];
+            if (list != null)
+                {
+                for (int of = 0, c = list.size(); of < c; of += cMax)
+                    {
+                    listBatches.add(list.subList(of, Math.min(c, of + cMax)));
+                    listWorkers.add(aWorker[i]);
+                    }
+                }
+            }
+
+        int iBatch   = 0;
+        int cBatches = listBatches.size();
+        try
+            {
+            for (; iBatch < cBatches; iBatch++)
+                {
+                listWorkers.get(iBatch).enqueue(listBatches.get(iBatch));
+                }
+            }
+        finally
+            {
+            // the batches that could not be dispatched will not be written
+            for (; iBatch < cBatches; iBatch++)
+                {
+                queue.clearPending(listBatches.get(iBatch));
+                }
+            }
         }
 
     /**
@@ -4926,6 +5755,7 @@ public class ReadWriteBackingMap
                         continue;
                         }
 
+                    boolean fDispatched = false;
                     try
                         {
                         // issue a heartbeat before blocking on the write queue
@@ -4937,42 +5767,20 @@ public class ReadWriteBackingMap
                             continue;
                             }
 
-                        // populate a set of ripe and soft-ripe entries
-                        boolean    fStoreAll   = store.isStoreAllSupported();
-                        boolean    fEraseAll   = store.isEraseAllSupported();
-                        int        cEntries    = 0;
-                        int        cMaxEntries = getWriteMaxBatchSize();
-                        Set<Entry> setStore    = fStoreAll ? new LinkedHashSet<>(cMaxEntries, 0.75f) : null;
-                        Set<Entry> setErase    = fEraseAll ? new LinkedHashSet<>(cMaxEntries, 0.75f) : null;
+                        // populate a batch of ripe and soft-ripe entries
+                        WriteWorker[] aWorker     = m_aWorkerWrite;
+                        int           cMaxEntries = getWriteBatchSize();
+                        if (aWorker != null)
+                            {
+                            // give each worker the chance of a full batch
+                            cMaxEntries *= aWorker.length;
+                            }
 
+                        List<Entry> listBatch = new ArrayList<>(Math.min(cMaxEntries, 1024));
                         while (entry != null)
                             {
-                            boolean fRemove = equals(entry.getBinaryValue(), BIN_ERASE_PENDING);
-
-                            if (fRemove)
-                                {
-                                if (fEraseAll)
-                                    {
-                                    setErase.add(entry);
-                                    }
-                                else
-                                    {
-                                    store.erase(entry);
-                                    }
-                                }
-                            else
-                                {
-                                if (fStoreAll)
-                                    {
-                                    setStore.add(entry);
-                                    }
-                                else
-                                    {
-                                    store.store(entry, true);
-                                    }
-                                }
-
-                            if (++cEntries >= cMaxEntries)
+                            listBatch.add(entry);
+                            if (listBatch.size() >= cMaxEntries)
                                 {
                                 break;
                                 }
@@ -4981,28 +5789,15 @@ public class ReadWriteBackingMap
                             entry = queue.removeNoWait();
                             }
 
-                        if (fEraseAll && !setErase.isEmpty())
+                        if (aWorker == null)
                             {
-                            if (setErase.size() == 1)
-                                {
-                                store.erase(setErase.iterator().next());
-                                }
-                            else
-                                {
-                                store.eraseAll(setErase);
-                                }
+                            writeBatch(store, listBatch);
                             }
-
-                        if (fStoreAll && !setStore.isEmpty())
+                        else
                             {
-                            if (setStore.size() == 1)
-                                {
-                                store.store(setStore.iterator().next(), true);
-                                }
-                            else
-                                {
-                                store.storeAll(setStore);
-                                }
+                            // the workers clear the pending entries once written
+                            fDispatched = true;
+                            dispatchBatch(queue, listBatch, aWorker);
                             }
                         }
                     catch (Throwable e)
@@ -5024,7 +5819,10 @@ public class ReadWriteBackingMap
                         }
                     finally
                         {
-                        queue.clearPending();
+                        if (!fDispatched)
+                            {
+                            queue.clearPending();
+                            }
                         }
                     }
                 }
@@ -5071,6 +5869,209 @@ public class ReadWriteBackingMap
         protected volatile boolean m_fRefreshContext;
         }
 
+    // ----- inner class: WriteWorker ---------------------------------------
+
+    /**
+    * A write-behind worker writes the batches of entries dispatched to it
+    * by the {@link WriteThread write-behind thread} to the CacheStore, in
+    * the order they were dispatched.
+    *
+    * @since 25.09
+    */
+    public class WriteWorker
+            extends Daemon
+        {
+        // ----- constructors -------------------------------------------
+
+        /**
+        * Construct a WriteWorker.
+        *
+        * @param nWorker  the index of the worker
+        */
+        public WriteWorker(int nWorker)
+            {
+            super("WriteBehindWorker-" + nWorker + ":"
+                    + getCacheStore()
+                    + (getCacheService() == null
+                       ? ""
+                       : (":" + getCacheService().getInfo().getServiceName())),
+                     Thread.NORM_PRIORITY, false);
+
+            f_queue = getWriteQueue();
+            }
+
+        // ----- WriteWorker methods ------------------------------------
+
+        /**
+        * Add a batch of entries to be written by this worker, waiting while
+        * the worker has {@link #WRITE_WORKER_BACKLOG} batches outstanding.
+        *
+        * @param listBatch  the entries to write
+        *
+        * @throws IllegalStateException if the worker is not running
+        */
+        protected void enqueue(List<Entry> listBatch)
+            {
+            List<List<Entry>> listBatches = f_listBatches;
+            synchronized (listBatches)
+                {
+                while (listBatches.size() >= WRITE_WORKER_BACKLOG && isRunning())
+                    {
+                    // the caller is the write-behind thread; it is not stuck
+                    // as long as the worker makes progress
+                    ReadWriteBackingMap.this.heartbeat();
+                    waitFor(listBatches, 0xFFL);
+                    }
+
+                if (!isRunning())
+                    {
+                    throw new IllegalStateException("The write-behind worker is not running");
+                    }
+
+                listBatches.add(listBatch);
+                listBatches.notifyAll();
+                }
+            }
+
+        /**
+        * Remove the next batch of entries to write, waiting up to the
+        * specified time for one to be dispatched.
+        *
+        * @param cMillis  the maximum time to wait in milliseconds
+        *
+        * @return the next batch, or null if none was dispatched in time
+        */
+        protected List<Entry> poll(long cMillis)
+            {
+            List<List<Entry>> listBatches = f_listBatches;
+            synchronized (listBatches)
+                {
+                if (listBatches.isEmpty())
+                    {
+                    waitFor(listBatches, cMillis);
+                    }
+
+                if (listBatches.isEmpty())
+                    {
+                    return null;
+                    }
+
+                List<Entry> listBatch = listBatches.remove(0);
+                listBatches.notifyAll();
+                return listBatch;
+                }
+            }
+
+        // ----- Daemon methods -----------------------------------------
+
+        /**
+        * The daemon's implementation method.
+        */
+        public void run()
+            {
+            CacheService service = getCacheService();
+            ClassLoader  loader  = service.getContextClassLoader();
+            if (loader != null)
+                {
+                setThreadContextClassLoader(loader);
+                }
+
+            ContainerHelper.initializeThreadContext(service);
+            try
+                {
+                while (!isStopping())
+                    {
+                    if (m_fRefreshContext)
+                        {
+                        GuardSupport.setThreadContext(getContext());
+                        m_fRefreshContext = false;
+                        }
+
+                    heartbeat();
+
+                    List<Entry> listBatch = poll(getMaxWaitMillis(0xFFL));
+                    if (listBatch == null)
+                        {
+                        continue;
+                        }
+
+                    try
+                        {
+                        StoreWrapper store = getCacheStore();
+                        if (isActive() && store != null)
+                            {
+                            writeBatch(store, listBatch);
+                            }
+                        }
+                    catch (Throwable e)
+                        {
+                        // don't want to allow an exception to kill the worker
+                        err("An exception occurred on the write-behind worker");
+                        err(e);
+                        err("(The exception will be ignored. " +
+                                "The write-behind worker will continue.)");
+
+                        // clear the interrupted flag; @see WriteThread#run
+                        Thread.interrupted();
+                        }
+                    finally
+                        {
+                        f_queue.clearPending(listBatch);
+                        }
+                    }
+                }
+            finally
+                {
+                // release the entries of the batches that will not be written
+                for (List<Entry> listBatch = poll(1L); listBatch != null; listBatch = poll(1L))
+                    {
+                    f_queue.clearPending(listBatch);
+                    }
+                }
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public void terminate()
+            {
+            // similarly to the write-behind thread, a timeout does not
+            // terminate the cache service (or the worker)
+            err("A write-behind worker timed out.  This could be indicative of " +
+                "an extremely slow-running or hung CacheStore call, or deadlock.");
+            GuardSupport.logStackTraces();
+
+            setGuardPolicy((Guardian) ReadWriteBackingMap.this.getContext().getCacheService(),
+                           getCacheStoreTimeoutMillis(), GUARD_RECOVERY);
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        protected void setGuardPolicy(Guardian guardian, long cTimeoutMillis, float flPctRecover)
+            {
+            // Note: needed to provide access visibility to the outer class
+            super.setGuardPolicy(guardian, cTimeoutMillis, flPctRecover);
+            }
+
+        // ----- data fields ---------------------------------------------
+
+        /**
+        * The write-behind queue the entries were removed from.
+        */
+        protected final WriteQueue f_queue;
+
+        /**
+        * The batches dispatched to this worker.
+        */
+        protected final List<List<Entry>> f_listBatches = new RecyclingLinkedList();
+
+        /**
+        * Field used to tell the {@link WriteWorker} to refresh its {@link GuardContext}.
+        */
+        protected volatile boolean m_fRefreshContext;
+        }
+
 
     // ----- CacheStore accessor and configuration --------------------------
 
@@ -5386,9 +6387,22 @@ public class ReadWriteBackingMap
         *
         * @return the number of pending non-blocking store operations
         */
-        public long getPendingAsyncStoreOps()
+        public long getPendingAsyncStoreOps()
+            {
+            return f_cPendingAsyncStoreOps.get();
+            }
+
+        /**
+        * Return the histogram of the time spent writing write-behind
+        * batches, in microseconds.
+        *
+        * @return the histogram of the write-behind batch latency
+        *
+        * @since 25.09
+        */
+        public Histogram getWriteBatchHistogram()
             {
-            return f_cPendingAsyncStoreOps.get();
+            return m_histWriteBatch;
             }
 
         /**
@@ -5408,6 +6422,7 @@ public class ReadWriteBackingMap
             m_cEraseOps      = 0L;
             m_cEraseFailures = 0L;
             m_cEraseMillis   = 0L;
+            m_histWriteBatch = new Histogram();
             }
 
         // ----- accessors ----------------------------------------------
@@ -5558,7 +6573,7 @@ public class ReadWriteBackingMap
             long lStart = getSafeTimeMillis();
             try
                 {
-                return loadInternal(binKey);
+                return invoke(() -> loadInternal(binKey));
                 }
             finally
                 {
@@ -5592,7 +6607,9 @@ public class ReadWriteBackingMap
             long lStart = getSafeTimeMillis();
             try
                 {
-                return loadAllInternal(setBinKey);
+                return isConcurrentLoad(setBinKey)
+                       ? loadAllConcurrently(setBinKey)
+                       : invoke(() -> loadAllInternal(setBinKey));
                 }
             finally
                 {
@@ -5623,7 +6640,11 @@ public class ReadWriteBackingMap
             boolean fSuccess = true;
             try
                 {
-                storeInternal(binEntry);
+                invoke(() ->
+                    {
+                    storeInternal(binEntry);
+                    return null;
+                    });
                 }
             catch (RuntimeException e)
                 {
@@ -5695,7 +6716,11 @@ public class ReadWriteBackingMap
             boolean fSuccess = true;
             try
                 {
-                storeAllInternal(setBinEntries);
+                invoke(() ->
+                    {
+                    storeAllInternal(setBinEntries);
+                    return null;
+                    });
                 }
             catch (RuntimeException e)
                 {
@@ -5750,7 +6775,11 @@ public class ReadWriteBackingMap
             long lStart = getSafeTimeMillis();
             try
                 {
-                eraseInternal(binEntry);
+                invoke(() ->
+                    {
+                    eraseInternal(binEntry);
+                    return null;
+                    });
 
                 if (getWriteQueue() != null && isWriteBehindRemove())
                     {
@@ -5798,7 +6827,11 @@ public class ReadWriteBackingMap
             long lStart = getSafeTimeMillis();
             try
                 {
-                eraseAllInternal(setBinEntries);
+                invoke(() ->
+                    {
+                    eraseAllInternal(setBinEntries);
+                    return null;
+                    });
                 if (fAsynch)
                     {
                     for (ReadWriteBackingMap.Entry entry : (Set<ReadWriteBackingMap.Entry>) setAll)
@@ -6041,9 +7074,8 @@ public class ReadWriteBackingMap
         */
         protected void onStoreFailure(Entry entry, Exception e, boolean fThrow)
             {
-            WriteQueue  queue       = getWriteQueue();
-            WriteThread writeThread = getWriteThread();
-            int         cThreshold  = getWriteRequeueThreshold();
+            WriteQueue queue      = getWriteQueue();
+            int        cThreshold = getWriteRequeueThreshold();
 
             if (e instanceof UnsupportedOperationException)
                 {
@@ -6058,7 +7090,7 @@ public class ReadWriteBackingMap
                 }
 
             String sMsg = "Failed to store key=\"" + entry.getKey() + "\"";
-            if (queue == null || Thread.currentThread() != writeThread.getThread())
+            if (queue == null || !isWriteBehindThread(Thread.currentThread()))
                 {
                 // if write-behind is disabled or the store operation was
                 // synchronous (i.e. not performed by the write-behind thread)
@@ -6111,9 +7143,8 @@ public class ReadWriteBackingMap
         */
         protected void onStoreAllFailure(Set setBinEntries, Exception e, boolean fThrow)
             {
-            WriteQueue  queue       = getWriteQueue();
-            WriteThread writeThread = getWriteThread();
-            int         cThreshold  = getWriteRequeueThreshold();
+            WriteQueue queue      = getWriteQueue();
+            int        cThreshold = getWriteRequeueThreshold();
 
             if (e instanceof UnsupportedOperationException)
                 {
@@ -6128,7 +7159,7 @@ public class ReadWriteBackingMap
                 }
 
             String sMsg = formatKeys(setBinEntries, "Failed to store");
-            if (queue == null || Thread.currentThread() != writeThread.getThread())
+            if (queue == null || !isWriteBehindThread(Thread.currentThread()))
                 {
                 // if write-behind is disabled or the storeAll operation was
                 // synchronous (i.e. not performed by the write-behind thread)
@@ -6189,11 +7220,24 @@ public class ReadWriteBackingMap
 
                 // only requeue if there is no entry for this key;
                 // NO_VALUE marker or a new value make the requeue unnecessary;
+                // a newer value may also be pending with a later batch of
+                // the same write-behind worker
                 // Note: while the store operation was in progress, the
                 // partition could have been moved
-                if (!queue.containsKey(binKey) && ctx.isKeyOwned(binKey))
+                Object oPending = queue.getPendingMap().get(binKey);
+                if (!queue.containsKey(binKey) && (oPending == null || oPending == entry)
+                    && ctx.isKeyOwned(binKey))
                     {
                     long ldtDelay = calculateRequeueDelay(queue);
+                    if (m_aWorkerWrite != null)
+                        {
+                        // requeue a copy; the worker that failed to store the
+                        // entry clears it from the pending map only after
+                        // this method returns, by which time the requeued
+                        // entry may already be pending with a later batch
+                        entry = instantiateEntry(binKey, entry.getBinaryValue(),
+                                entry.getOriginalBinaryValue(), entry.getExpiry());
+                        }
                     queue.add(entry, ldtDelay);
                     }
                 }
@@ -6389,6 +7433,274 @@ public class ReadWriteBackingMap
             return sb.toString();
             }
 
+        // ----- virtual thread support ---------------------------------
+
+        /**
+        * Determine if the wrapped store implements a bulk load operation.
+        * <p>
+        * If it does not, and the store is invoked on virtual threads, the
+        * keys of a loadAll operation are loaded concurrently.
+        *
+        * @return true if the wrapped store implements a bulk load operation
+        *
+        * @since 25.09
+        */
+        public boolean isLoadAllSupported()
+            {
+            return true;
+            }
+
+        /**
+        * Determine if the specified keys should be loaded by concurrent load
+        * operations rather than a single loadAll operation.
+        *
+        * @param setBinKey  the set of keys to load
+        *
+        * @return true if the keys should be loaded concurrently
+        *
+        * @since 25.09
+        */
+        protected boolean isConcurrentLoad(Set setBinKey)
+            {
+            return m_semaphoreStore != null && setBinKey.size() > 1
+                   && isBlocking() && !isLoadAllSupported();
+            }
+
+        /**
+        * Load the entries associated with the specified keys by invoking a
+        * load operation for each key on its own virtual thread.
+        *
+        * @param setBinKey  a set of binary keys to load
+        *
+        * @return a Set of entries for the specified keys
+        *
+        * @since 25.09
+        */
+        protected Set loadAllConcurrently(Set setBinKey)
+            {
+            Semaphore                      semaphore   = m_semaphoreStore;
+            List<CompletableFuture<Entry>> listFutures = new ArrayList<>(setBinKey.size());
+            RuntimeException               exception   = null;
+
+            for (Object binKey : setBinKey)
+                {
+                try
+                    {
+                    acquirePermit(semaphore);
+                    }
+                catch (RuntimeException e)
+                    {
+                    exception = e;
+                    break;
+                    }
+                listFutures.add(invokeAsync(semaphore, () -> loadInternal(binKey)));
+                }
+
+            // wait for all the loads to complete before reporting a failure,
+            // so that no load is in progress once this method returns
+            Set setReturn = new HashSet(listFutures.size());
+            for (CompletableFuture<Entry> future : listFutures)
+                {
+                try
+                    {
+                    Entry entry = await(future);
+                    if (entry != null)
+                        {
+                        setReturn.add(entry);
+                        }
+                    }
+                catch (RuntimeException e)
+                    {
+                    if (exception == null)
+                        {
+                        exception = e;
+                        }
+                    }
+                }
+
+            if (exception != null)
+                {
+                throw exception;
+                }
+            return setReturn;
+            }
+
+        /**
+        * Invoke the specified store operation.
+        * <p>
+        * If the store is invoked on virtual threads, the operation runs on a
+        * virtual thread once a permit is available, and the calling thread
+        * waits for its result; otherwise the operation runs on the calling
+        * thread.
+        *
+        * @param supplier  the store operation
+        * @param <T>       the type of the result of the operation
+        *
+        * @return the result of the operation
+        *
+        * @since 25.09
+        */
+        protected <T> T invoke(Supplier<T> supplier)
+            {
+            Semaphore semaphore = m_semaphoreStore;
+            if (semaphore == null || !isBlocking())
+                {
+                return supplier.get();
+                }
+
+            acquirePermit(semaphore);
+            if (VirtualThreads.isVirtual(Thread.currentThread()))
+                {
+                // already on a virtual thread (e.g. a refresh-ahead load)
+                try
+                    {
+                    return supplier.get();
+                    }
+                finally
+                    {
+                    semaphore.release();
+                    }
+                }
+
+            return await(invokeAsync(semaphore, supplier));
+            }
+
+        /**
+        * Run the specified store operation on a new virtual thread, which
+        * releases the permit acquired by the caller once the operation
+        * completes.
+        * <p>
+        * The operation runs in the thread context of the cache service and
+        * within the tracing span that is active on the calling thread.
+        *
+        * @param semaphore  the semaphore to release the permit to
+        * @param supplier   the store operation
+        * @param <T>        the type of the result of the operation
+        *
+        * @return the future result of the operation
+        *
+        * @since 25.09
+        */
+        protected <T> CompletableFuture<T> invokeAsync(Semaphore semaphore, Supplier<T> supplier)
+            {
+            CacheService   service = getCacheService();
+            Span           span    = TracingHelper.getActiveSpan();
+            StoreFuture<T> future  = new StoreFuture<>();
+            Runnable       task    = () ->
+                {
+                ContainerHelper.initializeThreadContext(service);
+
+                try (@SuppressWarnings("unused") Scope scope =
+                             span == null ? null : TracingHelper.getTracer().withSpan(span))
+                    {
+                    future.complete(supplier.get());
+                    }
+                catch (Throwable e)
+                    {
+                    future.completeExceptionally(e);
+                    }
+                finally
+                    {
+                    semaphore.release();
+                    }
+                };
+
+            try
+                {
+                Thread thread = VirtualThreads.makeThread(null, task, null);
+                future.setThread(thread);
+                thread.start();
+                }
+            catch (RuntimeException | Error e)
+                {
+                semaphore.release();
+                throw e;
+                }
+            return future;
+            }
+
+        /**
+        * Wait for the result of a store operation running on a virtual
+        * thread.
+        * <p>
+        * If the calling thread is interrupted, the interrupt is passed on to
+        * the virtual thread, but the calling thread keeps waiting until the
+        * store returns, exactly as if the operation ran on the calling thread.
+        * This guarantees that no operation is in progress once this method
+        * returns, so that a failed store operation can be safely retried.
+        * The interrupted status of the calling thread is restored before
+        * this method returns.
+        *
+        * @param future  the future result of the operation
+        * @param <T>     the type of the result of the operation
+        *
+        * @return the result of the operation
+        *
+        * @since 25.09
+        */
+        protected <T> T await(CompletableFuture<T> future)
+            {
+            boolean fInterrupted = false;
+            try
+                {
+                while (true)
+                    {
+                    try
+                        {
+                        return future.get();
+                        }
+                    catch (InterruptedException e)
+                        {
+                        fInterrupted = true;
+                        if (future instanceof StoreFuture)
+                            {
+                            ((StoreFuture) future).interrupt();
+                            }
+                        }
+                    catch (ExecutionException e)
+                        {
+                        Throwable eCause = e.getCause();
+                        if (eCause instanceof Error)
+                            {
+                            throw (Error) eCause;
+                            }
+                        throw ensureRuntimeException(eCause);
+                        }
+                    }
+                }
+            finally
+                {
+                if (fInterrupted)
+                    {
+                    Thread.currentThread().interrupt();
+                    }
+                }
+            }
+
+        /**
+        * Acquire a permit to invoke a store operation on a virtual thread,
+        * issuing heartbeats while waiting.
+        *
+        * @param semaphore  the semaphore to acquire the permit from
+        *
+        * @since 25.09
+        */
+        protected void acquirePermit(Semaphore semaphore)
+            {
+            try
+                {
+                while (!semaphore.tryAcquire(0xFFL, TimeUnit.MILLISECONDS))
+                    {
+                    ReadWriteBackingMap.this.heartbeat();
+                    }
+                }
+            catch (InterruptedException e)
+                {
+                Thread.currentThread().interrupt();
+                throw ensureRuntimeException(e, "Interrupted while waiting for the CacheStore");
+                }
+            }
+
         // ----- subclassing support ------------------------------------
 
         /**
@@ -6525,6 +7837,11 @@ public class ReadWriteBackingMap
         */
         protected volatile long m_cEraseMillis;
 
+        /**
+        * The latency of the write-behind batches in microseconds.
+        */
+        protected volatile Histogram m_histWriteBatch = new Histogram();
+
         /**
         * Flag that determines whether or not Store operations are supported by
         * the wrapped store.
@@ -6566,6 +7883,50 @@ public class ReadWriteBackingMap
         }
 
 
+    // ----- inner class: StoreFuture ---------------------------------------
+
+    /**
+    * The future result of a store operation running on a virtual thread.
+    *
+    * @param <T>  the type of the result of the operation
+    *
+    * @since 25.09
+    */
+    protected static class StoreFuture<T>
+            extends CompletableFuture<T>
+        {
+        /**
+        * Set the thread the operation runs on.
+        *
+        * @param thread  the thread the operation runs on
+        */
+        protected void setThread(Thread thread)
+            {
+            m_thread = thread;
+            }
+
+        /**
+        * Interrupt the thread the operation runs on, unless the operation
+        * has already completed.
+        */
+        protected void interrupt()
+            {
+            Thread thread = m_thread;
+            if (thread != null && !isDone())
+                {
+                thread.interrupt();
+                }
+            }
+
+        // ----- data members -------------------------------------------
+
+        /**
+        * The thread the operation runs on.
+        */
+        private volatile Thread m_thread;
+        }
+
+
     // ----- inner class: CacheStoreWrapper ---------------------------------
 
     /**
@@ -6587,11 +7948,20 @@ public class ReadWriteBackingMap
         public CacheStoreWrapper(CacheStore store)
             {
             azzert(store != null);
-            m_store = store;
+            m_store             = store;
+            m_fLoadAllSupported = isLoadAllImplemented(store);
             }
 
         // ----- StoreWrapper -------------------------------------------
 
+        /**
+        * {@inheritDoc}
+        */
+        public boolean isLoadAllSupported()
+            {
+            return m_fLoadAllSupported;
+            }
+
         /**
         * {@inheritDoc}
         */
@@ -6923,6 +8293,32 @@ public class ReadWriteBackingMap
 
         // ----- helpers ------------------------------------------------
 
+        /**
+        * Determine if the specified store implements the loadAll operation,
+        * rather than inheriting the default {@link CacheLoader#loadAll}
+        * implementation, which loads the keys one at a time.
+        *
+        * @param store  the CacheStore
+        *
+        * @return true if the store implements the loadAll operation
+        *
+        * @since 25.09
+        */
+        protected boolean isLoadAllImplemented(CacheStore store)
+            {
+            Object oLoader = store instanceof CacheLoaderCacheStore
+                    ? ((CacheLoaderCacheStore) store).getCacheLoader() : store;
+            try
+                {
+                return oLoader.getClass().getMethod("loadAll", Collection.class)
+                        .getDeclaringClass() != CacheLoader.class;
+                }
+            catch (NoSuchMethodException e)
+                {
+                return true;
+                }
+            }
+
         /**
          * Return a {@link Span.Builder} for the specified operation.
          *
@@ -7009,6 +8405,11 @@ public class ReadWriteBackingMap
         * The wrapped CacheStore.
         */
         private CacheStore m_store;
+
+        /**
+        * True if the wrapped CacheStore implements the loadAll operation.
+        */
+        private boolean m_fLoadAllSupported;
         }
 
     // ----- inner class: NonBlockingEntryStoreWrapper ----------------------
@@ -8226,6 +9627,44 @@ public class ReadWriteBackingMap
     */
     public static final long MIN_REQUEUE_DELAY = Config.getLong("coherence.rwbm.requeue.delay", 60000L);
 
+    /**
+    * The maximum time an update waits for the write-behind queue to drain
+    * below its limit. The wait is bounded so that a stalled CacheStore cannot
+    * hold service threads indefinitely; once it expires, the update proceeds
+    * and the queue grows beyond its limit. Default value is one second and
+    * can be overridden by the system property:
+    * <pre>
+    * coherence.rwbm.backpressure.wait
+    * </pre>
+    *
+    * @since 25.09
+    */
+    public static final long MAX_BACKPRESSURE_MILLIS = Config.getLong("coherence.rwbm.backpressure.wait", 1000L);
+
+    /**
+    * The factor of the maximum batch size up to which adaptive write-behind
+    * batches may grow.
+    *
+    * @since 25.09
+    */
+    public static final int WRITE_BATCH_GROWTH_LIMIT = 16;
+
+    /**
+    * The number of batches a write-behind worker may have outstanding
+    * before the write-behind thread waits for it.
+    *
+    * @since 25.09
+    */
+    protected static final int WRITE_WORKER_BACKLOG = 2;
+
+    /**
+    * The number of threads that must be loading from the CacheStore for a
+    * read-through miss to be coalesced with the others.
+    *
+    * @since 25.09
+    */
+    protected static final int READ_COALESCING_THREAD_THRESHOLD = 2;
+
     /**
      * Binary representation of a decorated null for write-behind remove.
      *
@@ -8411,6 +9850,60 @@ public class ReadWriteBackingMap
     */
     private int              m_cWriteMaxBatchSize = 128;
 
+    /**
+    * The current size of a write-behind batch; only used if the target
+    * latency of a batch is set.
+    */
+    private volatile int     m_cWriteBatchSize = 128;
+
+    /**
+    * The target latency of a write-behind batch in milliseconds; zero if the
+    * batch size is fixed.
+    */
+    private volatile long    m_cWriteBatchTargetMillis;
+
+    /**
+    * The number of bytes the write-behind queue may hold before updates
+    * are made to wait; zero if the queue is not limited.
+    */
+    private volatile long    m_cbWriteQueueLimit;
+
+    /**
+    * The workers that write the write-behind batches, indexed by partition;
+    * null if the write-behind thread writes the batches itself.
+    */
+    private volatile WriteWorker[] m_aWorkerWrite;
+
+    /**
+    * The maximum number of CacheStore operations in progress on virtual
+    * threads.
+    */
+    private volatile int     m_cVirtualThreadConcurrency;
+
+    /**
+    * The permits for the CacheStore operations in progress on virtual
+    * threads; null if the CacheStore is invoked on the calling thread.
+    */
+    private volatile Semaphore m_semaphoreStore;
+
+    /**
+    * The time a read-through miss waits for concurrent misses, in
+    * milliseconds; zero if misses are not coalesced.
+    */
+    private long             m_cReadCoalescingMillis;
+
+    /**
+    * The maximum number of keys coalesced into a single load.
+    */
+    private int              m_cReadCoalescingSize = 128;
+
+    /**
+    * The load bundler created to coalesce read-through misses; null if read
+    * coalescing is disabled or uses a bundler configured via operation
+    * bundling.
+    */
+    private AbstractBundler  m_bundlerCoalescing;
+
     /**
      * Specifies whether the CacheStore will perform write-behind remove
      * operations. This property only applies to write-behind CacheStores.
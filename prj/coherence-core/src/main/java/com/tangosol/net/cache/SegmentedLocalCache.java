@@ -0,0 +1,2048 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.tangosol.net.cache;
+
+import com.tangosol.net.cache.CacheEvent.TransformationState;
+
+import com.tangosol.util.AbstractKeyBasedMap;
+import com.tangosol.util.Base;
+import com.tangosol.util.Filter;
+import com.tangosol.util.MapEvent;
+import com.tangosol.util.MapListener;
+import com.tangosol.util.MapListenerSupport;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+* A {@link ConfigurableCacheMap} designed for highly concurrent access, which
+* evicts entries using a sampled W-TinyLFU policy.
+* <p>
+* The entries are spread across a number of segments. Reads never lock: the
+* entry is looked up in the segment's {@link ConcurrentHashMap}, and the access
+* is recorded in a small lossy buffer, which is drained into the segment's
+* frequency sketch by whichever thread next acquires the segment's lock.
+* Writes only lock the segment that owns the key, and the cache-wide state is
+* limited to the number of units held by the cache.
+* <p>
+* When the cache exceeds its high units, entries are evicted one segment at a
+* time until the cache is back to its low units (or to its high units if the
+* low units are not set). New entries enter a small admission window; an entry
+* that leaves the window while the cache is full is only admitted if it has
+* been used more frequently than the least frequently used of a small random
+* sample of the segment's entries, otherwise it is evicted itself. The
+* frequencies are estimated by a count-min sketch that is periodically halved,
+* so that the history decays over time.
+* <p>
+* Unlike the {@link CaffeineCache}, this cache consults the
+* {@link EvictionApprover} before evicting or expiring an entry, and supports
+* all the {@link ConfigurableCacheMap.Entry} operations. The eviction policy
+* cannot be replaced: {@link #getEvictionPolicy} returns <tt>null</tt>, and
+* {@link #setEvictionPolicy} rejects any policy other than <tt>null</tt>, so a
+* cache configured with a custom eviction policy fails instead of silently
+* ignoring it. As with a {@link ConcurrentHashMap}, <tt>null</tt> keys are not
+* supported.
+*
+* @see <a href="https://dl.acm.org/doi/10.1145/3149371">TinyLFU: A Highly Efficient Cache Admission Policy</a>
+*
+* @since 25.09
+*/
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class SegmentedLocalCache
+        extends AbstractKeyBasedMap
+        implements ConfigurableCacheMap
+    {
+    // ----- constructors ---------------------------------------------------
+
+    /**
+    * Construct an unbounded SegmentedLocalCache.
+    */
+    public SegmentedLocalCache()
+        {
+        this(LocalCache.DEFAULT_UNITS);
+        }
+
+    /**
+    * Construct a SegmentedLocalCache with a specified high units value.
+    *
+    * @param cUnits  the number of units that the cache will hold
+    */
+    public SegmentedLocalCache(int cUnits)
+        {
+        this(cUnits, LocalCache.DEFAULT_EXPIRE);
+        }
+
+    /**
+    * Construct a SegmentedLocalCache with a specified high units value and
+    * expiry delay.
+    *
+    * @param cUnits         the number of units that the cache will hold
+    * @param cExpiryMillis  the number of milliseconds that each cache entry
+    *                       lives before being automatically expired
+    */
+    public SegmentedLocalCache(int cUnits, int cExpiryMillis)
+        {
+        this(cUnits, cExpiryMillis, DEFAULT_SEGMENTS);
+        }
+
+    /**
+    * Construct a SegmentedLocalCache with a specified high units value,
+    * expiry delay and number of segments.
+    *
+    * @param cUnits         the number of units that the cache will hold
+    * @param cExpiryMillis  the number of milliseconds that each cache entry
+    *                       lives before being automatically expired
+    * @param cSegments      the minimum number of segments; rounded up to a
+    *                       power of two
+    */
+    public SegmentedLocalCache(int cUnits, int cExpiryMillis, int cSegments)
+        {
+        if (cSegments <= 0)
+            {
+            throw new IllegalArgumentException("The number of segments must be positive");
+            }
+
+        int cSegmentsActual = 1;
+        while (cSegmentsActual < cSegments)
+            {
+            cSegmentsActual <<= 1;
+            }
+
+        Segment[] aSegment = new Segment[cSegmentsActual];
+        for (int i = 0; i < cSegmentsActual; i++)
+            {
+            aSegment[i] = new Segment();
+            }
+
+        f_aSegment     = aSegment;
+        f_cUnits       = new AtomicLong();
+        f_lockEvict    = new ReentrantLock();
+        f_listeners    = new MapListenerSupport();
+        f_stats        = new SimpleCacheStatistics();
+        m_calculator   = LocalCache.INSTANCE_FIXED;
+        m_nUnitFactor  = 1;
+
+        setHighUnits(cUnits);
+        setExpiryDelay(cExpiryMillis);
+        }
+
+
+    // ----- accessors ------------------------------------------------------
+
+    /**
+    * Returns the statistics for this cache.
+    *
+    * @return the statistics for this cache
+    */
+    public CacheStatistics getCacheStatistics()
+        {
+        return f_stats;
+        }
+
+    /**
+    * Specify whether this cache is used in the environment, where the
+    * {@link Base#getSafeTimeMillis()} is used very frequently and as a result,
+    * the {@link Base#getLastSafeTimeMillis} could be used without sacrificing
+    * the clock precision. By default, the optimization is off.
+    *
+    * @param fOptimize  pass true to turn the "last safe time" optimization on
+    */
+    public void setOptimizeGetTime(boolean fOptimize)
+        {
+        m_fOptimizeGetTime = fOptimize;
+        }
+
+    /**
+    * Return the number of segments.
+    *
+    * @return the number of segments
+    */
+    public int getSegmentCount()
+        {
+        return f_aSegment.length;
+        }
+
+
+    // ----- Map interface --------------------------------------------------
+
+    /**
+    * {@inheritDoc}
+    */
+    public Object get(Object oKey)
+        {
+        Node node = getNode(oKey);
+        if (node == null)
+            {
+            f_stats.registerMiss();
+            return null;
+            }
+
+        node.f_segment.recordAccess(node);
+        f_stats.registerHit();
+        return node.m_oValue;
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public Object put(Object oKey, Object oValue)
+        {
+        return put(oKey, oValue, EXPIRY_DEFAULT);
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public Object remove(Object oKey)
+        {
+        return segmentFor(oKey).remove(oKey, false);
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public boolean containsKey(Object oKey)
+        {
+        return getNode(oKey) != null;
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public int size()
+        {
+        long cEntries = 0L;
+        for (Segment segment : f_aSegment)
+            {
+            cEntries += segment.f_map.size();
+            }
+        return (int) Math.min(cEntries, Integer.MAX_VALUE);
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public boolean isEmpty()
+        {
+        for (Segment segment : f_aSegment)
+            {
+            if (!segment.f_map.isEmpty())
+                {
+                return false;
+                }
+            }
+        return true;
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public void clear()
+        {
+        for (Segment segment : f_aSegment)
+            {
+            segment.clear();
+            }
+        }
+
+
+    // ----- CacheMap interface ---------------------------------------------
+
+    /**
+    * {@inheritDoc}
+    */
+    public Object put(Object oKey, Object oValue, long cMillis)
+        {
+        if (oKey == null)
+            {
+            throw new NullPointerException("SegmentedLocalCache does not support null keys");
+            }
+
+        long ldtNow    = getCurrentTimeMillis();
+        long ldtExpiry = cMillis == EXPIRY_DEFAULT ? m_cExpiryMillis : cMillis;
+
+        ldtExpiry = ldtExpiry <= 0L ? 0L : ldtNow + ldtExpiry;
+
+        Segment segment   = segmentFor(oKey);
+        Object  oValueOld = segment.put(oKey, oValue, ldtExpiry, ldtNow);
+
+        f_stats.registerPut(0L);
+
+        if (f_cUnits.get() > m_cMaxUnits && !prune())
+            {
+            // another thread is pruning the cache; help it by evicting from
+            // this segment, so that the writers can't outpace the eviction
+            while (f_cUnits.get() > m_cMaxUnits && segment.evictOne(ldtNow))
+                {
+                }
+            }
+        return oValueOld;
+        }
+
+
+    // ----- AbstractKeyBasedMap methods ------------------------------------
+
+    /**
+    * {@inheritDoc}
+    */
+    protected Iterator iterateKeys()
+        {
+        return new KeyIterator();
+        }
+
+
+    // ----- ObservableMap interface ----------------------------------------
+
+    /**
+    * {@inheritDoc}
+    */
+    public void addMapListener(MapListener listener)
+        {
+        f_listeners.addListener(listener, (Filter) null, false);
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public void removeMapListener(MapListener listener)
+        {
+        f_listeners.removeListener(listener, (Filter) null);
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public void addMapListener(MapListener listener, Object oKey, boolean fLite)
+        {
+        f_listeners.addListener(listener, oKey, fLite);
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public void removeMapListener(MapListener listener, Object oKey)
+        {
+        f_listeners.removeListener(listener, oKey);
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public void addMapListener(MapListener listener, Filter filter, boolean fLite)
+        {
+        f_listeners.addListener(listener, filter, fLite);
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public void removeMapListener(MapListener listener, Filter filter)
+        {
+        f_listeners.removeListener(listener, filter);
+        }
+
+
+    // ----- ConfigurableCacheMap interface ---------------------------------
+
+    /**
+    * {@inheritDoc}
+    */
+    public int getUnits()
+        {
+        return toExternalUnits(f_cUnits.get(), getUnitFactor());
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public int getHighUnits()
+        {
+        return toExternalUnits(m_cMaxUnits, getUnitFactor());
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public void setHighUnits(int cMax)
+        {
+        long cMaxUnits = toInternalUnits(cMax, getUnitFactor());
+
+        m_cMaxUnits = cMaxUnits;
+        if (f_cUnits.get() > cMaxUnits)
+            {
+            prune();
+            }
+        }
+
+    /**
+    * {@inheritDoc}
+    * <p>
+    * If the low units are not set, the cache is pruned down to its high
+    * units.
+    */
+    public int getLowUnits()
+        {
+        long cLowUnits = m_cLowUnits;
+        return cLowUnits == 0L ? getHighUnits() : toExternalUnits(cLowUnits, getUnitFactor());
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public void setLowUnits(int cUnits)
+        {
+        m_cLowUnits = cUnits <= 0 ? 0L : toInternalUnits(cUnits, getUnitFactor());
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public int getUnitFactor()
+        {
+        return m_nUnitFactor;
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public void setUnitFactor(int nFactor)
+        {
+        if (nFactor <= 0)
+            {
+            throw new IllegalArgumentException("The unit factor must be positive");
+            }
+        else if (!isEmpty())
+            {
+            throw new IllegalStateException(
+                    "The unit factor cannot be set after the cache has been populated");
+            }
+
+        int nFactorOld = m_nUnitFactor;
+        if (nFactor != nFactorOld)
+            {
+            long cMaxUnits = m_cMaxUnits;
+            long cLowUnits = m_cLowUnits;
+
+            m_nUnitFactor = nFactor;
+            m_cMaxUnits   = cMaxUnits == Long.MAX_VALUE
+                            ? cMaxUnits : toInternalUnits(toExternalUnits(cMaxUnits, nFactorOld), nFactor);
+            m_cLowUnits   = cLowUnits == 0L
+                            ? cLowUnits : toInternalUnits(toExternalUnits(cLowUnits, nFactorOld), nFactor);
+            }
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public void evict(Object oKey)
+        {
+        segmentFor(oKey).remove(oKey, true);
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public void evictAll(Collection colKeys)
+        {
+        for (Object oKey : colKeys)
+            {
+            evict(oKey);
+            }
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public void evict()
+        {
+        long ldtNow = getCurrentTimeMillis();
+        for (Segment segment : f_aSegment)
+            {
+            segment.evictExpired(ldtNow);
+            }
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public EvictionApprover getEvictionApprover()
+        {
+        return m_approver;
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public void setEvictionApprover(EvictionApprover approver)
+        {
+        m_approver = approver;
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public int getExpiryDelay()
+        {
+        return m_cExpiryMillis;
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public void setExpiryDelay(int cMillis)
+        {
+        m_cExpiryMillis = Math.max(cMillis, 0);
+        }
+
+    /**
+    * {@inheritDoc}
+    * <p>
+    * The returned time may be earlier than the actual expiry time of the
+    * entries if entries were updated or removed since the last time the
+    * expired entries were {@link #evict() evicted}.
+    */
+    public long getNextExpiryTime()
+        {
+        long ldtNext = Long.MAX_VALUE;
+        for (Segment segment : f_aSegment)
+            {
+            long ldtSegment = segment.m_ldtNextExpiry;
+            if (ldtSegment != 0L && ldtSegment < ldtNext)
+                {
+                ldtNext = ldtSegment;
+                }
+            }
+        return ldtNext == Long.MAX_VALUE ? 0L : ldtNext;
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public ConfigurableCacheMap.Entry getCacheEntry(Object oKey)
+        {
+        return getNode(oKey);
+        }
+
+    /**
+    * {@inheritDoc}
+    * <p>
+    * This cache always uses a sampled W-TinyLFU policy, so this method
+    * returns <tt>null</tt>.
+    */
+    public EvictionPolicy getEvictionPolicy()
+        {
+        return null;
+        }
+
+    /**
+    * {@inheritDoc}
+    * <p>
+    * This cache always uses a sampled W-TinyLFU policy, so only
+    * <tt>null</tt> is accepted.
+    *
+    * @throws IllegalArgumentException  if the policy is not <tt>null</tt>
+    */
+    public void setEvictionPolicy(EvictionPolicy policy)
+        {
+        if (policy != null)
+            {
+            throw new IllegalArgumentException(getClass().getSimpleName()
+                    + " does not support a custom eviction policy: " + policy);
+            }
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public UnitCalculator getUnitCalculator()
+        {
+        return m_calculator;
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public void setUnitCalculator(UnitCalculator calculator)
+        {
+        m_calculator = calculator == null ? LocalCache.INSTANCE_FIXED : calculator;
+
+        for (Segment segment : f_aSegment)
+            {
+            segment.recalculateUnits();
+            }
+
+        if (f_cUnits.get() > m_cMaxUnits)
+            {
+            prune();
+            }
+        }
+
+
+    // ----- internal -------------------------------------------------------
+
+    /**
+    * Return the segment that owns the specified key.
+    *
+    * @param oKey  the key
+    *
+    * @return the segment that owns the key
+    */
+    protected Segment segmentFor(Object oKey)
+        {
+        int nHash = spread(oKey.hashCode());
+        return f_aSegment[(nHash >>> 16) & (f_aSegment.length - 1)];
+        }
+
+    /**
+    * Return the node for the specified key, evicting it if it has expired.
+    *
+    * @param oKey  the key
+    *
+    * @return the node, or <tt>null</tt> if the key is not cached
+    */
+    protected Node getNode(Object oKey)
+        {
+        Segment segment = segmentFor(oKey);
+        Node    node    = segment.f_map.get(oKey);
+
+        if (node != null && node.isExpired(getCurrentTimeMillis()) && segment.evictExpired(node))
+            {
+            node = null;
+            }
+        return node;
+        }
+
+    /**
+    * Calculate the internal units of the specified entry.
+    *
+    * @param oKey    the key
+    * @param oValue  the value
+    *
+    * @return the number of units
+    */
+    protected int calculateUnits(Object oKey, Object oValue)
+        {
+        int cUnits = m_calculator.calculateUnits(oKey, oValue);
+        if (cUnits < 0)
+            {
+            throw new IllegalStateException("Negative unit count for " + oKey);
+            }
+        return cUnits;
+        }
+
+    /**
+    * Determine whether the specified entry may be evicted.
+    *
+    * @param node  the entry
+    *
+    * @return true iff the eviction approver (if any) allows the eviction
+    */
+    protected boolean isEvictable(Node node)
+        {
+        EvictionApprover approver = m_approver;
+        return approver == null || approver.isEvictable(node);
+        }
+
+    /**
+    * Evict entries until the cache is back to its low units, one segment at
+    * a time.
+    * <p>
+    * Only one thread prunes the cache at a time; this method returns
+    * immediately if the cache is already being pruned by another thread.
+    *
+    * @return false iff the cache is being pruned by another thread
+    */
+    protected boolean prune()
+        {
+        ReentrantLock lock = f_lockEvict;
+        if (lock.tryLock())
+            {
+            try
+                {
+                long      ldtStart  = getCurrentTimeMillis();
+                long      cLowUnits = m_cLowUnits;
+                long      cTarget   = cLowUnits == 0L ? m_cMaxUnits : Math.min(cLowUnits, m_cMaxUnits);
+                Segment[] aSegment  = f_aSegment;
+                int       nMask     = aSegment.length - 1;
+
+                // visit the segments round-robin, evicting one entry per visit;
+                // stop once a full round could not evict anything
+                for (int i = ThreadLocalRandom.current().nextInt(aSegment.length), cIdle = 0;
+                     f_cUnits.get() > cTarget && cIdle <= nMask; i = (i + 1) & nMask)
+                    {
+                    cIdle = aSegment[i].evictOne(ldtStart) ? 0 : cIdle + 1;
+                    }
+
+                f_stats.registerCachePrune(ldtStart);
+                }
+            finally
+                {
+                lock.unlock();
+                }
+            return true;
+            }
+        return false;
+        }
+
+    /**
+    * Return the current {@link Base#getSafeTimeMillis() safe time} or
+    * {@link Base#getLastSafeTimeMillis last safe time} depending on the
+    * optimization flag.
+    *
+    * @return the current time
+    */
+    protected long getCurrentTimeMillis()
+        {
+        return m_fOptimizeGetTime ? Base.getLastSafeTimeMillis() : Base.getSafeTimeMillis();
+        }
+
+    /**
+    * Dispatch a cache event to the registered listeners.
+    *
+    * @param nId        the event id
+    * @param oKey       the key
+    * @param oValueOld  the old value
+    * @param oValueNew  the new value
+    * @param fSynthetic true iff the event is caused by an eviction
+    * @param fExpired   true iff the event is caused by an expiry
+    */
+    protected void dispatchEvent(int nId, Object oKey, Object oValueOld, Object oValueNew,
+            boolean fSynthetic, boolean fExpired)
+        {
+        MapListenerSupport listeners = f_listeners;
+        if (!listeners.isEmpty())
+            {
+            CacheEvent event = new CacheEvent(this, nId, oKey, oValueOld, oValueNew, fSynthetic,
+                    TransformationState.TRANSFORMABLE, false, fExpired);
+            listeners.fireEvent(event, false);
+            }
+        }
+
+    /**
+    * Convert from an external 32-bit unit value to an internal 64-bit unit
+    * value using the configured units factor.
+    *
+    * @param cUnits   an external 32-bit units value
+    * @param nFactor  the unit factor
+    *
+    * @return an internal 64-bit units value
+    */
+    protected static long toInternalUnits(int cUnits, int nFactor)
+        {
+        return cUnits <= 0 || cUnits == Integer.MAX_VALUE
+               ? Long.MAX_VALUE
+               : ((long) cUnits) * nFactor;
+        }
+
+    /**
+    * Convert from an internal 64-bit unit value to an external 32-bit unit
+    * value using the configured units factor.
+    *
+    * @param cUnits   an internal 64-bit units value
+    * @param nFactor  the unit factor
+    *
+    * @return an external 32-bit units value
+    */
+    protected static int toExternalUnits(long cUnits, int nFactor)
+        {
+        if (nFactor > 1 && cUnits != Long.MAX_VALUE)
+            {
+            cUnits = (cUnits + nFactor - 1) / nFactor;
+            }
+        return cUnits > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) cUnits;
+        }
+
+    /**
+    * Spread the bits of the specified hash code.
+    *
+    * @param n  the hash code
+    *
+    * @return the spread hash code
+    */
+    protected static int spread(int n)
+        {
+        n = ((n >>> 16) ^ n) * 0x45D9F3B;
+        n = ((n >>> 16) ^ n) * 0x45D9F3B;
+        return (n >>> 16) ^ n;
+        }
+
+
+    // ----- inner class: Segment -------------------------------------------
+
+    /**
+    * A Segment holds the entries of a subset of the keys, along with the
+    * state used to evict them. All the modifications are made while holding
+    * the segment's lock.
+    */
+    protected class Segment
+            extends ReentrantLock
+        {
+        // ----- Segment methods --------------------------------------------
+
+        /**
+        * Associate the specified value with the specified key.
+        *
+        * @param oKey       the key
+        * @param oValue     the value
+        * @param ldtExpiry  the expiry time, or zero if the entry never expires
+        * @param ldtNow     the current time
+        *
+        * @return the previous value, or <tt>null</tt>
+        */
+        protected Object put(Object oKey, Object oValue, long ldtExpiry, long ldtNow)
+            {
+            int cUnits = calculateUnits(oKey, oValue);
+
+            lock();
+            try
+                {
+                drainAccesses(ldtNow);
+
+                Node node = f_map.get(oKey);
+                if (node != null && node.isExpired(ldtNow) && isEvictable(node))
+                    {
+                    evictNode(node, true);
+                    node = null;
+                    }
+
+                registerExpiry(ldtExpiry);
+
+                if (node == null)
+                    {
+                    node = new Node(oKey, spread(oKey.hashCode()), oValue, cUnits, ldtExpiry, ldtNow, this);
+
+                    f_map.put(oKey, node);
+                    addNode(node);
+                    dispatchEvent(MapEvent.ENTRY_INSERTED, oKey, null, oValue, false, false);
+                    return null;
+                    }
+
+                Object oValueOld = node.m_oValue;
+
+                node.m_oValue    = oValue;
+                node.m_ldtExpiry = ldtExpiry;
+                setUnits(node, cUnits);
+                touch(node, ldtNow);
+
+                dispatchEvent(MapEvent.ENTRY_UPDATED, oKey, oValueOld, oValue, false, false);
+                return oValueOld;
+                }
+            finally
+                {
+                unlock();
+                }
+            }
+
+        /**
+        * Remove the entry for the specified key.
+        *
+        * @param oKey    the key
+        * @param fEvict  true if the entry is evicted rather than removed
+        *
+        * @return the removed value, or <tt>null</tt>
+        */
+        protected Object remove(Object oKey, boolean fEvict)
+            {
+            if (f_map.get(oKey) == null)
+                {
+                return null;
+                }
+
+            lock();
+            try
+                {
+                Node node = f_map.get(oKey);
+                if (node == null)
+                    {
+                    return null;
+                    }
+
+                removeNode(node);
+                dispatchEvent(MapEvent.ENTRY_DELETED, oKey, node.m_oValue, null, fEvict, false);
+                return node.m_oValue;
+                }
+            finally
+                {
+                unlock();
+                }
+            }
+
+        /**
+        * Remove all the entries of this segment.
+        */
+        protected void clear()
+            {
+            lock();
+            try
+                {
+                while (m_cNodes > 0)
+                    {
+                    Node node = m_aNode[m_cNodes - 1];
+
+                    removeNode(node);
+                    dispatchEvent(MapEvent.ENTRY_DELETED, node.f_oKey, node.m_oValue, null, false, false);
+                    }
+
+                f_dequeWindow.clear();
+                f_dequeCandidate.clear();
+                m_ldtNextExpiry = 0L;
+                }
+            finally
+                {
+                unlock();
+                }
+            }
+
+        /**
+        * Record an access to the specified node, without locking.
+        * <p>
+        * The access is written to a random slot of a small buffer, possibly
+        * overwriting an access that has not been drained yet, and the buffer
+        * is occasionally drained if the segment's lock is available.
+        *
+        * @param node  the accessed node
+        */
+        protected void recordAccess(Node node)
+            {
+            int nRandom = ThreadLocalRandom.current().nextInt();
+
+            f_aBuffer.lazySet(nRandom & (BUFFER_SIZE - 1), node);
+
+            if ((nRandom >>> 24 & DRAIN_MASK) == 0 && tryLock())
+                {
+                try
+                    {
+                    drainAccesses(getCurrentTimeMillis());
+                    }
+                finally
+                    {
+                    unlock();
+                    }
+                }
+            }
+
+        /**
+        * Evict the specified node if it has expired and may be evicted.
+        *
+        * @param node  the node
+        *
+        * @return true iff the node is no longer cached
+        */
+        protected boolean evictExpired(Node node)
+            {
+            lock();
+            try
+                {
+                if (node.m_nSlot < 0)
+                    {
+                    return true;
+                    }
+                if (node.isExpired(getCurrentTimeMillis()) && isEvictable(node))
+                    {
+                    evictNode(node, true);
+                    return true;
+                    }
+                return false;
+                }
+            finally
+                {
+                unlock();
+                }
+            }
+
+        /**
+        * Evict all the expired entries of this segment.
+        *
+        * @param ldtNow  the current time
+        */
+        protected void evictExpired(long ldtNow)
+            {
+            long ldtNext = m_ldtNextExpiry;
+            if (ldtNext == 0L || ldtNext > ldtNow)
+                {
+                return;
+                }
+
+            lock();
+            try
+                {
+                ldtNext = 0L;
+                for (int i = m_cNodes - 1; i >= 0; i--)
+                    {
+                    Node node      = m_aNode[i];
+                    long ldtExpiry = node.m_ldtExpiry;
+
+                    if (ldtExpiry != 0L)
+                        {
+                        if (ldtExpiry <= ldtNow && isEvictable(node))
+                            {
+                            // removing swaps the last node into slot i,
+                            // which has already been visited
+                            evictNode(node, true);
+                            }
+                        else if (ldtNext == 0L || ldtExpiry < ldtNext)
+                            {
+                            ldtNext = ldtExpiry;
+                            }
+                        }
+                    }
+                m_ldtNextExpiry = ldtNext;
+                }
+            finally
+                {
+                unlock();
+                }
+            }
+
+        /**
+        * Evict one entry of this segment using the W-TinyLFU policy.
+        *
+        * @param ldtNow  the current time
+        *
+        * @return true iff an entry was evicted
+        */
+        protected boolean evictOne(long ldtNow)
+            {
+            lock();
+            try
+                {
+                drainAccesses(ldtNow);
+
+                Node candidate = pollCandidate();
+                Node victim    = sampleVictim(ldtNow);
+
+                if (candidate != null)
+                    {
+                    if (victim != null && victim.isExpired(ldtNow))
+                        {
+                        // expired entries are evicted first
+                        f_dequeCandidate.addFirst(candidate);
+                        }
+                    else if (victim != null && frequency(candidate) > frequency(victim)
+                             || !isEvictable(candidate))
+                        {
+                        // admit the candidate
+                        candidate.m_nRegion = REGION_MAIN;
+                        }
+                    else
+                        {
+                        victim = candidate;
+                        }
+                    }
+
+                if (victim == null)
+                    {
+                    victim = pollWindow();
+                    if (victim == null)
+                        {
+                        return false;
+                        }
+                    }
+
+                evictNode(victim, victim.isExpired(ldtNow));
+                return true;
+                }
+            finally
+                {
+                unlock();
+                }
+            }
+
+        /**
+        * Recalculate the units of all the entries of this segment.
+        */
+        protected void recalculateUnits()
+            {
+            lock();
+            try
+                {
+                for (int i = 0, c = m_cNodes; i < c; i++)
+                    {
+                    Node node = m_aNode[i];
+                    setUnits(node, calculateUnits(node.f_oKey, node.m_oValue));
+                    }
+                }
+            finally
+                {
+                unlock();
+                }
+            }
+
+        // ----- helpers ----------------------------------------------------
+
+        /**
+        * Add a new node to this segment and to the admission window.
+        * <p>
+        * Must be called while holding the segment's lock.
+        *
+        * @param node  the new node
+        */
+        protected void addNode(Node node)
+            {
+            Node[] aNode = m_aNode;
+            int    cNodes = m_cNodes;
+
+            if (cNodes == aNode.length)
+                {
+                m_aNode = aNode = Arrays.copyOf(aNode, cNodes << 1);
+                f_sketch.ensureCapacity(aNode.length);
+                }
+
+            aNode[cNodes] = node;
+            node.m_nSlot  = cNodes;
+            m_cNodes      = cNodes + 1;
+
+            f_cUnits.addAndGet(node.m_cUnits);
+            f_sketch.increment(node.f_nHash);
+
+            node.m_nRegion = REGION_WINDOW;
+            f_dequeWindow.addLast(node);
+            m_cWindowUnits += node.m_cUnits;
+
+            trimWindow();
+            }
+
+        /**
+        * Remove the specified node from this segment.
+        * <p>
+        * Must be called while holding the segment's lock.
+        *
+        * @param node  the node to remove
+        */
+        protected void removeNode(Node node)
+            {
+            f_map.remove(node.f_oKey, node);
+
+            Node[] aNode  = m_aNode;
+            int    nSlot  = node.m_nSlot;
+            int    nLast  = --m_cNodes;
+            Node   nodeLast = aNode[nLast];
+
+            aNode[nSlot]      = nodeLast;
+            nodeLast.m_nSlot  = nSlot;
+            aNode[nLast]      = null;
+
+            f_cUnits.addAndGet(-node.m_cUnits);
+            if (node.m_nRegion == REGION_WINDOW)
+                {
+                m_cWindowUnits -= node.m_cUnits;
+                }
+
+            node.m_nSlot   = -1;
+            node.m_nRegion = REGION_REMOVED;
+
+            // the node is lazily removed from the window and candidate queues;
+            // compact them if they are mostly made of removed nodes
+            compact(f_dequeWindow);
+            compact(f_dequeCandidate);
+            }
+
+        /**
+        * Evict the specified node and dispatch the corresponding event.
+        * <p>
+        * Must be called while holding the segment's lock.
+        *
+        * @param node      the node to evict
+        * @param fExpired  true iff the node has expired
+        */
+        protected void evictNode(Node node, boolean fExpired)
+            {
+            removeNode(node);
+            dispatchEvent(MapEvent.ENTRY_DELETED, node.f_oKey, node.m_oValue, null, true, fExpired);
+            }
+
+        /**
+        * Change the units of the specified node.
+        * <p>
+        * Must be called while holding the segment's lock.
+        *
+        * @param node    the node
+        * @param cUnits  the new number of units
+        */
+        protected void setUnits(Node node, int cUnits)
+            {
+            int cDelta = cUnits - node.m_cUnits;
+            if (cDelta != 0)
+                {
+                node.m_cUnits = cUnits;
+                f_cUnits.addAndGet(cDelta);
+                if (node.m_nRegion == REGION_WINDOW)
+                    {
+                    m_cWindowUnits += cDelta;
+                    trimWindow();
+                    }
+                }
+            }
+
+        /**
+        * Record an access to the specified node.
+        * <p>
+        * Must be called while holding the segment's lock.
+        *
+        * @param node    the node
+        * @param ldtNow  the current time
+        */
+        protected void touch(Node node, long ldtNow)
+            {
+            f_sketch.increment(node.f_nHash);
+            node.m_cTouches++;
+            node.m_ldtLastTouch = ldtNow;
+            }
+
+        /**
+        * Register the expiry time of an entry.
+        * <p>
+        * Must be called while holding the segment's lock.
+        *
+        * @param ldtExpiry  the expiry time, or zero if the entry never expires
+        */
+        protected void registerExpiry(long ldtExpiry)
+            {
+            long ldtNext = m_ldtNextExpiry;
+            if (ldtExpiry != 0L && (ldtNext == 0L || ldtExpiry < ldtNext))
+                {
+                m_ldtNextExpiry = ldtExpiry;
+                }
+            }
+
+        /**
+        * Apply the accesses recorded in the buffer.
+        * <p>
+        * Must be called while holding the segment's lock.
+        *
+        * @param ldtNow  the current time
+        */
+        protected void drainAccesses(long ldtNow)
+            {
+            AtomicReferenceArray<Node> aBuffer = f_aBuffer;
+            for (int i = 0; i < BUFFER_SIZE; i++)
+                {
+                Node node = aBuffer.get(i);
+                if (node != null)
+                    {
+                    aBuffer.lazySet(i, null);
+                    if (node.m_nSlot >= 0 && node.f_segment == this)
+                        {
+                        touch(node, ldtNow);
+                        }
+                    }
+                }
+            }
+
+        /**
+        * Move the oldest entries out of the admission window until it is
+        * back to its size. While the cache is full, the entries that leave
+        * the window become candidates for admission; otherwise they are
+        * admitted right away.
+        * <p>
+        * Must be called while holding the segment's lock.
+        */
+        protected void trimWindow()
+            {
+            long cMaxUnits = m_cMaxUnits;
+            long cWindow   = cMaxUnits == Long.MAX_VALUE
+                             ? 0L : Math.max(1L, cMaxUnits / WINDOW_RATIO / f_aSegment.length);
+
+            ArrayDeque<Node> dequeWindow = f_dequeWindow;
+            while (m_cWindowUnits > cWindow)
+                {
+                Node node = dequeWindow.pollFirst();
+                if (node == null)
+                    {
+                    break;
+                    }
+                if (node.m_nRegion == REGION_WINDOW)
+                    {
+                    m_cWindowUnits -= node.m_cUnits;
+                    if (f_cUnits.get() > cMaxUnits)
+                        {
+                        node.m_nRegion = REGION_CANDIDATE;
+                        f_dequeCandidate.addLast(node);
+                        }
+                    else
+                        {
+                        node.m_nRegion = REGION_MAIN;
+                        }
+                    }
+                }
+            }
+
+        /**
+        * Return the oldest candidate for admission.
+        * <p>
+        * Must be called while holding the segment's lock.
+        *
+        * @return the oldest candidate, or <tt>null</tt>
+        */
+        protected Node pollCandidate()
+            {
+            Node node;
+            do
+                {
+                node = f_dequeCandidate.pollFirst();
+                }
+            while (node != null && node.m_nRegion != REGION_CANDIDATE);
+
+            return node;
+            }
+
+        /**
+        * Return the oldest entry of the admission window that may be evicted.
+        * The entries that may not be evicted are moved out of the window.
+        * <p>
+        * Must be called while holding the segment's lock.
+        *
+        * @return the oldest entry of the window, or <tt>null</tt>
+        */
+        protected Node pollWindow()
+            {
+            Node node;
+            while ((node = f_dequeWindow.pollFirst()) != null)
+                {
+                if (node.m_nRegion == REGION_WINDOW)
+                    {
+                    m_cWindowUnits -= node.m_cUnits;
+                    node.m_nRegion  = REGION_MAIN;
+                    if (isEvictable(node))
+                        {
+                        return node;
+                        }
+                    }
+                }
+            return null;
+            }
+
+        /**
+        * Return the least frequently used entry of a random sample of the
+        * entries that are neither in the admission window nor candidates for
+        * admission, unless the sample contains an expired entry.
+        * <p>
+        * Must be called while holding the segment's lock.
+        *
+        * @param ldtNow  the current time
+        *
+        * @return the entry to evict, or <tt>null</tt>
+        */
+        protected Node sampleVictim(long ldtNow)
+            {
+            Node[] aNode  = m_aNode;
+            int    cNodes = m_cNodes;
+            int    cSample = Math.min(SAMPLE_SIZE, cNodes);
+
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+
+            Node victim = null;
+            int  nFreq  = Integer.MAX_VALUE;
+            for (int i = 0; i < cSample; i++)
+                {
+                Node node = cNodes <= SAMPLE_SIZE ? aNode[i] : aNode[random.nextInt(cNodes)];
+
+                if (node.isExpired(ldtNow) && isEvictable(node))
+                    {
+                    return node;
+                    }
+
+                if (node.m_nRegion == REGION_MAIN)
+                    {
+                    int nFreqNode = frequency(node);
+                    if ((nFreqNode < nFreq ||
+                         nFreqNode == nFreq && node.m_ldtLastTouch < victim.m_ldtLastTouch) &&
+                        isEvictable(node))
+                        {
+                        victim = node;
+                        nFreq  = nFreqNode;
+                        }
+                    }
+                }
+            return victim;
+            }
+
+        /**
+        * Return the estimated access frequency of the specified node.
+        *
+        * @param node  the node
+        *
+        * @return the estimated access frequency
+        */
+        protected int frequency(Node node)
+            {
+            return f_sketch.frequency(node.f_nHash);
+            }
+
+        /**
+        * Remove the removed (or moved) nodes from the specified queue if they
+        * outnumber the nodes that are still queued.
+        *
+        * @param deque  the queue
+        */
+        protected void compact(ArrayDeque<Node> deque)
+            {
+            int cSize = deque.size();
+            if (cSize > 64 && cSize > m_cNodes * 2)
+                {
+                int nRegion = deque == f_dequeWindow ? REGION_WINDOW : REGION_CANDIDATE;
+                deque.removeIf(node -> node.m_nRegion != nRegion);
+                }
+            }
+
+        // ----- data members -----------------------------------------------
+
+        /**
+        * The nodes of this segment, keyed by the cache keys.
+        */
+        protected final ConcurrentHashMap<Object, Node> f_map = new ConcurrentHashMap<>();
+
+        /**
+        * The nodes of this segment, used to sample the eviction victims.
+        */
+        protected Node[] m_aNode = new Node[16];
+
+        /**
+        * The number of nodes in {@link #m_aNode}.
+        */
+        protected int m_cNodes;
+
+        /**
+        * The admission window, ordered from the oldest entry.
+        */
+        protected final ArrayDeque<Node> f_dequeWindow = new ArrayDeque<>();
+
+        /**
+        * The number of units held by the admission window.
+        */
+        protected long m_cWindowUnits;
+
+        /**
+        * The entries that left the admission window while the cache was
+        * full, ordered from the oldest entry.
+        */
+        protected final ArrayDeque<Node> f_dequeCandidate = new ArrayDeque<>();
+
+        /**
+        * The frequency sketch of the keys of this segment.
+        */
+        protected final FrequencySketch f_sketch = new FrequencySketch(16);
+
+        /**
+        * The buffer of the accesses that have not been recorded yet.
+        */
+        protected final AtomicReferenceArray<Node> f_aBuffer = new AtomicReferenceArray<>(BUFFER_SIZE);
+
+        /**
+        * The earliest expiry time of the entries of this segment, or zero.
+        */
+        protected volatile long m_ldtNextExpiry;
+        }
+
+
+    // ----- inner class: Node ----------------------------------------------
+
+    /**
+    * A cache entry.
+    */
+    protected class Node
+            implements ConfigurableCacheMap.Entry
+        {
+        /**
+        * Construct a Node.
+        *
+        * @param oKey       the key
+        * @param nHash      the spread hash code of the key
+        * @param oValue     the value
+        * @param cUnits     the number of units
+        * @param ldtExpiry  the expiry time, or zero if the entry never expires
+        * @param ldtNow     the current time
+        * @param segment    the segment that owns the key
+        */
+        protected Node(Object oKey, int nHash, Object oValue, int cUnits, long ldtExpiry,
+                long ldtNow, Segment segment)
+            {
+            f_oKey         = oKey;
+            f_nHash        = nHash;
+            f_segment      = segment;
+            m_oValue       = oValue;
+            m_cUnits       = cUnits;
+            m_ldtExpiry    = ldtExpiry;
+            m_ldtLastTouch = ldtNow;
+            }
+
+        // ----- Map.Entry interface ----------------------------------------
+
+        /**
+        * {@inheritDoc}
+        */
+        public Object getKey()
+            {
+            return f_oKey;
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public Object getValue()
+            {
+            return m_oValue;
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public Object setValue(Object oValue)
+            {
+            return put(f_oKey, oValue);
+            }
+
+        // ----- ConfigurableCacheMap.Entry interface -----------------------
+
+        /**
+        * {@inheritDoc}
+        */
+        public void touch()
+            {
+            f_segment.recordAccess(this);
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public int getTouchCount()
+            {
+            return m_cTouches;
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public long getLastTouchMillis()
+            {
+            return m_ldtLastTouch;
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public long getExpiryMillis()
+            {
+            return m_ldtExpiry;
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public void setExpiryMillis(long lMillis)
+            {
+            Segment segment = f_segment;
+            segment.lock();
+            try
+                {
+                m_ldtExpiry = lMillis;
+                segment.registerExpiry(lMillis);
+                }
+            finally
+                {
+                segment.unlock();
+                }
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public int getUnits()
+            {
+            return m_cUnits;
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public void setUnits(int cUnits)
+            {
+            Segment segment = f_segment;
+            segment.lock();
+            try
+                {
+                if (m_nSlot >= 0)
+                    {
+                    segment.setUnits(this, cUnits);
+                    }
+                }
+            finally
+                {
+                segment.unlock();
+                }
+
+            if (f_cUnits.get() > m_cMaxUnits)
+                {
+                prune();
+                }
+            }
+
+        // ----- Node methods -----------------------------------------------
+
+        /**
+        * Determine whether this entry has expired.
+        *
+        * @param ldtNow  the current time
+        *
+        * @return true iff this entry has expired
+        */
+        protected boolean isExpired(long ldtNow)
+            {
+            long ldtExpiry = m_ldtExpiry;
+            return ldtExpiry != 0L && ldtExpiry <= ldtNow;
+            }
+
+        // ----- Object methods ---------------------------------------------
+
+        /**
+        * {@inheritDoc}
+        */
+        public boolean equals(Object o)
+            {
+            if (o instanceof Map.Entry)
+                {
+                Map.Entry that = (Map.Entry) o;
+                return Base.equals(f_oKey, that.getKey()) && Base.equals(m_oValue, that.getValue());
+                }
+            return false;
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public int hashCode()
+            {
+            return Base.hashCode(f_oKey) ^ Base.hashCode(m_oValue);
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public String toString()
+            {
+            return "Node{key=" + f_oKey + ", value=" + m_oValue + ", units=" + m_cUnits
+                   + ", touches=" + m_cTouches + '}';
+            }
+
+        // ----- data members -----------------------------------------------
+
+        /**
+        * The key.
+        */
+        protected final Object f_oKey;
+
+        /**
+        * The spread hash code of the key.
+        */
+        protected final int f_nHash;
+
+        /**
+        * The segment that owns the key.
+        */
+        protected final Segment f_segment;
+
+        /**
+        * The value.
+        */
+        protected volatile Object m_oValue;
+
+        /**
+        * The expiry time, or zero if the entry never expires.
+        */
+        protected volatile long m_ldtExpiry;
+
+        /**
+        * The number of units.
+        */
+        protected volatile int m_cUnits;
+
+        /**
+        * The number of recorded accesses.
+        */
+        protected volatile int m_cTouches;
+
+        /**
+        * The time of the last recorded access.
+        */
+        protected volatile long m_ldtLastTouch;
+
+        /**
+        * The index of this node in the segment's array of nodes, or -1 if
+        * the node has been removed; guarded by the segment's lock.
+        */
+        protected int m_nSlot = -1;
+
+        /**
+        * The eviction region of this node; guarded by the segment's lock.
+        */
+        protected int m_nRegion;
+        }
+
+
+    // ----- inner class: KeyIterator ---------------------------------------
+
+    /**
+    * An iterator over the keys of all the segments.
+    */
+    protected class KeyIterator
+            implements Iterator
+        {
+        // ----- Iterator interface -----------------------------------------
+
+        /**
+        * {@inheritDoc}
+        */
+        public boolean hasNext()
+            {
+            Iterator iter = m_iter;
+            while (iter == null || !iter.hasNext())
+                {
+                Segment[] aSegment = f_aSegment;
+                if (m_iSegment >= aSegment.length)
+                    {
+                    return false;
+                    }
+                m_iter = iter = aSegment[m_iSegment++].f_map.keySet().iterator();
+                }
+            return true;
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public Object next()
+            {
+            if (!hasNext())
+                {
+                throw new NoSuchElementException();
+                }
+            return m_oKey = m_iter.next();
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public void remove()
+            {
+            Object oKey = m_oKey;
+            if (oKey == null)
+                {
+                throw new IllegalStateException();
+                }
+            m_oKey = null;
+            SegmentedLocalCache.this.remove(oKey);
+            }
+
+        // ----- data members -----------------------------------------------
+
+        /**
+        * The index of the next segment.
+        */
+        protected int m_iSegment;
+
+        /**
+        * The iterator over the keys of the current segment.
+        */
+        protected Iterator m_iter;
+
+        /**
+        * The last returned key.
+        */
+        protected Object m_oKey;
+        }
+
+
+    // ----- inner class: FrequencySketch -----------------------------------
+
+    /**
+    * A count-min sketch of 4-bit counters that estimates the access
+    * frequency of the keys, as described by the TinyLFU paper.
+    * <p>
+    * Each long holds sixteen counters; a key maps to four counters in four
+    * different longs. Once the number of increments reaches ten times the
+    * capacity, all the counters are halved, so the estimates reflect the
+    * recent history.
+    */
+    protected static class FrequencySketch
+        {
+        /**
+        * Construct a FrequencySketch for the specified number of keys.
+        *
+        * @param cCapacity  the expected number of keys
+        */
+        protected FrequencySketch(int cCapacity)
+            {
+            ensureCapacity(cCapacity);
+            }
+
+        /**
+        * Resize the sketch for the specified number of keys, discarding the
+        * history if the sketch is resized.
+        *
+        * @param cCapacity  the expected number of keys
+        */
+        protected void ensureCapacity(int cCapacity)
+            {
+            int cTable = Math.max(16, Integer.highestOneBit(Math.max(cCapacity, 1) - 1) << 1);
+            if (m_alTable == null || m_alTable.length < cTable)
+                {
+                m_alTable   = new long[cTable];
+                m_cSample   = 10 * cTable;
+                m_cIncrements = 0;
+                }
+            }
+
+        /**
+        * Return the estimated frequency of the specified key.
+        *
+        * @param nHash  the spread hash code of the key
+        *
+        * @return the estimated frequency, between 0 and 15
+        */
+        protected int frequency(int nHash)
+            {
+            long[] alTable = m_alTable;
+            int    nStart  = (nHash & 3) << 2;
+            int    nFreq   = 15;
+
+            for (int i = 0; i < 4; i++)
+                {
+                int nCount = (int) ((alTable[indexOf(nHash, i)] >>> ((nStart + i) << 2)) & 0xFL);
+                nFreq = Math.min(nFreq, nCount);
+                }
+            return nFreq;
+            }
+
+        /**
+        * Increment the frequency of the specified key.
+        *
+        * @param nHash  the spread hash code of the key
+        */
+        protected void increment(int nHash)
+            {
+            int     nStart = (nHash & 3) << 2;
+            boolean fAdded = false;
+
+            for (int i = 0; i < 4; i++)
+                {
+                fAdded |= incrementAt(indexOf(nHash, i), nStart + i);
+                }
+
+            if (fAdded && ++m_cIncrements >= m_cSample)
+                {
+                reset();
+                }
+            }
+
+        /**
+        * Increment the specified counter unless it has reached its maximum.
+        *
+        * @param iLong     the index of the long that holds the counter
+        * @param iCounter  the index of the counter within the long
+        *
+        * @return true iff the counter was incremented
+        */
+        protected boolean incrementAt(int iLong, int iCounter)
+            {
+            int  nOffset = iCounter << 2;
+            long lMask   = 0xFL << nOffset;
+            if ((m_alTable[iLong] & lMask) != lMask)
+                {
+                m_alTable[iLong] += 1L << nOffset;
+                return true;
+                }
+            return false;
+            }
+
+        /**
+        * Halve all the counters.
+        */
+        protected void reset()
+            {
+            long[] alTable = m_alTable;
+            int    cOdd    = 0;
+            for (int i = 0; i < alTable.length; i++)
+                {
+                cOdd      += Long.bitCount(alTable[i] & 0x1111111111111111L);
+                alTable[i] = (alTable[i] >>> 1) & 0x7777777777777777L;
+                }
+            m_cIncrements = (m_cIncrements >>> 1) - (cOdd >>> 2);
+            }
+
+        /**
+        * Return the index of the long that holds the specified counter of
+        * the specified key.
+        *
+        * @param nHash  the spread hash code of the key
+        * @param i      the index of the counter (0 to 3)
+        *
+        * @return the index of the long
+        */
+        protected int indexOf(int nHash, int i)
+            {
+            long lHash = (nHash + SEED[i]) * SEED[i];
+            lHash += lHash >>> 32;
+            return (int) lHash & (m_alTable.length - 1);
+            }
+
+        // ----- constants --------------------------------------------------
+
+        /**
+        * The seeds of the four hash functions.
+        */
+        private static final long[] SEED =
+            {
+            0xC3A5C85C97CB3127L, 0xB492B66FBE98F273L, 0x9AE16A3B2F90404FL, 0xCBF29CE484222325L
+            };
+
+        // ----- data members -----------------------------------------------
+
+        /**
+        * The counters.
+        */
+        protected long[] m_alTable;
+
+        /**
+        * The number of increments after which the counters are halved.
+        */
+        protected int m_cSample;
+
+        /**
+        * The number of increments since the counters were last halved.
+        */
+        protected int m_cIncrements;
+        }
+
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+    * The default number of segments: the smallest power of two that is
+    * greater than or equal to twice the number of processors, up to 256.
+    */
+    public static final int DEFAULT_SEGMENTS =
+            Math.min(256, Integer.highestOneBit(Math.max(2 * Runtime.getRuntime().availableProcessors() - 1, 1)) << 1);
+
+    /**
+    * The ratio of the high units to the size of the admission window.
+    */
+    protected static final int WINDOW_RATIO = 100;
+
+    /**
+    * The number of entries sampled to select an eviction victim.
+    */
+    protected static final int SAMPLE_SIZE = 8;
+
+    /**
+    * The size of the access buffer of each segment.
+    */
+    protected static final int BUFFER_SIZE = 32;
+
+    /**
+    * The mask used to decide whether to drain the access buffer after a
+    * read, i.e. the buffer is drained after one read out of sixteen.
+    */
+    protected static final int DRAIN_MASK = 0xF;
+
+    /**
+    * The region of a removed node.
+    */
+    protected static final int REGION_REMOVED = 0;
+
+    /**
+    * The region of a node in the admission window.
+    */
+    protected static final int REGION_WINDOW = 1;
+
+    /**
+    * The region of a node that left the admission window while the cache
+    * was full.
+    */
+    protected static final int REGION_CANDIDATE = 2;
+
+    /**
+    * The region of an admitted node.
+    */
+    protected static final int REGION_MAIN = 3;
+
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+    * The segments.
+    */
+    protected final Segment[] f_aSegment;
+
+    /**
+    * The number of internal units held by the cache.
+    */
+    protected final AtomicLong f_cUnits;
+
+    /**
+    * The lock held by the thread that prunes the cache.
+    */
+    protected final ReentrantLock f_lockEvict;
+
+    /**
+    * The registered listeners.
+    */
+    protected final MapListenerSupport f_listeners;
+
+    /**
+    * The cache statistics.
+    */
+    protected final SimpleCacheStatistics f_stats;
+
+    /**
+    * The maximum number of internal units.
+    */
+    protected volatile long m_cMaxUnits;
+
+    /**
+    * The number of internal units to prune the cache down to, or zero to
+    * prune it down to its high units.
+    */
+    protected volatile long m_cLowUnits;
+
+    /**
+    * The unit factor.
+    */
+    protected volatile int m_nUnitFactor;
+
+    /**
+    * The default expiry delay, or zero if the entries never expire.
+    */
+    protected volatile int m_cExpiryMillis;
+
+    /**
+    * The unit calculator.
+    */
+    protected volatile UnitCalculator m_calculator;
+
+    /**
+    * The eviction approver.
+    */
+    protected volatile EvictionApprover m_approver;
+
+    /**
+    * Specifies whether the "last safe time" can be used.
+    */
+    protected volatile boolean m_fOptimizeGetTime;
+    }
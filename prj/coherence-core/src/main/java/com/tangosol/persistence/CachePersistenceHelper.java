@@ -1080,6 +1080,87 @@ public class CachePersistenceHelper
         store.deleteExtent(getIndexExtentId(lCacheId));
         }
 
+    /**
+     * Create a key representing a snapshot of an index.
+     *
+     * @param lCacheId      the cache-id
+     * @param binExtractor  the index extractor
+     *
+     * @return a ReadBuffer representing the index snapshot
+     */
+    protected static ReadBuffer createIndexSnapshotKey(long lCacheId, Binary binExtractor)
+        {
+        WriteBuffer buf = new ByteArrayWriteBuffer(9);
+        try
+            {
+            BufferOutput out = buf.getBufferOutput();
+
+            out.writeByte(KEY_TYPE_INDEX_SNAPSHOT);
+            out.writeLong(lCacheId);
+            }
+        catch (IOException e)
+            {
+            throw Base.ensureRuntimeException(e);
+            }
+
+        return new MultiBufferReadBuffer(new ReadBuffer[] { buf.getReadBuffer(), binExtractor });
+        }
+
+    /**
+     * Store a snapshot of the partition-local state of an index in the
+     * specified persistent store, replacing any previous snapshot of the index.
+     *
+     * @param store         the persistent store
+     * @param lCacheId      the cache id
+     * @param binExtractor  the index extractor
+     * @param binSnapshot   the index snapshot
+     * @param oToken        batch token to use for the store operation, or null
+     *
+     * @throws PersistenceException if the persistent store operations fail
+     *
+     * @since 25.09
+     */
+    public static void storeIndexSnapshot(PersistentStore<ReadBuffer> store, long lCacheId,
+                                          Binary binExtractor, Binary binSnapshot, Object oToken)
+        {
+        if (!store.isOpen())
+            {
+            return;
+            }
+
+        ReadBuffer bufKey = createIndexSnapshotKey(lCacheId, binExtractor);
+
+        long lExtentId = getIndexExtentId(lCacheId);
+        store.ensureExtent(lExtentId);
+        store.store(lExtentId, bufKey, binSnapshot, oToken);
+        }
+
+    /**
+     * Load a snapshot of the partition-local state of an index from the
+     * specified persistent store.
+     *
+     * @param store         the persistent store
+     * @param lCacheId      the cache id
+     * @param binExtractor  the index extractor
+     *
+     * @return the index snapshot, or null if the store does not contain one
+     *
+     * @throws PersistenceException if the persistent store operations fail
+     *
+     * @since 25.09
+     */
+    public static ReadBuffer loadIndexSnapshot(PersistentStore<ReadBuffer> store, long lCacheId,
+                                               Binary binExtractor)
+        {
+        long lExtentId = getIndexExtentId(lCacheId);
+        if (!store.isOpen() || !store.containsExtent(lExtentId))
+            {
+            return null;
+            }
+
+        return store.load(lExtentId, createIndexSnapshotKey(lCacheId, binExtractor));
+        }
+
     // ----- trigger support --------------------------------------------------
 
     /**
@@ -1437,6 +1518,13 @@ public class CachePersistenceHelper
                             return visitorCache.visitIndex(lCacheId, binExtractor, binComparator);
                             }
 
+                        case KEY_TYPE_INDEX_SNAPSHOT:
+                            {
+                            // index snapshots are only read when the index
+                            // of a partition is rebuilt; see loadIndexSnapshot
+                            return true;
+                            }
+
                         case KEY_TYPE_TRIGGER:
                             {
                             long lCacheId = in.readLong();
@@ -1928,6 +2016,11 @@ public class CachePersistenceHelper
      */
     private static final byte KEY_TYPE_TRIGGER = 3;
 
+    /**
+     * Index snapshot key type.
+     */
+    private static final byte KEY_TYPE_INDEX_SNAPSHOT = 4;
+
     /**
      * The marker Binary used to seal a partition.
      */
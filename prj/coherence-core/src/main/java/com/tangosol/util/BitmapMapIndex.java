@@ -0,0 +1,257 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.tangosol.util;
+
+import com.tangosol.net.BackingMapContext;
+
+import java.util.AbstractSet;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Set;
+
+/**
+* BitmapMapIndex is a {@link SimpleMapIndex} that stores the set of keys for
+* each indexed value as a {@link KeyBitmap} over the {@link KeyOrdinals
+* ordinals} of the keys.
+* <p>
+* All the bitmap indexes of a partition share the same ordinals, which allows
+* filters such as {@link com.tangosol.util.filter.AllFilter} and
+* {@link com.tangosol.util.filter.AnyFilter} to combine the bitmaps of
+* different indexes using word-level bitmap operations, and to convert only
+* the resulting ordinals back to keys.
+* <p>
+* The sets of keys exposed by the {@link #getIndexContents() index contents}
+* are views of the bitmaps, so the index can be used by any filter.
+*
+* @see com.tangosol.util.extractor.BitmapExtractor
+*
+* @since 25.09
+*/
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class BitmapMapIndex
+        extends SimpleMapIndex
+    {
+    // ----- constructors ---------------------------------------------------
+
+    /**
+    * Construct a BitmapMapIndex.
+    *
+    * @param extractor   the ValueExtractor that is used to extract an indexed
+    *                    value from a resource map entry
+    * @param fOrdered    true iff the contents of the indexed information
+    *                    should be ordered; false otherwise
+    * @param comparator  the Comparator object which imposes an ordering on
+    *                    entries in the indexed map; or <tt>null</tt> if the
+    *                    entries' values natural ordering should be used
+    * @param ctx         the {@link BackingMapContext context} associated with
+    *                    the indexed cache
+    * @param ordinals    the ordinals of the keys of the indexed partition,
+    *                    shared by all bitmap indexes of the partition
+    */
+    public BitmapMapIndex(ValueExtractor extractor, boolean fOrdered,
+            Comparator comparator, BackingMapContext ctx, KeyOrdinals ordinals)
+        {
+        super(extractor, fOrdered, comparator, ctx);
+
+        azzert(ordinals != null);
+        f_ordinals = ordinals;
+        }
+
+
+    // ----- accessors ------------------------------------------------------
+
+    /**
+    * Return the ordinals of the keys of the indexed partition.
+    *
+    * @return the ordinals of the keys
+    */
+    public KeyOrdinals getKeyOrdinals()
+        {
+        return f_ordinals;
+        }
+
+    /**
+    * Return the bitmap of the ordinals of the keys associated with the
+    * specified value.
+    *
+    * @param oValue  the indexed value
+    *
+    * @return the bitmap of the keys associated with the value, or null if no
+    *         keys are associated with the value
+    */
+    public KeyBitmap getBitmap(Object oValue)
+        {
+        return getBitmap((Set) getIndexContents().get(oValue));
+        }
+
+    /**
+    * Return the bitmap that backs the specified set of keys obtained from
+    * the index contents.
+    *
+    * @param setKeys  the set of keys obtained from the index contents
+    *
+    * @return the bitmap of the keys, or null if the set is null
+    */
+    public KeyBitmap getBitmap(Set setKeys)
+        {
+        return setKeys == null ? null : ((PostingSet) setKeys).f_bitmap;
+        }
+
+    /**
+    * Release the references this index holds to the key ordinals. This
+    * method must be called when the index is destroyed, while the other
+    * bitmap indexes of the partition remain in use.
+    */
+    public synchronized void release()
+        {
+        for (Object oSet : getIndexContents().values())
+            {
+            PostingSet set = (PostingSet) oSet;
+            for (PrimitiveIterator.OfInt iter = set.f_bitmap.iterator(); iter.hasNext(); )
+                {
+                f_ordinals.release(f_ordinals.getKey(iter.nextInt()));
+                }
+            }
+        getIndexContents().clear();
+        }
+
+
+    // ----- SimpleMapIndex methods -----------------------------------------
+
+    /**
+    * {@inheritDoc}
+    */
+    protected Set instantiateSet()
+        {
+        return new PostingSet();
+        }
+
+
+    // ----- inner class: PostingSet ----------------------------------------
+
+    /**
+    * A set of keys backed by a bitmap of their ordinals.
+    */
+    protected class PostingSet
+            extends AbstractSet
+        {
+        /**
+        * {@inheritDoc}
+        */
+        public boolean add(Object oKey)
+            {
+            KeyOrdinals ordinals = f_ordinals;
+            if (f_bitmap.add(ordinals.acquire(oKey)))
+                {
+                return true;
+                }
+
+            ordinals.release(oKey);
+            return false;
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public boolean remove(Object oKey)
+            {
+            KeyOrdinals ordinals = f_ordinals;
+            if (f_bitmap.remove(ordinals.getOrdinal(oKey)))
+                {
+                ordinals.release(oKey);
+                return true;
+                }
+            return false;
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public boolean contains(Object oKey)
+            {
+            int nOrdinal = f_ordinals.getOrdinal(oKey);
+            return nOrdinal >= 0 && f_bitmap.contains(nOrdinal);
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public int size()
+            {
+            return f_bitmap.cardinality();
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public boolean isEmpty()
+            {
+            return f_bitmap.isEmpty();
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public Iterator iterator()
+            {
+            return new Iterator()
+                {
+                public boolean hasNext()
+                    {
+                    // skip the ordinals released concurrently
+                    while (m_oNext == null && f_iter.hasNext())
+                        {
+                        m_oNext = f_ordinals.getKey(f_iter.nextInt());
+                        }
+                    return m_oNext != null;
+                    }
+
+                public Object next()
+                    {
+                    if (!hasNext())
+                        {
+                        throw new NoSuchElementException();
+                        }
+
+                    Object oKey = m_oLast = m_oNext;
+                    m_oNext = null;
+                    return oKey;
+                    }
+
+                public void remove()
+                    {
+                    if (m_oLast == null)
+                        {
+                        throw new IllegalStateException();
+                        }
+                    PostingSet.this.remove(m_oLast);
+                    m_oLast = null;
+                    }
+
+                private final PrimitiveIterator.OfInt f_iter = f_bitmap.iterator();
+                private Object m_oNext;
+                private Object m_oLast;
+                };
+            }
+
+        /**
+        * The bitmap of the ordinals of the keys in this set.
+        */
+        protected final KeyBitmap f_bitmap = new KeyBitmap();
+        }
+
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+    * The ordinals of the keys of the indexed partition.
+    */
+    protected final KeyOrdinals f_ordinals;
+    }
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.tangosol.util;
+
+import java.util.DoubleSummaryStatistics;
+import java.util.LongSummaryStatistics;
+import java.util.Set;
+
+/**
+ * A {@link MapIndex} that keeps the values of a primitive attribute in a
+ * column, and can evaluate range conditions against the column directly,
+ * without having to traverse the {@link #getIndexContents() index contents}.
+ * <p>
+ * Range filters, such as {@link com.tangosol.util.filter.BetweenFilter} and
+ * {@link com.tangosol.util.filter.GreaterFilter}, use this interface when it
+ * is implemented by the index for their extractor, and so do the numeric
+ * aggregators, such as {@link com.tangosol.util.aggregator.LongSum}, which
+ * accumulate the indexed values without boxing them.
+ *
+ * @param <K>  the type of the keys of the indexed map
+ * @param <V>  the type of the values of the indexed map
+ * @param <E>  the type of the indexed attribute
+ *
+ * @see ColumnarMapIndex
+ * @see com.tangosol.util.extractor.ColumnarExtractor
+ *
+ * @since 25.09
+ */
+public interface ColumnarIndex<K, V, E>
+        extends MapIndex<K, V, E>
+    {
+    /**
+     * Determine whether the specified value can be used as a bound of a range
+     * evaluated by this index.
+     *
+     * @param oValue  the value to check
+     *
+     * @return true iff the value is of the same type as the indexed values
+     */
+    public boolean isComparable(Object oValue);
+
+    /**
+     * Return the number of indexed entries whose values are within the
+     * specified range.
+     *
+     * @param low             the lower bound of the range, or {@code null} if
+     *                        the range has no lower bound
+     * @param fLowInclusive   true iff the lower bound is inclusive
+     * @param high            the upper bound of the range, or {@code null} if
+     *                        the range has no upper bound
+     * @param fHighInclusive  true iff the upper bound is inclusive
+     *
+     * @return the number of indexed entries within the range
+     */
+    public int count(E low, boolean fLowInclusive, E high, boolean fHighInclusive);
+
+    /**
+     * Remove from the specified set all the keys whose indexed values are not
+     * within the specified range, including the keys that are not indexed.
+     *
+     * @param setKeys         the set of keys to filter
+     * @param low             the lower bound of the range, or {@code null} if
+     *                        the range has no lower bound
+     * @param fLowInclusive   true iff the lower bound is inclusive
+     * @param high            the upper bound of the range, or {@code null} if
+     *                        the range has no upper bound
+     * @param fHighInclusive  true iff the upper bound is inclusive
+     */
+    public void retain(Set<? extends K> setKeys, E low, boolean fLowInclusive, E high, boolean fHighInclusive);
+
+    /**
+     * Accumulate the indexed values of the specified keys, converted to
+     * {@code long} as by {@link Number#longValue()}, into the specified
+     * statistics.
+     * <p>
+     * The keys whose indexed value is {@code null} are skipped.
+     *
+     * @param setKeys  the keys whose values to accumulate
+     * @param stats    the statistics to accumulate the values into
+     *
+     * @return the keys that are not indexed
+     */
+    public Set<K> accumulate(Set<? extends K> setKeys, LongSummaryStatistics stats);
+
+    /**
+     * Accumulate the indexed values of the specified keys, converted to
+     * {@code double} as by {@link Number#doubleValue()}, into the specified
+     * statistics.
+     * <p>
+     * The keys whose indexed value is {@code null} are skipped.
+     *
+     * @param setKeys  the keys whose values to accumulate
+     * @param stats    the statistics to accumulate the values into
+     *
+     * @return the keys that are not indexed
+     */
+    public Set<K> accumulate(Set<? extends K> setKeys, DoubleSummaryStatistics stats);
+    }
@@ -0,0 +1,1882 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.tangosol.util;
+
+import com.oracle.coherence.common.base.Logger;
+
+import com.tangosol.net.BackingMapContext;
+
+import com.tangosol.net.cache.SimpleMemoryCalculator;
+
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.DoubleSummaryStatistics;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LongSummaryStatistics;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+* ColumnarMapIndex is a {@link ColumnarIndex} implementation for attributes of
+* a primitive type ({@code int}, {@code long} or {@code double}).
+* <p>
+* Instead of maintaining a forward map and an inverse map of sets of keys, as
+* {@link SimpleMapIndex} does, this index assigns each indexed key a dense
+* integer id and stores the attribute values in an off-heap column indexed by
+* that id. Range conditions are evaluated either by scanning the column or by
+* probing it for each candidate key, neither of which allocates any objects,
+* and the numeric aggregators accumulate the values of the candidate keys
+* straight from the column.
+* <p>
+* The {@link #getIndexContents() index contents} are exposed as a read-only
+* {@link NavigableMap} over an immutable snapshot that holds all the indexed
+* values (off-heap) and the corresponding keys sorted by value, so the sets of
+* keys for a value or a range of values are simply slices of the snapshot. The
+* snapshot is built lazily when the contents are requested, by merging the
+* keys that changed since the previous snapshot into it.
+* <p>
+* The keys of the entries for which the extracted value is {@code null} are
+* kept in a separate set, which the index contents return for the
+* {@code null} value, but which is not a part of the snapshot or its
+* navigation. Entries for which the extraction fails are excluded from the
+* index, which makes the index {@link #isPartial() partial}.
+*
+* @see com.tangosol.util.extractor.ColumnarExtractor
+*
+* @since 25.09
+*/
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class ColumnarMapIndex
+        extends    Base
+        implements ColumnarIndex
+    {
+    // ----- constructors ---------------------------------------------------
+
+    /**
+    * Construct a ColumnarMapIndex.
+    *
+    * @param extractor  the ValueExtractor that is used to extract an indexed
+    *                   value from a resource map entry
+    * @param type       the type of the indexed values
+    * @param ctx        the {@link BackingMapContext context} associated with
+    *                   the indexed cache
+    */
+    public ColumnarMapIndex(ValueExtractor extractor, Type type, BackingMapContext ctx)
+        {
+        azzert(extractor != null && type != null);
+
+        m_extractor      = extractor;
+        m_type           = type;
+        m_ctx            = ctx;
+        m_aiSlot         = new int[INITIAL_CAPACITY << 1];
+        m_aoKey          = new Object[INITIAL_CAPACITY];
+        m_bufColumn      = allocate(INITIAL_CAPACITY);
+        m_aiFree         = new int[INITIAL_CAPACITY];
+        m_setKeyExcluded = new SafeHashSet();
+        m_setKeyNull     = new SafeHashSet();
+        m_setKeyDirty    = new HashSet();
+        }
+
+
+    // ----- MapIndex interface ---------------------------------------------
+
+    /**
+    * {@inheritDoc}
+    */
+    public ValueExtractor getValueExtractor()
+        {
+        return m_extractor;
+        }
+
+    /**
+    * {@inheritDoc}
+    * <p>
+    * The contents of a ColumnarMapIndex are always ordered.
+    */
+    public boolean isOrdered()
+        {
+        return true;
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public boolean isPartial()
+        {
+        return !m_setKeyExcluded.isEmpty();
+        }
+
+    /**
+    * {@inheritDoc}
+    * <p>
+    * A ColumnarMapIndex always uses the natural ordering of the indexed values.
+    */
+    public Comparator getComparator()
+        {
+        return null;
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public Map getIndexContents()
+        {
+        Run run = ensureRun();
+        return new Contents(run, 0, run.size());
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public synchronized Object get(Object oKey)
+        {
+        int nId = findId(oKey);
+        return nId >= 0                     ? m_type.decode(m_bufColumn.get(nId))
+             : m_setKeyNull.contains(oKey) ? null
+             :                               NO_VALUE;
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public void insert(Map.Entry entry)
+        {
+        updateInternal(entry);
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public void update(Map.Entry entry)
+        {
+        updateInternal(entry);
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public void delete(Map.Entry entry)
+        {
+        Object oKey = getKey(entry);
+
+        synchronized (this)
+            {
+            removeId(oKey);
+            m_setKeyNull.remove(oKey);
+            m_setKeyExcluded.remove(oKey);
+            }
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public long getUnits()
+        {
+        Run run = m_runPrev;
+        return (long) (m_aiSlot.length + m_aiFree.length) * 4
+               + (long) m_aoKey.length * SimpleMemoryCalculator.SIZE_OBJECT_REF
+               + (long) m_bufColumn.capacity() * 8
+               + (long) m_setKeyNull.size() * SimpleMemoryCalculator.SIZE_OBJECT_REF
+               + (run == null ? 0L : (long) run.size() * (8 + SimpleMemoryCalculator.SIZE_OBJECT_REF));
+        }
+
+
+    // ----- ColumnarIndex interface ----------------------------------------
+
+    /**
+    * {@inheritDoc}
+    */
+    public boolean isComparable(Object oValue)
+        {
+        return m_type.isInstance(oValue);
+        }
+
+    /**
+    * {@inheritDoc}
+    * <p>
+    * If the sorted snapshot of the index contents is current, the count is
+    * obtained by binary search; otherwise the off-heap column is scanned,
+    * which avoids rebuilding the snapshot.
+    */
+    public int count(Object low, boolean fLowInclusive, Object high, boolean fHighInclusive)
+        {
+        Run run = m_run;
+        if (run != null)
+            {
+            return Math.max(0, run.toIndex(high, fHighInclusive) - run.fromIndex(low, fLowInclusive));
+            }
+
+        Range range = new Range(low, fLowInclusive, high, fHighInclusive);
+        int   cMatch = 0;
+
+        synchronized (this)
+            {
+            Object[]   aoKey  = m_aoKey;
+            LongBuffer buffer = m_bufColumn;
+            for (int nId = 0, nIdMax = m_nIdNext; nId < nIdMax; nId++)
+                {
+                if (aoKey[nId] != null && range.contains(buffer.get(nId)))
+                    {
+                    cMatch++;
+                    }
+                }
+            }
+
+        return cMatch;
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public void retain(Set setKeys, Object low, boolean fLowInclusive, Object high, boolean fHighInclusive)
+        {
+        Range range = new Range(low, fLowInclusive, high, fHighInclusive);
+
+        synchronized (this)
+            {
+            LongBuffer buffer = m_bufColumn;
+            for (Iterator iter = setKeys.iterator(); iter.hasNext(); )
+                {
+                int nId = findId(iter.next());
+                if (nId < 0 || !range.contains(buffer.get(nId)))
+                    {
+                    iter.remove();
+                    }
+                }
+            }
+        }
+
+    /**
+    * {@inheritDoc}
+    * <p>
+    * The values are read from the off-heap column, without being boxed.
+    */
+    public Set accumulate(Set setKeys, LongSummaryStatistics stats)
+        {
+        Type type       = m_type;
+        Set  setMissing = null;
+
+        synchronized (this)
+            {
+            LongBuffer buffer = m_bufColumn;
+            for (Object oKey : setKeys)
+                {
+                int nId = findId(oKey);
+                if (nId >= 0)
+                    {
+                    stats.accept(type.toLong(buffer.get(nId)));
+                    }
+                else if (!m_setKeyNull.contains(oKey))
+                    {
+                    if (setMissing == null)
+                        {
+                        setMissing = new HashSet();
+                        }
+                    setMissing.add(oKey);
+                    }
+                }
+            }
+
+        return setMissing == null ? Collections.emptySet() : setMissing;
+        }
+
+    /**
+    * {@inheritDoc}
+    * <p>
+    * The values are read from the off-heap column, without being boxed.
+    */
+    public Set accumulate(Set setKeys, DoubleSummaryStatistics stats)
+        {
+        Type type       = m_type;
+        Set  setMissing = null;
+
+        synchronized (this)
+            {
+            LongBuffer buffer = m_bufColumn;
+            for (Object oKey : setKeys)
+                {
+                int nId = findId(oKey);
+                if (nId >= 0)
+                    {
+                    stats.accept(type.toDouble(buffer.get(nId)));
+                    }
+                else if (!m_setKeyNull.contains(oKey))
+                    {
+                    if (setMissing == null)
+                        {
+                        setMissing = new HashSet();
+                        }
+                    setMissing.add(oKey);
+                    }
+                }
+            }
+
+        return setMissing == null ? Collections.emptySet() : setMissing;
+        }
+
+
+    // ----- accessors ------------------------------------------------------
+
+    /**
+    * Return the type of the values in this index.
+    *
+    * @return the type of the indexed values
+    */
+    public Type getType()
+        {
+        return m_type;
+        }
+
+    /**
+    * Return the number of keys in this index.
+    *
+    * @return the number of indexed keys
+    */
+    public synchronized int size()
+        {
+        return m_cKeys;
+        }
+
+
+    // ----- helpers --------------------------------------------------------
+
+    /**
+    * Update this index in response to an insert or update operation on a
+    * cache.
+    *
+    * @param entry  the entry representing the object being inserted or updated
+    */
+    protected void updateInternal(Map.Entry entry)
+        {
+        Object oKey     = getKey(entry);
+        Object oIxValue = extractNewValue(entry);
+
+        synchronized (this)
+            {
+            if (oIxValue == NO_VALUE)
+                {
+                // exclude the entry from the index and keep track of it
+                removeId(oKey);
+                m_setKeyNull.remove(oKey);
+                m_setKeyExcluded.add(oKey);
+                }
+            else if (oIxValue == null)
+                {
+                // the null values have no encoded form
+                removeId(oKey);
+                m_setKeyNull.add(oKey);
+                m_setKeyExcluded.remove(oKey);
+                }
+            else
+                {
+                putId(oKey, m_type.encode(oIxValue));
+                m_setKeyNull.remove(oKey);
+                m_setKeyExcluded.remove(oKey);
+                }
+            }
+        }
+
+    /**
+    * Return the key of the specified entry to store in this index.
+    *
+    * @param entry  the entry
+    *
+    * @return the key to store in this index
+    */
+    protected Object getKey(Map.Entry entry)
+        {
+        return entry instanceof BinaryEntry ? ((BinaryEntry) entry).getBinaryKey() : entry.getKey();
+        }
+
+    /**
+    * Extract the "new" value from the specified entry.
+    *
+    * @param entry  the entry to extract the "new" value from
+    *
+    * @return the extracted "new" value, or NO_VALUE if the extraction
+    *         failed
+    */
+    protected Object extractNewValue(Map.Entry entry)
+        {
+        try
+            {
+            Object oValue = InvocableMapHelper.extractFromEntry(m_extractor, entry);
+            if (oValue != null && !m_type.isInstance(oValue))
+                {
+                throw new ClassCastException(oValue.getClass().getName()
+                        + " is not a valid " + m_type + " index value");
+                }
+            return oValue;
+            }
+        catch (RuntimeException e)
+            {
+            Logger.warn("An Exception occurred during index update for key " + entry.getKey()
+                        + ". The entry will be excluded from the index"
+                        + (m_ctx == null ? "" : " for cache " + m_ctx.getCacheName()) + ".\n" + e + ":\n", e);
+
+            return NO_VALUE;
+            }
+        }
+
+    /**
+    * Return the (lazily built) sorted snapshot of this index.
+    *
+    * @return the current sorted snapshot
+    */
+    protected Run ensureRun()
+        {
+        Run run = m_run;
+        if (run == null)
+            {
+            synchronized (this)
+                {
+                run = m_run;
+                if (run == null)
+                    {
+                    Run runPrev = m_runPrev;
+                    Set setDirty = m_setKeyDirty;
+
+                    run = runPrev == null || setDirty.size() > (runPrev.size() >>> 2)
+                          ? sortRun() : mergeRun(runPrev, setDirty);
+
+                    setDirty.clear();
+                    m_runPrev = m_run = run;
+                    }
+                }
+            }
+        return run;
+        }
+
+    /**
+    * Build a sorted snapshot from the entire column.
+    * <p>
+    * Must be called while holding this index's monitor.
+    *
+    * @return a new sorted snapshot
+    */
+    protected Run sortRun()
+        {
+        int        cKeys  = m_cKeys;
+        long[]     alVal  = new long[cKeys];
+        Object[]   aoKey  = new Object[cKeys];
+        Object[]   aoById = m_aoKey;
+        LongBuffer buffer = m_bufColumn;
+
+        for (int nId = 0, nIdMax = m_nIdNext, i = 0; nId < nIdMax; nId++)
+            {
+            Object oKey = aoById[nId];
+            if (oKey != null)
+                {
+                alVal[i]   = buffer.get(nId);
+                aoKey[i++] = oKey;
+                }
+            }
+
+        sort(alVal, aoKey, 0, cKeys);
+
+        return new Run(alVal, aoKey, cKeys);
+        }
+
+    /**
+    * Build a sorted snapshot by merging the specified keys, which changed
+    * since the specified snapshot was built, into it.
+    * <p>
+    * Must be called while holding this index's monitor.
+    *
+    * @param runPrev   the previous snapshot
+    * @param setDirty  the keys that were inserted, updated or removed since
+    *                  the previous snapshot was built
+    *
+    * @return a new sorted snapshot
+    */
+    protected Run mergeRun(Run runPrev, Set setDirty)
+        {
+        // collect and sort the current values of the changed keys
+        int        cDirty      = 0;
+        long[]     alValDirty  = new long[setDirty.size()];
+        Object[]   aoKeyDirty  = new Object[alValDirty.length];
+        LongBuffer buffer      = m_bufColumn;
+
+        for (Object oKey : setDirty)
+            {
+            int nId = findId(oKey);
+            if (nId >= 0)
+                {
+                alValDirty[cDirty]   = buffer.get(nId);
+                aoKeyDirty[cDirty++] = oKey;
+                }
+            }
+        sort(alValDirty, aoKeyDirty, 0, cDirty);
+
+        // merge them with the unchanged keys of the previous snapshot
+        int        cKeys    = m_cKeys;
+        long[]     alVal    = new long[cKeys];
+        Object[]   aoKey    = new Object[cKeys];
+        LongBuffer bufPrev  = runPrev.f_bufValues;
+        Object[]   aoPrev   = runPrev.f_aoKey;
+        int        cPrev    = runPrev.size();
+        int        iPrev    = 0;
+        int        iDirty   = 0;
+        int        i        = 0;
+
+        while (true)
+            {
+            while (iPrev < cPrev && setDirty.contains(aoPrev[iPrev]))
+                {
+                iPrev++;
+                }
+
+            if (iPrev < cPrev && (iDirty == cDirty || bufPrev.get(iPrev) <= alValDirty[iDirty]))
+                {
+                alVal[i]   = bufPrev.get(iPrev);
+                aoKey[i++] = aoPrev[iPrev++];
+                }
+            else if (iDirty < cDirty)
+                {
+                alVal[i]   = alValDirty[iDirty];
+                aoKey[i++] = aoKeyDirty[iDirty++];
+                }
+            else
+                {
+                break;
+                }
+            }
+
+        azzert(i == cKeys);
+
+        return new Run(alVal, aoKey, cKeys);
+        }
+
+    /**
+    * Return the id of the specified key.
+    *
+    * @param oKey  the key
+    *
+    * @return the id of the key, or -1 if the key is not indexed
+    */
+    protected int findId(Object oKey)
+        {
+        int nSlot = findSlot(oKey);
+        return nSlot < 0 ? -1 : m_aiSlot[nSlot] - 1;
+        }
+
+    /**
+    * Store the specified encoded value for the specified key, assigning the
+    * key an id if necessary.
+    *
+    * @param oKey    the key
+    * @param lValue  the encoded value
+    */
+    protected void putId(Object oKey, long lValue)
+        {
+        int nSlot = findSlot(oKey);
+        int nId;
+        if (nSlot >= 0)
+            {
+            nId = m_aiSlot[nSlot] - 1;
+            if (m_bufColumn.get(nId) == lValue)
+                {
+                return;
+                }
+            }
+        else
+            {
+            nId = m_cFree > 0 ? m_aiFree[--m_cFree] : m_nIdNext++;
+            if (nId == m_aoKey.length)
+                {
+                growColumn();
+                }
+
+            m_aoKey[nId]         = oKey;
+            m_aiSlot[-nSlot - 1] = nId + 1;
+
+            if (++m_cKeys > m_aiSlot.length >>> 1)
+                {
+                rehash(m_aiSlot.length << 1);
+                }
+            }
+
+        m_bufColumn.put(nId, lValue);
+        onChanged(oKey);
+        }
+
+    /**
+    * Remove the specified key from this index, if present.
+    *
+    * @param oKey  the key
+    */
+    protected void removeId(Object oKey)
+        {
+        int nSlot = findSlot(oKey);
+        if (nSlot >= 0)
+            {
+            int nId = m_aiSlot[nSlot] - 1;
+
+            m_aoKey[nId] = null;
+            if (m_cFree == m_aiFree.length)
+                {
+                int[] aiFree = new int[m_cFree << 1];
+                System.arraycopy(m_aiFree, 0, aiFree, 0, m_cFree);
+                m_aiFree = aiFree;
+                }
+            m_aiFree[m_cFree++] = nId;
+            m_cKeys--;
+
+            deleteSlot(nSlot);
+            onChanged(oKey);
+            }
+        }
+
+    /**
+    * Invalidate the current snapshot in response to a change of the value
+    * for the specified key.
+    *
+    * @param oKey  the changed key
+    */
+    protected void onChanged(Object oKey)
+        {
+        if (m_runPrev != null)
+            {
+            m_setKeyDirty.add(oKey);
+            }
+        m_run = null;
+        }
+
+    /**
+    * Find the slot of the key table that holds the specified key.
+    *
+    * @param oKey  the key
+    *
+    * @return the slot holding the key, or {@code -(slot + 1)} where {@code slot}
+    *         is the empty slot the key should be inserted into
+    */
+    protected int findSlot(Object oKey)
+        {
+        int[]    aiSlot = m_aiSlot;
+        Object[] aoKey  = m_aoKey;
+        int      nMask  = aiSlot.length - 1;
+
+        for (int nSlot = hash(oKey) & nMask; ; nSlot = (nSlot + 1) & nMask)
+            {
+            int nId = aiSlot[nSlot] - 1;
+            if (nId < 0)
+                {
+                return -nSlot - 1;
+                }
+            if (aoKey[nId].equals(oKey))
+                {
+                return nSlot;
+                }
+            }
+        }
+
+    /**
+    * Clear the specified slot of the key table, shifting back the subsequent
+    * slots of the probe sequence as necessary.
+    *
+    * @param nSlot  the slot to clear
+    */
+    protected void deleteSlot(int nSlot)
+        {
+        int[]    aiSlot = m_aiSlot;
+        Object[] aoKey  = m_aoKey;
+        int      nMask  = aiSlot.length - 1;
+
+        for (int nNext = (nSlot + 1) & nMask; aiSlot[nNext] != 0; nNext = (nNext + 1) & nMask)
+            {
+            int nHome = hash(aoKey[aiSlot[nNext] - 1]) & nMask;
+
+            // move the key back unless its home slot is cyclically within (nSlot, nNext]
+            if (nNext > nSlot ? nHome <= nSlot || nHome > nNext : nHome <= nSlot && nHome > nNext)
+                {
+                aiSlot[nSlot] = aiSlot[nNext];
+                nSlot         = nNext;
+                }
+            }
+
+        aiSlot[nSlot] = 0;
+        }
+
+    /**
+    * Rebuild the key table with the specified number of slots.
+    *
+    * @param cSlots  the new number of slots; must be a power of two
+    */
+    protected void rehash(int cSlots)
+        {
+        int[]    aiSlot = new int[cSlots];
+        Object[] aoKey  = m_aoKey;
+        int      nMask  = cSlots - 1;
+
+        for (int nId = 0, nIdMax = m_nIdNext; nId < nIdMax; nId++)
+            {
+            Object oKey = aoKey[nId];
+            if (oKey != null)
+                {
+                int nSlot = hash(oKey) & nMask;
+                while (aiSlot[nSlot] != 0)
+                    {
+                    nSlot = (nSlot + 1) & nMask;
+                    }
+                aiSlot[nSlot] = nId + 1;
+                }
+            }
+
+        m_aiSlot = aiSlot;
+        }
+
+    /**
+    * Double the capacity of the column and the id-to-key table.
+    */
+    protected void growColumn()
+        {
+        int        cOld   = m_aoKey.length;
+        Object[]   aoKey  = new Object[cOld << 1];
+        LongBuffer buffer = allocate(cOld << 1);
+
+        System.arraycopy(m_aoKey, 0, aoKey, 0, cOld);
+        buffer.put(m_bufColumn.duplicate().clear()).clear();
+
+        m_aoKey     = aoKey;
+        m_bufColumn = buffer;
+        }
+
+    /**
+    * Return a spread hash code for the specified key.
+    *
+    * @param oKey  the key
+    *
+    * @return the spread hash code
+    */
+    protected static int hash(Object oKey)
+        {
+        int n = oKey.hashCode() * 0x9E3779B9;
+        return n ^ (n >>> 16);
+        }
+
+    /**
+    * Allocate an off-heap buffer for the specified number of values.
+    *
+    * @param cValues  the number of values
+    *
+    * @return a direct LongBuffer
+    */
+    protected static LongBuffer allocate(int cValues)
+        {
+        return ByteBuffer.allocateDirect(cValues << 3).asLongBuffer();
+        }
+
+    /**
+    * Sort the specified range of the values, and the keys aligned with them.
+    *
+    * @param alVal  the encoded values
+    * @param aoKey  the keys
+    * @param iFrom  the index of the first element to sort, inclusive
+    * @param iTo    the index of the last element to sort, exclusive
+    */
+    protected static void sort(long[] alVal, Object[] aoKey, int iFrom, int iTo)
+        {
+        while (iTo - iFrom > 16)
+            {
+            // median-of-three pivot and a three-way partition, which handles
+            // the many duplicate values an index usually contains
+            int  iMid   = (iFrom + iTo) >>> 1;
+            long lA     = alVal[iFrom];
+            long lB     = alVal[iMid];
+            long lC     = alVal[iTo - 1];
+            long lPivot = lA < lB ? (lB < lC ? lB : Math.max(lA, lC)) : (lA < lC ? lA : Math.max(lB, lC));
+
+            int iLt = iFrom;
+            int iGt = iTo - 1;
+            int i   = iFrom;
+            while (i <= iGt)
+                {
+                long l = alVal[i];
+                if (l < lPivot)
+                    {
+                    swap(alVal, aoKey, iLt++, i++);
+                    }
+                else if (l > lPivot)
+                    {
+                    swap(alVal, aoKey, i, iGt--);
+                    }
+                else
+                    {
+                    i++;
+                    }
+                }
+
+            // recurse into the smaller part, iterate over the larger one
+            if (iLt - iFrom < iTo - iGt - 1)
+                {
+                sort(alVal, aoKey, iFrom, iLt);
+                iFrom = iGt + 1;
+                }
+            else
+                {
+                sort(alVal, aoKey, iGt + 1, iTo);
+                iTo = iLt;
+                }
+            }
+
+        for (int i = iFrom + 1; i < iTo; i++)
+            {
+            long   l = alVal[i];
+            Object o = aoKey[i];
+            int    j = i - 1;
+            for (; j >= iFrom && alVal[j] > l; j--)
+                {
+                alVal[j + 1] = alVal[j];
+                aoKey[j + 1] = aoKey[j];
+                }
+            alVal[j + 1] = l;
+            aoKey[j + 1] = o;
+            }
+        }
+
+    /**
+    * Swap two elements of the specified aligned arrays.
+    *
+    * @param alVal  the encoded values
+    * @param aoKey  the keys
+    * @param i      the index of the first element
+    * @param j      the index of the second element
+    */
+    private static void swap(long[] alVal, Object[] aoKey, int i, int j)
+        {
+        long l = alVal[i];
+        alVal[i] = alVal[j];
+        alVal[j] = l;
+
+        Object o = aoKey[i];
+        aoKey[i] = aoKey[j];
+        aoKey[j] = o;
+        }
+
+
+    // ----- Object interface -----------------------------------------------
+
+    /**
+    * Returns a string representation of this ColumnarMapIndex.
+    *
+    * @return a String representation of this ColumnarMapIndex
+    */
+    public String toString()
+        {
+        return toString(false);
+        }
+
+    /**
+    * Returns a string representation of this ColumnarMapIndex.  If called in
+    * verbose mode, include the contents of the index (the inverse
+    * index). Otherwise, just print the number of entries in the index.
+    *
+    * @param fVerbose  if true then print the content of the index otherwise
+    *                  print the number of entries
+    *
+    * @return a String representation of this ColumnarMapIndex
+    */
+    public String toString(boolean fVerbose)
+        {
+        return ClassHelper.getSimpleName(getClass())
+                + ": Extractor=" + getValueExtractor()
+                + ", Type=" + m_type
+                + ", Footprint=" + Base.toMemorySizeString(getUnits(), false)
+                + ", Content="
+                + (fVerbose ? getIndexContents().keySet() : getIndexContents().size());
+        }
+
+    /**
+    * Compares the specified object with this index for equality. Returns
+    * <tt>true</tt> if the given object is also a ColumnarMapIndex and the two
+    * represent the same index.
+    *
+    * @param o object to be compared for equality with this MapIndex
+    *
+    * @return <tt>true</tt> if the specified object is equal to this index
+    */
+    public boolean equals(Object o)
+        {
+        if (this == o)
+            {
+            return true;
+            }
+        if (!(o instanceof ColumnarMapIndex))
+            {
+            return false;
+            }
+
+        ColumnarMapIndex that = (ColumnarMapIndex) o;
+        return equals(this.getValueExtractor(), that.getValueExtractor()) &&
+               this.m_type == that.m_type;
+        }
+
+    /**
+    * Returns the hash code value for this MapIndex.
+    *
+    * @return the hash code value for this MapIndex
+    */
+    public int hashCode()
+        {
+        return m_extractor.hashCode() + m_type.hashCode();
+        }
+
+
+    // ----- inner enum: Type -----------------------------------------------
+
+    /**
+    * The types of values that can be stored in a ColumnarMapIndex.
+    * <p>
+    * Each type encodes its values as {@code long}s whose signed ordering
+    * matches the natural ordering of the values.
+    */
+    public enum Type
+        {
+        /**
+        * The values are {@link Integer}s.
+        */
+        INT(Integer.class)
+            {
+            public long encode(Object oValue)
+                {
+                return ((Integer) oValue).longValue();
+                }
+
+            public Object decode(long lValue)
+                {
+                return (int) lValue;
+                }
+
+            public long toLong(long lValue)
+                {
+                return lValue;
+                }
+
+            public double toDouble(long lValue)
+                {
+                return lValue;
+                }
+            },
+
+        /**
+        * The values are {@link Long}s.
+        */
+        LONG(Long.class)
+            {
+            public long encode(Object oValue)
+                {
+                return (Long) oValue;
+                }
+
+            public Object decode(long lValue)
+                {
+                return lValue;
+                }
+
+            public long toLong(long lValue)
+                {
+                return lValue;
+                }
+
+            public double toDouble(long lValue)
+                {
+                return lValue;
+                }
+            },
+
+        /**
+        * The values are {@link Double}s, ordered as by {@link Double#compare}.
+        */
+        DOUBLE(Double.class)
+            {
+            public long encode(Object oValue)
+                {
+                long lBits = Double.doubleToLongBits((Double) oValue);
+                return lBits ^ ((lBits >> 63) & Long.MAX_VALUE);
+                }
+
+            public Object decode(long lValue)
+                {
+                return toDouble(lValue);
+                }
+
+            public long toLong(long lValue)
+                {
+                return (long) toDouble(lValue);
+                }
+
+            public double toDouble(long lValue)
+                {
+                return Double.longBitsToDouble(lValue ^ ((lValue >> 63) & Long.MAX_VALUE));
+                }
+            };
+
+        /**
+        * Construct a Type.
+        *
+        * @param clz  the class of the values of this type
+        */
+        Type(Class<?> clz)
+            {
+            f_clz = clz;
+            }
+
+        /**
+        * Determine whether the specified value is of this type.
+        *
+        * @param oValue  the value to check
+        *
+        * @return true iff the value is of this type
+        */
+        public boolean isInstance(Object oValue)
+            {
+            return f_clz.isInstance(oValue);
+            }
+
+        /**
+        * Encode the specified value of this type as an order-preserving long.
+        *
+        * @param oValue  the value to encode
+        *
+        * @return the encoded value
+        */
+        public abstract long encode(Object oValue);
+
+        /**
+        * Decode the specified long into a value of this type.
+        *
+        * @param lValue  the encoded value
+        *
+        * @return the decoded value
+        */
+        public abstract Object decode(long lValue);
+
+        /**
+        * Decode the specified long into a value of this type, and convert
+        * it to a {@code long} as by {@link Number#longValue()}.
+        *
+        * @param lValue  the encoded value
+        *
+        * @return the decoded value as a long
+        */
+        public abstract long toLong(long lValue);
+
+        /**
+        * Decode the specified long into a value of this type, and convert
+        * it to a {@code double} as by {@link Number#doubleValue()}.
+        *
+        * @param lValue  the encoded value
+        *
+        * @return the decoded value as a double
+        */
+        public abstract double toDouble(long lValue);
+
+        /**
+        * The class of the values of this type.
+        */
+        private final Class<?> f_clz;
+        }
+
+
+    // ----- inner class: Range ---------------------------------------------
+
+    /**
+    * A range of encoded values.
+    */
+    protected class Range
+        {
+        /**
+        * Construct a Range.
+        *
+        * @param low             the lower bound, or {@code null} if unbounded
+        * @param fLowInclusive   true iff the lower bound is inclusive
+        * @param high            the upper bound, or {@code null} if unbounded
+        * @param fHighInclusive  true iff the upper bound is inclusive
+        */
+        protected Range(Object low, boolean fLowInclusive, Object high, boolean fHighInclusive)
+            {
+            f_fLow           = low != null;
+            f_lLow           = f_fLow ? m_type.encode(low) : 0L;
+            f_fLowInclusive  = fLowInclusive;
+            f_fHigh          = high != null;
+            f_lHigh          = f_fHigh ? m_type.encode(high) : 0L;
+            f_fHighInclusive = fHighInclusive;
+            }
+
+        /**
+        * Determine whether the specified encoded value is within this range.
+        *
+        * @param lValue  the encoded value
+        *
+        * @return true iff the value is within this range
+        */
+        protected boolean contains(long lValue)
+            {
+            return (!f_fLow  || (f_fLowInclusive  ? lValue >= f_lLow  : lValue > f_lLow)) &&
+                   (!f_fHigh || (f_fHighInclusive ? lValue <= f_lHigh : lValue < f_lHigh));
+            }
+
+        private final boolean f_fLow;
+        private final long    f_lLow;
+        private final boolean f_fLowInclusive;
+        private final boolean f_fHigh;
+        private final long    f_lHigh;
+        private final boolean f_fHighInclusive;
+        }
+
+
+    // ----- inner class: Run -----------------------------------------------
+
+    /**
+    * An immutable snapshot of the index, holding the encoded values in sorted
+    * order (off-heap), and the keys aligned with them.
+    */
+    protected class Run
+        {
+        /**
+        * Construct a Run from the specified sorted values and keys.
+        *
+        * @param alVal  the sorted encoded values
+        * @param aoKey  the keys aligned with the values
+        * @param c      the number of values
+        */
+        protected Run(long[] alVal, Object[] aoKey, int c)
+            {
+            LongBuffer buffer = allocate(Math.max(c, 1));
+            buffer.put(alVal, 0, c).clear();
+
+            int cDistinct = 0;
+            for (int i = 0; i < c; i++)
+                {
+                if (i == 0 || alVal[i] != alVal[i - 1])
+                    {
+                    cDistinct++;
+                    }
+                }
+
+            f_bufValues = buffer;
+            f_aoKey     = aoKey;
+            f_cValues   = c;
+            f_cDistinct = cDistinct;
+            }
+
+        /**
+        * Return the number of values in this snapshot.
+        *
+        * @return the number of values
+        */
+        protected int size()
+            {
+            return f_cValues;
+            }
+
+        /**
+        * Return the encoded value at the specified position.
+        *
+        * @param i  the position
+        *
+        * @return the encoded value
+        */
+        protected long valueAt(int i)
+            {
+            return f_bufValues.get(i);
+            }
+
+        /**
+        * Return the position of the first value that is not less than the
+        * specified one.
+        *
+        * @param lValue  the encoded value
+        *
+        * @return the position of the first value that is {@code >= lValue}
+        */
+        protected int lowerBound(long lValue)
+            {
+            LongBuffer buffer = f_bufValues;
+            int        iLow   = 0;
+            int        iHigh  = f_cValues;
+            while (iLow < iHigh)
+                {
+                int iMid = (iLow + iHigh) >>> 1;
+                if (buffer.get(iMid) < lValue)
+                    {
+                    iLow = iMid + 1;
+                    }
+                else
+                    {
+                    iHigh = iMid;
+                    }
+                }
+            return iLow;
+            }
+
+        /**
+        * Return the position of the first value that is greater than the
+        * specified one.
+        *
+        * @param lValue  the encoded value
+        *
+        * @return the position of the first value that is {@code > lValue}
+        */
+        protected int upperBound(long lValue)
+            {
+            LongBuffer buffer = f_bufValues;
+            int        iLow   = 0;
+            int        iHigh  = f_cValues;
+            while (iLow < iHigh)
+                {
+                int iMid = (iLow + iHigh) >>> 1;
+                if (buffer.get(iMid) <= lValue)
+                    {
+                    iLow = iMid + 1;
+                    }
+                else
+                    {
+                    iHigh = iMid;
+                    }
+                }
+            return iLow;
+            }
+
+        /**
+        * Return the first position of a range starting at the specified bound.
+        *
+        * @param low         the lower bound, or {@code null} if unbounded
+        * @param fInclusive  true iff the bound is inclusive
+        *
+        * @return the first position of the range
+        */
+        protected int fromIndex(Object low, boolean fInclusive)
+            {
+            if (low == null)
+                {
+                return 0;
+                }
+            long lLow = m_type.encode(low);
+            return fInclusive ? lowerBound(lLow) : upperBound(lLow);
+            }
+
+        /**
+        * Return the position following a range ending at the specified bound.
+        *
+        * @param high        the upper bound, or {@code null} if unbounded
+        * @param fInclusive  true iff the bound is inclusive
+        *
+        * @return the position following the range
+        */
+        protected int toIndex(Object high, boolean fInclusive)
+            {
+            if (high == null)
+                {
+                return f_cValues;
+                }
+            long lHigh = m_type.encode(high);
+            return fInclusive ? upperBound(lHigh) : lowerBound(lHigh);
+            }
+
+        /**
+        * The sorted encoded values.
+        */
+        protected final LongBuffer f_bufValues;
+
+        /**
+        * The keys, aligned with the values.
+        */
+        protected final Object[] f_aoKey;
+
+        /**
+        * The number of values.
+        */
+        protected final int f_cValues;
+
+        /**
+        * The number of distinct values.
+        */
+        protected final int f_cDistinct;
+        }
+
+
+    // ----- inner class: Contents ------------------------------------------
+
+    /**
+    * A read-only NavigableMap view of a window of a {@link Run}, mapping each
+    * distinct value to the set of keys it was extracted from.
+    */
+    protected class Contents
+            extends    AbstractMap
+            implements NavigableMap
+        {
+        /**
+        * Construct a Contents view.
+        *
+        * @param run    the snapshot
+        * @param iFrom  the first position of the window, inclusive
+        * @param iTo    the last position of the window, exclusive
+        */
+        protected Contents(Run run, int iFrom, int iTo)
+            {
+            f_run   = run;
+            f_iFrom = iFrom;
+            f_iTo   = Math.max(iFrom, iTo);
+            }
+
+        // ----- Map interface ------------------------------------------
+
+        /**
+        * {@inheritDoc}
+        */
+        public int size()
+            {
+            Run run = f_run;
+            if (f_iFrom == 0 && f_iTo == run.size())
+                {
+                return run.f_cDistinct;
+                }
+
+            int c = 0;
+            for (int i = f_iFrom; i < f_iTo; i = run.upperBound(run.valueAt(i)))
+                {
+                c++;
+                }
+            return c;
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public boolean isEmpty()
+            {
+            return f_iFrom == f_iTo;
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public boolean containsKey(Object oKey)
+            {
+            return get(oKey) != null;
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public Object get(Object oKey)
+            {
+            if (oKey == null)
+                {
+                // only the entire contents hold the keys of the null values
+                Set setNull = m_setKeyNull;
+                return f_iFrom == 0 && f_iTo == f_run.size() && !setNull.isEmpty()
+                       ? Collections.unmodifiableSet(setNull) : null;
+                }
+            if (!isComparable(oKey))
+                {
+                return null;
+                }
+
+            long lValue = m_type.encode(oKey);
+            int  i      = f_run.lowerBound(lValue);
+            return i >= f_iFrom && i < f_iTo && f_run.valueAt(i) == lValue ? groupAt(i) : null;
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public Set entrySet()
+            {
+            return new AbstractSet()
+                {
+                public Iterator iterator()
+                    {
+                    return new Iterator()
+                        {
+                        public boolean hasNext()
+                            {
+                            return m_i < f_iTo;
+                            }
+
+                        public Object next()
+                            {
+                            if (m_i >= f_iTo)
+                                {
+                                throw new NoSuchElementException();
+                                }
+                            Group group = groupAt(m_i);
+                            m_i = group.f_iTo;
+                            return new SimpleMapEntry(m_type.decode(group.f_lValue), group);
+                            }
+
+                        private int m_i = f_iFrom;
+                        };
+                    }
+
+                public int size()
+                    {
+                    return Contents.this.size();
+                    }
+                };
+            }
+
+        // ----- NavigableMap interface ---------------------------------
+
+        /**
+        * {@inheritDoc}
+        */
+        public Map.Entry lowerEntry(Object oKey)
+            {
+            return entryAt(Math.min(f_run.lowerBound(m_type.encode(oKey)), f_iTo) - 1);
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public Object lowerKey(Object oKey)
+            {
+            return keyAt(Math.min(f_run.lowerBound(m_type.encode(oKey)), f_iTo) - 1);
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public Map.Entry floorEntry(Object oKey)
+            {
+            return entryAt(Math.min(f_run.upperBound(m_type.encode(oKey)), f_iTo) - 1);
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public Object floorKey(Object oKey)
+            {
+            return keyAt(Math.min(f_run.upperBound(m_type.encode(oKey)), f_iTo) - 1);
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public Map.Entry ceilingEntry(Object oKey)
+            {
+            return entryAt(Math.max(f_run.lowerBound(m_type.encode(oKey)), f_iFrom));
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public Object ceilingKey(Object oKey)
+            {
+            return keyAt(Math.max(f_run.lowerBound(m_type.encode(oKey)), f_iFrom));
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public Map.Entry higherEntry(Object oKey)
+            {
+            return entryAt(Math.max(f_run.upperBound(m_type.encode(oKey)), f_iFrom));
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public Object higherKey(Object oKey)
+            {
+            return keyAt(Math.max(f_run.upperBound(m_type.encode(oKey)), f_iFrom));
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public Map.Entry firstEntry()
+            {
+            return entryAt(f_iFrom);
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public Map.Entry lastEntry()
+            {
+            return entryAt(f_iTo - 1);
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public Map.Entry pollFirstEntry()
+            {
+            throw new UnsupportedOperationException();
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public Map.Entry pollLastEntry()
+            {
+            throw new UnsupportedOperationException();
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public NavigableMap descendingMap()
+            {
+            return new TreeMap(this).descendingMap();
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public NavigableSet navigableKeySet()
+            {
+            return new TreeMap(this).navigableKeySet();
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public NavigableSet descendingKeySet()
+            {
+            return navigableKeySet().descendingSet();
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public NavigableMap subMap(Object fromKey, boolean fFromInclusive, Object toKey, boolean fToInclusive)
+            {
+            return window(f_run.fromIndex(fromKey, fFromInclusive), f_run.toIndex(toKey, fToInclusive));
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public NavigableMap headMap(Object toKey, boolean fInclusive)
+            {
+            return window(f_iFrom, f_run.toIndex(toKey, fInclusive));
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public NavigableMap tailMap(Object fromKey, boolean fInclusive)
+            {
+            return window(f_run.fromIndex(fromKey, fInclusive), f_iTo);
+            }
+
+        // ----- SortedMap interface ------------------------------------
+
+        /**
+        * {@inheritDoc}
+        */
+        public Comparator comparator()
+            {
+            return null;
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public SortedMap subMap(Object fromKey, Object toKey)
+            {
+            return subMap(fromKey, true, toKey, false);
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public SortedMap headMap(Object toKey)
+            {
+            return headMap(toKey, false);
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public SortedMap tailMap(Object fromKey)
+            {
+            return tailMap(fromKey, true);
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public Object firstKey()
+            {
+            if (isEmpty())
+                {
+                throw new NoSuchElementException();
+                }
+            return keyAt(f_iFrom);
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public Object lastKey()
+            {
+            if (isEmpty())
+                {
+                throw new NoSuchElementException();
+                }
+            return keyAt(f_iTo - 1);
+            }
+
+        // ----- helpers ------------------------------------------------
+
+        /**
+        * Return a view of the intersection of this window and the specified
+        * one.
+        *
+        * @param iFrom  the first position of the window, inclusive
+        * @param iTo    the last position of the window, exclusive
+        *
+        * @return a view of the specified window
+        */
+        protected NavigableMap window(int iFrom, int iTo)
+            {
+            return new Contents(f_run, Math.max(iFrom, f_iFrom), Math.min(iTo, f_iTo));
+            }
+
+        /**
+        * Return the value at the specified position.
+        *
+        * @param i  the position
+        *
+        * @return the decoded value at the position, or {@code null} if the
+        *         position is outside of this window
+        */
+        protected Object keyAt(int i)
+            {
+            return i >= f_iFrom && i < f_iTo ? m_type.decode(f_run.valueAt(i)) : null;
+            }
+
+        /**
+        * Return the entry for the value at the specified position.
+        *
+        * @param i  the position
+        *
+        * @return the entry for the value at the position, or {@code null} if
+        *         the position is outside of this window
+        */
+        protected Map.Entry entryAt(int i)
+            {
+            if (i >= f_iFrom && i < f_iTo)
+                {
+                Group group = groupAt(i);
+                return new SimpleMapEntry(m_type.decode(group.f_lValue), group);
+                }
+            return null;
+            }
+
+        /**
+        * Return the set of keys for the value at the specified position.
+        *
+        * @param i  the position
+        *
+        * @return the set of keys for the value at the position
+        */
+        protected Group groupAt(int i)
+            {
+            Run  run    = f_run;
+            long lValue = run.valueAt(i);
+            return new Group(run, lValue, run.lowerBound(lValue), run.upperBound(lValue));
+            }
+
+        /**
+        * The snapshot.
+        */
+        protected final Run f_run;
+
+        /**
+        * The first position of the window, inclusive.
+        */
+        protected final int f_iFrom;
+
+        /**
+        * The last position of the window, exclusive.
+        */
+        protected final int f_iTo;
+        }
+
+
+    // ----- inner class: Group ---------------------------------------------
+
+    /**
+    * A read-only Set of the keys of a {@link Run} that share a value.
+    * <p>
+    * Set membership is checked against the column, and so reflects the
+    * current state of the index rather than that of the snapshot.
+    */
+    protected class Group
+            extends AbstractSet
+        {
+        /**
+        * Construct a Group.
+        *
+        * @param run     the snapshot
+        * @param lValue  the encoded value shared by the keys
+        * @param iFrom   the position of the first key, inclusive
+        * @param iTo     the position of the last key, exclusive
+        */
+        protected Group(Run run, long lValue, int iFrom, int iTo)
+            {
+            f_run    = run;
+            f_lValue = lValue;
+            f_iFrom  = iFrom;
+            f_iTo    = iTo;
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public Iterator iterator()
+            {
+            return new SimpleEnumerator(f_run.f_aoKey, f_iFrom, f_iTo - f_iFrom);
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public int size()
+            {
+            return f_iTo - f_iFrom;
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public boolean contains(Object oKey)
+            {
+            synchronized (ColumnarMapIndex.this)
+                {
+                int nId = findId(oKey);
+                return nId >= 0 && m_bufColumn.get(nId) == f_lValue;
+                }
+            }
+
+        /**
+        * The snapshot.
+        */
+        protected final Run f_run;
+
+        /**
+        * The encoded value shared by the keys.
+        */
+        protected final long f_lValue;
+
+        /**
+        * The position of the first key, inclusive.
+        */
+        protected final int f_iFrom;
+
+        /**
+        * The position of the last key, exclusive.
+        */
+        protected final int f_iTo;
+        }
+
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+    * The initial capacity of the column.
+    */
+    protected static final int INITIAL_CAPACITY = 16;
+
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+    * ValueExtractor object that this MapIndex uses to extract an indexable
+    * property value from a [converted] value stored in the resource map.
+    */
+    protected final ValueExtractor m_extractor;
+
+    /**
+    * The type of the indexed values.
+    */
+    protected final Type m_type;
+
+    /**
+    * The {@link BackingMapContext context} associated with this index.
+    */
+    protected final BackingMapContext m_ctx;
+
+    /**
+    * The open-addressing key table, holding {@code id + 1} of each key, or 0
+    * for an empty slot.
+    */
+    protected int[] m_aiSlot;
+
+    /**
+    * The keys, indexed by id; {@code null} for an unused id.
+    */
+    protected Object[] m_aoKey;
+
+    /**
+    * The off-heap column of encoded values, indexed by id.
+    */
+    protected LongBuffer m_bufColumn;
+
+    /**
+    * The stack of ids released by removed keys.
+    */
+    protected int[] m_aiFree;
+
+    /**
+    * The number of ids on the free stack.
+    */
+    protected int m_cFree;
+
+    /**
+    * The lowest id that has never been assigned.
+    */
+    protected int m_nIdNext;
+
+    /**
+    * The number of indexed keys.
+    */
+    protected int m_cKeys;
+
+    /**
+    * The current sorted snapshot, or {@code null} if the index has changed
+    * since the last snapshot was built.
+    */
+    protected volatile Run m_run;
+
+    /**
+    * The last sorted snapshot built, which the next one is merged from.
+    */
+    protected Run m_runPrev;
+
+    /**
+    * The keys that changed since the last snapshot was built.
+    */
+    protected Set m_setKeyDirty;
+
+    /**
+    * A set of keys for the entries, which could not be included in the index.
+    */
+    protected Set m_setKeyExcluded;
+
+    /**
+    * The keys of the entries for which the extracted value is {@code null}.
+    */
+    protected Set m_setKeyNull;
+    }
@@ -0,0 +1,345 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.tangosol.util;
+
+import com.tangosol.net.BackingMapContext;
+
+import com.tangosol.util.aggregator.ContinuousAggregator;
+
+import com.tangosol.util.extractor.ContinuousAggregateExtractor;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+* ContinuousAggregateIndex is a {@link MapIndex} implementation that instead of
+* indexing the entries maintains the {@link ContinuousAggregator.Summary
+* summaries} of the groups of entries defined by a
+* {@link ContinuousAggregateExtractor}.
+* <p>
+* Each insert, update and delete adjusts the summary of the affected groups,
+* so the current value of the aggregate is always available without scanning
+* the entries. Only the aggregations that can be adjusted when an entry is
+* removed (count, sum and average) are maintained; the previous value of an
+* updated or removed entry is obtained from the entry's original value, so no
+* forward index is kept.
+* <p>
+* The content of {@link #getIndexContents()} is always empty, so this index
+* cannot be used for querying.
+*
+* @see ContinuousAggregator
+*
+* @since 25.09
+*/
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class ContinuousAggregateIndex
+        implements MapIndex
+    {
+    // ----- constructors ---------------------------------------------------
+
+    /**
+    * Construct a ContinuousAggregateIndex.
+    *
+    * @param extractor  the ContinuousAggregateExtractor that defines the
+    *                   aggregate and is associated with this index
+    * @param ctx        the {@link BackingMapContext context} associated with
+    *                   the indexed cache
+    */
+    public ContinuousAggregateIndex(ContinuousAggregateExtractor extractor, BackingMapContext ctx)
+        {
+        Base.azzert(extractor != null);
+
+        f_extractor = extractor;
+        f_ctx       = ctx;
+        }
+
+
+    // ----- MapIndex interface ---------------------------------------------
+
+    /**
+    * {@inheritDoc}
+    */
+    public ValueExtractor getValueExtractor()
+        {
+        return f_extractor;
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public boolean isOrdered()
+        {
+        return false;
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public boolean isPartial()
+        {
+        return false;
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public Comparator getComparator()
+        {
+        return null;
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public Map getIndexContents()
+        {
+        return NullImplementation.getMap();
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public Object get(Object oKey)
+        {
+        return NO_VALUE;
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public void insert(Map.Entry entry)
+        {
+        if (evaluate(entry, false))
+            {
+            Object oGroup = extract(f_extractor.getGroupExtractor(), entry, false);
+            Number nValue = (Number) extract(f_extractor.getValueExtractor(), entry, false);
+
+            synchronized (this)
+                {
+                ensureSummary(oGroup).add(nValue);
+                }
+            }
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public void update(Map.Entry entry)
+        {
+        Object oGroupOld = NO_VALUE;
+        Number nValueOld = null;
+        if (evaluate(entry, true))
+            {
+            oGroupOld = extract(f_extractor.getGroupExtractor(), entry, true);
+            nValueOld = (Number) extract(f_extractor.getValueExtractor(), entry, true);
+            }
+
+        Object oGroupNew = NO_VALUE;
+        Number nValueNew = null;
+        if (evaluate(entry, false))
+            {
+            oGroupNew = extract(f_extractor.getGroupExtractor(), entry, false);
+            nValueNew = (Number) extract(f_extractor.getValueExtractor(), entry, false);
+            }
+
+        synchronized (this)
+            {
+            if (oGroupOld != NO_VALUE)
+                {
+                removeContribution(oGroupOld, nValueOld);
+                }
+            if (oGroupNew != NO_VALUE)
+                {
+                ensureSummary(oGroupNew).add(nValueNew);
+                }
+            }
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public void delete(Map.Entry entry)
+        {
+        if (evaluate(entry, true))
+            {
+            Object oGroup = extract(f_extractor.getGroupExtractor(), entry, true);
+            Number nValue = (Number) extract(f_extractor.getValueExtractor(), entry, true);
+
+            synchronized (this)
+                {
+                removeContribution(oGroup, nValue);
+                }
+            }
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public long getUnits()
+        {
+        // the approximate size of a HashMap entry, a group key and a summary
+        return 128L * f_mapSummary.size();
+        }
+
+
+    // ----- accessors ------------------------------------------------------
+
+    /**
+    * Return a snapshot of the summaries of the groups of entries, keyed by
+    * the group keys.
+    *
+    * @return a snapshot of the summaries of the groups of entries
+    */
+    public synchronized Map<Object, ContinuousAggregator.Summary> getSummaries()
+        {
+        Map<Object, ContinuousAggregator.Summary> mapSummary = new HashMap<>();
+        for (Map.Entry<Object, ContinuousAggregator.Summary> entry : f_mapSummary.entrySet())
+            {
+            mapSummary.put(entry.getKey(), new ContinuousAggregator.Summary(entry.getValue()));
+            }
+        return mapSummary;
+        }
+
+
+    // ----- helpers --------------------------------------------------------
+
+    /**
+    * Determine whether the specified entry, or its original value, is selected
+    * by the aggregate's filter.
+    *
+    * @param entry      the entry to evaluate
+    * @param fOriginal  true to evaluate the original value of the entry
+    *
+    * @return true iff the entry is aggregated
+    */
+    protected boolean evaluate(Map.Entry entry, boolean fOriginal)
+        {
+        Filter filter = f_extractor.getFilter();
+        if (fOriginal)
+            {
+            MapTrigger.Entry entryOrig = ensureTriggerEntry(entry);
+            return entryOrig.isOriginalPresent() &&
+                   (filter == null || InvocableMapHelper.evaluateOriginalEntry(filter, entryOrig));
+            }
+        return filter == null || InvocableMapHelper.evaluateEntry(filter, entry);
+        }
+
+    /**
+    * Extract a value from the specified entry, or from its original value.
+    *
+    * @param extractor  the extractor to use, or <tt>null</tt>
+    * @param entry      the entry to extract from
+    * @param fOriginal  true to extract from the original value of the entry
+    *
+    * @return the extracted value, or <tt>null</tt> if the extractor is
+    *         <tt>null</tt>
+    */
+    protected Object extract(ValueExtractor extractor, Map.Entry entry, boolean fOriginal)
+        {
+        return extractor == null ? null
+             : fOriginal         ? InvocableMapHelper.extractOriginalFromEntry(extractor, ensureTriggerEntry(entry))
+                                 : InvocableMapHelper.extractFromEntry(extractor, entry);
+        }
+
+    /**
+    * Return the specified entry as a {@link MapTrigger.Entry}, which provides
+    * the original value of the entry.
+    *
+    * @param entry  the entry
+    *
+    * @return the entry as a MapTrigger.Entry
+    *
+    * @throws IllegalStateException if the original value is not available
+    */
+    protected MapTrigger.Entry ensureTriggerEntry(Map.Entry entry)
+        {
+        if (entry instanceof MapTrigger.Entry)
+            {
+            return (MapTrigger.Entry) entry;
+            }
+        throw new IllegalStateException("Cannot extract the old value");
+        }
+
+    /**
+    * Return the summary of the specified group, creating it if necessary.
+    * <p>
+    * Must be called while holding this index's monitor.
+    *
+    * @param oGroup  the group key
+    *
+    * @return the summary of the group
+    */
+    protected ContinuousAggregator.Summary ensureSummary(Object oGroup)
+        {
+        Map<Object, ContinuousAggregator.Summary> mapSummary = f_mapSummary;
+
+        ContinuousAggregator.Summary summary = mapSummary.get(oGroup);
+        if (summary == null)
+            {
+            mapSummary.put(oGroup, summary = new ContinuousAggregator.Summary());
+            }
+        return summary;
+        }
+
+    /**
+    * Remove the contribution of an entry from the summary of the specified
+    * group, discarding the summary once it no longer has any entries.
+    * <p>
+    * Must be called while holding this index's monitor.
+    *
+    * @param oGroup  the group key
+    * @param nValue  the value of the entry
+    */
+    protected void removeContribution(Object oGroup, Number nValue)
+        {
+        ContinuousAggregator.Summary summary = f_mapSummary.get(oGroup);
+        if (summary != null)
+            {
+            summary.remove(nValue);
+            if (summary.getCount() == 0L)
+                {
+                // this also discards any rounding error accumulated by the sum
+                f_mapSummary.remove(oGroup);
+                }
+            }
+        }
+
+
+    // ----- Object interface -----------------------------------------------
+
+    /**
+    * Returns a string representation of this ContinuousAggregateIndex.
+    *
+    * @return a String representation of this ContinuousAggregateIndex
+    */
+    public String toString()
+        {
+        return ClassHelper.getSimpleName(getClass())
+                + ": Extractor=" + getValueExtractor()
+                + ", Groups=" + f_mapSummary.size();
+        }
+
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+    * The ContinuousAggregateExtractor that defines the aggregate.
+    */
+    protected final ContinuousAggregateExtractor f_extractor;
+
+    /**
+    * The {@link BackingMapContext context} associated with this index.
+    */
+    protected final BackingMapContext f_ctx;
+
+    /**
+    * The summaries of the groups of entries, keyed by the group keys.
+    */
+    protected final Map<Object, ContinuousAggregator.Summary> f_mapSummary = new HashMap<>();
+    }
@@ -10,6 +10,7 @@ import com.tangosol.util.filter.AllFilter;
 import com.tangosol.util.filter.AlwaysFilter;
 import com.tangosol.util.filter.AnyFilter;
 import com.tangosol.util.filter.BetweenFilter;
+import com.tangosol.util.filter.CompiledFilter;
 import com.tangosol.util.filter.ContainsAllFilter;
 import com.tangosol.util.filter.ContainsAnyFilter;
 import com.tangosol.util.filter.ContainsFilter;
@@ -708,4 +709,22 @@ public class Filters
         {
         return new ScriptFilter<>(sLanguage, sScriptPath, aoArgs);
         }
+
+    /**
+     * Return a filter that evaluates the specified filter using the code
+     * generated for the class of the entry values.
+     *
+     * @param filter  the filter to compile
+     * @param <T>     the type of the input argument to the filter
+     *
+     * @return a CompiledFilter
+     *
+     * @see CompiledFilter
+     *
+     * @since 25.09
+     */
+    public static <T> CompiledFilter<T> compiled(Filter<T> filter)
+        {
+        return new CompiledFilter<>(filter);
+        }
     }
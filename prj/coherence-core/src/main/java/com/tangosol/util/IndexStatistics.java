@@ -0,0 +1,584 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.tangosol.util;
+
+import com.tangosol.util.comparator.SafeComparator;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+
+/**
+* IndexStatistics describes the distribution of the values held by a
+* {@link SimpleMapIndex}, and is used to estimate the selectivity of the
+* filters that use the index.
+* <p>
+* The number of keys for a single value is always exact, as it is simply the
+* size of the corresponding set of keys in the inverse index. The selectivity
+* of a range of values is estimated using an equi-depth histogram of the
+* inverse index, which is built lazily and rebuilt once the number of changes
+* made to the index since it was built exceeds a fraction of the number of
+* the indexed keys, so the cost of maintaining the histogram is amortized
+* across the index updates.
+* <p>
+* The statistics also hold a small cache of the query plans that were
+* computed using them, see {@link #getPlan(Object)}.
+*
+* @see SimpleMapIndex#getStatistics()
+*
+* @since 25.09
+*/
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class IndexStatistics
+        extends Base
+    {
+    // ----- constructors ---------------------------------------------------
+
+    /**
+    * Construct IndexStatistics for the specified index.
+    *
+    * @param index  the index to describe
+    */
+    public IndexStatistics(SimpleMapIndex index)
+        {
+        azzert(index != null);
+
+        m_index = index;
+        }
+
+
+    // ----- accessors ------------------------------------------------------
+
+    /**
+    * Return the index described by these statistics.
+    *
+    * @return the index described by these statistics
+    */
+    public SimpleMapIndex getIndex()
+        {
+        return m_index;
+        }
+
+    /**
+    * Return the number of changes made to the index since it was created.
+    *
+    * @return the number of changes made to the index
+    */
+    public long getModificationCount()
+        {
+        return m_index.m_cModifications;
+        }
+
+    /**
+    * Return the number of distinct values in the index.
+    *
+    * @return the number of distinct values in the index
+    */
+    public int getDistinctValueCount()
+        {
+        return m_index.getIndexContents().size();
+        }
+
+    /**
+    * Return the number of keys in the index.
+    *
+    * @return the number of keys in the index
+    */
+    public long getKeyCount()
+        {
+        Map mapForward = m_index.m_mapForward;
+        return mapForward == null
+               ? ensureHistogram().m_cKeys
+               : mapForward.size();
+        }
+
+
+    // ----- estimates ------------------------------------------------------
+
+    /**
+    * Estimate the fraction of the indexed keys that are associated with the
+    * specified value.
+    *
+    * @param oValue  the value
+    *
+    * @return the fraction of the keys associated with the value, between 0
+    *         and 1
+    */
+    public double estimateEquals(Object oValue)
+        {
+        return fraction(count(oValue), getKeyCount());
+        }
+
+    /**
+    * Estimate the fraction of the indexed keys that are associated with
+    * values within the specified range.
+    *
+    * @param oLow            the lower bound of the range, or {@code null} if
+    *                        the range has no lower bound
+    * @param fLowInclusive   true iff the lower bound is inclusive
+    * @param oHigh           the upper bound of the range, or {@code null} if
+    *                        the range has no upper bound
+    * @param fHighInclusive  true iff the upper bound is inclusive
+    *
+    * @return the fraction of the keys within the range, between 0 and 1, or
+    *         -1 if the indexed values cannot be ordered
+    */
+    public double estimateRange(Object oLow, boolean fLowInclusive, Object oHigh, boolean fHighInclusive)
+        {
+        Histogram histogram = ensureHistogram();
+        if (!histogram.isOrdered())
+            {
+            return -1;
+            }
+
+        try
+            {
+            double dHigh = oHigh == null ? histogram.m_cValues : histogram.countBelow(oHigh, fHighInclusive);
+            double dLow  = oLow  == null ? 0                   : histogram.countBelow(oLow, !fLowInclusive);
+
+            return fraction(dHigh - dLow, histogram.m_cKeys);
+            }
+        catch (ClassCastException e)
+            {
+            // the bounds are not comparable with the indexed values
+            return -1;
+            }
+        }
+
+
+    // ----- plan cache -----------------------------------------------------
+
+    /**
+    * Return the plan cached under the specified key.
+    *
+    * @param oKey  the key of the plan, typically a filter
+    *
+    * @return the cached plan, or null if there is none
+    */
+    public Object getPlan(Object oKey)
+        {
+        Map mapPlan = f_mapPlan;
+        synchronized (mapPlan)
+            {
+            return mapPlan.get(oKey);
+            }
+        }
+
+    /**
+    * Cache the specified plan under the specified key, evicting the least
+    * recently used plan if the cache is full.
+    *
+    * @param oKey   the key of the plan, typically a filter
+    * @param oPlan  the plan to cache
+    */
+    public void putPlan(Object oKey, Object oPlan)
+        {
+        Map mapPlan = f_mapPlan;
+        synchronized (mapPlan)
+            {
+            mapPlan.put(oKey, oPlan);
+            }
+        }
+
+    /**
+    * Determine whether the index has changed enough since the specified
+    * modification count was observed for the estimates made at that time to
+    * be considered stale.
+    *
+    * @param cModifications  the previously observed modification count
+    *
+    * @return true iff the estimates made at that time are stale
+    */
+    public boolean isStale(long cModifications)
+        {
+        Histogram histogram = m_histogram;
+        long      cKeys     = histogram == null ? 0 : histogram.m_cKeys;
+
+        return getModificationCount() - cModifications > Math.max(MIN_CHURN, cKeys / CHURN_RATIO);
+        }
+
+
+    // ----- helpers --------------------------------------------------------
+
+    /**
+    * Return the number of keys associated with the specified value.
+    *
+    * @param oValue  the value
+    *
+    * @return the number of keys associated with the value
+    */
+    protected int count(Object oValue)
+        {
+        try
+            {
+            Set setKeys = (Set) m_index.getIndexContents().get(oValue);
+            return setKeys == null ? 0 : setKeys.size();
+            }
+        catch (ClassCastException e)
+            {
+            // the value is not comparable with the indexed values
+            return 0;
+            }
+        }
+
+    /**
+    * Return the current histogram, rebuilding it if it is stale.
+    *
+    * @return the current histogram
+    */
+    protected Histogram ensureHistogram()
+        {
+        Histogram histogram = m_histogram;
+        if (histogram == null || isStale(histogram.m_cModifications))
+            {
+            synchronized (this)
+                {
+                histogram = m_histogram;
+                if (histogram == null || isStale(histogram.m_cModifications))
+                    {
+                    m_histogram = histogram = new Histogram();
+                    }
+                }
+            }
+        return histogram;
+        }
+
+    /**
+    * Return the specified count as a fraction of the specified total.
+    *
+    * @param dCount  the count
+    * @param dTotal  the total
+    *
+    * @return the fraction, between 0 and 1
+    */
+    protected static double fraction(double dCount, double dTotal)
+        {
+        return dTotal <= 0 ? 0 : Math.max(0, Math.min(1, dCount / dTotal));
+        }
+
+
+    // ----- Object interface -----------------------------------------------
+
+    /**
+    * Return a human-readable description for this IndexStatistics.
+    *
+    * @return a String description of the IndexStatistics
+    */
+    public String toString()
+        {
+        Histogram histogram = m_histogram;
+        return "IndexStatistics(Keys=" + getKeyCount()
+            + ", DistinctValues=" + getDistinctValueCount()
+            + ", Buckets=" + (histogram == null || histogram.m_aoBound == null ? 0 : histogram.m_aoBound.length)
+            + ")";
+        }
+
+
+    // ----- inner class: Histogram -----------------------------------------
+
+    /**
+    * An immutable equi-depth histogram of the index contents.
+    * <p>
+    * Each bucket holds approximately the same number of keys and is described
+    * by the greatest value it contains and by the cumulative number of keys up
+    * to and including the bucket. A value that is associated with more keys
+    * than a bucket would normally hold gets a bucket of its own.
+    */
+    protected class Histogram
+        {
+        /**
+        * Build the histogram from the current index contents.
+        */
+        protected Histogram()
+            {
+            SimpleMapIndex index       = m_index;
+            Map            mapContents = index.getIndexContents();
+
+            // observe the modification count first, so that the changes made
+            // while the histogram is being built make it stale sooner
+            m_cModifications = index.m_cModifications;
+
+            Object[] aoEntry = mapContents.entrySet().toArray();
+            long     cKeys   = 0;
+            long     cValues = 0;
+            int      cNull   = 0;
+
+            for (int i = 0, c = aoEntry.length; i < c; i++)
+                {
+                Map.Entry entry = (Map.Entry) aoEntry[i];
+                int       cSize = ((Set) entry.getValue()).size();
+
+                cKeys += cSize;
+                if (entry.getKey() == null)
+                    {
+                    // the null value is never within a range
+                    aoEntry[i] = null;
+                    cNull++;
+                    }
+                else
+                    {
+                    cValues += cSize;
+                    }
+                }
+
+            m_cKeys   = index.m_mapForward == null ? cKeys : Math.max(cKeys, index.m_mapForward.size());
+            m_cValues = cValues;
+
+            Comparator comparator = mapContents instanceof SortedMap
+                    ? ((SortedMap) mapContents).comparator()
+                    : null;
+            if (comparator == null)
+                {
+                Comparator comparatorIndex = index.getComparator();
+                comparator = comparatorIndex == null
+                        ? SafeComparator.INSTANCE
+                        : new SafeComparator(comparatorIndex);
+                }
+            m_comparator = comparator;
+
+            aoEntry = removeNulls(aoEntry, cNull);
+
+            if (!(mapContents instanceof SortedMap))
+                {
+                Comparator comparatorEntry = comparator;
+                try
+                    {
+                    Arrays.sort(aoEntry, (o1, o2) ->
+                        comparatorEntry.compare(((Map.Entry) o1).getKey(), ((Map.Entry) o2).getKey()));
+                    }
+                catch (RuntimeException e)
+                    {
+                    // the values are not mutually comparable
+                    m_oMin    = null;
+                    m_aoBound = null;
+                    m_acCum   = null;
+                    return;
+                    }
+                }
+
+            int      cBuckets = Math.max(1, Math.min(BUCKETS, aoEntry.length));
+            Object[] aoBound  = new Object[cBuckets];
+            long[]   acCum    = new long[cBuckets];
+            long     cCum     = 0;
+            int      iBucket  = 0;
+
+            for (int i = 0, c = aoEntry.length; i < c; i++)
+                {
+                Map.Entry entry = (Map.Entry) aoEntry[i];
+
+                cCum += ((Set) entry.getValue()).size();
+
+                // close the bucket once it holds its share of the keys; the
+                // last bucket always ends with the greatest value
+                if (i == c - 1 ||
+                    iBucket < cBuckets - 1 && cCum * cBuckets >= (iBucket + 1) * cValues)
+                    {
+                    aoBound[iBucket] = entry.getKey();
+                    acCum[iBucket]   = cCum;
+                    iBucket++;
+                    }
+                }
+
+            m_oMin    = aoEntry.length == 0 ? null : ((Map.Entry) aoEntry[0]).getKey();
+            m_aoBound = iBucket == cBuckets ? aoBound : Arrays.copyOf(aoBound, iBucket);
+            m_acCum   = iBucket == cBuckets ? acCum   : Arrays.copyOf(acCum, iBucket);
+
+            // the concurrent changes could make the sum of the bucket sizes
+            // differ from the previously calculated total
+            m_cValues = iBucket == 0 ? 0 : acCum[iBucket - 1];
+            }
+
+        /**
+        * Determine whether the histogram has been built, which requires the
+        * indexed values to be mutually comparable.
+        *
+        * @return true iff the histogram has been built
+        */
+        protected boolean isOrdered()
+            {
+            return m_aoBound != null;
+            }
+
+        /**
+        * Estimate the number of keys associated with the values that are less
+        * than (or equal to) the specified value.
+        *
+        * @param oValue      the value
+        * @param fInclusive  true iff the keys associated with the value itself
+        *                    should be counted
+        *
+        * @return the estimated number of keys
+        */
+        protected double countBelow(Object oValue, boolean fInclusive)
+            {
+            Object[]   aoBound    = m_aoBound;
+            long[]     acCum      = m_acCum;
+            Comparator comparator = m_comparator;
+            int        cBuckets   = aoBound.length;
+
+            if (cBuckets == 0 || comparator.compare(oValue, m_oMin) < 0)
+                {
+                return 0;
+                }
+
+            // find the first bucket whose bound is not less than the value
+            int iLow  = 0;
+            int iHigh = cBuckets - 1;
+            while (iLow <= iHigh)
+                {
+                int iMid = (iLow + iHigh) >>> 1;
+                if (comparator.compare(aoBound[iMid], oValue) < 0)
+                    {
+                    iLow = iMid + 1;
+                    }
+                else
+                    {
+                    iHigh = iMid - 1;
+                    }
+                }
+
+            if (iLow == cBuckets)
+                {
+                return m_cValues;
+                }
+
+            long   cBefore = iLow == 0 ? 0 : acCum[iLow - 1];
+            double dCount;
+            if (comparator.compare(aoBound[iLow], oValue) == 0)
+                {
+                // the value is the greatest one in the bucket
+                dCount = acCum[iLow];
+                }
+            else
+                {
+                // assume the value is in the middle of the bucket
+                dCount = cBefore + (acCum[iLow] - cBefore) / 2.0;
+                }
+
+            // the exact number of keys for the value itself is known
+            return fInclusive ? dCount : Math.max(cBefore, dCount - count(oValue));
+            }
+
+        /**
+        * Return the specified array of entries without the null elements.
+        *
+        * @param aoEntry  the array of entries
+        * @param cNull    the number of null elements
+        *
+        * @return the array of entries without the null elements
+        */
+        private Object[] removeNulls(Object[] aoEntry, int cNull)
+            {
+            if (cNull == 0)
+                {
+                return aoEntry;
+                }
+
+            Object[] aoResult = new Object[aoEntry.length - cNull];
+            int      iResult  = 0;
+            for (Object oEntry : aoEntry)
+                {
+                if (oEntry != null)
+                    {
+                    aoResult[iResult++] = oEntry;
+                    }
+                }
+            return aoResult;
+            }
+
+
+        // ----- data members -----------------------------------------------
+
+        /**
+        * The index modification count at the time the histogram was built.
+        */
+        protected final long m_cModifications;
+
+        /**
+        * The total number of indexed keys.
+        */
+        protected final long m_cKeys;
+
+        /**
+        * The number of keys associated with non-null values.
+        */
+        protected long m_cValues;
+
+        /**
+        * The comparator that orders the indexed values.
+        */
+        protected final Comparator m_comparator;
+
+        /**
+        * The least indexed value.
+        */
+        protected Object m_oMin;
+
+        /**
+        * The greatest value of each bucket, or null if the indexed values are
+        * not mutually comparable.
+        */
+        protected Object[] m_aoBound;
+
+        /**
+        * The cumulative number of keys up to and including each bucket.
+        */
+        protected long[] m_acCum;
+        }
+
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+    * The maximum number of histogram buckets.
+    */
+    public static final int BUCKETS = 32;
+
+    /**
+    * The statistics are considered stale once the number of changes exceeds
+    * the number of keys divided by this ratio.
+    */
+    protected static final int CHURN_RATIO = 10;
+
+    /**
+    * The minimum number of changes for the statistics to become stale.
+    */
+    protected static final int MIN_CHURN = 64;
+
+    /**
+    * The maximum number of cached plans.
+    */
+    protected static final int MAX_PLANS = 64;
+
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+    * The index described by these statistics.
+    */
+    protected final SimpleMapIndex m_index;
+
+    /**
+    * The current histogram.
+    */
+    protected volatile Histogram m_histogram;
+
+    /**
+    * The cached plans, in the least recently used order.
+    */
+    private final Map<Object, Object> f_mapPlan = new LinkedHashMap<>(16, 0.75f, true)
+        {
+        protected boolean removeEldestEntry(Map.Entry<Object, Object> eldest)
+            {
+            return size() > MAX_PLANS;
+            }
+        };
+    }
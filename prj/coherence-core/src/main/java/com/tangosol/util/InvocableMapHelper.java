@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2000, 2023, Oracle and/or its affiliates.
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
  *
  * Licensed under the Universal Permissive License v 1.0 as shown at
  * https://oss.oracle.com/licenses/upl.
@@ -22,6 +22,8 @@ import com.tangosol.net.NamedCache;
 import com.tangosol.net.cache.LocalCache;
 
 import com.tangosol.util.comparator.EntryComparator;
+import com.tangosol.util.comparator.ExtractorComparator;
+import com.tangosol.util.comparator.InverseComparator;
 import com.tangosol.util.comparator.SafeComparator;
 
 import com.tangosol.util.extractor.AbstractExtractor;
@@ -48,6 +50,7 @@ import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Set;
 
 import java.util.concurrent.CompletableFuture;
@@ -725,6 +728,40 @@ public abstract class InvocableMapHelper
             aoResult = map.keySet().toArray();
             }
 
+        LimitFilter filterLimit = filterOrig instanceof LimitFilter ?
+                (LimitFilter) filterOrig : null;
+
+        // if the sort order is held by an ordered index, walk the index
+        // instead of sorting the entries, and stop after the requested page
+        boolean fOrdered = false;
+        int     cLimit   = Integer.MAX_VALUE;
+        if (fEntries && fSort && mapIndexes != null)
+            {
+            if (filterLimit != null)
+                {
+                // see LimitFilter#extractPage
+                Object oAnchorTop = filterLimit.getTopAnchor();
+                int    cPageSize  = filterLimit.getPageSize();
+
+                cLimit = (int) Math.min(Integer.MAX_VALUE, (long) cPageSize +
+                        (oAnchorTop instanceof Integer
+                         ? ((Integer) oAnchorTop).intValue()
+                         : (long) filterLimit.getPage() * cPageSize));
+                }
+
+            Object[] aoSorted = sortByIndex(mapIndexes, comparator, aoResult,
+                    aoResult.length, filter == null ? cLimit : Integer.MAX_VALUE);
+            if (aoSorted == null)
+                {
+                cLimit = Integer.MAX_VALUE;
+                }
+            else
+                {
+                aoResult = aoSorted;
+                fOrdered = true;
+                }
+            }
+
         int cResults = 0;
         if (filter == null && !fEntries)
             {
@@ -733,7 +770,7 @@ public abstract class InvocableMapHelper
         else
             {
             // we still have a filter to evaluate or we need an entry set
-            for (int i = 0, c = aoResult.length; i < c; i++)
+            for (int i = 0, c = aoResult.length; i < c && cResults < cLimit; i++)
                 {
                 Object oKey   = aoResult[i];
                 Object oValue = map.get(oKey);
@@ -749,9 +786,6 @@ public abstract class InvocableMapHelper
                 }
             }
 
-        LimitFilter filterLimit = filterOrig instanceof LimitFilter ?
-                (LimitFilter) filterOrig : null;
-
         if (filterLimit != null || (fEntries && fSort))
             {
             if (cResults < aoResult.length)
@@ -761,7 +795,7 @@ public abstract class InvocableMapHelper
                 aoResult = ao;
                 }
 
-            if (fEntries && fSort)
+            if (fEntries && fSort && !fOrdered)
                 {
                 if (comparator == null)
                     {
@@ -786,6 +820,134 @@ public abstract class InvocableMapHelper
         return new ImmutableArrayList(aoResult, 0, cResults).getSet();
         }
 
+    /**
+    * Sort the specified keys in the order imposed by the specified comparator
+    * by walking an ordered index on the comparator's extractor, rather than
+    * by extracting and comparing the values of the corresponding entries.
+    * <p>
+    * The walk stops as soon as at least <tt>cLimit</tt> keys have been
+    * collected, so that a query that only needs the first page of a large
+    * result visits only that part of the index. All the keys that share the
+    * index value of the last collected key are collected as well, so the
+    * returned keys are the same as the first keys of the fully sorted array,
+    * regardless of how the ties are ordered.
+    * <p>
+    * The order can only be obtained from the index if the comparator is an
+    * {@link ExtractorComparator}, or a value extractor, optionally wrapped
+    * into {@link SafeComparator}, {@link InverseComparator} or a value-based
+    * {@link EntryComparator}, and the extractor has an ordered and complete
+    * index that uses the natural ordering.
+    *
+    * @param mapIndexes  the map of available {@link MapIndex} objects keyed by
+    *                    the related ValueExtractor; read-only
+    * @param comparator  the Comparator that imposes the order on the entries
+    * @param aoKey       the array of keys to sort
+    * @param cKeys       the number of keys in the array
+    * @param cLimit      the number of keys after which the walk may stop
+    *
+    * @return a new array of sorted keys, which contains at least
+    *         <tt>min(cKeys, cLimit)</tt> keys, or null if the order
+    *         can't be obtained from an index
+    *
+    * @since 25.09
+    */
+    public static Object[] sortByIndex(Map mapIndexes, Comparator comparator,
+                                       Object[] aoKey, int cKeys, int cLimit)
+        {
+        if (mapIndexes == null || mapIndexes.isEmpty() || cKeys < 2)
+            {
+            return null;
+            }
+
+        // unwrap the comparator down to the extractor it compares the values of
+        ValueExtractor extractor   = null;
+        boolean        fDescending = false;
+        while (extractor == null)
+            {
+            if (comparator instanceof ExtractorComparator)
+                {
+                extractor = ((ExtractorComparator) comparator).getExtractor();
+                }
+            else if (comparator instanceof AbstractExtractor)
+                {
+                if (((AbstractExtractor) comparator).getTarget() != AbstractExtractor.VALUE)
+                    {
+                    return null;
+                    }
+                extractor = (ValueExtractor) comparator;
+                }
+            else if (comparator instanceof SafeComparator
+                     && ((SafeComparator) comparator).isNullFirst()
+                     && (comparator.getClass() == SafeComparator.class
+                         || comparator instanceof InverseComparator
+                         || comparator instanceof EntryComparator
+                            && !((EntryComparator) comparator).isCompareKey()))
+                {
+                fDescending ^= comparator instanceof InverseComparator;
+                comparator   = ((SafeComparator) comparator).getComparator();
+                }
+            else
+                {
+                return null;
+                }
+            }
+
+        MapIndex index = (MapIndex) mapIndexes.get(extractor);
+        if (index == null || !index.isOrdered() || index.isPartial()
+                || index.getComparator() != null
+                || !(index.getIndexContents() instanceof NavigableMap))
+            {
+            return null;
+            }
+
+        NavigableMap<Object, Set> mapContents = (NavigableMap) index.getIndexContents();
+
+        // walking the index visits about cLimit/cKeys of its values, while
+        // sorting the entries takes about cKeys*log2(cKeys) comparisons
+        int cTake = Math.min(cKeys, cLimit);
+        if ((double) cTake * mapContents.size() / cKeys >
+                (double) cKeys * (32 - Integer.numberOfLeadingZeros(cKeys)))
+            {
+            return null;
+            }
+
+        Set      setKeys  = new HashSet(Arrays.asList(aoKey).subList(0, cKeys));
+        Object[] aoResult = new Object[cKeys];
+        int      cResults = 0;
+        try
+            {
+            if (fDescending)
+                {
+                mapContents = mapContents.descendingMap();
+                }
+
+            for (Iterator<Set> iter = mapContents.values().iterator();
+                    iter.hasNext() && cResults < cTake; )
+                {
+                for (Object oKey : iter.next())
+                    {
+                    if (setKeys.remove(oKey))
+                        {
+                        aoResult[cResults++] = oKey;
+                        }
+                    }
+                }
+            }
+        catch (ConcurrentModificationException | UnsupportedOperationException e)
+            {
+            // the index has changed or can't be walked backwards; sort instead
+            return null;
+            }
+
+        if (cResults < cTake)
+            {
+            // some of the keys are not in the index (it has changed)
+            return null;
+            }
+
+        return cResults == cKeys ? aoResult : Arrays.copyOf(aoResult, cResults);
+        }
+
     /**
     * Add an index to the given map of indexes, keyed by the given extractor.
     * Also add the index as a listener to the given ObservableMap.
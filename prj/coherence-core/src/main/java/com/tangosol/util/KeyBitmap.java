@@ -0,0 +1,598 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.tangosol.util;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+* KeyBitmap is a compressed set of non-negative {@code int} values, typically
+* the {@link KeyOrdinals ordinals} of cache keys.
+* <p>
+* The bitmap only stores the 64-bit words that have any bits set, along with
+* their positions, sorted by position, so the memory it uses is proportional
+* to the number of non-empty words rather than to the greatest value. The
+* {@link #and and}, {@link #or or} and {@link #andNot andNot} operations merge
+* the words of two bitmaps and produce a new bitmap, without ever looking at
+* the individual values.
+* <p>
+* A bitmap may be read concurrently with a modification, but the
+* modifications must be externally synchronized. A concurrent reader observes
+* either the value of each word before or after the modification.
+*
+* @since 25.09
+*/
+public class KeyBitmap
+        extends Base
+    {
+    // ----- constructors ---------------------------------------------------
+
+    /**
+    * Construct an empty KeyBitmap.
+    */
+    public KeyBitmap()
+        {
+        this(new int[0], new long[0], 0, 0);
+        }
+
+    /**
+    * Construct a KeyBitmap from the specified words.
+    *
+    * @param aiWord  the positions of the words, in the ascending order
+    * @param alWord  the words
+    * @param cWords  the number of words
+    * @param cBits   the number of bits set in the words
+    */
+    protected KeyBitmap(int[] aiWord, long[] alWord, int cWords, int cBits)
+        {
+        m_words = new Words(aiWord, alWord, cWords);
+        m_cBits = cBits;
+        }
+
+
+    // ----- accessors ------------------------------------------------------
+
+    /**
+    * Return the number of values in this bitmap.
+    *
+    * @return the number of values in this bitmap
+    */
+    public int cardinality()
+        {
+        return m_cBits;
+        }
+
+    /**
+    * Determine whether this bitmap is empty.
+    *
+    * @return true iff this bitmap contains no values
+    */
+    public boolean isEmpty()
+        {
+        return m_cBits == 0;
+        }
+
+    /**
+    * Determine whether this bitmap contains the specified value.
+    *
+    * @param n  the value
+    *
+    * @return true iff this bitmap contains the value
+    */
+    public boolean contains(int n)
+        {
+        Words words = m_words;
+        int   iPos  = Arrays.binarySearch(words.f_aiWord, 0, words.f_cWords, n >>> 6);
+
+        return iPos >= 0 && (words.f_alWord[iPos] & (1L << n)) != 0L;
+        }
+
+
+    // ----- modifications --------------------------------------------------
+
+    /**
+    * Add the specified value to this bitmap.
+    *
+    * @param n  the value to add
+    *
+    * @return true iff the value was not already in this bitmap
+    */
+    public boolean add(int n)
+        {
+        azzert(n >= 0);
+
+        Words words = m_words;
+        int   iWord = n >>> 6;
+        long  lBit  = 1L << n;
+        int   iPos  = Arrays.binarySearch(words.f_aiWord, 0, words.f_cWords, iWord);
+
+        if (iPos >= 0)
+            {
+            long l = words.f_alWord[iPos];
+            if ((l & lBit) != 0L)
+                {
+                return false;
+                }
+            if (l == 0L)
+                {
+                m_cEmptyWords--;
+                }
+            words.f_alWord[iPos] = l | lBit;
+            }
+        else
+            {
+            iPos = -iPos - 1;
+
+            int    cWords = words.f_cWords;
+            int[]  aiWord = words.f_aiWord;
+            long[] alWord = words.f_alWord;
+
+            if (iPos == cWords && cWords < aiWord.length)
+                {
+                // append the word into the spare capacity, which is not
+                // visible to the concurrent readers until it is published
+                aiWord[cWords] = iWord;
+                alWord[cWords] = lBit;
+                }
+            else
+                {
+                // copy the words, so that the concurrent readers are not
+                // affected by the shift
+                int cCapacity = Math.max(4, cWords + (cWords >> 1) + 1);
+
+                aiWord = new int[cCapacity];
+                alWord = new long[cCapacity];
+
+                System.arraycopy(words.f_aiWord, 0,    aiWord, 0,        iPos);
+                System.arraycopy(words.f_alWord, 0,    alWord, 0,        iPos);
+                System.arraycopy(words.f_aiWord, iPos, aiWord, iPos + 1, cWords - iPos);
+                System.arraycopy(words.f_alWord, iPos, alWord, iPos + 1, cWords - iPos);
+
+                aiWord[iPos] = iWord;
+                alWord[iPos] = lBit;
+                }
+
+            m_words = new Words(aiWord, alWord, cWords + 1);
+            }
+
+        m_cBits++;
+        return true;
+        }
+
+    /**
+    * Remove the specified value from this bitmap.
+    *
+    * @param n  the value to remove
+    *
+    * @return true iff the value was in this bitmap
+    */
+    public boolean remove(int n)
+        {
+        Words words = m_words;
+        int   iPos  = n < 0 ? -1 : Arrays.binarySearch(words.f_aiWord, 0, words.f_cWords, n >>> 6);
+
+        if (iPos < 0)
+            {
+            return false;
+            }
+
+        long l    = words.f_alWord[iPos];
+        long lBit = 1L << n;
+        if ((l & lBit) == 0L)
+            {
+            return false;
+            }
+
+        l &= ~lBit;
+        words.f_alWord[iPos] = l;
+        m_cBits--;
+
+        // the empty words are removed lazily, once they make up for a half
+        // of the words
+        if (l == 0L && ++m_cEmptyWords > (words.f_cWords >> 1))
+            {
+            compact();
+            }
+        return true;
+        }
+
+
+    // ----- bitmap operations ----------------------------------------------
+
+    /**
+    * Return a new bitmap that contains the values contained by both this and
+    * the specified bitmap.
+    *
+    * @param that  the other bitmap
+    *
+    * @return the intersection of the bitmaps
+    */
+    public KeyBitmap and(KeyBitmap that)
+        {
+        Words  w1     = this.m_words;
+        Words  w2     = that.m_words;
+        int    c1     = w1.f_cWords;
+        int    c2     = w2.f_cWords;
+        int[]  aiWord = new int[Math.min(c1, c2)];
+        long[] alWord = new long[aiWord.length];
+        int    cWords = 0;
+        int    cBits  = 0;
+
+        for (int i1 = 0, i2 = 0; i1 < c1 && i2 < c2; )
+            {
+            int iWord1 = w1.f_aiWord[i1];
+            int iWord2 = w2.f_aiWord[i2];
+            if (iWord1 < iWord2)
+                {
+                i1++;
+                }
+            else if (iWord1 > iWord2)
+                {
+                i2++;
+                }
+            else
+                {
+                long l = w1.f_alWord[i1++] & w2.f_alWord[i2++];
+                if (l != 0L)
+                    {
+                    aiWord[cWords]   = iWord1;
+                    alWord[cWords++] = l;
+                    cBits           += Long.bitCount(l);
+                    }
+                }
+            }
+
+        return new KeyBitmap(aiWord, alWord, cWords, cBits);
+        }
+
+    /**
+    * Return a new bitmap that contains the values contained by this bitmap,
+    * but not by the specified bitmap.
+    *
+    * @param that  the other bitmap
+    *
+    * @return the difference of the bitmaps
+    */
+    public KeyBitmap andNot(KeyBitmap that)
+        {
+        Words  w1     = this.m_words;
+        Words  w2     = that.m_words;
+        int    c1     = w1.f_cWords;
+        int    c2     = w2.f_cWords;
+        int[]  aiWord = new int[c1];
+        long[] alWord = new long[c1];
+        int    cWords = 0;
+        int    cBits  = 0;
+
+        for (int i1 = 0, i2 = 0; i1 < c1; i1++)
+            {
+            int iWord = w1.f_aiWord[i1];
+            while (i2 < c2 && w2.f_aiWord[i2] < iWord)
+                {
+                i2++;
+                }
+
+            long l = w1.f_alWord[i1];
+            if (i2 < c2 && w2.f_aiWord[i2] == iWord)
+                {
+                l &= ~w2.f_alWord[i2];
+                }
+
+            if (l != 0L)
+                {
+                aiWord[cWords]   = iWord;
+                alWord[cWords++] = l;
+                cBits           += Long.bitCount(l);
+                }
+            }
+
+        return new KeyBitmap(aiWord, alWord, cWords, cBits);
+        }
+
+    /**
+    * Return a new bitmap that contains the values contained by either this
+    * or the specified bitmap.
+    *
+    * @param that  the other bitmap
+    *
+    * @return the union of the bitmaps
+    */
+    public KeyBitmap or(KeyBitmap that)
+        {
+        Words  w1     = this.m_words;
+        Words  w2     = that.m_words;
+        int    c1     = w1.f_cWords;
+        int    c2     = w2.f_cWords;
+        int[]  aiWord = new int[c1 + c2];
+        long[] alWord = new long[c1 + c2];
+        int    cWords = 0;
+        int    cBits  = 0;
+
+        for (int i1 = 0, i2 = 0; i1 < c1 || i2 < c2; )
+            {
+            int  iWord1 = i1 < c1 ? w1.f_aiWord[i1] : Integer.MAX_VALUE;
+            int  iWord2 = i2 < c2 ? w2.f_aiWord[i2] : Integer.MAX_VALUE;
+            int  iWord;
+            long l;
+
+            if (iWord1 < iWord2)
+                {
+                iWord = iWord1;
+                l     = w1.f_alWord[i1++];
+                }
+            else if (iWord1 > iWord2)
+                {
+                iWord = iWord2;
+                l     = w2.f_alWord[i2++];
+                }
+            else
+                {
+                iWord = iWord1;
+                l     = w1.f_alWord[i1++] | w2.f_alWord[i2++];
+                }
+
+            if (l != 0L)
+                {
+                aiWord[cWords]   = iWord;
+                alWord[cWords++] = l;
+                cBits           += Long.bitCount(l);
+                }
+            }
+
+        return new KeyBitmap(aiWord, alWord, cWords, cBits);
+        }
+
+    /**
+    * Return a new bitmap that contains the values contained by any of the
+    * specified bitmaps.
+    * <p>
+    * As the values are expected to be dense, the words are accumulated in an
+    * uncompressed array, which makes the cost of the union proportional to
+    * the total number of words, regardless of the number of bitmaps.
+    *
+    * @param colBitmap  the bitmaps
+    *
+    * @return the union of the bitmaps
+    */
+    public static KeyBitmap or(Collection<KeyBitmap> colBitmap)
+        {
+        switch (colBitmap.size())
+            {
+            case 0:
+                return new KeyBitmap();
+            case 1:
+                return colBitmap.iterator().next().or(new KeyBitmap());
+            }
+
+        Words[] aWords = new Words[colBitmap.size()];
+        int     iMax   = -1;
+        int     i      = 0;
+        for (KeyBitmap bitmap : colBitmap)
+            {
+            Words words = aWords[i++] = bitmap.m_words;
+            if (words.f_cWords > 0)
+                {
+                iMax = Math.max(iMax, words.f_aiWord[words.f_cWords - 1]);
+                }
+            }
+
+        long[] alDense = new long[iMax + 1];
+        for (Words words : aWords)
+            {
+            for (int j = 0, c = words.f_cWords; j < c; j++)
+                {
+                alDense[words.f_aiWord[j]] |= words.f_alWord[j];
+                }
+            }
+
+        int cWords = 0;
+        for (long l : alDense)
+            {
+            if (l != 0L)
+                {
+                cWords++;
+                }
+            }
+
+        int[]  aiWord = new int[cWords];
+        long[] alWord = new long[cWords];
+        int    cBits  = 0;
+        for (int iWord = 0, iPos = 0; iWord <= iMax; iWord++)
+            {
+            long l = alDense[iWord];
+            if (l != 0L)
+                {
+                aiWord[iPos]   = iWord;
+                alWord[iPos++] = l;
+                cBits         += Long.bitCount(l);
+                }
+            }
+
+        return new KeyBitmap(aiWord, alWord, cWords, cBits);
+        }
+
+    /**
+    * Return an iterator over the values in this bitmap, in the ascending
+    * order.
+    *
+    * @return an iterator over the values in this bitmap
+    */
+    public PrimitiveIterator.OfInt iterator()
+        {
+        Words words = m_words;
+        return new PrimitiveIterator.OfInt()
+            {
+            public boolean hasNext()
+                {
+                while (m_lWord == 0L && m_iPos < words.f_cWords)
+                    {
+                    m_iWord = words.f_aiWord[m_iPos];
+                    m_lWord = words.f_alWord[m_iPos++];
+                    }
+                return m_lWord != 0L;
+                }
+
+            public int nextInt()
+                {
+                if (!hasNext())
+                    {
+                    throw new NoSuchElementException();
+                    }
+
+                int nBit = Long.numberOfTrailingZeros(m_lWord);
+                m_lWord &= m_lWord - 1;
+                return (m_iWord << 6) + nBit;
+                }
+
+            private int  m_iPos;
+            private int  m_iWord;
+            private long m_lWord;
+            };
+        }
+
+
+    // ----- helpers --------------------------------------------------------
+
+    /**
+    * Remove the empty words.
+    */
+    protected void compact()
+        {
+        Words  words  = m_words;
+        int    cWords = words.f_cWords - m_cEmptyWords;
+        int[]  aiWord = new int[Math.max(4, cWords)];
+        long[] alWord = new long[aiWord.length];
+
+        for (int i = 0, iPos = 0, c = words.f_cWords; i < c; i++)
+            {
+            long l = words.f_alWord[i];
+            if (l != 0L)
+                {
+                aiWord[iPos]   = words.f_aiWord[i];
+                alWord[iPos++] = l;
+                }
+            }
+
+        m_words       = new Words(aiWord, alWord, cWords);
+        m_cEmptyWords = 0;
+        }
+
+
+    // ----- Object interface -----------------------------------------------
+
+    /**
+    * {@inheritDoc}
+    */
+    public boolean equals(Object o)
+        {
+        if (o instanceof KeyBitmap)
+            {
+            KeyBitmap that = (KeyBitmap) o;
+            return this.cardinality() == that.cardinality()
+                && this.andNot(that).isEmpty();
+            }
+        return false;
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public int hashCode()
+        {
+        Words words = m_words;
+        int   nHash = 0;
+        for (int i = 0, c = words.f_cWords; i < c; i++)
+            {
+            long l = words.f_alWord[i];
+            if (l != 0L)
+                {
+                nHash += words.f_aiWord[i] ^ Long.hashCode(l);
+                }
+            }
+        return nHash;
+        }
+
+    /**
+    * Return a human-readable description for this KeyBitmap.
+    *
+    * @return a String description of the KeyBitmap
+    */
+    public String toString()
+        {
+        StringBuilder           sb   = new StringBuilder("KeyBitmap{");
+        PrimitiveIterator.OfInt iter = iterator();
+        for (int i = 0; iter.hasNext() && i < 32; i++)
+            {
+            sb.append(i == 0 ? "" : ", ").append(iter.nextInt());
+            }
+        if (iter.hasNext())
+            {
+            sb.append(", ...");
+            }
+        return sb.append('}').toString();
+        }
+
+
+    // ----- inner class: Words ---------------------------------------------
+
+    /**
+    * The words of a bitmap. The positions and the number of the words never
+    * change once published, but the words themselves may.
+    */
+    protected static class Words
+        {
+        /**
+        * Construct the Words.
+        *
+        * @param aiWord  the positions of the words
+        * @param alWord  the words
+        * @param cWords  the number of words
+        */
+        protected Words(int[] aiWord, long[] alWord, int cWords)
+            {
+            f_aiWord = aiWord;
+            f_alWord = alWord;
+            f_cWords = cWords;
+            }
+
+        /**
+        * The positions of the words, in the ascending order.
+        */
+        protected final int[] f_aiWord;
+
+        /**
+        * The words.
+        */
+        protected final long[] f_alWord;
+
+        /**
+        * The number of words.
+        */
+        protected final int f_cWords;
+        }
+
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+    * The words of this bitmap.
+    */
+    protected volatile Words m_words;
+
+    /**
+    * The number of values in this bitmap.
+    */
+    protected volatile int m_cBits;
+
+    /**
+    * The number of empty words.
+    */
+    protected int m_cEmptyWords;
+    }
@@ -0,0 +1,318 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.tangosol.util;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+* KeyOrdinals assigns dense {@code int} ordinals to the keys of a partition,
+* so that the sets of keys can be represented as {@link KeyBitmap bitmaps}.
+* <p>
+* The ordinals are reference counted: each {@link #acquire} of a key must be
+* matched by a {@link #release}, and the ordinal of a key is reused once it
+* is no longer referenced. As the freed ordinals are reused before any new
+* ones are assigned, the ordinals stay dense, which keeps the bitmaps small.
+* <p>
+* A single instance is shared by all the {@link BitmapMapIndex bitmap indexes}
+* of a partition, which is what allows the bitmaps of different indexes to be
+* combined.
+*
+* @since 25.09
+*/
+public class KeyOrdinals
+        extends Base
+    {
+    // ----- accessors ------------------------------------------------------
+
+    /**
+    * Return the ordinal of the specified key.
+    *
+    * @param oKey  the key
+    *
+    * @return the ordinal of the key, or -1 if the key has no ordinal
+    */
+    public int getOrdinal(Object oKey)
+        {
+        Integer IOrdinal = f_mapOrdinal.get(oKey);
+        return IOrdinal == null ? -1 : IOrdinal;
+        }
+
+    /**
+    * Return the key with the specified ordinal.
+    *
+    * @param nOrdinal  the ordinal
+    *
+    * @return the key with the ordinal, or null if the ordinal is not in use
+    */
+    public Object getKey(int nOrdinal)
+        {
+        Object[] aoKey = m_aoKey;
+        return nOrdinal < aoKey.length ? aoKey[nOrdinal] : null;
+        }
+
+    /**
+    * Return the number of keys that have an ordinal.
+    *
+    * @return the number of keys that have an ordinal
+    */
+    public int size()
+        {
+        return f_mapOrdinal.size();
+        }
+
+
+    /**
+    * Return a read-only view of the keys with the ordinals contained in the
+    * specified bitmap.
+    * <p>
+    * The view is intended to be passed to {@link Set#retainAll}: its
+    * {@code contains} method is a lookup of the ordinal of the key followed
+    * by a bit test, and its iterator converts only the contained ordinals
+    * back to keys.
+    *
+    * @param bitmap  the bitmap of ordinals
+    *
+    * @return a read-only set of the keys with the ordinals in the bitmap
+    */
+    public Set keys(KeyBitmap bitmap)
+        {
+        return new KeySet(bitmap);
+        }
+
+
+    // ----- reference counting ---------------------------------------------
+
+    /**
+    * Return the ordinal of the specified key, assigning one if the key does
+    * not have an ordinal yet, and increment the number of references to it.
+    *
+    * @param oKey  the key
+    *
+    * @return the ordinal of the key
+    */
+    public synchronized int acquire(Object oKey)
+        {
+        Integer IOrdinal = f_mapOrdinal.get(oKey);
+        int     nOrdinal;
+
+        if (IOrdinal == null)
+            {
+            int cFree = m_cFree;
+            if (cFree > 0)
+                {
+                nOrdinal = m_anFree[m_cFree = cFree - 1];
+                }
+            else
+                {
+                nOrdinal = m_cOrdinals++;
+                ensureCapacity(m_cOrdinals);
+                }
+
+            Object[] aoKey = m_aoKey;
+            aoKey[nOrdinal] = oKey;
+            f_mapOrdinal.put(oKey, nOrdinal);
+
+            // publish the key to the concurrent readers
+            m_aoKey = aoKey;
+            }
+        else
+            {
+            nOrdinal = IOrdinal;
+            }
+
+        m_acRef[nOrdinal]++;
+        return nOrdinal;
+        }
+
+    /**
+    * Decrement the number of references to the ordinal of the specified key,
+    * releasing the ordinal once it is no longer referenced.
+    *
+    * @param oKey  the key
+    */
+    public synchronized void release(Object oKey)
+        {
+        Integer IOrdinal = f_mapOrdinal.get(oKey);
+        if (IOrdinal == null)
+            {
+            return;
+            }
+
+        int nOrdinal = IOrdinal;
+        if (--m_acRef[nOrdinal] == 0)
+            {
+            f_mapOrdinal.remove(oKey);
+            m_aoKey[nOrdinal] = null;
+
+            int[] anFree = m_anFree;
+            if (m_cFree == anFree.length)
+                {
+                m_anFree = anFree = Arrays.copyOf(anFree, Math.max(16, anFree.length << 1));
+                }
+            anFree[m_cFree++] = nOrdinal;
+            }
+        }
+
+
+    // ----- helpers --------------------------------------------------------
+
+    /**
+    * Ensure that the arrays indexed by ordinal can hold the specified number
+    * of ordinals.
+    *
+    * @param cOrdinals  the number of ordinals
+    */
+    protected void ensureCapacity(int cOrdinals)
+        {
+        int[] acRef = m_acRef;
+        if (cOrdinals > acRef.length)
+            {
+            int cNew = Math.max(16, acRef.length << 1);
+
+            m_acRef = Arrays.copyOf(acRef, cNew);
+            m_aoKey = Arrays.copyOf(m_aoKey, cNew);
+            }
+        }
+
+
+    // ----- inner class: KeySet --------------------------------------------
+
+    /**
+    * A read-only set of the keys with the ordinals contained in a bitmap.
+    */
+    protected class KeySet
+            extends AbstractSet
+        {
+        /**
+        * Construct a KeySet.
+        *
+        * @param bitmap  the bitmap of ordinals
+        */
+        protected KeySet(KeyBitmap bitmap)
+            {
+            f_bitmap = bitmap;
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public boolean contains(Object oKey)
+            {
+            int nOrdinal = getOrdinal(oKey);
+            return nOrdinal >= 0 && f_bitmap.contains(nOrdinal);
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public int size()
+            {
+            return f_bitmap.cardinality();
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public boolean isEmpty()
+            {
+            return f_bitmap.isEmpty();
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public Iterator iterator()
+            {
+            return new Iterator()
+                {
+                public boolean hasNext()
+                    {
+                    // skip the ordinals released concurrently
+                    while (m_oNext == null && f_iter.hasNext())
+                        {
+                        m_oNext = getKey(f_iter.nextInt());
+                        }
+                    return m_oNext != null;
+                    }
+
+                public Object next()
+                    {
+                    if (!hasNext())
+                        {
+                        throw new NoSuchElementException();
+                        }
+
+                    Object oKey = m_oNext;
+                    m_oNext = null;
+                    return oKey;
+                    }
+
+                private final PrimitiveIterator.OfInt f_iter = f_bitmap.iterator();
+                private Object m_oNext;
+                };
+            }
+
+        /**
+        * The bitmap of ordinals.
+        */
+        protected final KeyBitmap f_bitmap;
+        }
+
+
+    // ----- Object interface -----------------------------------------------
+
+    /**
+    * Return a human-readable description for this KeyOrdinals.
+    *
+    * @return a String description of the KeyOrdinals
+    */
+    public String toString()
+        {
+        return "KeyOrdinals(Keys=" + size() + ", Capacity=" + m_acRef.length + ")";
+        }
+
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+    * The ordinals keyed by the keys.
+    */
+    private final Map<Object, Integer> f_mapOrdinal = new ConcurrentHashMap<>();
+
+    /**
+    * The keys indexed by ordinal.
+    */
+    private volatile Object[] m_aoKey = new Object[0];
+
+    /**
+    * The number of references indexed by ordinal.
+    */
+    private int[] m_acRef = new int[0];
+
+    /**
+    * The number of ordinals ever assigned.
+    */
+    private int m_cOrdinals;
+
+    /**
+    * The stack of the released ordinals.
+    */
+    private int[] m_anFree = new int[0];
+
+    /**
+    * The number of released ordinals.
+    */
+    private int m_cFree;
+    }
@@ -273,6 +273,31 @@ public class SimpleMapIndex
         return m_fForwardIndex;
         }
 
+    /**
+    * Return the statistics describing the distribution of the values in this
+    * index, which are used to estimate the selectivity of filters.
+    *
+    * @return the statistics for this index
+    *
+    * @since 25.09
+    */
+    public IndexStatistics getStatistics()
+        {
+        IndexStatistics stats = m_stats;
+        if (stats == null)
+            {
+            synchronized (this)
+                {
+                stats = m_stats;
+                if (stats == null)
+                    {
+                    m_stats = stats = new IndexStatistics(this);
+                    }
+                }
+            }
+        return stats;
+        }
+
 
     // ----- helpers --------------------------------------------------------
 
@@ -480,6 +505,8 @@ public class SimpleMapIndex
         Object oIxValue = extractNewValue(entry);
         synchronized (this)
             {
+            m_cModifications++;
+
             if (oIxValue == NO_VALUE)
                 {
                 // COH-6447: exclude corrupted entries from index and keep track of them
@@ -508,6 +535,8 @@ public class SimpleMapIndex
 
         synchronized (this)
             {
+            m_cModifications++;
+
             Object    oIxValueOld;
             Map.Entry entryFwd = getForwardEntry(oKey);
             if (entryFwd == null)
@@ -598,6 +627,8 @@ public class SimpleMapIndex
 
         synchronized (this)
             {
+            m_cModifications++;
+
             Object oIxValueOld;
             Map    mapForward = m_mapForward;
             if (mapForward == null)
@@ -1571,6 +1602,16 @@ public class SimpleMapIndex
     */
     protected boolean m_fImmutableValues;
 
+    /**
+    * The number of changes made to this index.
+    */
+    protected volatile long m_cModifications;
+
+    /**
+    * The statistics for this index, created lazily.
+    */
+    private volatile IndexStatistics m_stats;
+
     /**
      * Used to minimize logging of index error message.
      */
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2000, 2022, Oracle and/or its affiliates.
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
  *
  * Licensed under the Universal Permissive License v 1.0 as shown at
  * https://oss.oracle.com/licenses/upl.
@@ -19,6 +19,7 @@ import com.tangosol.io.pof.PortableObject;
 import com.tangosol.util.ClassHelper;
 import com.tangosol.util.ExternalizableHelper;
 import com.tangosol.util.InvocableMap;
+import com.tangosol.util.MapIndex;
 import com.tangosol.util.Streamer;
 import com.tangosol.util.ValueExtractor;
 
@@ -29,6 +30,10 @@ import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
 
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
 import jakarta.json.bind.annotation.JsonbProperty;
 
 /**
@@ -148,6 +153,47 @@ public abstract class AbstractAggregator<K, V, T, E, R>
         return (R) finalizeResult(true);
         }
 
+    /**
+     * Accumulate the values held by the forward index of the specified index
+     * for the specified keys, incorporating each value the same way as the
+     * value extracted from the corresponding entry.
+     * <p>
+     * This method is used by the subclasses that implement
+     * {@link IndexAwareAggregator}.
+     *
+     * @param index    the index on the {@link #getValueExtractor() extractor}
+     * @param setKeys  the keys of the entries to aggregate
+     *
+     * @return the keys whose values are not held by the index
+     *
+     * @since 25.09
+     */
+    public Set<?> accumulateIndex(MapIndex<?, ?, ?> index, Set<?> setKeys)
+        {
+        ensureInitialized(false);
+
+        MapIndex    indexRaw   = index;
+        Set<Object> setMissing = null;
+        for (Object oKey : setKeys)
+            {
+            Object oValue = indexRaw.get(oKey);
+            if (oValue == MapIndex.NO_VALUE)
+                {
+                if (setMissing == null)
+                    {
+                    setMissing = new HashSet<>();
+                    }
+                setMissing.add(oKey);
+                }
+            else
+                {
+                process(oValue, false);
+                }
+            }
+
+        return setMissing == null ? Collections.emptySet() : setMissing;
+        }
+
     // ----- AbstractAggregator methods -------------------------------------
 
     /**
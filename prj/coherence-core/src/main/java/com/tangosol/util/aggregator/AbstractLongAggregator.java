@@ -1,21 +1,31 @@
 /*
- * Copyright (c) 2000, 2020, Oracle and/or its affiliates.
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
  *
  * Licensed under the Universal Permissive License v 1.0 as shown at
- * http://oss.oracle.com/licenses/upl.
+ * https://oss.oracle.com/licenses/upl.
  */
 
 package com.tangosol.util.aggregator;
 
 
+import com.tangosol.util.ColumnarIndex;
+import com.tangosol.util.MapIndex;
 import com.tangosol.util.ValueExtractor;
 
+import java.util.LongSummaryStatistics;
+import java.util.Set;
+
 
 /**
 * Abstract aggregator that processes numeric values extracted from a set of
 * entries in a Map. All the extracted Number objects will be treated as Java
 * <tt>long</tt> values and the result of the aggregator is a Long.
 * If the set of entries is empty, a <tt>null</tt> result is returned.
+* <p>
+* When all the entries of a partition are aggregated, the values are read
+* from the partition's index on the extractor, if there is one. The values
+* held by a {@link ColumnarIndex} are accumulated without being boxed by the
+* aggregators that {@link #isStatisticsSupported() support} it.
 *
 * @param <T>  the type of the value to extract from
 *
@@ -24,6 +34,7 @@ import com.tangosol.util.ValueExtractor;
 */
 public abstract class AbstractLongAggregator<T>
         extends AbstractAggregator<Object, Object, T, Number, Long>
+        implements IndexAwareAggregator<Object, Object, Object, Long>
     {
     // ----- constructors ---------------------------------------------------
 
@@ -58,6 +69,34 @@ public abstract class AbstractLongAggregator<T>
         }
 
 
+    // ----- IndexAwareAggregator interface ---------------------------------
+
+    /**
+    * {@inheritDoc}
+    * <p>
+    * If the index is a {@link ColumnarIndex} and this aggregator
+    * {@link #isStatisticsSupported() supports} it, the statistics of the
+    * indexed values are accumulated from the index column and incorporated
+    * via {@link #processStatistics}; otherwise each indexed value is
+    * {@link #process processed} in turn.
+    */
+    @Override
+    public Set<?> accumulateIndex(MapIndex<?, ?, ?> index, Set<?> setKeys)
+        {
+        if (index instanceof ColumnarIndex && isStatisticsSupported())
+            {
+            ensureInitialized(false);
+
+            LongSummaryStatistics stats      = new LongSummaryStatistics();
+            Set<?>                setMissing = ((ColumnarIndex) index).accumulate(setKeys, stats);
+
+            processStatistics(stats);
+            return setMissing;
+            }
+        return super.accumulateIndex(index, setKeys);
+        }
+
+
     // ----- AbstractAggregator methods -------------------------------------
 
     /**
@@ -77,6 +116,36 @@ public abstract class AbstractLongAggregator<T>
         }
 
 
+    // ----- statistics support ---------------------------------------------
+
+    /**
+    * Determine whether this aggregator can incorporate the statistics of a
+    * set of values via {@link #processStatistics}.
+    *
+    * @return true if {@link #processStatistics} is supported
+    *
+    * @since 25.09
+    */
+    protected boolean isStatisticsSupported()
+        {
+        return false;
+        }
+
+    /**
+    * Incorporate the statistics of a set of extracted values into the
+    * partial result, as if each of the values had been
+    * {@link #process processed}.
+    *
+    * @param stats  the statistics of the values
+    *
+    * @since 25.09
+    */
+    protected void processStatistics(LongSummaryStatistics stats)
+        {
+        throw new UnsupportedOperationException();
+        }
+
+
     // ----- data members ---------------------------------------------------
 
     /**
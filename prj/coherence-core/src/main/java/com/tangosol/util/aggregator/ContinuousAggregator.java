@@ -0,0 +1,416 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.tangosol.util.aggregator;
+
+import com.tangosol.io.ExternalizableLite;
+
+import com.tangosol.io.pof.PofReader;
+import com.tangosol.io.pof.PofWriter;
+import com.tangosol.io.pof.PortableObject;
+
+import com.tangosol.util.ContinuousAggregateIndex;
+import com.tangosol.util.ExternalizableHelper;
+import com.tangosol.util.Filter;
+import com.tangosol.util.InvocableMap;
+import com.tangosol.util.InvocableMapHelper;
+import com.tangosol.util.MapIndex;
+
+import com.tangosol.util.extractor.ContinuousAggregateExtractor;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import jakarta.json.bind.annotation.JsonbProperty;
+
+/**
+ * Aggregator that returns the current value of a continuous aggregate
+ * registered with a {@link ContinuousAggregateExtractor}, i.e. the
+ * {@link Summary} of each group of entries defined by the extractor.
+ * <p>
+ * When all the entries of a cache are aggregated, the storage members merge
+ * the summaries maintained by the {@link ContinuousAggregateIndex} of each
+ * partition instead of scanning the entries. If the continuous aggregate is
+ * not registered, or the index of a partition is still being built, the
+ * entries are aggregated the same way the index would, so the result does not
+ * depend on whether the index is used.
+ *
+ * @param <K>  the type of the Map entry keys
+ * @param <V>  the type of the Map entry values
+ * @param <G>  the type of the group keys
+ *
+ * @since 25.09
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class ContinuousAggregator<K, V, G>
+        extends AbstractAggregator<K, V, V, Object, Map<G, ContinuousAggregator.Summary>>
+        implements IndexAwareAggregator<K, V, Object, Map<G, ContinuousAggregator.Summary>>
+    {
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Default constructor (necessary for the ExternalizableLite interface).
+     */
+    public ContinuousAggregator()
+        {
+        super();
+        }
+
+    /**
+     * Construct a ContinuousAggregator for the specified continuous aggregate.
+     *
+     * @param extractor  the extractor the continuous aggregate was registered
+     *                   with
+     */
+    public ContinuousAggregator(ContinuousAggregateExtractor<? super V, ? extends G> extractor)
+        {
+        super(extractor);
+        }
+
+    // ----- StreamingAggregator methods ------------------------------------
+
+    @Override
+    public int characteristics()
+        {
+        return PARALLEL | PRESENT_ONLY;
+        }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If the specified index is a {@link ContinuousAggregateIndex}, the
+     * summaries it maintains are merged into the result.
+     */
+    @Override
+    public Set<?> accumulateIndex(MapIndex<?, ?, ?> index, Set<?> setKeys)
+        {
+        if (index instanceof ContinuousAggregateIndex)
+            {
+            ensureInitialized(false);
+
+            process(((ContinuousAggregateIndex) index).getSummaries(), true);
+            return Collections.emptySet();
+            }
+
+        // the forward values are not the entries a continuous aggregate
+        // is computed from
+        return setKeys;
+        }
+
+    // ----- AbstractAggregator methods -------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    protected void init(boolean fFinal)
+        {
+        m_mapSummary = new HashMap<>();
+        }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The entry is aggregated the same way the {@link ContinuousAggregateIndex}
+     * aggregates it.
+     */
+    protected void processEntry(InvocableMap.Entry<? extends K, ? extends V> entry)
+        {
+        ContinuousAggregateExtractor extractor = getAggregateExtractor();
+        Filter                       filter    = extractor.getFilter();
+
+        if (filter == null || InvocableMapHelper.evaluateEntry(filter, entry))
+            {
+            Object oGroup = extractor.getGroupExtractor() == null
+                    ? null : entry.extract(extractor.getGroupExtractor());
+            Number nValue = extractor.getValueExtractor() == null
+                    ? null : (Number) entry.extract(extractor.getValueExtractor());
+
+            ensureSummary((G) oGroup).add(nValue);
+            }
+        }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The specified object is always a partial result, as the entries are
+     * incorporated by {@link #processEntry}.
+     */
+    protected void process(Object o, boolean fFinal)
+        {
+        if (o != null)
+            {
+            for (Map.Entry<G, Summary> entry : ((Map<G, Summary>) o).entrySet())
+                {
+                ensureSummary(entry.getKey()).merge(entry.getValue());
+                }
+            }
+        }
+
+    /**
+     * {@inheritDoc}
+     */
+    protected Object finalizeResult(boolean fFinal)
+        {
+        Map<G, Summary> mapSummary = m_mapSummary;
+
+        m_mapSummary = null;
+
+        return mapSummary == null
+                ? fFinal ? Collections.emptyMap() : null
+                : mapSummary;
+        }
+
+    // ----- accessors ------------------------------------------------------
+
+    /**
+     * Return the extractor the continuous aggregate was registered with.
+     *
+     * @return the extractor the continuous aggregate was registered with
+     */
+    public ContinuousAggregateExtractor<? super V, ? extends G> getAggregateExtractor()
+        {
+        return (ContinuousAggregateExtractor) getValueExtractor();
+        }
+
+    // ----- internal helpers -----------------------------------------------
+
+    /**
+     * Return the summary of the specified group, creating it if necessary.
+     *
+     * @param oGroup  the group key
+     *
+     * @return the summary of the group
+     */
+    protected Summary ensureSummary(G oGroup)
+        {
+        return m_mapSummary.computeIfAbsent(oGroup, o -> new Summary());
+        }
+
+    // ----- inner class: Summary -------------------------------------------
+
+    /**
+     * The count, sum and average of the values of a group of entries.
+     * <p>
+     * The entries are always counted, while the sum and average only account
+     * for the entries with a non-null value.
+     */
+    public static class Summary
+            extends ExternalizableHelper
+            implements ExternalizableLite, PortableObject
+        {
+        // ----- constructors -----------------------------------------------
+
+        /**
+         * Construct an empty Summary.
+         */
+        public Summary()
+            {
+            }
+
+        /**
+         * Construct a copy of the specified Summary.
+         *
+         * @param that  the Summary to copy
+         */
+        public Summary(Summary that)
+            {
+            m_cEntries = that.m_cEntries;
+            m_cValues  = that.m_cValues;
+            m_dflSum   = that.m_dflSum;
+            }
+
+        // ----- accessors --------------------------------------------------
+
+        /**
+         * Return the number of entries in the group.
+         *
+         * @return the number of entries in the group
+         */
+        public long getCount()
+            {
+            return m_cEntries;
+            }
+
+        /**
+         * Return the number of entries in the group with a non-null value.
+         *
+         * @return the number of entries with a non-null value
+         */
+        public long getValueCount()
+            {
+            return m_cValues;
+            }
+
+        /**
+         * Return the sum of the values of the entries in the group.
+         *
+         * @return the sum of the values
+         */
+        public double getSum()
+            {
+            return m_dflSum;
+            }
+
+        /**
+         * Return the average of the values of the entries in the group.
+         *
+         * @return the average of the values, or <tt>null</tt> if none of
+         *         the entries has a value
+         */
+        public Double getAverage()
+            {
+            long cValues = m_cValues;
+            return cValues == 0L ? null : m_dflSum / cValues;
+            }
+
+        // ----- Summary methods --------------------------------------------
+
+        /**
+         * Add an entry with the specified value to the group.
+         *
+         * @param nValue  the value of the entry, or <tt>null</tt>
+         */
+        public void add(Number nValue)
+            {
+            m_cEntries++;
+            if (nValue != null)
+                {
+                m_cValues++;
+                m_dflSum += nValue.doubleValue();
+                }
+            }
+
+        /**
+         * Remove an entry with the specified value from the group.
+         *
+         * @param nValue  the value of the entry, or <tt>null</tt>
+         */
+        public void remove(Number nValue)
+            {
+            m_cEntries--;
+            if (nValue != null)
+                {
+                m_cValues--;
+                m_dflSum -= nValue.doubleValue();
+                }
+            }
+
+        /**
+         * Merge the specified Summary of another subset of the group's
+         * entries into this Summary.
+         *
+         * @param that  the Summary to merge
+         */
+        public void merge(Summary that)
+            {
+            m_cEntries += that.m_cEntries;
+            m_cValues  += that.m_cValues;
+            m_dflSum   += that.m_dflSum;
+            }
+
+        // ----- ExternalizableLite interface -------------------------------
+
+        @Override
+        public void readExternal(DataInput in)
+                throws IOException
+            {
+            m_cEntries = readLong(in);
+            m_cValues  = readLong(in);
+            m_dflSum   = in.readDouble();
+            }
+
+        @Override
+        public void writeExternal(DataOutput out)
+                throws IOException
+            {
+            writeLong(out, m_cEntries);
+            writeLong(out, m_cValues);
+            out.writeDouble(m_dflSum);
+            }
+
+        // ----- PortableObject interface -----------------------------------
+
+        @Override
+        public void readExternal(PofReader in)
+                throws IOException
+            {
+            m_cEntries = in.readLong(0);
+            m_cValues  = in.readLong(1);
+            m_dflSum   = in.readDouble(2);
+            }
+
+        @Override
+        public void writeExternal(PofWriter out)
+                throws IOException
+            {
+            out.writeLong(0, m_cEntries);
+            out.writeLong(1, m_cValues);
+            out.writeDouble(2, m_dflSum);
+            }
+
+        // ----- Object methods ---------------------------------------------
+
+        @Override
+        public boolean equals(Object o)
+            {
+            if (o instanceof Summary)
+                {
+                Summary that = (Summary) o;
+                return m_cEntries == that.m_cEntries
+                    && m_cValues  == that.m_cValues
+                    && Double.compare(m_dflSum, that.m_dflSum) == 0;
+                }
+            return false;
+            }
+
+        @Override
+        public int hashCode()
+            {
+            return Long.hashCode(m_cEntries) ^ Double.hashCode(m_dflSum);
+            }
+
+        @Override
+        public String toString()
+            {
+            return "Summary(count=" + m_cEntries + ", sum=" + m_dflSum
+                   + ", average=" + getAverage() + ')';
+            }
+
+        // ----- data members -----------------------------------------------
+
+        /**
+         * The number of entries.
+         */
+        @JsonbProperty("count")
+        protected long m_cEntries;
+
+        /**
+         * The number of entries with a non-null value.
+         */
+        @JsonbProperty("valueCount")
+        protected long m_cValues;
+
+        /**
+         * The sum of the non-null values.
+         */
+        @JsonbProperty("sum")
+        protected double m_dflSum;
+        }
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The summaries of the groups, keyed by the group keys.
+     */
+    protected transient Map<G, Summary> m_mapSummary;
+    }
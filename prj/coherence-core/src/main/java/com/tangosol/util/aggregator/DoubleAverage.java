@@ -18,6 +18,8 @@ import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
 
+import java.util.DoubleSummaryStatistics;
+
 
 /**
 * Calculates an average for values of any numeric type extracted from a set
@@ -157,4 +159,24 @@ public class DoubleAverage<T>
                 }
             }
         }
-    }
\ No newline at end of file
+
+    /**
+    * {@inheritDoc}
+    */
+    protected boolean isStatisticsSupported()
+        {
+        return true;
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    protected void processStatistics(DoubleSummaryStatistics stats)
+        {
+        if (stats.getCount() > 0)
+            {
+            m_dflResult += stats.getSum();
+            m_count += (int) stats.getCount();
+            }
+        }
+    }
@@ -11,6 +11,8 @@ package com.tangosol.util.aggregator;
 import com.tangosol.util.InvocableMap;
 import com.tangosol.util.ValueExtractor;
 
+import java.util.DoubleSummaryStatistics;
+
 
 /**
 * Calculates a minimum of numeric values extracted from a set of entries in
@@ -94,4 +96,24 @@ public class DoubleMin<T>
             m_count++;
             }
         }
-    }
\ No newline at end of file
+
+    /**
+    * {@inheritDoc}
+    */
+    protected boolean isStatisticsSupported()
+        {
+        return true;
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    protected void processStatistics(DoubleSummaryStatistics stats)
+        {
+        if (stats.getCount() > 0)
+            {
+            m_dflResult = Math.min(m_dflResult, stats.getMin());
+            m_count += (int) stats.getCount();
+            }
+        }
+    }
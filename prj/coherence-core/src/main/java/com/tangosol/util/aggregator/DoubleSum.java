@@ -11,6 +11,8 @@ package com.tangosol.util.aggregator;
 import com.tangosol.util.InvocableMap;
 import com.tangosol.util.ValueExtractor;
 
+import java.util.DoubleSummaryStatistics;
+
 
 /**
 * Sums up numeric values extracted from a set of entries in a Map. All the
@@ -93,4 +95,24 @@ public class DoubleSum<T>
             m_count++;
             }
         }
-    }
\ No newline at end of file
+
+    /**
+    * {@inheritDoc}
+    */
+    protected boolean isStatisticsSupported()
+        {
+        return true;
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    protected void processStatistics(DoubleSummaryStatistics stats)
+        {
+        if (stats.getCount() > 0)
+            {
+            m_dflResult += stats.getSum();
+            m_count += (int) stats.getCount();
+            }
+        }
+    }
@@ -1,12 +1,16 @@
 /*
- * Copyright (c) 2000, 2022, Oracle and/or its affiliates.
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
  *
  * Licensed under the Universal Permissive License v 1.0 as shown at
  * https://oss.oracle.com/licenses/upl.
  */
 package com.tangosol.util.aggregator;
 
+import com.tangosol.internal.util.VersionHelper;
+
 import com.tangosol.io.ExternalizableLite;
+import com.tangosol.io.WrapperBufferInput;
+import com.tangosol.io.WrapperBufferOutput;
 
 import com.tangosol.io.pof.PofReader;
 import com.tangosol.io.pof.PofWriter;
@@ -29,7 +33,9 @@ import java.io.IOException;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -60,6 +66,15 @@ import jakarta.json.bind.annotation.JsonbProperty;
  * In other words, the "group by" predicate should not span multiple
  * partitions if the "having" clause is used.
  * <p>
+ * The groups of the result could optionally be ordered by a Comparator of
+ * the group keys and limited to a maximum number of groups, which is
+ * analogous to the SQL "order by" and "limit" clauses. Unless a "having"
+ * Filter is specified, the limit is pushed down to the servers: each server
+ * only returns the partial results for the first groups in the specified
+ * order, which is sufficient to compute the exact final result while
+ * bounding the size of the partial results sent to (and merged by) the
+ * caller regardless of the number of distinct groups.
+ * <p>
  * The GroupAggregator is somewhat similar to the {@link DistinctValues}
  * aggregator, which returns back a list of distinct values (tuples) without
  * performing any additional aggregation work.
@@ -117,11 +132,35 @@ public class GroupAggregator<K, V, T, E, R>
                               InvocableMap.EntryAggregator<? super K, ? super V, R> aggregator,
                               Filter filter)
         {
-        azzert(extractor != null && aggregator != null);
+        this(extractor, aggregator, filter, null, 0);
+        }
+
+    /**
+     * Construct a GroupAggregator based on a specified ValueExtractor and
+     * underlying EntryAggregator that orders and limits the resulting groups.
+     *
+     * @param extractor   a ValueExtractor object that is used to split
+     *                    InvocableMap entries into non-intersecting subsets;
+     *                    may not be null
+     * @param aggregator  an EntryAggregator object; may not be null
+     * @param filter      an optional Filter object used to filter out
+     *                    results of individual group aggregation results
+     * @param comparator  an optional Comparator used to order the groups by
+     *                    their keys
+     * @param cLimit      the maximum number of groups to return, or zero
+     *                    for no limit
+     */
+    protected GroupAggregator(ValueExtractor<? super T, ? extends E> extractor,
+                              InvocableMap.EntryAggregator<? super K, ? super V, R> aggregator,
+                              Filter filter, Comparator<? super E> comparator, int cLimit)
+        {
+        azzert(extractor != null && aggregator != null && cLimit >= 0);
 
         m_extractor  = extractor;
         m_aggregator = aggregator;
         m_filter     = filter;
+        m_comparator = comparator;
+        m_cLimit     = cLimit;
         }
 
     // ----- StreamingAggregator interface ----------------------------------
@@ -129,7 +168,7 @@ public class GroupAggregator<K, V, T, E, R>
     @Override
     public InvocableMap.StreamingAggregator<K, V, Map<E, Object>, Map<E, R>> supply()
         {
-        return new GroupAggregator<>(m_extractor, m_aggregator, m_filter);
+        return new GroupAggregator<>(m_extractor, m_aggregator, m_filter, m_comparator, m_cLimit);
         }
 
     @Override
@@ -191,6 +230,11 @@ public class GroupAggregator<K, V, T, E, R>
                 }
             }
 
+        if (isLimitPushdown())
+            {
+            m_mapResults = limit(m_mapResults);
+            }
+
         return true;
         }
 
@@ -203,7 +247,7 @@ public class GroupAggregator<K, V, T, E, R>
 
         if (!fStreaming && !isDelegateParallel())
             {
-            return m_mapResults;
+            return isLimitPushdown() ? limit(m_mapResults) : m_mapResults;
             }
 
         Map<E, Object> mapResults = new LiteMap<>();
@@ -222,7 +266,7 @@ public class GroupAggregator<K, V, T, E, R>
 
             mapResults.put(entry.getKey(), oResult);
             }
-        return mapResults;
+        return isLimitPushdown() ? limit(mapResults) : mapResults;
         }
 
     @Override
@@ -233,18 +277,24 @@ public class GroupAggregator<K, V, T, E, R>
         boolean   fStreaming     = isDelegateStreaming();
         boolean   fParallelAware = isDelegateParallel();
         Filter    filter         = m_filter;
-        Map<E, R> mapResults     = new LiteMap<>();
+        int       cLimit         = m_cLimit;
+        Map<E, R> mapResults     = m_comparator == null ? new LiteMap<>() : new LinkedHashMap<>();
 
-        for (Map.Entry<E, Object> entry : m_mapResults.entrySet())
+        for (E groupKey : m_comparator == null ? m_mapResults.keySet() : sortKeys(m_mapResults))
             {
-            R result =
-                    fStreaming     ? ((InvocableMap.StreamingAggregator<? super K, ? super V, Object, R>) entry.getValue()).finalizeResult() :
-                    fParallelAware ? parallel(m_aggregator).aggregateResults((Collection<Object>) entry.getValue())
-                                   : m_aggregator.aggregate((Set<InvocableMap.Entry<? extends K, ? extends V>>) entry.getValue());
+            Object oPartial = m_mapResults.get(groupKey);
+            R      result   =
+                    fStreaming     ? ((InvocableMap.StreamingAggregator<? super K, ? super V, Object, R>) oPartial).finalizeResult() :
+                    fParallelAware ? parallel(m_aggregator).aggregateResults((Collection<Object>) oPartial)
+                                   : m_aggregator.aggregate((Set<InvocableMap.Entry<? extends K, ? extends V>>) oPartial);
 
             if (filter == null || filter.evaluate(result))
                 {
-                mapResults.put(entry.getKey(), result);
+                mapResults.put(groupKey, result);
+                if (cLimit > 0 && mapResults.size() == cLimit)
+                    {
+                    break;
+                    }
                 }
             }
 
@@ -283,6 +333,28 @@ public class GroupAggregator<K, V, T, E, R>
         return m_aggregator;
         }
 
+    /**
+     * Obtain the Comparator used to order the groups by their keys.
+     *
+     * @return the Comparator used to order the groups, or null if the
+     *         groups are not ordered
+     */
+    public Comparator<? super E> getComparator()
+        {
+        return m_comparator;
+        }
+
+    /**
+     * Obtain the maximum number of groups returned by this aggregator.
+     *
+     * @return the maximum number of groups, or zero if the number of groups
+     *         is not limited
+     */
+    public int getLimit()
+        {
+        return m_cLimit;
+        }
+
     // ----- helper methods -------------------------------------------------
 
     /**
@@ -348,6 +420,65 @@ public class GroupAggregator<K, V, T, E, R>
         return m_fParallel;
         }
 
+    /**
+     * Return <code>true</code> if the partial results could be limited to
+     * the first {@link #getLimit() limit} groups in the order defined by the
+     * {@link #getComparator() comparator}.
+     * <p>
+     * A group that belongs to the first <i>N</i> groups of the final result
+     * also belongs to the first <i>N</i> groups of every partial result that
+     * contains it, so the partial results could be limited without affecting
+     * the final result, unless the groups are also filtered by a "having"
+     * filter, which could only be evaluated against the final results.
+     *
+     * @return <code>true</code> if the partial results could be limited
+     */
+    protected boolean isLimitPushdown()
+        {
+        return m_cLimit > 0 && m_comparator != null && m_filter == null;
+        }
+
+    /**
+     * Return the specified map of group results if it has no more than
+     * {@link #getLimit() limit} groups, or a new map that only contains the
+     * first {@link #getLimit() limit} groups in the order defined by the
+     * {@link #getComparator() comparator}.
+     *
+     * @param mapResults  the map of group results to limit
+     *
+     * @return the limited map of group results
+     */
+    protected Map<E, Object> limit(Map<E, Object> mapResults)
+        {
+        int cLimit = m_cLimit;
+        if (mapResults.size() <= cLimit)
+            {
+            return mapResults;
+            }
+
+        Map<E, Object> mapLimited = new LiteMap<>();
+        for (E groupKey : sortKeys(mapResults).subList(0, cLimit))
+            {
+            mapLimited.put(groupKey, mapResults.get(groupKey));
+            }
+        return mapLimited;
+        }
+
+    /**
+     * Return the keys of the specified map of group results in the order
+     * defined by the {@link #getComparator() comparator}.
+     *
+     * @param mapResults  the map of group results
+     *
+     * @return the sorted list of group keys
+     */
+    protected List<E> sortKeys(Map<E, Object> mapResults)
+        {
+        List<E> listKeys = new ArrayList<>(mapResults.keySet());
+        listKeys.sort(m_comparator);
+        return listKeys;
+        }
+
     protected static <T> BinaryOperator<T> throwingMerger()
         {
         return (u, v) -> { throw new IllegalStateException("Duplicate group key"); };
@@ -362,6 +493,20 @@ public class GroupAggregator<K, V, T, E, R>
         m_extractor  = readObject(in);
         m_aggregator = readObject(in);
         m_filter     = readObject(in);
+
+        // the streams that are not version aware are only read by the
+        // members of the same version
+        if (!(in instanceof WrapperBufferInput.VersionAwareBufferInput)
+                || isVersionCompatible(in, VersionHelper.VERSION_25_09))
+            {
+            m_comparator = readObject(in);
+            m_cLimit     = readInt(in);
+            }
+        else
+            {
+            m_comparator = null;
+            m_cLimit     = 0;
+            }
         }
 
     @Override
@@ -371,6 +516,13 @@ public class GroupAggregator<K, V, T, E, R>
         writeObject(out, m_extractor);
         writeObject(out, m_aggregator);
         writeObject(out, m_filter);
+
+        if (!(out instanceof WrapperBufferOutput.VersionAwareBufferOutput)
+                || isVersionCompatible(out, VersionHelper.VERSION_25_09))
+            {
+            writeObject(out, m_comparator);
+            writeInt(out, m_cLimit);
+            }
         }
 
     // ----- PortableObject interface ---------------------------------------
@@ -382,6 +534,8 @@ public class GroupAggregator<K, V, T, E, R>
         m_extractor  = in.readObject(0);
         m_aggregator = in.readObject(1);
         m_filter     = in.readObject(2);
+        m_comparator = in.readObject(3);
+        m_cLimit     = in.readInt(4);
         }
 
     @Override
@@ -391,6 +545,8 @@ public class GroupAggregator<K, V, T, E, R>
         out.writeObject(0, m_extractor);
         out.writeObject(1, m_aggregator);
         out.writeObject(2, m_filter);
+        out.writeObject(3, m_comparator);
+        out.writeInt(4, m_cLimit);
         }
 
     // ----- Object methods -------------------------------------------------
@@ -408,7 +564,9 @@ public class GroupAggregator<K, V, T, E, R>
             {
             GroupAggregator that = (GroupAggregator) o;
             return equals(this.m_extractor,  that.m_extractor)
-                && equals(this.m_aggregator, that.m_aggregator);
+                && equals(this.m_aggregator, that.m_aggregator)
+                && equals(this.m_comparator, that.m_comparator)
+                && this.m_cLimit == that.m_cLimit;
             }
 
         return false;
@@ -435,6 +593,8 @@ public class GroupAggregator<K, V, T, E, R>
         return ClassHelper.getSimpleName(getClass()) +
           '(' + m_extractor + ", " + m_aggregator +
           (m_filter == null ? "" : ", " + m_filter) +
+          (m_comparator == null ? "" : ", " + m_comparator) +
+          (m_cLimit == 0 ? "" : ", limit=" + m_cLimit) +
           ')';
         }
 
@@ -546,6 +706,40 @@ public class GroupAggregator<K, V, T, E, R>
         return new GroupAggregator<>(extractor, aggregator, filter);
         }
 
+    /**
+     * Create an instance of GroupAggregator based on a specified extractor,
+     * an {@link com.tangosol.util.InvocableMap.EntryAggregator
+     * EntryAggregator} and a result evaluation filter that orders the
+     * resulting groups by their keys and returns at most the specified number
+     * of groups.
+     * <br>
+     * The resulting Map iterates over the groups in the order defined by the
+     * specified Comparator. Unless a result evaluation filter is specified,
+     * each server only returns the partial results of the first
+     * <tt>cLimit</tt> groups.
+     *
+     * @param extractor   a ValueExtractor that will be used to split a set of
+     *                    InvocableMap entries into distinct groups
+     * @param aggregator  an underlying EntryAggregator
+     * @param filter      an optional Filter object used to filter out results
+     *                    of individual group aggregation results
+     * @param comparator  a Comparator used to order the groups by their keys;
+     *                    may not be null
+     * @param cLimit      the maximum number of groups to return, or zero for
+     *                    no limit
+     *
+     * @since 25.09
+     */
+    public static <K, V, T, E, R> GroupAggregator<K, V, T, E, R> createInstance(
+                                          ValueExtractor<? super T, ? extends E> extractor,
+                                          InvocableMap.EntryAggregator<? super K, ? super V, R> aggregator,
+                                          Filter filter, Comparator<? super E> comparator, int cLimit)
+        {
+        azzert(comparator != null);
+
+        return new GroupAggregator<>(extractor, aggregator, filter, comparator, cLimit);
+        }
+
     // ----- inner classes --------------------------------------------------
 
     /**
@@ -605,6 +799,18 @@ public class GroupAggregator<K, V, T, E, R>
     @JsonbProperty("filter")
     protected Filter m_filter;
 
+    /**
+     * The Comparator used to order the groups by their keys.
+     */
+    @JsonbProperty("comparator")
+    protected Comparator<? super E> m_comparator;
+
+    /**
+     * The maximum number of groups to return, or zero for no limit.
+     */
+    @JsonbProperty("limit")
+    protected int m_cLimit;
+
     /**
      * Flag specifying whether this aggregator has been initialized.
      */
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.tangosol.util.aggregator;
+
+import com.tangosol.util.InvocableMap;
+import com.tangosol.util.MapIndex;
+import com.tangosol.util.ValueExtractor;
+
+import java.util.Set;
+
+/**
+ * IndexAwareAggregator is an extension to the StreamingAggregator interface
+ * that allows an aggregator to aggregate the values held by a {@link MapIndex}
+ * instead of the values extracted from the entries.
+ * <p>
+ * When all the entries of a partition are aggregated (i.e. there is no
+ * filter) and the partition has a complete index on the aggregator's
+ * {@link #getValueExtractor() extractor}, the aggregator is given that index
+ * and the keys of the partition instead of a {@link com.tangosol.util.Streamer}
+ * over the entries, so the entries are neither materialized nor deserialized.
+ *
+ * @param <K>  the type of the Map entry keys
+ * @param <V>  the type of the Map entry values
+ * @param <P>  the type of the partial result
+ * @param <R>  the type of the final result
+ *
+ * @since 25.09
+ */
+public interface IndexAwareAggregator<K, V, P, R>
+        extends InvocableMap.StreamingAggregator<K, V, P, R>
+    {
+    /**
+     * Return the extractor that provides the values to aggregate, and
+     * therefore the extractor of the index this aggregator can use.
+     *
+     * @return the extractor that provides the values to aggregate
+     */
+    public ValueExtractor<?, ?> getValueExtractor();
+
+    /**
+     * Accumulate the values held by the specified index for the specified
+     * keys.
+     * <p>
+     * The values must be read from the forward index (i.e. via
+     * {@link MapIndex#get}), as only the forward index holds exactly the
+     * value extracted from each entry. The index may be concurrently
+     * updated.
+     *
+     * @param index    the index on the {@link #getValueExtractor() extractor}
+     * @param setKeys  the keys of the entries to aggregate
+     *
+     * @return the keys whose values are not held by the index, which must be
+     *         accumulated from the entries instead
+     */
+    public Set<?> accumulateIndex(MapIndex<?, ?, ?> index, Set<?> setKeys);
+    }
@@ -11,6 +11,8 @@ package com.tangosol.util.aggregator;
 import com.tangosol.util.InvocableMap;
 import com.tangosol.util.ValueExtractor;
 
+import java.util.LongSummaryStatistics;
+
 
 /**
 * Calculates a maximum of numeric values extracted from a set of entries in a
@@ -94,4 +96,24 @@ public class LongMax<T>
             m_count++;
             }
         }
-    }
\ No newline at end of file
+
+    /**
+    * {@inheritDoc}
+    */
+    protected boolean isStatisticsSupported()
+        {
+        return true;
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    protected void processStatistics(LongSummaryStatistics stats)
+        {
+        if (stats.getCount() > 0)
+            {
+            m_lResult = Math.max(m_lResult, stats.getMax());
+            m_count += (int) stats.getCount();
+            }
+        }
+    }
@@ -11,6 +11,8 @@ package com.tangosol.util.aggregator;
 import com.tangosol.util.InvocableMap;
 import com.tangosol.util.ValueExtractor;
 
+import java.util.LongSummaryStatistics;
+
 
 /**
 * Calculates a minimum of numeric values extracted from a set of entries in a
@@ -94,4 +96,24 @@ public class LongMin<T>
             m_count++;
             }
         }
+
+    /**
+    * {@inheritDoc}
+    */
+    protected boolean isStatisticsSupported()
+        {
+        return true;
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    protected void processStatistics(LongSummaryStatistics stats)
+        {
+        if (stats.getCount() > 0)
+            {
+            m_lResult = Math.min(m_lResult, stats.getMin());
+            m_count += (int) stats.getCount();
+            }
+        }
     }
@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.tangosol.util.extractor;
+
+import com.tangosol.io.ExternalizableLite;
+
+import com.tangosol.io.pof.PofReader;
+import com.tangosol.io.pof.PofWriter;
+import com.tangosol.io.pof.PortableObject;
+
+import com.tangosol.net.BackingMapContext;
+
+import com.tangosol.util.BitmapMapIndex;
+import com.tangosol.util.KeyOrdinals;
+import com.tangosol.util.MapIndex;
+import com.tangosol.util.ValueExtractor;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import java.util.Comparator;
+import java.util.Map;
+
+import jakarta.json.bind.annotation.JsonbProperty;
+
+/**
+* An IndexAwareExtractor implementation that is only used to create a
+* {@link BitmapMapIndex}, which stores the keys associated with each indexed
+* value as a bitmap.
+* <p>
+* All the bitmap indexes of a partition share the same key ordinals, so the
+* filters that combine conditions on several attributes, such as
+* {@link com.tangosol.util.filter.AllFilter}, can intersect the bitmaps of
+* the indexes directly. Bitmap indexes are most effective for attributes
+* with a relatively small number of distinct values, each of which is
+* associated with a large number of keys.
+* <p>
+* Note: the underlying ValueExtractor is used for value extraction during
+* index creation and is the extractor that is associated with the created
+* {@link BitmapMapIndex} in the given index map, so the index is used by the
+* filters that use the underlying extractor. Using the BitmapExtractor to
+* extract values in not supported.
+* <p>
+* For example, to create bitmap indexes for the {@code status} and
+* {@code region} attributes of an {@code Order}:
+* <pre>
+*   cache.addIndex(new BitmapExtractor&lt;&gt;(Order::getStatus));
+*   cache.addIndex(new BitmapExtractor&lt;&gt;(Order::getRegion));
+* </pre>
+*
+* @param <T>  the type of the value to extract from
+* @param <E>  the type of value that will be extracted
+*
+* @since 25.09
+*/
+public class BitmapExtractor<T, E>
+        extends AbstractExtractor<T, E>
+        implements IndexAwareExtractor<T, E>, ExternalizableLite, PortableObject
+    {
+    // ----- constructors ---------------------------------------------------
+
+    /**
+    * Default constructor (necessary for the ExternalizableLite interface).
+    */
+    public BitmapExtractor()
+        {
+        }
+
+    /**
+    * Construct the BitmapExtractor.
+    *
+    * @param extractor  the extractor used by this extractor to create a
+    *                   {@link BitmapMapIndex}; Note that the created index
+    *                   will be associated with this extractor in the given
+    *                   index map; must not be null
+    */
+    public BitmapExtractor(ValueExtractor<T, E> extractor)
+        {
+        azzert(extractor != null, "Extractor must not be null");
+
+        m_extractor = extractor;
+        }
+
+
+    // ----- IndexAwareExtractor interface ----------------------------------
+
+    /**
+    * {@inheritDoc}
+    * <p>
+    * The created index shares the key ordinals with the other bitmap indexes
+    * in the given index map.
+    */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public MapIndex createIndex(boolean fOrdered, Comparator comparator,
+            Map<ValueExtractor<T, E>, MapIndex> mapIndex, BackingMapContext ctx)
+        {
+        ValueExtractor extractor = m_extractor;
+        MapIndex       index     = mapIndex.get(extractor);
+
+        if (index != null)
+            {
+            if (index instanceof BitmapMapIndex)
+                {
+                return null;
+                }
+            throw new IllegalArgumentException(
+                    "Repetitive addIndex call for " + this);
+            }
+
+        KeyOrdinals ordinals = null;
+        for (MapIndex indexOther : mapIndex.values())
+            {
+            if (indexOther instanceof BitmapMapIndex)
+                {
+                ordinals = ((BitmapMapIndex) indexOther).getKeyOrdinals();
+                break;
+                }
+            }
+
+        BitmapMapIndex indexNew = new BitmapMapIndex(extractor, fOrdered, comparator, ctx,
+                ordinals == null ? new KeyOrdinals() : ordinals);
+
+        mapIndex.put(extractor, indexNew);
+        return indexNew;
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public MapIndex destroyIndex(Map<ValueExtractor<T, E>, MapIndex> mapIndex)
+        {
+        MapIndex index = mapIndex.remove(m_extractor);
+        if (index instanceof BitmapMapIndex)
+            {
+            // the key ordinals may still be used by the other indexes
+            ((BitmapMapIndex) index).release();
+            }
+        return index;
+        }
+
+
+    // ---- accessors -------------------------------------------------------
+
+    /**
+    * Return the underlying extractor.
+    *
+    * @return the underlying extractor
+    */
+    public ValueExtractor<T, E> getExtractor()
+        {
+        return m_extractor;
+        }
+
+
+    // ----- ValueExtractor interface ---------------------------------------
+
+    /**
+    * Using a BitmapExtractor to extract values in not supported.
+    *
+    * @throws UnsupportedOperationException always
+    */
+    public E extract(Object oTarget)
+        {
+        throw new UnsupportedOperationException(
+            "BitmapExtractor may not be used as an extractor.");
+        }
+
+
+    // ----- ExternalizableLite interface -----------------------------------
+
+    /**
+    * {@inheritDoc}
+    */
+    public void readExternal(DataInput in)
+            throws IOException
+        {
+        m_extractor = readObject(in);
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public void writeExternal(DataOutput out)
+            throws IOException
+        {
+        writeObject(out, m_extractor);
+        }
+
+
+    // ----- PortableObject interface ---------------------------------------
+
+    /**
+    * {@inheritDoc}
+    */
+    public void readExternal(PofReader in)
+            throws IOException
+        {
+        m_extractor = in.readObject(0);
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public void writeExternal(PofWriter out)
+            throws IOException
+        {
+        out.writeObject(0, m_extractor);
+        }
+
+
+    // ----- Object methods -------------------------------------------------
+
+    /**
+    * {@inheritDoc}
+    */
+    public boolean equals(Object o)
+        {
+        if (o instanceof BitmapExtractor)
+            {
+            BitmapExtractor that = (BitmapExtractor) o;
+            return equals(m_extractor, that.m_extractor);
+            }
+
+        return false;
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public int hashCode()
+        {
+        return m_extractor.hashCode();
+        }
+
+    /**
+    * Return a human-readable description for this BitmapExtractor.
+    *
+    * @return a String description of the BitmapExtractor
+    */
+    public String toString()
+        {
+        return "BitmapExtractor(extractor=" + m_extractor + ")";
+        }
+
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+    * The underlying extractor.
+    */
+    @JsonbProperty("extractor")
+    protected ValueExtractor<T, E> m_extractor;
+    }
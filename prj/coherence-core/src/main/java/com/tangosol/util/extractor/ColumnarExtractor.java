@@ -0,0 +1,306 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.tangosol.util.extractor;
+
+import com.tangosol.io.ExternalizableLite;
+
+import com.tangosol.io.pof.PofReader;
+import com.tangosol.io.pof.PofWriter;
+import com.tangosol.io.pof.PortableObject;
+
+import com.tangosol.net.BackingMapContext;
+
+import com.tangosol.util.ColumnarMapIndex;
+import com.tangosol.util.MapIndex;
+import com.tangosol.util.ValueExtractor;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import java.util.Comparator;
+import java.util.Map;
+
+import jakarta.json.bind.annotation.JsonbProperty;
+
+/**
+* An IndexAwareExtractor implementation that is only used to create a
+* {@link ColumnarMapIndex} for an attribute of a primitive type.
+* <p>
+* Note: the underlying ValueExtractor is used for value extraction during
+* index creation and is the extractor that is associated with the created
+* {@link ColumnarMapIndex} in the given index map, so the index is used by
+* the filters that use the underlying extractor. Using the ColumnarExtractor
+* to extract values in not supported.
+* <p>
+* For example, to index the {@code age} attribute of a {@code Person}:
+* <pre>
+*   cache.addIndex(ColumnarExtractor.ofInt(Person::getAge));
+* </pre>
+*
+* @param <T>  the type of the value to extract from
+* @param <E>  the type of value that will be extracted
+*
+* @since 25.09
+*/
+public class ColumnarExtractor<T, E extends Number>
+        extends AbstractExtractor<T, E>
+        implements IndexAwareExtractor<T, E>, ExternalizableLite, PortableObject
+    {
+    // ----- constructors ---------------------------------------------------
+
+    /**
+    * Default constructor (necessary for the ExternalizableLite interface).
+    */
+    public ColumnarExtractor()
+        {
+        }
+
+    /**
+    * Construct the ColumnarExtractor.
+    *
+    * @param extractor  the extractor used by this extractor to create a
+    *                   {@link ColumnarMapIndex}; Note that the created index
+    *                   will be associated with this extractor in the given
+    *                   index map; must not be null
+    * @param type       the type of the values returned by the extractor;
+    *                   must not be null
+    */
+    public ColumnarExtractor(ValueExtractor<T, E> extractor, ColumnarMapIndex.Type type)
+        {
+        azzert(extractor != null && type != null,
+               "Extractor and type must not be null");
+
+        m_extractor = extractor;
+        m_type      = type;
+        }
+
+
+    // ----- factory methods ------------------------------------------------
+
+    /**
+    * Return a ColumnarExtractor for an {@code int} attribute.
+    *
+    * @param extractor  the extractor for the attribute
+    * @param <T>        the type of the value to extract from
+    *
+    * @return a ColumnarExtractor for an {@code int} attribute
+    */
+    public static <T> ColumnarExtractor<T, Integer> ofInt(ValueExtractor<T, Integer> extractor)
+        {
+        return new ColumnarExtractor<>(extractor, ColumnarMapIndex.Type.INT);
+        }
+
+    /**
+    * Return a ColumnarExtractor for a {@code long} attribute.
+    *
+    * @param extractor  the extractor for the attribute
+    * @param <T>        the type of the value to extract from
+    *
+    * @return a ColumnarExtractor for a {@code long} attribute
+    */
+    public static <T> ColumnarExtractor<T, Long> ofLong(ValueExtractor<T, Long> extractor)
+        {
+        return new ColumnarExtractor<>(extractor, ColumnarMapIndex.Type.LONG);
+        }
+
+    /**
+    * Return a ColumnarExtractor for a {@code double} attribute.
+    *
+    * @param extractor  the extractor for the attribute
+    * @param <T>        the type of the value to extract from
+    *
+    * @return a ColumnarExtractor for a {@code double} attribute
+    */
+    public static <T> ColumnarExtractor<T, Double> ofDouble(ValueExtractor<T, Double> extractor)
+        {
+        return new ColumnarExtractor<>(extractor, ColumnarMapIndex.Type.DOUBLE);
+        }
+
+
+    // ----- IndexAwareExtractor interface ----------------------------------
+
+    /**
+    * {@inheritDoc}
+    * <p>
+    * A {@link ColumnarMapIndex} is always ordered by the natural ordering of
+    * the indexed values, so the specified comparator must be {@code null}.
+    */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public MapIndex createIndex(boolean fOrdered, Comparator comparator,
+            Map<ValueExtractor<T, E>, MapIndex> mapIndex, BackingMapContext ctx)
+        {
+        if (comparator != null)
+            {
+            throw new IllegalArgumentException(
+                    "ColumnarExtractor does not support a custom comparator");
+            }
+
+        ValueExtractor extractor = m_extractor;
+        MapIndex       index     = mapIndex.get(extractor);
+
+        if (index != null)
+            {
+            if (index instanceof ColumnarMapIndex
+              && ((ColumnarMapIndex) index).getType() == m_type)
+                {
+                return null;
+                }
+            throw new IllegalArgumentException(
+                    "Repetitive addIndex call for " + this);
+            }
+
+        ColumnarMapIndex indexNew = new ColumnarMapIndex(extractor, m_type, ctx);
+
+        mapIndex.put(extractor, indexNew);
+        return indexNew;
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public MapIndex destroyIndex(Map<ValueExtractor<T, E>, MapIndex> mapIndex)
+        {
+        return mapIndex.remove(m_extractor);
+        }
+
+
+    // ---- accessors -------------------------------------------------------
+
+    /**
+    * Return the underlying extractor.
+    *
+    * @return the underlying extractor
+    */
+    public ValueExtractor<T, E> getExtractor()
+        {
+        return m_extractor;
+        }
+
+    /**
+    * Return the type of the extracted values.
+    *
+    * @return the type of the extracted values
+    */
+    public ColumnarMapIndex.Type getType()
+        {
+        return m_type;
+        }
+
+
+    // ----- ValueExtractor interface ---------------------------------------
+
+    /**
+    * Using a ColumnarExtractor to extract values in not supported.
+    *
+    * @throws UnsupportedOperationException always
+    */
+    public E extract(Object oTarget)
+        {
+        throw new UnsupportedOperationException(
+            "ColumnarExtractor may not be used as an extractor.");
+        }
+
+
+    // ----- ExternalizableLite interface -----------------------------------
+
+    /**
+    * {@inheritDoc}
+    */
+    public void readExternal(DataInput in)
+            throws IOException
+        {
+        m_extractor = readObject(in);
+        m_type      = ColumnarMapIndex.Type.valueOf(readUTF(in));
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public void writeExternal(DataOutput out)
+            throws IOException
+        {
+        writeObject(out, m_extractor);
+        writeUTF(out, m_type.name());
+        }
+
+
+    // ----- PortableObject interface ---------------------------------------
+
+    /**
+    * {@inheritDoc}
+    */
+    public void readExternal(PofReader in)
+            throws IOException
+        {
+        m_extractor = in.readObject(0);
+        m_type      = ColumnarMapIndex.Type.valueOf(in.readString(1));
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public void writeExternal(PofWriter out)
+            throws IOException
+        {
+        out.writeObject(0, m_extractor);
+        out.writeString(1, m_type.name());
+        }
+
+
+    // ----- Object methods -------------------------------------------------
+
+    /**
+    * {@inheritDoc}
+    */
+    public boolean equals(Object o)
+        {
+        if (o instanceof ColumnarExtractor)
+            {
+            ColumnarExtractor that = (ColumnarExtractor) o;
+            return equals(m_extractor, that.m_extractor) &&
+                m_type == that.m_type;
+            }
+
+        return false;
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public int hashCode()
+        {
+        return m_extractor.hashCode() ^ m_type.hashCode();
+        }
+
+    /**
+    * Return a human-readable description for this ColumnarExtractor.
+    *
+    * @return a String description of the ColumnarExtractor
+    */
+    public String toString()
+        {
+        return "ColumnarExtractor" +
+            "(extractor=" + m_extractor + ", type=" + m_type + ")";
+        }
+
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+    * The underlying extractor.
+    */
+    @JsonbProperty("extractor")
+    protected ValueExtractor<T, E> m_extractor;
+
+    /**
+    * The type of the extracted values.
+    */
+    @JsonbProperty("type")
+    protected ColumnarMapIndex.Type m_type;
+    }
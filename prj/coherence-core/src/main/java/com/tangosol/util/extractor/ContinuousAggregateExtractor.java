@@ -0,0 +1,294 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.tangosol.util.extractor;
+
+import com.tangosol.internal.util.invoke.Lambdas;
+
+import com.tangosol.io.ExternalizableLite;
+
+import com.tangosol.io.pof.PofReader;
+import com.tangosol.io.pof.PofWriter;
+import com.tangosol.io.pof.PortableObject;
+
+import com.tangosol.net.BackingMapContext;
+
+import com.tangosol.util.ContinuousAggregateIndex;
+import com.tangosol.util.Filter;
+import com.tangosol.util.MapIndex;
+import com.tangosol.util.ValueExtractor;
+
+import com.tangosol.util.aggregator.ContinuousAggregator;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import java.util.Comparator;
+import java.util.Map;
+
+import jakarta.json.bind.annotation.JsonbProperty;
+
+/**
+* An IndexAwareExtractor implementation that is only used to register a
+* continuous aggregate, i.e. a {@link ContinuousAggregateIndex} that keeps the
+* count, sum and average of the values of the entries that match a filter,
+* grouped by the value of an attribute.
+* <p>
+* The index is maintained incrementally by each storage member as the entries
+* of its partitions change, and is rebuilt like any other index when a
+* partition is transferred. The current value of the aggregate is obtained by
+* a {@link ContinuousAggregator}, which merges the per-partition states
+* instead of scanning the entries:
+* <pre>
+*   ContinuousAggregateExtractor&lt;Trade, String&gt; extractor =
+*           new ContinuousAggregateExtractor&lt;&gt;(Trade::getSymbol, Trade::getPrice, null);
+*
+*   cache.addIndex(extractor);
+*   ...
+*   Map&lt;String, ContinuousAggregator.Summary&gt; map = cache.aggregate(new ContinuousAggregator&lt;&gt;(extractor));
+* </pre>
+* Note: the created index is associated with this extractor in the given
+* index map. Using the ContinuousAggregateExtractor to extract values in not
+* supported.
+*
+* @param <T>  the type of the value to extract from
+* @param <G>  the type of the group keys
+*
+* @since 25.09
+*/
+public class ContinuousAggregateExtractor<T, G>
+        extends AbstractExtractor<T, Object>
+        implements IndexAwareExtractor<T, Object>, ExternalizableLite, PortableObject
+    {
+    // ----- constructors ---------------------------------------------------
+
+    /**
+    * Default constructor (necessary for the ExternalizableLite interface).
+    */
+    public ContinuousAggregateExtractor()
+        {
+        }
+
+    /**
+    * Construct the ContinuousAggregateExtractor.
+    *
+    * @param extractorGroup  the extractor that provides the group keys, or
+    *                        <tt>null</tt> to aggregate all the entries into
+    *                        a single group with a <tt>null</tt> key
+    * @param extractorValue  the extractor that provides the {@link Number}
+    *                        values to sum, or <tt>null</tt> to only count the
+    *                        entries
+    * @param filter          the filter that selects the entries to aggregate,
+    *                        or <tt>null</tt> to aggregate all the entries
+    */
+    public ContinuousAggregateExtractor(ValueExtractor<? super T, ? extends G> extractorGroup,
+            ValueExtractor<? super T, ? extends Number> extractorValue, Filter<?> filter)
+        {
+        m_extractorGroup = extractorGroup == null ? null : Lambdas.ensureRemotable(extractorGroup);
+        m_extractorValue = extractorValue == null ? null : Lambdas.ensureRemotable(extractorValue);
+        m_filter         = filter;
+        }
+
+
+    // ----- IndexAwareExtractor interface ----------------------------------
+
+    /**
+    * {@inheritDoc}
+    * <p>
+    * A {@link ContinuousAggregateIndex} can't be used to order the entries,
+    * so the specified comparator must be {@code null}.
+    */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public MapIndex createIndex(boolean fOrdered, Comparator comparator,
+            Map<ValueExtractor<T, Object>, MapIndex> mapIndex, BackingMapContext ctx)
+        {
+        if (comparator != null)
+            {
+            throw new IllegalArgumentException(
+                    "ContinuousAggregateExtractor does not support a comparator");
+            }
+
+        if (mapIndex.get(this) != null)
+            {
+            return null;
+            }
+
+        ContinuousAggregateIndex indexNew = new ContinuousAggregateIndex(this, ctx);
+
+        mapIndex.put(this, indexNew);
+        return indexNew;
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public MapIndex destroyIndex(Map<ValueExtractor<T, Object>, MapIndex> mapIndex)
+        {
+        return mapIndex.remove(this);
+        }
+
+
+    // ---- accessors -------------------------------------------------------
+
+    /**
+    * Return the extractor that provides the group keys.
+    *
+    * @return the extractor that provides the group keys, or <tt>null</tt> if
+    *         all the entries are aggregated into a single group
+    */
+    public ValueExtractor<? super T, ? extends G> getGroupExtractor()
+        {
+        return m_extractorGroup;
+        }
+
+    /**
+    * Return the extractor that provides the values to sum.
+    *
+    * @return the extractor that provides the values to sum, or <tt>null</tt>
+    *         if the entries are only counted
+    */
+    public ValueExtractor<? super T, ? extends Number> getValueExtractor()
+        {
+        return m_extractorValue;
+        }
+
+    /**
+    * Return the filter that selects the entries to aggregate.
+    *
+    * @return the filter that selects the entries to aggregate, or
+    *         <tt>null</tt> if all the entries are aggregated
+    */
+    public Filter<?> getFilter()
+        {
+        return m_filter;
+        }
+
+
+    // ----- ValueExtractor interface ---------------------------------------
+
+    /**
+    * Using a ContinuousAggregateExtractor to extract values in not supported.
+    *
+    * @throws UnsupportedOperationException always
+    */
+    public Object extract(Object oTarget)
+        {
+        throw new UnsupportedOperationException(
+            "ContinuousAggregateExtractor may not be used as an extractor.");
+        }
+
+
+    // ----- ExternalizableLite interface -----------------------------------
+
+    /**
+    * {@inheritDoc}
+    */
+    public void readExternal(DataInput in)
+            throws IOException
+        {
+        m_extractorGroup = readObject(in);
+        m_extractorValue = readObject(in);
+        m_filter         = readObject(in);
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public void writeExternal(DataOutput out)
+            throws IOException
+        {
+        writeObject(out, m_extractorGroup);
+        writeObject(out, m_extractorValue);
+        writeObject(out, m_filter);
+        }
+
+
+    // ----- PortableObject interface ---------------------------------------
+
+    /**
+    * {@inheritDoc}
+    */
+    public void readExternal(PofReader in)
+            throws IOException
+        {
+        m_extractorGroup = in.readObject(0);
+        m_extractorValue = in.readObject(1);
+        m_filter         = in.readObject(2);
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public void writeExternal(PofWriter out)
+            throws IOException
+        {
+        out.writeObject(0, m_extractorGroup);
+        out.writeObject(1, m_extractorValue);
+        out.writeObject(2, m_filter);
+        }
+
+
+    // ----- Object methods -------------------------------------------------
+
+    /**
+    * {@inheritDoc}
+    */
+    public boolean equals(Object o)
+        {
+        if (o instanceof ContinuousAggregateExtractor)
+            {
+            ContinuousAggregateExtractor that = (ContinuousAggregateExtractor) o;
+            return equals(m_extractorGroup, that.m_extractorGroup) &&
+                equals(m_extractorValue, that.m_extractorValue) &&
+                equals(m_filter, that.m_filter);
+            }
+
+        return false;
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public int hashCode()
+        {
+        return hashCode(m_extractorGroup) ^ hashCode(m_extractorValue) ^ hashCode(m_filter);
+        }
+
+    /**
+    * Return a human-readable description for this ContinuousAggregateExtractor.
+    *
+    * @return a String description of the ContinuousAggregateExtractor
+    */
+    public String toString()
+        {
+        return "ContinuousAggregateExtractor" +
+            "(group=" + m_extractorGroup + ", value=" + m_extractorValue +
+            ", filter=" + m_filter + ")";
+        }
+
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+    * The extractor that provides the group keys.
+    */
+    @JsonbProperty("groupExtractor")
+    protected ValueExtractor<? super T, ? extends G> m_extractorGroup;
+
+    /**
+    * The extractor that provides the values to sum.
+    */
+    @JsonbProperty("valueExtractor")
+    protected ValueExtractor<? super T, ? extends Number> m_extractorValue;
+
+    /**
+    * The filter that selects the entries to aggregate.
+    */
+    @JsonbProperty("filter")
+    protected Filter<?> m_filter;
+    }
@@ -14,8 +14,10 @@ import com.tangosol.io.pof.PofReader;
 import com.tangosol.io.pof.PofWriter;
 import com.tangosol.io.pof.PortableObject;
 import com.tangosol.io.pof.PofConstants;
+import com.tangosol.io.pof.Utf8CharSequence;
 
 import com.tangosol.io.pof.reflect.PofNavigator;
+import com.tangosol.io.pof.reflect.PofSparseArray;
 import com.tangosol.io.pof.reflect.PofValue;
 import com.tangosol.io.pof.reflect.PofValueParser;
 import com.tangosol.io.pof.reflect.SimplePofPath;
@@ -30,6 +32,8 @@ import com.tangosol.util.ValueExtractor;
 import java.io.IOException;
 import java.io.NotActiveException;
 
+import java.lang.ref.WeakReference;
+
 import java.util.Map;
 
 
@@ -207,7 +211,35 @@ public class PofExtractor<T, E>
     */
     public E extractFromEntry(Map.Entry entry)
         {
-        return extractInternal(entry, m_nTarget);
+        return (E) extractInternal(entry, m_nTarget, false);
+        }
+
+    /**
+    * Extract the value from the passed Entry object, leaving the String
+    * value encoded.
+    * <p>
+    * This method is the same as the {@link #extractFromEntry} method, except
+    * that if the extracted value is a UTF-8 encoded String (and this
+    * extractor either infers the type or extracts a String), the value is
+    * returned as the {@link Utf8CharSequence} over the serialized form of the
+    * entry. The sequence can be compared with other strings without
+    * decoding the characters, but it must not be retained after the entry's
+    * binary value has changed.
+    *
+    * @param entry  an Entry object to extract a value from
+    *
+    * @return the extracted value, or the Utf8CharSequence representing the
+    *         extracted String
+    *
+    * @throws UnsupportedOperationException if the specified Entry is not
+    *         a POF-encoded {@link BinaryEntry} or the serializer is not
+    *         a PofContext
+    *
+    * @since 25.09
+    */
+    public Object extractEncodedFromEntry(Map.Entry entry)
+        {
+        return extractInternal(entry, m_nTarget, true);
         }
 
     /*
@@ -220,13 +252,13 @@ public class PofExtractor<T, E>
     */
     public E extractOriginalFromEntry(MapTrigger.Entry entry)
         {
-        return extractInternal(entry, m_nTarget == KEY ? KEY : -1);
+        return (E) extractInternal(entry, m_nTarget == KEY ? KEY : -1, false);
         }
 
     /**
     * Implementation of the extract* methods.
     */
-    private E extractInternal(Map.Entry entry, int nTarget)
+    private Object extractInternal(Map.Entry entry, int nTarget, boolean fEncoded)
         {
         BinaryEntry binEntry;
         PofContext  ctx;
@@ -265,11 +297,20 @@ public class PofExtractor<T, E>
             return null;
             }
 
-        PofValue valueRoot   = PofValueParser.parse(binTarget, ctx);
+        PofValue valueRoot   = parse(binTarget, ctx);
         PofValue valueTarget = m_navigator.navigate(valueRoot);
 
         // be tolerant to a missing target (similar to ReflectionExtractor)
-        return (E) (valueTarget == null ? null : valueTarget.getValue(getPofTypeId(ctx)));
+        if (valueTarget == null)
+            {
+            return null;
+            }
+
+        int nType = getPofTypeId(ctx);
+        return fEncoded && valueTarget.getTypeId() == PofConstants.T_CHAR_STRING
+                    && (nType == PofConstants.T_UNKNOWN || nType == PofConstants.T_CHAR_STRING)
+               ? valueTarget.getCharSequence()
+               : valueTarget.getValue(nType);
         }
 
     @Override
@@ -440,6 +481,73 @@ public class PofExtractor<T, E>
         return clz == null ? m_nType : PofHelper.getPofTypeId(clz, ctx);
         }
 
+    /**
+    * Parse the specified POF-encoded Binary, reusing the offsets of the
+    * properties navigated by the previous calls on the calling thread if
+    * they were made for the same Binary.
+    * <p>
+    * The filters and aggregators evaluate all their extractors against an
+    * entry before moving to the next one, so this allows all the extractors
+    * to share the offsets of the properties navigated so far. As a result, a
+    * value is scanned at most once, regardless of the number of the
+    * extractors and the order of the properties they extract. Only the
+    * offsets are shared; each call returns a newly parsed value, so the
+    * deserialized properties are never shared between the extractors.
+    *
+    * @param bin  the POF-encoded Binary
+    * @param ctx  the PofContext
+    *
+    * @return the parsed PofValue
+    */
+    protected static PofValue parse(Binary bin, PofContext ctx)
+        {
+        PofValue value = PofValueParser.parse(bin, ctx);
+        if (value instanceof PofSparseArray)
+            {
+            ParsedOffsets parsed = s_tloOffsets.get();
+            if (parsed.m_refBinary.get() != bin)
+                {
+                parsed.m_refBinary = new WeakReference<>(bin);
+                parsed.m_offsets   = ((PofSparseArray) value).getOffsets();
+                }
+            else
+                {
+                ((PofSparseArray) value).setOffsets(parsed.m_offsets);
+                }
+            }
+        return value;
+        }
+
+
+    // ----- inner class: ParsedOffsets -------------------------------------
+
+    /**
+    * The offsets of the properties navigated within the Binary most recently
+    * parsed by the thread.
+    */
+    private static class ParsedOffsets
+        {
+        /**
+        * The parsed Binary; weakly referenced, so that it is not retained
+        * by the thread.
+        */
+        private WeakReference<Binary> m_refBinary = new WeakReference<>(null);
+
+        /**
+        * The offsets of the navigated properties.
+        */
+        private PofSparseArray.Offsets m_offsets;
+        }
+
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+    * The offsets of the properties navigated within the Binary most recently
+    * parsed by the calling thread.
+    */
+    private static final ThreadLocal<ParsedOffsets> s_tloOffsets = ThreadLocal.withInitial(ParsedOffsets::new);
+
 
     // ----- data members ---------------------------------------------------
 
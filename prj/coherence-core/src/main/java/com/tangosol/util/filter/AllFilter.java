@@ -8,7 +8,11 @@
 package com.tangosol.util.filter;
 
 
+import com.tangosol.internal.util.IndexBitmaps;
+
 import com.tangosol.util.Filter;
+import com.tangosol.util.KeyBitmap;
+import com.tangosol.util.KeyOrdinals;
 import com.tangosol.util.QueryContext;
 import com.tangosol.util.QueryRecord;
 
@@ -143,6 +147,28 @@ public class AllFilter
         Filter<?>[]     aFilter    = getFilters();
         int             cFilters   = aFilter.length;
         List<Filter<?>> listFilter = new ArrayList<>(cFilters);
+        KeyOrdinals     ordinals   = ctx == null ? IndexBitmaps.getOrdinals(mapIndexes, aFilter) : null;
+
+        if (ordinals != null)
+            {
+            // intersect the bitmaps of the filters that use the bitmap
+            // indexes, and only apply the remaining filters to the keys
+            // that match all of them
+            List<Filter<?>> listRemain = new ArrayList<>(cFilters);
+            KeyBitmap       bitmap     = IndexBitmaps.evaluateAll(aFilter, mapIndexes, ordinals, listRemain);
+
+            if (bitmap != null)
+                {
+                IndexBitmaps.retain(setKeys, bitmap, ordinals);
+                if (setKeys.isEmpty())
+                    {
+                    return null;
+                    }
+
+                aFilter  = listRemain.toArray(Filter[]::new);
+                cFilters = aFilter.length;
+                }
+            }
 
         // listFilter is an array of filters that will have to be re-applied
 
@@ -8,8 +8,12 @@
 package com.tangosol.util.filter;
 
 
+import com.tangosol.internal.util.IndexBitmaps;
+
 import com.tangosol.util.ChainedCollection;
 import com.tangosol.util.Filter;
+import com.tangosol.util.KeyBitmap;
+import com.tangosol.util.KeyOrdinals;
 import com.tangosol.util.QueryContext;
 import com.tangosol.util.QueryRecord;
 import com.tangosol.util.SubSet;
@@ -157,6 +161,19 @@ public class AnyFilter
 
         Filter[]        aFilter    = getFilters();
         int             cFilters   = aFilter.length;
+        KeyOrdinals     ordinals   = ctx == null ? IndexBitmaps.getOrdinals(mapIndexes, aFilter) : null;
+
+        if (ordinals != null)
+            {
+            // unite the bitmaps of the filters if all of them use the
+            // bitmap indexes
+            KeyBitmap bitmap = IndexBitmaps.evaluate(this, mapIndexes, ordinals);
+            if (bitmap != null)
+                {
+                IndexBitmaps.retain(setKeys, bitmap, ordinals);
+                return null;
+                }
+            }
 
         // a list of filters that will have to be re-applied
         List<Filter<?>> listFilter = new ArrayList<>(cFilters);
@@ -8,6 +8,8 @@
 package com.tangosol.util.filter;
 
 
+import com.tangosol.internal.util.FilterPlanner;
+
 import com.tangosol.io.ExternalizableLite;
 
 import com.tangosol.io.pof.PofReader;
@@ -134,11 +136,18 @@ public abstract class ArrayFilter
     */
     public void explain(QueryContext ctx, QueryRecord.PartialResult.ExplainStep step, Set setKeys)
         {
-        optimizeFilterOrder(ctx.getBackingMapContext().getIndexMap(), setKeys);
+        Map mapIndexes = ctx.getBackingMapContext().getIndexMap();
+
+        optimizeFilterOrder(mapIndexes, setKeys);
+
+        // record the estimated cost of each filter in the plan that ordered
+        // the filters, unless the filter has recorded its own
+        FilterPlanner.Plan plan = m_fOptimized ? null : f_planOptimized.get();
 
         Filter<?>[] aFilter = getFilters();
-        for (Filter filter : aFilter)
+        for (int i = 0, c = aFilter.length; i < c; i++)
             {
+            Filter                                filter  = aFilter[i];
             QueryRecord.PartialResult.ExplainStep subStep = step.ensureStep(filter);
 
             QueryRecorderFilter filterRecorder = filter instanceof QueryRecorderFilter
@@ -146,6 +155,11 @@ public abstract class ArrayFilter
                     : new WrapperQueryRecorderFilter(filter);
 
             filterRecorder.explain(ctx, subStep, setKeys);
+
+            if (plan != null && subStep.getEfficiency() == 0)
+                {
+                subStep.recordEfficiency(plan.getCost(i));
+                }
             }
         }
 
@@ -248,7 +262,13 @@ public abstract class ArrayFilter
     // ----- internal helpers -----------------------------------------------
 
     /**
-    * Sort all the participating filters according to their effectiveness.
+    * Sort all the participating filters according to their estimated cost.
+    * <p>
+    * The order is determined by the {@link FilterPlanner}, which uses the
+    * statistics kept by the indexes to estimate the selectivity of each
+    * filter, and caches the chosen plan. As the optimal order may be
+    * different for each partition, the order is determined every time the
+    * filter is applied, unless the order has been {@link #honorOrder fixed}.
     *
     * @param mapIndexes  the available MapIndex objects keyed by
     *                    the related ValueExtractor; read-only
@@ -261,34 +281,11 @@ public abstract class ArrayFilter
             return;
             }
 
-        int              cFilters  = m_aFilter.length;
-        WeightedFilter[] aWeighted = new WeightedFilter[cFilters];
-        Filter<?>[]      aFilter   = new Filter[cFilters];
-        int              nMax      = setKeys.size() * ExtractorFilter.EVAL_COST;
-        int              nPos      = 0;
-
-        for (Filter<?> filter : m_aFilter)
-            {
-            int nEffect = filter instanceof IndexAwareFilter
-                ? ((IndexAwareFilter) filter).calculateEffectiveness(mapIndexes, setKeys)
-                : nMax;
+        Filter<?>[]        aFilter = m_aFilter;
+        FilterPlanner.Plan plan    = FilterPlanner.plan(this, aFilter, mapIndexes, setKeys);
 
-            if (nEffect < 0)   // there is no index to apply
-                {
-                nEffect = nMax;
-                }
-
-            aWeighted[nPos++] = new WeightedFilter(filter, nEffect);
-            }
-
-        Arrays.sort(aWeighted);
-        for (int i = 0; i < cFilters; i++)
-            {
-            aFilter[i] = aWeighted[i].getFilter();
-            }
-
-        f_aFilterOptimized.set(aFilter);
-        m_fOptimized = true;
+        f_planOptimized.set(plan);
+        f_aFilterOptimized.set(plan.order(aFilter));
         }
 
     /**
@@ -582,7 +579,7 @@ public abstract class ArrayFilter
     private Filter<?>[] m_aFilter;
 
     /**
-    * Flag indicating whether the filter has been optimized.
+    * Flag indicating whether the order of the filters is fixed.
     */
     @JsonbProperty("optimized")
     private volatile boolean m_fOptimized;
@@ -596,4 +593,10 @@ public abstract class ArrayFilter
      *           (which is why we need this to be a thread-local, and not just a normal field).
      */
     private final transient ThreadLocal<Filter<?>[]> f_aFilterOptimized = new ThreadLocal<>();
+
+    /**
+     * The (thread-local) plan that determined the order of the
+     * {@link #f_aFilterOptimized optimized filters}.
+     */
+    private final transient ThreadLocal<FilterPlanner.Plan> f_planOptimized = new ThreadLocal<>();
     }
@@ -9,6 +9,7 @@ package com.tangosol.util.filter;
 
 import com.tangosol.internal.util.FilterHelper;
 
+import com.tangosol.util.ColumnarIndex;
 import com.tangosol.util.Filter;
 import com.tangosol.util.InvocableMapHelper;
 import com.tangosol.util.MapIndex;
@@ -265,6 +266,14 @@ public class BetweenFilter<T, E extends Comparable<? super E>>
             // there is no relevant index; evaluate individual entries
             return this;
             }
+        else if (index instanceof ColumnarIndex && ((ColumnarIndex) index).isComparable(getLowerBound())
+                 && ((ColumnarIndex) index).isComparable(getUpperBound()))
+            {
+            // probe the column for each candidate key
+            ((ColumnarIndex) index).retain(setKeys, getLowerBound(), isLowerBoundInclusive(),
+                    getUpperBound(), isUpperBoundInclusive());
+            return null;
+            }
         else if (index.getIndexContents().isEmpty())
             {
             // there are no entries in the index, which means no entries match this filter
@@ -308,6 +317,14 @@ public class BetweenFilter<T, E extends Comparable<? super E>>
             return -1;
             }
 
+        if (index instanceof ColumnarIndex && ((ColumnarIndex) index).isComparable(getLowerBound())
+                && ((ColumnarIndex) index).isComparable(getUpperBound()))
+            {
+            // count the matching entries directly against the column
+            return ((ColumnarIndex) index).count(getLowerBound(), isLowerBoundInclusive(),
+                    getUpperBound(), isUpperBoundInclusive());
+            }
+
         Map<E, Set<?>> mapContents = index.getIndexContents();
         int cMatch = 0;
         if (mapContents instanceof NavigableMap)
@@ -0,0 +1,277 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.tangosol.util.filter;
+
+
+import com.tangosol.internal.util.filter.CompiledPredicate;
+import com.tangosol.internal.util.filter.FilterCompiler;
+
+import com.tangosol.io.ExternalizableLite;
+
+import com.tangosol.io.pof.PofReader;
+import com.tangosol.io.pof.PofWriter;
+import com.tangosol.io.pof.PortableObject;
+
+import com.tangosol.util.ExternalizableHelper;
+import com.tangosol.util.Filter;
+import com.tangosol.util.InvocableMapHelper;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import java.util.Map;
+import java.util.Set;
+
+import jakarta.json.bind.annotation.JsonbProperty;
+
+
+/**
+* Filter which evaluates another filter against the entries using the code
+* generated for the class of the entry values.
+* <p>
+* When the wrapped filter is first evaluated against an entry, it is compiled
+* by the {@link FilterCompiler} into a predicate specific to the class of the
+* entry value: the composite filters become boolean expressions, the
+* comparison filters become direct comparisons (without boxing the primitive
+* values), and the reflection-based extractors become direct invocations of
+* the accessor methods. The parts of the filter that cannot be compiled, as
+* well as the entries with the values of any other class, are evaluated by
+* the wrapped filter itself, so the results are always the same as the results
+* of the wrapped filter.
+* <p>
+* The generated classes are shared by all the filters of the same structure,
+* regardless of the values they compare with, so this filter is intended to be
+* used for the queries that cannot be resolved by the indexes and have to
+* scan a large number of entries. The indexes are applied by the wrapped
+* filter as usual.
+* <p>
+* For example:
+* <pre>
+* Filter filter = Filters.compiled(Filters.equal(Person::getCity, "Boston")
+*                                         .and(Filters.greater(Person::getAge, 21)));
+* </pre>
+*
+* @param <T>  the type of the input argument to the filter
+*
+* @since 25.09
+*/
+public class CompiledFilter<T>
+        extends    ExternalizableHelper
+        implements EntryFilter<Object, T>, IndexAwareFilter<Object, T>, ExternalizableLite, PortableObject
+    {
+    // ----- constructors ---------------------------------------------------
+
+    /**
+    * Default constructor (required by ExternalizableLite interface).
+    */
+    public CompiledFilter()
+        {
+        }
+
+    /**
+    * Construct a CompiledFilter.
+    *
+    * @param filter  the underlying (wrapped) filter
+    */
+    public CompiledFilter(Filter<T> filter)
+        {
+        if (filter == null || filter instanceof CompiledFilter)
+            {
+            throw new IllegalArgumentException("Invalid filter: " + filter);
+            }
+
+        m_filter = filter;
+        }
+
+
+    // ----- Filter interface -----------------------------------------------
+
+    /**
+    * {@inheritDoc}
+    */
+    public boolean evaluate(T o)
+        {
+        return m_filter.evaluate(o);
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public String toExpression()
+        {
+        return m_filter.toExpression();
+        }
+
+
+    // ----- EntryFilter interface ------------------------------------------
+
+    /**
+    * {@inheritDoc}
+    */
+    public boolean evaluateEntry(Map.Entry entry)
+        {
+        CompiledPredicate predicate = m_predicate;
+        if (predicate == null)
+            {
+            Object oValue = entry.getValue();
+            if (oValue == null)
+                {
+                return InvocableMapHelper.evaluateEntry(m_filter, entry);
+                }
+
+            // the predicate is compiled for the class of the first value,
+            // which is the class of all the values in the most common case
+            m_predicate = predicate = FilterCompiler.compile(m_filter, oValue.getClass());
+            }
+
+        return predicate.evaluateEntry(entry);
+        }
+
+
+    // ----- IndexAwareFilter interface -------------------------------------
+
+    /**
+    * {@inheritDoc}
+    */
+    public int calculateEffectiveness(Map mapIndexes, Set setKeys)
+        {
+        Filter filter = m_filter;
+        return filter instanceof IndexAwareFilter
+               ? ((IndexAwareFilter) filter).calculateEffectiveness(mapIndexes, setKeys)
+               : -1;
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public Filter applyIndex(Map mapIndexes, Set setKeys)
+        {
+        Filter filter = m_filter;
+        if (filter instanceof IndexAwareFilter)
+            {
+            Filter filterRemain = ((IndexAwareFilter) filter).applyIndex(mapIndexes, setKeys);
+
+            // the remaining filter is still evaluated using the compiled code
+            return filterRemain == null                   ? null
+                 : filterRemain == filter                 ? this
+                 : filterRemain instanceof CompiledFilter ? filterRemain
+                 : new CompiledFilter<>(filterRemain);
+            }
+
+        return this;
+        }
+
+
+    // ----- ExternalizableLite interface -----------------------------------
+
+    /**
+    * {@inheritDoc}
+    */
+    public void readExternal(DataInput in)
+            throws IOException
+        {
+        m_filter = (Filter<T>) readObject(in);
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public void writeExternal(DataOutput out)
+            throws IOException
+        {
+        writeObject(out, m_filter);
+        }
+
+
+    // ----- PortableObject interface ---------------------------------------
+
+    /**
+    * {@inheritDoc}
+    */
+    public void readExternal(PofReader in)
+            throws IOException
+        {
+        m_filter = (Filter<T>) in.readObject(0);
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public void writeExternal(PofWriter out)
+            throws IOException
+        {
+        out.writeObject(0, m_filter);
+        }
+
+
+    // ----- accessors ------------------------------------------------------
+
+    /**
+    * Obtain the wrapped Filter.
+    *
+    * @return the wrapped filter object
+    */
+    public Filter<T> getFilter()
+        {
+        return m_filter;
+        }
+
+
+    // ----- Object methods -------------------------------------------------
+
+    /**
+    * Compare the CompiledFilter with another object to determine equality.
+    * Two CompiledFilter objects are considered equal iff the wrapped filters
+    * are equal.
+    *
+    * @return true iff this CompiledFilter and the passed object are
+    *         equivalent CompiledFilter objects
+    */
+    public boolean equals(Object o)
+        {
+        return o instanceof CompiledFilter
+            && equals(m_filter, ((CompiledFilter) o).m_filter);
+        }
+
+    /**
+    * Determine a hash value for the CompiledFilter object according to the
+    * general {@link Object#hashCode()} contract.
+    *
+    * @return an integer hash value for this CompiledFilter object
+    */
+    public int hashCode()
+        {
+        return hashCode(m_filter);
+        }
+
+    /**
+    * Return a human-readable description for this Filter.
+    *
+    * @return a String description of the Filter
+    */
+    public String toString()
+        {
+        String sClass = getClass().getName();
+        return sClass.substring(sClass.lastIndexOf('.') + 1) + '(' + m_filter + ')';
+        }
+
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+    * The underlying filter.
+    */
+    @JsonbProperty("filter")
+    private Filter<T> m_filter;
+
+    /**
+    * The predicate compiled for the class of the first evaluated value.
+    */
+    private transient CompiledPredicate m_predicate;
+    }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2000, 2023, Oracle and/or its affiliates.
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
  *
  * Licensed under the Universal Permissive License v 1.0 as shown at
  * https://oss.oracle.com/licenses/upl.
@@ -8,6 +8,8 @@
 package com.tangosol.util.filter;
 
 
+import com.tangosol.io.pof.Utf8CharSequence;
+
 import com.tangosol.util.Filter;
 import com.tangosol.util.MapIndex;
 import com.tangosol.util.ValueExtractor;
@@ -67,6 +69,30 @@ public class EqualsFilter<T, E>
         return "==";
         }
 
+    // ----- EntryFilter interface ------------------------------------------
+
+    /**
+    * {@inheritDoc}
+    * <p>
+    * If the value to compare with is a String, and the extracted value is a
+    * POF-encoded String, the encoded forms of the two values are compared
+    * without decoding the extracted value.
+    */
+    public boolean evaluateEntry(Map.Entry<?, ? extends T> entry)
+        {
+        byte[] abValue = getEncodedValue();
+        if (abValue == null)
+            {
+            return super.evaluateEntry(entry);
+            }
+
+        Object oExtracted = extractEncoded(entry);
+        return oExtracted instanceof Utf8CharSequence
+                ? ((Utf8CharSequence) oExtracted).contentEquals(abValue)
+                : evaluateExtracted((E) oExtracted);
+        }
+
+
     // ----- ExtractorFilter methods ----------------------------------------
 
     /**
@@ -123,4 +149,36 @@ public class EqualsFilter<T, E>
             return null;
             }
         }
+
+
+    // ----- internal methods -----------------------------------------------
+
+    /**
+    * Return the UTF-8 encoded form of the value to compare with.
+    *
+    * @return the encoded value, or null if the value is not a String that
+    *         can be encoded
+    */
+    protected byte[] getEncodedValue()
+        {
+        byte[] abValue = m_abValue;
+        if (abValue == null)
+            {
+            Object oValue = getValue();
+            if (oValue instanceof String)
+                {
+                m_abValue = abValue = Utf8CharSequence.encode((String) oValue);
+                }
+            }
+        return abValue;
+        }
+
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+    * The UTF-8 encoded form of the String value to compare with; null if
+    * the value is not a String, or it has not been encoded yet.
+    */
+    private transient byte[] m_abValue;
     }
@@ -14,7 +14,11 @@ import com.tangosol.io.ExternalizableLite;
 import com.tangosol.io.pof.PofReader;
 import com.tangosol.io.pof.PofWriter;
 import com.tangosol.io.pof.PortableObject;
+import com.tangosol.io.pof.Utf8CharSequence;
 
+import com.tangosol.net.BackingMapContext;
+
+import com.tangosol.util.BinaryEntry;
 import com.tangosol.util.ChainedCollection;
 import com.tangosol.util.Filter;
 import com.tangosol.util.InvocableMapHelper;
@@ -23,6 +27,7 @@ import com.tangosol.util.QueryMap;
 import com.tangosol.util.ValueExtractor;
 
 import com.tangosol.util.extractor.ChainedExtractor;
+import com.tangosol.util.extractor.PofExtractor;
 import com.tangosol.util.extractor.ReflectionExtractor;
 
 import java.io.DataInput;
@@ -151,6 +156,42 @@ public abstract class ExtractorFilter<T, E>
         return getValueExtractor().extract(o);
         }
 
+    /**
+    * Extract the value to evaluate from the passed entry, leaving a
+    * POF-encoded String value encoded.
+    * <p>
+    * If the ValueExtractor is a {@link PofExtractor}, the entry is a
+    * {@link BinaryEntry} and there is no index for the ValueExtractor, the
+    * extracted String value is returned as the {@link Utf8CharSequence} over
+    * the entry's serialized form, so that the subclasses can compare it
+    * without decoding the characters; any other value, including a value
+    * held by an index, is extracted the same way as by the
+    * {@link #evaluateEntry} method.
+    *
+    * @param entry  the entry to extract the value from
+    *
+    * @return the extracted value, or the Utf8CharSequence representing the
+    *         extracted String
+    */
+    protected Object extractEncoded(Map.Entry<?, ? extends T> entry)
+        {
+        ValueExtractor<? super T, ? extends E> extractor = getValueExtractor();
+
+        if (extractor instanceof PofExtractor && entry instanceof BinaryEntry)
+            {
+            // an indexed value is served by the entry from the index
+            BackingMapContext ctx = ((BinaryEntry) entry).getBackingMapContext();
+            if (ctx == null || !ctx.getIndexMap().containsKey(extractor))
+                {
+                return ((PofExtractor) extractor).extractEncodedFromEntry(entry);
+                }
+            }
+
+        return entry instanceof QueryMap.Entry
+                ? ((QueryMap.Entry<?, ? extends T>) entry).extract(extractor)
+                : InvocableMapHelper.extractFromEntry(extractor, entry);
+        }
+
     /**
     * Obtain the ValueExtractor used by this filter.
     *
@@ -8,6 +8,7 @@
 package com.tangosol.util.filter;
 
 import com.tangosol.util.ChainedCollection;
+import com.tangosol.util.ColumnarIndex;
 import com.tangosol.util.Filter;
 import com.tangosol.util.MapIndex;
 import com.tangosol.util.ValueExtractor;
@@ -100,6 +101,12 @@ public class GreaterFilter<T, E extends Comparable<? super E>>
             // there is no relevant index
             return -1;
             }
+
+        if (index instanceof ColumnarIndex && ((ColumnarIndex) index).isComparable(getValue()))
+            {
+            // count the matching entries directly against the column
+            return ((ColumnarIndex) index).count(getValue(), includeEquals(), null, false);
+            }
         
         Map<E, Set<?>> mapContents = index.getIndexContents();
         if (mapContents.isEmpty())
@@ -156,6 +163,12 @@ public class GreaterFilter<T, E extends Comparable<? super E>>
             // there is no relevant index; evaluate individual entries
             return this;
             }
+        else if (index instanceof ColumnarIndex && ((ColumnarIndex) index).isComparable(value))
+            {
+            // probe the column for each candidate key
+            ((ColumnarIndex) index).retain(setKeys, value, includeEquals(), null, false);
+            return null;
+            }
         else if (index.getIndexContents().isEmpty())
             {
             // there are no entries in the index, which means no entries match this filter
@@ -8,6 +8,7 @@
 package com.tangosol.util.filter;
 
 import com.tangosol.util.ChainedCollection;
+import com.tangosol.util.ColumnarIndex;
 import com.tangosol.util.Filter;
 import com.tangosol.util.MapIndex;
 import com.tangosol.util.ValueExtractor;
@@ -101,6 +102,12 @@ public class LessFilter<T, E extends Comparable<? super E>>
             return -1;
             }
 
+        if (index instanceof ColumnarIndex && ((ColumnarIndex) index).isComparable(getValue()))
+            {
+            // count the matching entries directly against the column
+            return ((ColumnarIndex) index).count(null, false, getValue(), includeEquals());
+            }
+
         Map<E, Set<?>> mapContents = index.getIndexContents();
         if (mapContents.isEmpty())
             {
@@ -156,6 +163,12 @@ public class LessFilter<T, E extends Comparable<? super E>>
             // there is no relevant index; evaluate individual entries
             return this;
             }
+        else if (index instanceof ColumnarIndex && ((ColumnarIndex) index).isComparable(value))
+            {
+            // probe the column for each candidate key
+            ((ColumnarIndex) index).retain(setKeys, null, false, value, includeEquals());
+            return null;
+            }
         else if (index.getIndexContents().isEmpty())
             {
             // there are no entries in the index, which means no entries match this filter
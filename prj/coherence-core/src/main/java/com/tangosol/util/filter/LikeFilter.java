@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2000, 2024, Oracle and/or its affiliates.
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
  *
  * Licensed under the Universal Permissive License v 1.0 as shown at
  * https://oss.oracle.com/licenses/upl.
@@ -10,6 +10,7 @@ package com.tangosol.util.filter;
 
 import com.tangosol.io.pof.PofReader;
 import com.tangosol.io.pof.PofWriter;
+import com.tangosol.io.pof.Utf8CharSequence;
 
 import com.tangosol.util.ChainedCollection;
 import com.tangosol.util.Filter;
@@ -151,6 +152,51 @@ public class LikeFilter<T, E>
         return "LIKE";
         }
 
+    // ----- EntryFilter interface ------------------------------------------
+
+    /**
+    * {@inheritDoc}
+    * <p>
+    * If the pattern is case-sensitive and does not require the iterative
+    * evaluation, and the extracted value is a POF-encoded String, the
+    * pattern is matched against the encoded form of the extracted value
+    * without decoding it.
+    */
+    public boolean evaluateEntry(Map.Entry<?, ? extends T> entry)
+        {
+        byte[] abPart = getEncodedPart();
+        if (abPart == null)
+            {
+            return super.evaluateEntry(entry);
+            }
+
+        Object oExtracted = extractEncoded(entry);
+        if (oExtracted instanceof Utf8CharSequence)
+            {
+            Utf8CharSequence seqValue = (Utf8CharSequence) oExtracted;
+            switch (m_nPlan)
+                {
+                case STARTS_WITH_CHAR:
+                case STARTS_WITH_STRING:
+                    return seqValue.startsWith(abPart);
+
+                case ENDS_WITH_CHAR:
+                case ENDS_WITH_STRING:
+                    return seqValue.endsWith(abPart);
+
+                case CONTAINS_CHAR:
+                case CONTAINS_STRING:
+                    return seqValue.contains(abPart);
+
+                case EXACT_MATCH:
+                    return seqValue.contentEquals(abPart);
+                }
+            }
+
+        return evaluateExtracted((E) oExtracted);
+        }
+
+
     // ----- ExtractorFilter methods ----------------------------------------
 
     /**
@@ -489,6 +535,8 @@ public class LikeFilter<T, E>
     */
     protected void buildPlan()
         {
+        m_abPart = null;
+
         String sPattern = getPattern();
         if (sPattern == null)
             {
@@ -895,6 +943,42 @@ public class LikeFilter<T, E>
         }
 
 
+    /**
+    * Return the UTF-8 encoded form of the part of the pattern used by the
+    * current plan, if the plan can be evaluated against the encoded values.
+    *
+    * @return the encoded part of the pattern, or null if the plan requires
+    *         the decoded values
+    */
+    protected byte[] getEncodedPart()
+        {
+        byte[] abPart = m_abPart;
+        if (abPart == null)
+            {
+            switch (m_nPlan)
+                {
+                case STARTS_WITH_CHAR:
+                case ENDS_WITH_CHAR:
+                case CONTAINS_CHAR:
+                    abPart = Utf8CharSequence.encode(String.valueOf(m_chPart));
+                    break;
+
+                case STARTS_WITH_STRING:
+                case ENDS_WITH_STRING:
+                case CONTAINS_STRING:
+                case EXACT_MATCH:
+                    abPart = Utf8CharSequence.encode(m_sPart);
+                    break;
+
+                default:
+                    return null;
+                }
+            m_abPart = abPart;
+            }
+        return abPart;
+        }
+
+
     // ----- inner class: MatchStep -----------------------------------------
 
     /**
@@ -1346,4 +1430,11 @@ public class LikeFilter<T, E>
     * may be null if none.
     */
     private transient MatchStep[] m_astepMiddle;
+
+    /**
+    * The UTF-8 encoded form of the part of the pattern used by the
+    * single-character and string-character matching optimization plans;
+    * null if it has not been encoded yet.
+    */
+    private transient byte[] m_abPart;
     }
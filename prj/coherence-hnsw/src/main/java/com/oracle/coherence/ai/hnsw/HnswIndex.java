@@ -10,6 +10,7 @@ package com.oracle.coherence.ai.hnsw;
 import com.oracle.coherence.ai.Vector;
 import com.oracle.coherence.ai.VectorIndex;
 import com.oracle.coherence.ai.VectorIndexExtractor;
+import com.oracle.coherence.ai.index.AllowList;
 import com.oracle.coherence.ai.search.BinaryQueryResult;
 import com.oracle.coherence.hnswlib.Hnswlib.QueryFilter;
 import com.oracle.coherence.hnswlib.Index;
@@ -25,11 +26,9 @@ import com.tangosol.util.Binary;
 import com.tangosol.util.BinaryEntry;
 import com.tangosol.util.ExternalizableHelper;
 import com.tangosol.util.Filter;
-import com.tangosol.util.InvocableMap;
 import com.tangosol.util.InvocableMapHelper;
 import com.tangosol.util.MapIndex;
 import com.tangosol.util.ValueExtractor;
-import com.tangosol.util.filter.AlwaysFilter;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.objects.Object2IntMap;
@@ -40,9 +39,13 @@ import java.io.Closeable;
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReadWriteLock;
@@ -607,18 +610,23 @@ public class HnswIndex<K, V>
             f_lock.readLock().lock();
             try
                 {
+                AllowList  allow = AllowList.resolve(f_backingMapContext, f_mapKeysToLabels.keySet(), filter);
                 QueryTuple tuple;
-                if (filter == null || filter instanceof AlwaysFilter<?>)
+                if (allow == null)
                     {
                     tuple = f_index.knnQuery(vector.get(), k);
                     }
+                else if (allow.isSmall())
+                    {
+                    // few entries can match, so compute the exact distance to each of them
+                    return exactSearch(vector.get(), k, allow);
+                    }
                 else
                     {
                     QueryFilter queryFilter = id ->
                         {
-                        Binary             binKey = f_mapLabelsToKeys.get(id);
-                        InvocableMap.Entry entry  = f_backingMapContext.getReadOnlyEntry(binKey);
-                        return InvocableMapHelper.evaluateEntry(filter, entry);
+                        Binary binKey = f_mapLabelsToKeys.get(id);
+                        return binKey != null && allow.isAllowed(binKey);
                         };
                     tuple = f_index.knnQuery(vector.get(), k, queryFilter);
                     }
@@ -657,6 +665,63 @@ public class HnswIndex<K, V>
 
         // ----- helpers ----------------------------------------------------
 
+        /**
+         * Compute the exact distances from the specified vector to the vectors
+         * of the allowed entries, and return the closest ones.
+         * <p/>
+         * The caller must hold the read lock.
+         *
+         * @param afQuery  the query vector
+         * @param k        the maximum number of results to return
+         * @param allow    the {@link AllowList} of the entries to consider
+         *
+         * @return the closest allowed entries, ordered by ascending distance
+         */
+        private BinaryQueryResult[] exactSearch(float[] afQuery, int k, AllowList allow)
+            {
+            if (SpaceName.COSINE.name().equalsIgnoreCase(m_sSpaceName))
+                {
+                afQuery = Index.normalize(afQuery.clone());
+                }
+
+            int       cKeys  = allow.size();
+            Binary[]  aKeys  = new Binary[cKeys];
+            float[]   afDist = new float[cKeys];
+            Integer[] aOrder = new Integer[cKeys];
+            int       c      = 0;
+
+            for (Binary binKey : allow.getKeys())
+                {
+                int nId = f_mapKeysToLabels.getInt(binKey);
+                if (nId > 0 && c < cKeys)
+                    {
+                    Optional<float[]> data = f_index.getData(nId);
+                    if (data.isPresent())
+                        {
+                        aKeys[c]  = binKey;
+                        afDist[c] = Math.abs(f_index.computeSimilarity(afQuery, data.get()));
+                        aOrder[c] = c;
+                        c++;
+                        }
+                    }
+                }
+
+            Arrays.sort(aOrder, 0, c, Comparator.comparingDouble(i -> afDist[i]));
+
+            // evaluate the residual filter only until enough results are found
+            List<BinaryQueryResult> listResults = new ArrayList<>(Math.min(k, c));
+            for (int i = 0; i < c && listResults.size() < k; i++)
+                {
+                Binary binKey = aKeys[aOrder[i]];
+                if (allow.evaluate(binKey))
+                    {
+                    Binary binValue = f_backingMapContext.getReadOnlyEntry(binKey).asBinaryEntry().getBinaryValue();
+                    listResults.add(new BinaryQueryResult(afDist[aOrder[i]], binKey, binValue));
+                    }
+                }
+            return listResults.toArray(EMPTY_RESULT);
+            }
+
         /**
          * Release the native resources held by this index.
          */
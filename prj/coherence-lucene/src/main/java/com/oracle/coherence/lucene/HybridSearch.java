@@ -0,0 +1,737 @@
+/*
+ * Copyright (c) 2025 Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.coherence.lucene;
+
+import com.oracle.coherence.ai.QueryResult;
+import com.oracle.coherence.ai.search.BinaryQueryResult;
+import com.oracle.coherence.ai.search.ConverterResult;
+import com.oracle.coherence.ai.search.KeyOnlyQueryResult;
+import com.oracle.coherence.ai.search.SimilaritySearch;
+import com.tangosol.io.ExternalizableLite;
+import com.tangosol.io.pof.PofReader;
+import com.tangosol.io.pof.PofWriter;
+import com.tangosol.io.pof.PortableObject;
+import com.tangosol.util.Binary;
+import com.tangosol.util.BinaryEntry;
+import com.tangosol.util.ChainedEnumerator;
+import com.tangosol.util.Converter;
+import com.tangosol.util.InvocableMap;
+import com.tangosol.util.SimpleStreamer;
+import com.tangosol.util.SortedBag;
+import com.tangosol.util.Streamer;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A Coherence aggregator that combines a full-text {@link LuceneSearch} and a
+ * vector {@link SimilaritySearch} into a single hybrid search.
+ * <p>
+ * Both searches are executed against the indexes of each partition in a
+ * single pass, so a hybrid query requires a single cluster-wide aggregation
+ * instead of two. Each member prunes the vector candidates of its partitions
+ * to the best {@link SimilaritySearch#getMaxResults() maxResults}, and the
+ * caller ranks the candidates of both searches globally, the same way the
+ * individual searches would, before fusing the two rankings into a single
+ * list of results.
+ * <p>
+ * The rankings are fused using {@link Fusion#RECIPROCAL_RANK reciprocal rank
+ * fusion} by default, which only depends on the position of a result in each
+ * ranking, or using a {@link Fusion#WEIGHTED weighted} sum of the normalized
+ * scores. The {@link QueryResult#getDistance() distance} of each returned
+ * result is its fused score, and the results are ordered from the highest
+ * score to the lowest.
+ * <p>
+ * For example:
+ * <pre>{@code
+ * var lexical = new LuceneSearch<>(CONTENT, parser.parse("machine learning"), 50);
+ * var vector  = new SimilaritySearch<>(EMBEDDING, embedding, 50);
+ *
+ * List<QueryResult<String, DocumentChunk>> results =
+ *         documents.aggregate(new HybridSearch<>(lexical, vector, 10));
+ * }</pre>
+ *
+ * @param <K> the type of cache entry keys
+ * @param <V> the type of cache entry values
+ * @param <T> the type of the vector
+ *
+ * @since 25.09
+ */
+public class HybridSearch<K, V, T>
+        implements InvocableMap.StreamingAggregator<K, V, HybridSearch.PartialResult, List<QueryResult<K, V>>>,
+                   ExternalizableLite, PortableObject
+    {
+    /**
+     * Default constructor required for serialization.
+     */
+    public HybridSearch()
+        {
+        }
+
+    /**
+     * Constructs a new HybridSearch instance.
+     *
+     * @param lexical      the full-text search to execute; its maximum number
+     *                     of results determines the depth of the full-text
+     *                     ranking
+     * @param vector       the similarity search to execute; its maximum number
+     *                     of results determines the depth of the vector ranking
+     * @param nMaxResults  the maximum number of fused results to return
+     */
+    public HybridSearch(LuceneSearch<K, V> lexical, SimilaritySearch<K, V, T> vector, int nMaxResults)
+        {
+        m_lexical     = Objects.requireNonNull(lexical);
+        m_vector      = Objects.requireNonNull(vector);
+        m_nMaxResults = nMaxResults;
+        }
+
+    /**
+     * Private constructor for internal use.
+     *
+     * @param that  the search to copy the configuration from
+     */
+    private HybridSearch(HybridSearch<K, V, T> that)
+        {
+        m_lexical        = that.m_lexical;
+        m_vector         = that.m_vector;
+        m_nMaxResults    = that.m_nMaxResults;
+        m_fusion         = that.m_fusion;
+        m_nRankConstant  = that.m_nRankConstant;
+        m_dLexicalWeight = that.m_dLexicalWeight;
+        m_dVectorWeight  = that.m_dVectorWeight;
+        }
+
+    // ---- fluent API ------------------------------------------------------
+
+    /**
+     * Set the {@link Fusion method} to use to fuse the full-text and the
+     * vector rankings.
+     *
+     * @param fusion  the fusion method to use
+     *
+     * @return this instance
+     */
+    public HybridSearch<K, V, T> fusion(Fusion fusion)
+        {
+        m_fusion = Objects.requireNonNull(fusion);
+        return this;
+        }
+
+    /**
+     * Set the rank constant used by {@link Fusion#RECIPROCAL_RANK reciprocal
+     * rank fusion}.
+     * <p>
+     * The higher the constant, the less the top ranked results of each
+     * ranking dominate the fused score.
+     *
+     * @param nRankConstant  the rank constant to use; defaults to
+     *                       {@value #DEFAULT_RANK_CONSTANT}
+     *
+     * @return this instance
+     */
+    public HybridSearch<K, V, T> rankConstant(int nRankConstant)
+        {
+        if (nRankConstant < 0)
+            {
+            throw new IllegalArgumentException("rank constant cannot be negative");
+            }
+        m_nRankConstant = nRankConstant;
+        return this;
+        }
+
+    /**
+     * Set the weights of the full-text and the vector rankings.
+     *
+     * @param dLexicalWeight  the weight of the full-text ranking
+     * @param dVectorWeight   the weight of the vector ranking
+     *
+     * @return this instance
+     */
+    public HybridSearch<K, V, T> weights(double dLexicalWeight, double dVectorWeight)
+        {
+        if (dLexicalWeight < 0.0 || dVectorWeight < 0.0)
+            {
+            throw new IllegalArgumentException("weights cannot be negative");
+            }
+        m_dLexicalWeight = dLexicalWeight;
+        m_dVectorWeight  = dVectorWeight;
+        return this;
+        }
+
+    // ---- accessors -------------------------------------------------------
+
+    /**
+     * Returns the full-text search to execute.
+     *
+     * @return the full-text search
+     */
+    public LuceneSearch<K, V> getLexicalSearch()
+        {
+        return m_lexical;
+        }
+
+    /**
+     * Returns the similarity search to execute.
+     *
+     * @return the similarity search
+     */
+    public SimilaritySearch<K, V, T> getVectorSearch()
+        {
+        return m_vector;
+        }
+
+    /**
+     * Returns the maximum number of fused results to return.
+     *
+     * @return the maximum number of results
+     */
+    public int getMaxResults()
+        {
+        return m_nMaxResults;
+        }
+
+    /**
+     * Returns the method used to fuse the rankings.
+     *
+     * @return the fusion method
+     */
+    public Fusion getFusion()
+        {
+        return m_fusion;
+        }
+
+    /**
+     * Returns the rank constant used by reciprocal rank fusion.
+     *
+     * @return the rank constant
+     */
+    public int getRankConstant()
+        {
+        return m_nRankConstant;
+        }
+
+    /**
+     * Returns the weight of the full-text ranking.
+     *
+     * @return the weight of the full-text ranking
+     */
+    public double getLexicalWeight()
+        {
+        return m_dLexicalWeight;
+        }
+
+    /**
+     * Returns the weight of the vector ranking.
+     *
+     * @return the weight of the vector ranking
+     */
+    public double getVectorWeight()
+        {
+        return m_dVectorWeight;
+        }
+
+    // ---- StreamingAggregator interface -----------------------------------
+
+    @Override
+    public int characteristics()
+        {
+        return PARALLEL | BY_PARTITION | ALLOW_INCONSISTENCIES;
+        }
+
+    @Override
+    public InvocableMap.StreamingAggregator<K, V, PartialResult, List<QueryResult<K, V>>> supply()
+        {
+        return new HybridSearch<>(this);
+        }
+
+    /**
+     * Executes both searches against the indexes of a single partition.
+     *
+     * @param streamer the streamer providing access to partition entries
+     *
+     * @return false, as both searches are complete once this method returns
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public boolean accumulate(Streamer<? extends InvocableMap.Entry<? extends K, ? extends V>> streamer)
+        {
+        if (streamer.hasNext())
+            {
+            InvocableMap.Entry<? extends K, ? extends V> entry = streamer.next();
+
+            // the full-text search only needs a single entry to find the partition index
+            LuceneSearch<K, V> lexical = (LuceneSearch<K, V>) m_lexical.supply();
+            lexical.accumulate(new SimpleStreamer<>(Collections.singletonList(entry)));
+            combineLexical(lexical.getPartialResult());
+
+            // the similarity search may have to iterate over all the entries if
+            // there is no vector index, so it gets the first entry back
+            SimilaritySearch<K, V, T> vector = (SimilaritySearch<K, V, T>) m_vector.supply();
+            vector.accumulate(new SimpleStreamer<>(
+                    (Iterator<InvocableMap.Entry<? extends K, ? extends V>>)
+                            new ChainedEnumerator(Collections.singletonList(entry).iterator(), streamer)));
+
+            BinaryEntry<? extends K, ? extends V> binEntry = entry.asBinaryEntry();
+            for (BinaryQueryResult result : vector.getPartialResult())
+                {
+                if (result.getValue() == null)
+                    {
+                    // the similarity search only returned the key
+                    result = new BinaryQueryResult(result.getDistance(), result.getKey(),
+                            ((BinaryEntry<?, ?>) binEntry.getBackingMapContext()
+                                    .getReadOnlyEntry(result.getKey())).getBinaryValue());
+                    }
+                addVectorResult(result);
+                }
+            }
+        return false; // we return false because we have done everything, we do not need to iterate over entries
+        }
+
+    /**
+     * Not supported by this implementation.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public boolean accumulate(InvocableMap.Entry<? extends K, ? extends V> entry)
+        {
+        throw new UnsupportedOperationException();
+        }
+
+    @Override
+    public boolean combine(PartialResult partialResult)
+        {
+        if (partialResult != null)
+            {
+            combineLexical(partialResult.lexical());
+            for (BinaryQueryResult result : partialResult.vector())
+                {
+                addVectorResult(result);
+                }
+            }
+        return true;
+        }
+
+    /**
+     * Returns the candidates collected so far.
+     * <p>
+     * The values of the vector candidates that are also full-text candidates
+     * are only sent once, as part of the full-text candidates.
+     *
+     * @return the candidates collected so far
+     */
+    @Override
+    public PartialResult getPartialResult()
+        {
+        List<BinaryQueryResult> listVector = new ArrayList<>(m_vectorResults.size());
+        for (BinaryQueryResult result : m_vectorResults)
+            {
+            listVector.add(result.getValue() != null && m_mapLexical.containsKey(result.getKey())
+                           ? new KeyOnlyQueryResult(result.getDistance(), result.getKey(), result.getValue().length())
+                           : result);
+            }
+
+        return new PartialResult(m_config == null ? null : new LuceneSearch.PartialResult(m_config, m_mapLexical),
+                                 listVector);
+        }
+
+    /**
+     * Not supported by this implementation.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public List<QueryResult<K, V>> finalizeResult()
+        {
+        throw new UnsupportedOperationException();
+        }
+
+    /**
+     * Ranks the full-text and the vector candidates globally, and returns the
+     * best results of the fused ranking.
+     *
+     * @param converterBin the converter to use for binary-to-object conversion
+     *
+     * @return the list of results, ordered by their fused score
+     */
+    @Override
+    public List<QueryResult<K, V>> finalizeResult(Converter<Binary, ?> converterBin)
+        {
+        List<BinaryQueryResult> listFused = fuse(rankLexical(converterBin), new ArrayList<>(m_vectorResults));
+
+        int                     cResults    = Math.min(m_nMaxResults, listFused.size());
+        List<QueryResult<K, V>> listResults = new ArrayList<>(cResults);
+        for (int i = 0; i < cResults; i++)
+            {
+            BinaryQueryResult result = listFused.get(i);
+            listResults.add(new ConverterResult<>(
+                    new BinaryQueryResult(result.getDistance(), result.getKey(), getValue(result.getKey())), converterBin));
+            }
+        return listResults;
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+     * Fuses the full-text and the vector rankings.
+     *
+     * @param listLexical  the full-text ranking, ordered from the best result,
+     *                     with the normalized scores as the distances
+     * @param listVector   the vector ranking, ordered from the best result
+     *
+     * @return the keys of the fused results, with the fused scores as the
+     *         distances, ordered from the highest score
+     */
+    protected List<BinaryQueryResult> fuse(List<BinaryQueryResult> listLexical, List<BinaryQueryResult> listVector)
+        {
+        Map<Binary, double[]> mapScores = new HashMap<>();
+
+        if (m_fusion == Fusion.RECIPROCAL_RANK)
+            {
+            for (int i = 0, c = listLexical.size(); i < c; i++)
+                {
+                addScore(mapScores, listLexical.get(i).getKey(), m_dLexicalWeight / (m_nRankConstant + i + 1));
+                }
+            for (int i = 0, c = listVector.size(); i < c; i++)
+                {
+                addScore(mapScores, listVector.get(i).getKey(), m_dVectorWeight / (m_nRankConstant + i + 1));
+                }
+            }
+        else
+            {
+            // full-text scores are already normalized to [0, 1], but vector
+            // distances have to be converted to normalized similarities
+            for (BinaryQueryResult result : listLexical)
+                {
+                addScore(mapScores, result.getKey(), m_dLexicalWeight * result.getDistance());
+                }
+
+            if (!listVector.isEmpty())
+                {
+                double dMin   = listVector.get(0).getDistance();
+                double dRange = listVector.get(listVector.size() - 1).getDistance() - dMin;
+                for (BinaryQueryResult result : listVector)
+                    {
+                    double dSimilarity = dRange > 0.0 ? 1.0 - (result.getDistance() - dMin) / dRange : 1.0;
+                    addScore(mapScores, result.getKey(), m_dVectorWeight * dSimilarity);
+                    }
+                }
+            }
+
+        List<BinaryQueryResult> listFused = new ArrayList<>(mapScores.size());
+        for (Map.Entry<Binary, double[]> entry : mapScores.entrySet())
+            {
+            listFused.add(new BinaryQueryResult(entry.getValue()[0], entry.getKey(), null));
+            }
+        listFused.sort(Comparator.comparingDouble(BinaryQueryResult::getDistance).reversed()
+                               .thenComparing(BinaryQueryResult::getKey));
+        return listFused;
+        }
+
+    /**
+     * Adds a partial score to the fused score of a key.
+     *
+     * @param mapScores  the fused scores
+     * @param binKey     the key
+     * @param dScore     the partial score to add
+     */
+    private static void addScore(Map<Binary, double[]> mapScores, Binary binKey, double dScore)
+        {
+        mapScores.computeIfAbsent(binKey, k -> new double[1])[0] += dScore;
+        }
+
+    /**
+     * Ranks the full-text candidates of all partitions globally, the same
+     * way {@link LuceneSearch} does.
+     *
+     * @param converterBin the converter to use for binary-to-object conversion
+     *
+     * @return the full-text ranking, with the normalized scores as the distances
+     */
+    @SuppressWarnings("unchecked")
+    private List<BinaryQueryResult> rankLexical(Converter<Binary, ?> converterBin)
+        {
+        if (m_config == null || m_mapLexical.isEmpty())
+            {
+            return Collections.emptyList();
+            }
+
+        LuceneSearch<K, V> lexical = (LuceneSearch<K, V>) m_lexical.supply();
+        lexical.combine(new LuceneSearch.PartialResult(m_config, m_mapLexical));
+
+        List<QueryResult<K, V>> listResults = lexical.finalizeResult(converterBin);
+        List<BinaryQueryResult> listRanking = new ArrayList<>(listResults.size());
+        for (QueryResult<K, V> result : listResults)
+            {
+            listRanking.add(((ConverterResult<K, V>) result).getBinaryQueryResult());
+            }
+        return listRanking;
+        }
+
+    /**
+     * Adds the full-text candidates of a partial result.
+     *
+     * @param partialResult  the full-text partial result, or {@code null}
+     */
+    private void combineLexical(LuceneSearch.PartialResult partialResult)
+        {
+        if (partialResult != null)
+            {
+            m_config = partialResult.config();
+            m_mapLexical.putAll(partialResult.results());
+            }
+        }
+
+    /**
+     * Adds a vector candidate, keeping only the best candidates.
+     *
+     * @param result  the vector candidate
+     */
+    private void addVectorResult(BinaryQueryResult result)
+        {
+        m_vectorResults.add(result);
+        if (m_vectorResults.size() > m_vector.getMaxResults())
+            {
+            m_vectorResults.removeLast();
+            }
+        }
+
+    /**
+     * Returns the value of a candidate.
+     *
+     * @param binKey  the key of the candidate
+     *
+     * @return the value of the candidate in binary format
+     */
+    private Binary getValue(Binary binKey)
+        {
+        Binary binValue = m_mapLexical.get(binKey);
+        if (binValue == null)
+            {
+            for (BinaryQueryResult result : m_vectorResults)
+                {
+                if (result.getKey().equals(binKey))
+                    {
+                    return result.getValue();
+                    }
+                }
+            }
+        return binValue;
+        }
+
+    // ----- PortableObject interface ---------------------------------------
+
+    @Override
+    public void readExternal(PofReader in) throws IOException
+        {
+        m_lexical        = in.readObject(0);
+        m_vector         = in.readObject(1);
+        m_nMaxResults    = in.readInt(2);
+        m_fusion         = Fusion.valueOf(in.readString(3));
+        m_nRankConstant  = in.readInt(4);
+        m_dLexicalWeight = in.readDouble(5);
+        m_dVectorWeight  = in.readDouble(6);
+        }
+
+    @Override
+    public void writeExternal(PofWriter out) throws IOException
+        {
+        out.writeObject(0, m_lexical);
+        out.writeObject(1, m_vector);
+        out.writeInt(2, m_nMaxResults);
+        out.writeString(3, m_fusion.name());
+        out.writeInt(4, m_nRankConstant);
+        out.writeDouble(5, m_dLexicalWeight);
+        out.writeDouble(6, m_dVectorWeight);
+        }
+
+    // ----- ExternalizableLite interface -----------------------------------
+
+    @Override
+    public void readExternal(DataInput in) throws IOException
+        {
+        throw new IOException("HybridSearch requires POF serialization");
+        }
+
+    @Override
+    public void writeExternal(DataOutput out) throws IOException
+        {
+        throw new IOException("HybridSearch requires POF serialization");
+        }
+
+    // ---- inner enum: Fusion ----------------------------------------------
+
+    /**
+     * The methods that can be used to fuse the full-text and the vector
+     * rankings.
+     */
+    public enum Fusion
+        {
+        /**
+         * Reciprocal rank fusion, which scores each result with the weighted
+         * sum of {@code 1 / (rankConstant + rank)} across both rankings.
+         */
+        RECIPROCAL_RANK,
+
+        /**
+         * Weighted fusion, which scores each result with the weighted sum of
+         * its normalized full-text score and its normalized vector
+         * similarity.
+         */
+        WEIGHTED
+        }
+
+    // ---- inner class: PartialResult --------------------------------------
+
+    /**
+     * PartialResult encapsulates the full-text and the vector candidates
+     * found by the partitions of a member.
+     */
+    public static class PartialResult
+            implements PortableObject
+        {
+        /**
+         * Deserialization constructor.
+         */
+        @SuppressWarnings("unused")
+        public PartialResult()
+            {
+            }
+
+        /**
+         * Constructs a PartialResult with the given candidates.
+         *
+         * @param lexical     the full-text candidates, or {@code null} if
+         *                    there are none
+         * @param listVector  the vector candidates
+         */
+        public PartialResult(LuceneSearch.PartialResult lexical, List<BinaryQueryResult> listVector)
+            {
+            m_lexical    = lexical;
+            m_listVector = listVector;
+            }
+
+        // ---- accessors ---------------------------------------------------
+
+        /**
+         * Returns the full-text candidates.
+         *
+         * @return the full-text candidates, or {@code null} if there are none
+         */
+        public LuceneSearch.PartialResult lexical()
+            {
+            return m_lexical;
+            }
+
+        /**
+         * Returns the vector candidates, ordered from the closest one.
+         *
+         * @return the vector candidates
+         */
+        public List<BinaryQueryResult> vector()
+            {
+            return m_listVector;
+            }
+
+        // ---- PortableObject interface ------------------------------------
+
+        @Override
+        public void readExternal(PofReader in) throws IOException
+            {
+            m_lexical    = in.readObject(0);
+            m_listVector = in.readCollection(1, new ArrayList<>());
+            }
+
+        @Override
+        public void writeExternal(PofWriter out) throws IOException
+            {
+            out.writeObject(0, m_lexical);
+            out.writeCollection(1, m_listVector);
+            }
+
+        // ---- data members ------------------------------------------------
+
+        /**
+         * The full-text candidates.
+         */
+        private LuceneSearch.PartialResult m_lexical;
+
+        /**
+         * The vector candidates.
+         */
+        private List<BinaryQueryResult> m_listVector;
+        }
+
+    // ---- constants -------------------------------------------------------
+
+    /**
+     * The default rank constant used by reciprocal rank fusion.
+     */
+    public static final int DEFAULT_RANK_CONSTANT = 60;
+
+    // ---- data members ----------------------------------------------------
+
+    /**
+     * The full-text search to execute.
+     */
+    protected LuceneSearch<K, V> m_lexical;
+
+    /**
+     * The similarity search to execute.
+     */
+    protected SimilaritySearch<K, V, T> m_vector;
+
+    /**
+     * The maximum number of fused results to return.
+     */
+    protected int m_nMaxResults;
+
+    /**
+     * The method used to fuse the rankings.
+     */
+    protected Fusion m_fusion = Fusion.RECIPROCAL_RANK;
+
+    /**
+     * The rank constant used by reciprocal rank fusion.
+     */
+    protected int m_nRankConstant = DEFAULT_RANK_CONSTANT;
+
+    /**
+     * The weight of the full-text ranking.
+     */
+    protected double m_dLexicalWeight = 1.0;
+
+    /**
+     * The weight of the vector ranking.
+     */
+    protected double m_dVectorWeight = 1.0;
+
+    /**
+     * The full-text candidates collected so far; the binary keys and values
+     * of the matching entries.
+     */
+    protected final transient Map<Binary, Binary> m_mapLexical = new HashMap<>();
+
+    /**
+     * The best vector candidates collected so far.
+     */
+    protected final transient SortedBag<BinaryQueryResult> m_vectorResults = new SortedBag<>(Comparator.naturalOrder());
+
+    /**
+     * The Lucene index configuration used to rank the full-text candidates.
+     */
+    protected transient LuceneIndex.Config m_config;
+    }
@@ -7,6 +7,7 @@
 
 package com.oracle.coherence.lucene;
 
+import com.oracle.coherence.common.base.Logger;
 import com.tangosol.io.AbstractEvolvable;
 import com.tangosol.io.ExternalizableLite;
 import com.tangosol.io.pof.EvolvablePortableObject;
@@ -14,6 +15,10 @@ import com.tangosol.io.pof.PofReader;
 import com.tangosol.io.pof.PofWriter;
 import com.tangosol.io.pof.PortableObject;
 import com.tangosol.net.BackingMapContext;
+import com.tangosol.net.CacheService;
+import com.tangosol.net.management.AnnotatedStandardMBean;
+import com.tangosol.net.management.MBeanHelper;
+import com.tangosol.net.management.Registry;
 import com.tangosol.util.Base;
 import com.tangosol.util.Binary;
 import com.tangosol.util.BinaryEntry;
@@ -26,15 +31,25 @@ import java.io.Closeable;
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import javax.management.NotCompliantMBeanException;
 import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.analysis.standard.StandardAnalyzer;
 import org.apache.lucene.document.Document;
@@ -42,12 +57,14 @@ import org.apache.lucene.document.Field;
 import org.apache.lucene.document.StoredField;
 import org.apache.lucene.document.StringField;
 import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.ConcurrentMergeScheduler;
 import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexWriterConfig;
 import org.apache.lucene.index.LiveIndexWriterConfig;
 import org.apache.lucene.index.LogByteSizeMergePolicy;
 import org.apache.lucene.index.MergePolicy;
+import org.apache.lucene.index.MergeScheduler;
 import org.apache.lucene.index.Term;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.Query;
@@ -55,6 +72,7 @@ import org.apache.lucene.search.ScoreDoc;
 import org.apache.lucene.search.SearcherFactory;
 import org.apache.lucene.search.SearcherManager;
 import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.AlreadyClosedException;
 import org.apache.lucene.store.ByteBuffersDirectory;
 import org.apache.lucene.store.Directory;
 import org.apache.lucene.store.FSDirectory;
@@ -72,8 +90,13 @@ import org.apache.lucene.util.BytesRef;
  *     .compressionMode(CompressionMode.MAX)
  *     .analyzer(StandardAnalyzer::new)
  *     .directory(partId -> new MMapDirectory(Path.of("index/part-" + partId)))
+ *     .maxStaleness(Duration.ofMillis(100))
+ *     .commitInterval(Duration.ofSeconds(30))
  *     .enableInverseMap());
  * </pre>
+ * <p>
+ * The statistics of the index on each storage-enabled member are exposed by
+ * a {@link LuceneIndexMBean}.
  *
  * @param <K> the type of cache entry keys
  * @param <V> the type of cache entry values
@@ -258,6 +281,56 @@ public class LuceneIndex<K, V>
         return this;
         }
 
+    /**
+     * Sets the maximum time an index change may remain invisible to searches.
+     * <p>
+     * By default, the searcher of a partition index is refreshed by the thread
+     * that changes the index, after each change, which makes the change
+     * visible to searches immediately, but makes each change expensive, and
+     * creates a large number of small segments under sustained writes.
+     * <p>
+     * If the maximum staleness is set, index changes are only buffered by the
+     * thread that makes them, and the searchers are refreshed in the
+     * background, at the specified interval, which allows searches to lag
+     * behind index changes by the maximum staleness, plus the time it takes
+     * to refresh a searcher.
+     *
+     * @param maxStaleness  the maximum time an index change may remain
+     *                      invisible to searches, or {@link Duration#ZERO}
+     *                      to refresh after each change
+     *
+     * @return this LuceneIndex instance for method chaining
+     */
+    public LuceneIndex<K, V> maxStaleness(Duration maxStaleness)
+        {
+        Objects.requireNonNull(maxStaleness);
+        m_config.setMaxStalenessMillis(maxStaleness.toMillis());
+        return this;
+        }
+
+    /**
+     * Sets the interval at which pending index changes are committed in the
+     * background.
+     * <p>
+     * A commit makes the changes durable in the index {@link #directory
+     * directory}, so this is only useful with a persistent directory, such
+     * as {@link MMapDirectory}. By default, pending changes are only
+     * committed when the partition index is fully built, or when the
+     * {@link LuceneMapIndex#commit()} method is called.
+     *
+     * @param commitInterval  the interval at which to commit pending changes,
+     *                        or {@link Duration#ZERO} to disable background
+     *                        commits
+     *
+     * @return this LuceneIndex instance for method chaining
+     */
+    public LuceneIndex<K, V> commitInterval(Duration commitInterval)
+        {
+        Objects.requireNonNull(commitInterval);
+        m_config.setCommitIntervalMillis(commitInterval.toMillis());
+        return this;
+        }
+
     // ---- IndexAwareExtractor interface -----------------------------------
     
     /**
@@ -277,13 +350,18 @@ public class LuceneIndex<K, V>
             Analyzer  analyzer  = m_config.analyzerSupplier().get();
             Directory directory = m_config.directorySupplier().apply(COUNTER.getAndIncrement());  // TODO: replace with actual partition ID once available
 
+            Statistics statistics = ensureStatistics();
+
+            // time merges, unless the writer configurer replaces the merge scheduler
             IndexWriterConfig config = new IndexWriterConfig(analyzer);
+            config.setMergeScheduler(new TimedMergeScheduler(statistics));
             m_config.writerConfigurer().accept(config);
 
             IndexWriter    writer = new IndexWriter(directory, config);
             LuceneMapIndex index  = new LuceneMapIndex(writer, ctx);
 
             map.put(m_extractor, index);
+            statistics.add(index, ctx);
 
             return index;
             }
@@ -305,6 +383,7 @@ public class LuceneIndex<K, V>
         {
         LuceneMapIndex index = (LuceneMapIndex) map.remove(m_extractor);
         index.clear();
+        ensureStatistics().remove(index);
         return index;
         }
 
@@ -352,6 +431,22 @@ public class LuceneIndex<K, V>
         return m_fInverseMap;
         }
 
+    /**
+     * Returns the statistics of this index on this member, creating them
+     * if necessary.
+     *
+     * @return the index statistics
+     */
+    synchronized Statistics ensureStatistics()
+        {
+        Statistics statistics = m_statistics;
+        if (statistics == null)
+            {
+            m_statistics = statistics = new Statistics(m_config.maxStalenessMillis());
+            }
+        return statistics;
+        }
+
     // ----- Evolvable interface --------------------------------------------
 
     @Override
@@ -425,11 +520,18 @@ public class LuceneIndex<K, V>
                         return m_config.searcherSupplier().apply(reader, previousReader);
                         }
                     });
+                f_statistics = ensureStatistics();
                 }
             catch (IOException e)
                 {
                 throw new RuntimeException(e);
                 }
+
+            long cMillisRefresh = m_config.maxStalenessMillis();
+            long cMillisCommit  = m_config.commitIntervalMillis();
+
+            f_futureRefresh = cMillisRefresh > 0 ? IndexTask.schedule(this, /*fCommit*/ false, cMillisRefresh) : null;
+            f_futureCommit  = cMillisCommit > 0  ? IndexTask.schedule(this, /*fCommit*/ true, cMillisCommit)   : null;
             }
 
         // ---- accessors ---------------------------------------------------
@@ -546,7 +648,7 @@ public class LuceneIndex<K, V>
             try
                 {
                 f_indexWriter.forceMerge(maxNumSegments);
-                f_indexWriter.commit();
+                commitInternal();
                 f_searcherManager.maybeRefresh();
                 }
             catch (IOException e)
@@ -567,8 +669,8 @@ public class LuceneIndex<K, V>
             f_lock.readLock().lock();
             try
                 {
-                f_indexWriter.commit();
-                f_searcherManager.maybeRefresh();
+                commitInternal();
+                refresh();
                 }
             catch (IOException e)
                 {
@@ -603,11 +705,10 @@ public class LuceneIndex<K, V>
 
                 f_indexWriter.addDocument(doc);
                 
-                // Only flush and refresh if not in batch mode
+                // Only make the change visible if not in batch mode
                 if (!m_batchMode)
                     {
-                    f_indexWriter.flush();
-                    f_searcherManager.maybeRefresh();
+                    onChange();
                     }
                 }
             catch (IOException e)
@@ -648,11 +749,10 @@ public class LuceneIndex<K, V>
 
                 f_indexWriter.updateDocument(new Term("key", keyTerm), doc);
                 
-                // Only flush and refresh if not in batch mode
+                // Only make the change visible if not in batch mode
                 if (!m_batchMode)
                     {
-                    f_indexWriter.flush();
-                    f_searcherManager.maybeRefresh();
+                    onChange();
                     }
                 }
             catch (IOException e)
@@ -687,11 +787,10 @@ public class LuceneIndex<K, V>
 
                 f_indexWriter.deleteDocuments(new Term("key", keyTerm));
                 
-                // Only flush and refresh if not in batch mode
+                // Only make the change visible if not in batch mode
                 if (!m_batchMode)
                     {
-                    f_indexWriter.flush();
-                    f_searcherManager.maybeRefresh();
+                    onChange();
                     }
                 }
             catch (IOException e)
@@ -771,9 +870,13 @@ public class LuceneIndex<K, V>
          */
         public void clear()
             {
+            cancel(f_futureRefresh);
+            cancel(f_futureCommit);
+
             f_lock.writeLock().lock();
             try
                 {
+                m_fClosed = true;
                 f_indexWriter.deleteAll();
                 f_indexWriter.commit();
                 f_indexWriter.close();
@@ -919,6 +1022,137 @@ public class LuceneIndex<K, V>
                 }
             }
 
+        /**
+         * Returns the number of segments visible to searches.
+         *
+         * @return the number of segments, or zero if this index is closed
+         */
+        int getSegmentCount()
+            {
+            try
+                {
+                IndexSearcher searcher = getSearcher();
+                try
+                    {
+                    return searcher.getIndexReader().leaves().size();
+                    }
+                finally
+                    {
+                    releaseSearcher(searcher);
+                    }
+                }
+            catch (IOException | AlreadyClosedException e)
+                {
+                return 0;
+                }
+            }
+
+        /**
+         * Called after an index change outside of batch mode to make the
+         * change visible to searches, either immediately or in the background
+         * if the {@link LuceneIndex#maxStaleness maximum staleness} is set.
+         * <p>
+         * Must be called while holding the read lock.
+         *
+         * @throws IOException if an error occurs
+         */
+        private void onChange() throws IOException
+            {
+            f_atomicChanged.compareAndSet(0L, System.currentTimeMillis());
+
+            if (f_futureRefresh == null)
+                {
+                f_indexWriter.flush();
+                refresh();
+                }
+            }
+
+        /**
+         * Refresh the searcher if there are changes that are not visible to
+         * searches yet.
+         * <p>
+         * Must be called while holding the read lock.
+         *
+         * @throws IOException if an error occurs
+         */
+        private void refresh() throws IOException
+            {
+            long ldtChanged = f_atomicChanged.getAndSet(0L);
+            if (ldtChanged == 0L)
+                {
+                // there are no changes, unless they were made in batch mode
+                f_searcherManager.maybeRefresh();
+                }
+            else if (f_searcherManager.maybeRefresh())
+                {
+                f_statistics.recordRefresh(System.currentTimeMillis() - ldtChanged);
+                }
+            else
+                {
+                // another thread is refreshing; retry the changes next time
+                f_atomicChanged.compareAndSet(0L, ldtChanged);
+                }
+            }
+
+        /**
+         * Commit pending changes and record the time it took.
+         * <p>
+         * Must be called while holding the read lock.
+         *
+         * @throws IOException if an error occurs
+         */
+        private void commitInternal() throws IOException
+            {
+            long ldtStart = System.currentTimeMillis();
+            f_indexWriter.commit();
+            f_statistics.recordCommit(System.currentTimeMillis() - ldtStart);
+            }
+
+        /**
+         * Execute a scheduled refresh or commit on a background thread.
+         *
+         * @param fCommit  {@code true} to commit pending changes, {@code false}
+         *                 to refresh the searcher
+         *
+         * @throws IOException if an error occurs
+         */
+        void runTask(boolean fCommit) throws IOException
+            {
+            f_lock.readLock().lock();
+            try
+                {
+                // changes made in batch mode are committed and refreshed by endBatch
+                if (!m_fClosed && !m_batchMode)
+                    {
+                    if (!fCommit)
+                        {
+                        refresh();
+                        }
+                    else if (f_indexWriter.hasUncommittedChanges())
+                        {
+                        commitInternal();
+                        }
+                    }
+                }
+            finally
+                {
+                f_lock.readLock().unlock();
+                }
+            }
+
+        /**
+         * Cancel a scheduled task.
+         *
+         * @param future  the future of the task to cancel, or {@code null}
+         */
+        private void cancel(ScheduledFuture<?> future)
+            {
+            if (future != null)
+                {
+                future.cancel(false);
+                }
+            }
+
         /**
          * Returns an IndexSearcher for debugging purposes.
          * The caller MUST call releaseSearcher when done.
@@ -955,6 +1189,34 @@ public class LuceneIndex<K, V>
          */
         private final SimpleMapIndex f_simpleIndex;
 
+        /**
+         * The statistics of this index on this member.
+         */
+        private final Statistics f_statistics;
+
+        /**
+         * The time of the first change that is not visible to searches yet,
+         * or zero if all changes are visible.
+         */
+        private final AtomicLong f_atomicChanged = new AtomicLong();
+
+        /**
+         * The future of the background refresh task, or {@code null} if the
+         * searcher is refreshed after each change.
+         */
+        private final ScheduledFuture<?> f_futureRefresh;
+
+        /**
+         * The future of the background commit task, or {@code null} if
+         * background commits are disabled.
+         */
+        private final ScheduledFuture<?> f_futureCommit;
+
+        /**
+         * Indicates whether this index has been closed.
+         */
+        private volatile boolean m_fClosed;
+
         /**
          * Lock for synchronizing index modifications.
          * <p>
@@ -972,6 +1234,9 @@ public class LuceneIndex<K, V>
          * because it should never happen in a critical path -- only during initial
          * index creation when we have to index all the data in a partition, from
          * either a service or a single worker thread.
+         * <p>
+         * Background refresh and commit tasks use the read lock, so that they
+         * never run concurrently with closing the index.
          */
         private final ReadWriteLock f_lock = new ReentrantReadWriteLock();
 
@@ -1098,6 +1363,52 @@ public class LuceneIndex<K, V>
             m_writerConfigurer = writerConfigurer;
             }
 
+        /**
+         * Returns the maximum time an index change may remain invisible to
+         * searches.
+         *
+         * @return the maximum staleness in milliseconds, or zero to refresh
+         *         the searcher after each change
+         */
+        public long maxStalenessMillis()
+            {
+            return m_cMaxStalenessMillis;
+            }
+
+        /**
+         * Sets the maximum time an index change may remain invisible to
+         * searches.
+         *
+         * @param cMillis the maximum staleness in milliseconds
+         */
+        private void setMaxStalenessMillis(long cMillis)
+            {
+            m_cMaxStalenessMillis = Math.max(0L, cMillis);
+            }
+
+        /**
+         * Returns the interval at which pending changes are committed in the
+         * background.
+         *
+         * @return the commit interval in milliseconds, or zero if background
+         *         commits are disabled
+         */
+        public long commitIntervalMillis()
+            {
+            return m_cCommitIntervalMillis;
+            }
+
+        /**
+         * Sets the interval at which pending changes are committed in the
+         * background.
+         *
+         * @param cMillis the commit interval in milliseconds
+         */
+        private void setCommitIntervalMillis(long cMillis)
+            {
+            m_cCommitIntervalMillis = Math.max(0L, cMillis);
+            }
+
         // ----- PortableObject interface ---------------------------------------
 
         @Override
@@ -1107,6 +1418,8 @@ public class LuceneIndex<K, V>
             m_writerConfigurer = in.readObject(1);
             m_analyzerSupplier = in.readObject(2);
             m_directorySupplier = in.readObject(3);
+            m_cMaxStalenessMillis = in.readLong(4);
+            m_cCommitIntervalMillis = in.readLong(5);
             }
 
         @Override
@@ -1116,6 +1429,8 @@ public class LuceneIndex<K, V>
             out.writeObject(1, m_writerConfigurer);
             out.writeObject(2, m_analyzerSupplier);
             out.writeObject(3, m_directorySupplier);
+            out.writeLong(4, m_cMaxStalenessMillis);
+            out.writeLong(5, m_cCommitIntervalMillis);
             }
 
         // ---- data members ------------------------------------------------
@@ -1159,6 +1474,514 @@ public class LuceneIndex<K, V>
          * default settings and auto-tuning features.
          */
         private Remote.Consumer<IndexWriterConfig> m_writerConfigurer = (config) -> {};
+
+        /**
+         * The maximum time in milliseconds an index change may remain
+         * invisible to searches.
+         * <p>
+         * Defaults to zero, which refreshes the searcher after each change.
+         */
+        private long m_cMaxStalenessMillis;
+
+        /**
+         * The interval in milliseconds at which pending changes are committed
+         * in the background.
+         * <p>
+         * Defaults to zero, which disables background commits.
+         */
+        private long m_cCommitIntervalMillis;
+        }
+
+    // ----- inner class: IndexTask -----------------------------------------
+
+    /**
+     * A periodic task that refreshes the searcher of, or commits pending
+     * changes to, a partition index in the background.
+     * <p>
+     * The task only holds a weak reference to the partition index, and
+     * cancels itself once the index is closed or garbage collected, so that
+     * an index that is discarded without being destroyed, such as when its
+     * partition is transferred to another member, does not leak.
+     */
+    static class IndexTask
+            implements Runnable
+        {
+        /**
+         * Create an {@link IndexTask}.
+         *
+         * @param index    the partition index
+         * @param fCommit  {@code true} to commit pending changes, {@code false}
+         *                 to refresh the searcher
+         */
+        private IndexTask(LuceneIndex<?, ?>.LuceneMapIndex index, boolean fCommit)
+            {
+            f_refIndex = new WeakReference<>(index);
+            f_fCommit  = fCommit;
+            }
+
+        /**
+         * Schedule a task for the specified partition index.
+         *
+         * @param index    the partition index
+         * @param fCommit  {@code true} to commit pending changes, {@code false}
+         *                 to refresh the searcher
+         * @param cMillis  the interval between executions of the task
+         *
+         * @return the future of the scheduled task
+         */
+        static ScheduledFuture<?> schedule(LuceneIndex<?, ?>.LuceneMapIndex index, boolean fCommit, long cMillis)
+            {
+            IndexTask          task   = new IndexTask(index, fCommit);
+            ScheduledFuture<?> future = SCHEDULER.scheduleWithFixedDelay(task, cMillis, cMillis, TimeUnit.MILLISECONDS);
+
+            task.m_future = future;
+            return future;
+            }
+
+        @Override
+        public void run()
+            {
+            LuceneIndex<?, ?>.LuceneMapIndex index = f_refIndex.get();
+            if (index == null || index.m_fClosed)
+                {
+                ScheduledFuture<?> future = m_future;
+                if (future != null)
+                    {
+                    future.cancel(false);
+                    }
+                return;
+                }
+
+            try
+                {
+                index.runTask(f_fCommit);
+                }
+            catch (Throwable e)
+                {
+                // never propagate, as that would suppress subsequent executions
+                Logger.err("Failed to " + (f_fCommit ? "commit" : "refresh") + " Lucene index", e);
+                }
+            }
+
+        // ---- helper methods ----------------------------------------------
+
+        /**
+         * Create the scheduler used to refresh and commit indexes in the
+         * background.
+         *
+         * @return the scheduler
+         */
+        private static ScheduledThreadPoolExecutor createScheduler()
+            {
+            AtomicInteger               cThreads  = new AtomicInteger();
+            ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(SCHEDULER_THREADS, runnable ->
+                    {
+                    Thread thread = Base.makeThread(null, runnable, "LuceneIndexRefresh:" + cThreads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                    });
+
+            scheduler.setRemoveOnCancelPolicy(true);
+            return scheduler;
+            }
+
+        // ---- constants ---------------------------------------------------
+
+        /**
+         * The number of threads used to refresh and commit indexes in the
+         * background.
+         */
+        private static final int SCHEDULER_THREADS = Math.max(1, Runtime.getRuntime().availableProcessors() / 4);
+
+        // ---- data members ------------------------------------------------
+
+        /**
+         * The scheduler shared by all Lucene indexes in this JVM.
+         */
+        private static final ScheduledThreadPoolExecutor SCHEDULER = createScheduler();
+
+        /**
+         * The weak reference to the partition index.
+         */
+        private final WeakReference<LuceneIndex<?, ?>.LuceneMapIndex> f_refIndex;
+
+        /**
+         * {@code true} to commit pending changes, {@code false} to refresh
+         * the searcher.
+         */
+        private final boolean f_fCommit;
+
+        /**
+         * The future of this task.
+         */
+        private volatile ScheduledFuture<?> m_future;
+        }
+
+    // ----- inner class: TimedMergeScheduler -------------------------------
+
+    /**
+     * A {@link ConcurrentMergeScheduler} that records the time spent on
+     * each merge.
+     */
+    static class TimedMergeScheduler
+            extends ConcurrentMergeScheduler
+        {
+        /**
+         * Create a {@link TimedMergeScheduler}.
+         *
+         * @param statistics  the statistics to record merges in
+         */
+        TimedMergeScheduler(Statistics statistics)
+            {
+            f_statistics = statistics;
+            }
+
+        @Override
+        protected void doMerge(MergeScheduler.MergeSource mergeSource, MergePolicy.OneMerge merge) throws IOException
+            {
+            long ldtStart = System.currentTimeMillis();
+            try
+                {
+                super.doMerge(mergeSource, merge);
+                }
+            finally
+                {
+                f_statistics.recordMerge(System.currentTimeMillis() - ldtStart);
+                }
+            }
+
+        // ---- data members ------------------------------------------------
+
+        /**
+         * The statistics to record merges in.
+         */
+        private final Statistics f_statistics;
+        }
+
+    // ----- inner class: Statistics ----------------------------------------
+
+    /**
+     * The statistics of a {@link LuceneIndex} on this member, aggregated
+     * across all its partition indexes, and registered as a
+     * {@link LuceneIndexMBean}.
+     */
+    static class Statistics
+            implements LuceneIndexMBean
+        {
+        /**
+         * Create a {@link Statistics} instance.
+         *
+         * @param cMaxStalenessMillis  the maximum staleness of the index
+         */
+        Statistics(long cMaxStalenessMillis)
+            {
+            f_cMaxStalenessMillis = cMaxStalenessMillis;
+            }
+
+        /**
+         * Add a partition index, and register the MBean when the first
+         * partition index of a cache is added.
+         *
+         * @param index  the partition index
+         * @param ctx    the backing map context of the cache, or {@code null}
+         */
+        void add(LuceneIndex<?, ?>.LuceneMapIndex index, BackingMapContext ctx)
+            {
+            synchronized (f_mapIndexes)
+                {
+                f_mapIndexes.put(index, Boolean.TRUE);
+
+                if (m_sMBeanName == null && ctx != null)
+                    {
+                    register(ctx, index.getValueExtractor());
+                    }
+                }
+            }
+
+        /**
+         * Remove a partition index, and unregister the MBean when the last
+         * partition index is removed.
+         *
+         * @param index  the partition index
+         */
+        void remove(LuceneIndex<?, ?>.LuceneMapIndex index)
+            {
+            synchronized (f_mapIndexes)
+                {
+                f_mapIndexes.remove(index);
+
+                String sName = m_sMBeanName;
+                if (f_mapIndexes.isEmpty() && sName != null)
+                    {
+                    Registry registry = m_registry;
+                    if (registry.isRegistered(sName))
+                        {
+                        registry.unregister(sName);
+                        }
+                    m_sMBeanName = null;
+                    m_registry   = null;
+                    }
+                }
+            }
+
+        /**
+         * Record a searcher refresh.
+         *
+         * @param cMillisLag  the time from the first change until the refresh
+         */
+        void recordRefresh(long cMillisLag)
+            {
+            f_cRefreshes.incrementAndGet();
+            f_cMillisRefreshLag.addAndGet(cMillisLag);
+            f_cMillisLastRefreshLag.set(cMillisLag);
+            f_cMillisMaxRefreshLag.accumulateAndGet(cMillisLag, Math::max);
+            }
+
+        /**
+         * Record a commit.
+         *
+         * @param cMillis  the time spent committing
+         */
+        void recordCommit(long cMillis)
+            {
+            f_cCommits.incrementAndGet();
+            f_cMillisCommit.addAndGet(cMillis);
+            }
+
+        /**
+         * Record a segment merge.
+         *
+         * @param cMillis  the time spent merging
+         */
+        void recordMerge(long cMillis)
+            {
+            f_cMerges.incrementAndGet();
+            f_cMillisMerge.addAndGet(cMillis);
+            f_cMillisMaxMerge.accumulateAndGet(cMillis, Math::max);
+            }
+
+        // ---- LuceneIndexMBean interface ----------------------------------
+
+        @Override
+        public int getPartitionCount()
+            {
+            synchronized (f_mapIndexes)
+                {
+                return f_mapIndexes.size();
+                }
+            }
+
+        @Override
+        public int getSegmentCount()
+            {
+            int cSegments = 0;
+            for (LuceneIndex<?, ?>.LuceneMapIndex index : getIndexes())
+                {
+                cSegments += index.getSegmentCount();
+                }
+            return cSegments;
+            }
+
+        @Override
+        public long getMaxStalenessMillis()
+            {
+            return f_cMaxStalenessMillis;
+            }
+
+        @Override
+        public long getRefreshCount()
+            {
+            return f_cRefreshes.get();
+            }
+
+        @Override
+        public long getLastRefreshLagMillis()
+            {
+            return f_cMillisLastRefreshLag.get();
+            }
+
+        @Override
+        public double getAverageRefreshLagMillis()
+            {
+            long cRefreshes = f_cRefreshes.get();
+            return cRefreshes == 0 ? 0.0 : (double) f_cMillisRefreshLag.get() / cRefreshes;
+            }
+
+        @Override
+        public long getMaxRefreshLagMillis()
+            {
+            return f_cMillisMaxRefreshLag.get();
+            }
+
+        @Override
+        public long getCommitCount()
+            {
+            return f_cCommits.get();
+            }
+
+        @Override
+        public long getTotalCommitMillis()
+            {
+            return f_cMillisCommit.get();
+            }
+
+        @Override
+        public long getMergeCount()
+            {
+            return f_cMerges.get();
+            }
+
+        @Override
+        public long getTotalMergeMillis()
+            {
+            return f_cMillisMerge.get();
+            }
+
+        @Override
+        public long getMaxMergeMillis()
+            {
+            return f_cMillisMaxMerge.get();
+            }
+
+        @Override
+        public void resetStatistics()
+            {
+            f_cRefreshes.set(0L);
+            f_cMillisRefreshLag.set(0L);
+            f_cMillisLastRefreshLag.set(0L);
+            f_cMillisMaxRefreshLag.set(0L);
+            f_cCommits.set(0L);
+            f_cMillisCommit.set(0L);
+            f_cMerges.set(0L);
+            f_cMillisMerge.set(0L);
+            f_cMillisMaxMerge.set(0L);
+            }
+
+        // ---- helper methods ----------------------------------------------
+
+        /**
+         * Returns a snapshot of the partition indexes.
+         *
+         * @return the partition indexes
+         */
+        private List<LuceneIndex<?, ?>.LuceneMapIndex> getIndexes()
+            {
+            synchronized (f_mapIndexes)
+                {
+                return new ArrayList<>(f_mapIndexes.keySet());
+                }
+            }
+
+        /**
+         * Register the MBean for the cache of the specified context.
+         *
+         * @param ctx        the backing map context of the cache
+         * @param extractor  the extractor of the index
+         */
+        private void register(BackingMapContext ctx, ValueExtractor<?, ?> extractor)
+            {
+            CacheService service  = ctx.getManagerContext().getCacheService();
+            Registry     registry = service.getCluster().getManagement();
+            if (registry != null)
+                {
+                String sName = registry.ensureGlobalName(MBEAN_TYPE
+                        + ",service=" + MBeanHelper.quote(service.getInfo().getServiceName())
+                        + ",cache="   + MBeanHelper.quote(ctx.getCacheName())
+                        + ",name="    + MBeanHelper.quote(extractor.getCanonicalName()));
+                try
+                    {
+                    if (registry.isRegistered(sName))
+                        {
+                        registry.unregister(sName);
+                        }
+                    registry.register(sName, new AnnotatedStandardMBean(this, LuceneIndexMBean.class));
+
+                    m_registry   = registry;
+                    m_sMBeanName = sName;
+                    }
+                catch (NotCompliantMBeanException e)
+                    {
+                    Logger.err(e);
+                    }
+                }
+            }
+
+        // ---- constants ---------------------------------------------------
+
+        /**
+         * The MBean type of the index statistics.
+         */
+        static final String MBEAN_TYPE = "type=LuceneIndex";
+
+        // ---- data members ------------------------------------------------
+
+        /**
+         * The partition indexes on this member; a partition index that is
+         * discarded without being destroyed is removed once it is garbage
+         * collected.
+         */
+        private final Map<LuceneIndex<?, ?>.LuceneMapIndex, Boolean> f_mapIndexes = new WeakHashMap<>();
+
+        /**
+         * The maximum staleness of the index.
+         */
+        private final long f_cMaxStalenessMillis;
+
+        /**
+         * The number of refreshes.
+         */
+        private final AtomicLong f_cRefreshes = new AtomicLong();
+
+        /**
+         * The total refresh lag.
+         */
+        private final AtomicLong f_cMillisRefreshLag = new AtomicLong();
+
+        /**
+         * The lag of the last refresh.
+         */
+        private final AtomicLong f_cMillisLastRefreshLag = new AtomicLong();
+
+        /**
+         * The maximum refresh lag.
+         */
+        private final AtomicLong f_cMillisMaxRefreshLag = new AtomicLong();
+
+        /**
+         * The number of commits.
+         */
+        private final AtomicLong f_cCommits = new AtomicLong();
+
+        /**
+         * The total commit time.
+         */
+        private final AtomicLong f_cMillisCommit = new AtomicLong();
+
+        /**
+         * The number of merges.
+         */
+        private final AtomicLong f_cMerges = new AtomicLong();
+
+        /**
+         * The total merge time.
+         */
+        private final AtomicLong f_cMillisMerge = new AtomicLong();
+
+        /**
+         * The maximum merge time.
+         */
+        private final AtomicLong f_cMillisMaxMerge = new AtomicLong();
+
+        /**
+         * The registry the MBean is registered with.
+         */
+        private Registry m_registry;
+
+        /**
+         * The name of the registered MBean, or {@code null} if the MBean is
+         * not registered.
+         */
+        private String m_sMBeanName;
         }
 
     // ----- constants ------------------------------------------------------
@@ -1200,4 +2023,9 @@ public class LuceneIndex<K, V>
      * The configuration for this index.
      */
     private Config m_config = new Config();
+
+    /**
+     * The statistics of this index on this member.
+     */
+    private transient Statistics m_statistics;
     }
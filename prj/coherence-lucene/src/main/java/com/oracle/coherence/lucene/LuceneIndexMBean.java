@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2025 Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.coherence.lucene;
+
+import com.tangosol.net.management.annotation.Description;
+
+/**
+ * An MBean that exposes the statistics of a {@link LuceneIndex} on a
+ * storage-enabled member.
+ * <p>
+ * The statistics are aggregated across all the partitions of the cache
+ * owned by the member.
+ *
+ * @since 25.09
+ */
+@Description("Statistics of a Lucene index on a storage-enabled member")
+public interface LuceneIndexMBean
+    {
+    /**
+     * Returns the number of partition indexes maintained by the member.
+     *
+     * @return the number of partition indexes
+     */
+    @Description("The number of partition indexes maintained by the member")
+    int getPartitionCount();
+
+    /**
+     * Returns the total number of Lucene segments searched by the member.
+     *
+     * @return the total number of segments
+     */
+    @Description("The total number of Lucene segments across all partition indexes")
+    int getSegmentCount();
+
+    /**
+     * Returns the maximum time an index change may remain invisible to
+     * searches.
+     *
+     * @return the maximum staleness in milliseconds, or zero if changes are
+     *         made visible as they are applied
+     */
+    @Description("The maximum time in milliseconds an index change may remain invisible to searches")
+    long getMaxStalenessMillis();
+
+    /**
+     * Returns the number of searcher refreshes.
+     *
+     * @return the number of refreshes
+     */
+    @Description("The number of searcher refreshes")
+    long getRefreshCount();
+
+    /**
+     * Returns the refresh lag of the last refresh, which is the time from
+     * the first change to an index until the change was visible to searches.
+     *
+     * @return the refresh lag of the last refresh in milliseconds
+     */
+    @Description("The time in milliseconds from the first change to an index until the last refresh made it visible")
+    long getLastRefreshLagMillis();
+
+    /**
+     * Returns the average refresh lag.
+     *
+     * @return the average refresh lag in milliseconds
+     */
+    @Description("The average refresh lag in milliseconds")
+    double getAverageRefreshLagMillis();
+
+    /**
+     * Returns the maximum refresh lag.
+     *
+     * @return the maximum refresh lag in milliseconds
+     */
+    @Description("The maximum refresh lag in milliseconds")
+    long getMaxRefreshLagMillis();
+
+    /**
+     * Returns the number of commits.
+     *
+     * @return the number of commits
+     */
+    @Description("The number of index commits")
+    long getCommitCount();
+
+    /**
+     * Returns the total time spent committing.
+     *
+     * @return the total commit time in milliseconds
+     */
+    @Description("The total time in milliseconds spent committing")
+    long getTotalCommitMillis();
+
+    /**
+     * Returns the number of segment merges.
+     *
+     * @return the number of merges
+     */
+    @Description("The number of segment merges")
+    long getMergeCount();
+
+    /**
+     * Returns the total time spent merging segments.
+     *
+     * @return the total merge time in milliseconds
+     */
+    @Description("The total time in milliseconds spent merging segments")
+    long getTotalMergeMillis();
+
+    /**
+     * Returns the maximum time spent on a single merge.
+     *
+     * @return the maximum merge time in milliseconds
+     */
+    @Description("The maximum time in milliseconds spent on a single segment merge")
+    long getMaxMergeMillis();
+
+    /**
+     * Reset the statistics.
+     */
+    @Description("Reset the statistics")
+    void resetStatistics();
+    }
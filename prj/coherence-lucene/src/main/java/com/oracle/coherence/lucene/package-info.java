@@ -16,6 +16,8 @@
  *       that maintains Lucene indexes for cache entries</li>
  *   <li>{@link com.oracle.coherence.lucene.LuceneSearch} - An aggregator that performs
  *       distributed full-text search across cache partitions</li>
+ *   <li>{@link com.oracle.coherence.lucene.HybridSearch} - An aggregator that combines
+ *       full-text and vector similarity search into a single hybrid search</li>
  *   <li>{@link com.oracle.coherence.lucene.LuceneQueryParser} - A utility class for building
  *       Lucene queries from text input</li>
  * </ul>
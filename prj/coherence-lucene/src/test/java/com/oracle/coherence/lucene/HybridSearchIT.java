@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2025 Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.coherence.lucene;
+
+import com.oracle.coherence.ai.DocumentChunk;
+import com.oracle.coherence.ai.Float32Vector;
+import com.oracle.coherence.ai.QueryResult;
+import com.oracle.coherence.ai.Vector;
+import com.oracle.coherence.ai.search.SimilaritySearch;
+
+import com.tangosol.net.Coherence;
+import com.tangosol.net.NamedMap;
+import com.tangosol.net.Session;
+import com.tangosol.util.Filters;
+import com.tangosol.util.ValueExtractor;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the {@link HybridSearch} class.
+ */
+public class HybridSearchIT
+    {
+    private static Coherence coherence;
+
+    private static NamedMap<String, DocumentChunk> documents;
+    private static final ValueExtractor<DocumentChunk, String> CONTENT = ValueExtractor.of(DocumentChunk::text);
+    private static final ValueExtractor<DocumentChunk, Vector<float[]>> EMBEDDING = ValueExtractor.of(DocumentChunk::vector);
+    private static final LuceneQueryParser queryParser = LuceneQueryParser.create(CONTENT);
+
+    @SuppressWarnings("resource")
+    @BeforeAll
+    static void setupClass()
+        {
+        System.setProperty("coherence.cluster", "HybridSearchIT");
+        System.setProperty("coherence.wka", "127.0.0.1");
+        System.setProperty("coherence.serializer", "pof");
+
+        coherence = Coherence.clusterMember().start().join();
+
+        Session session = coherence.getSession();
+        documents = session.getMap("hybrid-documents");
+        documents.addIndex(new LuceneIndex<>(CONTENT));
+        }
+
+    @AfterAll
+    static void cleanupClass()
+        {
+        if (coherence != null)
+            {
+            coherence.close();
+            }
+        }
+
+    @BeforeEach
+    void setup()
+        {
+        documents.clear();
+
+        // doc1 and doc3 match the text query, doc2 and doc3 are close to the query vector
+        documents.put("doc1", new DocumentChunk("This is a test document about machine learning", vector(0.0f, 1.0f)));
+        documents.put("doc2", new DocumentChunk("Another document about artificial intelligence", vector(0.9f, 0.1f)));
+        documents.put("doc3", new DocumentChunk("Document discussing machine learning and AI", vector(1.0f, 0.05f)));
+        documents.put("doc4", new DocumentChunk("Something completely different", vector(-1.0f, 0.0f)));
+        }
+
+    @Test
+    void shouldRankResultsMatchingBothSearchesFirst()
+        {
+        var results = documents.aggregate(hybrid(10));
+
+        results.forEach(r -> System.out.printf("\n%.5f: key=%s, value=%s", r.getDistance(), r.getKey(), r.getValue().text()));
+
+        // all documents are vector candidates, doc3 is the best match of both searches
+        assertEquals(4, results.size());
+        assertEquals("doc3", results.get(0).getKey());
+        assertNotNull(results.get(0).getValue());
+        assertEquals("doc4", results.get(3).getKey());
+        for (int i = 1; i < results.size(); i++)
+            {
+            assertTrue(results.get(i - 1).getDistance() >= results.get(i).getDistance());
+            }
+        }
+
+    @Test
+    void shouldFuseWeightedScores()
+        {
+        // ignore the vector ranking altogether
+        var results = documents.aggregate(hybrid(2).fusion(HybridSearch.Fusion.WEIGHTED).weights(1.0, 0.0));
+
+        assertEquals(2, results.size());
+        assertEquals("doc3", results.get(0).getKey());
+        assertEquals("doc1", results.get(1).getKey());
+        }
+
+    @Test
+    void shouldApplyFiltersOfBothSearches()
+        {
+        var filter  = Filters.like(CONTENT, "%AI");
+        var lexical = new LuceneSearch<String, DocumentChunk>(CONTENT, queryParser.parse("machine learning"), 10).filter(filter);
+        var vector  = new SimilaritySearch<String, DocumentChunk, float[]>(EMBEDDING, vector(1.0f, 0.0f), 10).filter(filter);
+
+        List<QueryResult<String, DocumentChunk>> results = documents.aggregate(new HybridSearch<>(lexical, vector, 10));
+
+        assertEquals(1, results.size());
+        assertEquals("doc3", results.get(0).getKey());
+        }
+
+    @Test
+    void shouldHandleEmptyResults()
+        {
+        documents.clear();
+
+        assertTrue(documents.aggregate(hybrid(10)).isEmpty());
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    private static HybridSearch<String, DocumentChunk, float[]> hybrid(int nMaxResults)
+        {
+        var lexical = new LuceneSearch<String, DocumentChunk>(CONTENT, queryParser.parse("machine learning"), 10);
+        var vector  = new SimilaritySearch<String, DocumentChunk, float[]>(EMBEDDING, vector(1.0f, 0.0f), 10);
+
+        return new HybridSearch<>(lexical, vector, nMaxResults);
+        }
+
+    private static Float32Vector vector(float f1, float f2)
+        {
+        return new Float32Vector(new float[] {f1, f2});
+        }
+    }
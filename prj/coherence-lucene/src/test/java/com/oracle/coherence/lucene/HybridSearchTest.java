@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2025 Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.coherence.lucene;
+
+import com.oracle.coherence.ai.Float32Vector;
+import com.oracle.coherence.ai.Vector;
+import com.oracle.coherence.ai.search.BinaryQueryResult;
+import com.oracle.coherence.ai.search.SimilaritySearch;
+import com.tangosol.io.pof.ConfigurablePofContext;
+import com.tangosol.io.pof.PofContext;
+import com.tangosol.util.Binary;
+import com.tangosol.util.ExternalizableHelper;
+import com.tangosol.util.ValueExtractor;
+import com.tangosol.util.extractor.UniversalExtractor;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for the {@link HybridSearch} class.
+ */
+public class HybridSearchTest
+    {
+    private static final ValueExtractor<String, String> CONTENT = new UniversalExtractor<>("content");
+    private static final ValueExtractor<String, Vector<float[]>> EMBEDDING = new UniversalExtractor<>("embedding");
+    private static final LuceneQueryParser QUERY_PARSER = LuceneQueryParser.create(CONTENT);
+
+    private HybridSearch<String, String, float[]> search;
+    private PofContext pofContext;
+
+    @BeforeEach
+    void setUp()
+        {
+        var lexical = new LuceneSearch<String, String>(CONTENT, QUERY_PARSER.parse("machine learning"), 20);
+        var vector  = new SimilaritySearch<String, String, float[]>(EMBEDDING, new Float32Vector(new float[] {1.0f, 0.0f}), 20);
+
+        search     = new HybridSearch<>(lexical, vector, 10);
+        pofContext = new ConfigurablePofContext();
+        }
+
+    @Test
+    void shouldFuseReciprocalRanks()
+        {
+        // "b" is second in both rankings, so it beats "a" and "d" which are first in one of them only
+        List<BinaryQueryResult> listFused = search.fuse(List.of(result("a", 0.9), result("b", 0.8), result("c", 0.1)),
+                                                        List.of(result("d", 0.1), result("b", 0.2)));
+
+        assertEquals(List.of("b", "a", "d", "c"), keys(listFused));
+        assertEquals(2.0 / 62, listFused.get(0).getDistance(), 1e-9);
+        assertEquals(1.0 / 61, listFused.get(1).getDistance(), 1e-9);
+        assertEquals(1.0 / 63, listFused.get(3).getDistance(), 1e-9);
+        }
+
+    @Test
+    void shouldWeighReciprocalRanks()
+        {
+        search.rankConstant(0).weights(1.0, 3.0);
+
+        List<BinaryQueryResult> listFused = search.fuse(List.of(result("a", 0.9), result("b", 0.8)),
+                                                        List.of(result("b", 0.1), result("a", 0.2)));
+
+        assertEquals(List.of("b", "a"), keys(listFused));
+        assertEquals(0.5 + 3.0, listFused.get(0).getDistance(), 1e-9);
+        assertEquals(1.0 + 1.5, listFused.get(1).getDistance(), 1e-9);
+        }
+
+    @Test
+    void shouldFuseWeightedScores()
+        {
+        search.fusion(HybridSearch.Fusion.WEIGHTED).weights(0.25, 0.75);
+
+        // vector distances are normalized to similarities between 1.0 (closest) and 0.0 (farthest)
+        List<BinaryQueryResult> listFused = search.fuse(List.of(result("a", 1.0), result("b", 0.5)),
+                                                        List.of(result("b", 0.2), result("c", 0.4), result("a", 0.6)));
+
+        assertEquals(List.of("b", "c", "a"), keys(listFused));
+        assertEquals(0.25 * 0.5 + 0.75, listFused.get(0).getDistance(), 1e-9);
+        assertEquals(0.75 * 0.5, listFused.get(1).getDistance(), 1e-9);
+        assertEquals(0.25, listFused.get(2).getDistance(), 1e-9);
+        }
+
+    @Test
+    void shouldFuseSingleRanking()
+        {
+        search.fusion(HybridSearch.Fusion.WEIGHTED);
+
+        List<BinaryQueryResult> listFused = search.fuse(List.of(), List.of(result("a", 0.3)));
+
+        assertEquals(List.of("a"), keys(listFused));
+        assertEquals(1.0, listFused.get(0).getDistance(), 1e-9);
+        assertEquals(List.of(), search.fuse(List.of(), List.of()));
+        }
+
+    @Test
+    void shouldRejectInvalidParameters()
+        {
+        assertThrows(IllegalArgumentException.class, () -> search.rankConstant(-1));
+        assertThrows(IllegalArgumentException.class, () -> search.weights(-1.0, 1.0));
+        assertThrows(NullPointerException.class, () -> search.fusion(null));
+        }
+
+    @Test
+    void shouldHandlePofSerializationAndDeserialization()
+        {
+        search.fusion(HybridSearch.Fusion.WEIGHTED).rankConstant(10).weights(0.3, 0.7);
+
+        var binary = ExternalizableHelper.toBinary(search, pofContext);
+
+        HybridSearch<String, String, float[]> deserializedSearch = ExternalizableHelper.fromBinary(binary, pofContext);
+
+        assertEquals(search.getMaxResults(), deserializedSearch.getMaxResults());
+        assertEquals(search.getFusion(), deserializedSearch.getFusion());
+        assertEquals(search.getRankConstant(), deserializedSearch.getRankConstant());
+        assertEquals(search.getLexicalWeight(), deserializedSearch.getLexicalWeight());
+        assertEquals(search.getVectorWeight(), deserializedSearch.getVectorWeight());
+        assertEquals(search.getLexicalSearch().getQuery(), deserializedSearch.getLexicalSearch().getQuery());
+        assertEquals(search.getVectorSearch().getMaxResults(), deserializedSearch.getVectorSearch().getMaxResults());
+        }
+
+    @Test
+    void shouldFailSerializationUnlessPofIsUsed()
+        {
+        IOException e = assertThrows(IOException.class,
+                () -> search.readExternal(new DataInputStream(new ByteArrayInputStream(new byte[1]))));
+        assertEquals("HybridSearch requires POF serialization", e.getMessage());
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    private static BinaryQueryResult result(String sKey, double dScore)
+        {
+        return new BinaryQueryResult(dScore, new Binary(sKey.getBytes()), null);
+        }
+
+    private static List<String> keys(List<BinaryQueryResult> listResults)
+        {
+        return listResults.stream().map(r -> new String(r.getKey().toByteArray())).toList();
+        }
+    }
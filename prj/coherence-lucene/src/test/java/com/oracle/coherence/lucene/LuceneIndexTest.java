@@ -33,6 +33,7 @@
  import java.io.DataOutputStream;
  import java.io.IOException;
  import java.nio.file.Path;
+import java.time.Duration;
  import java.util.Arrays;
  import java.util.HashMap;
  import java.util.Map;
@@ -175,7 +176,9 @@
                                     }
                                 })
                  .configureIndexWriter(cfg -> cfg.setSimilarity(new BM25Similarity(1.2f, 0.3f)))
-                 .searcher((cur, prev) -> new QueryProfilerIndexSearcher(cur));
+                 .searcher((cur, prev) -> new QueryProfilerIndexSearcher(cur))
+                 .maxStaleness(Duration.ofMillis(250))
+                 .commitInterval(Duration.ofSeconds(30));
 
          // Test serialization of the index
          Binary binary = toBinary(index, pofContext);
@@ -194,6 +197,8 @@
          assertEquals(roundTrip(c1.directorySupplier()), c2.directorySupplier());
          assertEquals(roundTrip(c1.searcherSupplier()), c2.searcherSupplier());
          assertEquals(roundTrip(c1.writerConfigurer()), c2.writerConfigurer());
+         assertEquals(c1.maxStalenessMillis(), c2.maxStalenessMillis());
+         assertEquals(c1.commitIntervalMillis(), c2.commitIntervalMillis());
 
          IndexWriterConfig cfg = new IndexWriterConfig(c2.analyzerSupplier().get());
          c2.writerConfigurer().accept(cfg);
@@ -282,6 +287,50 @@
          assertTrue(results.containsKey(entry.getBinaryKey()));
          }
 
+     @Test
+     void shouldRefreshAndCommitInBackground() throws Exception
+         {
+         var nrtIndex = new LuceneIndex<String, TestDocument>(extractor)
+                 .maxStaleness(Duration.ofMillis(50))
+                 .commitInterval(Duration.ofMillis(50));
+         var mapIndex = (LuceneIndex<String, TestDocument>.LuceneMapIndex) nrtIndex.createIndex(false, null, indexMap, null);
+
+         try
+             {
+             var entry = new SimpleBinaryEntry<>("doc1", new TestDocument("Near real time search document"), pofContext);
+             mapIndex.insert(entry);
+
+             // the change becomes visible once the searcher is refreshed in the background
+             var  query     = queryParser.parse("near real time");
+             long ldtExpiry = System.currentTimeMillis() + 10_000L;
+             while (mapIndex.search(query, 10).isEmpty() && System.currentTimeMillis() < ldtExpiry)
+                 {
+                 Thread.sleep(10L);
+                 }
+
+             assertTrue(mapIndex.search(query, 10).containsKey(entry.getBinaryKey()));
+
+             LuceneIndex.Statistics statistics = nrtIndex.ensureStatistics();
+             while (statistics.getCommitCount() == 0 && System.currentTimeMillis() < ldtExpiry)
+                 {
+                 Thread.sleep(10L);
+                 }
+
+             assertEquals(50L, statistics.getMaxStalenessMillis());
+             assertEquals(1, statistics.getPartitionCount());
+             assertEquals(1, statistics.getSegmentCount());
+             assertTrue(statistics.getRefreshCount() >= 1);
+             assertTrue(statistics.getCommitCount() >= 1);
+             assertTrue(statistics.getMaxRefreshLagMillis() >= statistics.getLastRefreshLagMillis());
+             }
+         finally
+             {
+             nrtIndex.destroyIndex(indexMap);
+             }
+
+         assertEquals(0, nrtIndex.ensureStatistics().getPartitionCount());
+         }
+
     /**
      * Test French analyzer's stemming behavior.
      * <p>
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+package com.oracle.coherence.maven.pof;
+
+import com.tangosol.io.pof.GeneratedPofConfigProvider;
+
+import com.tangosol.io.pof.generator.RecordSerializerGenerator;
+
+import java.io.File;
+
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+/**
+ * A Maven plugin that generates the POF serializers for the records and the
+ * sealed hierarchies of records annotated with
+ * {@link com.tangosol.io.pof.schema.annotation.PortableType} by running the
+ * {@link RecordSerializerGenerator} class.
+ * <p>
+ * The generated serializers are registered by the
+ * {@link GeneratedPofConfigProvider#RESOURCE_NAME} configuration file, so
+ * they are used by any {@link com.tangosol.io.pof.ConfigurablePofContext}
+ * that has POF configuration discovery enabled.
+ *
+ * @since 25.09
+ */
+@Mojo(name = "generate-serializers",
+        defaultPhase = LifecyclePhase.PROCESS_CLASSES,
+        threadSafe = true)
+public class GenerateSerializersMojo
+        extends AbstractMojo
+    {
+    // ----- AbstractMojo methods -------------------------------------------
+
+    @Override
+    public void execute()
+            throws MojoExecutionException
+        {
+        PortableTypeMojo.MavenLogger log = new PortableTypeMojo.MavenLogger(getLog());
+
+        if (m_fSkip)
+            {
+            log.info("RecordSerializerGenerator code generation is skipped");
+            return;
+            }
+
+        if (!m_fileClassesDir.isDirectory())
+            {
+            log.info("RecordSerializerGenerator skipping " + m_fileClassesDir + " as it is not a directory");
+            return;
+            }
+
+        try
+            {
+            log.info("Running RecordSerializerGenerator for classes in " + m_fileClassesDir.getCanonicalPath());
+            RecordSerializerGenerator.generateSerializers(m_fileClassesDir, log);
+            }
+        catch (Exception e)
+            {
+            throw new MojoExecutionException("Failed to generate POF serializers", e);
+            }
+        }
+
+    // ----- accessor methods -----------------------------------------------
+
+    /**
+     * Set the project classes directory.
+     *
+     * @param fileClassesDir  the project classes directory
+     */
+    public void setClassesDirectory(File fileClassesDir)
+        {
+        m_fileClassesDir = fileClassesDir;
+        }
+
+    /**
+     * Set whether to skip execution.
+     *
+     * @param fSkip  {@code true} to skip execution
+     */
+    public void setSkip(boolean fSkip)
+        {
+        m_fSkip = fSkip;
+        }
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * Location of the project classes.
+     */
+    @Parameter(name = "classesDirectory",
+               property = "project.build.outputDirectory",
+               defaultValue = "${project.build.outputDirectory}",
+               required = true)
+    private File m_fileClassesDir;
+
+    /**
+     * Whether to skip execution.
+     */
+    @Parameter(name         = "skip",
+               property     = "pof.skip",
+               defaultValue = "false")
+    private boolean m_fSkip = false;
+    }
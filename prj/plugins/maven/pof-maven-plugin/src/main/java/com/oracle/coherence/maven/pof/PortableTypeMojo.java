@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2000, 2024, Oracle and/or its affiliates.
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
  *
  * Licensed under the Universal Permissive License v 1.0 as shown at
  * https://oss.oracle.com/licenses/upl.
@@ -365,7 +365,7 @@ public abstract class PortableTypeMojo
     /**
      * An implementation of a logger to log to the Maven build output.
      */
-    private static class MavenLogger
+    static class MavenLogger
             implements PortableTypeGenerator.Logger
         {
         /**
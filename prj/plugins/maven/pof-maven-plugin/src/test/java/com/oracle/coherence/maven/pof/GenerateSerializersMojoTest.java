@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+package com.oracle.coherence.maven.pof;
+
+import com.tangosol.io.pof.ConfigurablePofContext;
+import com.tangosol.io.pof.GeneratedPofConfigProvider;
+
+import com.tangosol.util.Binary;
+import com.tangosol.util.ExternalizableHelper;
+
+import java.io.File;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertArrayEquals;
+
+public class GenerateSerializersMojoTest
+    {
+    @Test
+    public void shouldGenerateSerializer() throws Exception
+        {
+        File fileClasses = new File(GenerateSerializersMojoTest.class.getProtectionDomain()
+                                            .getCodeSource().getLocation().toURI());
+
+        GenerateSerializersMojo mojo = new GenerateSerializersMojo();
+
+        mojo.setClassesDirectory(fileClasses);
+
+        mojo.execute();
+
+        File fileConfig = new File(fileClasses, GeneratedPofConfigProvider.RESOURCE_NAME);
+        assertThat(fileConfig.exists(), is(true));
+        assertThat(new File(fileClasses, "com/oracle/coherence/maven/pof/ValueRecord$PofSerializer.class").exists(),
+                   is(true));
+
+        ConfigurablePofContext ctx    = new ConfigurablePofContext(fileConfig.toURI().toString());
+        ValueRecord            value  = new ValueRecord("foo", 19, new long[] {1L, 2L});
+        Binary                 binary = ExternalizableHelper.toBinary(value, ctx);
+        ValueRecord            result = ExternalizableHelper.fromBinary(binary, ctx);
+
+        assertThat(ctx.getPofSerializer(3000).getClass().getName(), is(ValueRecord.class.getName() + "$PofSerializer"));
+        assertThat(result.name(), is("foo"));
+        assertThat(result.count(), is(19));
+        assertArrayEquals(value.values(), result.values());
+        }
+    }
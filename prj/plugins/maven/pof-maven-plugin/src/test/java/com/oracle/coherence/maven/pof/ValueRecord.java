@@ -0,0 +1,17 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+package com.oracle.coherence.maven.pof;
+
+import com.tangosol.io.pof.schema.annotation.PortableType;
+
+/**
+ * A test record with a generated POF serializer.
+ */
+@PortableType(id = 3000)
+public record ValueRecord(String name, int count, long[] values)
+    {
+    }
@@ -132,6 +132,37 @@ public class BinaryQuantIndexIT
         assertThat(results.size(), is(setMatch.size()));
         }
 
+    @Test
+    public void shouldNotReturnRemovedEntries()
+        {
+        ValueExtractor<ValueWithVector, Vector<float[]>> extractor = ValueExtractor.of(ValueWithVector::getVector);
+
+        NamedMap<Integer, ValueWithVector> vectors = m_session.getMap("vectors-remove");
+        vectors.addIndex(new BinaryQuantIndex<>(ValueExtractor.of(ValueWithVector::getVector)));
+
+        ValueWithVector valueZero = populateVectors(vectors);
+        Vector<float[]> vector    = valueZero.getVector();
+        int             k         = 5;
+
+        SimilaritySearch<Integer, ValueWithVector, float[]> similaritySearch = new SimilaritySearch<>(extractor, vector, k);
+
+        var results = vectors.aggregate(similaritySearch);
+        assertThat(results.size(), is(k));
+        assertThat(results.get(0).getKey(), is(0));
+
+        // remove the exact match and replace another close match with a random vector
+        vectors.remove(0);
+        vectors.put(1, new ValueWithVector(new Float32Vector(Vectors.normalize(randomFloats(DIMENSIONS))), "1", 1));
+
+        results = vectors.aggregate(similaritySearch);
+        assertThat(results.size(), is(k));
+        for (var result : results)
+            {
+            assertThat(result.getKey() == 0, is(false));
+            }
+        assertThat(Set.of(2, 3, 4).contains(results.get(0).getKey()), is(true));
+        }
+
     public static ValueWithVector populateVectors(NamedMap<Integer, ValueWithVector> vectors)
         {
         float[][] matches = new float[5][];
@@ -0,0 +1,275 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package ai_tests.index;
+
+import ai_tests.index.BinaryQuantIndexIT.ValueWithVector;
+import com.oracle.coherence.ai.Float32Vector;
+import com.oracle.coherence.ai.Vector;
+import com.oracle.coherence.ai.index.JavaHnswIndex;
+import com.oracle.coherence.ai.internal.HnswGraph;
+import com.oracle.coherence.ai.search.SearchRecord;
+import com.oracle.coherence.ai.search.SimilaritySearch;
+import com.oracle.coherence.ai.util.Vectors;
+import com.tangosol.net.Coherence;
+import com.tangosol.net.NamedMap;
+import com.tangosol.net.Session;
+import com.tangosol.util.Filter;
+import com.tangosol.util.ValueExtractor;
+import com.tangosol.util.filter.GreaterFilter;
+import com.tangosol.util.filter.InFilter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static ai_tests.index.BinaryQuantIndexIT.DIMENSIONS;
+import static ai_tests.index.BinaryQuantIndexIT.populateVectors;
+import static ai_tests.index.BinaryQuantIndexIT.randomFloats;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+
+public class JavaHnswIndexIT
+    {
+    @BeforeAll
+    @SuppressWarnings("resource")
+    static void setup() throws Exception
+        {
+        String sAddress = "127.0.0.1";
+        System.setProperty("coherence.wka", sAddress);
+        System.setProperty("coherence.localhost", sAddress);
+        System.setProperty("test.unicast.address", sAddress);
+        System.setProperty("test.unicast.port", "0");
+        System.setProperty("coherence.ttl", "0");
+
+        System.setProperty("coherence.distributed.partitioncount", "13");
+
+        Coherence coherence = Coherence.clusterMember().start().get(5, TimeUnit.MINUTES);
+        m_session = coherence.getSession();
+
+        NamedMap<Integer, ValueWithVector> vectors = m_session.getMap("vectors-hnsw");
+        vectors.addIndex(new JavaHnswIndex<>(ValueWithVector::getVector, DIMENSIONS));
+        m_valueZero = populateVectors(vectors);
+        }
+
+    @AfterAll
+    static void cleanup()
+        {
+        Coherence.closeAll();
+        }
+
+    @Test
+    public void shouldSearch()
+        {
+        ValueExtractor<ValueWithVector, Vector<float[]>> extractor = ValueExtractor.of(ValueWithVector::getVector);
+
+        NamedMap<Integer, ValueWithVector> vectors = m_session.getMap("vectors-hnsw");
+
+        Vector<float[]> vector = m_valueZero.getVector();
+        int             k      = 10;
+
+        SimilaritySearch<Integer, ValueWithVector, float[]> similaritySearch = new SimilaritySearch<>(extractor, vector, k);
+
+        long startTimeHnsw = System.nanoTime();
+        var  resultsHnsw = vectors.aggregate(similaritySearch);
+        long endTimeHnsw = System.nanoTime();
+        System.out.println("******* Java HNSW ********");
+        resultsHnsw.forEach(System.out::println);
+        System.out.println("Java HNSW took " + (endTimeHnsw - startTimeHnsw) + " ns");
+
+        assertThat(resultsHnsw.size(), is(k));
+        assertThat(resultsHnsw.get(0).getKey(), is(0));
+
+        long startTimeBruteForce = System.nanoTime();
+        var  results = vectors.aggregate(similaritySearch.bruteForce());
+        long endTimeBruteForce = System.nanoTime();
+        System.out.println("******* Brute Force ********");
+        results.forEach(System.out::println);
+        System.out.println("Brute Force took " + (endTimeBruteForce - startTimeBruteForce) + " ns");
+
+        assertThat(results.size(), is(k));
+        for (int i = 0; i < 5; i++)
+            {
+            assertThat(Set.of(0, 1, 2, 3, 4).contains(resultsHnsw.get(i).getKey()), is(true));
+            }
+        }
+
+    @Test
+    public void shouldSearchWithFilter()
+        {
+        ValueExtractor<ValueWithVector, Vector<float[]>> extractor = ValueExtractor.of(ValueWithVector::getVector);
+        ValueExtractor<ValueWithVector, Integer> extractorFilter = ValueExtractor.of(ValueWithVector::getNumber);
+
+        NamedMap<Integer, ValueWithVector> vectors = m_session.getMap("vectors-hnsw");
+
+        Set<Integer>    setMatch = Set.of(0, 1, 2, 3);
+        Filter<?>       filter   = new InFilter<>(extractorFilter, setMatch);
+        Vector<float[]> vector   = m_valueZero.getVector();
+        int             k        = 5;
+
+        SimilaritySearch<Integer, ValueWithVector, float[]> similaritySearch = new SimilaritySearch<>(extractor, vector, k);
+
+        var results = vectors.aggregate(similaritySearch.filter(filter));
+        results.forEach(System.out::println);
+
+        assertThat(results.size(), is(setMatch.size()));
+        for (var result : results)
+            {
+            assertThat(setMatch.contains(result.getKey()), is(true));
+            }
+        }
+
+    @Test
+    public void shouldSearchWithIndexedFilter()
+        {
+        ValueExtractor<ValueWithVector, Vector<float[]>> extractor = ValueExtractor.of(ValueWithVector::getVector);
+        ValueExtractor<ValueWithVector, Integer> extractorFilter = ValueExtractor.of(ValueWithVector::getNumber);
+
+        NamedMap<Integer, ValueWithVector> vectors = m_session.getMap("vectors-hnsw-indexed");
+        vectors.addIndex(extractorFilter);
+        vectors.addIndex(new JavaHnswIndex<>(ValueWithVector::getVector, DIMENSIONS));
+
+        ValueWithVector valueZero = populateVectors(vectors);
+        int             k         = 5;
+
+        SimilaritySearch<Integer, ValueWithVector, float[]> similaritySearch = new SimilaritySearch<>(extractor, valueZero.getVector(), k);
+
+        // a selective filter resolved by the index is searched exhaustively
+        Set<Integer> setMatch = Set.of(0, 1, 2, 3);
+        var          results  = vectors.aggregate(similaritySearch.filter(new InFilter<>(extractorFilter, setMatch)));
+
+        assertThat(results.size(), is(setMatch.size()));
+        assertThat(results.get(0).getKey(), is(0));
+        for (var result : results)
+            {
+            assertThat(setMatch.contains(result.getKey()), is(true));
+            }
+
+        // a filter that matches most entries is applied during graph traversal
+        results = vectors.aggregate(similaritySearch.filter(new GreaterFilter<>(extractorFilter, 100)));
+
+        assertThat(results.size(), is(k));
+        for (var result : results)
+            {
+            assertThat(result.getKey() > 100, is(true));
+            }
+        }
+
+    @Test
+    public void shouldNotReturnRemovedEntries()
+        {
+        ValueExtractor<ValueWithVector, Vector<float[]>> extractor = ValueExtractor.of(ValueWithVector::getVector);
+
+        NamedMap<Integer, ValueWithVector> vectors = m_session.getMap("vectors-hnsw-remove");
+        vectors.addIndex(new JavaHnswIndex<>(ValueWithVector::getVector, DIMENSIONS));
+
+        ValueWithVector valueZero = populateVectors(vectors);
+        Vector<float[]> vector    = valueZero.getVector();
+        int             k         = 5;
+
+        SimilaritySearch<Integer, ValueWithVector, float[]> similaritySearch = new SimilaritySearch<>(extractor, vector, k);
+
+        var results = vectors.aggregate(similaritySearch);
+        assertThat(results.size(), is(k));
+        assertThat(results.get(0).getKey(), is(0));
+
+        // remove the exact match and replace another close match with a random vector
+        vectors.remove(0);
+        vectors.put(1, new ValueWithVector(new Float32Vector(Vectors.normalize(randomFloats(DIMENSIONS))), "1", 1));
+
+        results = vectors.aggregate(similaritySearch);
+        assertThat(results.size(), is(k));
+        for (var result : results)
+            {
+            assertThat(result.getKey() == 0, is(false));
+            assertThat(result.getKey() == 1, is(false));
+            }
+        assertThat(Set.of(2, 3, 4).contains(results.get(0).getKey()), is(true));
+        }
+
+    @Test
+    public void shouldSearchInTwoPhases()
+        {
+        ValueExtractor<ValueWithVector, Vector<float[]>> extractor = ValueExtractor.of(ValueWithVector::getVector);
+
+        NamedMap<Integer, ValueWithVector> vectors = m_session.getMap("vectors-hnsw");
+
+        int k = 10;
+
+        SimilaritySearch<Integer, ValueWithVector, float[]> similaritySearch = new SimilaritySearch<>(extractor, m_valueZero.getVector(), k);
+
+        var          results         = vectors.aggregate(similaritySearch);
+        SearchRecord record          = new SearchRecord();
+        var          resultsTwoPhase = similaritySearch.twoPhase(vectors, record);
+        System.out.println(record);
+
+        assertThat(resultsTwoPhase.size(), is(k));
+        for (int i = 0; i < k; i++)
+            {
+            assertThat(resultsTwoPhase.get(i).getKey(), is(results.get(i).getKey()));
+            assertThat(resultsTwoPhase.get(i).getDistance(), is(results.get(i).getDistance()));
+            assertThat(resultsTwoPhase.get(i).getValue().getNumber(), is(results.get(i).getValue().getNumber()));
+            }
+
+        // the first phase returns the candidates of every partition, but only the final values are fetched
+        assertThat(record.getResultCount(), is(k));
+        assertThat(record.getCandidateCount() >= k, is(true));
+        assertThat(record.getSavedBytes(), is(record.getCandidateValueBytes() - record.getFetchedValueBytes()));
+        }
+
+    @Test
+    public void shouldRestoreGraphFromSnapshot() throws Exception
+        {
+        HnswGraph graph = new HnswGraph(DIMENSIONS, HnswGraph.Space.COSINE, 16, 200, 16, 42L);
+        for (int i = 0; i < 1000; i++)
+            {
+            graph.add(randomFloats(DIMENSIONS), i);
+            }
+        graph.markDeleted(0);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        graph.write(new DataOutputStream(out));
+
+        // a snapshot can only be read into an empty graph with the same configuration
+        HnswGraph graphL2 = new HnswGraph(DIMENSIONS, HnswGraph.Space.L2, 16, 200, 16, 42L);
+        assertThat(graphL2.read(new DataInputStream(new ByteArrayInputStream(out.toByteArray()))), is(false));
+        assertThat(graphL2.size(), is(0));
+
+        HnswGraph graphRestored = new HnswGraph(DIMENSIONS, HnswGraph.Space.COSINE, 16, 200, 16, 42L);
+        assertThat(graphRestored.read(new DataInputStream(new ByteArrayInputStream(out.toByteArray()))), is(true));
+        assertThat(graphRestored.size(), is(graph.size()));
+        assertThat(graphRestored.getLabel(0) == null, is(true));
+
+        for (int i = 0; i < 10; i++)
+            {
+            float[] afQuery   = randomFloats(DIMENSIONS);
+            int[]   anIds     = new int[10];
+            int[]   anIdsNew  = new int[10];
+            float[] afDist    = new float[10];
+            float[] afDistNew = new float[10];
+
+            int cResults = graph.search(afQuery, 10, 50, null, anIds, afDist);
+            assertThat(graphRestored.search(afQuery, 10, 50, null, anIdsNew, afDistNew), is(cResults));
+            for (int j = 0; j < cResults; j++)
+                {
+                assertThat(graphRestored.getLabel(anIdsNew[j]), is(graph.getLabel(anIds[j])));
+                }
+            }
+        }
+
+    // ----- data members ---------------------------------------------------
+
+    private static Session m_session;
+
+    private static ValueWithVector m_valueZero;
+    }
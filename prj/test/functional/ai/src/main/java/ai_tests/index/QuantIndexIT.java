@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package ai_tests.index;
+
+import ai_tests.index.BinaryQuantIndexIT.ValueWithVector;
+import com.oracle.coherence.ai.Float32Vector;
+import com.oracle.coherence.ai.Vector;
+import com.oracle.coherence.ai.index.ProductQuantIndex;
+import com.oracle.coherence.ai.index.ScalarQuantIndex;
+import com.oracle.coherence.ai.internal.HnswGraph;
+import com.oracle.coherence.ai.internal.ProductQuantizer;
+import com.oracle.coherence.ai.internal.Quantizer;
+import com.oracle.coherence.ai.internal.ScalarQuantizer;
+import com.oracle.coherence.ai.search.SimilaritySearch;
+import com.oracle.coherence.ai.util.Vectors;
+import com.tangosol.net.Coherence;
+import com.tangosol.net.NamedMap;
+import com.tangosol.net.Session;
+import com.tangosol.util.ValueExtractor;
+import com.tangosol.util.filter.InFilter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static ai_tests.index.BinaryQuantIndexIT.DIMENSIONS;
+import static ai_tests.index.BinaryQuantIndexIT.populateVectors;
+import static ai_tests.index.BinaryQuantIndexIT.randomFloats;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+
+public class QuantIndexIT
+    {
+    @BeforeAll
+    @SuppressWarnings("resource")
+    static void setup() throws Exception
+        {
+        String sAddress = "127.0.0.1";
+        System.setProperty("coherence.wka", sAddress);
+        System.setProperty("coherence.localhost", sAddress);
+        System.setProperty("test.unicast.address", sAddress);
+        System.setProperty("test.unicast.port", "0");
+        System.setProperty("coherence.ttl", "0");
+
+        System.setProperty("coherence.distributed.partitioncount", "13");
+
+        Coherence coherence = Coherence.clusterMember().start().get(5, TimeUnit.MINUTES);
+        m_session = coherence.getSession();
+
+        // each of the 13 partitions holds enough vectors to train the quantizer
+        NamedMap<Integer, ValueWithVector> vectorsPq = m_session.getMap("vectors-pq");
+        vectorsPq.addIndex(new ProductQuantIndex<>(ValueWithVector::getVector, DIMENSIONS).setTrainingSize(TRAINING_SIZE));
+        m_valueZeroPq = populateVectors(vectorsPq);
+
+        NamedMap<Integer, ValueWithVector> vectorsSq = m_session.getMap("vectors-sq");
+        vectorsSq.addIndex(new ScalarQuantIndex<>(ValueWithVector::getVector, DIMENSIONS).setTrainingSize(TRAINING_SIZE));
+        m_valueZeroSq = populateVectors(vectorsSq);
+        }
+
+    @AfterAll
+    static void cleanup()
+        {
+        Coherence.closeAll();
+        }
+
+    @Test
+    public void shouldSearchProductQuantIndex()
+        {
+        assertSearch(m_session.getMap("vectors-pq"), m_valueZeroPq, "Product Quantization");
+        }
+
+    @Test
+    public void shouldSearchScalarQuantIndex()
+        {
+        assertSearch(m_session.getMap("vectors-sq"), m_valueZeroSq, "Scalar Quantization");
+        }
+
+    @Test
+    public void shouldSearchWithFilter()
+        {
+        ValueExtractor<ValueWithVector, Vector<float[]>> extractor = ValueExtractor.of(ValueWithVector::getVector);
+        ValueExtractor<ValueWithVector, Integer> extractorFilter = ValueExtractor.of(ValueWithVector::getNumber);
+
+        NamedMap<Integer, ValueWithVector> vectors = m_session.getMap("vectors-pq");
+
+        Set<Integer> setMatch = Set.of(0, 1, 2, 3, 5000);
+        int          k        = 10;
+
+        SimilaritySearch<Integer, ValueWithVector, float[]> similaritySearch = new SimilaritySearch<>(extractor, m_valueZeroPq.getVector(), k);
+
+        var results = vectors.aggregate(similaritySearch.filter(new InFilter<>(extractorFilter, setMatch)));
+        results.forEach(System.out::println);
+
+        assertThat(results.size(), is(setMatch.size()));
+        assertThat(results.get(0).getKey(), is(0));
+        for (var result : results)
+            {
+            assertThat(setMatch.contains(result.getKey()), is(true));
+            }
+        }
+
+    @Test
+    public void shouldNotReturnRemovedEntries()
+        {
+        ValueExtractor<ValueWithVector, Vector<float[]>> extractor = ValueExtractor.of(ValueWithVector::getVector);
+
+        NamedMap<Integer, ValueWithVector> vectors = m_session.getMap("vectors-sq-remove");
+        vectors.addIndex(new ScalarQuantIndex<>(ValueWithVector::getVector, DIMENSIONS).setTrainingSize(TRAINING_SIZE));
+
+        ValueWithVector valueZero = populateVectors(vectors);
+        int             k         = 5;
+
+        SimilaritySearch<Integer, ValueWithVector, float[]> similaritySearch = new SimilaritySearch<>(extractor, valueZero.getVector(), k);
+
+        var results = vectors.aggregate(similaritySearch);
+        assertThat(results.size(), is(k));
+        assertThat(results.get(0).getKey(), is(0));
+
+        // remove the exact match and replace another close match with a random vector
+        vectors.remove(0);
+        vectors.put(1, new ValueWithVector(new Float32Vector(Vectors.normalize(randomFloats(DIMENSIONS))), "1", 1));
+
+        results = vectors.aggregate(similaritySearch);
+        assertThat(results.size(), is(k));
+        for (var result : results)
+            {
+            assertThat(result.getKey() == 0, is(false));
+            assertThat(result.getKey() == 1, is(false));
+            }
+        assertThat(Set.of(2, 3, 4).contains(results.get(0).getKey()), is(true));
+        }
+
+    @Test
+    public void shouldRoundTripQuantizers() throws Exception
+        {
+        int     cSample  = 512;
+        float[] afSample = new float[cSample * DIMENSIONS];
+        for (int i = 0; i < cSample; i++)
+            {
+            System.arraycopy(Vectors.normalize(randomFloats(DIMENSIONS)), 0, afSample, i * DIMENSIONS, DIMENSIONS);
+            }
+
+        Quantizer quantizerPq = ProductQuantizer.train(HnswGraph.Space.COSINE, DIMENSIONS, DIMENSIONS / 8, afSample, cSample, 5, 42L);
+        Quantizer quantizerSq = ScalarQuantizer.train(HnswGraph.Space.L2, DIMENSIONS, afSample, cSample);
+
+        assertThat(quantizerPq.getCodeSize(), is(DIMENSIONS / 8));
+        assertThat(quantizerSq.getCodeSize(), is(DIMENSIONS));
+
+        assertRoundTrip(quantizerPq, ProductQuantizer.read(readerOf(quantizerPq)));
+        assertRoundTrip(quantizerSq, ScalarQuantizer.read(readerOf(quantizerSq)));
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    private static void assertSearch(NamedMap<Integer, ValueWithVector> vectors, ValueWithVector valueZero, String sName)
+        {
+        ValueExtractor<ValueWithVector, Vector<float[]>> extractor = ValueExtractor.of(ValueWithVector::getVector);
+
+        int k = 10;
+
+        SimilaritySearch<Integer, ValueWithVector, float[]> similaritySearch = new SimilaritySearch<>(extractor, valueZero.getVector(), k);
+
+        long startTime = System.nanoTime();
+        var  results   = vectors.aggregate(similaritySearch);
+        long endTime   = System.nanoTime();
+        System.out.println("******* " + sName + " ********");
+        results.forEach(System.out::println);
+        System.out.println(sName + " took " + (endTime - startTime) + " ns");
+
+        assertThat(results.size(), is(k));
+        assertThat(results.get(0).getKey(), is(0));
+        for (int i = 0; i < 5; i++)
+            {
+            assertThat(Set.of(0, 1, 2, 3, 4).contains(results.get(i).getKey()), is(true));
+            }
+        }
+
+    private static DataInputStream readerOf(Quantizer quantizer) throws Exception
+        {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        quantizer.write(new DataOutputStream(out));
+        return new DataInputStream(new ByteArrayInputStream(out.toByteArray()));
+        }
+
+    private static void assertRoundTrip(Quantizer quantizer, Quantizer quantizerRead)
+        {
+        assertThat(quantizerRead.getDimension(), is(quantizer.getDimension()));
+        assertThat(quantizerRead.getSpace(), is(quantizer.getSpace()));
+
+        float[] afVector = Vectors.normalize(randomFloats(DIMENSIONS));
+        byte[]  abCodes  = new byte[quantizer.getCodeSize()];
+        byte[]  abRead   = new byte[quantizer.getCodeSize()];
+
+        quantizer.encode(afVector, abCodes, 0);
+        quantizerRead.encode(afVector, abRead, 0);
+
+        assertThat(abRead, is(abCodes));
+        assertThat(quantizerRead.scorer(afVector).distance(abCodes, 0), is(quantizer.scorer(afVector).distance(abCodes, 0)));
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    private static final int TRAINING_SIZE = 256;
+
+    // ----- data members ---------------------------------------------------
+
+    private static Session m_session;
+
+    private static ValueWithVector m_valueZeroPq;
+
+    private static ValueWithVector m_valueZeroSq;
+    }
@@ -15,6 +15,7 @@ import com.oracle.coherence.ai.Vector;
 
 import com.oracle.coherence.ai.distance.CosineDistance;
 import com.oracle.coherence.ai.search.BinaryQueryResult;
+import com.oracle.coherence.ai.search.KeyOnlyQueryResult;
 import com.oracle.coherence.ai.search.SimilaritySearch;
 import com.oracle.coherence.io.json.JsonSerializer;
 
@@ -79,7 +80,7 @@ public class SimilaritySearchTest
         Filter<?> filter = Filters.equal("foo", "bar");
 
         SimilaritySearch<String, String, float[]> aggregator = new SimilaritySearch<>(extractor, vector, 19);
-        Binary                                    binary     = ExternalizableHelper.toBinary(aggregator.filter(filter).bruteForce(), serializer);
+        Binary                                    binary     = ExternalizableHelper.toBinary(aggregator.filter(filter).bruteForce().keysOnly(), serializer);
         SimilaritySearch<String, String, float[]> result     = ExternalizableHelper.fromBinary(binary, serializer);
         assertThat(result, is(notNullValue()));
         assertThat(result.getExtractor(), is(extractor));
@@ -88,6 +89,7 @@ public class SimilaritySearchTest
         assertThat(result.getMaxResults(), is(19));
         assertThat(result.getFilter(), is(filter));
         assertThat(result.isBruteForce(), is(true));
+        assertThat(result.isKeysOnly(), is(true));
         }
 
     @Test
@@ -124,6 +126,35 @@ public class SimilaritySearchTest
         assertThat(listResult.get(2).getDistance(), is(1.0d));
         }
 
+    @Test
+    public void shouldReturnKeysOnly()
+        {
+        ValueExtractor<ValueWithVector, Vector<float[]>> extractor = ValueExtractor.of(ValueWithVector::getVector);
+        DistanceAlgorithm<float[]> algorithm = mock(DistanceAlgorithm.class);
+        Vector<float[]> vector = new Float32Vector(new float[] {1.0f, 2.0f, 3.0f, 4.0f, 5.0f, 6.0f});
+
+        when(algorithm.distance(any(Vector.class), any(Vector.class))).thenReturn(1.0d, 0.5d);
+
+        SimilaritySearch<String, ValueWithVector, float[]> aggregator = new SimilaritySearch<>(extractor, vector, 10);
+
+        List<InvocableMap.Entry<String, ValueWithVector>> list = new ArrayList<>();
+        list.add(createEntry("one", new float[] {1.0f, 2.0f, 3.0f, 4.0f, 5.0f, 6.0f}));
+        list.add(createEntry("two", new float[] {11.0f, 12.0f, 13.0f, 14.0f, 15.0f, 16.0f}));
+
+        assertThat(aggregator.algorithm(algorithm).bruteForce().keysOnly().accumulate(new SimpleStreamer<>(list)), is(true));
+
+        List<BinaryQueryResult> listResult = aggregator.getPartialResult();
+        assertThat(listResult.size(), is(2));
+        for (int i = 0; i < listResult.size(); i++)
+            {
+            BinaryQueryResult result = listResult.get(i);
+            assertThat(result, is(instanceOf(KeyOnlyQueryResult.class)));
+            assertThat(result.getKey(), is(notNullValue()));
+            assertThat(result.getValue(), is(nullValue()));
+            assertThat(((KeyOnlyQueryResult) result).getValueSize(), is(list.get(1 - i).asBinaryEntry().getBinaryValue().length()));
+            }
+        }
+
     @Test
     public void shouldCreateAggregator()
         {
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.tangosol.coherence.performance.jmh.ai;
+
+import com.oracle.coherence.ai.Float32Vector;
+import com.oracle.coherence.ai.Int8Vector;
+
+import com.oracle.coherence.ai.distance.CosineDistance;
+
+import com.oracle.coherence.ai.internal.ScalarVectorKernels;
+import com.oracle.coherence.ai.internal.VectorKernels;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the scalar and the vectorized distance kernels used by the
+ * {@code com.oracle.coherence.ai.distance} algorithms.
+ * <p>
+ * The vectorized kernels are only used when running on Java 21 or later, in
+ * which case the {@code *Scalar} and {@code *Vector} results of each kernel
+ * can be compared directly. On older runtimes both variants use the scalar
+ * kernels.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules=jdk.incubator.vector"})
+public class DistanceKernelsBenchmark
+    {
+    @Setup
+    public void setup()
+        {
+        Random random = new Random(42);
+
+        m_af1 = new float[m_nDimensions];
+        m_af2 = new float[m_nDimensions];
+        m_ab1 = new byte[m_nDimensions];
+        m_ab2 = new byte[m_nDimensions];
+
+        for (int i = 0; i < m_nDimensions; i++)
+            {
+            m_af1[i] = random.nextFloat() * 2 - 1;
+            m_af2[i] = random.nextFloat() * 2 - 1;
+            m_ab1[i] = (byte) random.nextInt(256);
+            m_ab2[i] = (byte) random.nextInt(256);
+            }
+
+        m_vectorF1 = new Float32Vector(m_af1);
+        m_vectorF2 = new Float32Vector(m_af2);
+        m_vectorB1 = new Int8Vector(m_ab1);
+        m_vectorB2 = new Int8Vector(m_ab2);
+
+        System.out.println("\nVectorized kernels enabled: " + VectorKernels.isVectorized());
+        }
+
+    // ----- Float32 kernels ------------------------------------------------
+
+    @Benchmark
+    public double floatDotProductScalar()
+        {
+        return ScalarVectorKernels.dotProduct(m_af1, m_af2);
+        }
+
+    @Benchmark
+    public double floatDotProductVector()
+        {
+        return VectorKernels.dotProduct(m_af1, m_af2);
+        }
+
+    @Benchmark
+    public double floatL2SquaredScalar()
+        {
+        return ScalarVectorKernels.l2squared(m_af1, m_af2);
+        }
+
+    @Benchmark
+    public double floatL2SquaredVector()
+        {
+        return VectorKernels.l2squared(m_af1, m_af2);
+        }
+
+    // ----- Int8 kernels ---------------------------------------------------
+
+    @Benchmark
+    public int int8DotProductScalar()
+        {
+        return ScalarVectorKernels.dotProduct(m_ab1, m_ab2);
+        }
+
+    @Benchmark
+    public int int8DotProductVector()
+        {
+        return VectorKernels.dotProduct(m_ab1, m_ab2);
+        }
+
+    @Benchmark
+    public int int8L2SquaredScalar()
+        {
+        return ScalarVectorKernels.l2squared(m_ab1, m_ab2);
+        }
+
+    @Benchmark
+    public int int8L2SquaredVector()
+        {
+        return VectorKernels.l2squared(m_ab1, m_ab2);
+        }
+
+    @Benchmark
+    public double int8CosineScalar()
+        {
+        return ScalarVectorKernels.cosine(m_ab1, m_ab2);
+        }
+
+    @Benchmark
+    public double int8CosineVector()
+        {
+        return VectorKernels.cosine(m_ab1, m_ab2);
+        }
+
+    // ----- DistanceAlgorithm ----------------------------------------------
+
+    @Benchmark
+    public double float32CosineDistance()
+        {
+        return f_cosineFloat.distance(m_vectorF1, m_vectorF2);
+        }
+
+    @Benchmark
+    public double int8CosineDistance()
+        {
+        return f_cosineInt8.distance(m_vectorB1, m_vectorB2);
+        }
+
+    // ----- data members ---------------------------------------------------
+
+    @Param({"384", "768", "1536"})
+    public int m_nDimensions;
+
+    private final CosineDistance<float[]> f_cosineFloat = new CosineDistance<>();
+
+    private final CosineDistance<byte[]> f_cosineInt8 = new CosineDistance<>();
+
+    private float[] m_af1;
+
+    private float[] m_af2;
+
+    private byte[] m_ab1;
+
+    private byte[] m_ab2;
+
+    private Float32Vector m_vectorF1;
+
+    private Float32Vector m_vectorF2;
+
+    private Int8Vector m_vectorB1;
+
+    private Int8Vector m_vectorB2;
+    }
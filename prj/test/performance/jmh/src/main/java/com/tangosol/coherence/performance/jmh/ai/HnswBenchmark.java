@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.tangosol.coherence.performance.jmh.ai;
+
+import com.oracle.coherence.ai.internal.HnswGraph;
+
+import com.oracle.coherence.hnswlib.Index;
+import com.oracle.coherence.hnswlib.QueryTuple;
+import com.oracle.coherence.hnswlib.SpaceName;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the query throughput and recall of the pure Java {@link HnswGraph}
+ * used by {@code JavaHnswIndex} with the native {@code hnswlib} index used by
+ * {@code HnswIndex}.
+ * <p>
+ * Both indexes are built from the same random, normalized vectors using the
+ * same parameters. The recall of each index against an exact search is
+ * printed when the benchmark state is torn down, while the benchmark itself
+ * measures the number of queries per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "--add-modules=jdk.incubator.vector"})
+public class HnswBenchmark
+    {
+    @Setup(Level.Trial)
+    public void setup()
+        {
+        Random random = new Random(42);
+
+        m_aafData    = randomVectors(random, m_cElements);
+        m_aafQueries = randomVectors(random, QUERIES);
+        m_aanTruth   = exactSearch();
+
+        long ldtStart = System.nanoTime();
+        if (JAVA.equals(m_sImpl))
+            {
+            m_graph = new HnswGraph(m_nDimensions, HnswGraph.Space.COSINE, M, EF_CONSTRUCTION, m_cElements, 100);
+            for (int i = 0; i < m_cElements; i++)
+                {
+                m_graph.add(m_aafData[i], i);
+                }
+            }
+        else
+            {
+            m_index = new Index(SpaceName.COSINE, m_nDimensions);
+            m_index.initialize(m_cElements, M, EF_CONSTRUCTION, 100, true);
+            m_index.setEf(m_nEfSearch);
+            for (int i = 0; i < m_cElements; i++)
+                {
+                m_index.addItem(m_aafData[i], i, true);
+                }
+            }
+        System.out.printf("%nBuilt %s index of %,d vectors in %,d ms%n",
+                          m_sImpl, m_cElements, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - ldtStart));
+        }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+        {
+        int cHits = 0;
+        for (int i = 0; i < QUERIES; i++)
+            {
+            int[] anResult = query(m_aafQueries[i]);
+            for (int nId : anResult)
+                {
+                for (int nTruth : m_aanTruth[i])
+                    {
+                    if (nId == nTruth)
+                        {
+                        cHits++;
+                        break;
+                        }
+                    }
+                }
+            }
+        System.out.printf("%nRecall@%d of %s index with efSearch=%d: %.4f%n",
+                          K, m_sImpl, m_nEfSearch, (double) cHits / (QUERIES * K));
+
+        if (m_index != null)
+            {
+            m_index.clear();
+            }
+        }
+
+    // ----- benchmarks -----------------------------------------------------
+
+    @Benchmark
+    public int[] query()
+        {
+        int nQuery = m_nQuery;
+        m_nQuery = (nQuery + 1) % QUERIES;
+        return query(m_aafQueries[nQuery]);
+        }
+
+    // ----- helpers --------------------------------------------------------
+
+    /**
+     * Query the index being benchmarked.
+     *
+     * @param afQuery  the query vector
+     *
+     * @return the ids of the {@link #K} nearest neighbours
+     */
+    private int[] query(float[] afQuery)
+        {
+        if (m_graph != null)
+            {
+            int[]   anIds  = new int[K];
+            float[] afDist = new float[K];
+            m_graph.search(afQuery, K, m_nEfSearch, null, anIds, afDist);
+            return anIds;
+            }
+
+        QueryTuple tuple = m_index.knnQuery(afQuery, K);
+        return tuple.getIds();
+        }
+
+    /**
+     * Find the exact {@link #K} nearest neighbours of each query vector.
+     *
+     * @return the ids of the exact nearest neighbours of each query vector
+     */
+    private int[][] exactSearch()
+        {
+        int[][] aanTruth = new int[QUERIES][];
+        for (int i = 0; i < QUERIES; i++)
+            {
+            HnswGraph.NodeHeap heap = new HnswGraph.NodeHeap(K + 1, true);
+            for (int j = 0; j < m_cElements; j++)
+                {
+                float[] afQuery = m_aafQueries[i];
+                float[] afData  = m_aafData[j];
+                double  dDot    = 0;
+                for (int n = 0; n < m_nDimensions; n++)
+                    {
+                    dDot += afQuery[n] * afData[n];
+                    }
+                heap.push((float) (1.0 - dDot), j);
+                if (heap.size() > K)
+                    {
+                    heap.pop();
+                    }
+                }
+
+            int[] anIds = new int[K];
+            for (int n = K - 1; n >= 0; n--)
+                {
+                anIds[n] = heap.pop();
+                }
+            aanTruth[i] = anIds;
+            }
+        return aanTruth;
+        }
+
+    /**
+     * Create random normalized vectors.
+     *
+     * @param random  the random number generator
+     * @param c       the number of vectors to create
+     *
+     * @return the random normalized vectors
+     */
+    private float[][] randomVectors(Random random, int c)
+        {
+        float[][] aaf = new float[c][m_nDimensions];
+        for (float[] af : aaf)
+            {
+            double dSum = 0;
+            for (int i = 0; i < af.length; i++)
+                {
+                af[i] = (float) random.nextGaussian();
+                dSum += af[i] * af[i];
+                }
+            double dNorm = Math.sqrt(dSum);
+            for (int i = 0; i < af.length; i++)
+                {
+                af[i] = (float) (af[i] / dNorm);
+                }
+            }
+        return aaf;
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    private static final String JAVA = "java";
+
+    private static final int K = 10;
+
+    private static final int M = 16;
+
+    private static final int EF_CONSTRUCTION = 200;
+
+    private static final int QUERIES = 1000;
+
+    // ----- data members ---------------------------------------------------
+
+    @Param({"java", "native"})
+    public String m_sImpl;
+
+    @Param({"100000"})
+    public int m_cElements;
+
+    @Param({"128"})
+    public int m_nDimensions;
+
+    @Param({"50", "100"})
+    public int m_nEfSearch;
+
+    private float[][] m_aafData;
+
+    private float[][] m_aafQueries;
+
+    private int[][] m_aanTruth;
+
+    private HnswGraph m_graph;
+
+    private Index m_index;
+
+    private int m_nQuery;
+    }
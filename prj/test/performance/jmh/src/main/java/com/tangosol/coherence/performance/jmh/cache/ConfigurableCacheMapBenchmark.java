@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.tangosol.coherence.performance.jmh.cache;
+
+import com.oracle.coherence.caffeine.CaffeineCache;
+
+import com.tangosol.net.cache.ConfigurableCacheMap;
+import com.tangosol.net.cache.LocalCache;
+import com.tangosol.net.cache.SegmentedLocalCache;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import java.util.concurrent.TimeUnit;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the throughput and hit ratio of the {@link SegmentedLocalCache}
+ * with the {@link LocalCache} and the {@link CaffeineCache} under a zipfian
+ * load, with a read-only and a mixed read/write workload.
+ * <p>
+ * The keys are drawn from a precomputed zipfian sequence, so the benchmark
+ * measures the caches rather than the key generation; a miss is followed by
+ * a put of the missing key, as a read-through cache would do. The hit ratio
+ * of each trial is printed when the trial ends.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g"})
+@Threads(8)
+public class ConfigurableCacheMapBenchmark
+    {
+    @Setup(Level.Trial)
+    public void setup()
+        {
+        switch (m_sCache)
+            {
+            case "segmented":
+                m_cache = new SegmentedLocalCache(m_cUnits);
+                break;
+            case "local":
+                m_cache = new LocalCache(m_cUnits);
+                break;
+            case "caffeine":
+                m_cache = new CaffeineCache();
+                m_cache.setHighUnits(m_cUnits);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown cache: " + m_sCache);
+            }
+
+        m_anKey = createZipfianKeys(m_cKeys, KEY_COUNT, 0.99, new Random(42));
+
+        // warm the cache up with the same distribution
+        for (int nKey : m_anKey)
+            {
+            if (m_cache.get(nKey) == null)
+                {
+                m_cache.put(nKey, nKey);
+                }
+            }
+        }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+        {
+        long cHits   = m_cHits.sum();
+        long cMisses = m_cMisses.sum();
+
+        System.out.printf("%n%s: hit ratio %.3f, %d entries%n", m_sCache,
+                (double) cHits / Math.max(1L, cHits + cMisses), m_cache.size());
+        }
+
+    // ----- benchmarks -----------------------------------------------------
+
+    @Benchmark
+    public Object read(ThreadState state)
+        {
+        return get(state.nextKey());
+        }
+
+    @Benchmark
+    public Object readWrite(ThreadState state)
+        {
+        Integer nKey = state.nextKey();
+        if (state.m_cOps++ % 4 == 0)
+            {
+            return m_cache.put(nKey, nKey);
+            }
+        return get(nKey);
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+     * Get the value of the specified key, putting it into the cache on a
+     * miss.
+     *
+     * @param nKey  the key
+     *
+     * @return the value
+     */
+    private Object get(Integer nKey)
+        {
+        Object oValue = m_cache.get(nKey);
+        if (oValue == null)
+            {
+            m_cMisses.increment();
+            m_cache.put(nKey, nKey);
+            return nKey;
+            }
+        m_cHits.increment();
+        return oValue;
+        }
+
+    /**
+     * Create a sequence of keys that follows a zipfian distribution.
+     *
+     * @param cKeys    the number of distinct keys
+     * @param cLength  the length of the sequence
+     * @param dflSkew  the skew of the distribution
+     * @param random   the random number generator
+     *
+     * @return the sequence of keys
+     */
+    private static int[] createZipfianKeys(int cKeys, int cLength, double dflSkew, Random random)
+        {
+        double[] adflCdf = new double[cKeys];
+        double   dflSum  = 0.0;
+        for (int i = 0; i < cKeys; i++)
+            {
+            dflSum     += 1.0 / Math.pow(i + 1, dflSkew);
+            adflCdf[i]  = dflSum;
+            }
+
+        // scatter the ranks so that the hot keys are not adjacent
+        int[] anRank = new int[cKeys];
+        for (int i = 0; i < cKeys; i++)
+            {
+            int j = random.nextInt(i + 1);
+            anRank[i] = anRank[j];
+            anRank[j] = i;
+            }
+
+        int[] anKey = new int[cLength];
+        for (int i = 0; i < cLength; i++)
+            {
+            int nRank = Arrays.binarySearch(adflCdf, random.nextDouble() * dflSum);
+            anKey[i] = anRank[Math.min(nRank < 0 ? -nRank - 1 : nRank, cKeys - 1)];
+            }
+        return anKey;
+        }
+
+    // ----- inner class: ThreadState ---------------------------------------
+
+    /**
+     * The position of a thread in the sequence of keys.
+     */
+    @State(Scope.Thread)
+    public static class ThreadState
+        {
+        @Setup(Level.Trial)
+        public void setup(ConfigurableCacheMapBenchmark benchmark)
+            {
+            m_anKey = benchmark.m_anKey;
+            m_iKey  = new Random().nextInt(m_anKey.length);
+            }
+
+        /**
+         * Return the next key of the sequence.
+         *
+         * @return the next key
+         */
+        public Integer nextKey()
+            {
+            int iKey = m_iKey;
+            m_iKey = iKey + 1 == m_anKey.length ? 0 : iKey + 1;
+            return m_anKey[iKey];
+            }
+
+        private int[] m_anKey;
+
+        private int m_iKey;
+
+        private int m_cOps;
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The length of the precomputed sequence of keys.
+     */
+    private static final int KEY_COUNT = 1 << 20;
+
+    // ----- data members ---------------------------------------------------
+
+    @Param({"segmented", "local", "caffeine"})
+    public String m_sCache;
+
+    @Param({"1000000"})
+    public int m_cKeys;
+
+    @Param({"10000"})
+    public int m_cUnits;
+
+    private ConfigurableCacheMap m_cache;
+
+    private int[] m_anKey;
+
+    private final LongAdder m_cHits = new LongAdder();
+
+    private final LongAdder m_cMisses = new LongAdder();
+    }
@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.tangosol.coherence.performance.jmh.cache;
+
+import com.tangosol.net.cache.AbstractCacheStore;
+import com.tangosol.net.cache.LocalCache;
+import com.tangosol.net.cache.ReadWriteBackingMap;
+
+import com.tangosol.util.Binary;
+import com.tangosol.util.ExternalizableHelper;
+import com.tangosol.util.NullImplementation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import java.util.concurrent.TimeUnit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import java.util.concurrent.locks.LockSupport;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures read-through misses of a {@link ReadWriteBackingMap} over a
+ * CacheStore with a simulated I/O latency, with the CacheStore invoked on the
+ * calling threads and on virtual threads.
+ * <p>
+ * The store only implements {@code load}, so with virtual threads the keys of
+ * a {@code getAll} are loaded concurrently, while on the calling thread they
+ * are loaded one at a time. Every key is requested once, so each operation is
+ * a miss.
+ * <p>
+ * The CacheStore is only invoked on virtual threads on Java 21 or later.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g"})
+@Threads(16)
+public class VirtualThreadCacheStoreBenchmark
+    {
+    @Setup(Level.Trial)
+    public void setup()
+        {
+        m_store = new LatencyCacheStore(TimeUnit.MILLISECONDS.toNanos(m_cLatencyMillis));
+        m_map   = new ReadWriteBackingMap(NullImplementation.getBackingMapManagerContext(),
+                new LocalCache(100_000), null, m_store);
+
+        m_map.setVirtualThreadConcurrency(m_cConcurrency);
+        }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+        {
+        System.out.printf("%nconcurrency %d: %d loads, %d concurrent at most%n",
+                m_map.getVirtualThreadConcurrency(), m_store.m_cLoads.get(),
+                m_store.m_cMaxConcurrent.get());
+
+        m_map.release();
+        }
+
+    // ----- benchmarks -----------------------------------------------------
+
+    @Benchmark
+    public Object get()
+        {
+        return m_map.get(nextKey());
+        }
+
+    @Benchmark
+    public Object getAll()
+        {
+        List<Binary> listKeys = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++)
+            {
+            listKeys.add(nextKey());
+            }
+        return m_map.getAll(listKeys);
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+     * Return a key that has not been requested before.
+     *
+     * @return the key
+     */
+    private Binary nextKey()
+        {
+        return ExternalizableHelper.toBinary(m_cKeys.incrementAndGet());
+        }
+
+    // ----- inner class: LatencyCacheStore ---------------------------------
+
+    /**
+     * A CacheStore that simulates the latency of a remote store, and tracks
+     * the number of loads in progress.
+     */
+    public static class LatencyCacheStore
+            extends AbstractCacheStore
+        {
+        /**
+         * Construct a LatencyCacheStore.
+         *
+         * @param cLatencyNanos  the latency of a load
+         */
+        public LatencyCacheStore(long cLatencyNanos)
+            {
+            f_cLatencyNanos = cLatencyNanos;
+            }
+
+        @Override
+        public Object load(Object oKey)
+            {
+            long cConcurrent = m_cConcurrent.incrementAndGet();
+            m_cMaxConcurrent.accumulateAndGet(cConcurrent, Math::max);
+            try
+                {
+                LockSupport.parkNanos(f_cLatencyNanos);
+                }
+            finally
+                {
+                m_cConcurrent.decrementAndGet();
+                m_cLoads.incrementAndGet();
+                }
+            return oKey;
+            }
+
+        // ----- data members -----------------------------------------------
+
+        /**
+         * The latency of a load.
+         */
+        private final long f_cLatencyNanos;
+
+        /**
+         * The number of loads in progress.
+         */
+        private final AtomicLong m_cConcurrent = new AtomicLong();
+
+        /**
+         * The maximum number of loads in progress at the same time.
+         */
+        private final AtomicLong m_cMaxConcurrent = new AtomicLong();
+
+        /**
+         * The number of loads.
+         */
+        private final AtomicLong m_cLoads = new AtomicLong();
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The number of keys requested by a getAll.
+     */
+    private static final int BATCH_SIZE = 100;
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The maximum number of CacheStore operations in progress on virtual
+     * threads, or zero to invoke the CacheStore on the calling threads.
+     */
+    @Param({"0", "64", "1024"})
+    private int m_cConcurrency;
+
+    /**
+     * The simulated latency of the CacheStore.
+     */
+    @Param({"5"})
+    private int m_cLatencyMillis;
+
+    /**
+     * The map under test.
+     */
+    private ReadWriteBackingMap m_map;
+
+    /**
+     * The CacheStore.
+     */
+    private LatencyCacheStore m_store;
+
+    /**
+     * The last key requested.
+     */
+    private final AtomicLong m_cKeys = new AtomicLong();
+    }
@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.tangosol.coherence.performance.jmh.filter;
+
+import com.tangosol.net.NamedCache;
+
+import com.tangosol.net.cache.WrapperNamedCache;
+
+import com.tangosol.util.Filter;
+
+import com.tangosol.util.extractor.ChainedExtractor;
+import com.tangosol.util.extractor.UniversalExtractor;
+
+import com.tangosol.util.filter.AllFilter;
+import com.tangosol.util.filter.BetweenFilter;
+import com.tangosol.util.filter.CompiledFilter;
+import com.tangosol.util.filter.EqualsFilter;
+import com.tangosol.util.filter.GreaterFilter;
+import com.tangosol.util.filter.InFilter;
+import com.tangosol.util.filter.OrFilter;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the throughput of the full-scan queries evaluated by the filters
+ * themselves with the same queries evaluated by the {@link CompiledFilter}.
+ * <p>
+ * The queries are executed against a {@link WrapperNamedCache} without
+ * indexes, so every query evaluates the filter against all the entries. A
+ * new CompiledFilter is created for every query, as it would be when it is
+ * deserialized by a storage member, so the cost of finding the generated
+ * class is included in the results.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g"})
+public class CompiledFilterBenchmark
+    {
+    @Setup(Level.Trial)
+    public void setup()
+        {
+        Random              random = new Random(42);
+        Map<Integer, Trade> map    = new HashMap<>();
+
+        for (int i = 0; i < m_cEntries; i++)
+            {
+            map.put(i, new Trade(SYMBOLS[random.nextInt(SYMBOLS.length)], random.nextInt(1000) / 4.0,
+                                 random.nextInt(10000), new Trader(TRADERS[random.nextInt(TRADERS.length)])));
+            }
+        m_cache = new WrapperNamedCache<>(map, "trades");
+
+        switch (m_sQuery)
+            {
+            case "simple":
+                m_filter = new EqualsFilter<>(new UniversalExtractor<>("symbol"), "ORCL");
+                break;
+
+            case "range":
+                m_filter = new AllFilter(new Filter[]
+                    {
+                    new EqualsFilter<>(new UniversalExtractor<>("symbol"), "ORCL"),
+                    new GreaterFilter<>(new UniversalExtractor<>("price"), 100.0),
+                    new BetweenFilter<>(new UniversalExtractor<>("quantity"), 1000, 5000)
+                    });
+                break;
+
+            default:
+                m_filter = new OrFilter(
+                    new InFilter<>(new ChainedExtractor<>("getTrader.getName"), Set.of("Ann", "Bob")),
+                    new AllFilter(new Filter[]
+                        {
+                        new InFilter<>(new UniversalExtractor<>("symbol"), Set.of("MSFT", "AAPL")),
+                        new GreaterFilter<>(new UniversalExtractor<>("quantity"), 9000)
+                        }));
+                break;
+            }
+        }
+
+    // ----- benchmarks -----------------------------------------------------
+
+    @Benchmark
+    public Set<Integer> original()
+        {
+        return m_cache.keySet(m_filter);
+        }
+
+    @Benchmark
+    public Set<Integer> compiled()
+        {
+        return m_cache.keySet(new CompiledFilter<>(m_filter));
+        }
+
+    // ----- inner class: Trade ---------------------------------------------
+
+    /**
+     * The value class used by the benchmark.
+     */
+    public static class Trade
+        {
+        public Trade(String sSymbol, double dflPrice, int nQuantity, Trader trader)
+            {
+            m_sSymbol   = sSymbol;
+            m_dflPrice  = dflPrice;
+            m_nQuantity = nQuantity;
+            m_trader    = trader;
+            }
+
+        public String getSymbol()
+            {
+            return m_sSymbol;
+            }
+
+        public double getPrice()
+            {
+            return m_dflPrice;
+            }
+
+        public int getQuantity()
+            {
+            return m_nQuantity;
+            }
+
+        public Trader getTrader()
+            {
+            return m_trader;
+            }
+
+        private final String m_sSymbol;
+
+        private final double m_dflPrice;
+
+        private final int m_nQuantity;
+
+        private final Trader m_trader;
+        }
+
+    // ----- inner class: Trader --------------------------------------------
+
+    /**
+     * The nested value class used by the benchmark.
+     */
+    public static class Trader
+        {
+        public Trader(String sName)
+            {
+            m_sName = sName;
+            }
+
+        public String getName()
+            {
+            return m_sName;
+            }
+
+        private final String m_sName;
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    private static final String[] SYMBOLS = {"ORCL", "MSFT", "AAPL", "GOOG", "AMZN", "IBM", "INTC", "CSCO"};
+
+    private static final String[] TRADERS = {"Ann", "Bob", "Carl", "Dave", "Eve", "Fred", "Gina", "Hank"};
+
+    // ----- data members ---------------------------------------------------
+
+    @Param({"100000"})
+    public int m_cEntries;
+
+    @Param({"simple", "range", "composite"})
+    public String m_sQuery;
+
+    private NamedCache<Integer, Trade> m_cache;
+
+    private Filter<Trade> m_filter;
+    }
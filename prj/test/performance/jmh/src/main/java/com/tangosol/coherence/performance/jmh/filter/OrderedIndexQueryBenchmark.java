@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.tangosol.coherence.performance.jmh.filter;
+
+import com.tangosol.util.InvocableMapHelper;
+import com.tangosol.util.MapIndex;
+import com.tangosol.util.SimpleMapIndex;
+import com.tangosol.util.ValueExtractor;
+
+import com.tangosol.util.comparator.ExtractorComparator;
+
+import com.tangosol.util.extractor.UniversalExtractor;
+
+import com.tangosol.util.filter.AlwaysFilter;
+import com.tangosol.util.filter.LimitFilter;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the throughput of sorted {@link LimitFilter} queries that sort
+ * all the entries with the same queries that walk an ordered index on the
+ * sort attribute and stop after the requested page.
+ * <p>
+ * The queries are executed by {@link InvocableMapHelper#query}, which is
+ * the implementation used by the local caches and by each partition of a
+ * partitioned cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g"})
+public class OrderedIndexQueryBenchmark
+    {
+    @Setup(Level.Trial)
+    public void setup()
+        {
+        Random random = new Random(42);
+        for (int i = 0; i < m_cEntries; i++)
+            {
+            m_map.put(i, new Trade(random.nextInt(1000) / 4.0));
+            }
+
+        ValueExtractor<Trade, Double> extractor = new UniversalExtractor<>("price");
+
+        m_mapIndexOrdered   = createIndex(extractor, true);
+        m_mapIndexUnordered = createIndex(extractor, false);
+        m_comparator        = new ExtractorComparator<>(extractor);
+        m_filter            = new LimitFilter<>(AlwaysFilter.INSTANCE(), 20);
+
+        m_filter.setPage(m_nPage);
+        }
+
+    // ----- benchmarks -----------------------------------------------------
+
+    @Benchmark
+    public Set<?> sorted()
+        {
+        return InvocableMapHelper.query(m_map, m_mapIndexUnordered, m_filter, true, true, m_comparator);
+        }
+
+    @Benchmark
+    public Set<?> indexOrdered()
+        {
+        return InvocableMapHelper.query(m_map, m_mapIndexOrdered, m_filter, true, true, m_comparator);
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+     * Create the map of indexes with an index on the specified extractor.
+     *
+     * @param extractor  the extractor to index
+     * @param fOrdered   whether the index is ordered
+     *
+     * @return the map of indexes
+     */
+    private Map<ValueExtractor, MapIndex> createIndex(ValueExtractor<Trade, Double> extractor, boolean fOrdered)
+        {
+        SimpleMapIndex index = new SimpleMapIndex(extractor, fOrdered, null, null);
+        for (Map.Entry<Integer, Trade> entry : m_map.entrySet())
+            {
+            index.insert(entry);
+            }
+
+        Map<ValueExtractor, MapIndex> mapIndex = new HashMap<>();
+        mapIndex.put(extractor, index);
+        return mapIndex;
+        }
+
+    // ----- inner class: Trade ---------------------------------------------
+
+    /**
+     * The value stored in the map.
+     */
+    public static class Trade
+        {
+        public Trade(double dflPrice)
+            {
+            m_dflPrice = dflPrice;
+            }
+
+        public double getPrice()
+            {
+            return m_dflPrice;
+            }
+
+        private final double m_dflPrice;
+        }
+
+    // ----- data members ---------------------------------------------------
+
+    @Param({"100000"})
+    public int m_cEntries;
+
+    @Param({"0", "50"})
+    public int m_nPage;
+
+    private final Map<Integer, Trade> m_map = new HashMap<>();
+
+    private Map<ValueExtractor, MapIndex> m_mapIndexOrdered;
+
+    private Map<ValueExtractor, MapIndex> m_mapIndexUnordered;
+
+    private ExtractorComparator<Trade> m_comparator;
+
+    private LimitFilter<Trade> m_filter;
+    }
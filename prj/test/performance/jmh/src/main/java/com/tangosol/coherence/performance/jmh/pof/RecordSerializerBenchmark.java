@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.tangosol.coherence.performance.jmh.pof;
+
+import com.tangosol.io.pof.PofAnnotationSerializer;
+import com.tangosol.io.pof.PofReader;
+import com.tangosol.io.pof.PofSerializer;
+import com.tangosol.io.pof.PofWriter;
+import com.tangosol.io.pof.PortableObject;
+import com.tangosol.io.pof.PortableObjectSerializer;
+import com.tangosol.io.pof.SimplePofContext;
+
+import com.tangosol.io.pof.annotation.Portable;
+import com.tangosol.io.pof.annotation.PortableProperty;
+
+import com.tangosol.io.pof.generator.PortableTypeGenerator;
+import com.tangosol.io.pof.generator.RecordSerializerGenerator;
+
+import com.tangosol.io.pof.schema.annotation.PortableType;
+
+import com.tangosol.util.Binary;
+import com.tangosol.util.ExternalizableHelper;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import java.lang.invoke.MethodHandles;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the throughput of the POF serializers generated for records by
+ * the {@link RecordSerializerGenerator} with the reflection-based
+ * {@link PofAnnotationSerializer} and with the hand-written
+ * {@link PortableObject} implementations used by the
+ * {@link PortableObjectSerializer}.
+ * <p>
+ * The serializer is generated when the benchmark is set up, which is
+ * equivalent to the serializer generated at build time by the
+ * {@code generate-serializers} goal of the POF Maven plugin.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g"})
+public class RecordSerializerBenchmark
+    {
+    @Setup(Level.Trial)
+    public void setup()
+            throws Exception
+        {
+        SimplePofContext ctx = new SimplePofContext();
+        switch (m_sSerializer)
+            {
+            case "generated":
+                ctx.registerUserType(1000, TradeRecord.class, generateSerializer());
+                m_oValue = new TradeRecord(42L, "ORCL", 1000, 123.45d, true);
+                break;
+
+            case "annotation":
+                ctx.registerUserType(1000, AnnotatedTrade.class,
+                                     new PofAnnotationSerializer<>(1000, AnnotatedTrade.class));
+                m_oValue = new AnnotatedTrade(42L, "ORCL", 1000, 123.45d, true);
+                break;
+
+            default:
+                ctx.registerUserType(1000, PortableTrade.class, new PortableObjectSerializer(1000));
+                m_oValue = new PortableTrade(42L, "ORCL", 1000, 123.45d, true);
+                break;
+            }
+
+        m_ctx    = ctx;
+        m_binary = ExternalizableHelper.toBinary(m_oValue, ctx);
+        }
+
+    // ----- benchmarks -----------------------------------------------------
+
+    @Benchmark
+    public Binary serialize()
+        {
+        return ExternalizableHelper.toBinary(m_oValue, m_ctx);
+        }
+
+    @Benchmark
+    public Object deserialize()
+        {
+        return ExternalizableHelper.fromBinary(m_binary, m_ctx);
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+     * Generate the serializer for the {@link TradeRecord}.
+     *
+     * @return the generated serializer
+     */
+    @SuppressWarnings("unchecked")
+    private static PofSerializer<TradeRecord> generateSerializer()
+            throws Exception
+        {
+        RecordSerializerGenerator gen = new RecordSerializerGenerator(new PortableTypeGenerator.NullLogger());
+        try (InputStream in = TradeRecord.class.getResourceAsStream("RecordSerializerBenchmark$TradeRecord.class"))
+            {
+            gen.addClass(in);
+            }
+
+        Class<?> clzSerializer = MethodHandles.privateLookupIn(RecordSerializerBenchmark.class, MethodHandles.lookup())
+                .defineClass(gen.generate().values().iterator().next());
+
+        return (PofSerializer<TradeRecord>) clzSerializer.getDeclaredConstructor().newInstance();
+        }
+
+    // ----- inner class: TradeRecord ---------------------------------------
+
+    /**
+     * The record serialized by the generated serializer.
+     */
+    @PortableType(id = 1000)
+    public record TradeRecord(long id, String symbol, int quantity, double price, boolean buy)
+        {
+        }
+
+    // ----- inner class: AnnotatedTrade ------------------------------------
+
+    /**
+     * The class serialized by the {@link PofAnnotationSerializer}.
+     */
+    @Portable
+    public static class AnnotatedTrade
+        {
+        public AnnotatedTrade()
+            {
+            }
+
+        public AnnotatedTrade(long lId, String sSymbol, int nQuantity, double dflPrice, boolean fBuy)
+            {
+            m_lId       = lId;
+            m_sSymbol   = sSymbol;
+            m_nQuantity = nQuantity;
+            m_dflPrice  = dflPrice;
+            m_fBuy      = fBuy;
+            }
+
+        @PortableProperty(0)
+        private long m_lId;
+
+        @PortableProperty(1)
+        private String m_sSymbol;
+
+        @PortableProperty(2)
+        private int m_nQuantity;
+
+        @PortableProperty(3)
+        private double m_dflPrice;
+
+        @PortableProperty(4)
+        private boolean m_fBuy;
+        }
+
+    // ----- inner class: PortableTrade -------------------------------------
+
+    /**
+     * The class serialized by the {@link PortableObjectSerializer}.
+     */
+    public static class PortableTrade
+            implements PortableObject
+        {
+        public PortableTrade()
+            {
+            }
+
+        public PortableTrade(long lId, String sSymbol, int nQuantity, double dflPrice, boolean fBuy)
+            {
+            m_lId       = lId;
+            m_sSymbol   = sSymbol;
+            m_nQuantity = nQuantity;
+            m_dflPrice  = dflPrice;
+            m_fBuy      = fBuy;
+            }
+
+        @Override
+        public void readExternal(PofReader in)
+                throws IOException
+            {
+            m_lId       = in.readLong(0);
+            m_sSymbol   = in.readString(1);
+            m_nQuantity = in.readInt(2);
+            m_dflPrice  = in.readDouble(3);
+            m_fBuy      = in.readBoolean(4);
+            }
+
+        @Override
+        public void writeExternal(PofWriter out)
+                throws IOException
+            {
+            out.writeLong(0, m_lId);
+            out.writeString(1, m_sSymbol);
+            out.writeInt(2, m_nQuantity);
+            out.writeDouble(3, m_dflPrice);
+            out.writeBoolean(4, m_fBuy);
+            }
+
+        private long m_lId;
+
+        private String m_sSymbol;
+
+        private int m_nQuantity;
+
+        private double m_dflPrice;
+
+        private boolean m_fBuy;
+        }
+
+    // ----- data members ---------------------------------------------------
+
+    @Param({"generated", "annotation", "portable"})
+    public String m_sSerializer;
+
+    private SimplePofContext m_ctx;
+
+    private Object m_oValue;
+
+    private Binary m_binary;
+    }
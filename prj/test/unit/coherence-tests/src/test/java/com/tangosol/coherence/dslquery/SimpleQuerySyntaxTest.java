@@ -1,8 +1,8 @@
 /*
- * Copyright (c) 2000, 2022, Oracle and/or its affiliates.
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
  *
  * Licensed under the Universal Permissive License v 1.0 as shown at
- * http://oss.oracle.com/licenses/upl.
+ * https://oss.oracle.com/licenses/upl.
  */
 
 package com.tangosol.coherence.dslquery;
@@ -56,6 +56,20 @@ public class SimpleQuerySyntaxTest
              "sqlSelectNode(isDistinct('false'), fieldList(identifier(barney), identifier(charles), callNode(sum(identifier(a)))), from('foo'), alias(), subQueries(), whereClause(binaryOperatorNode('>', identifier(barney), literal(10))), groupBy(identifier(barney), identifier(charles)))");
         }
 
+    @Test
+    public void testOrderByLimitSyntax()
+        {
+        test("select * from foo where barney > 10 order by barney desc, charles limit 20",
+             "sqlSelectNode(isDistinct('false'), fieldList('*'), from('foo'), alias(), subQueries(), whereClause(binaryOperatorNode('>', identifier(barney), literal(10))), groupBy(), orderBy(sortKey(identifier(barney), 'true'), sortKey(identifier(charles), 'false')), limit(literal(20)))");
+        }
+
+    @Test
+    public void testGroupByOrderByLimitSyntax()
+        {
+        test("select barney, sum(a) from foo group by barney order by barney asc limit 5",
+             "sqlSelectNode(isDistinct('false'), fieldList(identifier(barney), callNode(sum(identifier(a)))), from('foo'), alias(), subQueries(), whereClause(), groupBy(identifier(barney)), orderBy(sortKey(identifier(barney), 'false')), limit(literal(5)))");
+        }
+
     @Test
     public void testBDAggregationSyntax()
         {
@@ -1,8 +1,8 @@
 /*
- * Copyright (c) 2000, 2022, Oracle and/or its affiliates.
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
  *
  * Licensed under the Universal Permissive License v 1.0 as shown at
- * http://oss.oracle.com/licenses/upl.
+ * https://oss.oracle.com/licenses/upl.
  */
 package com.tangosol.coherence.dslquery.statement;
 
@@ -24,14 +24,20 @@ import com.tangosol.net.Session;
 import com.tangosol.net.cache.TypeAssertion;
 
 import com.tangosol.util.Filter;
+import com.tangosol.util.ImmutableArrayList;
 import com.tangosol.util.InvocableMap;
 
 import com.tangosol.util.aggregator.DistinctValues;
+import com.tangosol.util.aggregator.GroupAggregator;
+
+import com.tangosol.util.comparator.InverseComparator;
+import com.tangosol.util.comparator.SafeComparator;
 
 import com.tangosol.util.extractor.ReflectionExtractor;
 
 import com.tangosol.util.filter.AlwaysFilter;
 import com.tangosol.util.filter.EqualsFilter;
+import com.tangosol.util.filter.LimitFilter;
 
 import org.junit.Rule;
 import org.junit.Test;
@@ -42,12 +48,14 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InOrder;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
 import static com.tangosol.coherence.dslquery.TermMatcher.matchingTerm;
 
+import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.CoreMatchers.nullValue;
@@ -339,6 +347,129 @@ public class SelectStatementBuilderTest
         SelectStatementBuilder.INSTANCE.realize(context, term, null, null);
         }
 
+    @Test
+    public void shouldRealizeSelectStarQueryWithOrderByAndLimit()
+            throws Exception
+        {
+        String sql = "sqlSelectNode(" + "isDistinct('false'), " + "fieldList('*'), " + "from('foo'), " + "alias(), "
+                     + "whereClause(), " + "groupBy(), " + "orderBy(sortKey(identifier(bar), 'true')), "
+                     + "limit(literal(10)))";
+
+        ExecutionContext       context  = mock(ExecutionContext.class);
+        CoherenceQueryLanguage language = new CoherenceQueryLanguage();
+
+        when(context.getCoherenceQueryLanguage()).thenReturn(language);
+
+        NodeTerm               term    = (NodeTerm) Terms.create(sql);
+        SelectStatementBuilder builder = SelectStatementBuilder.INSTANCE;
+
+        SelectStatementBuilder.SelectStatement query
+                = builder.realize(context, term, null, null);
+
+        assertThat(query.f_aggregator, is(nullValue()));
+        assertThat(query.f_filter, is(instanceOf(LimitFilter.class)));
+        assertThat(((LimitFilter) query.f_filter).getPageSize(), is(10));
+        assertThat(query.f_comparator, is(instanceOf(InverseComparator.class)));
+        }
+
+    @Test
+    public void shouldRealizeGroupByQueryWithOrderByAndLimit()
+            throws Exception
+        {
+        String sql = "sqlSelectNode(" + "isDistinct('false'), "
+                     + "fieldList(identifier(bar), callNode(sum(identifier(a)))), " + "from('foo'), " + "alias(), "
+                     + "whereClause(), " + "groupBy(identifier(bar)), " + "orderBy(sortKey(identifier(bar), 'false')), "
+                     + "limit(literal(5)))";
+
+        ExecutionContext       context  = mock(ExecutionContext.class);
+        CoherenceQueryLanguage language = new CoherenceQueryLanguage();
+
+        when(context.getCoherenceQueryLanguage()).thenReturn(language);
+
+        NodeTerm               term    = (NodeTerm) Terms.create(sql);
+        SelectStatementBuilder builder = SelectStatementBuilder.INSTANCE;
+
+        SelectStatementBuilder.SelectStatement query
+                = builder.realize(context, term, null, null);
+
+        assertThat(query.f_aggregator, is(instanceOf(GroupAggregator.class)));
+
+        GroupAggregator aggregator = (GroupAggregator) query.f_aggregator;
+
+        assertThat(aggregator.getLimit(), is(5));
+        assertThat(aggregator.getComparator(), is((Comparator) new SafeComparator()));
+        assertThat(query.f_comparator, is(nullValue()));
+        }
+
+    @Test
+    public void shouldOrderMultipleGroupByFieldsByGroupKeyElement()
+            throws Exception
+        {
+        String sql = "sqlSelectNode(" + "isDistinct('false'), "
+                     + "fieldList(identifier(bar), identifier(baz), callNode(count())), " + "from('foo'), "
+                     + "alias(), " + "whereClause(), " + "groupBy(identifier(bar), identifier(baz)), "
+                     + "orderBy(sortKey(identifier(baz), 'true')))";
+
+        ExecutionContext       context  = mock(ExecutionContext.class);
+        CoherenceQueryLanguage language = new CoherenceQueryLanguage();
+
+        when(context.getCoherenceQueryLanguage()).thenReturn(language);
+
+        NodeTerm term = (NodeTerm) Terms.create(sql);
+
+        SelectStatementBuilder.SelectStatement query
+                = SelectStatementBuilder.INSTANCE.realize(context, term, null, null);
+
+        GroupAggregator aggregator = (GroupAggregator) query.f_aggregator;
+        Comparator      comparator = aggregator.getComparator();
+
+        // the group keys are ordered by the descending value of baz
+        assertThat(aggregator.getLimit(), is(0));
+        assertThat(comparator, is(instanceOf(InverseComparator.class)));
+        assertThat(comparator.compare(new ImmutableArrayList(new Object[] {"b", 1}),
+                                      new ImmutableArrayList(new Object[] {"a", 2})) > 0, is(true));
+        }
+
+    @Test
+    public void shouldThrowExceptionIfOrderByFieldIsNotGroupByField()
+            throws Exception
+        {
+        expectedEx.expect(CohQLException.class);
+        expectedEx.expectMessage("ORDER BY fields of a GROUP BY query must be GROUP BY fields");
+
+        ExecutionContext       context  = mock(ExecutionContext.class);
+        CoherenceQueryLanguage language = new CoherenceQueryLanguage();
+
+        when(context.getCoherenceQueryLanguage()).thenReturn(language);
+
+        String   sql  = "sqlSelectNode(" + "isDistinct('false'), "
+                        + "fieldList(identifier(bar), callNode(sum(identifier(a)))), " + "from('foo'), "
+                        + "alias(), " + "whereClause(), " + "groupBy(identifier(bar)), "
+                        + "orderBy(sortKey(identifier(a), 'false')))";
+        NodeTerm term = (NodeTerm) Terms.create(sql);
+
+        SelectStatementBuilder.INSTANCE.realize(context, term, null, null);
+        }
+
+    @Test
+    public void shouldThrowExceptionIfLimitIsNotPositive()
+            throws Exception
+        {
+        expectedEx.expect(CohQLException.class);
+        expectedEx.expectMessage("LIMIT must be a positive integer");
+
+        ExecutionContext       context  = mock(ExecutionContext.class);
+        CoherenceQueryLanguage language = new CoherenceQueryLanguage();
+
+        when(context.getCoherenceQueryLanguage()).thenReturn(language);
+
+        String   sql  = "sqlSelectNode(" + "isDistinct('false'), " + "fieldList('*'), " + "from('foo'), "
+                        + "alias(), " + "whereClause(), " + "groupBy(), " + "limit(literal(0)))";
+        NodeTerm term = (NodeTerm) Terms.create(sql);
+
+        SelectStatementBuilder.INSTANCE.realize(context, term, null, null);
+        }
+
     @Test
     public void shouldThrowExceptionIfGroupByExistsWithoutFields()
             throws Exception
@@ -437,6 +568,31 @@ public class SelectStatementBuilderTest
         verify(cache).entrySet(same(filter));
         }
 
+    @Test
+    public void shouldPerformSortedEntrySetQuery()
+            throws Exception
+        {
+        String           cacheName      = "test";
+        Filter           filter         = mock(Filter.class);
+        Comparator       comparator     = mock(Comparator.class);
+        Session          session        = mock(Session.class);
+        NamedCache       cache          = mock(NamedCache.class);
+        Set              expectedResult = new HashSet();
+        ExecutionContext context        = mock(ExecutionContext.class);
+
+        when(context.getSession()).thenReturn(session);
+        when(session.getCache(eq(cacheName), any(TypeAssertion.class))).thenReturn(cache);
+        when(cache.entrySet(any(Filter.class), any(Comparator.class))).thenReturn(expectedResult);
+
+        SelectStatementBuilder.SelectStatement statement
+                = new SelectStatementBuilder.SelectStatement(cacheName, filter, null, false, comparator);
+
+        StatementResult result    = statement.execute(context);
+
+        assertThat((Set) result.getResult(), is(sameInstance(expectedResult)));
+        verify(cache).entrySet(same(filter), same(comparator));
+        }
+
     @Test
     public void shouldPerformAggregateQuery()
             throws Exception
@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+package com.tangosol.internal.util;
+
+import com.tangosol.net.BackingMapContext;
+
+import com.tangosol.net.partition.PartitionSet;
+
+import com.tangosol.util.Filter;
+import com.tangosol.util.MapIndex;
+import com.tangosol.util.QueryContext;
+import com.tangosol.util.QueryRecord;
+import com.tangosol.util.SimpleMapEntry;
+import com.tangosol.util.SimpleMapIndex;
+import com.tangosol.util.SimpleQueryRecord;
+import com.tangosol.util.ValueExtractor;
+
+import com.tangosol.util.extractor.AbstractExtractor;
+
+import com.tangosol.util.filter.AllFilter;
+import com.tangosol.util.filter.AnyFilter;
+import com.tangosol.util.filter.BetweenFilter;
+import com.tangosol.util.filter.EqualsFilter;
+import com.tangosol.util.filter.GreaterEqualsFilter;
+import com.tangosol.util.filter.LikeFilter;
+
+import java.lang.reflect.Proxy;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+* FilterPlanner unit tests.
+*/
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class FilterPlannerTest
+    {
+    @Before
+    public void setup()
+        {
+        m_mapIndex = new HashMap<>();
+        m_setKeys  = new HashSet<>();
+
+        m_mapIndex.put(STATUS, new SimpleMapIndex(STATUS, false, null, null));
+        m_mapIndex.put(REGION, new SimpleMapIndex(REGION, false, null, null));
+        m_mapIndex.put(AMOUNT, new SimpleMapIndex(AMOUNT, true, null, null));
+
+        // 95% of the entries are active, 1% are in region 7, and the
+        // amounts are uniformly distributed between 0 and 999
+        for (int i = 0; i < 1000; i++)
+            {
+            insert(i, new int[] {i % 20 == 0 ? 1 : 0, i % 100 == 50 ? 7 : i % 5, i});
+            }
+        }
+
+    /**
+    * Test the selectivity estimates.
+    */
+    @Test
+    public void testEstimateSelectivity()
+        {
+        assertEquals(0.95, FilterPlanner.estimateSelectivity(new EqualsFilter(STATUS, 0), m_mapIndex), 0.0);
+        assertEquals(0.01, FilterPlanner.estimateSelectivity(new EqualsFilter(REGION, 7), m_mapIndex), 0.0);
+        assertEquals(0.1,  FilterPlanner.estimateSelectivity(new GreaterEqualsFilter(AMOUNT, 900), m_mapIndex), 0.02);
+        assertEquals(0.2,  FilterPlanner.estimateSelectivity(new BetweenFilter(AMOUNT, 100, 299), m_mapIndex), 0.02);
+
+        assertEquals(0.0095, FilterPlanner.estimateSelectivity(
+                new AllFilter(new Filter[] {new EqualsFilter(STATUS, 0), new EqualsFilter(REGION, 7)}), m_mapIndex), 0.0001);
+        assertEquals(0.9505, FilterPlanner.estimateSelectivity(
+                new AnyFilter(new Filter[] {new EqualsFilter(STATUS, 0), new EqualsFilter(REGION, 7)}), m_mapIndex), 0.0001);
+
+        // there are no statistics for a filter without an index
+        assertTrue(Double.isNaN(FilterPlanner.estimateSelectivity(new LikeFilter(NAME, "a%"), m_mapIndex)));
+        }
+
+    /**
+    * Test that the most selective filters are applied first.
+    */
+    @Test
+    public void testPlanOrder()
+        {
+        Filter    filterStatus = new EqualsFilter(STATUS, 0);
+        Filter    filterRegion = new EqualsFilter(REGION, 7);
+        Filter    filterAmount = new GreaterEqualsFilter(AMOUNT, 500);
+        Filter    filterName   = new LikeFilter(NAME, "a%");
+        Filter[]  aFilter      = {filterName, filterStatus, filterAmount, filterRegion};
+        AllFilter filter       = new AllFilter(aFilter);
+
+        FilterPlanner.Plan plan = FilterPlanner.plan(filter, aFilter, m_mapIndex, m_setKeys);
+
+        assertArrayEquals(new Filter[] {filterRegion, filterAmount, filterStatus, filterName}, plan.order(aFilter));
+        assertEquals(10, plan.getCost(0));
+        assertEquals(950, plan.getCost(2));
+
+        // the index-based evaluation is not affected by the order
+        Set setKeys = new HashSet(m_setKeys);
+        filter.applyIndex(m_mapIndex, setKeys);
+        assertEquals(Set.of(550, 650, 750, 850, 950), setKeys);
+        }
+
+    /**
+    * Test that the plans are cached until the indexes change significantly.
+    */
+    @Test
+    public void testPlanCache()
+        {
+        Filter[] aFilter = {new EqualsFilter(STATUS, 0), new EqualsFilter(REGION, 7)};
+
+        FilterPlanner.Plan plan = FilterPlanner.plan(new AllFilter(aFilter), aFilter, m_mapIndex, m_setKeys);
+
+        // an equal filter uses the same plan
+        Filter[] aFilterEqual = {new EqualsFilter(STATUS, 0), new EqualsFilter(REGION, 7)};
+        assertSame(plan, FilterPlanner.plan(new AllFilter(aFilterEqual), aFilterEqual, m_mapIndex, m_setKeys));
+        assertSame(aFilterEqual[1], plan.order(aFilterEqual)[0]);
+
+        // make every entry inactive and in region 7
+        for (int i = 0; i < 1000; i++)
+            {
+            update(i, new int[] {1, 7, i});
+            }
+
+        FilterPlanner.Plan planNew = FilterPlanner.plan(new AllFilter(aFilter), aFilter, m_mapIndex, m_setKeys);
+        assertNotSame(plan, planNew);
+        assertSame(aFilter[0], planNew.order(aFilter)[0]);
+        }
+
+    /**
+    * Test that the explain output keeps the cost recorded by a filter, and
+    * records the estimated cost of a filter that recorded none.
+    */
+    @Test
+    public void testExplainCost()
+        {
+        Filter    filterAmount = new GreaterEqualsFilter(AMOUNT, 500);
+        Filter    filterAll    = entry -> true;
+        Filter[]  aFilter      = {filterAll, filterAmount};
+        AllFilter filter       = new AllFilter(aFilter);
+
+        BackingMapContext ctxBM = (BackingMapContext) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class[] {BackingMapContext.class},
+                (proxy, method, aoArg) -> method.getName().equals("getIndexMap") ? m_mapIndex : null);
+
+        QueryContext                          ctx  = new SimpleQueryContext(ctxBM);
+        QueryRecord.PartialResult.ExplainStep step =
+                new SimpleQueryRecord.PartialResult(ctx, new PartitionSet(1)).instantiateExplainStep(filter);
+
+        filter.explain(ctx, step, m_setKeys);
+
+        FilterPlanner.Plan plan = FilterPlanner.plan(filter, aFilter, m_mapIndex, m_setKeys);
+
+        assertEquals(((GreaterEqualsFilter) filterAmount).calculateEffectiveness(m_mapIndex, m_setKeys),
+                step.ensureStep(filterAmount).getEfficiency());
+        assertNotEquals(plan.getCost(0), step.ensureStep(filterAmount).getEfficiency());
+        assertEquals(plan.getCost(1), step.ensureStep(filterAll).getEfficiency());
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+    * Insert the specified entry into all indexes.
+    *
+    * @param nKey    the key
+    * @param anValue the value
+    */
+    private void insert(int nKey, int[] anValue)
+        {
+        for (MapIndex index : m_mapIndex.values())
+            {
+            index.insert(new SimpleMapEntry(nKey, anValue));
+            }
+        m_setKeys.add(nKey);
+        }
+
+    /**
+    * Update the specified entry in all indexes.
+    *
+    * @param nKey    the key
+    * @param anValue the value
+    */
+    private void update(int nKey, int[] anValue)
+        {
+        for (MapIndex index : m_mapIndex.values())
+            {
+            index.update(new SimpleMapEntry(nKey, anValue));
+            }
+        }
+
+    // ----- inner class: Element -------------------------------------------
+
+    /**
+    * An extractor for an element of an int array.
+    */
+    public static class Element
+            extends AbstractExtractor<int[], Integer>
+        {
+        public Element(int i)
+            {
+            m_i = i;
+            }
+
+        public Integer extract(int[] an)
+            {
+            return an[m_i];
+            }
+
+        public boolean equals(Object o)
+            {
+            return o instanceof Element && ((Element) o).m_i == m_i;
+            }
+
+        public int hashCode()
+            {
+            return m_i;
+            }
+
+        private final int m_i;
+        }
+
+    // ----- constants and data members -------------------------------------
+
+    private static final ValueExtractor STATUS = new Element(0);
+    private static final ValueExtractor REGION = new Element(1);
+    private static final ValueExtractor AMOUNT = new Element(2);
+    private static final ValueExtractor NAME   = new Element(3);
+
+    private Map<ValueExtractor, MapIndex> m_mapIndex;
+    private Set<Integer>                  m_setKeys;
+    }
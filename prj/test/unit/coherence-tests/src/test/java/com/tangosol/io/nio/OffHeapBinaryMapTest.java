@@ -0,0 +1,430 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.tangosol.io.nio;
+
+import com.tangosol.net.cache.CacheEvent;
+import com.tangosol.net.cache.ConfigurableCacheMap;
+import com.tangosol.net.cache.LocalCache;
+
+import com.tangosol.util.Base;
+import com.tangosol.util.Binary;
+import com.tangosol.util.MapEvent;
+import com.tangosol.util.MapListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+* OffHeapBinaryMap unit tests.
+*/
+public class OffHeapBinaryMapTest
+    {
+    /**
+    * Test the basic map operations.
+    */
+    @Test
+    public void testMapOperations()
+        {
+        OffHeapBinaryMap map = new OffHeapBinaryMap(new SlabAllocator(0L, SLAB_SIZE));
+
+        assertTrue(map.isEmpty());
+        assertNull(map.put(key(1), value(1, 10)));
+        assertEquals(value(1, 10), map.put(key(1), value(2, 10)));
+        assertNull(map.put(key(2), Binary.NO_BINARY));
+
+        assertEquals(2, map.size());
+        assertEquals(value(2, 10), map.get(key(1)));
+        assertEquals(Binary.NO_BINARY, map.get(key(2)));
+        assertTrue(map.containsKey(key(2)));
+        assertFalse(map.containsKey(key(3)));
+        assertNull(map.get("not a binary"));
+
+        // a larger value moves the record to another size class
+        assertEquals(value(2, 10), map.put(key(1), value(3, 300)));
+        assertEquals(value(3, 300), map.get(key(1)));
+
+        assertEquals(value(3, 300), map.remove(key(1)));
+        assertNull(map.get(key(1)));
+        assertEquals(Collections.singleton(key(2)), map.keySet());
+
+        map.keySet().clear();
+        assertTrue(map.isEmpty());
+        assertEquals(0, map.getUnits());
+        assertEquals(0, map.getSlabCount());
+
+        try
+            {
+            map.put("key", value(1, 10));
+            fail("expected IllegalArgumentException");
+            }
+        catch (IllegalArgumentException e)
+            {
+            // expected
+            }
+        }
+
+    /**
+    * Test that records larger than the largest size class are stored in
+    * dedicated buffers, which are released when the records are removed.
+    */
+    @Test
+    public void testLargeRecords()
+        {
+        SlabAllocator    allocator = new SlabAllocator(0L, SLAB_SIZE);
+        OffHeapBinaryMap map       = new OffHeapBinaryMap(allocator);
+
+        map.put(key(1), value(1, SLAB_SIZE * 2));
+        map.put(key(2), value(2, 100));
+        assertEquals(2, map.getSlabCount());
+        assertEquals(value(1, SLAB_SIZE * 2), map.get(key(1)));
+
+        // a slightly smaller value is updated in place
+        map.put(key(1), value(3, SLAB_SIZE * 2 - 10));
+        assertEquals(2, map.getSlabCount());
+        assertEquals(value(3, SLAB_SIZE * 2 - 10), map.get(key(1)));
+
+        map.remove(key(1));
+        assertEquals(1, map.getSlabCount());
+        assertEquals(SLAB_SIZE, map.getReservedBytes());
+        assertEquals(SLAB_SIZE, allocator.getAllocatedBytes());
+        }
+
+    /**
+    * Test that the slabs of a sparse size class are incrementally emptied
+    * and released.
+    */
+    @Test
+    public void testDefragmentation()
+        {
+        SlabAllocator    allocator = new SlabAllocator(0L, SLAB_SIZE);
+        OffHeapBinaryMap map       = new OffHeapBinaryMap(allocator);
+        int              cEntries  = 4000;
+
+        for (int i = 0; i < cEntries; i++)
+            {
+            map.put(key(i), value(i, 40));
+            }
+        int cSlabs = map.getSlabCount();
+        assertTrue(cSlabs > 10);
+
+        // remove three quarters of the entries, scattered across all slabs
+        for (int i = 0; i < cEntries; i++)
+            {
+            if (i % 4 != 0)
+                {
+                map.remove(key(i));
+                }
+            }
+
+        assertTrue(map.getRelocationCount() > 0);
+        assertTrue("slabs: " + map.getSlabCount() + " of " + cSlabs,
+                   map.getSlabCount() <= cSlabs / 2 + 1);
+
+        for (int i = 0; i < cEntries; i += 4)
+            {
+            assertEquals(value(i, 40), map.get(key(i)));
+            }
+        assertEquals(cEntries / 4, map.size());
+        assertEquals(cEntries / 4, map.keySet().size());
+        }
+
+    /**
+    * Test that a full allocator is reported and that the slabs are returned
+    * to the allocator when the map is disposed.
+    */
+    @Test
+    public void testCapacity()
+        {
+        SlabAllocator    allocator = new SlabAllocator(SLAB_SIZE * 2, SLAB_SIZE);
+        OffHeapBinaryMap map       = new OffHeapBinaryMap(allocator);
+
+        try
+            {
+            for (int i = 0; i < 10000; i++)
+                {
+                map.put(key(i), value(i, 100));
+                }
+            fail("expected the allocator to be exhausted");
+            }
+        catch (IllegalStateException e)
+            {
+            assertTrue(e.getMessage().startsWith("OutOfMemory"));
+            }
+        assertEquals(SLAB_SIZE * 2, allocator.getAllocatedBytes());
+
+        OffHeapBinaryMap map2 = new OffHeapBinaryMap(allocator);
+        try
+            {
+            map2.put(key(1), value(1, 10));
+            fail("expected the allocator to be exhausted");
+            }
+        catch (IllegalStateException e)
+            {
+            // expected
+            }
+
+        map.dispose();
+        assertEquals(0, map.getSlabCount());
+        assertTrue(map.isEmpty());
+        assertEquals(2, allocator.getFreeSlabCount());
+
+        map2.put(key(1), value(1, 10));
+        assertEquals(value(1, 10), map2.get(key(1)));
+        assertEquals(1, allocator.getFreeSlabCount());
+        }
+
+    /**
+    * Test that the map is pruned to its high units, honoring the eviction
+    * approver.
+    */
+    @Test
+    public void testHighUnits()
+        {
+        OffHeapBinaryMap map = new OffHeapBinaryMap(new SlabAllocator(0L, SLAB_SIZE), 100, 0);
+
+        for (int i = 0; i < 1000; i++)
+            {
+            map.put(key(i), value(i, 10));
+            assertTrue(map.getUnits() <= 100);
+            }
+        assertEquals(map.size(), map.getUnits());
+        assertTrue(map.getCacheStatistics().getCachePrunes() > 0);
+
+        map.clear();
+        map.setEvictionApprover(entry -> ((Binary) entry.getKey()).byteAt(3) % 2 == 0);
+        for (int i = 0; i < 1000; i++)
+            {
+            map.put(key(i), value(i, 10));
+            }
+        for (int i = 1; i < 1000; i += 2)
+            {
+            assertTrue(map.containsKey(key(i)));
+            }
+
+        map.setEvictionApprover(ConfigurableCacheMap.EvictionApprover.DISAPPROVER);
+        int cSize = map.size();
+        map.put(key(-1), value(-1, 10));
+        assertEquals(cSize + 1, map.size());
+        }
+
+    /**
+    * Test that the unit calculator and the unit factor are applied.
+    */
+    @Test
+    public void testUnitCalculator()
+        {
+        OffHeapBinaryMap map = new OffHeapBinaryMap(new SlabAllocator(0L, SLAB_SIZE));
+
+        map.setUnitFactor(1024);
+        map.setHighUnits(10);
+        map.setUnitCalculator(LocalCache.INSTANCE_BINARY);
+
+        for (int i = 0; i < 1000; i++)
+            {
+            map.put(key(i), value(i, 100));
+            }
+        assertTrue(map.getUnits() <= 10);
+        assertTrue(map.size() < 1000);
+
+        ConfigurableCacheMap.Entry entry = map.getCacheEntry(map.keySet().iterator().next());
+        assertTrue(entry.getUnits() > 100);
+
+        map.setUnitCalculator(null);
+        assertEquals((map.size() + 1023) / 1024, map.getUnits());
+        }
+
+    /**
+    * Test the expiry of the entries and the events raised by the map.
+    */
+    @Test
+    public void testExpiryAndEvents()
+        {
+        OffHeapBinaryMap map       = new OffHeapBinaryMap(new SlabAllocator(0L, SLAB_SIZE));
+        List<MapEvent>   listEvent = Collections.synchronizedList(new ArrayList<>());
+
+        map.addMapListener(new MapListener()
+            {
+            public void entryInserted(MapEvent evt)
+                {
+                listEvent.add(evt);
+                }
+
+            public void entryUpdated(MapEvent evt)
+                {
+                listEvent.add(evt);
+                }
+
+            public void entryDeleted(MapEvent evt)
+                {
+                listEvent.add(evt);
+                }
+            });
+
+        long ldtNow = Base.getSafeTimeMillis();
+        map.put(key(1), value(1, 10), 1L);
+        map.put(key(2), value(2, 10));
+        map.put(key(2), value(3, 10));
+        map.put(key(3), value(3, 10), 100000L);
+
+        long ldtNext = map.getNextExpiryTime();
+        assertTrue(ldtNext >= ldtNow + 1L && ldtNext <= Base.getSafeTimeMillis() + 1L);
+
+        Base.sleep(10L);
+
+        assertNull(map.get(key(1)));
+        assertEquals(2, map.size());
+        assertEquals(0L, map.getCacheEntry(key(2)).getExpiryMillis());
+
+        map.getCacheEntry(key(2)).setExpiryMillis(1L);
+        map.evict();
+        assertEquals(Collections.singleton(key(3)), map.keySet());
+        assertTrue(map.getNextExpiryTime() > ldtNow + 1000L);
+
+        map.remove(key(3));
+
+        assertEquals(7, listEvent.size());
+        assertEquals(MapEvent.ENTRY_INSERTED, listEvent.get(0).getId());
+        assertEquals(MapEvent.ENTRY_UPDATED, listEvent.get(2).getId());
+        assertEquals(value(2, 10), listEvent.get(2).getOldValue());
+        assertEquals(value(3, 10), listEvent.get(2).getNewValue());
+
+        CacheEvent evtExpire = (CacheEvent) listEvent.get(4);
+        assertEquals(key(1), evtExpire.getKey());
+        assertTrue(evtExpire.isSynthetic());
+        assertTrue(evtExpire.isExpired());
+
+        CacheEvent evtRemove = (CacheEvent) listEvent.get(6);
+        assertEquals(MapEvent.ENTRY_DELETED, evtRemove.getId());
+        assertFalse(evtRemove.isSynthetic());
+        }
+
+    /**
+    * Test the map under concurrent reads, writes and removals.
+    */
+    @Test
+    public void testConcurrentAccess()
+            throws Exception
+        {
+        OffHeapBinaryMap map      = new OffHeapBinaryMap(new SlabAllocator(0L, SLAB_SIZE), 5000, 0);
+        ExecutorService  executor = Executors.newFixedThreadPool(8);
+        try
+            {
+            List<Future<?>> listFuture = new ArrayList<>();
+            for (int t = 0; t < 8; t++)
+                {
+                int nSeed = t;
+                listFuture.add(executor.submit(() ->
+                    {
+                    Random random = new Random(nSeed);
+                    for (int i = 0; i < 50000; i++)
+                        {
+                        int nKey = random.nextInt(20000);
+                        switch (random.nextInt(10))
+                            {
+                            case 0:
+                                map.remove(key(nKey));
+                                break;
+                            case 1:
+                            case 2:
+                                map.put(key(nKey), value(nKey, 10 + random.nextInt(200)));
+                                break;
+                            default:
+                                Binary binValue = (Binary) map.get(key(nKey));
+                                assertTrue(binValue == null || number(binValue) == nKey);
+                            }
+                        }
+                    }));
+                }
+            for (Future<?> future : listFuture)
+                {
+                future.get(60, TimeUnit.SECONDS);
+                }
+            }
+        finally
+            {
+            executor.shutdownNow();
+            }
+
+        assertTrue(map.getUnits() <= 5000);
+        assertEquals(map.size(), map.getUnits());
+        assertEquals(map.size(), map.keySet().size());
+        for (Object oKey : map.keySet())
+            {
+            Binary binValue = (Binary) map.get(oKey);
+            assertEquals(number((Binary) oKey), number(binValue));
+            }
+        }
+
+    // ----- helpers --------------------------------------------------------
+
+    /**
+    * Return the key for the specified number.
+    *
+    * @param n  the number
+    *
+    * @return the key
+    */
+    protected static Binary key(int n)
+        {
+        return new Binary(new byte[] {(byte) (n >>> 24), (byte) (n >>> 16), (byte) (n >>> 8), (byte) n});
+        }
+
+    /**
+    * Return a value of the specified length that starts with the specified
+    * number.
+    *
+    * @param n   the number
+    * @param cb  the length of the value
+    *
+    * @return the value
+    */
+    protected static Binary value(int n, int cb)
+        {
+        byte[] ab = new byte[cb];
+        for (int i = 0; i < cb; i++)
+            {
+            ab[i] = (byte) (n + i);
+            }
+        ab[0] = (byte) (n >>> 24);
+        ab[1] = (byte) (n >>> 16);
+        ab[2] = (byte) (n >>> 8);
+        ab[3] = (byte) n;
+        return new Binary(ab);
+        }
+
+    /**
+    * Return the number a key or a value starts with.
+    *
+    * @param bin  the key or value
+    *
+    * @return the number
+    */
+    protected static int number(Binary bin)
+        {
+        return (bin.byteAt(0) & 0xFF) << 24 | (bin.byteAt(1) & 0xFF) << 16
+               | (bin.byteAt(2) & 0xFF) << 8 | (bin.byteAt(3) & 0xFF);
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+    * The slab size used by the tests.
+    */
+    protected static final int SLAB_SIZE = 16 * 1024;
+    }
@@ -0,0 +1,280 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.tangosol.io.pof;
+
+
+import com.tangosol.io.ReadBuffer;
+
+import com.tangosol.io.nio.ByteBufferReadBuffer;
+
+import com.tangosol.util.Binary;
+import com.tangosol.util.BinaryEntry;
+import com.tangosol.util.BinaryWriteBuffer;
+import com.tangosol.util.ExternalizableHelper;
+import com.tangosol.util.InvocableMapHelper;
+
+import com.tangosol.util.extractor.PofExtractor;
+import com.tangosol.util.extractor.PofExtractorTest;
+
+import com.tangosol.util.filter.EqualsFilter;
+import com.tangosol.util.filter.LikeFilter;
+
+import java.io.IOException;
+
+import java.nio.ByteBuffer;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+
+/**
+* Unit tests of the {@link Utf8CharSequence} and the
+* {@link PofReader#readCharSequence(int)} method.
+*/
+public class Utf8CharSequenceTest
+    {
+    // ----- test methods ---------------------------------------------------
+
+    /**
+    * Test the sequences read from the POF strings.
+    */
+    @Test
+    public void testReadCharSequence()
+            throws IOException
+        {
+        String[] as = {"", "a", "Tampa", "Zürich", "東京", "smile 😀!", "nul\u0000char"};
+        for (String s : as)
+            {
+            Binary bin = serialize(s);
+            for (ReadBuffer buf : new ReadBuffer[] {bin, toDirectBuffer(bin)})
+                {
+                CharSequence seq = new PofBufferReader(buf.getBufferInput(), CONTEXT).readCharSequence(0);
+                assertEquals(s, seq.toString());
+                assertEquals(s.hashCode(), seq.hashCode());
+                assertEquals(s.length(), seq.length());
+                if (s.length() > 0)
+                    {
+                    assertEquals(s.charAt(s.length() - 1), seq.charAt(s.length() - 1));
+                    }
+                }
+            }
+        }
+
+    /**
+    * Test the values that are not UTF-8 encoded strings.
+    */
+    @Test
+    public void testReadOtherValues()
+            throws IOException
+        {
+        assertNull(new PofBufferReader(serialize(null).getBufferInput(), CONTEXT).readCharSequence(0));
+
+        CharSequence seq = new PofBufferReader(serialize(new char[] {'a', 'b'}).getBufferInput(), CONTEXT)
+                .readCharSequence(0);
+        assertEquals("ab", seq.toString());
+        assertFalse(seq instanceof Utf8CharSequence);
+        }
+
+    /**
+    * Test the byte-based comparisons.
+    */
+    @Test
+    public void testComparisons()
+            throws IOException
+        {
+        Utf8CharSequence seq = read("Zürich Hauptbahnhof");
+
+        assertTrue(seq.contentEquals(Utf8CharSequence.encode("Zürich Hauptbahnhof")));
+        assertFalse(seq.contentEquals(Utf8CharSequence.encode("Zurich Hauptbahnhof")));
+        assertTrue(seq.startsWith(Utf8CharSequence.encode("Zür")));
+        assertFalse(seq.startsWith(Utf8CharSequence.encode("Zur")));
+        assertTrue(seq.endsWith(Utf8CharSequence.encode("hof")));
+        assertFalse(seq.endsWith(Utf8CharSequence.encode("Zürich Hauptbahnhof!")));
+        assertTrue(seq.contains(Utf8CharSequence.encode("ich H")));
+        assertTrue(seq.contains(Utf8CharSequence.encode("")));
+        assertFalse(seq.contains(Utf8CharSequence.encode("bahnhöf")));
+        assertFalse(seq.isAscii());
+
+        assertEquals(seq, read("Zürich Hauptbahnhof"));
+        assertNotEquals(seq, read("Zürich"));
+        assertTrue(read("Tampa").isAscii());
+        assertEquals("amp", read("Tampa").subSequence(1, 4).toString());
+
+        // the strings whose encoding depends on the POF writer are not encoded
+        assertNull(Utf8CharSequence.encode("\uD83D"));
+        assertNull(Utf8CharSequence.encode("😀"));
+        assertNull(Utf8CharSequence.encode("nul\u0000char"));
+        }
+
+    /**
+    * Test that a sequence is equal to the Strings with the same characters,
+    * and can be used to look them up in a hash-based collection.
+    */
+    @Test
+    public void testEqualsString()
+            throws IOException
+        {
+        Set<Object> setValues = new HashSet<>(Arrays.asList("Tampa", "Zürich", "nul\u0000char"));
+        for (String s : new String[] {"Tampa", "Zürich", "nul\u0000char"})
+            {
+            Utf8CharSequence seq = read(s);
+
+            assertTrue(seq.equals(s));
+            assertTrue(seq.equals(new StringBuilder(s)));
+            assertFalse(seq.equals(s + "!"));
+            assertTrue(setValues.contains(seq));
+            }
+
+        assertFalse(read("Tampa").equals("tampa"));
+        assertFalse(setValues.contains(read("Zurich")));
+        }
+
+    /**
+    * Test the filters against the POF strings that contain the characters
+    * the POF writer encodes in the modified UTF-8 form.
+    */
+    @Test
+    public void testFiltersOnModifiedEncoding()
+        {
+        SimplePofContext ctx = new SimplePofContext();
+        ctx.registerUserType(1, City.class, new PortableObjectSerializer(1));
+
+        PofExtractor extractor = new PofExtractor(null, 1);
+        for (String s : new String[] {"smile 😀!", "nul\u0000char"})
+            {
+            City city = new City();
+            city.m_sName = s;
+            city.m_sCode = "";
+
+            BinaryEntry binEntry = new PofExtractorTest.TestBinaryEntry(null,
+                    ExternalizableHelper.toBinary(city, ctx), ctx);
+
+            assertTrue(s, InvocableMapHelper.evaluateEntry(new EqualsFilter(extractor, s), binEntry));
+            // the NUL character is the default escape character of the patterns
+            assertTrue(s, InvocableMapHelper.evaluateEntry(new LikeFilter(extractor, s, '\\', false), binEntry));
+            assertTrue(s, InvocableMapHelper.evaluateEntry(new LikeFilter(extractor, s.substring(0, 4) + "%", '\\', false), binEntry));
+            assertTrue(s, InvocableMapHelper.evaluateEntry(new LikeFilter(extractor, "%" + s.substring(4), '\\', false), binEntry));
+            assertTrue(s, InvocableMapHelper.evaluateEntry(new LikeFilter(extractor, "%" + s.substring(3, 7) + "%", '\\', false), binEntry));
+            assertFalse(s, InvocableMapHelper.evaluateEntry(new EqualsFilter(extractor, s + "!"), binEntry));
+            }
+        }
+
+    /**
+    * Test the sequences read by a user type reader.
+    */
+    @Test
+    public void testUserType()
+            throws IOException
+        {
+        SimplePofContext ctx = new SimplePofContext();
+        ctx.registerUserType(1, City.class, new PortableObjectSerializer(1));
+
+        City city = new City();
+        city.m_nId   = 7;
+        city.m_sName = "Tampa";
+        city.m_sCode = "TPA";
+
+        BinaryWriteBuffer buf = new BinaryWriteBuffer(64);
+        new PofBufferWriter(buf.getBufferOutput(), ctx).writeObject(0, city);
+
+        City cityRead = (City) new PofBufferReader(buf.toBinary().getBufferInput(), ctx).readObject(0);
+        assertEquals(7, cityRead.m_nId);
+        assertEquals("Tampa", cityRead.m_sName);
+        assertEquals("TPA", cityRead.m_sCode);
+        assertTrue(cityRead.m_fEncoded);
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+    * Serialize the passed value.
+    *
+    * @param o  the value to serialize
+    *
+    * @return the serialized value
+    */
+    private static Binary serialize(Object o)
+            throws IOException
+        {
+        BinaryWriteBuffer buf = new BinaryWriteBuffer(64);
+        new PofBufferWriter(buf.getBufferOutput(), CONTEXT).writeObject(0, o);
+        return buf.toBinary();
+        }
+
+    /**
+    * Read the serialized String as a Utf8CharSequence.
+    *
+    * @param s  the String to serialize
+    *
+    * @return the Utf8CharSequence
+    */
+    private static Utf8CharSequence read(String s)
+            throws IOException
+        {
+        return (Utf8CharSequence) new PofBufferReader(serialize(s).getBufferInput(), CONTEXT).readCharSequence(0);
+        }
+
+    /**
+    * Copy the passed Binary into a direct ByteBuffer.
+    *
+    * @param bin  the Binary to copy
+    *
+    * @return the ReadBuffer over the direct ByteBuffer
+    */
+    private static ReadBuffer toDirectBuffer(Binary bin)
+        {
+        ByteBuffer buf = ByteBuffer.allocateDirect(bin.length());
+        buf.put(bin.toByteArray()).flip();
+        return new ByteBufferReadBuffer(buf);
+        }
+
+    // ----- inner class: City ----------------------------------------------
+
+    /**
+    * The user type that reads its strings as the CharSequence values.
+    */
+    public static class City
+            implements PortableObject
+        {
+        public void readExternal(PofReader in)
+                throws IOException
+            {
+            m_nId = in.readInt(0);
+
+            CharSequence seqName = in.readCharSequence(1);
+            m_fEncoded = seqName instanceof Utf8CharSequence;
+            m_sName    = seqName.toString();
+            m_sCode    = in.readCharSequence(2).toString();
+            }
+
+        public void writeExternal(PofWriter out)
+                throws IOException
+            {
+            out.writeInt(0, m_nId);
+            out.writeString(1, m_sName);
+            out.writeString(2, m_sCode);
+            }
+
+        int     m_nId;
+        String  m_sName;
+        String  m_sCode;
+        boolean m_fEncoded;
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+    * The POF context.
+    */
+    private static final PofContext CONTEXT = new SimplePofContext();
+    }
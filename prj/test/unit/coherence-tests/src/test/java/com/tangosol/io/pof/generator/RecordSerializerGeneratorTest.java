@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+package com.tangosol.io.pof.generator;
+
+import com.tangosol.io.pof.ConfigurablePofContext;
+import com.tangosol.io.pof.GeneratedPofConfigProvider;
+import com.tangosol.io.pof.PofSerializer;
+
+import com.tangosol.io.pof.schema.annotation.PortableType;
+
+import com.tangosol.run.xml.XmlElement;
+
+import com.tangosol.util.Binary;
+import com.tangosol.util.ExternalizableHelper;
+
+import java.io.InputStream;
+
+import java.lang.invoke.MethodHandles;
+
+import java.math.BigDecimal;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for {@link RecordSerializerGenerator}.
+ */
+public class RecordSerializerGeneratorTest
+    {
+    @BeforeClass
+    public static void setup() throws Exception
+        {
+        RecordSerializerGenerator gen = new RecordSerializerGenerator(new PortableTypeGenerator.NullLogger());
+        for (Class<?> clz : new Class<?>[] {Trade.class, Shape.class, Circle.class, Rectangle.class, Drawing.class})
+            {
+            try (InputStream in = clz.getResourceAsStream(
+                    clz.getName().substring(clz.getPackageName().length() + 1) + ".class"))
+                {
+                gen.addClass(in);
+                }
+            }
+
+        s_mapSerializers = gen.generate();
+
+        // define the generated serializers next to the records
+        MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(RecordSerializerGeneratorTest.class,
+                                                                     MethodHandles.lookup());
+        for (byte[] abClass : s_mapSerializers.values())
+            {
+            lookup.defineClass(abClass);
+            }
+
+        s_xmlConfig = gen.createPofConfig();
+        s_ctx       = new ConfigurablePofContext(s_xmlConfig);
+        }
+
+    @Test
+    public void shouldGenerateSerializersForRecordsAndSealedHierarchy()
+        {
+        // Drawing is not a PortableType, the sealed interface is not a user type
+        assertThat(s_mapSerializers.size(), is(3));
+        assertThat(s_mapSerializers.containsKey(
+                "com/tangosol/io/pof/generator/RecordSerializerGeneratorTest$Circle$PofSerializer"), is(true));
+        assertThat(s_xmlConfig.getSafeElement("user-type-list").getElementList().size(), is(3));
+        }
+
+    @Test
+    public void shouldRegisterGeneratedSerializers()
+        {
+        PofSerializer<?> serializer = s_ctx.getPofSerializer(1000);
+        assertThat(serializer.getClass().getName(), is(Trade.class.getName() + "$PofSerializer"));
+        assertThat(s_ctx.getUserTypeIdentifier(Circle.class), is(1001));
+        assertThat(s_ctx.getUserTypeIdentifier(Rectangle.class), is(1002));
+        }
+
+    @Test
+    public void shouldRoundTripRecords()
+        {
+        Trade trade = new Trade(42L, "ORCL", 100, 12.5d, true, 'B', new BigDecimal("1234.5678"),
+                                new int[] {1, 2, 3}, List.of("a", "b"), new Circle(2.0d));
+
+        Binary bin    = ExternalizableHelper.toBinary(trade, s_ctx);
+        Trade  trade2 = ExternalizableHelper.fromBinary(bin, s_ctx);
+
+        assertEquals(trade.id(), trade2.id());
+        assertEquals(trade.symbol(), trade2.symbol());
+        assertEquals(trade.quantity(), trade2.quantity());
+        assertEquals(trade.price(), trade2.price(), 0.0d);
+        assertEquals(trade.buy(), trade2.buy());
+        assertEquals(trade.side(), trade2.side());
+        assertEquals(trade.amount(), trade2.amount());
+        assertArrayEquals(trade.legs(), trade2.legs());
+        assertEquals(trade.tags(), trade2.tags());
+        assertThat(trade2.shape(), instanceOf(Circle.class));
+        assertEquals(trade.shape(), trade2.shape());
+
+        Shape shape = new Rectangle(3, 4);
+        assertEquals(shape, ExternalizableHelper.fromBinary(ExternalizableHelper.toBinary(shape, s_ctx), s_ctx));
+        }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldRejectUnannotatedRecordOfSealedHierarchy() throws Exception
+        {
+        RecordSerializerGenerator gen = new RecordSerializerGenerator(new PortableTypeGenerator.NullLogger());
+        for (Class<?> clz : new Class<?>[] {Vehicle.class, Car.class})
+            {
+            try (InputStream in = clz.getResourceAsStream(
+                    clz.getName().substring(clz.getPackageName().length() + 1) + ".class"))
+                {
+                gen.addClass(in);
+                }
+            }
+
+        gen.generate();
+        }
+
+    @Test
+    public void shouldLocateGeneratedConfigWithSpecifiedLoader() throws Exception
+        {
+        Path dir  = Files.createTempDirectory("generated-pof");
+        Path file = dir.resolve(GeneratedPofConfigProvider.RESOURCE_NAME);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, "<pof-config/>");
+
+        Thread      thread    = Thread.currentThread();
+        ClassLoader loaderCtx = thread.getContextClassLoader();
+        try (URLClassLoader loader    = new URLClassLoader(new URL[] {dir.toUri().toURL()}, null);
+             URLClassLoader loaderNot = new URLClassLoader(new URL[0], null))
+            {
+            // the context loader does not see the generated configuration
+            thread.setContextClassLoader(loaderNot);
+
+            GeneratedPofConfigProvider provider = new GeneratedPofConfigProvider();
+            assertThat(provider.getConfigURIs(loader), is(Set.of(file.toUri().toURL().toExternalForm())));
+            assertThat(provider.getConfigURIs(), is(Set.of()));
+            }
+        finally
+            {
+            thread.setContextClassLoader(loaderCtx);
+            }
+        }
+
+    // ----- data types -----------------------------------------------------
+
+    @PortableType(id = 1000)
+    public record Trade(long id, String symbol, int quantity, double price, boolean buy, char side,
+                        BigDecimal amount, int[] legs, List<String> tags, Shape shape)
+        {
+        }
+
+    @PortableType(id = 0)
+    public sealed interface Shape
+            permits Circle, Rectangle
+        {
+        }
+
+    @PortableType(id = 1001)
+    public record Circle(double radius)
+            implements Shape
+        {
+        }
+
+    @PortableType(id = 1002)
+    public record Rectangle(int width, int height)
+            implements Shape
+        {
+        }
+
+    public record Drawing(String name)
+        {
+        }
+
+    @PortableType(id = 0)
+    public sealed interface Vehicle
+            permits Car
+        {
+        }
+
+    public record Car(String make)
+            implements Vehicle
+        {
+        }
+
+    // ----- data members ---------------------------------------------------
+
+    private static Map<String, byte[]> s_mapSerializers;
+
+    private static XmlElement s_xmlConfig;
+
+    private static ConfigurablePofContext s_ctx;
+    }
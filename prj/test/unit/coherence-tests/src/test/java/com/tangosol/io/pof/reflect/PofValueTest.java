@@ -35,6 +35,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 
 import static org.junit.Assert.*;
 
@@ -622,6 +623,32 @@ public class PofValueTest
             }
         }
 
+    /**
+    * Test that the children of a user type navigated in any order are the
+    * same as the children navigated in order.
+    */
+    @Test
+    public void testPofUserTypeNavigationOrder()
+            throws IOException
+        {
+        PortablePerson person    = PortablePerson.create();
+        Binary         binPerson = serialize(person, MODE_FMT_EXT);
+        int[]          aiProp    = {PortablePerson.PHONE, PortablePerson.AGE, PortablePerson.NAME,
+                                    PortablePerson.CHILDREN, PortablePerson.ADDRESS, 42, PortablePerson.DOB,
+                                    PortablePerson.SPOUSE, PortablePerson.NAME};
+
+        PofValue root = PofValueParser.parse(binPerson, getPofContext());
+        for (int iProp : aiProp)
+            {
+            PofValue pvExpected = PofValueParser.parse(binPerson, getPofContext()).getChild(iProp);
+            PofValue pv         = root.getChild(iProp);
+
+            assertEquals(pvExpected.getTypeId(), pv.getTypeId());
+            assertTrue(Objects.deepEquals(pvExpected.getValue(), pv.getValue()));
+            }
+        assertEquals("Tampa", root.getChild(PortablePerson.ADDRESS).getChild(1).getValue());
+        }
+
     /**
     * Test PofUniformSparseArray.
     */
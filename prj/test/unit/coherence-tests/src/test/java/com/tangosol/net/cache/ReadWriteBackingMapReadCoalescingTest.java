@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.tangosol.net.cache;
+
+import com.tangosol.util.Binary;
+import com.tangosol.util.ExternalizableHelper;
+import com.tangosol.util.NullImplementation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+* Unit tests of the read coalescing of a {@link ReadWriteBackingMap}.
+*/
+public class ReadWriteBackingMapReadCoalescingTest
+    {
+    @After
+    public void releaseBackingMap()
+        {
+        if (m_map != null)
+            {
+            m_map.release();
+            }
+        }
+
+    /**
+    * Test that the misses that occur while another thread is loading are
+    * coalesced into a single loadAll.
+    */
+    @Test
+    public void shouldCoalesceConcurrentMisses()
+            throws InterruptedException
+        {
+        TestCacheStore      store = new TestCacheStore();
+        ReadWriteBackingMap map   = createMap(store);
+
+        map.setReadCoalescing(WINDOW_MILLIS, 4);
+
+        // the first miss is loaded on its own and blocks the store
+        Binary binBlock = toBinary(0);
+        store.m_binBlockKey  = binBlock;
+        store.m_latchRelease = new CountDownLatch(1);
+
+        Thread threadBlock = new Thread(() -> map.get(binBlock));
+        threadBlock.start();
+        assertTrue(store.m_latchStarted.await(10, TimeUnit.SECONDS));
+
+        Set<Binary>  setKeys     = new HashSet<>();
+        List<Thread> listThreads = new ArrayList<>();
+        long         ldtStart    = System.currentTimeMillis();
+        for (int i = 1; i <= 4; i++)
+            {
+            Binary binKey = toBinary(i);
+            Thread thread = new Thread(() -> map.get(binKey));
+
+            setKeys.add(binKey);
+            listThreads.add(thread);
+            thread.start();
+            }
+        for (Thread thread : listThreads)
+            {
+            thread.join();
+            }
+
+        // the bundle is loaded as soon as it is full, before the window closes
+        assertTrue(System.currentTimeMillis() - ldtStart < WINDOW_MILLIS / 2);
+
+        store.m_latchRelease.countDown();
+        threadBlock.join();
+
+        assertEquals(1, store.m_cLoads.get());
+        assertEquals(1, store.m_listLoadAll.size());
+        assertEquals(setKeys, new HashSet<>(store.m_listLoadAll.get(0)));
+        }
+
+    /**
+    * Test that a miss that occurs while no other thread is loading is not
+    * delayed by the coalescing window.
+    */
+    @Test
+    public void shouldNotDelayLoneMiss()
+        {
+        TestCacheStore      store = new TestCacheStore();
+        ReadWriteBackingMap map   = createMap(store);
+
+        map.setReadCoalescing(WINDOW_MILLIS, 128);
+
+        Binary binKey   = toBinary(1);
+        long   ldtStart = System.currentTimeMillis();
+
+        assertEquals(binKey, map.get(binKey));
+        assertTrue(System.currentTimeMillis() - ldtStart < WINDOW_MILLIS / 2);
+
+        assertEquals(1, store.m_cLoads.get());
+        assertTrue(store.m_listLoadAll.isEmpty());
+        }
+
+    /**
+    * Test that disabling read coalescing leaves a load bundler configured
+    * via operation bundling alone.
+    */
+    @Test
+    public void shouldKeepOperationBundler()
+        {
+        ReadWriteBackingMap              map     = createMap(new TestCacheStore());
+        ReadWriteBackingMap.StoreWrapper wrapper = map.getCacheStore();
+
+        // the bundler created for read coalescing is removed when disabled
+        map.setReadCoalescing(WINDOW_MILLIS, 128);
+        assertNotNull(wrapper.getLoadBundler());
+
+        map.setReadCoalescing(0L, 128);
+        assertNull(wrapper.getLoadBundler());
+        assertEquals(0L, map.getReadCoalescingMillis());
+
+        // a bundler configured via operation bundling is kept
+        AbstractBundler bundler = wrapper.ensureLoadBundler(10);
+        map.setReadCoalescing(0L, 128);
+        assertSame(bundler, wrapper.getLoadBundler());
+
+        map.setReadCoalescing(WINDOW_MILLIS, 128);
+        map.setReadCoalescing(0L, 128);
+        assertSame(bundler, wrapper.getLoadBundler());
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+    * Create a write-through ReadWriteBackingMap over the specified store.
+    *
+    * @param store  the CacheStore
+    *
+    * @return the ReadWriteBackingMap
+    */
+    protected ReadWriteBackingMap createMap(TestCacheStore store)
+        {
+        return m_map = new ReadWriteBackingMap(
+                NullImplementation.getBackingMapManagerContext(), new LocalCache(), null, store,
+                false, 0, 0.0);
+        }
+
+    protected static Binary toBinary(Object o)
+        {
+        return ExternalizableHelper.toBinary(o);
+        }
+
+    // ----- inner class: TestCacheStore ------------------------------------
+
+    /**
+    * A CacheStore that records the load and loadAll operations.
+    */
+    public static class TestCacheStore
+            extends AbstractCacheStore
+        {
+        @Override
+        public Object load(Object oKey)
+            {
+            if (oKey.equals(m_binBlockKey))
+                {
+                m_latchStarted.countDown();
+                try
+                    {
+                    m_latchRelease.await();
+                    }
+                catch (InterruptedException e)
+                    {
+                    Thread.currentThread().interrupt();
+                    }
+                }
+            m_cLoads.incrementAndGet();
+            return oKey;
+            }
+
+        @Override
+        public Map loadAll(Collection colKeys)
+            {
+            m_listLoadAll.add(new ArrayList<>(colKeys));
+
+            Map map = new HashMap();
+            for (Object oKey : colKeys)
+                {
+                map.put(oKey, oKey);
+                }
+            return map;
+            }
+
+        // ----- data members -----------------------------------------------
+
+        /**
+        * The key a load blocks for, if any.
+        */
+        protected volatile Binary m_binBlockKey;
+
+        /**
+        * The latch a blocked load waits for.
+        */
+        protected volatile CountDownLatch m_latchRelease;
+
+        /**
+        * The latch released when a blocked load starts.
+        */
+        protected final CountDownLatch m_latchStarted = new CountDownLatch(1);
+
+        /**
+        * The number of loads.
+        */
+        protected final AtomicInteger m_cLoads = new AtomicInteger();
+
+        /**
+        * The keys of each loadAll.
+        */
+        protected final List<List<Object>> m_listLoadAll = new CopyOnWriteArrayList<>();
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+    * The read coalescing window.
+    */
+    protected static final long WINDOW_MILLIS = 10000L;
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+    * The map under test.
+    */
+    protected ReadWriteBackingMap m_map;
+    }
@@ -36,6 +36,8 @@ import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 
+import java.util.concurrent.TimeUnit;
+
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.number.IsCloseTo.closeTo;
@@ -336,6 +338,33 @@ public class ReadWriteBackingMapTest
         assertThat((Binary) m_mapInternal.get(m_key3), is(toBinary("Mutated-Value-3")));
         }
 
+    @Test
+    public void shouldAdaptWriteBatchSizeToTargetLatency()
+        {
+        m_readWriteBackingMap = createReadWriteBackingMap(false, 500, 0.5d);
+        m_readWriteBackingMap.setWriteMaxBatchSize(128);
+        m_readWriteBackingMap.setWriteBatchTargetMillis(10L);
+
+        ReadWriteBackingMap.StoreWrapper store = m_readWriteBackingMap.getCacheStore();
+        assertThat(m_readWriteBackingMap.getWriteBatchSize(), is(128));
+
+        // a full batch written within the target grows the batch size
+        m_readWriteBackingMap.onWriteBatch(store, 128, TimeUnit.MILLISECONDS.toNanos(1L));
+        assertThat(m_readWriteBackingMap.getWriteBatchSize(), is(144));
+
+        // a partial batch does not
+        m_readWriteBackingMap.onWriteBatch(store, 10, TimeUnit.MILLISECONDS.toNanos(1L));
+        assertThat(m_readWriteBackingMap.getWriteBatchSize(), is(144));
+
+        // a batch that exceeds the target shrinks it in proportion
+        m_readWriteBackingMap.onWriteBatch(store, 144, TimeUnit.MILLISECONDS.toNanos(40L));
+        assertThat(m_readWriteBackingMap.getWriteBatchSize(), is(36));
+
+        // without a target the maximum batch size is used
+        m_readWriteBackingMap.setWriteBatchTargetMillis(0L);
+        assertThat(m_readWriteBackingMap.getWriteBatchSize(), is(128));
+        }
+
     protected static Binary toBinary(Object o)
         {
         return ExternalizableHelper.toBinary(o, ctxPof);
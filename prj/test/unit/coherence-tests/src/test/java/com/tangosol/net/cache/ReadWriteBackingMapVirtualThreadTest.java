@@ -0,0 +1,425 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.tangosol.net.cache;
+
+import com.tangosol.internal.util.VirtualThreads;
+
+import com.tangosol.util.Binary;
+import com.tangosol.util.ExternalizableHelper;
+import com.tangosol.util.NullImplementation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import java.util.concurrent.locks.LockSupport;
+
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+* Unit tests of a {@link ReadWriteBackingMap} that invokes the CacheStore on
+* virtual threads.
+*/
+public class ReadWriteBackingMapVirtualThreadTest
+    {
+    @Before
+    public void assumeVirtualThreads()
+        {
+        Assume.assumeTrue("virtual threads are not supported", VirtualThreads.isSupported());
+        }
+
+    @After
+    public void releaseBackingMap()
+        {
+        if (m_map != null)
+            {
+            m_map.release();
+            }
+        }
+
+    /**
+    * Test that no more than the configured number of store operations are
+    * in progress at the same time, and that they run on virtual threads.
+    */
+    @Test
+    public void shouldLimitConcurrentOperations()
+            throws InterruptedException
+        {
+        TestCacheStore      store = new TestCacheStore(20L);
+        ReadWriteBackingMap map   = createMap(store, 3);
+
+        List<Thread> listThreads = new ArrayList<>();
+        for (int i = 0; i < 12; i++)
+            {
+            Binary binKey = toBinary(i);
+            Thread thread = new Thread(() -> map.get(binKey));
+            thread.start();
+            listThreads.add(thread);
+            }
+        for (Thread thread : listThreads)
+            {
+            thread.join();
+            }
+
+        assertEquals(12, store.m_cLoads.get());
+        assertTrue(store.m_cMaxConcurrent.get() <= 3);
+        assertFalse(store.m_fPlatformThread.get());
+        }
+
+    /**
+    * Test that the keys of a getAll are loaded concurrently, within the
+    * configured limit, when the store does not implement loadAll.
+    */
+    @Test
+    public void shouldLoadAllConcurrently()
+        {
+        TestCacheStore      store = new TestCacheStore(50L);
+        ReadWriteBackingMap map   = createMap(store, 4);
+
+        List<Binary> listKeys = new ArrayList<>();
+        for (int i = 0; i < 12; i++)
+            {
+            listKeys.add(toBinary(i));
+            }
+
+        Map mapResult = map.getAll(listKeys);
+
+        assertEquals(12, mapResult.size());
+        assertEquals(12, store.m_cLoads.get());
+        assertTrue(store.m_cMaxConcurrent.get() > 1);
+        assertTrue(store.m_cMaxConcurrent.get() <= 4);
+        }
+
+    /**
+    * Test that a failed load is reported to the caller once all the
+    * concurrent loads have completed.
+    */
+    @Test
+    public void shouldPropagateLoadFailure()
+        {
+        TestCacheStore      store = new TestCacheStore(20L);
+        ReadWriteBackingMap map   = createMap(store, 4);
+
+        store.m_binFailKey = toBinary(3);
+
+        List<Binary> listKeys = new ArrayList<>();
+        for (int i = 0; i < 8; i++)
+            {
+            listKeys.add(toBinary(i));
+            }
+
+        try
+            {
+            map.getAll(listKeys);
+            fail("expected an exception");
+            }
+        catch (RuntimeException e)
+            {
+            assertTrue(hasCause(e, TestException.class));
+            }
+        assertEquals(0, store.m_cConcurrent.get());
+        assertEquals(8, store.m_cLoads.get());
+
+        try
+            {
+            map.get(store.m_binFailKey);
+            fail("expected an exception");
+            }
+        catch (RuntimeException e)
+            {
+            assertTrue(hasCause(e, TestException.class));
+            }
+        }
+
+    /**
+    * Test that a failed store is reported to the caller.
+    */
+    @Test
+    public void shouldPropagateStoreFailure()
+        {
+        TestCacheStore      store = new TestCacheStore(0L);
+        ReadWriteBackingMap map   = createMap(store, 4);
+
+        store.m_binFailKey = toBinary(1);
+
+        map.put(toBinary(0), toBinary("a"));
+        assertEquals(1, store.m_cStores.get());
+
+        try
+            {
+            map.put(store.m_binFailKey, toBinary("b"));
+            fail("expected an exception");
+            }
+        catch (RuntimeException e)
+            {
+            assertTrue(hasCause(e, TestException.class));
+            }
+        assertFalse(store.m_fPlatformThread.get());
+        }
+
+    /**
+    * Test that an interrupted caller waits for the store operation to
+    * complete, and that the interrupt is passed on to the operation.
+    */
+    @Test
+    public void shouldWaitForStoreWhenInterrupted()
+            throws InterruptedException
+        {
+        TestCacheStore      store = new TestCacheStore(0L);
+        ReadWriteBackingMap map   = createMap(store, 4);
+
+        store.m_latchRelease = new CountDownLatch(1);
+
+        AtomicBoolean             fInterrupted = new AtomicBoolean();
+        AtomicReference<Throwable> refError    = new AtomicReference<>();
+        Thread                    thread       = new Thread(() ->
+            {
+            try
+                {
+                map.put(toBinary(0), toBinary("a"));
+                }
+            catch (Throwable e)
+                {
+                refError.set(e);
+                }
+            fInterrupted.set(Thread.currentThread().isInterrupted());
+            });
+
+        thread.start();
+        assertTrue(store.m_latchStarted.await(10, TimeUnit.SECONDS));
+
+        thread.interrupt();
+        assertTrue(store.m_latchInterrupted.await(10, TimeUnit.SECONDS));
+
+        // the caller keeps waiting for the store to return
+        thread.join(100L);
+        assertTrue(thread.isAlive());
+
+        store.m_latchRelease.countDown();
+        thread.join();
+
+        assertNull(refError.get());
+        assertTrue(fInterrupted.get());
+        assertEquals(1, store.m_cStores.get());
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+    * Create a write-through ReadWriteBackingMap over the specified store.
+    *
+    * @param store         the CacheStore
+    * @param cConcurrency  the maximum number of concurrent store operations
+    *
+    * @return the ReadWriteBackingMap
+    */
+    protected ReadWriteBackingMap createMap(TestCacheStore store, int cConcurrency)
+        {
+        ReadWriteBackingMap map = m_map = new ReadWriteBackingMap(
+                NullImplementation.getBackingMapManagerContext(), new LocalCache(), null, store,
+                false, 0, 0.0);
+
+        map.setRethrowExceptions(true);
+        map.setVirtualThreadConcurrency(cConcurrency);
+        return map;
+        }
+
+    /**
+    * Determine whether the specified exception was caused by an exception
+    * of the specified class.
+    *
+    * @param e    the exception
+    * @param clz  the class of the cause
+    *
+    * @return true iff the exception or one of its causes is of the class
+    */
+    protected static boolean hasCause(Throwable e, Class<?> clz)
+        {
+        for (; e != null; e = e.getCause())
+            {
+            if (clz.isInstance(e))
+                {
+                return true;
+                }
+            }
+        return false;
+        }
+
+    protected static Binary toBinary(Object o)
+        {
+        return ExternalizableHelper.toBinary(o);
+        }
+
+    // ----- inner class: TestException -------------------------------------
+
+    /**
+    * The exception thrown by the TestCacheStore.
+    */
+    public static class TestException
+            extends RuntimeException
+        {
+        public TestException(String sMessage)
+            {
+            super(sMessage);
+            }
+        }
+
+    // ----- inner class: TestCacheStore ------------------------------------
+
+    /**
+    * A CacheStore that implements only the single-entry operations, and
+    * tracks the number of operations in progress.
+    */
+    public static class TestCacheStore
+            extends AbstractCacheStore
+        {
+        /**
+        * Construct a TestCacheStore.
+        *
+        * @param cLatencyMillis  the latency of a load
+        */
+        public TestCacheStore(long cLatencyMillis)
+            {
+            f_cLatencyNanos = TimeUnit.MILLISECONDS.toNanos(cLatencyMillis);
+            }
+
+        @Override
+        public Object load(Object oKey)
+            {
+            int cConcurrent = m_cConcurrent.incrementAndGet();
+            m_cMaxConcurrent.accumulateAndGet(cConcurrent, Math::max);
+            checkThread();
+            try
+                {
+                if (f_cLatencyNanos > 0L)
+                    {
+                    LockSupport.parkNanos(f_cLatencyNanos);
+                    }
+                if (oKey.equals(m_binFailKey))
+                    {
+                    throw new TestException("load " + oKey);
+                    }
+                return oKey;
+                }
+            finally
+                {
+                m_cLoads.incrementAndGet();
+                m_cConcurrent.decrementAndGet();
+                }
+            }
+
+        @Override
+        public void store(Object oKey, Object oValue)
+            {
+            checkThread();
+            m_latchStarted.countDown();
+
+            CountDownLatch latch = m_latchRelease;
+            while (latch != null)
+                {
+                try
+                    {
+                    latch.await();
+                    break;
+                    }
+                catch (InterruptedException e)
+                    {
+                    m_latchInterrupted.countDown();
+                    }
+                }
+
+            m_cStores.incrementAndGet();
+            if (oKey.equals(m_binFailKey))
+                {
+                throw new TestException("store " + oKey);
+                }
+            }
+
+        /**
+        * Record whether the operation runs on a platform thread.
+        */
+        protected void checkThread()
+            {
+            if (!VirtualThreads.isVirtual(Thread.currentThread()))
+                {
+                m_fPlatformThread.set(true);
+                }
+            }
+
+        // ----- data members -----------------------------------------------
+
+        /**
+        * The latency of a load.
+        */
+        private final long f_cLatencyNanos;
+
+        /**
+        * The key the operations fail for.
+        */
+        protected volatile Binary m_binFailKey;
+
+        /**
+        * The latch a store waits for, if any.
+        */
+        protected volatile CountDownLatch m_latchRelease;
+
+        /**
+        * The latch released when a store starts.
+        */
+        protected final CountDownLatch m_latchStarted = new CountDownLatch(1);
+
+        /**
+        * The latch released when a store is interrupted.
+        */
+        protected final CountDownLatch m_latchInterrupted = new CountDownLatch(1);
+
+        /**
+        * The number of loads in progress.
+        */
+        protected final AtomicInteger m_cConcurrent = new AtomicInteger();
+
+        /**
+        * The maximum number of loads in progress at the same time.
+        */
+        protected final AtomicInteger m_cMaxConcurrent = new AtomicInteger();
+
+        /**
+        * The number of loads.
+        */
+        protected final AtomicInteger m_cLoads = new AtomicInteger();
+
+        /**
+        * The number of stores.
+        */
+        protected final AtomicInteger m_cStores = new AtomicInteger();
+
+        /**
+        * Whether any operation ran on a platform thread.
+        */
+        protected final AtomicBoolean m_fPlatformThread = new AtomicBoolean();
+        }
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+    * The map under test.
+    */
+    protected ReadWriteBackingMap m_map;
+    }
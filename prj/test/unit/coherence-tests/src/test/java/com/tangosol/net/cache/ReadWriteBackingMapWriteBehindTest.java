@@ -0,0 +1,618 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.tangosol.net.cache;
+
+import com.tangosol.net.BackingMapManagerContext;
+import com.tangosol.net.CacheService;
+import com.tangosol.net.ServiceInfo;
+
+import com.tangosol.net.cache.ReadWriteBackingMap.Entry;
+import com.tangosol.net.cache.ReadWriteBackingMap.WriteQueue;
+
+import com.tangosol.util.Base;
+import com.tangosol.util.Binary;
+import com.tangosol.util.ExternalizableHelper;
+import com.tangosol.util.NullImplementation;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+* Unit tests of the write-behind queue, workers and backpressure of the
+* {@link ReadWriteBackingMap}.
+*/
+public class ReadWriteBackingMapWriteBehindTest
+    {
+    @After
+    public void releaseBackingMap()
+        {
+        if (m_map != null)
+            {
+            m_map.release();
+            }
+        }
+
+    // ----- WriteWorker tests ----------------------------------------------
+
+    /**
+    * Test that the updates of a key are written in order when the first
+    * update is still in the backlog of a write-behind worker while the
+    * second one is dispatched.
+    */
+    @Test
+    public void shouldWriteUpdatesInOrderAcrossBatches()
+            throws InterruptedException
+        {
+        TestCacheStore      store = new TestCacheStore();
+        ReadWriteBackingMap map   = createWriteBehindMap(store, 2);
+        WriteQueue          queue = map.getWriteQueue();
+
+        // keys 0, 2 and 4 are written by the first worker; key 1 by the second
+        store.m_binBlockKey = toBinary(0);
+        map.put(toBinary(0), toBinary("block"));
+        assertTrue(store.m_latchBlocked.await(10, TimeUnit.SECONDS));
+
+        // the first update is dispatched to the worker's backlog
+        map.put(toBinary(2), toBinary("v1"));
+        map.put(toBinary(1), toBinary("v1"));
+        awaitCondition(() -> !queue.containsKey(toBinary(2)));
+        assertEquals(toBinary("v1"), getPending(queue, toBinary(2)));
+
+        // as is the second one, behind the first
+        map.put(toBinary(2), toBinary("v2"));
+        map.put(toBinary(4), toBinary("v1"));
+        awaitCondition(() -> !queue.containsKey(toBinary(2)) && !queue.containsKey(toBinary(4)));
+        assertEquals(toBinary("v2"), getPending(queue, toBinary(2)));
+
+        // the other worker is not held up
+        awaitCondition(() -> store.getValues(toBinary(1)).size() == 1);
+
+        store.m_latchRelease.countDown();
+        awaitCondition(queue::isFlushed);
+
+        assertEquals(List.of(toBinary("v1"), toBinary("v2")), store.getValues(toBinary(2)));
+        assertEquals(List.of(toBinary("v1")), store.getValues(toBinary(4)));
+        assertEquals(List.of(toBinary("v1")), store.getValues(toBinary(1)));
+        assertFalse(store.m_fWriteThread);
+        }
+
+    /**
+    * Test that an entry that fails to be stored by a write-behind worker is
+    * requeued, and remains pending when it is dispatched again before the
+    * worker has completed the failed batch.
+    */
+    @Test
+    public void shouldRequeueFailedStoreOnWorker()
+            throws InterruptedException
+        {
+        TestCacheStore      store = new TestCacheStore();
+        ReadWriteBackingMap map   = createWriteBehindMap(store, 2);
+        WriteQueue          queue = map.getWriteQueue();
+
+        CountDownLatch latchClearing = new CountDownLatch(1);
+        CountDownLatch latchClear    = new CountDownLatch(1);
+
+        // hold the worker before it clears the failed batch
+        m_hookClearPending = colEntries ->
+            {
+            if (colEntries.stream().anyMatch(entry -> entry.getBinaryKey().equals(toBinary(3)))
+                    && latchClearing.getCount() > 0)
+                {
+                latchClearing.countDown();
+                try
+                    {
+                    latchClear.await();
+                    }
+                catch (InterruptedException e)
+                    {
+                    throw Base.ensureRuntimeException(e);
+                    }
+                }
+            };
+
+        map.setWriteRequeueThreshold(100);
+        store.m_binFailKey = toBinary(3);
+        map.put(toBinary(3), toBinary("v1"));
+
+        assertTrue(latchClearing.await(10, TimeUnit.SECONDS));
+        assertEquals(1, store.m_cFailures);
+        assertTrue(queue.containsKey(toBinary(3)));
+        assertEquals(toBinary("v1"), getPending(queue, toBinary(3)));
+        assertTrue(queue.getQueuedBytes() > 0L);
+
+        // an update replaces the value of the requeued entry, which is
+        // dispatched to the same worker while it still holds the failed batch
+        store.m_binBlockKey = toBinary(3);
+        store.m_binFailKey  = null;
+        map.put(toBinary(3), toBinary("v2"));
+        queue.flush();
+        awaitCondition(() -> !queue.containsKey(toBinary(3)));
+
+        latchClear.countDown();
+        assertTrue(store.m_latchBlocked.await(10, TimeUnit.SECONDS));
+
+        // the failed batch has been cleared, while the update is being stored
+        assertEquals(toBinary("v2"), getPending(queue, toBinary(3)));
+        assertFalse(queue.isFlushed());
+
+        store.m_latchRelease.countDown();
+        awaitCondition(queue::isFlushed);
+
+        assertEquals(List.of(toBinary("v2")), store.getValues(toBinary(3)));
+        assertEquals(0L, queue.getQueuedBytes());
+        assertFalse(store.m_fWriteThread);
+        }
+
+    // ----- WriteQueue tests -----------------------------------------------
+
+    /**
+    * Test that clearing a written entry leaves a newer pending entry for
+    * the same key in place.
+    */
+    @Test
+    public void shouldKeepNewerPendingEntry()
+        {
+        ReadWriteBackingMap map    = createWriteThroughMap();
+        WriteQueue          queue  = map.instantiateWriteQueue();
+        Binary              binKey = toBinary(1);
+
+        Entry entry1 = map.instantiateEntry(binKey, toBinary("v1"), null, 0L);
+        Entry entry2 = map.instantiateEntry(binKey, toBinary("v2"), null, 0L);
+
+        queue.add(entry1, 0L);
+        queue.flush();
+        assertSame(entry1, queue.removeNoWait());
+
+        queue.add(entry2, 0L);
+        queue.flush();
+        assertSame(entry2, queue.removeNoWait());
+
+        // the first batch is written after the second entry became pending
+        queue.clearPending(List.of(entry1));
+        assertEquals(toBinary("v2"), queue.checkPending(binKey));
+        assertFalse(queue.isFlushed());
+
+        queue.clearPending(List.of(entry2));
+        assertNull(queue.checkPending(binKey));
+        assertTrue(queue.isFlushed());
+        }
+
+    /**
+    * Test that the queue accounts for the size of its entries as they are
+    * added, updated, removed and requeued.
+    */
+    @Test
+    public void shouldAccountForQueuedBytes()
+        {
+        ReadWriteBackingMap map   = createWriteThroughMap();
+        WriteQueue          queue = map.instantiateWriteQueue();
+
+        Entry entry1 = map.instantiateEntry(toBinary(1), toBinary("v1"), null, 0L);
+        Entry entry2 = map.instantiateEntry(toBinary(2), toBinary("value2"), null, 0L);
+
+        queue.add(entry1, 0L);
+        queue.add(entry2, 0L);
+        assertEquals(sizeOf(entry1) + sizeOf(entry2), queue.getQueuedBytes());
+
+        // an update of a queued entry accounts for the new value only
+        queue.add(map.instantiateEntry(toBinary(1), toBinary("value1"), null, 0L), 0L);
+        assertEquals(sizeOf(entry1) + sizeOf(entry2), queue.getQueuedBytes());
+        assertEquals(toBinary("value1"), entry1.getBinaryValue());
+
+        // remove(binKey, ...) is used when the entry is removed from the map
+        assertSame(entry2, queue.remove(toBinary(2), true));
+        assertEquals(sizeOf(entry1), queue.getQueuedBytes());
+        assertNull(queue.remove(toBinary(2), true));
+        assertEquals(sizeOf(entry1), queue.getQueuedBytes());
+
+        queue.flush();
+        assertSame(entry1, queue.removeNoWait());
+        assertEquals(0L, queue.getQueuedBytes());
+
+        // a requeued entry is accounted for again
+        map.getCacheStore().requeue(queue, 100, entry1);
+        assertTrue(queue.containsKey(toBinary(1)));
+        assertEquals(sizeOf(entry1), queue.getQueuedBytes());
+
+        assertEquals(toBinary(1), queue.removeImmediate().getBinaryKey());
+        assertEquals(0L, queue.getQueuedBytes());
+        }
+
+    /**
+    * Test that a writer waits for an over the limit queue to drain, and is
+    * released as soon as it does.
+    */
+    @Test
+    public void shouldAwaitCapacity()
+            throws InterruptedException
+        {
+        ReadWriteBackingMap map   = createWriteThroughMap();
+        WriteQueue          queue = map.instantiateWriteQueue();
+
+        List<Entry> listEntries = new ArrayList<>();
+        for (int i = 0; i < 4; i++)
+            {
+            Entry entry = map.instantiateEntry(toBinary(i), toBinary("value" + i), null, 0L);
+            listEntries.add(entry);
+            queue.add(entry, 60_000L);
+            }
+
+        long cbEntry = sizeOf(listEntries.get(0));
+        map.setWriteQueueLimit(2 * cbEntry);
+
+        // an entry is removable while the queue is over the limit
+        Entry entry = queue.removeNoWait();
+        assertNotNull(entry);
+        assertEquals(3 * cbEntry, queue.getQueuedBytes());
+
+        CountDownLatch latch  = new CountDownLatch(1);
+        Thread         thread = new Thread(() ->
+            {
+            queue.awaitCapacity();
+            latch.countDown();
+            });
+        thread.start();
+
+        assertFalse(latch.await(100L, TimeUnit.MILLISECONDS));
+
+        long ldtStart = Base.getSafeTimeMillis();
+        queue.remove(toBinary(1), true);
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertTrue(Base.getSafeTimeMillis() - ldtStart < ReadWriteBackingMap.MAX_BACKPRESSURE_MILLIS);
+
+        // at the limit a writer does not wait
+        assertEquals(2 * cbEntry, queue.getQueuedBytes());
+        assertNull(queue.removeNoWait());
+        queue.awaitCapacity();
+        thread.join();
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+    * Create a write-through ReadWriteBackingMap, whose write-behind queue
+    * can be instantiated and used without a write-behind thread.
+    *
+    * @return the ReadWriteBackingMap
+    */
+    protected ReadWriteBackingMap createWriteThroughMap()
+        {
+        return m_map = new ReadWriteBackingMap(NullImplementation.getBackingMapManagerContext(),
+                new LocalCache(), null, new TestCacheStore(), false, 0, 0.0);
+        }
+
+    /**
+    * Create a write-behind ReadWriteBackingMap with the specified number of
+    * write-behind threads.
+    *
+    * @param store     the CacheStore
+    * @param cThreads  the number of write-behind threads
+    *
+    * @return the ReadWriteBackingMap
+    */
+    protected ReadWriteBackingMap createWriteBehindMap(TestCacheStore store, int cThreads)
+        {
+        ReadWriteBackingMap map = m_map = new ReadWriteBackingMap(createContext(),
+                new LocalCache(), null, store, false, 1, 0.0)
+            {
+            @Override
+            protected WriteQueue instantiateWriteQueue()
+                {
+                return new WriteQueue()
+                    {
+                    @Override
+                    public void clearPending(Collection<Entry> colEntries)
+                        {
+                        Consumer<Collection<Entry>> hook = m_hookClearPending;
+                        if (hook != null)
+                            {
+                            hook.accept(colEntries);
+                            }
+                        super.clearPending(colEntries);
+                        }
+                    };
+                }
+            };
+
+        map.setWriteBehindMillis(10L);
+        map.setWriteThreadCount(cThreads);
+        return map;
+        }
+
+    /**
+    * Create a BackingMapManagerContext that returns a CacheService, which is
+    * required by the write-behind threads, and that assigns the integer keys
+    * to the partition of the same number.
+    *
+    * @return the BackingMapManagerContext
+    */
+    protected static BackingMapManagerContext createContext()
+        {
+        BackingMapManagerContext ctx     = NullImplementation.getBackingMapManagerContext();
+        ServiceInfo              info    = createProxy(ServiceInfo.class, (method, aoArg) ->
+                method.getName().equals("getServiceName") ? "WriteBehindTest" : null);
+        CacheService             service = createProxy(CacheService.class, (method, aoArg) ->
+                method.getName().equals("getInfo") ? info : null);
+
+        return createProxy(BackingMapManagerContext.class, (method, aoArg) ->
+            {
+            switch (method.getName())
+                {
+                case "getCacheService":
+                    return service;
+                case "getKeyPartition":
+                    return ExternalizableHelper.fromBinary((Binary) aoArg[0]);
+                default:
+                    return method.invoke(ctx, aoArg);
+                }
+            });
+        }
+
+    /**
+    * Create a proxy of the specified interface.
+    *
+    * @param clz      the interface
+    * @param handler  the handler of the method invocations, which returns
+    *                 null for the default value of the return type
+    * @param <T>      the type of the interface
+    *
+    * @return the proxy
+    */
+    @SuppressWarnings("unchecked")
+    protected static <T> T createProxy(Class<T> clz, Handler handler)
+        {
+        return (T) Proxy.newProxyInstance(clz.getClassLoader(), new Class[] {clz}, (proxy, method, aoArg) ->
+            {
+            switch (method.getName())
+                {
+                case "equals":
+                    return proxy == aoArg[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return clz.getSimpleName();
+                }
+
+            Object oResult;
+            try
+                {
+                oResult = handler.invoke(method, aoArg);
+                }
+            catch (InvocationTargetException e)
+                {
+                throw e.getCause();
+                }
+
+            Class<?> clzResult = method.getReturnType();
+            if (oResult == null && clzResult.isPrimitive() && clzResult != void.class)
+                {
+                oResult = clzResult == boolean.class ? Boolean.FALSE
+                        : clzResult == long.class    ? Long.valueOf(0L)
+                        : clzResult == double.class  ? Double.valueOf(0.0)
+                        : clzResult == float.class   ? Float.valueOf(0.0f)
+                        : clzResult == char.class    ? Character.valueOf('\0')
+                        : clzResult == byte.class    ? Byte.valueOf((byte) 0)
+                        : clzResult == short.class   ? Short.valueOf((short) 0)
+                        : (Object) Integer.valueOf(0);
+                }
+            return oResult;
+            });
+        }
+
+    /**
+    * Wait for the specified condition to hold.
+    *
+    * @param condition  the condition
+    */
+    protected static void awaitCondition(BooleanSupplier condition)
+            throws InterruptedException
+        {
+        long ldtTimeout = Base.getSafeTimeMillis() + 10_000L;
+        while (!condition.getAsBoolean())
+            {
+            assertTrue("timed out", Base.getSafeTimeMillis() < ldtTimeout);
+            Thread.sleep(5L);
+            }
+        }
+
+    /**
+    * Return the undecorated value of the specified key held by the queue or
+    * waiting to be written.
+    *
+    * @param queue   the write-behind queue
+    * @param binKey  the key
+    *
+    * @return the undecorated value, or null
+    */
+    protected static Binary getPending(WriteQueue queue, Binary binKey)
+        {
+        Binary binValue = (Binary) queue.checkPending(binKey);
+        return binValue == null ? null : ExternalizableHelper.getUndecorated(binValue);
+        }
+
+    /**
+    * Return the number of bytes the specified entry accounts for in the
+    * write-behind queue.
+    *
+    * @param entry  the entry
+    *
+    * @return the size of the binary key and value of the entry
+    */
+    protected static long sizeOf(Entry entry)
+        {
+        return entry.getBinaryKey().length() + entry.getBinaryValue().length();
+        }
+
+    protected static Binary toBinary(Object o)
+        {
+        return ExternalizableHelper.toBinary(o);
+        }
+
+    // ----- inner interface: Handler ---------------------------------------
+
+    /**
+    * The handler of the method invocations of a proxy.
+    */
+    @FunctionalInterface
+    protected interface Handler
+        {
+        Object invoke(Method method, Object[] aoArg)
+                throws Throwable;
+        }
+
+    // ----- inner class: TestCacheStore ------------------------------------
+
+    /**
+    * A CacheStore that records the values stored for each key.
+    */
+    public static class TestCacheStore
+            extends AbstractCacheStore
+        {
+        @Override
+        public Object load(Object oKey)
+            {
+            return null;
+            }
+
+        @Override
+        public void store(Object oKey, Object oValue)
+            {
+            if (isWriteThread(Thread.currentThread()))
+                {
+                m_fWriteThread = true;
+                }
+
+            if (oKey.equals(m_binBlockKey))
+                {
+                m_latchBlocked.countDown();
+                try
+                    {
+                    m_latchRelease.await();
+                    }
+                catch (InterruptedException e)
+                    {
+                    throw Base.ensureRuntimeException(e);
+                    }
+                }
+
+            if (oKey.equals(m_binFailKey))
+                {
+                m_cFailures++;
+                throw new IllegalStateException("store " + oKey);
+                }
+
+            synchronized (m_listStored)
+                {
+                m_listStored.add(new Object[] {oKey, ExternalizableHelper.getUndecorated((Binary) oValue)});
+                }
+            }
+
+        /**
+        * Return the values stored for the specified key, in order.
+        *
+        * @param binKey  the key
+        *
+        * @return the stored values
+        */
+        public List<Object> getValues(Binary binKey)
+            {
+            List<Object> listValues = new ArrayList<>();
+            synchronized (m_listStored)
+                {
+                for (Object[] ao : m_listStored)
+                    {
+                    if (ao[0].equals(binKey))
+                        {
+                        listValues.add(ao[1]);
+                        }
+                    }
+                }
+            return listValues;
+            }
+
+        /**
+        * Determine whether the specified thread is the write-behind thread,
+        * as opposed to a write-behind worker.
+        *
+        * @param thread  the thread
+        *
+        * @return true iff the thread is the write-behind thread
+        */
+        protected static boolean isWriteThread(Thread thread)
+            {
+            return thread.getName().startsWith("WriteBehindThread");
+            }
+
+        // ----- data members -----------------------------------------------
+
+        /**
+        * The key the stores block for until released.
+        */
+        protected volatile Binary m_binBlockKey;
+
+        /**
+        * The key the stores fail for.
+        */
+        protected volatile Binary m_binFailKey;
+
+        /**
+        * The number of failed stores.
+        */
+        protected volatile int m_cFailures;
+
+        /**
+        * The latch released when a store blocks.
+        */
+        protected final CountDownLatch m_latchBlocked = new CountDownLatch(1);
+
+        /**
+        * The latch the blocked store waits for.
+        */
+        protected final CountDownLatch m_latchRelease = new CountDownLatch(1);
+
+        /**
+        * The stored keys and values, in order.
+        */
+        protected final List<Object[]> m_listStored = new ArrayList<>();
+
+        /**
+        * Whether any entry was stored by the write-behind thread rather than
+        * by a worker.
+        */
+        protected volatile boolean m_fWriteThread;
+        }
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+    * The map under test.
+    */
+    protected ReadWriteBackingMap m_map;
+
+    /**
+    * The hook called by the write-behind queue before it clears written
+    * entries from the pending map.
+    */
+    protected volatile Consumer<Collection<Entry>> m_hookClearPending;
+    }
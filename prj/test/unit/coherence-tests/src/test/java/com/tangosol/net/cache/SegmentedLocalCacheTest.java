@@ -0,0 +1,328 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.tangosol.net.cache;
+
+import com.tangosol.util.Base;
+import com.tangosol.util.MapEvent;
+import com.tangosol.util.MapListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+* SegmentedLocalCache unit tests.
+*/
+public class SegmentedLocalCacheTest
+    {
+    /**
+    * Test the basic map operations.
+    */
+    @Test
+    public void testMapOperations()
+        {
+        SegmentedLocalCache cache = new SegmentedLocalCache();
+
+        assertTrue(cache.isEmpty());
+        assertNull(cache.put("a", 1));
+        assertEquals(1, cache.put("a", 2));
+        assertNull(cache.put("b", null));
+
+        assertEquals(2, cache.size());
+        assertEquals(2, cache.get("a"));
+        assertTrue(cache.containsKey("b"));
+        assertEquals(2, cache.getUnits());
+
+        assertEquals(2, cache.remove("a"));
+        assertNull(cache.get("a"));
+        assertEquals(Collections.singleton("b"), cache.keySet());
+
+        cache.keySet().clear();
+        assertTrue(cache.isEmpty());
+        assertEquals(0, cache.getUnits());
+        }
+
+    /**
+    * Test that the cache is pruned to its high units, and that frequently
+    * used entries survive a scan of entries that are used only once.
+    */
+    @Test
+    public void testHighUnits()
+        {
+        SegmentedLocalCache cache = new SegmentedLocalCache(1000, 0, 4);
+
+        for (int i = 0; i < 1000; i++)
+            {
+            cache.put(i, i);
+            }
+
+        for (int i = 1000; i < 20000; i++)
+            {
+            cache.put(i, i);
+            for (int j = 0; j < 4; j++)
+                {
+                cache.get((i * 4 + j) % 100);
+                }
+            assertTrue(cache.getUnits() <= 1000);
+            }
+
+        int cHot = 0;
+        for (int i = 0; i < 100; i++)
+            {
+            if (cache.containsKey(i))
+                {
+                cHot++;
+                }
+            }
+        assertTrue("only " + cHot + " hot entries were retained", cHot >= 90);
+        assertEquals(cache.size(), cache.getUnits());
+
+        cache.setLowUnits(500);
+        cache.put(-1, -1);
+        assertTrue(cache.getUnits() <= 500);
+        assertTrue(cache.getCacheStatistics().getCachePrunes() > 0);
+        }
+
+    /**
+    * Test that the eviction approver is honored.
+    */
+    @Test
+    public void testEvictionApprover()
+        {
+        SegmentedLocalCache cache = new SegmentedLocalCache(100, 0, 2);
+
+        cache.setEvictionApprover(entry -> ((Integer) entry.getKey()) % 2 == 0);
+
+        for (int i = 0; i < 1000; i++)
+            {
+            cache.put(i, i);
+            }
+
+        for (int i = 1; i < 1000; i += 2)
+            {
+            assertTrue(cache.containsKey(i));
+            }
+        assertEquals(500, cache.size());
+
+        cache.setEvictionApprover(ConfigurableCacheMap.EvictionApprover.DISAPPROVER);
+        cache.put(1000, 1000);
+        assertEquals(501, cache.size());
+        }
+
+    /**
+    * Test that the unit calculator and the unit factor are applied.
+    */
+    @Test
+    public void testUnitCalculator()
+        {
+        SegmentedLocalCache cache = new SegmentedLocalCache(100, 0, 2);
+
+        cache.setUnitFactor(10);
+        cache.setUnitCalculator(new ConfigurableCacheMap.UnitCalculator()
+            {
+            public int calculateUnits(Object oKey, Object oValue)
+                {
+                return ((String) oValue).length();
+                }
+
+            public String getName()
+                {
+                return "length";
+                }
+            });
+
+        cache.put("a", "0123456789");
+        cache.put("b", "01234567890123456789");
+        assertEquals(3, cache.getUnits());
+        assertEquals(20, cache.getCacheEntry("b").getUnits());
+
+        cache.getCacheEntry("a").setUnits(5);
+        assertEquals(3, cache.getUnits());
+
+        for (int i = 0; i < 100; i++)
+            {
+            cache.put(i, "0123456789");
+            }
+        assertTrue(cache.getUnits() <= 100);
+
+        cache.setUnitCalculator(null);
+        assertEquals(cache.size(), cache.getUnits() * 10, 9);
+        }
+
+    /**
+    * Test that a custom eviction policy is rejected.
+    */
+    @Test
+    public void testEvictionPolicy()
+        {
+        SegmentedLocalCache cache = new SegmentedLocalCache(100, 0);
+
+        cache.setEvictionPolicy(null);
+        assertNull(cache.getEvictionPolicy());
+
+        try
+            {
+            cache.setEvictionPolicy(LocalCache.INSTANCE_LRU);
+            fail("expected IllegalArgumentException");
+            }
+        catch (IllegalArgumentException e)
+            {
+            // the policy is fixed
+            }
+        assertNull(cache.getEvictionPolicy());
+        }
+
+    /**
+    * Test the expiry of the entries.
+    */
+    @Test
+    public void testExpiry()
+        {
+        SegmentedLocalCache cache = new SegmentedLocalCache(100, 0);
+
+        long ldtNow = Base.getSafeTimeMillis();
+        cache.put("a", 1, 1L);
+        cache.put("b", 2);
+        cache.put("c", 3, 100000L);
+
+        long ldtNext = cache.getNextExpiryTime();
+        assertTrue(ldtNext >= ldtNow + 1L && ldtNext <= Base.getSafeTimeMillis() + 1L);
+
+        Base.sleep(10L);
+
+        assertNull(cache.get("a"));
+        assertEquals(2, cache.size());
+        assertEquals(0L, cache.getCacheEntry("b").getExpiryMillis());
+
+        cache.getCacheEntry("b").setExpiryMillis(1L);
+        cache.evict();
+        assertEquals(Collections.singleton("c"), cache.keySet());
+        assertTrue(cache.getNextExpiryTime() > ldtNow + 1000L);
+        }
+
+    /**
+    * Test the events raised by the cache.
+    */
+    @Test
+    public void testEvents()
+        {
+        SegmentedLocalCache cache     = new SegmentedLocalCache(10, 0, 1);
+        List<MapEvent>      listEvent = Collections.synchronizedList(new ArrayList<>());
+
+        cache.addMapListener(new MapListener()
+            {
+            public void entryInserted(MapEvent evt)
+                {
+                listEvent.add(evt);
+                }
+
+            public void entryUpdated(MapEvent evt)
+                {
+                listEvent.add(evt);
+                }
+
+            public void entryDeleted(MapEvent evt)
+                {
+                listEvent.add(evt);
+                }
+            });
+
+        cache.put("a", 1);
+        cache.put("a", 2);
+        cache.remove("a");
+        cache.put("b", 1, 1L);
+        Base.sleep(10L);
+        cache.evict();
+
+        assertEquals(5, listEvent.size());
+        assertEquals(MapEvent.ENTRY_INSERTED, listEvent.get(0).getId());
+        assertEquals(MapEvent.ENTRY_UPDATED, listEvent.get(1).getId());
+        assertEquals(2, listEvent.get(1).getNewValue());
+
+        CacheEvent evtRemove = (CacheEvent) listEvent.get(2);
+        assertEquals(MapEvent.ENTRY_DELETED, evtRemove.getId());
+        assertFalse(evtRemove.isSynthetic());
+
+        CacheEvent evtExpire = (CacheEvent) listEvent.get(4);
+        assertTrue(evtExpire.isSynthetic());
+        assertTrue(evtExpire.isExpired());
+
+        listEvent.clear();
+        for (int i = 0; i < 20; i++)
+            {
+            cache.put(i, i);
+            }
+        long cEvicted = listEvent.stream()
+                .filter(evt -> evt.getId() == MapEvent.ENTRY_DELETED && ((CacheEvent) evt).isSynthetic())
+                .count();
+        assertEquals(20 - cache.size(), cEvicted);
+        }
+
+    /**
+    * Test the cache under concurrent reads, writes and removals.
+    */
+    @Test
+    public void testConcurrentAccess()
+            throws Exception
+        {
+        SegmentedLocalCache cache    = new SegmentedLocalCache(5000);
+        ExecutorService     executor = Executors.newFixedThreadPool(8);
+        try
+            {
+            List<Future<?>> listFuture = new ArrayList<>();
+            for (int t = 0; t < 8; t++)
+                {
+                int nSeed = t;
+                listFuture.add(executor.submit(() ->
+                    {
+                    Random random = new Random(nSeed);
+                    for (int i = 0; i < 100000; i++)
+                        {
+                        Integer nKey = random.nextInt(20000);
+                        switch (random.nextInt(10))
+                            {
+                            case 0:
+                                cache.remove(nKey);
+                                break;
+                            case 1:
+                            case 2:
+                                cache.put(nKey, nKey);
+                                break;
+                            default:
+                                Object oValue = cache.get(nKey);
+                                assertTrue(oValue == null || oValue.equals(nKey));
+                            }
+                        }
+                    }));
+                }
+            for (Future<?> future : listFuture)
+                {
+                future.get(60, TimeUnit.SECONDS);
+                }
+            }
+        finally
+            {
+            executor.shutdownNow();
+            }
+
+        cache.put(-1, -1);
+        assertTrue(cache.getUnits() <= 5000);
+        assertEquals(cache.size(), cache.getUnits());
+        assertEquals(cache.size(), cache.keySet().size());
+        }
+    }
@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+package com.tangosol.util;
+
+import com.tangosol.util.extractor.BitmapExtractor;
+import com.tangosol.util.extractor.ReflectionExtractor;
+
+import com.tangosol.util.filter.AllFilter;
+import com.tangosol.util.filter.AnyFilter;
+import com.tangosol.util.filter.BetweenFilter;
+import com.tangosol.util.filter.EqualsFilter;
+import com.tangosol.util.filter.GreaterEqualsFilter;
+import com.tangosol.util.filter.GreaterFilter;
+import com.tangosol.util.filter.InFilter;
+import com.tangosol.util.filter.IndexAwareFilter;
+import com.tangosol.util.filter.IsNullFilter;
+import com.tangosol.util.filter.LessFilter;
+import com.tangosol.util.filter.NotFilter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+* BitmapMapIndex unit tests.
+*/
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class BitmapMapIndexTest
+    {
+    /**
+    * Test that the bitmap indexes of a partition share the key ordinals,
+    * and that the ordinals are released along with the keys.
+    */
+    @Test
+    public void testSharedOrdinals()
+        {
+        Map<ValueExtractor, MapIndex> mapIndex = new HashMap<>();
+
+        BitmapMapIndex index0 = (BitmapMapIndex) new BitmapExtractor(ELEMENT[0]).createIndex(false, null, mapIndex, null);
+        BitmapMapIndex index1 = (BitmapMapIndex) new BitmapExtractor(ELEMENT[1]).createIndex(true, null, mapIndex, null);
+        KeyOrdinals    ordinals = index0.getKeyOrdinals();
+
+        assertSame(ordinals, index1.getKeyOrdinals());
+        assertNull(new BitmapExtractor(ELEMENT[0]).createIndex(false, null, mapIndex, null));
+
+        for (int i = 0; i < 100; i++)
+            {
+            insert(mapIndex, i, list(i % 3, i));
+            }
+        assertEquals(100, ordinals.size());
+        assertEquals(34, ((Set) index0.getIndexContents().get(0)).size());
+        assertTrue(((Set) index0.getIndexContents().get(0)).contains(99));
+        assertFalse(((Set) index0.getIndexContents().get(0)).contains(98));
+
+        // the ordinal of a key is held until both indexes drop it
+        for (int i = 50; i < 100; i++)
+            {
+            index0.delete(new SimpleMapEntry(i, list(i % 3, i)));
+            }
+        assertEquals(100, ordinals.size());
+
+        for (int i = 50; i < 100; i++)
+            {
+            index1.delete(new SimpleMapEntry(i, list(i % 3, i)));
+            }
+        assertEquals(50, ordinals.size());
+        assertEquals(-1, ordinals.getOrdinal(75));
+
+        // the released ordinals are reused
+        insert(mapIndex, 1000, list(1, 1000));
+        assertTrue(ordinals.getOrdinal(1000) < 100);
+
+        // the ordinals are released by the destroyed indexes
+        new BitmapExtractor(ELEMENT[0]).destroyIndex(mapIndex);
+        assertEquals(51, ordinals.size());
+        new BitmapExtractor(ELEMENT[1]).destroyIndex(mapIndex);
+        assertEquals(0, ordinals.size());
+        }
+
+    /**
+    * Test that the filters evaluated using the bitmap indexes return the
+    * same keys as the filters evaluated against the entries.
+    */
+    @Test
+    public void testFilters()
+        {
+        Map<ValueExtractor, MapIndex> mapBitmap = new HashMap<>();
+        Map<ValueExtractor, MapIndex> mapSimple = new HashMap<>();
+        Map<Integer, List>            mapData   = new HashMap<>();
+
+        new BitmapExtractor(ELEMENT[0]).createIndex(false, null, mapBitmap, null);
+        new BitmapExtractor(ELEMENT[1]).createIndex(true, null, mapBitmap, null);
+        new BitmapExtractor(ELEMENT[2]).createIndex(false, null, mapBitmap, null);
+        mapSimple.put(ELEMENT[0], new SimpleMapIndex(ELEMENT[0], false, null, null));
+        mapSimple.put(ELEMENT[1], new SimpleMapIndex(ELEMENT[1], true, null, null));
+        mapSimple.put(ELEMENT[2], new SimpleMapIndex(ELEMENT[2], false, null, null));
+
+        Random rnd = new Random(5);
+        for (int i = 0; i < 2000; i++)
+            {
+            List listValue = list(rnd.nextInt(10), rnd.nextInt(1000),
+                    rnd.nextInt(20) == 0 ? null : rnd.nextInt(50), rnd.nextInt(4));
+
+            mapData.put(i, listValue);
+            insert(mapBitmap, i, listValue);
+            insert(mapSimple, i, listValue);
+            }
+
+        // churn the keys, so that the ordinals are reused
+        for (int i = 0; i < 2000; i += 3)
+            {
+            List listValue = mapData.remove(i);
+            delete(mapBitmap, i, listValue);
+            delete(mapSimple, i, listValue);
+            }
+        for (int i = 2000; i < 2500; i++)
+            {
+            List listValue = list(rnd.nextInt(10), rnd.nextInt(1000), rnd.nextInt(50), rnd.nextInt(4));
+
+            mapData.put(i, listValue);
+            insert(mapBitmap, i, listValue);
+            insert(mapSimple, i, listValue);
+            }
+
+        Filter[] aFilter =
+            {
+            and(new EqualsFilter(ELEMENT[0], 3), new GreaterEqualsFilter(ELEMENT[1], 500)),
+            and(new InFilter(ELEMENT[0], Set.of(1, 2, 3)), new BetweenFilter(ELEMENT[1], 100, 300),
+                new NotFilter(new EqualsFilter(ELEMENT[2], 7))),
+            and(new LessFilter(ELEMENT[2], 25), new EqualsFilter(ELEMENT[3], 1)),
+            and(new IsNullFilter(ELEMENT[2]), new GreaterFilter(ELEMENT[1], 10)),
+            and(new EqualsFilter(ELEMENT[0], 3),
+                new AnyFilter(new Filter[] {new EqualsFilter(ELEMENT[2], 1), new LessFilter(ELEMENT[1], 50)})),
+            new AnyFilter(new Filter[] {new EqualsFilter(ELEMENT[0], 3), new GreaterFilter(ELEMENT[2], 45)}),
+            new AnyFilter(new Filter[] {new EqualsFilter(ELEMENT[0], 3), new EqualsFilter(ELEMENT[3], 2)}),
+            and(new NotFilter(new EqualsFilter(ELEMENT[0], 3)), new NotFilter(new EqualsFilter(ELEMENT[3], 2))),
+            and(new EqualsFilter(ELEMENT[0], 42), new GreaterFilter(ELEMENT[1], 10)),
+            };
+
+        for (Filter filter : aFilter)
+            {
+            Set setExpected = new HashSet();
+            for (Map.Entry<Integer, List> entry : mapData.entrySet())
+                {
+                if (InvocableMapHelper.evaluateEntry(filter, new SimpleMapEntry(entry.getKey(), entry.getValue())))
+                    {
+                    setExpected.add(entry.getKey());
+                    }
+                }
+
+            assertEquals(filter.toString(), setExpected, query(filter, mapBitmap, mapData));
+            assertEquals(filter.toString(), setExpected, query(filter, mapSimple, mapData));
+            }
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+    * Return the keys that match the specified filter, applying the indexes
+    * first and evaluating the remaining filter against the entries.
+    *
+    * @param filter    the filter
+    * @param mapIndex  the indexes
+    * @param mapData   the entries
+    *
+    * @return the keys that match the filter
+    */
+    private static Set query(Filter filter, Map mapIndex, Map<Integer, List> mapData)
+        {
+        Set    setKeys      = new HashSet(mapData.keySet());
+        Filter filterRemain = ((IndexAwareFilter) filter).applyIndex(mapIndex, setKeys);
+
+        if (filterRemain != null)
+            {
+            setKeys.removeIf(oKey -> !InvocableMapHelper.evaluateEntry(filterRemain,
+                    new SimpleMapEntry(oKey, mapData.get(oKey))));
+            }
+        return setKeys;
+        }
+
+    /**
+    * Return a list of the specified values.
+    *
+    * @param ao  the values
+    *
+    * @return a list of the values
+    */
+    private static List list(Object... ao)
+        {
+        // the elements are extracted by reflection, which requires a public
+        // List implementation
+        return new ArrayList(Arrays.asList(ao));
+        }
+
+    /**
+    * Return an AllFilter of the specified filters.
+    *
+    * @param aFilter  the filters
+    *
+    * @return the AllFilter
+    */
+    private static Filter and(Filter... aFilter)
+        {
+        return new AllFilter(aFilter);
+        }
+
+    /**
+    * Insert the specified entry into all indexes.
+    *
+    * @param mapIndex  the indexes
+    * @param nKey      the key
+    * @param listValue the value
+    */
+    private static void insert(Map<ValueExtractor, MapIndex> mapIndex, int nKey, List listValue)
+        {
+        for (MapIndex index : mapIndex.values())
+            {
+            index.insert(new SimpleMapEntry(nKey, listValue));
+            }
+        }
+
+    /**
+    * Delete the specified entry from all indexes.
+    *
+    * @param mapIndex  the indexes
+    * @param nKey      the key
+    * @param listValue the value
+    */
+    private static void delete(Map<ValueExtractor, MapIndex> mapIndex, int nKey, List listValue)
+        {
+        for (MapIndex index : mapIndex.values())
+            {
+            index.delete(new SimpleMapEntry(nKey, listValue));
+            }
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+    * The extractors of the elements of the values.
+    */
+    private static final ValueExtractor[] ELEMENT =
+        {
+        new ReflectionExtractor("get", new Object[] {0}),
+        new ReflectionExtractor("get", new Object[] {1}),
+        new ReflectionExtractor("get", new Object[] {2}),
+        new ReflectionExtractor("get", new Object[] {3}),
+        };
+    }
@@ -0,0 +1,327 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+package com.tangosol.util;
+
+import com.tangosol.util.comparator.SafeComparator;
+
+import com.tangosol.util.extractor.ColumnarExtractor;
+import com.tangosol.util.extractor.IdentityExtractor;
+
+import com.tangosol.util.filter.BetweenFilter;
+import com.tangosol.util.filter.EqualsFilter;
+import com.tangosol.util.filter.GreaterEqualsFilter;
+import com.tangosol.util.filter.IndexAwareFilter;
+import com.tangosol.util.filter.IsNotNullFilter;
+import com.tangosol.util.filter.IsNullFilter;
+import com.tangosol.util.filter.LessFilter;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+* ColumnarMapIndex unit tests.
+*/
+public class ColumnarMapIndexTest
+    {
+    /**
+    * Test getIndexContents.
+    */
+    @Test
+    public void testGetIndexContents()
+        {
+        ColumnarMapIndex index = createIndex(ColumnarMapIndex.Type.INT);
+
+        index.insert(new SimpleMapEntry("one",     1));
+        index.insert(new SimpleMapEntry("one_a",   1));
+        index.insert(new SimpleMapEntry("three",   3));
+        index.insert(new SimpleMapEntry("minus",  -2));
+        index.insert(new SimpleMapEntry("five",    5));
+        index.insert(new SimpleMapEntry("five_a",  5));
+
+        NavigableMap mapContents = (NavigableMap) index.getIndexContents();
+
+        assertEquals(4, mapContents.size());
+        assertEquals(-2, mapContents.firstKey());
+        assertEquals(5, mapContents.lastKey());
+        assertEquals(Set.of("one", "one_a"), new HashSet<>((Set) mapContents.get(1)));
+        assertNull(mapContents.get(2));
+        assertNull(mapContents.get(1L));
+
+        assertEquals(1, mapContents.floorKey(2));
+        assertEquals(3, mapContents.ceilingKey(2));
+        assertEquals(1, mapContents.lowerKey(3));
+        assertEquals(5, mapContents.higherKey(3));
+        assertNull(mapContents.higherKey(5));
+        assertNull(mapContents.lowerKey(-2));
+
+        NavigableMap mapSub = mapContents.subMap(1, false, 5, true);
+        assertEquals(2, mapSub.size());
+        assertEquals(3, mapSub.firstKey());
+        assertEquals(Set.of("three", "five", "five_a"),
+                     new HashSet<>(new ChainedCollection<>(((Map<?, Set>) mapSub).values().toArray(Set[]::new))));
+
+        assertEquals(Set.of(-2, 1), mapContents.headMap(3).keySet());
+        assertEquals(Set.of(3, 5), mapContents.tailMap(3).keySet());
+        assertTrue(mapContents.headMap(-2, false).isEmpty());
+        assertEquals(mapContents, new TreeMap<>(mapContents));
+        }
+
+    /**
+    * Test insert, update and delete.
+    */
+    @Test
+    public void testUpdate()
+        {
+        ColumnarMapIndex index = createIndex(ColumnarMapIndex.Type.LONG);
+
+        index.insert(new SimpleMapEntry("a", 10L));
+        index.insert(new SimpleMapEntry("b", 20L));
+        assertEquals(Set.of(10L, 20L), index.getIndexContents().keySet());
+
+        index.update(new SimpleMapEntry("a", 30L));
+        assertEquals(30L, index.get("a"));
+        assertEquals(Set.of(20L, 30L), index.getIndexContents().keySet());
+
+        index.delete(new SimpleMapEntry("b", 20L));
+        assertEquals(MapIndex.NO_VALUE, index.get("b"));
+        assertEquals(Set.of(30L), index.getIndexContents().keySet());
+        assertEquals(1, index.size());
+        }
+
+    /**
+    * Test that the entries with invalid values are excluded.
+    */
+    @Test
+    public void testExcluded()
+        {
+        ColumnarMapIndex index = createIndex(ColumnarMapIndex.Type.INT);
+
+        index.insert(new SimpleMapEntry("a", 1));
+        assertFalse(index.isPartial());
+
+        index.update(new SimpleMapEntry("a", "not a number"));
+        assertTrue(index.isPartial());
+        assertEquals(MapIndex.NO_VALUE, index.get("a"));
+        assertTrue(index.getIndexContents().isEmpty());
+
+        index.insert(new SimpleMapEntry("b", 2));
+        index.delete(new SimpleMapEntry("a", null));
+        assertFalse(index.isPartial());
+        assertEquals(Set.of(2), index.getIndexContents().keySet());
+        }
+
+    /**
+    * Test that the entries with null values are indexed.
+    */
+    @Test
+    public void testNullValues()
+        {
+        ColumnarMapIndex index = createIndex(ColumnarMapIndex.Type.INT);
+
+        Map<String, Integer> map = new HashMap<>();
+        map.put("a", 1);
+        map.put("b", null);
+        map.put("c", null);
+        map.forEach((sKey, nValue) -> index.insert(new SimpleMapEntry(sKey, nValue)));
+
+        assertFalse(index.isPartial());
+        assertNull(index.get("b"));
+        assertEquals(MapIndex.NO_VALUE, index.get("d"));
+        assertEquals(Set.of(1), index.getIndexContents().keySet());
+        assertEquals(Set.of("b", "c"), index.getIndexContents().get(null));
+
+        Map<ValueExtractor, MapIndex> mapIndex = Map.of(IdentityExtractor.INSTANCE, index);
+        for (Filter filter : new Filter[] {new EqualsFilter(IdentityExtractor.INSTANCE, null),
+                                           new IsNullFilter(IdentityExtractor.INSTANCE),
+                                           new IsNotNullFilter(IdentityExtractor.INSTANCE)})
+            {
+            Set setKeys = new HashSet<>(map.keySet());
+            assertNull(((IndexAwareFilter) filter).applyIndex(mapIndex, setKeys));
+            assertEquals(filter.toString(), evaluate(filter, map), setKeys);
+            }
+
+        index.update(new SimpleMapEntry("b", 2));
+        index.delete(new SimpleMapEntry("c", null));
+        assertNull(index.getIndexContents().get(null));
+        assertEquals(Set.of(1, 2), index.getIndexContents().keySet());
+        }
+
+    /**
+    * Test the ordering of double values.
+    */
+    @Test
+    public void testDoubleOrdering()
+        {
+        ColumnarMapIndex index   = createIndex(ColumnarMapIndex.Type.DOUBLE);
+        double[]         adValue = {Double.NEGATIVE_INFINITY, -1.5, -0.0, 0.0, Double.MIN_VALUE, 2.25, Double.POSITIVE_INFINITY};
+
+        for (int i = adValue.length - 1; i >= 0; i--)
+            {
+            index.insert(new SimpleMapEntry(i, adValue[i]));
+            }
+
+        Object[] aoKey = index.getIndexContents().keySet().toArray();
+        for (int i = 0; i < adValue.length; i++)
+            {
+            assertEquals(adValue[i], aoKey[i]);
+            }
+
+        assertEquals(3, index.count(-1.5, false, Double.MIN_VALUE, true));
+        assertEquals(2, index.count(0.0, true, 2.25, false));
+        }
+
+    /**
+    * Test the index contents, count and retain against a TreeMap based
+    * reference, while the index is being modified.
+    */
+    @Test
+    public void testRandomized()
+        {
+        ColumnarMapIndex      index = createIndex(ColumnarMapIndex.Type.INT);
+        Map<Integer, Integer> map   = new HashMap<>();
+        Random                rnd   = new Random(42);
+
+        for (int nRound = 0; nRound < 50; nRound++)
+            {
+            // a few changes between the rounds cause the snapshot to be merged
+            for (int i = 0, c = nRound == 0 ? 2000 : 50; i < c; i++)
+                {
+                int nKey = rnd.nextInt(1000);
+                if (rnd.nextInt(5) == 0)
+                    {
+                    map.remove(nKey);
+                    index.delete(new SimpleMapEntry(nKey, null));
+                    }
+                else
+                    {
+                    int nValue = rnd.nextInt(100) - 50;
+                    map.put(nKey, nValue);
+                    index.update(new SimpleMapEntry(nKey, nValue));
+                    }
+                }
+
+            TreeMap<Integer, Set<Integer>> mapInverse = new TreeMap<>();
+            map.forEach((k, v) -> mapInverse.computeIfAbsent(v, x -> new HashSet<>()).add(k));
+
+            int nLow  = rnd.nextInt(100) - 50;
+            int nHigh = nLow + rnd.nextInt(50);
+
+            // alternate between scanning the column and using the sorted snapshot
+            if (nRound % 2 == 0)
+                {
+                assertEquals(mapInverse, new TreeMap<>(index.getIndexContents()));
+                }
+
+            Set<Integer> setExpected = new HashSet<>();
+            mapInverse.subMap(nLow, false, nHigh, true).values().forEach(setExpected::addAll);
+            assertEquals(setExpected.size(), index.count(nLow, false, nHigh, true));
+
+            Set<Integer> setKeys = new HashSet<>();
+            for (int i = 0; i < 1000; i++)
+                {
+                setKeys.add(i);
+                }
+            index.retain(setKeys, nLow, false, nHigh, true);
+            assertEquals(setExpected, setKeys);
+            }
+        }
+
+    /**
+    * Test that range filters use the index.
+    */
+    @Test
+    public void testFilters()
+        {
+        ColumnarExtractor<Integer, Integer> extractor = ColumnarExtractor.ofInt(new IdentityExtractor<>());
+
+        Map<ValueExtractor, MapIndex> mapIndex = new HashMap<>();
+        ColumnarMapIndex              index    = (ColumnarMapIndex) extractor.createIndex(true, null, (Map) mapIndex, null);
+
+        assertSame(index, mapIndex.get(IdentityExtractor.INSTANCE));
+        assertNull(extractor.createIndex(true, null, (Map) mapIndex, null));
+
+        Set<Integer> setKeys = new HashSet<>();
+        for (int i = 0; i < 100; i++)
+            {
+            index.insert(new SimpleMapEntry(i, i % 10));
+            setKeys.add(i);
+            }
+
+        GreaterEqualsFilter<Integer, Integer> filterGE = new GreaterEqualsFilter<>(IdentityExtractor.INSTANCE(), 8);
+        LessFilter<Integer, Integer>          filterLT = new LessFilter<>(IdentityExtractor.INSTANCE(), 2);
+        BetweenFilter<Integer, Integer>       filterBT = new BetweenFilter<>(IdentityExtractor.INSTANCE(), 3, 5);
+
+        assertEquals(20, filterGE.calculateEffectiveness(mapIndex, setKeys));
+        assertEquals(20, filterLT.calculateEffectiveness(mapIndex, setKeys));
+        assertEquals(30, filterBT.calculateEffectiveness(mapIndex, setKeys));
+
+        Set<Integer> setResult = new HashSet<>(setKeys);
+        assertNull(filterBT.applyIndex(mapIndex, setResult));
+        assertEquals(30, setResult.size());
+        setResult.forEach(n -> assertTrue(n % 10 >= 3 && n % 10 <= 5));
+
+        setResult = new HashSet<>(setKeys);
+        assertNull(filterGE.applyIndex(mapIndex, setResult));
+        assertEquals(20, setResult.size());
+        setResult.forEach(n -> assertTrue(n % 10 >= 8));
+        }
+
+    /**
+    * Test that a custom comparator is rejected.
+    */
+    @Test(expected = IllegalArgumentException.class)
+    public void testComparatorRejected()
+        {
+        ColumnarExtractor.ofLong(new IdentityExtractor<Long>())
+                .createIndex(true, SafeComparator.INSTANCE, new HashMap<>(), null);
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+    * Return the keys of the entries of the specified map whose values
+    * match the specified filter.
+    *
+    * @param filter  the filter
+    * @param map     the entries
+    *
+    * @return the keys of the matching entries
+    */
+    private static Set<String> evaluate(Filter filter, Map<String, ?> map)
+        {
+        Set<String> setKeys = new HashSet<>();
+        map.forEach((sKey, oValue) ->
+            {
+            if (filter.evaluate(oValue))
+                {
+                setKeys.add(sKey);
+                }
+            });
+        return setKeys;
+        }
+
+    /**
+    * Create a ColumnarMapIndex of the specified type for an IdentityExtractor.
+    *
+    * @param type  the type of the index
+    *
+    * @return a new ColumnarMapIndex
+    */
+    private static ColumnarMapIndex createIndex(ColumnarMapIndex.Type type)
+        {
+        return new ColumnarMapIndex(IdentityExtractor.INSTANCE, type, null);
+        }
+    }
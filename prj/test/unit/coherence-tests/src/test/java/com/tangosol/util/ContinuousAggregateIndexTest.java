@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+package com.tangosol.util;
+
+import com.tangosol.util.aggregator.ContinuousAggregator;
+
+import com.tangosol.util.extractor.ContinuousAggregateExtractor;
+import com.tangosol.util.extractor.ReflectionExtractor;
+
+import com.tangosol.util.filter.GreaterFilter;
+
+import java.io.Serializable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+* ContinuousAggregateIndex and ContinuousAggregator unit tests.
+*/
+public class ContinuousAggregateIndexTest
+    {
+    /**
+    * Test that the summaries maintained by the indexes of several partitions
+    * match the aggregation of the entries.
+    */
+    @Test
+    public void testIncrementalMaintenance()
+        {
+        ContinuousAggregateExtractor<Trade, String> extractor = createExtractor();
+
+        Map<Integer, Trade>        map    = new HashMap<>();
+        ContinuousAggregateIndex[] aIndex = new ContinuousAggregateIndex[3];
+        for (int i = 0; i < aIndex.length; i++)
+            {
+            aIndex[i] = new ContinuousAggregateIndex(extractor, null);
+            }
+
+        Random rnd = new Random(17);
+        for (int i = 0; i < 5000; i++)
+            {
+            Integer                  nKey  = rnd.nextInt(300);
+            ContinuousAggregateIndex index = aIndex[nKey % aIndex.length];
+            Trade                    trade = map.get(nKey);
+
+            if (trade != null && rnd.nextInt(4) == 0)
+                {
+                map.remove(nKey);
+                index.delete(new SimpleMapEntry<>(nKey, null, trade));
+                }
+            else
+                {
+                Trade tradeNew = new Trade("S" + rnd.nextInt(4), rnd.nextInt(10) == 0 ? null : rnd.nextInt(50));
+
+                map.put(nKey, tradeNew);
+                if (trade == null)
+                    {
+                    index.insert(new SimpleMapEntry<>(nKey, tradeNew));
+                    }
+                else
+                    {
+                    index.update(new SimpleMapEntry<>(nKey, tradeNew, trade));
+                    }
+                }
+            }
+
+        Map<String, ContinuousAggregator.Summary> mapExpected = aggregateEntries(extractor, map);
+        Map<String, ContinuousAggregator.Summary> mapActual   = aggregateIndexes(extractor, aIndex);
+
+        assertFalse(mapExpected.isEmpty());
+        assertEquals(mapExpected, mapActual);
+
+        for (ContinuousAggregator.Summary summary : mapActual.values())
+            {
+            assertEquals(summary.getSum() / summary.getValueCount(), summary.getAverage(), 0.0d);
+            }
+        }
+
+    /**
+    * Test that the summary of a group is discarded once all its entries are
+    * removed or no longer match the filter.
+    */
+    @Test
+    public void testEmptyGroups()
+        {
+        ContinuousAggregateIndex index = new ContinuousAggregateIndex(createExtractor(), null);
+
+        Trade trade1 = new Trade("ORCL", 20);
+        Trade trade2 = new Trade("ORCL", 30);
+        Trade trade3 = new Trade("ORCL", 5);
+
+        index.insert(new SimpleMapEntry<>(1, trade1));
+        index.insert(new SimpleMapEntry<>(2, trade2));
+
+        ContinuousAggregator.Summary summary = index.getSummaries().get("ORCL");
+        assertEquals(2L, summary.getCount());
+        assertEquals(50.0d, summary.getSum(), 0.0d);
+        assertEquals(25.0d, summary.getAverage(), 0.0d);
+
+        index.delete(new SimpleMapEntry<>(1, null, trade1));
+        index.update(new SimpleMapEntry<>(2, trade3, trade2));
+
+        assertTrue(index.getSummaries().isEmpty());
+        assertTrue(index.getIndexContents().isEmpty());
+        }
+
+    /**
+    * Test the registration of the index in an index map.
+    */
+    @Test
+    public void testCreateIndex()
+        {
+        ContinuousAggregateExtractor<Trade, String> extractor = createExtractor();
+        Map<ValueExtractor, MapIndex>               mapIndex  = new HashMap<>();
+
+        MapIndex index = extractor.createIndex(false, null, (Map) mapIndex, null);
+
+        assertTrue(index instanceof ContinuousAggregateIndex);
+        assertSame(index, mapIndex.get(createExtractor()));
+        assertSame(extractor, index.getValueExtractor());
+        assertNull(extractor.createIndex(false, null, (Map) mapIndex, null));
+
+        ContinuousAggregator<Integer, Trade, String> aggregator = new ContinuousAggregator<>(extractor);
+        assertEquals(aggregator, ExternalizableHelper.fromBinary(ExternalizableHelper.toBinary(aggregator)));
+
+        assertSame(index, extractor.destroyIndex((Map) mapIndex));
+        assertTrue(mapIndex.isEmpty());
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+    * Create the extractor of the aggregate of the prices of the trades with
+    * a price greater than 10, grouped by symbol.
+    */
+    private static ContinuousAggregateExtractor<Trade, String> createExtractor()
+        {
+        return new ContinuousAggregateExtractor<>(new ReflectionExtractor<>("getSymbol"),
+                new ReflectionExtractor<>("getPrice"), new GreaterFilter<>("getPrice", 10));
+        }
+
+    /**
+    * Aggregate the summaries held by the specified indexes, one partial
+    * aggregation per index.
+    */
+    private static Map<String, ContinuousAggregator.Summary> aggregateIndexes(
+            ContinuousAggregateExtractor<Trade, String> extractor, ContinuousAggregateIndex[] aIndex)
+        {
+        ContinuousAggregator<Integer, Trade, String> aggregator = new ContinuousAggregator<>(extractor);
+
+        InvocableMap.StreamingAggregator<Integer, Trade, Object, Map<String, ContinuousAggregator.Summary>>
+                result = aggregator.supply();
+        for (ContinuousAggregateIndex index : aIndex)
+            {
+            ContinuousAggregator<Integer, Trade, String> part =
+                    (ContinuousAggregator<Integer, Trade, String>) aggregator.supply();
+
+            part.accumulateIndex(index, Set.of());
+            result.combine(part.getPartialResult());
+            }
+        return result.finalizeResult();
+        }
+
+    /**
+    * Aggregate the entries of the specified map.
+    */
+    private static Map<String, ContinuousAggregator.Summary> aggregateEntries(
+            ContinuousAggregateExtractor<Trade, String> extractor, Map<Integer, Trade> map)
+        {
+        ContinuousAggregator<Integer, Trade, String> aggregator = new ContinuousAggregator<>(extractor);
+
+        InvocableMap.StreamingAggregator<Integer, Trade, Object, Map<String, ContinuousAggregator.Summary>>
+                part = aggregator.supply();
+        for (Map.Entry<Integer, Trade> entry : map.entrySet())
+            {
+            part.accumulate(new SimpleMapEntry<>(entry.getKey(), entry.getValue()));
+            }
+
+        InvocableMap.StreamingAggregator<Integer, Trade, Object, Map<String, ContinuousAggregator.Summary>>
+                result = aggregator.supply();
+        result.combine(part.getPartialResult());
+        return result.finalizeResult();
+        }
+
+    // ----- inner class: Trade ---------------------------------------------
+
+    /**
+    * The value stored in the map.
+    */
+    public static class Trade
+            implements Serializable
+        {
+        public Trade(String sSymbol, Integer nPrice)
+            {
+            m_sSymbol = sSymbol;
+            m_nPrice  = nPrice;
+            }
+
+        public String getSymbol()
+            {
+            return m_sSymbol;
+            }
+
+        public Integer getPrice()
+            {
+            return m_nPrice;
+            }
+
+        private final String m_sSymbol;
+
+        private final Integer m_nPrice;
+        }
+    }
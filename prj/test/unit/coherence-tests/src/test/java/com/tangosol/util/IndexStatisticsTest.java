@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+package com.tangosol.util;
+
+import com.tangosol.util.extractor.IdentityExtractor;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+* IndexStatistics unit tests.
+*/
+public class IndexStatisticsTest
+    {
+    /**
+    * Test that the estimates for a single value are exact.
+    */
+    @Test
+    public void testEstimateEquals()
+        {
+        SimpleMapIndex index = new SimpleMapIndex(IdentityExtractor.INSTANCE, false, null, null);
+
+        // 90% of the keys share a single value
+        for (int i = 0; i < 1000; i++)
+            {
+            index.insert(new SimpleMapEntry(i, i < 900 ? 0 : i));
+            }
+
+        IndexStatistics stats = index.getStatistics();
+
+        assertSame(stats, index.getStatistics());
+        assertEquals(1000, stats.getKeyCount());
+        assertEquals(101, stats.getDistinctValueCount());
+        assertEquals(0.9, stats.estimateEquals(0), 0.0);
+        assertEquals(0.001, stats.estimateEquals(950), 0.0);
+        assertEquals(0.0, stats.estimateEquals(5), 0.0);
+        assertEquals(0.0, stats.estimateEquals("not an integer"), 0.0);
+        }
+
+    /**
+    * Test the range estimates for ordered and unordered indexes.
+    */
+    @Test
+    public void testEstimateRange()
+        {
+        for (boolean fOrdered : new boolean[] {true, false})
+            {
+            SimpleMapIndex index = new SimpleMapIndex(IdentityExtractor.INSTANCE, fOrdered, null, null);
+            Random         rnd   = new Random(7);
+
+            for (int i = 0; i < 10000; i++)
+                {
+                index.insert(new SimpleMapEntry(i, rnd.nextInt(1000)));
+                }
+            index.insert(new SimpleMapEntry(-1, null));
+
+            IndexStatistics stats = index.getStatistics();
+
+            assertEquals(0.2,  stats.estimateRange(100, true, 300, false), 0.05);
+            assertEquals(0.5,  stats.estimateRange(500, true, null, false), 0.05);
+            assertEquals(0.05, stats.estimateRange(null, false, 50, true), 0.05);
+            assertEquals(0.0,  stats.estimateRange(2000, false, null, false), 0.0);
+            assertEquals(1.0,  stats.estimateRange(-5, true, 2000, true), 0.001);
+            }
+        }
+
+    /**
+    * Test that the histogram reflects a skewed distribution.
+    */
+    @Test
+    public void testSkewedRange()
+        {
+        SimpleMapIndex index = new SimpleMapIndex(IdentityExtractor.INSTANCE, true, null, null);
+
+        // half of the keys are associated with the value 500
+        for (int i = 0; i < 2000; i++)
+            {
+            index.insert(new SimpleMapEntry(i, i % 2 == 0 ? 500 : i / 2));
+            }
+
+        IndexStatistics stats = index.getStatistics();
+
+        assertEquals(0.5,  stats.estimateRange(500, true, 500, true), 0.02);
+        assertEquals(0.75, stats.estimateRange(500, true, null, false), 0.05);
+        assertEquals(0.25, stats.estimateRange(500, false, null, false), 0.05);
+        }
+
+    /**
+    * Test that the statistics are refreshed once the index changes
+    * significantly.
+    */
+    @Test
+    public void testChurn()
+        {
+        SimpleMapIndex index = new SimpleMapIndex(IdentityExtractor.INSTANCE, true, null, null);
+
+        for (int i = 0; i < 1000; i++)
+            {
+            index.insert(new SimpleMapEntry(i, i));
+            }
+
+        IndexStatistics stats = index.getStatistics();
+        long            cMods = stats.getModificationCount();
+
+        assertEquals(0.1, stats.estimateRange(900, true, null, false), 0.02);
+        assertFalse(stats.isStale(cMods));
+
+        // move all the values below 100
+        for (int i = 0; i < 1000; i++)
+            {
+            index.update(new SimpleMapEntry(i, i % 100));
+            }
+
+        assertTrue(stats.isStale(cMods));
+        assertEquals(0.0, stats.estimateRange(900, true, null, false), 0.0);
+        assertEquals(0.5, stats.estimateRange(null, false, 50, false), 0.05);
+        }
+
+    /**
+    * Test that the values that cannot be ordered are reported as such.
+    */
+    @Test
+    public void testUnordered()
+        {
+        SimpleMapIndex index = new SimpleMapIndex(IdentityExtractor.INSTANCE, false, null, null);
+
+        index.insert(new SimpleMapEntry(1, 1));
+        index.insert(new SimpleMapEntry(2, "two"));
+
+        assertEquals(-1.0, index.getStatistics().estimateRange(0, true, null, false), 0.0);
+        assertEquals(0.5,  index.getStatistics().estimateEquals("two"), 0.0);
+        }
+
+    /**
+    * Test that the plan cache is bounded.
+    */
+    @Test
+    public void testPlanCache()
+        {
+        IndexStatistics stats = new SimpleMapIndex(IdentityExtractor.INSTANCE, false, null, null).getStatistics();
+
+        for (int i = 0; i <= IndexStatistics.MAX_PLANS; i++)
+            {
+            stats.putPlan(i, "plan" + i);
+            }
+
+        assertNull(stats.getPlan(0));
+        assertEquals("plan1", stats.getPlan(1));
+        assertEquals("plan" + IndexStatistics.MAX_PLANS, stats.getPlan(IndexStatistics.MAX_PLANS));
+        }
+    }
@@ -1,14 +1,18 @@
 /*
- * Copyright (c) 2000, 2022, Oracle and/or its affiliates.
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
  *
  * Licensed under the Universal Permissive License v 1.0 as shown at
- * http://oss.oracle.com/licenses/upl.
+ * https://oss.oracle.com/licenses/upl.
  */
 
 package com.tangosol.util;
 
 
+import com.tangosol.util.comparator.ExtractorComparator;
+import com.tangosol.util.comparator.InverseComparator;
+
 import com.tangosol.util.extractor.IdentityExtractor;
+import com.tangosol.util.extractor.ReflectionExtractor;
 
 import com.tangosol.util.filter.AlwaysFilter;
 import com.tangosol.util.filter.GreaterFilter;
@@ -16,9 +20,11 @@ import com.tangosol.util.filter.LimitFilter;
 
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -229,6 +235,124 @@ public class InvocableMapHelperTest
         assertTrue(checkEntrySetValue(set, 5, -1));
         }
 
+    /**
+    * Test sorted and limited queries that walk an ordered index.
+    */
+    @Test
+    public void testQueryWithOrderedIndex()
+        {
+        Map map = new HashMap();
+        for (int i = 0; i < 1000; i++)
+            {
+            map.put(i, i % 100);
+            }
+
+        IdentityExtractor extractor = new IdentityExtractor();
+        Map               mapIndex  = new HashMap();
+        SimpleMapIndex    index     = new SimpleMapIndex(extractor, true, null, null);
+
+        for (Iterator iter = map.entrySet().iterator(); iter.hasNext();)
+            {
+            index.insert((Map.Entry) iter.next());
+            }
+        mapIndex.put(extractor, index);
+
+        Comparator[] aComparator = {new ExtractorComparator(extractor),
+                                    new InverseComparator(new ExtractorComparator(extractor))};
+        Filter[]     aFilter     = {AlwaysFilter.INSTANCE,
+                                    new GreaterFilter(extractor, 42),
+                                    new GreaterFilter(new ReflectionExtractor("intValue"), 42)};
+
+        for (Comparator comparator : aComparator)
+            {
+            for (Filter filter : aFilter)
+                {
+                LimitFilter filterLimit = new LimitFilter(filter, 15);
+                for (int nPage = 0; nPage < 5; nPage++)
+                    {
+                    filterLimit.setPage(nPage);
+
+                    List listExpected = values(InvocableMapHelper.query(map, null, filterLimit, true, true, comparator));
+                    List listActual   = values(InvocableMapHelper.query(map, mapIndex, filterLimit, true, true, comparator));
+
+                    assertEquals(15, listExpected.size());
+                    assertEquals(listExpected, listActual);
+                    }
+
+                assertEquals(values(InvocableMapHelper.query(map, null, filter, true, true, comparator)),
+                             values(InvocableMapHelper.query(map, mapIndex, filter, true, true, comparator)));
+                }
+            }
+        }
+
+    /**
+    * Test sorting keys using an ordered index.
+    */
+    @Test
+    public void testSortByIndex()
+        {
+        Map map = new HashMap();
+        for (int i = 0; i < 100; i++)
+            {
+            map.put(i, i % 10);
+            }
+
+        IdentityExtractor extractor = new IdentityExtractor();
+        Map               mapIndex  = new HashMap();
+        SimpleMapIndex    index     = new SimpleMapIndex(extractor, true, null, null);
+
+        for (Iterator iter = map.entrySet().iterator(); iter.hasNext();)
+            {
+            index.insert((Map.Entry) iter.next());
+            }
+        mapIndex.put(extractor, index);
+
+        Object[] aoKey = map.keySet().toArray();
+
+        // the keys of the value 1 are all included, even though only 15 were asked for
+        Object[] aoSorted = InvocableMapHelper.sortByIndex(mapIndex,
+                new ExtractorComparator(extractor), aoKey, aoKey.length, 15);
+
+        assertEquals(20, aoSorted.length);
+        for (int i = 0; i < aoSorted.length; i++)
+            {
+            assertEquals(i / 10, map.get(aoSorted[i]));
+            }
+
+        // only the specified keys are returned
+        Object[] aoEven = new Object[50];
+        for (int i = 0; i < 25; i++)
+            {
+            aoEven[i] = i * 2;
+            }
+
+        aoSorted = InvocableMapHelper.sortByIndex(mapIndex,
+                new InverseComparator(extractor), aoEven, 25, 8);
+
+        assertEquals(10, aoSorted.length);
+        for (int i = 0; i < aoSorted.length; i++)
+            {
+            assertEquals(i < 5 ? 8 : 6, map.get(aoSorted[i]));
+            assertTrue((Integer) aoSorted[i] < 50);
+            }
+
+        // the order of an unrelated comparator can't be obtained from the index
+        assertNull(InvocableMapHelper.sortByIndex(mapIndex,
+                new ExtractorComparator(new ReflectionExtractor("intValue")), aoKey, aoKey.length, 15));
+        assertNull(InvocableMapHelper.sortByIndex(mapIndex,
+                Comparator.naturalOrder(), aoKey, aoKey.length, 15));
+        }
+
+    private static List values(Set entrySet)
+        {
+        List list = new ArrayList();
+        for (Object o : entrySet)
+            {
+            list.add(((Map.Entry) o).getValue());
+            }
+        return list;
+        }
+
     private static boolean checkEntrySetValue(Set entrySet,
                                               Object value, int index)
         {
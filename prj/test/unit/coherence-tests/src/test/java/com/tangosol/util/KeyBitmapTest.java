@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+package com.tangosol.util;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+* KeyBitmap unit tests.
+*/
+public class KeyBitmapTest
+    {
+    /**
+    * Test add, remove and contains.
+    */
+    @Test
+    public void testAddRemove()
+        {
+        KeyBitmap bitmap = new KeyBitmap();
+
+        assertTrue(bitmap.isEmpty());
+        assertTrue(bitmap.add(70));
+        assertTrue(bitmap.add(3));
+        assertTrue(bitmap.add(1000));
+        assertFalse(bitmap.add(3));
+
+        assertEquals(3, bitmap.cardinality());
+        assertTrue(bitmap.contains(3));
+        assertTrue(bitmap.contains(70));
+        assertFalse(bitmap.contains(4));
+        assertFalse(bitmap.contains(-1));
+
+        assertTrue(bitmap.remove(70));
+        assertFalse(bitmap.remove(70));
+        assertFalse(bitmap.remove(71));
+        assertEquals(2, bitmap.cardinality());
+        assertEquals(toBitmap(toBitSet(3, 1000)), bitmap);
+        }
+
+    /**
+    * Test the bitmap operations against a BitSet.
+    */
+    @Test
+    public void testOperations()
+        {
+        Random rnd = new Random(11);
+        for (int i = 0; i < 50; i++)
+            {
+            BitSet bits1 = randomBits(rnd);
+            BitSet bits2 = randomBits(rnd);
+            BitSet bits3 = randomBits(rnd);
+
+            KeyBitmap bitmap1 = toBitmap(bits1);
+            KeyBitmap bitmap2 = toBitmap(bits2);
+            KeyBitmap bitmap3 = toBitmap(bits3);
+
+            BitSet bitsAnd = (BitSet) bits1.clone();
+            bitsAnd.and(bits2);
+            assertBits(bitsAnd, bitmap1.and(bitmap2));
+
+            BitSet bitsAndNot = (BitSet) bits1.clone();
+            bitsAndNot.andNot(bits2);
+            assertBits(bitsAndNot, bitmap1.andNot(bitmap2));
+
+            BitSet bitsOr = (BitSet) bits1.clone();
+            bitsOr.or(bits2);
+            assertBits(bitsOr, bitmap1.or(bitmap2));
+
+            bitsOr.or(bits3);
+            assertBits(bitsOr, KeyBitmap.or(List.of(bitmap1, bitmap2, bitmap3)));
+
+            // the operands are not modified
+            assertBits(bits1, bitmap1);
+            assertBits(bits2, bitmap2);
+            }
+        }
+
+    /**
+    * Test that the words emptied by removals are compacted.
+    */
+    @Test
+    public void testCompaction()
+        {
+        KeyBitmap bitmap = new KeyBitmap();
+        BitSet    bits   = new BitSet();
+
+        for (int i = 0; i < 64 * 100; i += 64)
+            {
+            bitmap.add(i);
+            bitmap.add(i + 1);
+            bits.set(i);
+            bits.set(i + 1);
+            }
+
+        for (int i = 0; i < 64 * 90; i += 64)
+            {
+            bitmap.remove(i);
+            bitmap.remove(i + 1);
+            bits.clear(i);
+            bits.clear(i + 1);
+            }
+
+        // at most a half of the remaining words may be empty
+        assertTrue(bitmap.m_words.f_cWords <= 20);
+        assertBits(bits, bitmap);
+
+        bitmap.add(5);
+        bits.set(5);
+        assertBits(bits, bitmap);
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+    * Assert that the bitmap contains the same values as the BitSet.
+    *
+    * @param bits    the expected values
+    * @param bitmap  the bitmap
+    */
+    private static void assertBits(BitSet bits, KeyBitmap bitmap)
+        {
+        assertEquals(bits.cardinality(), bitmap.cardinality());
+
+        PrimitiveIterator.OfInt iter = bitmap.iterator();
+        for (int n = bits.nextSetBit(0); n >= 0; n = bits.nextSetBit(n + 1))
+            {
+            assertTrue(iter.hasNext());
+            assertEquals(n, iter.nextInt());
+            assertTrue(bitmap.contains(n));
+            }
+        assertFalse(iter.hasNext());
+        }
+
+    /**
+    * Return a BitSet of random, clustered values.
+    *
+    * @param rnd  the random number generator
+    *
+    * @return a BitSet of random values
+    */
+    private static BitSet randomBits(Random rnd)
+        {
+        BitSet bits   = new BitSet();
+        int    nStart = rnd.nextInt(5000);
+        int    nRange = 1 + rnd.nextInt(5000);
+        for (int i = 0, c = rnd.nextInt(500); i < c; i++)
+            {
+            bits.set(nStart + rnd.nextInt(nRange));
+            }
+        return bits;
+        }
+
+    /**
+    * Return a BitSet of the specified values.
+    *
+    * @param an  the values
+    *
+    * @return a BitSet of the values
+    */
+    private static BitSet toBitSet(int... an)
+        {
+        BitSet bits = new BitSet();
+        for (int n : an)
+            {
+            bits.set(n);
+            }
+        return bits;
+        }
+
+    /**
+    * Return a KeyBitmap of the values in the specified BitSet.
+    *
+    * @param bits  the values
+    *
+    * @return a KeyBitmap of the values
+    */
+    private static KeyBitmap toBitmap(BitSet bits)
+        {
+        KeyBitmap bitmap = new KeyBitmap();
+        for (int n = bits.nextSetBit(0); n >= 0; n = bits.nextSetBit(n + 1))
+            {
+            bitmap.add(n);
+            }
+        return bitmap;
+        }
+    }
@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+package com.tangosol.util.aggregator;
+
+import com.tangosol.internal.net.MessageComponent;
+
+import com.tangosol.internal.util.VersionHelper;
+
+import com.tangosol.io.WrapperBufferInput;
+import com.tangosol.io.WrapperBufferOutput;
+
+import com.tangosol.util.Binary;
+import com.tangosol.util.BinaryWriteBuffer;
+import com.tangosol.util.ExternalizableHelper;
+import com.tangosol.util.InvocableMap;
+import com.tangosol.util.SimpleMapEntry;
+
+import com.tangosol.util.comparator.ExtractorComparator;
+import com.tangosol.util.comparator.InverseComparator;
+import com.tangosol.util.comparator.SafeComparator;
+
+import com.tangosol.util.extractor.IdentityExtractor;
+import com.tangosol.util.extractor.MultiExtractor;
+import com.tangosol.util.extractor.ReflectionExtractor;
+
+import com.tangosol.util.filter.GreaterFilter;
+
+import java.io.IOException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Unit tests for the ordered and limited {@link GroupAggregator}.
+ */
+public class GroupAggregatorTest
+    {
+    @Test
+    public void shouldLimitPartialResultsToFirstGroups()
+        {
+        GroupAggregator<Integer, Integer, Integer, Integer, Integer> aggregator =
+                GroupAggregator.createInstance(new ReflectionExtractor<>("intValue"), new Count<>(), null,
+                                               new SafeComparator<>(), 3);
+
+        InvocableMap.StreamingAggregator<Integer, Integer, Map<Integer, Object>, Map<Integer, Integer>>
+                part = aggregator.supply();
+
+        for (int i = 0; i < 100; i++)
+            {
+            part.accumulate(new SimpleMapEntry<>(i, i % 10));
+            }
+
+        Map<Integer, Object> mapPartial = part.getPartialResult();
+
+        assertThat(mapPartial.size(), is(3));
+        assertThat(mapPartial.containsKey(0), is(true));
+        assertThat(mapPartial.containsKey(1), is(true));
+        assertThat(mapPartial.containsKey(2), is(true));
+        }
+
+    @Test
+    public void shouldProduceSameResultAsUnlimitedAggregation()
+        {
+        GroupAggregator<Integer, Integer, Integer, Integer, Long> unlimited =
+                GroupAggregator.createInstance(IdentityExtractor.INSTANCE(), new LongSum<>(IdentityExtractor.INSTANCE()), null);
+        GroupAggregator<Integer, Integer, Integer, Integer, Long> limited =
+                GroupAggregator.createInstance(IdentityExtractor.INSTANCE(), new LongSum<>(IdentityExtractor.INSTANCE()),
+                                               null, new InverseComparator<>(new SafeComparator<>()), 5);
+
+        Map<Integer, Long> mapUnlimited = aggregate(unlimited, 4, 50);
+        Map<Integer, Long> mapLimited   = aggregate(limited, 4, 50);
+
+        // the limited result contains the 5 greatest groups in descending order
+        assertThat(new ArrayList<>(mapLimited.keySet()), is(List.of(49, 48, 47, 46, 45)));
+        for (Map.Entry<Integer, Long> entry : mapLimited.entrySet())
+            {
+            assertThat(entry.getValue(), is(mapUnlimited.get(entry.getKey())));
+            }
+        }
+
+    @Test
+    public void shouldOrderMultiValueGroupKeys()
+        {
+        GroupAggregator<Integer, Integer, Integer, List<Object>, Integer> aggregator =
+                GroupAggregator.createInstance(
+                        new MultiExtractor(new ReflectionExtractor[] {new ReflectionExtractor<>("intValue"),
+                                                                      new ReflectionExtractor<>("toString")}),
+                        new Count<>(), null,
+                        new ExtractorComparator<>(new ReflectionExtractor<>("get", new Object[] {1})), 2);
+
+        Map<List<Object>, Integer> mapResult = aggregate(aggregator, 3, 10);
+
+        assertThat(new ArrayList<>(mapResult.keySet()), is(List.of(List.of(0, "0"), List.of(1, "1"))));
+        }
+
+    @Test
+    public void shouldApplyLimitAfterHavingFilter()
+        {
+        // 10 groups of 5 entries, only the groups with a sum greater than 20
+        // are returned, so the limit can't be applied to the partial results
+        GroupAggregator<Integer, Integer, Integer, Integer, Long> aggregator =
+                GroupAggregator.createInstance(new ReflectionExtractor<>("intValue"),
+                                               new LongSum<>(IdentityExtractor.INSTANCE()),
+                                               new GreaterFilter<>(IdentityExtractor.INSTANCE(), 20L),
+                                               new SafeComparator<>(), 2);
+
+        Map<Integer, Long> mapResult = aggregate(aggregator, 3, 10);
+
+        assertThat(new ArrayList<>(mapResult.keySet()), is(List.of(5, 6)));
+        }
+
+    @Test
+    public void shouldSerializeComparatorAndLimit()
+        {
+        GroupAggregator<?, ?, ?, ?, ?> aggregator =
+                GroupAggregator.createInstance(new ReflectionExtractor<>("intValue"), new Count<>(), null,
+                                               new SafeComparator<>(), 7);
+
+        Binary                         bin  = ExternalizableHelper.toBinary(aggregator);
+        GroupAggregator<?, ?, ?, ?, ?> copy = ExternalizableHelper.fromBinary(bin);
+
+        assertThat(copy.getExtractor(), is(aggregator.getExtractor()));
+        assertThat(copy.getLimit(), is(7));
+        assertThat(copy.getComparator(), is(aggregator.getComparator()));
+        }
+
+    @Test
+    public void shouldNotSerializeComparatorAndLimitForOlderMembers()
+            throws IOException
+        {
+        GroupAggregator<?, ?, ?, ?, ?> aggregator =
+                GroupAggregator.createInstance(new ReflectionExtractor<>("intValue"), new Count<>(), null,
+                                               new SafeComparator<>(), 7);
+
+        MessageComponent  msg = new PriorVersionMessage();
+        BinaryWriteBuffer buf = new BinaryWriteBuffer(64);
+        ExternalizableHelper.writeObject(new WrapperBufferOutput.VersionAwareBufferOutput(buf.getBufferOutput(), msg),
+                                         aggregator);
+
+        GroupAggregator<?, ?, ?, ?, ?> copy = ExternalizableHelper.readObject(
+                new WrapperBufferInput.VersionAwareBufferInput(buf.toBinary().getBufferInput(), null, msg));
+
+        assertThat(copy.getExtractor(), is(aggregator.getExtractor()));
+        assertThat(copy.getLimit(), is(0));
+        assertThat(copy.getComparator(), is(nullValue()));
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+     * Aggregate 50 entries with the values <tt>key % cGroups</tt> as if they
+     * were spread across the specified number of members, and combine the
+     * partial results of each member.
+     */
+    private static <E, R> Map<E, R> aggregate(GroupAggregator<Integer, Integer, Integer, E, R> aggregator,
+                                              int cMembers, int cGroups)
+        {
+        InvocableMap.StreamingAggregator<Integer, Integer, Map<E, Object>, Map<E, R>> result = aggregator.supply();
+
+        for (int nMember = 0; nMember < cMembers; nMember++)
+            {
+            InvocableMap.StreamingAggregator<Integer, Integer, Map<E, Object>, Map<E, R>> part = aggregator.supply();
+
+            for (int i = nMember; i < 50; i += cMembers)
+                {
+                part.accumulate(new SimpleMapEntry<>(i, i % cGroups));
+                }
+
+            result.combine(part.getPartialResult());
+            }
+
+        return result.finalizeResult();
+        }
+
+    // ----- inner class: PriorVersionMessage -------------------------------
+
+    /**
+     * A message exchanged with a member that runs a version prior to 25.09.
+     */
+    private static class PriorVersionMessage
+            implements MessageComponent
+        {
+        public boolean isSenderCompatible(int nYear, int nMonth, int nPatch)
+            {
+            return isSenderCompatible(VersionHelper.encodeVersion(nYear, nMonth, nPatch));
+            }
+
+        public boolean isSenderCompatible(int nMajor, int nMinor, int nMicro, int nPatchSet, int nPatch)
+            {
+            return isSenderCompatible(VersionHelper.encodeVersion(nMajor, nMinor, nMicro, nPatchSet, nPatch));
+            }
+
+        public boolean isSenderCompatible(int nEncodedVersion)
+            {
+            return nEncodedVersion < VersionHelper.VERSION_25_09;
+            }
+
+        public boolean isRecipientCompatible(int nYear, int nMonth, int nPatch)
+            {
+            return isSenderCompatible(nYear, nMonth, nPatch);
+            }
+
+        public boolean isRecipientCompatible(int nMajor, int nMinor, int nMicro, int nPatchSet, int nPatch)
+            {
+            return isSenderCompatible(nMajor, nMinor, nMicro, nPatchSet, nPatch);
+            }
+
+        public boolean isRecipientCompatible(int nEncodedVersion)
+            {
+            return isSenderCompatible(nEncodedVersion);
+            }
+
+        public boolean isSenderPatchCompatible(int nEncodedVersion)
+            {
+            return isSenderCompatible(nEncodedVersion);
+            }
+
+        public boolean isRecipientPatchCompatible(int nEncodedVersion)
+            {
+            return isSenderCompatible(nEncodedVersion);
+            }
+        }
+    }
@@ -0,0 +1,310 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+package com.tangosol.util.aggregator;
+
+import com.tangosol.util.ColumnarMapIndex;
+import com.tangosol.util.InvocableMap;
+import com.tangosol.util.MapIndex;
+import com.tangosol.util.SimpleMapEntry;
+import com.tangosol.util.SimpleMapIndex;
+import com.tangosol.util.ValueExtractor;
+
+import com.tangosol.util.extractor.DeserializationAccelerator;
+import com.tangosol.util.extractor.IdentityExtractor;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import java.util.function.Supplier;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * Unit tests for the {@link IndexAwareAggregator} implementations.
+ */
+public class IndexAwareAggregatorTest
+    {
+    @Test
+    public void shouldAggregateLongValuesFromIndex()
+        {
+        assertLongAggregators(() -> new SimpleMapIndex(IdentityExtractor.INSTANCE(), false, null, null));
+        assertLongAggregators(() -> new SimpleMapIndex(IdentityExtractor.INSTANCE(), true, null, null));
+        }
+
+    @Test
+    public void shouldAggregateDoubleValuesFromIndex()
+        {
+        assertDoubleAggregators(() -> new SimpleMapIndex(IdentityExtractor.INSTANCE(), false, null, null));
+        assertDoubleAggregators(() -> new SimpleMapIndex(IdentityExtractor.INSTANCE(), true, null, null));
+        }
+
+    @Test
+    public void shouldAggregateFromForwardOnlyIndex()
+        {
+        Supplier<MapIndex> supplier = () -> new DeserializationAccelerator(IdentityExtractor.INSTANCE())
+                .createIndex(false, null, new HashMap<>(), null);
+
+        assertLongAggregators(supplier);
+        assertDoubleAggregators(supplier);
+        }
+
+    @Test
+    public void shouldAggregateFromIndexWithComparator()
+        {
+        // the comparator treats all the even and all the odd values as equal
+        Comparator<Integer> comparator = Comparator.comparingInt(n -> n % 2);
+        Supplier<MapIndex>  supplier   = () -> new SimpleMapIndex(IdentityExtractor.INSTANCE(), true, comparator, null);
+
+        assertLongAggregators(supplier);
+        assertDoubleAggregators(supplier);
+        }
+
+    @Test
+    public void shouldNotSplitCollectionValues()
+        {
+        Map<Object, Object> mapEntries = new LinkedHashMap<>();
+        mapEntries.put(1, List.of(1, 2));
+        mapEntries.put(2, List.of(3));
+
+        SimpleMapIndex index = new SimpleMapIndex(IdentityExtractor.INSTANCE(), false, null, null);
+        mapEntries.forEach((oKey, oValue) -> index.insert(new SimpleMapEntry<>(oKey, oValue)));
+
+        AbstractAggregator<Object, Object, ?, ?, ?> aggregator = new LongSum<Integer>(IdentityExtractor.INSTANCE());
+        try
+            {
+            aggregateEntries(aggregator, List.of(mapEntries));
+            fail("expected ClassCastException");
+            }
+        catch (ClassCastException e)
+            {
+            // the values are not numbers
+            }
+
+        try
+            {
+            aggregateIndexes(aggregator, List.of(index), List.of(mapEntries));
+            fail("expected ClassCastException");
+            }
+        catch (ClassCastException e)
+            {
+            // the values are not numbers
+            }
+        }
+
+    @Test
+    public void shouldIgnoreNullValues()
+        {
+        Map<Object, Object> mapEntries = new HashMap<>();
+        mapEntries.put(1, null);
+        mapEntries.put(2, null);
+
+        SimpleMapIndex index = new SimpleMapIndex(IdentityExtractor.INSTANCE(), false, null, null);
+        mapEntries.forEach((oKey, oValue) -> index.insert(new SimpleMapEntry<>(oKey, oValue)));
+
+        assertThat(aggregateIndexes(new LongSum<>(IdentityExtractor.INSTANCE()), List.of(index), List.of(mapEntries)),
+                is(nullValue()));
+
+        mapEntries.put(3, 5);
+        index.insert(new SimpleMapEntry<>(3, 5));
+
+        assertThat(aggregateIndexes(new DoubleAverage<>(IdentityExtractor.INSTANCE()), List.of(index), List.of(mapEntries)),
+                is(5.0d));
+        }
+
+    @Test
+    public void shouldReturnKeysMissingFromIndex()
+        {
+        SimpleMapIndex index = new SimpleMapIndex(IdentityExtractor.INSTANCE(), false, null, null);
+        index.insert(new SimpleMapEntry<>(1, 10));
+
+        LongSum<Integer> aggregator = (LongSum<Integer>) new LongSum<>(IdentityExtractor.INSTANCE()).supply();
+
+        Set<?> setMissing = aggregator.accumulateIndex(index, Set.of(1, 2));
+
+        assertThat(setMissing, is(Set.of(2)));
+        assertThat(aggregator.finalizeResult(), is(10L));
+        }
+
+    @Test
+    public void shouldAggregateFromColumnarIndex()
+        {
+        // the column holds the values converted to its type
+        Map<ColumnarMapIndex.Type, ValueExtractor<Integer, ?>> mapExtractor = Map.of(
+                ColumnarMapIndex.Type.INT,    IdentityExtractor.INSTANCE(),
+                ColumnarMapIndex.Type.LONG,   Integer::longValue,
+                ColumnarMapIndex.Type.DOUBLE, Integer::doubleValue);
+
+        mapExtractor.forEach((type, extractor) ->
+            {
+            Supplier<MapIndex> supplier = () -> new ColumnarMapIndex(extractor, type, null);
+
+            assertLongAggregators(supplier);
+            assertDoubleAggregators(supplier);
+            });
+        }
+
+    @Test
+    public void shouldScanColumnarIndexWithoutBoxing()
+        {
+        // the values must be accumulated from the column rather than via get
+        ColumnarMapIndex index = new ColumnarMapIndex(IdentityExtractor.INSTANCE(), ColumnarMapIndex.Type.LONG, null)
+            {
+            @Override
+            public synchronized Object get(Object oKey)
+                {
+                throw new AssertionError("boxed value read for key " + oKey);
+                }
+            };
+        index.insert(new SimpleMapEntry<>(1, 10L));
+        index.insert(new SimpleMapEntry<>(2, null));
+        index.insert(new SimpleMapEntry<>(3, -4L));
+
+        LongSum<Integer> sum = (LongSum<Integer>) new LongSum<>(IdentityExtractor.INSTANCE()).supply();
+        assertThat(sum.accumulateIndex(index, Set.of(1, 2, 3, 4)), is(Set.of(4)));
+        assertThat(sum.finalizeResult(), is(6L));
+
+        LongMin<Integer> min = (LongMin<Integer>) new LongMin<>(IdentityExtractor.INSTANCE()).supply();
+        assertThat(min.accumulateIndex(index, Set.of(1, 2)), is(Set.of()));
+        assertThat(min.finalizeResult(), is(10L));
+
+        DoubleMax<Integer> max = (DoubleMax<Integer>) new DoubleMax<>(IdentityExtractor.INSTANCE()).supply();
+        assertThat(max.accumulateIndex(index, Set.of(2)), is(Set.of()));
+        assertThat(max.finalizeResult(), is(nullValue()));
+
+        DoubleAverage<Integer> avg = (DoubleAverage<Integer>) new DoubleAverage<>(IdentityExtractor.INSTANCE()).supply();
+        assertThat(avg.accumulateIndex(index, Set.of(1, 2, 3)), is(Set.of()));
+        assertThat(avg.finalizeResult(), is(3.0d));
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+     * Assert that the long aggregators return the same results from the
+     * indexes created by the specified supplier as from the entries.
+     */
+    private static void assertLongAggregators(Supplier<MapIndex> supplier)
+        {
+        List<Map<Object, Object>> listEntries = createEntries(3, 100);
+        List<MapIndex>            listIndex   = createIndexes(listEntries, supplier);
+
+        for (AbstractLongAggregator<Integer> aggregator : List.<AbstractLongAggregator<Integer>>of(
+                new LongSum<>(IdentityExtractor.INSTANCE()),
+                new LongMin<>(IdentityExtractor.INSTANCE()),
+                new LongMax<>(IdentityExtractor.INSTANCE())))
+            {
+            assertThat(aggregateIndexes(aggregator, listIndex, listEntries),
+                       is(aggregateEntries(aggregator, listEntries)));
+            }
+        }
+
+    /**
+     * Assert that the double aggregators return the same results from the
+     * indexes created by the specified supplier as from the entries.
+     */
+    private static void assertDoubleAggregators(Supplier<MapIndex> supplier)
+        {
+        List<Map<Object, Object>> listEntries = createEntries(3, 100);
+        List<MapIndex>            listIndex   = createIndexes(listEntries, supplier);
+
+        for (AbstractDoubleAggregator<Integer> aggregator : List.<AbstractDoubleAggregator<Integer>>of(
+                new DoubleSum<>(IdentityExtractor.INSTANCE()),
+                new DoubleMin<>(IdentityExtractor.INSTANCE()),
+                new DoubleMax<>(IdentityExtractor.INSTANCE()),
+                new DoubleAverage<>(IdentityExtractor.INSTANCE())))
+            {
+            assertThat(aggregateIndexes(aggregator, listIndex, listEntries),
+                       is(aggregateEntries(aggregator, listEntries)));
+            }
+        }
+
+    /**
+     * Create the entries of each partition, with the values <tt>key % 10</tt>.
+     */
+    private static List<Map<Object, Object>> createEntries(int cPartitions, int cEntries)
+        {
+        List<Map<Object, Object>> listEntries = new ArrayList<>();
+        for (int nPart = 0; nPart < cPartitions; nPart++)
+            {
+            listEntries.add(new HashMap<>());
+            }
+
+        for (int i = 0; i < cEntries; i++)
+            {
+            listEntries.get(i % cPartitions).put(i, i % 10);
+            }
+
+        return listEntries;
+        }
+
+    /**
+     * Create an index for each partition of the specified entries.
+     */
+    private static List<MapIndex> createIndexes(List<Map<Object, Object>> listEntries, Supplier<MapIndex> supplier)
+        {
+        List<MapIndex> listIndex = new ArrayList<>();
+        for (Map<Object, Object> mapEntries : listEntries)
+            {
+            MapIndex index = supplier.get();
+            mapEntries.forEach((oKey, oValue) -> index.insert(new SimpleMapEntry<>(oKey, oValue)));
+            listIndex.add(index);
+            }
+
+        return listIndex;
+        }
+
+    /**
+     * Aggregate the values held by the specified indexes for the keys of the
+     * corresponding partitions, one partial aggregation per index.
+     */
+    private static Object aggregateIndexes(AbstractAggregator<Object, Object, ?, ?, ?> aggregator,
+                                           List<? extends MapIndex> listIndex, List<Map<Object, Object>> listEntries)
+        {
+        InvocableMap.StreamingAggregator<Object, Object, Object, ?> result = aggregator.supply();
+        for (int i = 0; i < listIndex.size(); i++)
+            {
+            AbstractAggregator<Object, Object, ?, ?, ?> part =
+                    (AbstractAggregator<Object, Object, ?, ?, ?>) aggregator.supply();
+
+            Set<?> setMissing = part.accumulateIndex(listIndex.get(i), new HashSet<>(listEntries.get(i).keySet()));
+            assertThat(setMissing.isEmpty(), is(true));
+
+            result.combine(part.getPartialResult());
+            }
+        return result.finalizeResult();
+        }
+
+    /**
+     * Aggregate the specified entries, one partial aggregation per partition.
+     */
+    private static Object aggregateEntries(AbstractAggregator<Object, Object, ?, ?, ?> aggregator,
+                                           List<Map<Object, Object>> listEntries)
+        {
+        InvocableMap.StreamingAggregator<Object, Object, Object, ?> result = aggregator.supply();
+        for (Map<Object, Object> mapEntries : listEntries)
+            {
+            InvocableMap.StreamingAggregator<Object, Object, Object, ?> part = aggregator.supply();
+
+            for (Map.Entry<Object, Object> entry : mapEntries.entrySet())
+                {
+                part.accumulate(new SimpleMapEntry<>(entry.getKey(), entry.getValue()));
+                }
+            result.combine(part.getPartialResult());
+            }
+        return result.finalizeResult();
+        }
+    }
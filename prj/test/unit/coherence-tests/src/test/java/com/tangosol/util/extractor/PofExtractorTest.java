@@ -11,7 +11,10 @@ package com.tangosol.util.extractor;
 import com.tangosol.io.Serializer;
 
 import com.tangosol.io.pof.PofContext;
+import com.tangosol.io.pof.Utf8CharSequence;
 
+import com.tangosol.io.pof.reflect.PofSparseArray;
+import com.tangosol.io.pof.reflect.PofValue;
 import com.tangosol.io.pof.reflect.SimplePofPath;
 
 import com.tangosol.net.BackingMapContext;
@@ -21,10 +24,18 @@ import com.tangosol.net.cache.CacheMap;
 
 import com.tangosol.util.Binary;
 import com.tangosol.util.BinaryEntry;
+import com.tangosol.util.Filter;
+import com.tangosol.util.InvocableMapHelper;
+import com.tangosol.util.MapIndex;
 import com.tangosol.util.ObservableMap;
+import com.tangosol.util.SimpleMapIndex;
 import com.tangosol.util.ValueExtractor;
 import com.tangosol.util.ValueUpdater;
 
+import com.tangosol.util.filter.EqualsFilter;
+import com.tangosol.util.filter.LikeFilter;
+import com.tangosol.util.filter.NotFilter;
+
 import data.pof.Address;
 import data.pof.ObjectWithAllTypes;
 import data.pof.PofDataUtils;
@@ -32,13 +43,18 @@ import data.pof.PortablePerson;
 
 import java.io.IOException;
 
+import java.lang.reflect.Proxy;
+
 import java.math.BigInteger;
 
 import java.util.Arrays;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.junit.Test;
 
 import static org.junit.Assert.*;
@@ -735,6 +751,183 @@ public class PofExtractorTest
         assertEquals(null, ve.extractFromEntry(binEntry));
         }
 
+    /**
+    * Test that the extractors evaluated against the same entry in any order
+    * return the same values, and that the changes to the entry value are
+    * observed.
+    */
+    @Test
+    public void extractorTestSharedParsing()
+            throws IOException
+        {
+        PortablePerson oPerson  = PortablePerson.create();
+        BinaryEntry    binEntry = new TestBinaryEntry(null,
+                PofDataUtils.serialize(oPerson, PofDataUtils.MODE_FMT_EXT), PofDataUtils.getPofContext());
+
+        PofExtractor veAge  = new PofExtractor(null, PortablePerson.AGE);
+        PofExtractor veName = new PofExtractor(null, PortablePerson.NAME);
+        PofExtractor veCity = new PofExtractor(null, new SimplePofPath(
+                new int[] {PortablePerson.ADDRESS, Address.CITY}));
+        PofExtractor veZip  = new PofExtractor(null, new SimplePofPath(
+                new int[] {PortablePerson.ADDRESS, Address.ZIP}));
+
+        for (int i = 0; i < 2; i++)
+            {
+            assertEquals(oPerson.getAge(), veAge.extractFromEntry(binEntry));
+            assertEquals("12345", veZip.extractFromEntry(binEntry));
+            assertEquals("Tampa", veCity.extractFromEntry(binEntry));
+            assertEquals("Aleksandar Seovic", veName.extractFromEntry(binEntry));
+            }
+
+        oPerson.setName("Novak Seovic");
+        binEntry.updateBinaryValue(PofDataUtils.serialize(oPerson, PofDataUtils.MODE_FMT_EXT));
+
+        assertEquals("Novak Seovic", veName.extractFromEntry(binEntry));
+        assertEquals("Tampa", veCity.extractFromEntry(binEntry));
+        }
+
+    /**
+    * Test that the extractors evaluated against the same Binary share the
+    * offsets of the navigated properties, but not the deserialized values.
+    */
+    @Test
+    public void extractorTestSharedOffsets()
+            throws IOException
+        {
+        PortablePerson oPerson   = PortablePerson.create();
+        Binary         binPerson = PofDataUtils.serialize(oPerson, PofDataUtils.MODE_FMT_EXT);
+        PofContext     ctx       = PofDataUtils.getPofContext();
+        BinaryEntry    binEntry  = new TestBinaryEntry(null, binPerson, ctx);
+        PofExtractor   veAddress = new PofExtractor(null, PortablePerson.ADDRESS);
+
+        PofValue value1 = PofExtractor.parse(binPerson, ctx);
+        PofValue value2 = PofExtractor.parse(binPerson, ctx);
+        assertNotSame(value1, value2);
+        assertSame(((PofSparseArray) value1).getOffsets(), ((PofSparseArray) value2).getOffsets());
+
+        PofValue value3 = PofExtractor.parse(PofDataUtils.serialize(oPerson, PofDataUtils.MODE_FMT_EXT), ctx);
+        assertNotSame(((PofSparseArray) value1).getOffsets(), ((PofSparseArray) value3).getOffsets());
+
+        Object oAddress = veAddress.extractFromEntry(binEntry);
+        assertEquals(oPerson.getAddress(), oAddress);
+        assertNotSame(oAddress, veAddress.extractFromEntry(binEntry));
+        }
+
+    /**
+    * Test the extraction of the encoded String values and the filters that
+    * evaluate them.
+    */
+    @Test
+    public void extractorTestEncodedStrings()
+            throws IOException
+        {
+        PortablePerson oPerson  = PortablePerson.create();
+        BinaryEntry    binEntry = new TestBinaryEntry(null,
+                PofDataUtils.serialize(oPerson, PofDataUtils.MODE_FMT_EXT), PofDataUtils.getPofContext());
+
+        PofExtractor veName = new PofExtractor(null, PortablePerson.NAME);
+        PofExtractor veCity = new PofExtractor(String.class, new SimplePofPath(
+                new int[] {PortablePerson.ADDRESS, Address.CITY}));
+        PofExtractor veAge  = new PofExtractor(null, PortablePerson.AGE);
+
+        Object oName = veName.extractEncodedFromEntry(binEntry);
+        assertTrue(oName instanceof Utf8CharSequence);
+        assertEquals("Aleksandar Seovic", oName.toString());
+        assertEquals("Tampa", veCity.extractEncodedFromEntry(binEntry).toString());
+        assertEquals(oPerson.getAge(), veAge.extractEncodedFromEntry(binEntry));
+
+        Filter[] aFilterTrue =
+            {
+            new EqualsFilter(veName, "Aleksandar Seovic"),
+            new EqualsFilter(veCity, "Tampa"),
+            new EqualsFilter(veAge, oPerson.getAge()),
+            new NotFilter(new EqualsFilter(veName, "Aleksandar")),
+            new LikeFilter(veName, "Aleksandar Seovic"),
+            new LikeFilter(veName, "A%"),
+            new LikeFilter(veName, "Aleks%"),
+            new LikeFilter(veName, "%c"),
+            new LikeFilter(veName, "%Seovic"),
+            new LikeFilter(veName, "%r S%"),
+            new LikeFilter(veName, "%k%"),
+            new LikeFilter(veName, "a%s%C", (char) 0, true),
+            new LikeFilter(veName, "aleksandar%", (char) 0, true),
+            new LikeFilter(veCity, "T_mpa"),
+            };
+        for (Filter filter : aFilterTrue)
+            {
+            assertTrue(filter.toString(), InvocableMapHelper.evaluateEntry(filter, binEntry));
+            }
+
+        Filter[] aFilterFalse =
+            {
+            new EqualsFilter(veName, "Aleksandar"),
+            new EqualsFilter(veCity, "Tampa "),
+            new LikeFilter(veName, "a%"),
+            new LikeFilter(veName, "%C"),
+            new LikeFilter(veName, "%ö%"),
+            new LikeFilter(veCity, "%ampa_"),
+            };
+        for (Filter filter : aFilterFalse)
+            {
+            assertFalse(filter.toString(), InvocableMapHelper.evaluateEntry(filter, binEntry));
+            }
+
+        // the non-ASCII values are compared as encoded too
+        oPerson.setName("Željko Čović");
+        binEntry.updateBinaryValue(PofDataUtils.serialize(oPerson, PofDataUtils.MODE_FMT_EXT));
+
+        assertTrue(InvocableMapHelper.evaluateEntry(new EqualsFilter(veName, "Željko Čović"), binEntry));
+        assertTrue(InvocableMapHelper.evaluateEntry(new LikeFilter(veName, "%ović"), binEntry));
+        assertTrue(InvocableMapHelper.evaluateEntry(new LikeFilter(veName, "Ž%"), binEntry));
+        assertFalse(InvocableMapHelper.evaluateEntry(new LikeFilter(veName, "Z%"), binEntry));
+        }
+
+    /**
+    * Test that the filters evaluate an indexed value through the entry, so
+    * that it is served from the index.
+    */
+    @Test
+    public void extractorTestEncodedStringsIndexed()
+            throws IOException
+        {
+        PofExtractor veName = new PofExtractor(null, PortablePerson.NAME);
+        PofExtractor veCity = new PofExtractor(String.class, new SimplePofPath(
+                new int[] {PortablePerson.ADDRESS, Address.CITY}));
+
+        Map<ValueExtractor, MapIndex> mapIndex = new HashMap<>();
+        mapIndex.put(veName, new SimpleMapIndex(veName, false, null, null));
+
+        BackingMapContext ctxBM = (BackingMapContext) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class[] {BackingMapContext.class},
+                (proxy, method, aoArg) -> method.getName().equals("getIndexMap") ? mapIndex : null);
+
+        AtomicInteger cExtract = new AtomicInteger();
+        BinaryEntry   binEntry = new TestBinaryEntry(null,
+                PofDataUtils.serialize(PortablePerson.create(), PofDataUtils.MODE_FMT_EXT), PofDataUtils.getPofContext())
+            {
+            public BackingMapContext getBackingMapContext()
+                {
+                return ctxBM;
+                }
+
+            public Object extract(ValueExtractor extractor)
+                {
+                // the indexed value differs from the serialized one
+                cExtract.incrementAndGet();
+                return mapIndex.containsKey(extractor) ? "Indexed" : super.extract(extractor);
+                }
+            };
+
+        assertTrue(InvocableMapHelper.evaluateEntry(new EqualsFilter(veName, "Indexed"), binEntry));
+        assertTrue(InvocableMapHelper.evaluateEntry(new LikeFilter(veName, "Ind%"), binEntry));
+        assertFalse(InvocableMapHelper.evaluateEntry(new EqualsFilter(veName, "Aleksandar Seovic"), binEntry));
+        assertEquals(3, cExtract.get());
+
+        // the value without an index is compared as encoded
+        assertTrue(InvocableMapHelper.evaluateEntry(new EqualsFilter(veCity, "Tampa"), binEntry));
+        assertEquals(3, cExtract.get());
+        }
+
     // ----- helpers --------------------------------------------------------
 
     /**
@@ -838,7 +1031,7 @@ public class PofExtractorTest
 
         public Object extract(ValueExtractor extractor)
             {
-            return null;
+            return InvocableMapHelper.extractFromEntry(extractor, this);
             }
 
         public Object getOriginalValue()
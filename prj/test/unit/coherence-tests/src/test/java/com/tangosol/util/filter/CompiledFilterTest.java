@@ -0,0 +1,326 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+package com.tangosol.util.filter;
+
+import com.tangosol.internal.util.filter.CompiledPredicate;
+import com.tangosol.internal.util.filter.FilterCompiler;
+
+import com.tangosol.util.Filter;
+import com.tangosol.util.InvocableMapHelper;
+import com.tangosol.util.SimpleMapEntry;
+import com.tangosol.util.ValueExtractor;
+
+import com.tangosol.util.extractor.ChainedExtractor;
+import com.tangosol.util.extractor.IdentityExtractor;
+import com.tangosol.util.extractor.KeyExtractor;
+import com.tangosol.util.extractor.ReflectionExtractor;
+import com.tangosol.util.extractor.UniversalExtractor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * CompiledFilter unit tests.
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class CompiledFilterTest
+    {
+    /**
+     * Test that the compiled filters return the same results as the
+     * original filters.
+     */
+    @Test
+    public void testResults()
+        {
+        ValueExtractor age     = new UniversalExtractor("age");
+        ValueExtractor name    = new UniversalExtractor("name");
+        ValueExtractor weight  = new ReflectionExtractor("getWeight");
+        ValueExtractor active  = new UniversalExtractor("isActive()");
+        ValueExtractor city    = new ChainedExtractor("getAddress.getCity");
+        ValueExtractor zip     = new ChainedExtractor(new UniversalExtractor("address"), new UniversalExtractor("zip"));
+
+        Filter[] aFilter =
+            {
+            new EqualsFilter(age, 30),
+            new EqualsFilter(age, 30L),
+            new NotEqualsFilter(age, 30),
+            new GreaterFilter(age, 40),
+            new GreaterEqualsFilter(weight, 70.5),
+            new LessFilter(weight, 60.0),
+            new LessEqualsFilter(name, "M"),
+            new BetweenFilter(age, 20, 30),
+            new BetweenFilter(name, "C", "K"),
+            new InFilter(name, Set.of("Ann", "Bob", "Zed")),
+            new InFilter(age, Set.of(21, 22, 23)),
+            new IsNullFilter(name),
+            new IsNotNullFilter(city),
+            new EqualsFilter(city, "Boston"),
+            new GreaterFilter(zip, 50000),
+            new EqualsFilter(active, true),
+            new AndFilter(new EqualsFilter(city, "Boston"), new LessFilter(age, 30)),
+            new OrFilter(new EqualsFilter(name, "Ann"), new GreaterFilter(age, 60)),
+            new AllFilter(new Filter[] {new GreaterFilter(age, 20), new LessFilter(age, 50),
+                                        new NotFilter(new EqualsFilter(city, "Austin"))}),
+            new AnyFilter(new Filter[0]),
+            new AllFilter(new Filter[0]),
+            new AnyFilter(new Filter[] {new NeverFilter(), new AlwaysFilter()}),
+            new NotFilter(new OrFilter(new IsNullFilter(city), new EqualsFilter(active, false))),
+            new GreaterFilter(age, null),
+            new EqualsFilter(IdentityExtractor.INSTANCE, null),
+
+            // the filters and extractors that are evaluated as is
+            new AndFilter(new LikeFilter(name, "A%"), new GreaterFilter(age, 25)),
+            new OrFilter(new EqualsFilter(new KeyExtractor(IdentityExtractor.INSTANCE), 7),
+                         new EqualsFilter(new UniversalExtractor("address"), null)),
+            new NotFilter(new LikeFilter(name, "%e%")),
+            new EqualsFilter(new ReflectionExtractor("getScore", new Object[] {2}), 4),
+            };
+
+        List<Map.Entry> listEntries = createEntries(500);
+        for (Filter filter : aFilter)
+            {
+            Filter filterCompiled = new CompiledFilter(filter);
+            for (Map.Entry entry : listEntries)
+                {
+                assertEquals(filter + " " + entry,
+                        InvocableMapHelper.evaluateEntry(filter, entry),
+                        InvocableMapHelper.evaluateEntry(filterCompiled, entry));
+                }
+            }
+        }
+
+    /**
+     * Test that the filters of the same shape share the generated class.
+     */
+    @Test
+    public void testSharedClass()
+        {
+        Filter filter1 = new AndFilter(new EqualsFilter("getName", "Ann"), new GreaterFilter("getAge", 20));
+        Filter filter2 = new AndFilter(new EqualsFilter("getName", "Bob"), new GreaterFilter("getAge", 40));
+        Filter filter3 = new AndFilter(new EqualsFilter("getName", "Bob"), new LessFilter("getAge", 40));
+
+        CompiledPredicate predicate1 = FilterCompiler.compile(filter1, Person.class);
+        CompiledPredicate predicate2 = FilterCompiler.compile(filter2, Person.class);
+        CompiledPredicate predicate3 = FilterCompiler.compile(filter3, Person.class);
+
+        assertTrue(predicate1.isCompiled());
+        assertSame(predicate1.getClass(), predicate2.getClass());
+        assertNotSame(predicate1.getClass(), predicate3.getClass());
+
+        Person person = new Person("Bob", 30, 80.0, true, null);
+        assertFalse(predicate1.evaluateEntry(new SimpleMapEntry(1, person)));
+        assertFalse(predicate2.evaluateEntry(new SimpleMapEntry(1, person)));
+        assertTrue(predicate3.evaluateEntry(new SimpleMapEntry(1, person)));
+        }
+
+    /**
+     * Test the values that the filter cannot be compiled for.
+     */
+    @Test
+    public void testFallback()
+        {
+        Filter filter = new GreaterFilter("getAge", 20);
+
+        // the values of another class are evaluated by the original filter
+        CompiledPredicate predicate = FilterCompiler.compile(filter, Person.class);
+        assertTrue(predicate.isCompiled());
+        assertTrue(predicate.evaluateEntry(new SimpleMapEntry(1, new Employee("Ann", 30))));
+        assertFalse(predicate.evaluateEntry(new SimpleMapEntry(1, null)));
+
+        // the classes that are not public are not compiled
+        assertFalse(FilterCompiler.compile(filter, Hidden.class).isCompiled());
+
+        // the filters that cannot be compiled at all are not compiled
+        predicate = FilterCompiler.compile(new LikeFilter("getName", "A%"), Person.class);
+        assertFalse(predicate.isCompiled());
+        }
+
+    /**
+     * Test the filters compiled for the Map values.
+     */
+    @Test
+    public void testMapValues()
+        {
+        // the properties missing from the Map class are the Map values
+        Filter   filter         = new AndFilter(new EqualsFilter(new UniversalExtractor("city"), "Boston"),
+                                                new EqualsFilter(new UniversalExtractor("size"), 2));
+        Filter   filterCompiled = new CompiledFilter(filter);
+        HashMap  map            = new HashMap();
+
+        map.put("city", "Boston");
+        assertFalse(InvocableMapHelper.evaluateEntry(filterCompiled, new SimpleMapEntry(1, map)));
+        map.put("extra", 1);
+        assertTrue(InvocableMapHelper.evaluateEntry(filterCompiled, new SimpleMapEntry(1, map)));
+        assertTrue(FilterCompiler.compile(filter, HashMap.class).isCompiled());
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+     * Create the entries with random values.
+     *
+     * @param cEntries  the number of entries
+     *
+     * @return the entries
+     */
+    private static List<Map.Entry> createEntries(int cEntries)
+        {
+        String[] asName = {"Ann", "Bob", "Carl", "Dave", "Eve", "Kate", "Mike", "Zed", null};
+        String[] asCity = {"Boston", "Austin", null};
+
+        Random          rnd  = new Random(7);
+        List<Map.Entry> list = new ArrayList<>();
+        for (int i = 0; i < cEntries; i++)
+            {
+            Address address = rnd.nextInt(5) == 0 ? null
+                    : new Address(asCity[rnd.nextInt(asCity.length)], rnd.nextInt(100000));
+            Person  person  = new Person(asName[rnd.nextInt(asName.length)], rnd.nextInt(80),
+                    40.0 + rnd.nextInt(80) / 2.0, rnd.nextBoolean(), address);
+
+            list.add(new SimpleMapEntry(i, rnd.nextInt(50) == 0 ? null : person));
+            }
+        return list;
+        }
+
+    // ----- inner class: Person --------------------------------------------
+
+    /**
+     * The test value class.
+     */
+    public static class Person
+        {
+        public Person(String sName, int nAge, double dflWeight, boolean fActive, Address address)
+            {
+            m_sName     = sName;
+            m_nAge      = nAge;
+            m_dflWeight = dflWeight;
+            m_fActive   = fActive;
+            m_address   = address;
+            }
+
+        public String getName()
+            {
+            return m_sName;
+            }
+
+        public int getAge()
+            {
+            return m_nAge;
+            }
+
+        public double getWeight()
+            {
+            return m_dflWeight;
+            }
+
+        public boolean isActive()
+            {
+            return m_fActive;
+            }
+
+        public Address getAddress()
+            {
+            return m_address;
+            }
+
+        public int getScore(int n)
+            {
+            return m_nAge % 5 * n;
+            }
+
+        public String toString()
+            {
+            return "Person(" + m_sName + ", " + m_nAge + ", " + m_dflWeight + ", " + m_fActive + ", " + m_address + ")";
+            }
+
+        private final String  m_sName;
+        private final int     m_nAge;
+        private final double  m_dflWeight;
+        private final boolean m_fActive;
+        private final Address m_address;
+        }
+
+    // ----- inner class: Address -------------------------------------------
+
+    /**
+     * The test value class.
+     */
+    public static class Address
+        {
+        public Address(String sCity, int nZip)
+            {
+            m_sCity = sCity;
+            m_nZip  = nZip;
+            }
+
+        public String getCity()
+            {
+            return m_sCity;
+            }
+
+        public Integer getZip()
+            {
+            return m_nZip;
+            }
+
+        public String toString()
+            {
+            return "Address(" + m_sCity + ", " + m_nZip + ")";
+            }
+
+        private final String m_sCity;
+        private final int    m_nZip;
+        }
+
+    // ----- inner class: Employee ------------------------------------------
+
+    /**
+     * Another test value class.
+     */
+    public static class Employee
+        {
+        public Employee(String sName, int nAge)
+            {
+            m_sName = sName;
+            m_nAge  = nAge;
+            }
+
+        public String getName()
+            {
+            return m_sName;
+            }
+
+        public int getAge()
+            {
+            return m_nAge;
+            }
+
+        private final String m_sName;
+        private final int    m_nAge;
+        }
+
+    // ----- inner class: Hidden --------------------------------------------
+
+    /**
+     * A test value class that is not accessible to the generated code.
+     */
+    static class Hidden
+        {
+        public int getAge()
+            {
+            return 42;
+            }
+        }
+    }